@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.benchmark;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * <p>
+ * Compares the JSON results from two runs of the JMH benchmarks, typically the previous and current release,
+ * and reports which benchmarks became slower.  A benchmark is considered to have regressed if it's slower by
+ * more than the tolerance and the difference is larger than the combined error reported by JMH.  Benchmarks
+ * are matched using their name and parameters.
+ * </p>
+ *
+ * <p>
+ * Usage: CompareBenchmarkResults baseline.json current.json [tolerance]<br>
+ * Exits with a status of 1 if any benchmark regressed so that it can be used to fail a build.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class CompareBenchmarkResults {
+
+	/**
+	 * Reads the results from a JSON file written by JMH.
+	 */
+	public static List<Result> load( File file ) throws IOException {
+		Reader reader = new InputStreamReader(new FileInputStream(file),"UTF-8");
+		try {
+			return parse(reader);
+		} finally {
+			reader.close();
+		}
+	}
+
+	/**
+	 * Reads the results from JSON in the format written by JMH.
+	 */
+	public static List<Result> parse( Reader reader ) throws IOException {
+		StringBuilder text = new StringBuilder();
+		char buffer[] = new char[4096];
+		int length;
+		while( (length = reader.read(buffer)) != -1 )
+			text.append(buffer,0,length);
+
+		Object root = new SimpleJsonParser(text.toString()).parse();
+		if( !(root instanceof List) )
+			throw new IllegalArgumentException("Expected an array of benchmark results");
+
+		List<Result> ret = new ArrayList<Result>();
+		for( Object o : (List)root ) {
+			Map entry = (Map)o;
+			Map metric = (Map)entry.get("primaryMetric");
+
+			Result r = new Result();
+			r.benchmark = (String)entry.get("benchmark");
+			r.mode = (String)entry.get("mode");
+			if( entry.get("params") != null )
+				r.params.putAll((Map<String,String>)entry.get("params"));
+			r.score = toDouble(metric.get("score"));
+			r.scoreError = toDouble(metric.get("scoreError"));
+			r.scoreUnit = (String)metric.get("scoreUnit");
+			ret.add(r);
+		}
+		return ret;
+	}
+
+	/**
+	 * Compares each benchmark in current against the same benchmark in the baseline.  Benchmarks which are
+	 * only in one of the lists are ignored.
+	 *
+	 * @param baseline Results which are being compared against
+	 * @param current The new results
+	 * @param tolerance Fraction that a benchmark can get slower by before it's a regression.  E.g. 0.1 = 10%
+	 * @return Comparison for each benchmark in both lists, in the order they appear in current.
+	 */
+	public static List<Comparison> compare( List<Result> baseline , List<Result> current , double tolerance ) {
+		Map<String,Result> lookup = new HashMap<String,Result>();
+		for( Result r : baseline )
+			lookup.put(r.getKey(), r);
+
+		List<Comparison> ret = new ArrayList<Comparison>();
+		for( Result r : current ) {
+			Result b = lookup.get(r.getKey());
+			if( b == null )
+				continue;
+			if( !b.scoreUnit.equals(r.scoreUnit) )
+				throw new IllegalArgumentException("Units changed for "+r.getKey()+" "+b.scoreUnit+" to "+r.scoreUnit);
+
+			Comparison c = new Comparison();
+			c.baseline = b;
+			c.current = r;
+			// convert the change so that positive is always slower
+			if( r.isHigherBetter() )
+				c.slowdown = (b.score - r.score)/b.score;
+			else
+				c.slowdown = (r.score - b.score)/b.score;
+
+			double difference = Math.abs(r.score - b.score);
+			double noise = sanitize(b.scoreError) + sanitize(r.scoreError);
+			c.regression = c.slowdown > tolerance && difference > noise;
+			ret.add(c);
+		}
+		return ret;
+	}
+
+	private static double sanitize( double error ) {
+		return Double.isNaN(error) ? 0 : error;
+	}
+
+	private static double toDouble( Object o ) {
+		if( o instanceof Number )
+			return ((Number)o).doubleValue();
+		else if( o instanceof String )
+			return Double.parseDouble((String)o);
+		return Double.NaN;
+	}
+
+	/**
+	 * Results for a single benchmark
+	 */
+	public static class Result {
+		public String benchmark;
+		public String mode;
+		public Map<String,String> params = new TreeMap<String, String>();
+		public double score;
+		public double scoreError;
+		public String scoreUnit;
+
+		/**
+		 * Throughput is the only mode where a larger score is better
+		 */
+		public boolean isHigherBetter() {
+			return "thrpt".equals(mode);
+		}
+
+		/**
+		 * Unique identifier for the benchmark, mode, and parameters
+		 */
+		public String getKey() {
+			String ret = benchmark+" "+mode;
+			if( !params.isEmpty() )
+				ret += " "+params;
+			return ret;
+		}
+	}
+
+	/**
+	 * How a benchmark changed between the baseline and current results
+	 */
+	public static class Comparison {
+		public Result baseline;
+		public Result current;
+		/** Fraction that the benchmark slowed down by.  Negative if it got faster. */
+		public double slowdown;
+		/** True if the slowdown is larger than the tolerance and the measurement error */
+		public boolean regression;
+	}
+
+	public static void main( String args[] ) throws IOException {
+		if( args.length < 2 || args.length > 3 ) {
+			System.err.println("Usage: CompareBenchmarkResults baseline.json current.json [tolerance]");
+			System.exit(2);
+		}
+
+		double tolerance = args.length == 3 ? Double.parseDouble(args[2]) : 0.1;
+
+		List<Result> baseline = load(new File(args[0]));
+		List<Result> current = load(new File(args[1]));
+		List<Comparison> comparisons = compare(baseline, current, tolerance);
+
+		int totalRegressions = 0;
+		for( Comparison c : comparisons ) {
+			String flag = c.regression ? "REGRESSION" : "";
+			System.out.printf("%-80s %12.4f %12.4f %-10s %+7.1f%% %s\n", c.current.getKey(),
+					c.baseline.score, c.current.score, c.current.scoreUnit, 100*c.slowdown, flag);
+			if( c.regression )
+				totalRegressions++;
+		}
+
+		System.out.println();
+		System.out.println("Compared "+comparisons.size()+" benchmarks. Baseline "+baseline.size()+
+				" current "+current.size()+". Regressions "+totalRegressions);
+
+		if( totalRegressions > 0 )
+			System.exit(1);
+	}
+}
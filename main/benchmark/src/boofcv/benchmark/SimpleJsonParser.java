@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.benchmark;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal JSON parser which is just capable enough to read the results written by JMH.  Objects are returned
+ * as a {@link Map}, arrays as a {@link List}, numbers as {@link Double}, and strings, booleans, and null
+ * as the equivalent Java type.
+ *
+ * @author Peter Abeles
+ */
+class SimpleJsonParser {
+	String text;
+	int index;
+
+	public SimpleJsonParser( String text ) {
+		this.text = text;
+	}
+
+	/**
+	 * Parses the entire document and returns the root element.
+	 */
+	public Object parse() {
+		index = 0;
+		Object ret = parseValue();
+		skipWhitespace();
+		if( index != text.length() )
+			throw error("Unexpected text after the root element");
+		return ret;
+	}
+
+	private Object parseValue() {
+		skipWhitespace();
+		if( index >= text.length() )
+			throw error("Unexpected end of document");
+
+		char c = text.charAt(index);
+		switch( c ) {
+			case '{': return parseObject();
+			case '[': return parseArray();
+			case '"': return parseString();
+			default:
+				if( text.startsWith("true",index) ) {
+					index += 4;
+					return Boolean.TRUE;
+				} else if( text.startsWith("false",index) ) {
+					index += 5;
+					return Boolean.FALSE;
+				} else if( text.startsWith("null",index) ) {
+					index += 4;
+					return null;
+				}
+				return parseNumber();
+		}
+	}
+
+	private Map<String,Object> parseObject() {
+		Map<String,Object> ret = new LinkedHashMap<String, Object>();
+		index++;
+		skipWhitespace();
+		if( text.charAt(index) == '}' ) {
+			index++;
+			return ret;
+		}
+		while( true ) {
+			skipWhitespace();
+			if( index >= text.length() || text.charAt(index) != '"' )
+				throw error("Expected a string key");
+			String key = parseString();
+			expect(':');
+			ret.put(key, parseValue());
+			skipWhitespace();
+			if( index >= text.length() )
+				throw error("Unexpected end of document");
+			char c = text.charAt(index++);
+			if( c == '}' )
+				return ret;
+			else if( c != ',' )
+				throw error("Expected ',' or '}'");
+		}
+	}
+
+	private List<Object> parseArray() {
+		List<Object> ret = new ArrayList<Object>();
+		index++;
+		skipWhitespace();
+		if( text.charAt(index) == ']' ) {
+			index++;
+			return ret;
+		}
+		while( true ) {
+			ret.add(parseValue());
+			skipWhitespace();
+			if( index >= text.length() )
+				throw error("Unexpected end of document");
+			char c = text.charAt(index++);
+			if( c == ']' )
+				return ret;
+			else if( c != ',' )
+				throw error("Expected ',' or ']'");
+		}
+	}
+
+	private String parseString() {
+		StringBuilder ret = new StringBuilder();
+		index++;
+		while( index < text.length() ) {
+			char c = text.charAt(index++);
+			if( c == '"' ) {
+				return ret.toString();
+			} else if( c == '\\' ) {
+				if( index >= text.length() )
+					break;
+				char e = text.charAt(index++);
+				switch( e ) {
+					case 'b': ret.append('\b'); break;
+					case 'f': ret.append('\f'); break;
+					case 'n': ret.append('\n'); break;
+					case 'r': ret.append('\r'); break;
+					case 't': ret.append('\t'); break;
+					case 'u':
+						if( index+4 > text.length() )
+							throw error("Bad unicode escape");
+						ret.append((char)Integer.parseInt(text.substring(index,index+4),16));
+						index += 4;
+						break;
+					default: ret.append(e);
+				}
+			} else {
+				ret.append(c);
+			}
+		}
+		throw error("Unterminated string");
+	}
+
+	private Double parseNumber() {
+		int start = index;
+		while( index < text.length() ) {
+			char c = text.charAt(index);
+			if( (c >= '0' && c <= '9') || c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E' )
+				index++;
+			else
+				break;
+		}
+		// JMH writes "NaN" when a score isn't available
+		if( start == index && text.startsWith("NaN",index) ) {
+			index += 3;
+			return Double.NaN;
+		}
+		if( start == index )
+			throw error("Unexpected character '"+text.charAt(index)+"'");
+		return Double.parseDouble(text.substring(start,index));
+	}
+
+	private void expect( char c ) {
+		skipWhitespace();
+		if( index >= text.length() || text.charAt(index) != c )
+			throw error("Expected '"+c+"'");
+		index++;
+	}
+
+	private void skipWhitespace() {
+		while( index < text.length() && Character.isWhitespace(text.charAt(index)) )
+			index++;
+	}
+
+	private IllegalArgumentException error( String message ) {
+		return new IllegalArgumentException(message+" at character "+index);
+	}
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.benchmark.feature;
+
+import boofcv.abst.feature.describe.ConfigSurfDescribe;
+import boofcv.abst.feature.describe.DescribeRegionPoint;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.factory.feature.describe.FactoryDescribeRegionPoint;
+import boofcv.struct.feature.SurfFeature;
+import boofcv.struct.image.ImageFloat32;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for describing a fixed set of points using region descriptors.  The time to process the image,
+ * e.g. compute the integral image or scale-space, is included since that's required to describe a new frame.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+public class DescribeBenchmark {
+
+	@Param({"640"})
+	public int width;
+	@Param({"480"})
+	public int height;
+	@Param({"512"})
+	public int numPoints;
+
+	ImageFloat32 gray;
+
+	double x[], y[], scales[], yaws[];
+
+	DescribeRegionPoint<ImageFloat32,SurfFeature> surfFast;
+	DescribeRegionPoint<ImageFloat32,SurfFeature> surfStable;
+	DescribeRegionPoint<ImageFloat32,SurfFeature> sift;
+
+	SurfFeature descSurf;
+	SurfFeature descSift;
+
+	@Setup
+	public void setup() {
+		Random rand = new Random(234234);
+
+		gray = new ImageFloat32(width,height);
+		ImageMiscOps.fillUniform(gray, rand, 0, 100);
+
+		x = new double[ numPoints ];
+		y = new double[ numPoints ];
+		scales = new double[ numPoints ];
+		yaws = new double[ numPoints ];
+		int border = 20;
+		for( int i = 0; i < numPoints; i++ ) {
+			x[i] = rand.nextInt(width-border*2)+border;
+			y[i] = rand.nextInt(height-border*2)+border;
+			scales[i] = rand.nextDouble()*3+1;
+			yaws[i] = 2.0*(rand.nextDouble()-0.5)*Math.PI;
+		}
+
+		surfFast = FactoryDescribeRegionPoint.surfFast(new ConfigSurfDescribe.Speed(), ImageFloat32.class);
+		surfStable = FactoryDescribeRegionPoint.surfStable(new ConfigSurfDescribe.Stability(), ImageFloat32.class);
+		sift = FactoryDescribeRegionPoint.sift(null, null);
+
+		descSurf = surfFast.createDescription();
+		descSift = sift.createDescription();
+	}
+
+	@Benchmark
+	public SurfFeature surfFast() {
+		return describe(surfFast, descSurf);
+	}
+
+	@Benchmark
+	public SurfFeature surfStable() {
+		return describe(surfStable, descSurf);
+	}
+
+	@Benchmark
+	public SurfFeature sift() {
+		return describe(sift, descSift);
+	}
+
+	private SurfFeature describe( DescribeRegionPoint<ImageFloat32,SurfFeature> alg , SurfFeature desc ) {
+		alg.setImage(gray);
+		for( int i = 0; i < numPoints; i++ ) {
+			alg.process(x[i], y[i], yaws[i], scales[i], desc);
+		}
+		return desc;
+	}
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.benchmark.feature;
+
+import boofcv.abst.feature.disparity.StereoDisparity;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.factory.feature.disparity.DisparityAlgorithms;
+import boofcv.factory.feature.disparity.FactoryStereoDisparity;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for dense stereo disparity.  The right image is the left image shifted by a constant amount.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+public class DisparityBenchmark {
+
+	@Param({"640"})
+	public int width;
+	@Param({"480"})
+	public int height;
+	@Param({"60"})
+	public int maxDisparity;
+
+	ImageUInt8 left, right;
+
+	StereoDisparity<ImageUInt8,ImageUInt8> rect;
+	StereoDisparity<ImageUInt8,ImageUInt8> rectFive;
+	StereoDisparity<ImageUInt8,ImageFloat32> rectSubpixel;
+
+	@Setup
+	public void setup() {
+		Random rand = new Random(234234);
+
+		left = new ImageUInt8(width,height);
+		right = new ImageUInt8(width,height);
+		ImageMiscOps.fillUniform(left, rand, 0, 255);
+		ImageMiscOps.fillUniform(right, rand, 0, 255);
+		int shift = 10;
+		right.subimage(0,0,width-shift,height,null).setTo(left.subimage(shift,0,width,height,null));
+
+		rect = FactoryStereoDisparity.regionWta(DisparityAlgorithms.RECT,
+				0, maxDisparity, 3, 3, 20, 1, 0.2, ImageUInt8.class);
+		rectFive = FactoryStereoDisparity.regionWta(DisparityAlgorithms.RECT_FIVE,
+				0, maxDisparity, 3, 3, 20, 1, 0.2, ImageUInt8.class);
+		rectSubpixel = FactoryStereoDisparity.regionSubpixelWta(DisparityAlgorithms.RECT,
+				0, maxDisparity, 3, 3, 20, 1, 0.2, ImageUInt8.class);
+	}
+
+	@Benchmark
+	public ImageUInt8 rect() {
+		rect.process(left, right);
+		return rect.getDisparity();
+	}
+
+	@Benchmark
+	public ImageUInt8 rectFive() {
+		rectFive.process(left, right);
+		return rectFive.getDisparity();
+	}
+
+	@Benchmark
+	public ImageFloat32 rectSubpixel() {
+		rectSubpixel.process(left, right);
+		return rectSubpixel.getDisparity();
+	}
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.benchmark.feature;
+
+import boofcv.abst.feature.detect.intensity.GeneralFeatureIntensity;
+import boofcv.alg.filter.derivative.GradientSobel;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.core.image.border.BorderType;
+import boofcv.core.image.border.FactoryImageBorder;
+import boofcv.core.image.border.ImageBorder_I32;
+import boofcv.factory.feature.detect.intensity.FactoryIntensityPoint;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSInt16;
+import boofcv.struct.image.ImageUInt8;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for computing corner feature intensity images.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+public class IntensityBenchmark {
+
+	@Param({"640"})
+	public int width;
+	@Param({"480"})
+	public int height;
+
+	ImageUInt8 input;
+	ImageSInt16 derivX, derivY;
+
+	GeneralFeatureIntensity<ImageUInt8,ImageSInt16> fast9;
+	GeneralFeatureIntensity<ImageUInt8,ImageSInt16> fast12;
+	GeneralFeatureIntensity<ImageUInt8,ImageSInt16> harris;
+	GeneralFeatureIntensity<ImageUInt8,ImageSInt16> harrisWeighted;
+	GeneralFeatureIntensity<ImageUInt8,ImageSInt16> shiTomasi;
+
+	@Setup
+	public void setup() {
+		Random rand = new Random(234);
+
+		input = new ImageUInt8(width,height);
+		ImageMiscOps.fillUniform(input, rand, 0, 255);
+
+		derivX = new ImageSInt16(width,height);
+		derivY = new ImageSInt16(width,height);
+		ImageBorder_I32<ImageUInt8> border = (ImageBorder_I32)FactoryImageBorder.general(ImageUInt8.class, BorderType.EXTENDED);
+		GradientSobel.process(input, derivX, derivY, border);
+
+		fast9 = FactoryIntensityPoint.fast(60, 9, ImageUInt8.class);
+		fast12 = FactoryIntensityPoint.fast(60, 12, ImageUInt8.class);
+		harris = FactoryIntensityPoint.harris(2, 0.04f, false, ImageSInt16.class);
+		harrisWeighted = FactoryIntensityPoint.harris(2, 0.04f, true, ImageSInt16.class);
+		shiTomasi = FactoryIntensityPoint.shiTomasi(2, false, ImageSInt16.class);
+	}
+
+	@Benchmark
+	public ImageFloat32 fast9() {
+		fast9.process(input, null, null, null, null, null);
+		return fast9.getIntensity();
+	}
+
+	@Benchmark
+	public ImageFloat32 fast12() {
+		fast12.process(input, null, null, null, null, null);
+		return fast12.getIntensity();
+	}
+
+	@Benchmark
+	public ImageFloat32 harris() {
+		harris.process(input, derivX, derivY, null, null, null);
+		return harris.getIntensity();
+	}
+
+	@Benchmark
+	public ImageFloat32 harrisWeighted() {
+		harrisWeighted.process(input, derivX, derivY, null, null, null);
+		return harrisWeighted.getIntensity();
+	}
+
+	@Benchmark
+	public ImageFloat32 shiTomasi() {
+		shiTomasi.process(input, derivX, derivY, null, null, null);
+		return shiTomasi.getIntensity();
+	}
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.benchmark.feature;
+
+import boofcv.abst.feature.detect.interest.ConfigGeneralDetector;
+import boofcv.abst.feature.tracker.PointTrack;
+import boofcv.abst.feature.tracker.PointTracker;
+import boofcv.alg.filter.blur.BlurImageOps;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.factory.feature.tracker.FactoryPointTracker;
+import boofcv.struct.image.ImageSInt16;
+import boofcv.struct.image.ImageUInt8;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for tracking features between two frames with a pyramidal KLT tracker.  The second frame is the
+ * first frame translated by a couple of pixels.  Only the time to track features into the second frame is
+ * measured, spawning the tracks in the first frame is done during setup.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+public class KltBenchmark {
+
+	@Param({"640"})
+	public int width;
+	@Param({"480"})
+	public int height;
+	@Param({"600"})
+	public int maxFeatures;
+
+	ImageUInt8 frame0, frame1;
+
+	PointTracker<ImageUInt8> tracker;
+
+	List<PointTrack> active = new ArrayList<PointTrack>();
+
+	@Setup
+	public void setup() {
+		Random rand = new Random(234);
+
+		ImageUInt8 noise = new ImageUInt8(width,height);
+		ImageMiscOps.fillUniform(noise, rand, 0, 255);
+		frame0 = BlurImageOps.gaussian(noise, null, -1, 3, null);
+		frame1 = frame0.clone();
+		int shift = 2;
+		frame1.subimage(shift,shift,width,height,null).setTo(frame0.subimage(0,0,width-shift,height-shift,null));
+
+		ConfigGeneralDetector configDetector = new ConfigGeneralDetector(maxFeatures,3,1000f);
+		tracker = FactoryPointTracker.klt(new int[]{1,2,4,8}, configDetector, 3, ImageUInt8.class, ImageSInt16.class);
+	}
+
+	@Setup(Level.Invocation)
+	public void spawnTracks() {
+		tracker.reset();
+		tracker.process(frame0);
+		tracker.spawnTracks();
+	}
+
+	@Benchmark
+	public List<PointTrack> track() {
+		tracker.process(frame1);
+		active.clear();
+		return tracker.getActiveTracks(active);
+	}
+}
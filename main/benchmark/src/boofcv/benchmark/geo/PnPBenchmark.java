@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.benchmark.geo;
+
+import boofcv.abst.geo.Estimate1ofPnP;
+import boofcv.abst.geo.EstimateNofPnP;
+import boofcv.abst.geo.RefinePnP;
+import boofcv.factory.geo.EnumPNP;
+import boofcv.factory.geo.FactoryMultiView;
+import boofcv.struct.geo.Point2D3D;
+import georegression.geometry.RotationMatrixGenerator;
+import georegression.struct.point.Point2D_F64;
+import georegression.struct.point.Point3D_F64;
+import georegression.struct.se.Se3_F64;
+import georegression.transform.se.SePointOps_F64;
+import org.ddogleg.struct.FastQueue;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for estimating the camera pose from the Perspective N-Point (PnP) problem.  Observations are
+ * noise free and in normalized image coordinates.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+public class PnPBenchmark {
+
+	// number of observations used by solutions which can use more than the minimum number
+	@Param({"50"})
+	public int numPoints;
+
+	List<Point2D3D> observations;
+	List<Point2D3D> minimal;
+
+	Estimate1ofPnP epnp;
+	EstimateNofPnP grunert;
+	EstimateNofPnP finsterwalder;
+	RefinePnP refine;
+
+	Se3_F64 truth = new Se3_F64();
+	Se3_F64 found = new Se3_F64();
+	FastQueue<Se3_F64> solutions = new FastQueue<Se3_F64>(Se3_F64.class,true);
+
+	@Setup
+	public void setup() {
+		Random rand = new Random(234234);
+
+		truth.getR().set(RotationMatrixGenerator.eulerArbitrary(0, 1, 2, 0.5, -0.2, 0.15));
+		truth.getT().set(0.1, -0.2, 0.01);
+
+		observations = new ArrayList<Point2D3D>();
+		for( int i = 0; i < numPoints; i++ ) {
+			Point3D_F64 world = new Point3D_F64(rand.nextDouble()*2-1,rand.nextDouble()*2-1,rand.nextDouble()+2);
+			Point3D_F64 camera = SePointOps_F64.transform(truth, world, null);
+			Point2D_F64 norm = new Point2D_F64(camera.x/camera.z,camera.y/camera.z);
+			observations.add(new Point2D3D(norm,world));
+		}
+
+		epnp = FactoryMultiView.computePnPwithEPnP(10, 0.1);
+		grunert = FactoryMultiView.computePnP_N(EnumPNP.P3P_GRUNERT, -1);
+		finsterwalder = FactoryMultiView.computePnP_N(EnumPNP.P3P_FINSTERWALDER, -1);
+		refine = FactoryMultiView.refinePnP(1e-12, 20);
+
+		minimal = observations.subList(0, grunert.getMinimumPoints());
+	}
+
+	@Benchmark
+	public Se3_F64 epnp() {
+		epnp.process(observations, found);
+		return found;
+	}
+
+	@Benchmark
+	public FastQueue<Se3_F64> p3pGrunert() {
+		grunert.process(minimal, solutions);
+		return solutions;
+	}
+
+	@Benchmark
+	public FastQueue<Se3_F64> p3pFinsterwalder() {
+		finsterwalder.process(minimal, solutions);
+		return solutions;
+	}
+
+	@Benchmark
+	public Se3_F64 refine() {
+		refine.fitModel(observations, truth, found);
+		return found;
+	}
+}
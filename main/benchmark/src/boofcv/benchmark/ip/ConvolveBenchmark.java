@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.benchmark.ip;
+
+import boofcv.alg.filter.blur.BlurImageOps;
+import boofcv.alg.filter.convolve.ConvolveImageNoBorder;
+import boofcv.alg.filter.convolve.ConvolveImageNoBorder_MT;
+import boofcv.alg.filter.convolve.ConvolveNormalized;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.factory.filter.kernel.FactoryKernelGaussian;
+import boofcv.struct.convolve.Kernel1D_F32;
+import boofcv.struct.convolve.Kernel1D_I32;
+import boofcv.struct.convolve.Kernel2D_F32;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSInt16;
+import boofcv.struct.image.ImageUInt8;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for convolution along with the blur filters which are built on top of it.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+public class ConvolveBenchmark {
+
+	@Param({"640"})
+	public int width;
+	@Param({"480"})
+	public int height;
+	@Param({"2","10"})
+	public int radius;
+
+	Kernel1D_F32 kernel_F32;
+	Kernel1D_I32 kernel_I32;
+	Kernel2D_F32 kernel2D_F32;
+
+	ImageUInt8 input_U8;
+	ImageFloat32 input_F32;
+	ImageUInt8 output_U8;
+	ImageSInt16 output_S16;
+	ImageFloat32 output_F32;
+	ImageFloat32 storage_F32;
+
+	@Setup
+	public void setup() {
+		Random rand = new Random(234);
+
+		kernel_F32 = FactoryKernelGaussian.gaussian(Kernel1D_F32.class, -1, radius);
+		kernel_I32 = FactoryKernelGaussian.gaussian(Kernel1D_I32.class, -1, radius);
+		kernel2D_F32 = FactoryKernelGaussian.gaussian(Kernel2D_F32.class, -1, radius);
+
+		input_U8 = new ImageUInt8(width,height);
+		input_F32 = new ImageFloat32(width,height);
+		output_U8 = new ImageUInt8(width,height);
+		output_S16 = new ImageSInt16(width,height);
+		output_F32 = new ImageFloat32(width,height);
+		storage_F32 = new ImageFloat32(width,height);
+
+		ImageMiscOps.fillUniform(input_U8, rand, 0, 200);
+		ImageMiscOps.fillUniform(input_F32, rand, 0, 200);
+	}
+
+	@Benchmark
+	public ImageFloat32 horizontal_F32() {
+		ConvolveImageNoBorder.horizontal(kernel_F32, input_F32, output_F32);
+		return output_F32;
+	}
+
+	@Benchmark
+	public ImageFloat32 horizontal_F32_MT() {
+		ConvolveImageNoBorder_MT.horizontal(kernel_F32, input_F32, output_F32);
+		return output_F32;
+	}
+
+	@Benchmark
+	public ImageFloat32 vertical_F32() {
+		ConvolveImageNoBorder.vertical(kernel_F32, input_F32, output_F32);
+		return output_F32;
+	}
+
+	@Benchmark
+	public ImageSInt16 horizontal_U8_S16() {
+		ConvolveImageNoBorder.horizontal(kernel_I32, input_U8, output_S16);
+		return output_S16;
+	}
+
+	@Benchmark
+	public ImageUInt8 vertical_U8_U8_div() {
+		ConvolveImageNoBorder.vertical(kernel_I32, input_U8, output_U8, kernel_I32.computeSum());
+		return output_U8;
+	}
+
+	@Benchmark
+	public ImageFloat32 convolve2D_F32() {
+		ConvolveImageNoBorder.convolve(kernel2D_F32, input_F32, output_F32);
+		return output_F32;
+	}
+
+	@Benchmark
+	public ImageFloat32 normalizedHorizontal_F32() {
+		ConvolveNormalized.horizontal(kernel_F32, input_F32, output_F32);
+		return output_F32;
+	}
+
+	@Benchmark
+	public ImageUInt8 gaussian_U8() {
+		return BlurImageOps.gaussian(input_U8, output_U8, -1, radius, null);
+	}
+
+	@Benchmark
+	public ImageFloat32 gaussian_F32() {
+		return BlurImageOps.gaussian(input_F32, output_F32, -1, radius, storage_F32);
+	}
+
+	@Benchmark
+	public ImageFloat32 mean_F32() {
+		return BlurImageOps.mean(input_F32, output_F32, radius, storage_F32);
+	}
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.benchmark.ip;
+
+import boofcv.alg.filter.derivative.GradientSobel;
+import boofcv.alg.filter.derivative.GradientThree;
+import boofcv.alg.filter.derivative.HessianFromGradient;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.core.image.border.BorderType;
+import boofcv.core.image.border.FactoryImageBorder;
+import boofcv.core.image.border.ImageBorder_F32;
+import boofcv.core.image.border.ImageBorder_I32;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSInt16;
+import boofcv.struct.image.ImageUInt8;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for image gradient and hessian computations.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+public class DerivativeBenchmark {
+
+	@Param({"640"})
+	public int width;
+	@Param({"480"})
+	public int height;
+
+	ImageUInt8 input_U8;
+	ImageFloat32 input_F32;
+
+	ImageSInt16 derivX_S16, derivY_S16;
+	ImageSInt16 derivXX_S16, derivYY_S16, derivXY_S16;
+	ImageFloat32 derivX_F32, derivY_F32;
+
+	ImageBorder_I32<ImageUInt8> border_U8;
+	ImageBorder_I32<ImageSInt16> border_S16;
+	ImageBorder_F32 border_F32;
+
+	@Setup
+	public void setup() {
+		Random rand = new Random(234);
+
+		input_U8 = new ImageUInt8(width,height);
+		input_F32 = new ImageFloat32(width,height);
+		ImageMiscOps.fillUniform(input_U8, rand, 0, 200);
+		ImageMiscOps.fillUniform(input_F32, rand, 0, 200);
+
+		derivX_S16 = new ImageSInt16(width,height);
+		derivY_S16 = new ImageSInt16(width,height);
+		derivXX_S16 = new ImageSInt16(width,height);
+		derivYY_S16 = new ImageSInt16(width,height);
+		derivXY_S16 = new ImageSInt16(width,height);
+		derivX_F32 = new ImageFloat32(width,height);
+		derivY_F32 = new ImageFloat32(width,height);
+
+		border_U8 = (ImageBorder_I32)FactoryImageBorder.general(ImageUInt8.class, BorderType.EXTENDED);
+		border_S16 = (ImageBorder_I32)FactoryImageBorder.general(ImageSInt16.class, BorderType.EXTENDED);
+		border_F32 = (ImageBorder_F32)FactoryImageBorder.general(ImageFloat32.class, BorderType.EXTENDED);
+
+		GradientSobel.process(input_U8, derivX_S16, derivY_S16, border_U8);
+	}
+
+	@Benchmark
+	public ImageSInt16 sobel_U8() {
+		GradientSobel.process(input_U8, derivX_S16, derivY_S16, border_U8);
+		return derivY_S16;
+	}
+
+	@Benchmark
+	public ImageFloat32 sobel_F32() {
+		GradientSobel.process(input_F32, derivX_F32, derivY_F32, border_F32);
+		return derivY_F32;
+	}
+
+	@Benchmark
+	public ImageSInt16 three_U8() {
+		GradientThree.process(input_U8, derivX_S16, derivY_S16, border_U8);
+		return derivY_S16;
+	}
+
+	@Benchmark
+	public ImageFloat32 three_F32() {
+		GradientThree.process(input_F32, derivX_F32, derivY_F32, border_F32);
+		return derivY_F32;
+	}
+
+	@Benchmark
+	public ImageSInt16 hessianSobel_S16() {
+		HessianFromGradient.hessianSobel(derivX_S16, derivY_S16, derivXX_S16, derivYY_S16, derivXY_S16, border_S16);
+		return derivXY_S16;
+	}
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.benchmark;
+
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestCompareBenchmarkResults {
+
+	@Test
+	public void parse() throws Exception {
+		String json = "[\n" +
+				"    {\n" +
+				"        \"benchmark\" : \"boofcv.Foo.bar\",\n" +
+				"        \"mode\" : \"avgt\",\n" +
+				"        \"threads\" : 1,\n" +
+				"        \"jvmArgs\" : [ \"-Xmx2g\" ],\n" +
+				"        \"params\" : {\n" +
+				"            \"radius\" : \"2\",\n" +
+				"            \"width\" : \"640\"\n" +
+				"        },\n" +
+				"        \"primaryMetric\" : {\n" +
+				"            \"score\" : 1.5,\n" +
+				"            \"scoreError\" : \"NaN\",\n" +
+				"            \"scoreConfidence\" : [ 1.4, 1.6e0 ],\n" +
+				"            \"scoreUnit\" : \"ms/op\",\n" +
+				"            \"rawData\" : [ [ 1.4, 1.6 ] ]\n" +
+				"        },\n" +
+				"        \"secondaryMetrics\" : {}\n" +
+				"    }\n" +
+				"]";
+
+		List<CompareBenchmarkResults.Result> found = CompareBenchmarkResults.parse(new StringReader(json));
+
+		assertEquals(1, found.size());
+		CompareBenchmarkResults.Result r = found.get(0);
+		assertEquals("boofcv.Foo.bar", r.benchmark);
+		assertEquals("avgt", r.mode);
+		assertEquals("2", r.params.get("radius"));
+		assertEquals("640", r.params.get("width"));
+		assertEquals(1.5, r.score, 1e-8);
+		assertTrue(Double.isNaN(r.scoreError));
+		assertEquals("ms/op", r.scoreUnit);
+	}
+
+	@Test
+	public void compare() {
+		List<CompareBenchmarkResults.Result> baseline = new ArrayList<CompareBenchmarkResults.Result>();
+		List<CompareBenchmarkResults.Result> current = new ArrayList<CompareBenchmarkResults.Result>();
+
+		// slower by 20%
+		baseline.add(create("a", "avgt", 10, 0.1));
+		current.add(create("a", "avgt", 12, 0.1));
+		// faster
+		baseline.add(create("b", "avgt", 10, 0.1));
+		current.add(create("b", "avgt", 8, 0.1));
+		// slower but within the measurement error
+		baseline.add(create("c", "avgt", 10, 2));
+		current.add(create("c", "avgt", 12, 2));
+		// throughput went down, which is slower
+		baseline.add(create("d", "thrpt", 100, 1));
+		current.add(create("d", "thrpt", 50, 1));
+		// only in current
+		current.add(create("e", "avgt", 10, 0.1));
+
+		List<CompareBenchmarkResults.Comparison> found = CompareBenchmarkResults.compare(baseline, current, 0.1);
+
+		assertEquals(4, found.size());
+		assertEquals(0.2, found.get(0).slowdown, 1e-8);
+		assertTrue(found.get(0).regression);
+		assertEquals(-0.2, found.get(1).slowdown, 1e-8);
+		assertFalse(found.get(1).regression);
+		assertFalse(found.get(2).regression);
+		assertEquals(0.5, found.get(3).slowdown, 1e-8);
+		assertTrue(found.get(3).regression);
+
+		// the tolerance is large enough that it should ignore the slow down
+		found = CompareBenchmarkResults.compare(baseline, current, 0.25);
+		assertFalse(found.get(0).regression);
+		assertTrue(found.get(3).regression);
+	}
+
+	/**
+	 * Benchmarks with different parameters should not be matched to each other
+	 */
+	@Test
+	public void compare_params() {
+		List<CompareBenchmarkResults.Result> baseline = new ArrayList<CompareBenchmarkResults.Result>();
+		List<CompareBenchmarkResults.Result> current = new ArrayList<CompareBenchmarkResults.Result>();
+
+		baseline.add(create("a", "avgt", 10, 0.1));
+		baseline.get(0).params.put("radius","2");
+		current.add(create("a", "avgt", 20, 0.1));
+		current.get(0).params.put("radius","10");
+
+		assertEquals(0, CompareBenchmarkResults.compare(baseline, current, 0.1).size());
+	}
+
+	private static CompareBenchmarkResults.Result create( String name , String mode , double score , double error ) {
+		CompareBenchmarkResults.Result r = new CompareBenchmarkResults.Result();
+		r.benchmark = name;
+		r.mode = mode;
+		r.score = score;
+		r.scoreError = error;
+		r.scoreUnit = "ms/op";
+		return r;
+	}
+}
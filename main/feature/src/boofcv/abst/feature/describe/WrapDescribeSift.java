@@ -26,7 +26,9 @@ import boofcv.struct.image.ImageType;
 
 /**
  * Wrapper around {@link DescribePointSift} for {@link DescribeRegionPoint}.  Orientation is optionally
- * also estimated, however only one orientation hypothesis is considered.
+ * also estimated, however only one orientation hypothesis is considered.  If the scale-space is shared
+ * with other algorithms then it can be configured to not update the scale-space, in which case
+ * {@link SiftImageScaleSpace#constructPyramid} must be called by the owner before {@link #setImage}.
  *
  * @author Peter Abeles
  */
@@ -36,17 +38,33 @@ public class WrapDescribeSift
 	DescribePointSift alg;
 	SiftImageScaleSpace ss;
 	ImageType<ImageFloat32> imageType;
+	// if true the scale-space is constructed from the input image
+	boolean updateScaleSpace;
 
+	/**
+	 * @param alg SIFT descriptor
+	 * @param ss Scale-space
+	 * @param updateScaleSpace If true the scale-space will be constructed from the input image.  Set to false
+	 *                         if the scale-space is shared and updated elsewhere.
+	 */
 	public WrapDescribeSift(DescribePointSift alg,
-							SiftImageScaleSpace ss) {
+							SiftImageScaleSpace ss,
+							boolean updateScaleSpace ) {
 		this.alg = alg;
 		this.ss = ss;
+		this.updateScaleSpace = updateScaleSpace;
 		imageType = ImageType.single(ImageFloat32.class);
 	}
 
+	public WrapDescribeSift(DescribePointSift alg,
+							SiftImageScaleSpace ss) {
+		this(alg,ss,true);
+	}
+
 	@Override
 	public void setImage(ImageFloat32 image) {
-		ss.constructPyramid(image);
+		if( updateScaleSpace )
+			ss.constructPyramid(image);
 		ss.computeDerivatives();
 		alg.setScaleSpace(ss);
 	}
@@ -21,6 +21,9 @@ package boofcv.abst.feature.detdesc;
 import boofcv.abst.feature.describe.DescribeRegionPoint;
 import boofcv.abst.feature.detect.interest.InterestPointDetector;
 import boofcv.abst.feature.orientation.OrientationImage;
+import boofcv.misc.ProfileListener;
+import boofcv.misc.ProfiledProcess;
+import boofcv.misc.StageProfiler;
 import boofcv.struct.feature.TupleDesc;
 import boofcv.struct.image.ImageSingleBand;
 import georegression.struct.point.Point2D_F64;
@@ -39,7 +42,7 @@ import org.ddogleg.struct.GrowQueue_F64;
  * @author Peter Abeles
  */
 public class DetectDescribeFusion<T extends ImageSingleBand, TD extends TupleDesc>
-	implements DetectDescribePoint<T, TD>
+	implements DetectDescribePoint<T, TD>, ProfiledProcess
 {
 	// detects interest points
 	private InterestPointDetector<T> detector;
@@ -56,6 +59,9 @@ public class DetectDescribeFusion<T extends ImageSingleBand, TD extends TupleDes
 	private GrowQueue_F64 featureAngles = new GrowQueue_F64(10);
 	private FastQueue<Point2D_F64> location = new FastQueue<Point2D_F64>(10,Point2D_F64.class,false);
 
+	// optional profiling.  null if disabled
+	private StageProfiler profiler;
+
 	/**
 	 * Configures the algorithm.
 	 *
@@ -97,6 +103,8 @@ public class DetectDescribeFusion<T extends ImageSingleBand, TD extends TupleDes
 
 	@Override
 	public void detect(T input) {
+		if( profiler != null ) profiler.startFrame();
+
 		descs.reset();
 		featureScales.reset();
 		featureAngles.reset();
@@ -106,10 +114,12 @@ public class DetectDescribeFusion<T extends ImageSingleBand, TD extends TupleDes
 			orientation.setImage(input);
 		}
 		describe.setImage(input);
+		if( profiler != null ) profiler.stage("setImage");
 
 		detector.detect(input);
 
 		int N = detector.getNumberOfFeatures();
+		if( profiler != null ) profiler.stage("detect");
 
 		for( int i = 0; i < N; i++ ) {
 			Point2D_F64 p = detector.getLocation(i);
@@ -129,6 +139,18 @@ public class DetectDescribeFusion<T extends ImageSingleBand, TD extends TupleDes
 				descs.removeTail();
 			}
 		}
+
+		if( profiler != null ) {
+			profiler.stage("describe");
+			profiler.count("detected", N);
+			profiler.count("described", location.size());
+			profiler.finishFrame();
+		}
+	}
+
+	@Override
+	public void setProfileListener(ProfileListener listener) {
+		profiler = StageProfiler.create(this, listener);
 	}
 
 	@Override
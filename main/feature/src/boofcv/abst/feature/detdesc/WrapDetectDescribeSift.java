@@ -19,6 +19,9 @@
 package boofcv.abst.feature.detdesc;
 
 import boofcv.alg.feature.detdesc.DetectDescribeSift;
+import boofcv.misc.ProfileListener;
+import boofcv.misc.ProfiledProcess;
+import boofcv.misc.StageProfiler;
 import boofcv.struct.feature.SurfFeature;
 import boofcv.struct.image.ImageFloat32;
 import georegression.struct.point.Point2D_F64;
@@ -28,10 +31,14 @@ import georegression.struct.point.Point2D_F64;
  *
  * @author Peter Abeles
  */
-public class WrapDetectDescribeSift implements DetectDescribePoint<ImageFloat32,SurfFeature> {
-
+public class WrapDetectDescribeSift
+		implements DetectDescribePoint<ImageFloat32,SurfFeature>, ProfiledProcess
+{
 	DetectDescribeSift alg;
 
+	// optional profiling.  null if disabled
+	StageProfiler profiler;
+
 	public WrapDetectDescribeSift(DetectDescribeSift alg) {
 		this.alg = alg;
 	}
@@ -53,7 +60,18 @@ public class WrapDetectDescribeSift implements DetectDescribePoint<ImageFloat32,
 
 	@Override
 	public void detect(ImageFloat32 input) {
+		if( profiler != null ) profiler.startFrame();
 		alg.process(input);
+		if( profiler != null ) {
+			profiler.stage("detectDescribe");
+			profiler.count("features", alg.getFeatures().size);
+			profiler.finishFrame();
+		}
+	}
+
+	@Override
+	public void setProfileListener(ProfileListener listener) {
+		profiler = StageProfiler.create(this, listener);
 	}
 
 	@Override
@@ -22,6 +22,9 @@ import boofcv.abst.feature.orientation.OrientationIntegral;
 import boofcv.alg.feature.describe.DescribePointSurf;
 import boofcv.alg.feature.detect.interest.FastHessianFeatureDetector;
 import boofcv.alg.transform.ii.GIntegralImageOps;
+import boofcv.misc.ProfileListener;
+import boofcv.misc.ProfiledProcess;
+import boofcv.misc.StageProfiler;
 import boofcv.struct.feature.ScalePoint;
 import boofcv.struct.feature.SurfFeature;
 import boofcv.struct.feature.SurfFeatureQueue;
@@ -45,7 +48,7 @@ import java.util.List;
  */
 public class WrapDetectDescribeSurf
 		<T extends ImageSingleBand, II extends ImageSingleBand>
-	implements DetectDescribePoint<T,SurfFeature>
+	implements DetectDescribePoint<T,SurfFeature>, ProfiledProcess
 {
 	// SURF algorithms
 	private FastHessianFeatureDetector<II> detector;
@@ -62,6 +65,9 @@ public class WrapDetectDescribeSurf
 	// orientation of features
 	private GrowQueue_F64 featureAngles = new GrowQueue_F64(10);
 
+	// optional profiling.  null if disabled
+	private StageProfiler profiler;
+
 	public WrapDetectDescribeSurf(FastHessianFeatureDetector<II> detector,
 								  OrientationIntegral<II> orientation,
 								  DescribePointSurf<II> describe)
@@ -90,6 +96,8 @@ public class WrapDetectDescribeSurf
 
 	@Override
 	public void detect(T input) {
+		if( profiler != null ) profiler.startFrame();
+
 		if( ii != null ) {
 			ii.reshape(input.width,input.height);
 		}
@@ -100,9 +108,11 @@ public class WrapDetectDescribeSurf
 		describe.setImage(ii);
 		features.reset();
 		featureAngles.reset();
+		if( profiler != null ) profiler.stage("integral");
 
 		// detect features
 		detector.detect(ii);
+		if( profiler != null ) profiler.stage("detect");
 
 		// describe the found interest points
 		foundPoints = detector.getFoundPoints();
@@ -115,6 +125,17 @@ public class WrapDetectDescribeSurf
 			describe.describe(p.x,p.y, angle, p.scale, features.grow());
 			featureAngles.push(angle);
 		}
+
+		if( profiler != null ) {
+			profiler.stage("describe");
+			profiler.count("features", foundPoints.size());
+			profiler.finishFrame();
+		}
+	}
+
+	@Override
+	public void setProfileListener(ProfileListener listener) {
+		profiler = StageProfiler.create(this, listener);
 	}
 
 	@Override
@@ -24,7 +24,9 @@ import boofcv.struct.image.ImageFloat32;
 import georegression.struct.point.Point2D_F64;
 
 /**
- * Wrapper around {@link SiftDetector} for {@link InterestPointDetector}.
+ * Wrapper around {@link SiftDetector} for {@link InterestPointDetector}.  If the scale-space is shared
+ * with other algorithms then it can be configured to not update the scale-space, in which case
+ * {@link SiftImageScaleSpace#constructPyramid} must be called by the owner before {@link #detect}.
  *
  * @author Peter Abeles
  */
@@ -32,18 +34,34 @@ public class WrapSiftDetector implements InterestPointDetector<ImageFloat32> {
 
 	SiftImageScaleSpace ss;
 	SiftDetector detector;
+	// if true the scale-space is constructed from the input image
+	boolean updateScaleSpace;
 
+	/**
+	 * @param detector SIFT detector
+	 * @param ss Scale-space
+	 * @param updateScaleSpace If true the scale-space will be constructed from the input image.  Set to false
+	 *                         if the scale-space is shared and updated elsewhere.
+	 */
 	public WrapSiftDetector( SiftDetector detector ,
-							 SiftImageScaleSpace ss ) {
+							 SiftImageScaleSpace ss ,
+							 boolean updateScaleSpace ) {
 		this.detector = detector;
 		this.ss = ss;
+		this.updateScaleSpace = updateScaleSpace;
+	}
+
+	public WrapSiftDetector( SiftDetector detector ,
+							 SiftImageScaleSpace ss ) {
+		this(detector,ss,true);
 	}
 
 	@Override
 	public void detect(ImageFloat32 input) {
 
 		// compute initial octave's scale-space
-		ss.constructPyramid(input);
+		if( updateScaleSpace )
+			ss.constructPyramid(input);
 		ss.computeFeatureIntensity();
 
 		detector.process(ss);
@@ -21,30 +21,50 @@ package boofcv.abst.feature.disparity;
 import boofcv.alg.feature.disparity.DisparityScoreRowFormat;
 import boofcv.alg.misc.GImageMiscOps;
 import boofcv.core.image.GeneralizedImageOps;
+import boofcv.misc.ProfileListener;
+import boofcv.misc.ProfiledProcess;
+import boofcv.misc.StageProfiler;
 import boofcv.struct.image.ImageSingleBand;
 
 /**
  * @author Peter Abeles
  */
 public class WrapDisparitySadRect <T extends ImageSingleBand, D extends ImageSingleBand>
-		implements StereoDisparity<T,D>
+		implements StereoDisparity<T,D>, ProfiledProcess
 {
 	DisparityScoreRowFormat<T,D> alg;
 	D disparity;
 
+	// optional profiling.  null if disabled
+	StageProfiler profiler;
+
 	public WrapDisparitySadRect(DisparityScoreRowFormat<T,D> alg) {
 		this.alg = alg;
 	}
 
 	@Override
 	public void process(T imageLeft, T imageRight) {
+		if( profiler != null ) profiler.startFrame();
+
 		if( disparity == null || disparity.width != imageLeft.width || disparity.height != imageLeft.height )  {
 			// make sure the image borders are marked as invalid
 			disparity = GeneralizedImageOps.createSingleBand(alg.getDisparityType(),imageLeft.width,imageLeft.height);
 			GImageMiscOps.fill(disparity, getMaxDisparity() + 1);
 		}
+		if( profiler != null ) profiler.stage("declare");
 
 		alg.process(imageLeft,imageRight,disparity);
+
+		if( profiler != null ) {
+			profiler.stage("disparity");
+			profiler.count("pixels", imageLeft.width*imageLeft.height);
+			profiler.finishFrame();
+		}
+	}
+
+	@Override
+	public void setProfileListener(ProfileListener listener) {
+		profiler = StageProfiler.create(this, listener);
 	}
 
 	public D getDisparity() {
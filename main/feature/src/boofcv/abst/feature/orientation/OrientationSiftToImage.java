@@ -24,7 +24,9 @@ import boofcv.struct.image.ImageFloat32;
 
 /**
  * Wrapper around {@link OrientationHistogramSift} for {@link OrientationImage}.  Selects
- * the best solution from the multiple solutions.
+ * the best solution from the multiple solutions.  If the scale-space is shared
+ * with other algorithms then it can be configured to not update the scale-space, in which case
+ * {@link SiftImageScaleSpace#constructPyramid} must be called by the owner before {@link #setImage}.
  *
  * @author Peter Abeles
  */
@@ -33,15 +35,30 @@ public class OrientationSiftToImage implements OrientationImage<ImageFloat32>
 	SiftImageScaleSpace ss;
 	OrientationHistogramSift alg;
 	double scale;
+	// if true the scale-space is constructed from the input image
+	boolean updateScaleSpace;
 
-	public OrientationSiftToImage(OrientationHistogramSift alg, SiftImageScaleSpace ss) {
+	/**
+	 * @param alg SIFT orientation
+	 * @param ss Scale-space
+	 * @param updateScaleSpace If true the scale-space will be constructed from the input image.  Set to false
+	 *                         if the scale-space is shared and updated elsewhere.
+	 */
+	public OrientationSiftToImage(OrientationHistogramSift alg, SiftImageScaleSpace ss,
+								  boolean updateScaleSpace ) {
 		this.alg = alg;
 		this.ss = ss;
+		this.updateScaleSpace = updateScaleSpace;
+	}
+
+	public OrientationSiftToImage(OrientationHistogramSift alg, SiftImageScaleSpace ss) {
+		this(alg,ss,true);
 	}
 
 	@Override
 	public void setImage(ImageFloat32 image) {
-		ss.constructPyramid(image);
+		if( updateScaleSpace )
+			ss.constructPyramid(image);
 		ss.computeDerivatives();
 		alg.setScaleSpace(ss);
 	}
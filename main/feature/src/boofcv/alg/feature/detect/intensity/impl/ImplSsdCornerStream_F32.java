@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.feature.detect.intensity.impl;
+
+import boofcv.alg.filter.stream.GradientRowSink;
+import boofcv.alg.filter.stream.RowSink;
+
+/**
+ * <p>
+ * Streaming version of {@link ImplSsdCorner_F32}.  Instead of computing full sized images of the
+ * horizontal sums, only the last window width rows are saved.  The corner intensity is computed by
+ * the provided {@link ImplSsdCorner_F32}, e.g. Harris or Shi-Tomasi, and the results are identical.
+ * Just like the non-streaming version the image border is not processed and is set to zero.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplSsdCornerStream_F32 implements GradientRowSink {
+
+	// computes the intensity from the sums
+	ImplSsdCorner_F32 alg;
+
+	// the next stage in the stream
+	RowSink output;
+
+	int width, height;
+	int radius;
+
+	// ring buffer of horizontal sums.  Row 'y' is stored at y % (window width + 1)
+	float ringXX[][] = new float[0][];
+	float ringXY[][] = new float[0][];
+	float ringYY[][] = new float[0][];
+
+	// sums along each column
+	float tempXX[] = new float[0];
+	float tempXY[] = new float[0];
+	float tempYY[] = new float[0];
+
+	float outRow[] = new float[0];
+
+	// the next row which is passed to the output
+	int nextOut;
+
+	public ImplSsdCornerStream_F32(ImplSsdCorner_F32 alg, RowSink output) {
+		this.alg = alg;
+		this.output = output;
+	}
+
+	@Override
+	public void initialize(int width, int height) {
+		this.width = width;
+		this.height = height;
+		this.radius = alg.radius;
+		this.nextOut = 0;
+
+		int numRows = 2*radius+2;
+		if( ringXX.length != numRows || tempXX.length < width ) {
+			ringXX = new float[ numRows ][ width ];
+			ringXY = new float[ numRows ][ width ];
+			ringYY = new float[ numRows ][ width ];
+			tempXX = new float[ width ];
+			tempXY = new float[ width ];
+			tempYY = new float[ width ];
+			outRow = new float[ width ];
+		}
+
+		output.initialize(width, height);
+	}
+
+	@Override
+	public void process(int row, float[] derivX, float[] derivY) {
+		int windowWidth = 2*radius+1;
+
+		if( width >= windowWidth )
+			horizontal(derivX, derivY, row % ringXX.length);
+
+		// last row in the output which can be computed using the rows already seen
+		int last = row == height-1 ? height-1 : row - radius;
+
+		for( ; nextOut <= last; nextOut++ ) {
+			if( nextOut < radius || nextOut >= height-radius || width < windowWidth ) {
+				for( int x = 0; x < width; x++ )
+					outRow[x] = 0;
+			} else {
+				vertical(nextOut);
+			}
+			output.process(nextOut, outRow, 0);
+		}
+	}
+
+	/**
+	 * Compute the sum of the gradient squared along the row
+	 */
+	protected void horizontal( float[] derivX, float[] derivY , int ringIndex ) {
+		float[] hXX = ringXX[ringIndex];
+		float[] hXY = ringXY[ringIndex];
+		float[] hYY = ringYY[ringIndex];
+
+		int windowWidth = radius * 2 + 1;
+
+		float totalXX = 0;
+		float totalXY = 0;
+		float totalYY = 0;
+
+		for( int x = 0; x < windowWidth; x++ ) {
+			float dx = derivX[x];
+			float dy = derivY[x];
+
+			totalXX += dx * dx;
+			totalXY += dx * dy;
+			totalYY += dy * dy;
+		}
+
+		hXX[radius] = totalXX;
+		hXY[radius] = totalXY;
+		hYY[radius] = totalYY;
+
+		for( int x = windowWidth; x < width; x++ ) {
+			float dx = derivX[x - windowWidth];
+			float dy = derivY[x - windowWidth];
+
+			totalXX -= dx * dx;
+			totalXY -= dx * dy;
+			totalYY -= dy * dy;
+
+			dx = derivX[x];
+			dy = derivY[x];
+
+			totalXX += dx * dx;
+			totalXY += dx * dy;
+			totalYY += dy * dy;
+
+			hXX[x - radius] = totalXX;
+			hXY[x - radius] = totalXY;
+			hYY[x - radius] = totalYY;
+		}
+	}
+
+	/**
+	 * Sums the horizontal sums along each column then computes the intensity
+	 */
+	protected void vertical( int row ) {
+		int N = ringXX.length;
+		int startX = radius;
+		int endX = width - radius;
+
+		for( int x = 0; x < startX; x++ )
+			outRow[x] = 0;
+		for( int x = endX; x < width; x++ )
+			outRow[x] = 0;
+
+		alg.y = row;
+		if( row == radius ) {
+			for( int x = startX; x < endX; x++ ) {
+				float totalXX = 0, totalXY = 0, totalYY = 0;
+				for( int i = 0; i < 2*radius+1; i++ ) {
+					totalXX += ringXX[i][x];
+					totalXY += ringXY[i][x];
+					totalYY += ringYY[i][x];
+				}
+				tempXX[x] = totalXX;
+				tempXY[x] = totalXY;
+				tempYY[x] = totalYY;
+			}
+		} else {
+			float[] addXX = ringXX[(row+radius) % N];
+			float[] addXY = ringXY[(row+radius) % N];
+			float[] addYY = ringYY[(row+radius) % N];
+			float[] subXX = ringXX[(row-radius-1) % N];
+			float[] subXY = ringXY[(row-radius-1) % N];
+			float[] subYY = ringYY[(row-radius-1) % N];
+
+			for( int x = startX; x < endX; x++ ) {
+				float totalXX = tempXX[x] - subXX[x];
+				tempXX[x] = totalXX + addXX[x];
+				float totalXY = tempXY[x] - subXY[x];
+				tempXY[x] = totalXY + addXY[x];
+				float totalYY = tempYY[x] - subYY[x];
+				tempYY[x] = totalYY + addYY[x];
+			}
+		}
+
+		for( int x = startX; x < endX; x++ ) {
+			alg.x = x;
+			alg.totalXX = tempXX[x];
+			alg.totalXY = tempXY[x];
+			alg.totalYY = tempYY[x];
+			outRow[x] = alg.computeIntensity();
+		}
+	}
+
+	public ImplSsdCorner_F32 getAlgorithm() {
+		return alg;
+	}
+
+	public RowSink getOutput() {
+		return output;
+	}
+}
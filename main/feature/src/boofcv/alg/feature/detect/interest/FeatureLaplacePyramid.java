@@ -21,6 +21,7 @@ package boofcv.alg.feature.detect.interest;
 import boofcv.abst.feature.detect.interest.InterestPointScaleSpacePyramid;
 import boofcv.abst.filter.ImageFunctionSparse;
 import boofcv.abst.filter.derivative.AnyImageDerivative;
+import boofcv.alg.transform.pyramid.PyramidDerivativeCache;
 import boofcv.struct.QueueCorner;
 import boofcv.struct.feature.ScalePoint;
 import boofcv.struct.image.ImageSingleBand;
@@ -66,6 +67,8 @@ public class FeatureLaplacePyramid<T extends ImageSingleBand, D extends ImageSin
 	protected List<ScalePoint> foundPoints = new ArrayList<ScalePoint>();
 
 	protected AnyImageDerivative<T, D> computeDerivative;
+	// optional cache of image derivatives which is shared with other algorithms
+	protected PyramidDerivativeCache<T, D> derivativeCache;
 
 	// how much the feature intensity is scaled in each level
 	// varies depending on feature type, used to adjust detection threshold
@@ -97,6 +100,9 @@ public class FeatureLaplacePyramid<T extends ImageSingleBand, D extends ImageSin
 	 */
 	@Override
 	public void detect(PyramidFloat<T> ss) {
+		if( derivativeCache != null && derivativeCache.getPyramid() != ss )
+			throw new IllegalArgumentException("The derivative cache has not been updated with this pyramid");
+
 		spaceIndex = 0;
 		if (maximums == null) {
 			maximums = new List[3];
@@ -110,7 +116,7 @@ public class FeatureLaplacePyramid<T extends ImageSingleBand, D extends ImageSin
 		for (int i = 0; i < ss.getNumLayers(); i++) {
 			// detect features in 2D space.  Don't need to compute features at the tail ends of scale-space
 			if (i > 0 && i < ss.getNumLayers() - 1)
-				detectCandidateFeatures(ss.getLayer(i), ss.getSigma(i));
+				detectCandidateFeatures(ss, i);
 
 			spaceIndex++;
 			if (spaceIndex >= 3)
@@ -127,24 +133,33 @@ public class FeatureLaplacePyramid<T extends ImageSingleBand, D extends ImageSin
 	/**
 	 * Use the feature detector to find candidate features in each level.  Only compute the needed image derivatives.
 	 */
-	private void detectCandidateFeatures(T image, double sigma ) {
+	private void detectCandidateFeatures(PyramidFloat<T> ss, int layer) {
+		T image = ss.getLayer(layer);
+		double sigma = ss.getSigma(layer);
 
 		// adjust corner intensity threshold based upon the current scale factor
 		float scaleThreshold = (float) (baseThreshold / Math.pow(sigma, scalePower));
 		detector.setThreshold(scaleThreshold);
-		computeDerivative.setInput(image);
+
+		AnyImageDerivative<T, D> anyDeriv;
+		if( derivativeCache == null ) {
+			anyDeriv = computeDerivative;
+			anyDeriv.setInput(image);
+		} else {
+			anyDeriv = derivativeCache.getLayer(layer);
+		}
 
 		D derivX = null, derivY = null;
 		D derivXX = null, derivYY = null, derivXY = null;
 
 		if (detector.getRequiresGradient()) {
-			derivX = computeDerivative.getDerivative(true);
-			derivY = computeDerivative.getDerivative(false);
+			derivX = anyDeriv.getDerivative(true);
+			derivY = anyDeriv.getDerivative(false);
 		}
 		if (detector.getRequiresHessian()) {
-			derivXX = computeDerivative.getDerivative(true, true);
-			derivYY = computeDerivative.getDerivative(false, false);
-			derivXY = computeDerivative.getDerivative(true, false);
+			derivXX = anyDeriv.getDerivative(true, true);
+			derivYY = anyDeriv.getDerivative(false, false);
+			derivXY = anyDeriv.getDerivative(true, false);
 		}
 
 		detector.process(image, derivX, derivY, derivXX, derivYY, derivXY);
@@ -226,6 +241,19 @@ public class FeatureLaplacePyramid<T extends ImageSingleBand, D extends ImageSin
 		return isMax;
 	}
 
+	public PyramidDerivativeCache<T, D> getDerivativeCache() {
+		return derivativeCache;
+	}
+
+	/**
+	 * Specifies a cache of image derivatives which is shared with other algorithms processing the same pyramid.
+	 * The cache must be updated with the pyramid before {@link #detect} is called, typically by being a
+	 * listener of the pyramid.  If null then derivatives are computed internally.
+	 */
+	public void setDerivativeCache(PyramidDerivativeCache<T, D> derivativeCache) {
+		this.derivativeCache = derivativeCache;
+	}
+
 	@Override
 	public List<ScalePoint> getInterestPoints() {
 		return foundPoints;
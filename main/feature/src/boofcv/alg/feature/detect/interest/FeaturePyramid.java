@@ -20,6 +20,7 @@ package boofcv.alg.feature.detect.interest;
 
 import boofcv.abst.feature.detect.interest.InterestPointScaleSpacePyramid;
 import boofcv.abst.filter.derivative.AnyImageDerivative;
+import boofcv.alg.transform.pyramid.PyramidDerivativeCache;
 import boofcv.core.image.border.FactoryImageBorderAlgs;
 import boofcv.core.image.border.ImageBorder_F32;
 import boofcv.struct.QueueCorner;
@@ -70,6 +71,8 @@ public class FeaturePyramid<T extends ImageSingleBand, D extends ImageSingleBand
 	protected List<ScalePoint> foundPoints = new ArrayList<ScalePoint>();
 
 	protected AnyImageDerivative<T, D> computeDerivative;
+	// optional cache of image derivatives which is shared with other algorithms
+	protected PyramidDerivativeCache<T, D> derivativeCache;
 
 	// how much the feature intensity is scaled in each level
 	// varies depending on feature type
@@ -97,6 +100,9 @@ public class FeaturePyramid<T extends ImageSingleBand, D extends ImageSingleBand
 	 */
 	@Override
 	public void detect(PyramidFloat<T> ss) {
+		if( derivativeCache != null && derivativeCache.getPyramid() != ss )
+			throw new IllegalArgumentException("The derivative cache has not been updated with this pyramid");
+
 		spaceIndex = 0;
 		if (intensities == null) {
 			intensities = new ImageFloat32[3];
@@ -113,7 +119,7 @@ public class FeaturePyramid<T extends ImageSingleBand, D extends ImageSingleBand
 
 		// compute feature intensity in each level
 		for (int i = 0; i < ss.getNumLayers(); i++) {
-			detectCandidateFeatures(ss.getLayer(i), ss.getSigma(i));
+			detectCandidateFeatures(ss, i);
 
 			// find maximum in NxNx3 (local image and scale space) region
 			if (i >= 2) {
@@ -126,23 +132,33 @@ public class FeaturePyramid<T extends ImageSingleBand, D extends ImageSingleBand
 	/**
 	 * Use the feature detector to find candidate features in each level.  Only compute the needed image derivatives.
 	 */
-	private void detectCandidateFeatures(T image, double sigma) {
+	private void detectCandidateFeatures(PyramidFloat<T> ss, int layer) {
+		T image = ss.getLayer(layer);
+		double sigma = ss.getSigma(layer);
+
 		// adjust corner intensity threshold based upon the current scale factor
 		float scaleThreshold = (float) (baseThreshold / Math.pow(sigma, scalePower));
 		detector.setThreshold(scaleThreshold);
-		computeDerivative.setInput(image);
+
+		AnyImageDerivative<T, D> anyDeriv;
+		if( derivativeCache == null ) {
+			anyDeriv = computeDerivative;
+			anyDeriv.setInput(image);
+		} else {
+			anyDeriv = derivativeCache.getLayer(layer);
+		}
 
 		D derivX = null, derivY = null;
 		D derivXX = null, derivYY = null, derivXY = null;
 
 		if (detector.getRequiresGradient()) {
-			derivX = computeDerivative.getDerivative(true);
-			derivY = computeDerivative.getDerivative(false);
+			derivX = anyDeriv.getDerivative(true);
+			derivY = anyDeriv.getDerivative(false);
 		}
 		if (detector.getRequiresHessian()) {
-			derivXX = computeDerivative.getDerivative(true, true);
-			derivYY = computeDerivative.getDerivative(false, false);
-			derivXY = computeDerivative.getDerivative(true, false);
+			derivXX = anyDeriv.getDerivative(true, true);
+			derivYY = anyDeriv.getDerivative(false, false);
+			derivXY = anyDeriv.getDerivative(true, false);
 		}
 
 		detector.process(image, derivX, derivY, derivXX, derivYY, derivXY);
@@ -220,6 +236,19 @@ public class FeaturePyramid<T extends ImageSingleBand, D extends ImageSingleBand
 		return isMax;
 	}
 
+	public PyramidDerivativeCache<T, D> getDerivativeCache() {
+		return derivativeCache;
+	}
+
+	/**
+	 * Specifies a cache of image derivatives which is shared with other algorithms processing the same pyramid.
+	 * The cache must be updated with the pyramid before {@link #detect} is called, typically by being a
+	 * listener of the pyramid.  If null then derivatives are computed internally.
+	 */
+	public void setDerivativeCache(PyramidDerivativeCache<T, D> derivativeCache) {
+		this.derivativeCache = derivativeCache;
+	}
+
 	@Override
 	public List<ScalePoint> getInterestPoints() {
 		return foundPoints;
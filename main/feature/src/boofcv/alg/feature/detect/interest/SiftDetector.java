@@ -153,6 +153,9 @@ public class SiftDetector {
 		this.ss = ss;
 		octavePixelOffset = 0;
 
+		// does nothing if the feature intensity has already been computed
+		ss.computeFeatureIntensity();
+
 		// extract features in each octave
 		for( int octave = 0; octave < ss.actualOctaves; octave++ ) {
 			// start processing at the second DOG since it needs the scales above and below
@@ -161,8 +164,6 @@ public class SiftDetector {
 
 			currentPixelScale = ss.pixelScale[octave];
 
-			ss.storage.reshape( ss.scale[indexScale].width , ss.scale[indexScale].height );
-
 			for( int scale = 1; scale < ss.numScales-2; scale++ , indexScale++,indexDOG++ ) {
 
 				// use the scale-space image as input for derivatives
@@ -21,6 +21,10 @@ package boofcv.alg.feature.detect.interest;
 import boofcv.abst.filter.derivative.ImageGradient;
 import boofcv.alg.filter.convolve.ConvolveNormalized;
 import boofcv.alg.misc.PixelMath;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.InstanceFactory;
+import boofcv.concurrency.InstancePool;
+import boofcv.concurrency.IntRangeTask;
 import boofcv.factory.filter.derivative.FactoryDerivative;
 import boofcv.factory.filter.kernel.FactoryKernelGaussian;
 import boofcv.struct.convolve.Kernel1D_F32;
@@ -42,6 +46,19 @@ import boofcv.struct.image.ImageFloat32;
  * octave.  The first octave is seeded with the input image or the input image scaled.
  * </p>
  *
+ * <p>
+ * SHARING: A single instance can be shared by several detectors, orientation estimators, and describers.  The
+ * difference of Gaussian images and image derivatives are only computed once after each call to
+ * {@link #constructPyramid}, no matter how many times they are requested.  Images can be accessed by their
+ * index or by octave and scale.
+ * </p>
+ *
+ * <p>
+ * CONCURRENCY: After the first two scales in every octave have been computed, the remaining scales in each
+ * octave are computed in parallel.  The difference of Gaussian and derivative images are computed in parallel
+ * across all the scales.  Results are identical to the single threaded case.
+ * </p>
+ *
  * @author Peter Abeles
  */
 public class SiftImageScaleSpace {
@@ -78,11 +95,33 @@ public class SiftImageScaleSpace {
 	// Note that the octave's are recursively computed, so this is the blur magnitude from before
 	private double priorSigmaFirstScale[];
 
-	// Computes the image derivative
-	private ImageGradient<ImageFloat32,ImageFloat32> gradient = FactoryDerivative.three_F32();
-
-	// storage for applying blur
-	protected ImageFloat32 storage;
+	// Computes the image derivative.  One for each thread
+	private InstancePool<ImageGradient<ImageFloat32,ImageFloat32>> gradients =
+			new InstancePool<ImageGradient<ImageFloat32,ImageFloat32>>(
+					new InstanceFactory<ImageGradient<ImageFloat32,ImageFloat32>>() {
+						@Override
+						public ImageGradient<ImageFloat32,ImageFloat32> newInstance() {
+							return FactoryDerivative.three_F32();
+						}
+					});
+
+	// storage for applying blur.  One for each thread
+	protected InstancePool<ImageFloat32> storage = new InstancePool<ImageFloat32>(
+			new InstanceFactory<ImageFloat32>() {
+				@Override
+				public ImageFloat32 newInstance() {
+					return new ImageFloat32(1,1);
+				}
+			});
+
+	// kernel used to blur the first scale in each octave
+	protected Kernel1D_F32 kernelFirst;
+	// kernels used to blur the previous scale inside an octave to get the next scale
+	protected Kernel1D_F32 kernelScales[];
+
+	// indicates if the feature intensity and derivatives have been computed for the current scale-space
+	protected boolean computedIntensity;
+	protected boolean computedDerivatives;
 
 	/**
 	 * Configures the scale-space.
@@ -129,7 +168,19 @@ public class SiftImageScaleSpace {
 		for( int i = 0; i < dog.length; i++ ) {
 			dog[i] = new ImageFloat32(1,1);
 		}
-		storage = new ImageFloat32(1,1);
+
+		kernelFirst = FactoryKernelGaussian.gaussian(Kernel1D_F32.class, sigma, -1);
+		kernelScales = new Kernel1D_F32[ numScales ];
+		for( int i = 1; i < numScales; i++ ) {
+			// sigmaA is the amount of blur already applied
+			double sigmaA = sigma*i;
+			// sigmaB is the desired amount of blur at this scale
+			double sigmaB = sigma*(i+1);
+
+			// compute the amount of blur which needs to be applied to get sigmaB
+			double amount = Math.sqrt(sigmaB*sigmaB - sigmaA*sigmaA);
+			kernelScales[i] = FactoryKernelGaussian.gaussian(Kernel1D_F32.class, amount, -1);
+		}
 
 		layerSigma = new double[totalImages];
 		for( int o = 0; o < numOctaves; o++ ) {
@@ -141,24 +192,28 @@ public class SiftImageScaleSpace {
 	}
 
 	/**
-	 * Processes the first image and constructs the scale-space pyramid for the first level.
+	 * Processes the first image and constructs the scale-space pyramid for the first level.  Previously
+	 * computed feature intensity and derivatives are discarded.
 	 *
 	 * @param input Input image
 	 */
 	public void constructPyramid(ImageFloat32 input) {
+		computedIntensity = false;
+		computedDerivatives = false;
+
 		// compute the first octave
 		if( doubleInputImage ) {
 			reshapeToInput(input.width * 2, input.height * 2);
 			upSample(input,scale[1]);
 
-			blurImage(scale[1],scale[0],sigma);
+			blurImage(scale[1],scale[0],kernelFirst);
 		} else {
 			reshapeToInput(input.width, input.height);
-			blurImage(input, scale[0], sigma);
+			blurImage(input, scale[0], kernelFirst);
 		}
-		constructRestOfOctave(0);
+		blurImage(scale[0],scale[1],kernelScales[1]);
 
-		// compute rest of the octaves
+		// compute the first two scales in the rest of the octaves, which are needed to seed the next octave
 		actualOctaves = numOctaves;
 		for( int o = 1; o < numOctaves; o++ ) {
 			// use the second scale in the previous octave to seed this one
@@ -172,27 +227,47 @@ public class SiftImageScaleSpace {
 			}
 
 			downSample(scale[indexSeed],scale[indexStart+1]);
-			blurImage(scale[indexStart+1],scale[indexStart],sigma);
-
-			constructRestOfOctave(o);
+			blurImage(scale[indexStart+1],scale[indexStart],kernelFirst);
+			blurImage(scale[indexStart],scale[indexStart+1],kernelScales[1]);
 		}
+
+		// the rest of each octave only depends on the first two scales in the octave
+		loop(0, actualOctaves, scale[0].width*scale[0].height*(numScales-2), new IntRangeTask() {
+			@Override
+			public void process(int o0, int o1) {
+				for( int o = o0; o < o1; o++ )
+					constructRestOfOctave(o);
+			}
+		});
 	}
 
 	/**
-	 * Computes the image derivative for each layer in the pyramid.
+	 * Computes the image derivative for each layer in the pyramid.  Does nothing if it has already been
+	 * computed since the last call to {@link #constructPyramid}.
 	 */
 	public void computeDerivatives() {
-		int maxScales = actualOctaves*numScales;
-		for( int i = 0; i < maxScales; i++ ) {
-			ImageFloat32 input = scale[i];
-			ImageFloat32 dx = derivX[i];
-			ImageFloat32 dy = derivY[i];
-
-			dx.reshape(input.width,input.height);
-			dy.reshape(input.width,input.height);
+		if( computedDerivatives )
+			return;
+		computedDerivatives = true;
 
-			gradient.process(input,dx,dy);
-		}
+		int maxScales = actualOctaves*numScales;
+		loop(0, maxScales, scale[0].width*scale[0].height/4, new IntRangeTask() {
+			@Override
+			public void process(int i0, int i1) {
+				ImageGradient<ImageFloat32,ImageFloat32> gradient = gradients.grab();
+				for( int i = i0; i < i1; i++ ) {
+					ImageFloat32 input = scale[i];
+					ImageFloat32 dx = derivX[i];
+					ImageFloat32 dy = derivY[i];
+
+					dx.reshape(input.width,input.height);
+					dy.reshape(input.width,input.height);
+
+					gradient.process(input,dx,dy);
+				}
+				gradients.release(gradient);
+			}
+		});
 	}
 
 	/**
@@ -215,58 +290,70 @@ public class SiftImageScaleSpace {
 	 * Applies the specified amount of blur to the input image and stores the results in
 	 * the output image
 	 */
-	private void blurImage( ImageFloat32 input , ImageFloat32 output , double sigma ) {
-		Kernel1D_F32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_F32.class, sigma, -1);
-
-		storage.reshape(input.width,input.height);
-		ConvolveNormalized.horizontal(kernel, input, storage);
-		ConvolveNormalized.vertical(kernel,storage,output);
+	private void blurImage( ImageFloat32 input , ImageFloat32 output , Kernel1D_F32 kernel ) {
+		ImageFloat32 work = storage.grab();
+		work.reshape(input.width,input.height);
+		ConvolveNormalized.horizontal(kernel, input, work);
+		ConvolveNormalized.vertical(kernel,work,output);
+		storage.release(work);
 	}
 
 	/**
-	 * Compute difference of Gaussian feature intensity across scale space
+	 * Compute difference of Gaussian feature intensity across scale space.  Does nothing if it has already been
+	 * computed since the last call to {@link #constructPyramid}.
 	 */
 	public void computeFeatureIntensity() {
-		int indexDog = 0;
-		for( int o = 0; o < actualOctaves; o++ ) {
-			for( int i = 1; i < numScales; i++ , indexDog++ ) {
-				int indexScale = o*numScales + i;
-
-				PixelMath.subtract(scale[indexScale],scale[indexScale-1],dog[indexDog]);
-
-				// NOTE: In SIFT paper it states you don't need to do this adjustment.  However, since the difference
-				// between scales is not a constant factor in this implementation you do need to do it.
-
-				// compute adjustment to make it better approximate of the Laplacian of Gaussian detector
-				double k = (i+1)/(double)i;
-				double adjustment = k-1;
-				PixelMath.divide(dog[indexDog], (float) adjustment, dog[indexDog]);
+		if( computedIntensity )
+			return;
+		computedIntensity = true;
+
+		final int dogPerOctave = numScales-1;
+		loop(0, actualOctaves*dogPerOctave, scale[0].width*scale[0].height/4, new IntRangeTask() {
+			@Override
+			public void process(int d0, int d1) {
+				for( int indexDog = d0; indexDog < d1; indexDog++ ) {
+					int o = indexDog/dogPerOctave;
+					int i = indexDog%dogPerOctave + 1;
+					int indexScale = o*numScales + i;
+
+					PixelMath.subtract(scale[indexScale],scale[indexScale-1],dog[indexDog]);
+
+					// NOTE: In SIFT paper it states you don't need to do this adjustment.  However, since the
+					// difference between scales is not a constant factor in this implementation you do need to do it.
+
+					// compute adjustment to make it better approximate of the Laplacian of Gaussian detector
+					double k = (i+1)/(double)i;
+					double adjustment = k-1;
+					PixelMath.divide(dog[indexDog], (float) adjustment, dog[indexDog]);
+				}
 			}
-		}
+		});
 	}
 
 	/**
-	 * Using the first scale as seed, construct the rest of the image pyramid in one octave.
+	 * Using the first two scales, construct the rest of the image pyramid in one octave.
 	 * The amount of blur for each scale is a multiple of sigma.  To improve runtime performance
 	 * the previous scale is convolved and the amount of blur is adjusted accordingly.
 	 */
 	private void constructRestOfOctave( int octave ) {
 
-		int indexScales = octave*numScales+1;
-		for( int i = 1; i < numScales; i++ , indexScales++ ) {
-			// sigmaA is the amount of blur already applied
-			double sigmaA = sigma*i;
-			// sigmaB is the desired amount of blur at this scale
-			double sigmaB = sigma*(i+1);
-
-			// compute the amount of blur which needs to be applied to get sigmaB
-			double amount = Math.sqrt(sigmaB*sigmaB - sigmaA*sigmaA);
-
+		int indexScales = octave*numScales+2;
+		for( int i = 2; i < numScales; i++ , indexScales++ ) {
 			// apply the blur
-			blurImage(scale[indexScales-1],scale[indexScales],amount);
+			blurImage(scale[indexScales-1],scale[indexScales],kernelScales[i]);
 		}
 	}
 
+	/**
+	 * Processes the loop in parallel if there is enough work and concurrency is turned on
+	 */
+	private void loop( int start , int end , int workPerIndex , IntRangeTask task ) {
+		if( BoofConcurrency.isConcurrent((long)(end-start)*workPerIndex) )
+			BoofConcurrency.loopBlocks(start, end, workPerIndex, task);
+		else
+			task.process(start, end);
+	}
+
 	/**
 	 * Down samples an image by copying every other pixel, starting with pixel 1.
 	 */
@@ -339,6 +426,55 @@ public class SiftImageScaleSpace {
 		return derivY[index];
 	}
 
+	/**
+	 * Returns the image at the specified octave and scale.
+	 */
+	public ImageFloat32 getImage( int octave , int scale ) {
+		return this.scale[octave*numScales + scale];
+	}
+
+	/**
+	 * Returns the difference of Gaussian between scale+1 and scale in the specified octave.  Computed if needed.
+	 *
+	 * @param octave Which octave
+	 * @param scale Lower scale, from 0 to numScales-2
+	 */
+	public ImageFloat32 getDifferenceOfGaussian( int octave , int scale ) {
+		computeFeatureIntensity();
+		return dog[octave*(numScales-1) + scale];
+	}
+
+	/**
+	 * Returns the x-derivative of the image at the specified octave and scale.  Computed if needed.
+	 */
+	public ImageFloat32 getDerivativeX( int octave , int scale ) {
+		computeDerivatives();
+		return derivX[octave*numScales + scale];
+	}
+
+	/**
+	 * Returns the y-derivative of the image at the specified octave and scale.  Computed if needed.
+	 */
+	public ImageFloat32 getDerivativeY( int octave , int scale ) {
+		computeDerivatives();
+		return derivY[octave*numScales + scale];
+	}
+
+	/**
+	 * Number of octaves which were computed for the most recent image.  Can be less than the
+	 * requested number of octaves if the image is small.
+	 */
+	public int getActualOctaves() {
+		return actualOctaves;
+	}
+
+	/**
+	 * Ratio of pixels in the octave to the original image
+	 */
+	public double getPixelScale( int octave ) {
+		return pixelScale[octave];
+	}
+
 	/**
 	 * Given the scale, return the index of the layer in the scale-space that is the closest
 	 * match.
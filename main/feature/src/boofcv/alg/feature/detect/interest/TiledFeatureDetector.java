@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.feature.detect.interest;
+
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.struct.ImageRectangle;
+import boofcv.struct.QueueCorner;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.TiledImage;
+import georegression.struct.point.Point2D_I16;
+import georegression.struct.point.Point2D_I32;
+import org.ddogleg.sorting.QuickSelect;
+import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_F32;
+
+/**
+ * <p>
+ * Detects point features inside a {@link TiledImage} one tile at a time using {@link EasyGeneralFeatureDetector}.
+ * Each tile is expanded by a halo before being processed.  A feature is only kept by the tile which contains it,
+ * so features inside the halo are not duplicated.  If the halo is large enough for the derivative, intensity and
+ * non-maximum suppression to see all the pixels they need, then the detected features are identical to
+ * processing the whole image at once.  A safe halo is the derivative radius plus the intensity's ignore border
+ * plus the non-maximum suppression's search radius.
+ * </p>
+ *
+ * <p>
+ * Selecting the N best features is done across the whole image by this class and not by each tile.
+ * The detector's own limit is turned off.  Feature locations are stored as 32-bit integers since
+ * the image can be larger than what {@link QueueCorner} can store.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class TiledFeatureDetector<T extends ImageSingleBand, D extends ImageSingleBand> {
+
+	// detects features inside each tile
+	EasyGeneralFeatureDetector<T,D> detector;
+	// number of pixels each tile is expanded by
+	int halo;
+	// maximum number of features across the whole image.  <= 0 for no limit
+	int maxFeatures;
+
+	// storage for the expanded tile
+	T work;
+	// bounds of the expanded tile
+	ImageRectangle region = new ImageRectangle();
+
+	// found features in image coordinates and their intensity
+	FastQueue<Point2D_I32> maximums = new FastQueue<Point2D_I32>(Point2D_I32.class,true);
+	FastQueue<Point2D_I32> minimums = new FastQueue<Point2D_I32>(Point2D_I32.class,true);
+	GrowQueue_F32 intensityMax = new GrowQueue_F32();
+	GrowQueue_F32 intensityMin = new GrowQueue_F32();
+
+	// work space for selecting the best features
+	FastQueue<Point2D_I32> selected = new FastQueue<Point2D_I32>(Point2D_I32.class,true);
+	float sortValues[] = new float[1];
+	int indexes[] = new int[1];
+
+	/**
+	 * Configures the detector
+	 *
+	 * @param detector Feature detector which is applied to each tile.
+	 * @param imageType Type of input image.
+	 * @param halo Number of pixels each tile is expanded by.
+	 */
+	public TiledFeatureDetector(EasyGeneralFeatureDetector<T, D> detector, Class<T> imageType, int halo) {
+		if( halo < 0 )
+			throw new IllegalArgumentException("Halo must be >= 0");
+		this.detector = detector;
+		this.halo = halo;
+		detector.getDetector().setMaxFeatures(-1);
+
+		work = GeneralizedImageOps.createSingleBand(imageType,1,1);
+	}
+
+	/**
+	 * Detects features across the whole image.
+	 *
+	 * @param image The image being processed.
+	 */
+	public void detect( TiledImage<T> image ) {
+		maximums.reset();
+		minimums.reset();
+		intensityMax.reset();
+		intensityMin.reset();
+
+		for( int row = 0; row < image.getTilesY(); row++ ) {
+			for( int col = 0; col < image.getTilesX(); col++ ) {
+				image.getTileRegion(col,row,halo,region);
+				image.read(region.x0,region.y0,region.x1,region.y1,work);
+
+				detector.detect(work,null);
+
+				// bounds of the tile relative to the expanded tile
+				int x0 = col*image.getTileWidth() - region.x0;
+				int y0 = row*image.getTileHeight() - region.y0;
+				int x1 = Math.min(image.getWidth(),(col+1)*image.getTileWidth()) - region.x0;
+				int y1 = Math.min(image.getHeight(),(row+1)*image.getTileHeight()) - region.y0;
+
+				ImageFloat32 intensity = detector.getDetector().getIntensity();
+				addFeatures(detector.getMaximums(),intensity,x0,y0,x1,y1,maximums,intensityMax);
+				addFeatures(detector.getMinimums(),intensity,x0,y0,x1,y1,minimums,intensityMin);
+			}
+		}
+
+		if( maxFeatures > 0 ) {
+			selectBest(maximums,intensityMax,true);
+			selectBest(minimums,intensityMin,false);
+		}
+	}
+
+	/**
+	 * Adds features which are inside the tile and converts them into image coordinates
+	 */
+	private void addFeatures( QueueCorner found , ImageFloat32 intensity ,
+							  int x0 , int y0 , int x1 , int y1 ,
+							  FastQueue<Point2D_I32> features , GrowQueue_F32 values ) {
+		for( int i = 0; i < found.size; i++ ) {
+			Point2D_I16 p = found.get(i);
+			if( p.x < x0 || p.x >= x1 || p.y < y0 || p.y >= y1 )
+				continue;
+			features.grow().set(p.x + region.x0, p.y + region.y0);
+			values.add(intensity.unsafe_get(p.x,p.y));
+		}
+	}
+
+	/**
+	 * Selects the features with the most extreme intensity
+	 */
+	private void selectBest( FastQueue<Point2D_I32> features , GrowQueue_F32 values , boolean positive ) {
+		int N = features.size;
+		if( N <= maxFeatures )
+			return;
+
+		if( sortValues.length < N ) {
+			sortValues = new float[N];
+			indexes = new int[N];
+		}
+		// quick select selects the k smallest
+		for( int i = 0; i < N; i++ ) {
+			sortValues[i] = positive ? -values.data[i] : values.data[i];
+		}
+		QuickSelect.selectIndex(sortValues,maxFeatures,N,indexes);
+
+		selected.reset();
+		for( int i = 0; i < maxFeatures; i++ ) {
+			selected.grow().set(features.get(indexes[i]));
+		}
+		features.reset();
+		for( int i = 0; i < selected.size; i++ ) {
+			features.grow().set(selected.get(i));
+			sortValues[i] = values.data[indexes[i]];
+		}
+		values.reset();
+		for( int i = 0; i < selected.size; i++ ) {
+			values.add(sortValues[i]);
+		}
+	}
+
+	/**
+	 * Maximum number of features which will be detected in each category.  If <= 0 then there is no limit.
+	 */
+	public void setMaxFeatures(int maxFeatures) {
+		this.maxFeatures = maxFeatures;
+	}
+
+	public int getMaxFeatures() {
+		return maxFeatures;
+	}
+
+	/**
+	 * Local maximums in image coordinates
+	 */
+	public FastQueue<Point2D_I32> getMaximums() {
+		return maximums;
+	}
+
+	/**
+	 * Local minimums in image coordinates
+	 */
+	public FastQueue<Point2D_I32> getMinimums() {
+		return minimums;
+	}
+
+	/**
+	 * Feature intensity of each local maximum
+	 */
+	public GrowQueue_F32 getIntensityMax() {
+		return intensityMax;
+	}
+
+	/**
+	 * Feature intensity of each local minimum
+	 */
+	public GrowQueue_F32 getIntensityMin() {
+		return intensityMin;
+	}
+
+	public int getHalo() {
+		return halo;
+	}
+}
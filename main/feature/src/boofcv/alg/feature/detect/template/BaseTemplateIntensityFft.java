@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.template;
+
+import boofcv.alg.filter.convolve.ConvolveFft_F32;
+import boofcv.struct.image.ImageFloat32;
+
+/**
+ * <p>
+ * Base class for template matching algorithms which compute the correlation between the template and the image
+ * using the FFT, see {@link ConvolveFft_F32}.  The sum and sum of squares of the image inside each window are
+ * found using integral images, which are computed in double precision.  When the template is small, the
+ * results are computed by directly evaluating the template at each pixel instead, since that is faster.
+ * </p>
+ *
+ * <p>
+ * The same pixels in the intensity image are written to as in {@link BaseTemplateIntensity}.  The results
+ * are the same, up to floating point round off error, which is larger than when directly evaluating
+ * the template.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public abstract class BaseTemplateIntensityFft implements TemplateMatchingIntensity<ImageFloat32> {
+
+	// Match intensity image
+	private ImageFloat32 intensity = new ImageFloat32(1, 1);
+
+	// algorithm used for small templates
+	private TemplateMatchingIntensity<ImageFloat32> direct;
+
+	// if the template is smaller than this width squared then the direct algorithm is used
+	private int minimumWidth = ConvolveFft_F32.MIN_KERNEL_WIDTH;
+
+	// computes the correlation between the template and the image
+	private ConvolveFft_F32 correlate = new ConvolveFft_F32();
+	// Correlation for each location of the template's top left corner
+	private ImageFloat32 correlation = new ImageFloat32(1, 1);
+
+	// integral images of the image and the image squared.  There is an extra row and column of zeros.
+	private double integral[] = new double[0];
+	private double integralSq[] = new double[0];
+
+	// offset from pixel intensity coordinate to top left corner of template
+	private int offsetX;
+	private int offsetY;
+
+	// which algorithm was used last
+	private boolean usedDirect;
+
+	/**
+	 * @param direct Algorithm which directly evaluates the template.  Used for small templates.
+	 */
+	protected BaseTemplateIntensityFft(TemplateMatchingIntensity<ImageFloat32> direct) {
+		this.direct = direct;
+	}
+
+	@Override
+	public void process(ImageFloat32 image, ImageFloat32 template) {
+		usedDirect = template.width*template.height < minimumWidth*minimumWidth;
+		if( usedDirect ) {
+			direct.process(image, template);
+			return;
+		}
+
+		intensity.reshape(image.width, image.height);
+		correlation.reshape(image.width, image.height);
+
+		offsetX = template.width / 2;
+		offsetY = template.height / 2;
+
+		// the kernel's center is at its top left corner
+		correlate.setKernel(setupTemplate(template), 0, 0);
+		correlate.process(image, correlation);
+
+		computeIntegrals(image);
+
+		int w = image.width - template.width;
+		int h = image.height - template.height;
+
+		int stride = image.width + 1;
+		for (int y = 0; y < h; y++) {
+			int index = intensity.startIndex + (y + offsetY) * intensity.stride + offsetX;
+			int indexCorr = y*correlation.stride;
+			int indexII0 = y*stride;
+			int indexII1 = (y+template.height)*stride;
+
+			for (int x = 0; x < w; x++, indexII0++, indexII1++ ) {
+				double sum = integral[indexII1+template.width] - integral[indexII1]
+						- integral[indexII0+template.width] + integral[indexII0];
+				double sumSq = integralSq[indexII1+template.width] - integralSq[indexII1]
+						- integralSq[indexII0+template.width] + integralSq[indexII0];
+
+				intensity.data[index++] = computeScore(correlation.data[indexCorr++], sum, sumSq);
+			}
+		}
+	}
+
+	/**
+	 * Computes the integral image of the input image and of the input image squared
+	 */
+	private void computeIntegrals( ImageFloat32 image ) {
+		int stride = image.width + 1;
+		int N = stride*(image.height+1);
+		if( integral.length < N ) {
+			integral = new double[N];
+			integralSq = new double[N];
+		}
+
+		for( int x = 0; x < stride; x++ ) {
+			integral[x] = integralSq[x] = 0;
+		}
+
+		for( int y = 0; y < image.height; y++ ) {
+			int indexImg = image.startIndex + y*image.stride;
+			int indexPrev = y*stride;
+			int indexII = indexPrev + stride;
+
+			integral[indexII] = integralSq[indexII] = 0;
+
+			double rowSum = 0, rowSumSq = 0;
+			for( int x = 0; x < image.width; x++ ) {
+				double value = image.data[indexImg++];
+				rowSum += value;
+				rowSumSq += value*value;
+
+				indexII++; indexPrev++;
+				integral[indexII] = integral[indexPrev] + rowSum;
+				integralSq[indexII] = integralSq[indexPrev] + rowSumSq;
+			}
+		}
+	}
+
+	/**
+	 * Precomputes information about the template and returns the kernel which is correlated against the image
+	 *
+	 * @param template The template
+	 * @return Kernel which is correlated with the image
+	 */
+	protected abstract ImageFloat32 setupTemplate( ImageFloat32 template );
+
+	/**
+	 * Computes the match score for a single location of the template
+	 *
+	 * @param correlation Correlation of the kernel returned by {@link #setupTemplate} and the image
+	 * @param sum Sum of image pixels inside the template
+	 * @param sumSq Sum of image pixels squared inside the template
+	 * @return match value with better matches having a more positive value
+	 */
+	protected abstract float computeScore( float correlation , double sum , double sumSq );
+
+	@Override
+	public ImageFloat32 getIntensity() {
+		return usedDirect ? direct.getIntensity() : intensity;
+	}
+
+	@Override
+	public boolean isBorderProcessed() {
+		return false;
+	}
+
+	@Override
+	public int getOffsetX() {
+		return usedDirect ? direct.getOffsetX() : offsetX;
+	}
+
+	@Override
+	public int getOffsetY() {
+		return usedDirect ? direct.getOffsetY() : offsetY;
+	}
+
+	public int getMinimumWidth() {
+		return minimumWidth;
+	}
+
+	/**
+	 * Templates with fewer pixels than the minimum width squared are evaluated directly instead of
+	 * using the FFT.
+	 */
+	public void setMinimumWidth(int minimumWidth) {
+		this.minimumWidth = minimumWidth;
+	}
+}
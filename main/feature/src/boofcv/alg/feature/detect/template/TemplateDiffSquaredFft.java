@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.template;
+
+import boofcv.struct.image.ImageFloat32;
+
+/**
+ * <p>
+ * Implementation of {@link TemplateDiffSquared} which uses the FFT, see {@link BaseTemplateIntensityFft}.
+ * The error is expanded into three terms.  The sum of the image squared is found using integral images, the
+ * sum of the template squared is a constant, and the correlation between the image and the template is
+ * computed using the FFT.
+ * </p>
+ *
+ * <p> error = -1*Sum<sub>(o,u)</sub> [I(x,y)<sup>2</sup> - 2*I(x,y)*T(x-o,y-u) + T(x-o,y-u)<sup>2</sup>] </p>
+ *
+ * <p>
+ * NOTE: The terms are much larger than the error for good matches, so the error of good matches is less
+ * accurate than when directly computed.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class TemplateDiffSquaredFft extends BaseTemplateIntensityFft {
+
+	// sum of the template squared
+	double templateSumSq;
+
+	public TemplateDiffSquaredFft() {
+		super(new TemplateDiffSquared.F32());
+	}
+
+	@Override
+	protected ImageFloat32 setupTemplate(ImageFloat32 template) {
+		templateSumSq = 0;
+
+		for (int y = 0; y < template.height; y++) {
+			int templateIndex = template.startIndex + y * template.stride;
+
+			for (int x = 0; x < template.width; x++) {
+				double value = template.data[templateIndex++];
+				templateSumSq += value*value;
+			}
+		}
+
+		return template;
+	}
+
+	@Override
+	protected float computeScore(float correlation, double sum, double sumSq) {
+		return (float)-(sumSq - 2.0*correlation + templateSumSq);
+	}
+}
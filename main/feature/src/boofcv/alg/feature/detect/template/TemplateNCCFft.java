@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.template;
+
+import boofcv.struct.image.ImageFloat32;
+
+/**
+ * <p>
+ * Implementation of {@link TemplateNCC} which uses the FFT, see {@link BaseTemplateIntensityFft}.  Since the
+ * template with its mean subtracted sums up to zero, the numerator of NCC is the correlation between the image
+ * and the zero mean template, which is computed using the FFT.  The image's mean and standard deviation inside
+ * the template are found using integral images.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class TemplateNCCFft extends BaseTemplateIntensityFft {
+
+	// variance relative to the mean squared intensity below which a region is considered to be flat
+	public static final double FLAT_TOLERANCE = 1e-10;
+
+	// template with its mean subtracted
+	ImageFloat32 adjusted = new ImageFloat32(1,1);
+
+	double area;
+	double templateSigma;
+
+	public TemplateNCCFft() {
+		super(new TemplateNCC.F32());
+	}
+
+	@Override
+	protected ImageFloat32 setupTemplate(ImageFloat32 template) {
+		area = template.width*template.height;
+
+		double templateMean = 0;
+
+		for (int y = 0; y < template.height; y++) {
+			int templateIndex = template.startIndex + y * template.stride;
+
+			for (int x = 0; x < template.width; x++) {
+				templateMean += template.data[templateIndex++];
+			}
+		}
+
+		templateMean /= area;
+
+		adjusted.reshape(template.width,template.height);
+		templateSigma = 0;
+
+		for (int y = 0; y < template.height; y++) {
+			int templateIndex = template.startIndex + y * template.stride;
+			int adjustedIndex = y * adjusted.stride;
+
+			for (int x = 0; x < template.width; x++) {
+				double diff = template.data[templateIndex++] - templateMean;
+				adjusted.data[adjustedIndex++] = (float)diff;
+				templateSigma += diff*diff;
+			}
+		}
+
+		templateSigma = Math.sqrt(templateSigma/area);
+
+		return adjusted;
+	}
+
+	/**
+	 * Computes the NCC score.  If the image or the template has no variance then NCC is undefined and a score of
+	 * zero is returned.  In that case the FFT correlation is only round off error and dividing by it would produce
+	 * an infinite score.
+	 */
+	@Override
+	protected float computeScore(float correlation, double sum, double sumSq) {
+		double imageMean = sum/area;
+		double meanSq = sumSq/area;
+		double imageVariance = meanSq - imageMean*imageMean;
+
+		// the variance is found by subtracting two nearly equal numbers inside flat regions, so it's compared
+		// against the magnitude of the intensity
+		if( imageVariance <= FLAT_TOLERANCE*meanSq || templateSigma == 0 )
+			return 0;
+
+		double imageSigma = Math.sqrt(imageVariance);
+
+		// technically top should be divided by area, but that won't change the solution
+		return (float)(correlation/(imageSigma*templateSigma));
+	}
+}
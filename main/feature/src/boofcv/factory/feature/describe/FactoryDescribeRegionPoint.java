@@ -171,6 +171,22 @@ public class FactoryDescribeRegionPoint {
 		return new WrapDescribeSift(alg,ss);
 	}
 
+	/**
+	 * Creates a SIFT region descriptor which uses a scale-space that is shared with other algorithms.  The
+	 * scale-space is not updated by the descriptor. {@link SiftImageScaleSpace#constructPyramid} must be called
+	 * before each call to setImage.
+	 *
+	 * @param ss Shared scale-space.
+	 * @param configDescribe SIFT descriptor configuration.  Pass in null for default options.
+	 * @return SIFT descriptor
+	 */
+	public static DescribeRegionPoint<ImageFloat32,SurfFeature> siftShared( SiftImageScaleSpace ss,
+																	        ConfigSiftDescribe configDescribe) {
+		DescribePointSift alg = FactoryDescribePointAlgs.sift(configDescribe);
+
+		return new WrapDescribeSift(alg,ss,false);
+	}
+
 	/**
 	 * <p>
 	 * Creates a BRIEF descriptor.
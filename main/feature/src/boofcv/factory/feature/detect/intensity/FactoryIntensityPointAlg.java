@@ -22,6 +22,8 @@ import boofcv.alg.feature.detect.intensity.FastCornerIntensity;
 import boofcv.alg.feature.detect.intensity.HarrisCornerIntensity;
 import boofcv.alg.feature.detect.intensity.ShiTomasiCornerIntensity;
 import boofcv.alg.feature.detect.intensity.impl.*;
+import boofcv.alg.filter.stream.GradientRowSink;
+import boofcv.alg.filter.stream.RowSink;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageSInt16;
 import boofcv.struct.image.ImageSingleBand;
@@ -123,4 +125,29 @@ public class FactoryIntensityPointAlg {
 		} else
 			throw new IllegalArgumentException("Unknown image type "+derivType);
 	}
+
+	/**
+	 * Creates a stage in a streaming filter pipeline which computes the Harris corner intensity from the
+	 * gradient.  See {@link boofcv.factory.filter.stream.FactoryStreamFilter}.
+	 *
+	 * @param windowRadius Size of the feature it is detects,Try 2.
+	 * @param kappa Tuning parameter, typically a small number around 0.04
+	 * @param output The next stage in the stream, which receives the intensity image
+	 * @return Harris corner stage
+	 */
+	public static GradientRowSink harrisStream(int windowRadius, float kappa, RowSink output) {
+		return new ImplSsdCornerStream_F32(new ImplHarrisCorner_F32(windowRadius,kappa),output);
+	}
+
+	/**
+	 * Creates a stage in a streaming filter pipeline which computes the Shi-Tomasi corner intensity from the
+	 * gradient.  See {@link boofcv.factory.filter.stream.FactoryStreamFilter}.
+	 *
+	 * @param windowRadius Size of the feature it detects, Try 2.
+	 * @param output The next stage in the stream, which receives the intensity image
+	 * @return KLT corner stage
+	 */
+	public static GradientRowSink shiTomasiStream(int windowRadius, RowSink output) {
+		return new ImplSsdCornerStream_F32(new ImplShiTomasiCorner_F32(windowRadius),output);
+	}
 }
@@ -154,4 +154,22 @@ public class FactoryInterestPoint {
 		return new WrapSiftDetector(alg,ss);
 	}
 
+	/**
+	 * Creates a SIFT feature detector which uses a scale-space that is shared with other algorithms.  The
+	 * scale-space is not updated by the detector. {@link SiftImageScaleSpace#constructPyramid} must be called
+	 * before each call to detect.
+	 *
+	 * @see SiftDetector
+	 *
+	 * @param ss Shared scale-space.
+	 * @param configDetector Configuration for detector.  Pass in null for default options.
+	 */
+	public static InterestPointDetector<ImageFloat32> siftDetectorShared( SiftImageScaleSpace ss,
+																	      ConfigSiftDetector configDetector )
+	{
+		SiftDetector alg = FactoryInterestPointAlgs.siftDetector(configDetector);
+
+		return new WrapSiftDetector(alg,ss,false);
+	}
+
 }
@@ -19,9 +19,11 @@
 package boofcv.factory.feature.detect.template;
 
 import boofcv.alg.feature.detect.template.TemplateDiffSquared;
+import boofcv.alg.feature.detect.template.TemplateDiffSquaredFft;
 import boofcv.alg.feature.detect.template.TemplateMatching;
 import boofcv.alg.feature.detect.template.TemplateMatchingIntensity;
 import boofcv.alg.feature.detect.template.TemplateNCC;
+import boofcv.alg.feature.detect.template.TemplateNCCFft;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.struct.image.ImageUInt8;
@@ -37,6 +39,8 @@ public class FactoryTemplateMatching {
 	/**
 	 * Creates {@link TemplateMatchingIntensity} of the specified type.  Likely
 	 * matches can be extracted using {@link boofcv.abst.feature.detect.extract.NonMaxSuppression}.
+	 * For {@link ImageFloat32} images, large templates are matched using the FFT and small templates
+	 * are matched directly, see {@link boofcv.alg.feature.detect.template.BaseTemplateIntensityFft}.
 	 *
 	 * @param type      Type of error function
 	 * @param imageType Image type being processed
@@ -49,7 +53,7 @@ public class FactoryTemplateMatching {
 				if (imageType == ImageUInt8.class) {
 					return (TemplateMatchingIntensity<T>) new TemplateDiffSquared.U8();
 				} else if (imageType == ImageFloat32.class) {
-					return (TemplateMatchingIntensity<T>) new TemplateDiffSquared.F32();
+					return (TemplateMatchingIntensity<T>) new TemplateDiffSquaredFft();
 				} else {
 					throw new IllegalArgumentException("Image type not supported. " + imageType.getSimpleName());
 				}
@@ -58,7 +62,7 @@ public class FactoryTemplateMatching {
 				if (imageType == ImageUInt8.class) {
 					return (TemplateMatchingIntensity<T>) new TemplateNCC.U8();
 				} else if (imageType == ImageFloat32.class) {
-					return (TemplateMatchingIntensity<T>) new TemplateNCC.F32();
+					return (TemplateMatchingIntensity<T>) new TemplateNCCFft();
 				} else {
 					throw new IllegalArgumentException("Image type not supported. " + imageType.getSimpleName());
 				}
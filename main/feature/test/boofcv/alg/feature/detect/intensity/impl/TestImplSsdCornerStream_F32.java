@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.feature.detect.intensity.impl;
+
+import boofcv.alg.filter.blur.BlurImageOps;
+import boofcv.alg.filter.derivative.GradientSobel;
+import boofcv.alg.filter.stream.GradientRowSink;
+import boofcv.alg.filter.stream.RowToImage;
+import boofcv.alg.filter.stream.StreamImageRows;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.core.image.border.FactoryImageBorderAlgs;
+import boofcv.factory.feature.detect.intensity.FactoryIntensityPointAlg;
+import boofcv.factory.filter.stream.FactoryStreamFilter;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImplSsdCornerStream_F32 {
+
+	Random rand = new Random(234);
+
+	/**
+	 * Compare against the non-streaming version for several window sizes and image shapes
+	 */
+	@Test
+	public void compareToImage() {
+		int sizes[][] = new int[][]{{20,25},{31,12},{6,4}};
+
+		for( int[] s : sizes ) {
+			ImageFloat32 derivX = new ImageFloat32(s[0],s[1]);
+			ImageFloat32 derivY = new ImageFloat32(s[0],s[1]);
+			ImageMiscOps.fillUniform(derivX, rand, -10, 10);
+			ImageMiscOps.fillUniform(derivY, rand, -10, 10);
+
+			for( int radius = 1; radius <= 3; radius++ ) {
+				ImplHarrisCorner_F32 alg = new ImplHarrisCorner_F32(radius,0.04f);
+				ImageFloat32 expected = new ImageFloat32(s[0],s[1]);
+				if( s[0] >= 2*radius+1 && s[1] >= 2*radius+1 )
+					alg.process(derivX, derivY, expected);
+
+				RowToImage found = new RowToImage();
+				GradientRowSink stream = new ImplSsdCornerStream_F32(new ImplHarrisCorner_F32(radius,0.04f),found);
+				stream.initialize(s[0],s[1]);
+				for( int y = 0; y < s[1]; y++ ) {
+					float[] rowX = new float[s[0]];
+					float[] rowY = new float[s[0]];
+					System.arraycopy(derivX.data,y*s[0],rowX,0,s[0]);
+					System.arraycopy(derivY.data,y*s[0],rowY,0,s[0]);
+					stream.process(y,rowX,rowY);
+				}
+
+				BoofTesting.assertEquals(expected, found.getImage(), 1e-4);
+			}
+		}
+	}
+
+	/**
+	 * Blur, gradient, and Shi-Tomasi intensity in a single streaming pass
+	 */
+	@Test
+	public void chained() {
+		ImageFloat32 input = new ImageFloat32(30,25);
+		ImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		ImageFloat32 blurred = BlurImageOps.gaussian(input,null,-1,2,null);
+		ImageFloat32 derivX = new ImageFloat32(input.width,input.height);
+		ImageFloat32 derivY = new ImageFloat32(input.width,input.height);
+		GradientSobel.process(blurred, derivX, derivY, FactoryImageBorderAlgs.extend(blurred));
+		ImageFloat32 expected = new ImageFloat32(input.width,input.height);
+		new ImplShiTomasiCorner_F32(2).process(derivX,derivY,expected);
+
+		RowToImage found = new RowToImage();
+		StreamImageRows.process(input, FactoryStreamFilter.gaussian(-1, 2,
+				FactoryStreamFilter.sobel(FactoryIntensityPointAlg.shiTomasiStream(2, found))));
+
+		BoofTesting.assertEquals(expected, found.getImage(), 1e-3);
+	}
+}
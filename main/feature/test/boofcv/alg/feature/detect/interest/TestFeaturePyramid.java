@@ -20,10 +20,18 @@ package boofcv.alg.feature.detect.interest;
 
 import boofcv.abst.filter.derivative.AnyImageDerivative;
 import boofcv.alg.filter.derivative.GImageDerivativeOps;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.alg.transform.pyramid.PyramidDerivativeCache;
 import boofcv.core.image.inst.FactoryImageGenerator;
 import boofcv.factory.transform.pyramid.FactoryPyramid;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.pyramid.PyramidFloat;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 
 /**
@@ -50,5 +58,33 @@ public class TestFeaturePyramid extends GenericFeatureScaleDetector {
 		return alg.getInterestPoints().size();
 	}
 
-}
+	/**
+	 * Using a shared derivative cache should produce the same results
+	 */
+	@Test
+	public void derivativeCache() {
+		ImageFloat32 input = new ImageFloat32(80,90);
+		ImageMiscOps.fillUniform(input, new Random(234), 0, 100);
+
+		PyramidFloat<ImageFloat32> ss = FactoryPyramid.scaleSpacePyramid(new double[]{1, 2, 4, 8}, ImageFloat32.class);
+		PyramidDerivativeCache<ImageFloat32,ImageFloat32> cache =
+				new PyramidDerivativeCache<ImageFloat32,ImageFloat32>(ImageFloat32.class,ImageFloat32.class);
+		ss.setLayerListener(cache);
+		ss.process(input);
 
+		FeaturePyramid<ImageFloat32, ImageFloat32> expected = (FeaturePyramid)createDetector(50);
+		FeaturePyramid<ImageFloat32, ImageFloat32> found = (FeaturePyramid)createDetector(50);
+		found.setDerivativeCache(cache);
+
+		expected.detect(ss);
+		found.detect(ss);
+
+		assertTrue(expected.getInterestPoints().size() > 0);
+		assertEquals(expected.getInterestPoints().size(), found.getInterestPoints().size());
+		for( int i = 0; i < expected.getInterestPoints().size(); i++ ) {
+			assertEquals(expected.getInterestPoints().get(i).x, found.getInterestPoints().get(i).x, 1e-8);
+			assertEquals(expected.getInterestPoints().get(i).y, found.getInterestPoints().get(i).y, 1e-8);
+			assertEquals(expected.getInterestPoints().get(i).scale, found.getInterestPoints().get(i).scale, 1e-8);
+		}
+	}
+}
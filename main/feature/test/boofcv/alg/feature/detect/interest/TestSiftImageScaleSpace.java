@@ -20,6 +20,7 @@ package boofcv.alg.feature.detect.interest;
 
 import boofcv.alg.misc.GImageMiscOps;
 import boofcv.alg.misc.ImageStatistics;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.testing.BoofTesting;
 import org.junit.Test;
@@ -27,6 +28,7 @@ import org.junit.Test;
 import java.util.Random;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -192,4 +194,105 @@ public class TestSiftImageScaleSpace {
 			assertEquals(sum1,sum2,1e-6);
 		}
 	}
+
+	/**
+	 * Feature intensity and derivatives should only be computed once after the pyramid has been constructed
+	 */
+	@Test
+	public void cachedResults() {
+		SiftImageScaleSpace ss = new SiftImageScaleSpace(1.6f, 5, 3, false);
+
+		ImageFloat32 input = new ImageFloat32(60,70);
+		GImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		ss.constructPyramid(input);
+		ss.computeFeatureIntensity();
+		ss.computeDerivatives();
+
+		// modify the results.  If they are recomputed the change will be lost
+		ss.dog[2].set(3,4,-1234);
+		ss.derivX[2].set(3,4,-1234);
+		ss.computeFeatureIntensity();
+		ss.computeDerivatives();
+		assertEquals(-1234,ss.dog[2].get(3,4),1e-8);
+		assertEquals(-1234,ss.derivX[2].get(3,4),1e-8);
+
+		// constructing the pyramid again should discard the previous results
+		ss.constructPyramid(input);
+		ss.computeFeatureIntensity();
+		ss.computeDerivatives();
+		assertTrue(ss.dog[2].get(3,4) != -1234);
+		assertTrue(ss.derivX[2].get(3,4) != -1234);
+	}
+
+	/**
+	 * Request images using octave and scale and see if they are the same images, and that they are computed
+	 * when requested
+	 */
+	@Test
+	public void octaveScaleAccessors() {
+		SiftImageScaleSpace ss = new SiftImageScaleSpace(1.6f, 5, 3, false);
+
+		ImageFloat32 input = new ImageFloat32(60,70);
+		GImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		ss.constructPyramid(input);
+		assertFalse(ss.computedIntensity);
+		assertFalse(ss.computedDerivatives);
+
+		assertTrue(ss.getDifferenceOfGaussian(1,2) == ss.dog[4+2]);
+		assertTrue(ss.computedIntensity);
+		assertTrue(ImageStatistics.sum(ss.dog[4+2]) != 0);
+
+		assertTrue(ss.getDerivativeX(1,2) == ss.derivX[5+2]);
+		assertTrue(ss.getDerivativeY(1,2) == ss.derivY[5+2]);
+		assertTrue(ss.computedDerivatives);
+		assertTrue(ImageStatistics.sum(ss.derivX[5+2]) != 0);
+
+		assertTrue(ss.getImage(2,3) == ss.scale[10+3]);
+		assertEquals(3,ss.getActualOctaves());
+		assertEquals(4,ss.getPixelScale(2),1e-8);
+	}
+
+	/**
+	 * Compare the concurrent results to the single threaded results
+	 */
+	@Test
+	public void concurrent() {
+		int originalThreads = BoofConcurrency.getMaxThreads();
+		int originalWork = BoofConcurrency.getMinimumWork();
+		boolean originalUse = BoofConcurrency.USE_CONCURRENT;
+		try {
+			ImageFloat32 input = new ImageFloat32(60,70);
+			GImageMiscOps.fillUniform(input, rand, 0, 100);
+
+			BoofConcurrency.USE_CONCURRENT = false;
+			SiftImageScaleSpace expected = new SiftImageScaleSpace(1.6f, 5, 3, true);
+			expected.constructPyramid(input);
+			expected.computeFeatureIntensity();
+			expected.computeDerivatives();
+
+			BoofConcurrency.setMaxThreads(7);
+			BoofConcurrency.setMinimumWork(0);
+			BoofConcurrency.USE_CONCURRENT = true;
+			SiftImageScaleSpace found = new SiftImageScaleSpace(1.6f, 5, 3, true);
+			found.constructPyramid(input);
+			found.computeFeatureIntensity();
+			found.computeDerivatives();
+
+			assertEquals(expected.actualOctaves,found.actualOctaves);
+			for( int i = 0; i < expected.actualOctaves*5; i++ ) {
+				BoofTesting.assertEquals(expected.scale[i], found.scale[i], 0);
+				BoofTesting.assertEquals(expected.derivX[i], found.derivX[i], 0);
+				BoofTesting.assertEquals(expected.derivY[i], found.derivY[i], 0);
+			}
+			for( int i = 0; i < expected.actualOctaves*4; i++ ) {
+				BoofTesting.assertEquals(expected.dog[i], found.dog[i], 0);
+			}
+		} finally {
+			BoofConcurrency.USE_CONCURRENT = originalUse;
+			BoofConcurrency.setMaxThreads(originalThreads);
+			BoofConcurrency.setMinimumWork(originalWork);
+		}
+	}
 }
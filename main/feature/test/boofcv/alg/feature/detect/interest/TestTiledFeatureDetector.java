@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.feature.detect.interest;
+
+import boofcv.abst.feature.detect.interest.ConfigGeneralDetector;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.factory.feature.detect.interest.FactoryDetectPoint;
+import boofcv.struct.QueueCorner;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.TiledImage;
+import georegression.struct.point.Point2D_I16;
+import georegression.struct.point.Point2D_I32;
+import org.ddogleg.struct.FastQueue;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestTiledFeatureDetector {
+
+	Random rand = new Random(234);
+
+	int width = 80;
+	int height = 60;
+
+	/**
+	 * Features should be identical to processing the whole image at once
+	 */
+	@Test
+	public void compareToWholeImage() throws IOException {
+		ImageFloat32 image = new ImageFloat32(width,height);
+		ImageMiscOps.fillUniform(image,rand,0,100);
+
+		EasyGeneralFeatureDetector<ImageFloat32,ImageFloat32> whole = createDetector();
+		whole.detect(image,null);
+		QueueCorner expected = whole.getMaximums();
+		assertTrue(expected.size > 10);
+
+		File file = File.createTempFile("tiled",".raw");
+		file.deleteOnExit();
+		TiledImage<ImageFloat32> tiled = TiledImage.create(file,ImageFloat32.class,width,height,25,20);
+		tiled.write(0,0,image);
+
+		// derivative radius + intensity radius + search radius, plus some extra
+		TiledFeatureDetector<ImageFloat32,ImageFloat32> alg =
+				new TiledFeatureDetector<ImageFloat32,ImageFloat32>(createDetector(),ImageFloat32.class,10);
+		alg.detect(tiled);
+
+		FastQueue<Point2D_I32> found = alg.getMaximums();
+		assertEquals(expected.size,found.size);
+		assertEquals(found.size,alg.getIntensityMax().size);
+		for( int i = 0; i < expected.size; i++ ) {
+			Point2D_I16 e = expected.get(i);
+			assertTrue(contains(found,e.x,e.y));
+		}
+
+		// now just select the best
+		alg.setMaxFeatures(5);
+		alg.detect(tiled);
+		assertEquals(5,alg.getMaximums().size);
+		float worstSelected = Float.MAX_VALUE;
+		for( int i = 0; i < 5; i++ ) {
+			Point2D_I32 p = alg.getMaximums().get(i);
+			assertEquals(whole.getDetector().getIntensity().get(p.x,p.y),alg.getIntensityMax().get(i),1e-2f);
+			worstSelected = Math.min(worstSelected,alg.getIntensityMax().get(i));
+		}
+		int numBetter = 0;
+		for( int i = 0; i < expected.size; i++ ) {
+			Point2D_I16 e = expected.get(i);
+			if( whole.getDetector().getIntensity().get(e.x,e.y) > worstSelected )
+				numBetter++;
+		}
+		assertTrue(numBetter <= 4);
+
+		tiled.close();
+		file.delete();
+	}
+
+	private EasyGeneralFeatureDetector<ImageFloat32,ImageFloat32> createDetector() {
+		GeneralFeatureDetector<ImageFloat32,ImageFloat32> detector =
+				FactoryDetectPoint.createShiTomasi(new ConfigGeneralDetector(-1,2,1),false,ImageFloat32.class);
+		return new EasyGeneralFeatureDetector<ImageFloat32,ImageFloat32>(detector,ImageFloat32.class,ImageFloat32.class);
+	}
+
+	private boolean contains( FastQueue<Point2D_I32> list , int x , int y ) {
+		for( int i = 0; i < list.size; i++ ) {
+			Point2D_I32 p = list.get(i);
+			if( p.x == x && p.y == y )
+				return true;
+		}
+		return false;
+	}
+}
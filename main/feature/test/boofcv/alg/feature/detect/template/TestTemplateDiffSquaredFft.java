@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.template;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestTemplateDiffSquaredFft {
+
+	Random rand = new Random(234);
+
+	/**
+	 * Force it to always use the FFT
+	 */
+	@Test
+	public void instanceFft() {
+		TemplateDiffSquaredFft alg = new TemplateDiffSquaredFft();
+		alg.setMinimumWidth(0);
+
+		new GeneralTemplateMatchTests<ImageFloat32>(alg, ImageFloat32.class) {
+		}.allTests();
+	}
+
+	/**
+	 * Small templates should be processed directly
+	 */
+	@Test
+	public void instanceDirect() {
+		TemplateDiffSquaredFft alg = new TemplateDiffSquaredFft();
+
+		new GeneralTemplateMatchTests<ImageFloat32>(alg, ImageFloat32.class) {
+		}.allTests();
+	}
+
+	/**
+	 * Compare against directly evaluating a large template
+	 */
+	@Test
+	public void compareToDirect() {
+		ImageFloat32 image = new ImageFloat32(90,70);
+		ImageFloat32 template = new ImageFloat32(21,17);
+		ImageMiscOps.fillUniform(image, rand, 0, 1);
+		ImageMiscOps.fillUniform(template, rand, 0, 1);
+
+		TemplateDiffSquared.F32 expected = new TemplateDiffSquared.F32();
+		TemplateDiffSquaredFft found = new TemplateDiffSquaredFft();
+
+		expected.process(image, template);
+		found.process(BoofTesting.createSubImageOf(image), BoofTesting.createSubImageOf(template));
+
+		assertEquals(expected.getOffsetX(), found.getOffsetX());
+		assertEquals(expected.getOffsetY(), found.getOffsetY());
+
+		ImageFloat32 a = expected.getIntensity();
+		ImageFloat32 b = found.getIntensity();
+		assertTrue(b != a);
+
+		for (int y = 0; y < image.height - template.height; y++) {
+			for (int x = 0; x < image.width - template.width; x++) {
+				float valueA = a.get(x + expected.getOffsetX(), y + expected.getOffsetY());
+				float valueB = b.get(x + found.getOffsetX(), y + found.getOffsetY());
+				assertEquals(valueA, valueB, 1e-3*Math.max(1, Math.abs(valueA)));
+			}
+		}
+	}
+}
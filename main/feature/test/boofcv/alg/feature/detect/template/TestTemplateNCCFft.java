@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.template;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestTemplateNCCFft {
+
+	Random rand = new Random(234);
+
+	/**
+	 * Force it to always use the FFT
+	 */
+	@Test
+	public void instanceFft() {
+		TemplateNCCFft alg = new TemplateNCCFft();
+		alg.setMinimumWidth(0);
+
+		new GeneralTemplateMatchTests<ImageFloat32>(alg, ImageFloat32.class) {
+		}.allTests();
+	}
+
+	/**
+	 * Small templates should be processed directly
+	 */
+	@Test
+	public void instanceDirect() {
+		TemplateNCCFft alg = new TemplateNCCFft();
+
+		new GeneralTemplateMatchTests<ImageFloat32>(alg, ImageFloat32.class) {
+		}.allTests();
+	}
+
+	/**
+	 * Compare against directly evaluating a large template
+	 */
+	@Test
+	public void compareToDirect() {
+		ImageFloat32 image = new ImageFloat32(90,70);
+		ImageFloat32 template = new ImageFloat32(21,17);
+		ImageMiscOps.fillUniform(image, rand, 0, 1);
+		ImageMiscOps.fillUniform(template, rand, 0, 1);
+
+		TemplateNCC.F32 expected = new TemplateNCC.F32();
+		TemplateNCCFft found = new TemplateNCCFft();
+
+		expected.process(image, template);
+		found.process(BoofTesting.createSubImageOf(image), BoofTesting.createSubImageOf(template));
+
+		assertEquals(expected.getOffsetX(), found.getOffsetX());
+		assertEquals(expected.getOffsetY(), found.getOffsetY());
+
+		ImageFloat32 a = expected.getIntensity();
+		ImageFloat32 b = found.getIntensity();
+		assertTrue(b != a);
+
+		for (int y = 0; y < image.height - template.height; y++) {
+			for (int x = 0; x < image.width - template.width; x++) {
+				float valueA = a.get(x + expected.getOffsetX(), y + expected.getOffsetY());
+				float valueB = b.get(x + found.getOffsetX(), y + found.getOffsetY());
+				assertEquals(valueA, valueB, 1e-3*Math.max(1, Math.abs(valueA)));
+			}
+		}
+	}
+
+	/**
+	 * Inside a flat region NCC is undefined.  Round off error in the FFT correlation shouldn't produce an infinite
+	 * score there
+	 */
+	@Test
+	public void flatRegion() {
+		ImageFloat32 image = new ImageFloat32(120,100);
+		ImageFloat32 template = new ImageFloat32(20,20);
+		ImageMiscOps.fillUniform(image, rand, 0, 255);
+		ImageMiscOps.fill(image.subimage(0,0,60,100,null), 100);
+		ImageMiscOps.fillUniform(template, rand, 0, 255);
+
+		TemplateNCC.F32 expected = new TemplateNCC.F32();
+		TemplateNCCFft found = new TemplateNCCFft();
+		found.setMinimumWidth(0);
+
+		expected.process(image, template);
+		found.process(image, template);
+
+		ImageFloat32 a = expected.getIntensity();
+		ImageFloat32 b = found.getIntensity();
+
+		for (int y = 0; y <= image.height - template.height; y++) {
+			for (int x = 0; x <= image.width - template.width; x++) {
+				float valueB = b.get(x + found.getOffsetX(), y + found.getOffsetY());
+				assertFalse(Float.isNaN(valueB) || Float.isInfinite(valueB));
+
+				if( x + template.width <= 60 ) {
+					// the template is entirely inside the flat region
+					assertEquals(0, valueB, 1e-8);
+				} else {
+					float valueA = a.get(x + expected.getOffsetX(), y + expected.getOffsetY());
+					assertEquals(valueA, valueB, 1e-3*Math.max(1, Math.abs(valueA)));
+				}
+			}
+		}
+	}
+}
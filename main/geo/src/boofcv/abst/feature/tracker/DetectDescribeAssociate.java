@@ -19,6 +19,9 @@
 package boofcv.abst.feature.tracker;
 
 import boofcv.abst.feature.associate.AssociateDescription2D;
+import boofcv.misc.ProfileListener;
+import boofcv.misc.ProfiledProcess;
+import boofcv.misc.StageProfiler;
 import boofcv.struct.feature.AssociatedIndex;
 import boofcv.struct.feature.TupleDesc;
 import boofcv.struct.image.ImageSingleBand;
@@ -35,10 +38,14 @@ import java.util.List;
  * computing a descriptor for each feature, then associating the features together.
  * </p>
  *
+ * <p>
+ * When profiled, {@link #process} and {@link #spawnTracks()} each report a separate profile.
+ * </p>
+ *
  * @author Peter Abeles
  */
 public class DetectDescribeAssociate<I extends ImageSingleBand, Desc extends TupleDesc>
-		implements PointTracker<I> {
+		implements PointTracker<I>, ProfiledProcess {
 
 	// associates features between two images together
 	protected AssociateDescription2D<Desc> associate;
@@ -79,6 +86,9 @@ public class DetectDescribeAssociate<I extends ImageSingleBand, Desc extends Tup
 	// indicates if a feature was associated or not
 	protected boolean isAssociated[] = new boolean[1];
 
+	// optional profiling.  null if disabled
+	protected StageProfiler profiler;
+
 	/**
 	 * Configures tracker
 	 *
@@ -122,6 +132,7 @@ public class DetectDescribeAssociate<I extends ImageSingleBand, Desc extends Tup
 
 	@Override
 	public void process( I input ) {
+		if( profiler != null ) profiler.startFrame();
 
 		tracksActive.clear();
 		tracksInactive.clear();
@@ -132,6 +143,7 @@ public class DetectDescribeAssociate<I extends ImageSingleBand, Desc extends Tup
 		locDst.reset();
 
 		manager.detectFeatures(input, locDst, featDst);
+		if( profiler != null ) profiler.stage("detect");
 
 		// skip if there are no features
 		if( !tracksAll.isEmpty() ) {
@@ -148,6 +160,14 @@ public class DetectDescribeAssociate<I extends ImageSingleBand, Desc extends Tup
 			featSrc.reset();
 			locSrc.reset();
 		}
+
+		if( profiler != null ) {
+			profiler.stage("associate");
+			profiler.count("features", featDst.size);
+			profiler.count("active", tracksActive.size());
+			profiler.count("inactive", tracksInactive.size());
+			profiler.finishFrame();
+		}
 	}
 
 	protected void performTracking() {
@@ -213,6 +233,8 @@ public class DetectDescribeAssociate<I extends ImageSingleBand, Desc extends Tup
 	 */
 	@Override
 	public void spawnTracks() {
+		if( profiler != null ) profiler.startFrame();
+
 		// setup data structures
 		if( isAssociated.length < featDst.size ) {
 			isAssociated = new boolean[ featDst.size ];
@@ -237,6 +259,17 @@ public class DetectDescribeAssociate<I extends ImageSingleBand, Desc extends Tup
 			Point2D_F64 loc = locDst.get(i);
 			addNewTrack(loc.x,loc.y,featDst.get(i));
 		}
+
+		if( profiler != null ) {
+			profiler.stage("spawn");
+			profiler.count("spawned", tracksNew.size());
+			profiler.finishFrame();
+		}
+	}
+
+	@Override
+	public void setProfileListener(ProfileListener listener) {
+		profiler = StageProfiler.create(this, listener);
 	}
 
 	/**
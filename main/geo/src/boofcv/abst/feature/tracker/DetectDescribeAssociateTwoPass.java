@@ -60,6 +60,8 @@ public class DetectDescribeAssociateTwoPass<I extends ImageSingleBand, Desc exte
 
 	@Override
 	public void process( I input ) {
+		if( profiler != null ) profiler.startFrame();
+
 		sourceSet2 = false;
 		tracksActive.clear();
 		tracksInactive.clear();
@@ -70,6 +72,7 @@ public class DetectDescribeAssociateTwoPass<I extends ImageSingleBand, Desc exte
 		locDst.reset();
 
 		manager.detectFeatures(input, locDst, featDst);
+		if( profiler != null ) profiler.stage("detect");
 
 		// skip if there are no features
 		if( !tracksAll.isEmpty() ) {
@@ -81,6 +84,13 @@ public class DetectDescribeAssociateTwoPass<I extends ImageSingleBand, Desc exte
 
 			updateTrackLocation(associate.getMatches());
 		}
+
+		if( profiler != null ) {
+			profiler.stage("associate");
+			profiler.count("features", featDst.size);
+			profiler.count("active", tracksActive.size());
+			profiler.finishFrame();
+		}
 	}
 
 	@Override
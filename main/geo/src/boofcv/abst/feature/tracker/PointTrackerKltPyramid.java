@@ -23,6 +23,9 @@ import boofcv.alg.feature.detect.interest.GeneralFeatureDetector;
 import boofcv.alg.interpolate.InterpolateRectangle;
 import boofcv.alg.tracker.klt.*;
 import boofcv.alg.transform.pyramid.PyramidOps;
+import boofcv.misc.ProfileListener;
+import boofcv.misc.ProfiledProcess;
+import boofcv.misc.StageProfiler;
 import boofcv.struct.QueueCorner;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.struct.pyramid.PyramidDiscrete;
@@ -35,11 +38,12 @@ import java.util.List;
 /**
  * Wrapper around {@link boofcv.alg.tracker.klt.PyramidKltTracker} for {@link PointTracker}.  Every track
  * will have the same size and shaped descriptor.  If any fault is encountered the track will be dropped.
+ * When profiled, {@link #process} and {@link #spawnTracks()} each report a separate profile.
  *
  * @author Peter Abeles
  */
 public class PointTrackerKltPyramid<I extends ImageSingleBand,D extends ImageSingleBand>
-		implements PointTracker<I>
+		implements PointTracker<I>, ProfiledProcess
 {
 	// reference to input image
 	protected I input;
@@ -78,6 +82,9 @@ public class PointTrackerKltPyramid<I extends ImageSingleBand,D extends ImageSin
 	// number of features tracked so far
 	private long totalFeatures = 0;
 
+	// optional profiling.  null if disabled
+	private StageProfiler profiler;
+
 	/**
 	 * Constructor which specified the KLT track manager and how the image pyramids are computed.
 	 *
@@ -165,6 +172,8 @@ public class PointTrackerKltPyramid<I extends ImageSingleBand,D extends ImageSin
 
 	@Override
 	public void spawnTracks() {
+		if( profiler != null ) profiler.startFrame();
+
 		spawned.clear();
 
 		// used to convert it from the scale of the bottom layer into the original image
@@ -183,6 +192,7 @@ public class PointTrackerKltPyramid<I extends ImageSingleBand,D extends ImageSin
 
 		// extract the features
 		QueueCorner found = detector.getMaximums();
+		if( profiler != null ) profiler.stage("detect");
 
 		// grow the number of tracks if needed
 		while( unused.size() < found.size() )
@@ -212,6 +222,13 @@ public class PointTrackerKltPyramid<I extends ImageSingleBand,D extends ImageSin
 				unused.add(t);
 			}
 		}
+
+		if( profiler != null ) {
+			profiler.stage("spawn");
+			profiler.count("detected", found.size());
+			profiler.count("spawned", spawned.size());
+			profiler.finishFrame();
+		}
 	}
 
 	/**
@@ -230,6 +247,8 @@ public class PointTrackerKltPyramid<I extends ImageSingleBand,D extends ImageSin
 
 	@Override
 	public void process(I image) {
+		if( profiler != null ) profiler.startFrame();
+
 		this.input = image;
 
 		spawned.clear();
@@ -239,6 +258,7 @@ public class PointTrackerKltPyramid<I extends ImageSingleBand,D extends ImageSin
 		basePyramid.process(image);
 		declareOutput();
 		PyramidOps.gradient(basePyramid, gradient, derivX,derivY);
+		if( profiler != null ) profiler.stage("pyramid");
 
 		// track features
 		tracker.setImage(basePyramid,derivX,derivY);
@@ -264,6 +284,18 @@ public class PointTrackerKltPyramid<I extends ImageSingleBand,D extends ImageSin
 				unused.add( t );
 			}
 		}
+
+		if( profiler != null ) {
+			profiler.stage("track");
+			profiler.count("active", active.size());
+			profiler.count("dropped", dropped.size());
+			profiler.finishFrame();
+		}
+	}
+
+	@Override
+	public void setProfileListener(ProfileListener listener) {
+		profiler = StageProfiler.create(this, listener);
 	}
 
 	protected void declareOutput() {
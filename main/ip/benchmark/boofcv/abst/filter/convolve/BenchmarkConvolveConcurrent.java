@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.abst.filter.convolve;
+
+import boofcv.alg.filter.convolve.ConvolveImageNoBorder;
+import boofcv.alg.filter.convolve.ConvolveImageNoBorder_MT;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.factory.filter.kernel.FactoryKernelGaussian;
+import boofcv.misc.PerformerBase;
+import boofcv.misc.ProfileOperation;
+import boofcv.struct.convolve.Kernel1D_F32;
+import boofcv.struct.convolve.Kernel1D_I32;
+import boofcv.struct.convolve.Kernel2D_F32;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSInt16;
+import boofcv.struct.image.ImageUInt8;
+
+import java.util.Random;
+
+/**
+ * Compares the single threaded convolution against the concurrent version as the number of threads is increased.
+ *
+ * @author Peter Abeles
+ */
+public class BenchmarkConvolveConcurrent {
+	static int width = 3840;
+	static int height = 2160;
+	static long TEST_TIME = 1000;
+	static int radius = 5;
+
+	static Kernel1D_F32 kernelF32 = FactoryKernelGaussian.gaussian(Kernel1D_F32.class, -1, radius);
+	static Kernel1D_I32 kernelI32 = FactoryKernelGaussian.gaussian(Kernel1D_I32.class, -1, radius);
+	static Kernel2D_F32 kernel2D_F32 = FactoryKernelGaussian.gaussian(Kernel2D_F32.class, -1, radius);
+
+	static ImageFloat32 input_F32 = new ImageFloat32(width,height);
+	static ImageFloat32 out_F32 = new ImageFloat32(width,height);
+	static ImageUInt8 input_U8 = new ImageUInt8(width,height);
+	static ImageSInt16 out_S16 = new ImageSInt16(width,height);
+
+	public static class Horizontal_F32 extends PerformerBase {
+		@Override
+		public void process() {
+			ConvolveImageNoBorder.horizontal(kernelF32, input_F32, out_F32);
+		}
+	}
+
+	public static class Horizontal_F32_MT extends PerformerBase {
+		@Override
+		public void process() {
+			ConvolveImageNoBorder_MT.horizontal(kernelF32, input_F32, out_F32);
+		}
+	}
+
+	public static class Vertical_F32 extends PerformerBase {
+		@Override
+		public void process() {
+			ConvolveImageNoBorder.vertical(kernelF32, input_F32, out_F32);
+		}
+	}
+
+	public static class Vertical_F32_MT extends PerformerBase {
+		@Override
+		public void process() {
+			ConvolveImageNoBorder_MT.vertical(kernelF32, input_F32, out_F32);
+		}
+	}
+
+	public static class Vertical_U8_I16 extends PerformerBase {
+		@Override
+		public void process() {
+			ConvolveImageNoBorder.vertical(kernelI32, input_U8, out_S16);
+		}
+	}
+
+	public static class Vertical_U8_I16_MT extends PerformerBase {
+		@Override
+		public void process() {
+			ConvolveImageNoBorder_MT.vertical(kernelI32, input_U8, out_S16);
+		}
+	}
+
+	public static class Convolve2D_F32 extends PerformerBase {
+		@Override
+		public void process() {
+			ConvolveImageNoBorder.convolve(kernel2D_F32, input_F32, out_F32);
+		}
+	}
+
+	public static class Convolve2D_F32_MT extends PerformerBase {
+		@Override
+		public void process() {
+			ConvolveImageNoBorder_MT.convolve(kernel2D_F32, input_F32, out_F32);
+		}
+	}
+
+	public static void main(String args[]) {
+		Random rand = new Random(234);
+		ImageMiscOps.fillUniform(input_F32, rand, 0, 100);
+		ImageMiscOps.fillUniform(input_U8, rand, 0, 100);
+
+		int numCores = Runtime.getRuntime().availableProcessors();
+
+		System.out.println("=========  Profile Image Size " + width + " x " + height + " ==========");
+		System.out.println("           Kernel radius " + radius + "   Cores " + numCores);
+		System.out.println();
+
+		ProfileOperation.printOpsPerSec(new Horizontal_F32(), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new Vertical_F32(), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new Vertical_U8_I16(), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new Convolve2D_F32(), TEST_TIME);
+
+		for( int threads = 1; threads <= numCores; threads *= 2 ) {
+			BoofConcurrency.setMaxThreads(threads);
+			System.out.println();
+			System.out.println("Threads " + threads);
+			ProfileOperation.printOpsPerSec(new Horizontal_F32_MT(), TEST_TIME);
+			ProfileOperation.printOpsPerSec(new Vertical_F32_MT(), TEST_TIME);
+			ProfileOperation.printOpsPerSec(new Vertical_U8_I16_MT(), TEST_TIME);
+			ProfileOperation.printOpsPerSec(new Convolve2D_F32_MT(), TEST_TIME);
+		}
+	}
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.enhance;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.misc.PerformerBase;
+import boofcv.misc.ProfileOperation;
+import boofcv.struct.image.ImageUInt16;
+import boofcv.struct.image.ImageUInt8;
+
+import java.util.Random;
+
+/**
+ * Compares the speed of local histogram equalization against CLAHE
+ *
+ * @author Peter Abeles
+ */
+public class BenchmarkEnhanceHistogram {
+
+	static final long TEST_TIME = 1000;
+
+	static int imgWidth = 1920;
+	static int imgHeight = 1080;
+
+	static ImageUInt8 input8 = new ImageUInt8(imgWidth, imgHeight);
+	static ImageUInt8 output8 = new ImageUInt8(imgWidth, imgHeight);
+	static ImageUInt16 input16 = new ImageUInt16(imgWidth, imgHeight);
+	static ImageUInt16 output16 = new ImageUInt16(imgWidth, imgHeight);
+
+	static int histogram[] = new int[4096];
+	static int transform[] = new int[4096];
+
+	public static class EqualizeLocal extends PerformerBase {
+		int radius;
+
+		public EqualizeLocal(int radius) {
+			this.radius = radius;
+		}
+
+		@Override
+		public void process() {
+			EnhanceImageOps.equalizeLocal(input8, radius, output8, histogram, transform);
+		}
+
+		@Override
+		public String getName() {
+			return "equalizeLocal radius = "+radius;
+		}
+	}
+
+	public static class Clahe8 extends PerformerBase {
+		EnhanceHistogramClahe alg = new EnhanceHistogramClahe(8,8,2,255);
+
+		@Override
+		public void process() {
+			alg.process(input8,output8);
+		}
+	}
+
+	public static class Clahe16 extends PerformerBase {
+		EnhanceHistogramClahe alg = new EnhanceHistogramClahe(8,8,2,4095);
+
+		@Override
+		public void process() {
+			alg.process(input16,output16);
+		}
+	}
+
+	public static void main(String args[]) {
+		System.out.println("=========  Profile Image Size "+ imgWidth +" x "+ imgHeight  +" ==========");
+
+		Random rand = new Random(234);
+		ImageMiscOps.fillUniform(input8, rand, 0, 100);
+		ImageMiscOps.fillUniform(input16, rand, 0, 4096);
+
+		ProfileOperation.printOpsPerSec(new EqualizeLocal(10), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new EqualizeLocal(50), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new Clahe8(), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new Clahe16(), TEST_TIME);
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.filter.binary;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.misc.PerformerBase;
+import boofcv.misc.ProfileOperation;
+import boofcv.struct.ConnectRule;
+import boofcv.struct.image.ImageSInt32;
+import boofcv.struct.image.ImageUInt8;
+
+import java.util.Random;
+
+/**
+ * Shows how well concurrent blob labeling scales with the number of threads
+ *
+ * @author Peter Abeles
+ */
+public class BenchmarkBinaryBlobLabelingConcurrent {
+
+	static final long TEST_TIME = 1000;
+
+	static int imgWidth = 4000;
+	static int imgHeight = 3000;
+
+	static ImageUInt8 input = new ImageUInt8(imgWidth, imgHeight);
+	static ImageSInt32 output = new ImageSInt32(imgWidth, imgHeight);
+
+	public static class Single extends PerformerBase {
+
+		LinearContourLabelChang2004 alg = new LinearContourLabelChang2004(ConnectRule.EIGHT);
+
+		@Override
+		public void process() {
+			alg.process(input,output);
+		}
+	}
+
+	public static class Concurrent extends PerformerBase {
+
+		LinearContourLabelChang2004_MT alg = new LinearContourLabelChang2004_MT(ConnectRule.EIGHT);
+		int threads;
+
+		public Concurrent(int threads, boolean saveContours) {
+			this.threads = threads;
+			alg.setSaveContours(saveContours);
+		}
+
+		@Override
+		public void process() {
+			BoofConcurrency.setMaxThreads(threads);
+			alg.process(input,output);
+		}
+
+		@Override
+		public String getName() {
+			return "MT threads = "+threads+" contours = "+alg.isSaveContours();
+		}
+	}
+
+	public static void main(String args[]) {
+		System.out.println("=========  Profile Image Size "+ imgWidth +" x "+ imgHeight  +" ==========");
+
+		// blobs of different sizes so that some cross between bands and others don't
+		Random rand = new Random(234);
+		for( int i = 0; i < 20000; i++ ) {
+			int x = rand.nextInt(imgWidth), y = rand.nextInt(imgHeight);
+			int w = 1+rand.nextInt(30), h = 1+rand.nextInt(30);
+			ImageMiscOps.fillRectangle(input, 1, x, y, w, h);
+			if( w > 4 && h > 4 )
+				ImageMiscOps.fillRectangle(input, 0, x + 2, y + 2, w - 4, h - 4);
+		}
+
+		int maxThreads = Runtime.getRuntime().availableProcessors();
+
+		ProfileOperation.printOpsPerSec(new Single(), TEST_TIME);
+		for( int threads = 1; threads <= maxThreads; threads *= 2 ) {
+			ProfileOperation.printOpsPerSec(new Concurrent(threads,false), TEST_TIME);
+			ProfileOperation.printOpsPerSec(new Concurrent(threads,true), TEST_TIME);
+		}
+		BoofConcurrency.setMaxThreads(maxThreads);
+	}
+}
@@ -22,6 +22,8 @@ import boofcv.alg.filter.binary.impl.ImplBinaryInnerOps;
 import boofcv.alg.filter.binary.impl.ImplBinaryNaiveOps;
 import boofcv.alg.misc.ImageMiscOps;
 import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.PackedBinaryImage;
+import boofcv.struct.image.RleBinaryImage;
 
 import java.util.Random;
 
@@ -37,12 +39,20 @@ public class BenchmarkBinaryOps  {
 	static ImageUInt8 input = new ImageUInt8(imgWidth, imgHeight);
 	static ImageUInt8 output = new ImageUInt8(imgWidth, imgHeight);
 
+	static RleBinaryImage rleInput = new RleBinaryImage();
+	static RleBinaryImage rleOutput = new RleBinaryImage();
+
+	static PackedBinaryImage packedInput = new PackedBinaryImage();
+	static PackedBinaryImage packedOutput = new PackedBinaryImage();
+
 	public BenchmarkBinaryOps() {
 		Random rand = new Random(234);
 		// test structures and unstructured images
 		// naive is some times faster in unstructured because it can escape earlier
 		ImageMiscOps.fillUniform(input, rand, 0, 1);
 //		ImageMiscOps.fillRectangle(input,1,100,200,150,100);
+		RleBinaryOps.convert(input,rleInput);
+		PackedBinaryOps.convert(input,packedInput);
 	}
 
 	public int timeNaiveErode4(int reps) {
@@ -171,6 +181,78 @@ public class BenchmarkBinaryOps  {
 		return 0;
 	}
 
+	public int timeRleErode4(int reps) {
+		for( int i = 0; i < reps; i++ )
+			RleBinaryOps.erode4(rleInput, 1, rleOutput);
+		return 0;
+	}
+
+	public int timeRleErode8(int reps) {
+		for( int i = 0; i < reps; i++ )
+			RleBinaryOps.erode8(rleInput, 1, rleOutput);
+		return 0;
+	}
+
+	public int timeRleDilate4(int reps) {
+		for( int i = 0; i < reps; i++ )
+			RleBinaryOps.dilate4(rleInput, 1, rleOutput);
+		return 0;
+	}
+
+	public int timeRleDilate8(int reps) {
+		for( int i = 0; i < reps; i++ )
+			RleBinaryOps.dilate8(rleInput, 1, rleOutput);
+		return 0;
+	}
+
+	public int timeRleEdge4(int reps) {
+		for( int i = 0; i < reps; i++ )
+			RleBinaryOps.edge4(rleInput, rleOutput);
+		return 0;
+	}
+
+	public int timeRleEdge8(int reps) {
+		for( int i = 0; i < reps; i++ )
+			RleBinaryOps.edge8(rleInput, rleOutput);
+		return 0;
+	}
+
+	public int timePackedErode4(int reps) {
+		for( int i = 0; i < reps; i++ )
+			PackedBinaryOps.erode4(packedInput, 1, packedOutput);
+		return 0;
+	}
+
+	public int timePackedErode8(int reps) {
+		for( int i = 0; i < reps; i++ )
+			PackedBinaryOps.erode8(packedInput, 1, packedOutput);
+		return 0;
+	}
+
+	public int timePackedDilate4(int reps) {
+		for( int i = 0; i < reps; i++ )
+			PackedBinaryOps.dilate4(packedInput, 1, packedOutput);
+		return 0;
+	}
+
+	public int timePackedDilate8(int reps) {
+		for( int i = 0; i < reps; i++ )
+			PackedBinaryOps.dilate8(packedInput, 1, packedOutput);
+		return 0;
+	}
+
+	public int timePackedEdge4(int reps) {
+		for( int i = 0; i < reps; i++ )
+			PackedBinaryOps.edge4(packedInput, packedOutput);
+		return 0;
+	}
+
+	public int timePackedEdge8(int reps) {
+		for( int i = 0; i < reps; i++ )
+			PackedBinaryOps.edge8(packedInput, packedOutput);
+		return 0;
+	}
+
 	public static void main(String args[]) {
 		System.out.println("=========  Profile Image Size " + imgWidth + " x " + imgHeight + " ==========");
 
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.blur;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.core.image.border.BorderType;
+import boofcv.misc.PerformerBase;
+import boofcv.misc.ProfileOperation;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+
+import java.util.Random;
+
+/**
+ * Compares the speed of Gaussian blur using a convolution kernel against the recursive Gaussian as sigma grows
+ *
+ * @author Peter Abeles
+ */
+public class BenchmarkGaussianBlur {
+
+	static final long TEST_TIME = 1000;
+
+	static int imgWidth = 1920;
+	static int imgHeight = 1080;
+
+	static ImageFloat32 inputF32 = new ImageFloat32(imgWidth, imgHeight);
+	static ImageFloat32 outputF32 = new ImageFloat32(imgWidth, imgHeight);
+	static ImageFloat32 storageF32 = new ImageFloat32(imgWidth, imgHeight);
+	static ImageUInt8 inputU8 = new ImageUInt8(imgWidth, imgHeight);
+	static ImageUInt8 outputU8 = new ImageUInt8(imgWidth, imgHeight);
+	static ImageUInt8 storageU8 = new ImageUInt8(imgWidth, imgHeight);
+
+	public static class Kernel_F32 extends PerformerBase {
+		double sigma;
+
+		public Kernel_F32(double sigma) {
+			this.sigma = sigma;
+		}
+
+		@Override
+		public void process() {
+			BlurImageOps.gaussian(inputF32, outputF32, sigma, -1, storageF32);
+		}
+
+		@Override
+		public String getName() {
+			return "kernel F32 sigma = "+sigma;
+		}
+	}
+
+	public static class Kernel_U8 extends PerformerBase {
+		double sigma;
+
+		public Kernel_U8(double sigma) {
+			this.sigma = sigma;
+		}
+
+		@Override
+		public void process() {
+			BlurImageOps.gaussian(inputU8, outputU8, sigma, -1, storageU8);
+		}
+
+		@Override
+		public String getName() {
+			return "kernel U8 sigma = "+sigma;
+		}
+	}
+
+	public static class Recursive_F32 extends PerformerBase {
+		RecursiveGaussian alg;
+
+		public Recursive_F32(double sigma) {
+			alg = new RecursiveGaussian(sigma, BorderType.EXTENDED);
+		}
+
+		@Override
+		public void process() {
+			alg.process(inputF32, outputF32);
+		}
+
+		@Override
+		public String getName() {
+			return "recursive F32 sigma = "+alg.getSigma();
+		}
+	}
+
+	public static class Recursive_U8 extends PerformerBase {
+		RecursiveGaussian alg;
+
+		public Recursive_U8(double sigma) {
+			alg = new RecursiveGaussian(sigma, BorderType.EXTENDED);
+		}
+
+		@Override
+		public void process() {
+			alg.process(inputU8, outputU8);
+		}
+
+		@Override
+		public String getName() {
+			return "recursive U8 sigma = "+alg.getSigma();
+		}
+	}
+
+	public static void main(String args[]) {
+		System.out.println("=========  Profile Image Size "+ imgWidth +" x "+ imgHeight  +" ==========");
+
+		Random rand = new Random(234);
+		ImageMiscOps.fillUniform(inputF32, rand, 0, 100);
+		ImageMiscOps.fillUniform(inputU8, rand, 0, 100);
+
+		double sigmas[] = new double[]{2,5,10,20,40};
+
+		for( double sigma : sigmas ) {
+			ProfileOperation.printOpsPerSec(new Kernel_F32(sigma), TEST_TIME);
+			ProfileOperation.printOpsPerSec(new Recursive_F32(sigma), TEST_TIME);
+			ProfileOperation.printOpsPerSec(new Kernel_U8(sigma), TEST_TIME);
+			ProfileOperation.printOpsPerSec(new Recursive_U8(sigma), TEST_TIME);
+		}
+	}
+}
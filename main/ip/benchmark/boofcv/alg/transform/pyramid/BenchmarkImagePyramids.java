@@ -20,6 +20,7 @@ package boofcv.alg.transform.pyramid;
 
 import boofcv.alg.interpolate.InterpolatePixelS;
 import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.factory.filter.kernel.FactoryKernelGaussian;
 import boofcv.factory.interpolate.FactoryInterpolation;
 import boofcv.factory.transform.pyramid.FactoryPyramid;
@@ -89,5 +90,11 @@ public class BenchmarkImagePyramids {
 
 		ProfileOperation.printOpsPerSec(new Float_F32(), TEST_TIME);
 		ProfileOperation.printOpsPerSec(new Discrete_F32(), TEST_TIME);
+
+		System.out.println();
+		System.out.println("Concurrent with "+BoofConcurrency.getMaxThreads()+" threads");
+		BoofConcurrency.USE_CONCURRENT = true;
+		ProfileOperation.printOpsPerSec(new Float_F32(), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new Discrete_F32(), TEST_TIME);
 	}
 }
@@ -49,6 +49,7 @@ public class GenerateImageMiscOps extends CodeGeneratorBase {
 		setOutputFile(className);
 		out.print("import boofcv.struct.image.*;\n" +
 				"\n" +
+				"import java.util.Arrays;\n" +
 				"import java.util.Random;\n" +
 				"\n" +
 				"\n" +
@@ -123,9 +124,7 @@ public class GenerateImageMiscOps extends CodeGeneratorBase {
 				"\t\t\tint indexSrc = input.startIndex + (srcY + y) * input.stride + srcX;\n" +
 				"\t\t\tint indexDst = output.startIndex + (dstY + y) * output.stride + dstX;\n" +
 				"\n" +
-				"\t\t\tfor (int x = 0; x < width; x++) {\n" +
-				"\t\t\t\toutput.data[indexDst++] = input.data[indexSrc++];\n" +
-				"\t\t\t}\n" +
+				"\t\t\tSystem.arraycopy(input.data,indexSrc,output.data,indexDst,width);\n" +
 				"\t\t}\n" +
 				"\t}\n\n");
 	}
@@ -141,10 +140,13 @@ public class GenerateImageMiscOps extends CodeGeneratorBase {
 				"\t */\n" +
 				"\tpublic static void fill("+imageName+" input, "+imageType.getSumType()+" value) {\n" +
 				"\n" +
-				"\t\tfor (int y = 0; y < input.height; y++) {\n" +
-				"\t\t\tint index = input.getStartIndex() + y * input.getStride();\n" +
-				"\t\t\tfor (int x = 0; x < input.width; x++) {\n" +
-				"\t\t\t\tinput.data[index++] = "+typeCast+"value;\n" +
+				"\t\tif( input.stride == input.width ) {\n" +
+				"\t\t\t// rows are contiguous so fill them all at once\n" +
+				"\t\t\tArrays.fill(input.data,input.startIndex,input.startIndex+input.width*input.height,"+typeCast+"value);\n" +
+				"\t\t} else {\n" +
+				"\t\t\tfor (int y = 0; y < input.height; y++) {\n" +
+				"\t\t\t\tint index = input.startIndex + y * input.stride;\n" +
+				"\t\t\t\tArrays.fill(input.data,index,index+input.width,"+typeCast+"value);\n" +
 				"\t\t\t}\n" +
 				"\t\t}\n" +
 				"\t}\n\n");
@@ -162,11 +164,14 @@ public class GenerateImageMiscOps extends CodeGeneratorBase {
 				"\t */\n" +
 				"\tpublic static void fill("+imageName+" input, "+imageType.getSumType()+" value) {\n" +
 				"\n" +
-				"\t\tfor (int y = 0; y < input.height; y++) {\n" +
-				"\t\t\tint index = input.getStartIndex() + y * input.getStride();\n" +
-				"\t\t\tint end = index + input.width*input.numBands;\n" +
-				"\t\t\tfor (; index < end; index++ ) {\n" +
-				"\t\t\t\tinput.data[index] = "+typeCast+"value;\n" +
+				"\t\tint columns = input.width*input.numBands;\n" +
+				"\t\tif( input.stride == columns ) {\n" +
+				"\t\t\t// rows are contiguous so fill them all at once\n" +
+				"\t\t\tArrays.fill(input.data,input.startIndex,input.startIndex+columns*input.height,"+typeCast+"value);\n" +
+				"\t\t} else {\n" +
+				"\t\t\tfor (int y = 0; y < input.height; y++) {\n" +
+				"\t\t\t\tint index = input.startIndex + y * input.stride;\n" +
+				"\t\t\t\tArrays.fill(input.data,index,index+columns,"+typeCast+"value);\n" +
 				"\t\t\t}\n" +
 				"\t\t}\n" +
 				"\t}\n\n");
@@ -189,10 +194,8 @@ public class GenerateImageMiscOps extends CodeGeneratorBase {
 				"\t\tfor (int y = 0; y < radius; y++) {\n" +
 				"\t\t\tint indexTop = input.startIndex + y * input.stride;\n" +
 				"\t\t\tint indexBottom = input.startIndex + (input.height-y-1) * input.stride;\n" +
-				"\t\t\tfor (int x = 0; x < input.width; x++) {\n" +
-				"\t\t\t\tinput.data[indexTop++] = "+typeCast+"value;\n" +
-				"\t\t\t\tinput.data[indexBottom++] = "+typeCast+"value;\n" +
-				"\t\t\t}\n" +
+				"\t\t\tArrays.fill(input.data,indexTop,indexTop+input.width,"+typeCast+"value);\n" +
+				"\t\t\tArrays.fill(input.data,indexBottom,indexBottom+input.width,"+typeCast+"value);\n" +
 				"\t\t}\n" +
 				"\n" +
 				"\t\t// left and right\n" +
@@ -228,11 +231,17 @@ public class GenerateImageMiscOps extends CodeGeneratorBase {
 				"\t\tint x1 = x0 + width;\n" +
 				"\t\tint y1 = y0 + height;\n" +
 				"\n" +
+				"\t\t// only the part inside the image is drawn\n" +
+				"\t\tif( x0 < 0 ) x0 = 0;\n" +
+				"\t\tif( y0 < 0 ) y0 = 0;\n" +
+				"\t\tif( x1 > img.width ) x1 = img.width;\n" +
+				"\t\tif( y1 > img.height ) y1 = img.height;\n" +
+				"\t\tif( x1 <= x0 )\n" +
+				"\t\t\treturn;\n" +
+				"\n" +
 				"\t\tfor (int y = y0; y < y1; y++) {\n" +
-				"\t\t\tfor (int x = x0; x < x1; x++) {\n" +
-				"\t\t\t\tif( img.isInBounds(x,y ))\n" +
-				"\t\t\t\t\timg.set(x, y, value);\n" +
-				"\t\t\t}\n" +
+				"\t\t\tint index = img.startIndex + y*img.stride;\n" +
+				"\t\t\tArrays.fill(img.data,index+x0,index+x1,"+imageType.getTypeCastFromSum()+"value);\n" +
 				"\t\t}\n" +
 				"\t}\n\n");
 	}
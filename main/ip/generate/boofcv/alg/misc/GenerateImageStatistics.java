@@ -25,7 +25,7 @@ import java.io.FileNotFoundException;
 
 
 /**
- * Generates functions inside of {@link ImageMiscOps}.
+ * Generates functions inside of {@link ImageStatistics}.
  *
  * @author Peter Abeles
  */
@@ -38,15 +38,27 @@ public class GenerateImageStatistics extends CodeGeneratorBase {
 	public void generate() throws FileNotFoundException {
 		printPreamble();
 		printAll();
+		printSumKahan();
 		out.println("}");
 	}
 
 	private void printPreamble() throws FileNotFoundException {
 		setOutputFile(className);
-		out.print("import boofcv.struct.image.*;\n" +
+		out.print("import boofcv.concurrency.BoofConcurrency;\n" +
+				"import boofcv.struct.image.*;\n" +
 				"\n" +
 				"/**\n" +
+				" * <p>\n" +
 				" * Computes statistical properties of pixels inside an image.\n" +
+				" * </p>\n" +
+				" *\n" +
+				" * <p>\n" +
+				" * The sum of floating point images is computed using Kahan summation.  Other floating point sums are\n" +
+				" * computed one row at a time in double precision and then the rows are combined using Kahan summation.\n" +
+				" * If {@link BoofConcurrency#isConcurrent} is true for the image's size then the functions are computed in\n" +
+				" * parallel bands of rows by {@link ImageStatistics_MT}.  Since the same row sums are combined in the same\n" +
+				" * order the results are identical.\n" +
+				" * </p>\n" +
 				" *\n" +
 				" * <p>DO NOT MODIFY: Generated by {@link "+getClass().getName()+"}</p>.\n"+
 				" *\n"+
@@ -69,12 +81,37 @@ public class GenerateImageStatistics extends CodeGeneratorBase {
 			printMeanDiffSq();
 			printMeanDiffAbs();
 			printHistogram();
+			printStatistics();
 		}
 	}
 
+	/**
+	 * Prints a loop which computes the sum of each row and adds it to 'total' using Kahan summation
+	 */
+	private void printKahanRows( String rowFunction , String height ) {
+		out.print("\t\tdouble total = 0, error = 0;\n" +
+				"\n" +
+				"\t\tfor (int y = 0; y < "+height+"; y++) {\n" +
+				"\t\t\tdouble v = "+rowFunction+" - error;\n" +
+				"\t\t\tdouble t = total + v;\n" +
+				"\t\t\terror = (t - total) - v;\n" +
+				"\t\t\ttotal = t;\n" +
+				"\t\t}\n");
+	}
+
+	private String histogramIndex( String value ) {
+		if( !input.isSigned() )
+			return value;
+		else if( input.isInteger() && input.getNumBits() < 64 )
+			return value+" - minValue";
+		else
+			return "(int)"+value+" - minValue";
+	}
+
 	public void printHistogram() {
-		if( input.isSigned() ) {
+		String name = input.getSingleBandName();
 
+		if( input.isSigned() ) {
 			out.print("\t/**\n" +
 					"\t * Computes the histogram of intensity values for the image.\n" +
 					"\t * \n" +
@@ -82,26 +119,21 @@ public class GenerateImageStatistics extends CodeGeneratorBase {
 					"\t * @param minValue (input) Minimum possible intensity value   \n" +
 					"\t * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.\n" +
 					"\t */\n" +
-					"\tpublic static void histogram( "+input.getSingleBandName()+" input , int minValue , int histogram[] ) {\n" +
+					"\tpublic static void histogram( "+name+" input , int minValue , int histogram[] ) {\n" +
+					"\t\tif( BoofConcurrency.isConcurrent((long)input.width*input.height) ) {\n" +
+					"\t\t\tImageStatistics_MT.histogram(input,minValue,histogram);\n" +
+					"\t\t\treturn;\n" +
+					"\t\t}\n" +
+					"\n" +
 					"\t\tfor( int i = 0; i < histogram.length; i++ )\n" +
 					"\t\t\thistogram[i] = 0;\n" +
-					"\t\t\n" +
-					"\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
-					"\t\t\tint index = input.startIndex + y*input.stride;\n" +
-					"\t\t\tint end = index + input.width;\n" +
 					"\n" +
-					"\t\t\tfor( ; index < end; index++ ) {\n" +
-					"\t\t\t\t// floor value. just convert to int rounds towards zero\n");
-			if( input.isInteger()) {
-				if( input.getNumBits() == 64 )
-					out.print("\t\t\t\thistogram[(int)input.data[index] - minValue]++;\n");
-				else
-					out.print("\t\t\t\thistogram[input.data[index] - minValue ]++;\n");
-			} else
-				out.print("\t\t\t\thistogram[(int)input.data[index] - minValue ]++;\n");
-			out.print("\t\t\t}\n" +
-					"\t\t}\n" +
+					"\t\thistogramRows(input,minValue,histogram,0,input.height);\n" +
 					"\t}\n\n");
+			out.print("\t/**\n" +
+					"\t * Adds the intensity values in rows y0 to y1-1 to the histogram\n" +
+					"\t */\n" +
+					"\tstatic void histogramRows( "+name+" input , int minValue , int histogram[] , int y0 , int y1 ) {\n");
 		} else {
 			out.print("\t/**\n" +
 					"\t * Computes the histogram of intensity values for the image.\n" +
@@ -109,67 +141,154 @@ public class GenerateImageStatistics extends CodeGeneratorBase {
 					"\t * @param input (input) Image.\n" +
 					"\t * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.\n" +
 					"\t */\n" +
-					"\tpublic static void histogram( "+input.getSingleBandName()+" input , int histogram[] ) {\n" +
+					"\tpublic static void histogram( "+name+" input , int histogram[] ) {\n" +
+					"\t\tif( BoofConcurrency.isConcurrent((long)input.width*input.height) ) {\n" +
+					"\t\t\tImageStatistics_MT.histogram(input,histogram);\n" +
+					"\t\t\treturn;\n" +
+					"\t\t}\n" +
+					"\n" +
 					"\t\tfor( int i = 0; i < histogram.length; i++ )\n" +
 					"\t\t\thistogram[i] = 0;\n" +
-					"\t\t\n" +
-					"\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
-					"\t\t\tint index = input.startIndex + y*input.stride;\n" +
-					"\t\t\tint end = index + input.width;\n" +
 					"\n" +
-					"\t\t\tfor( ; index < end; index++ ) {\n" +
-					"\t\t\t\thistogram[input.data[index]"+input.getBitWise()+"]++;\n" +
-					"\t\t\t}\n" +
-					"\t\t}\n" +
+					"\t\thistogramRows(input,histogram,0,input.height);\n" +
 					"\t}\n\n");
+			out.print("\t/**\n" +
+					"\t * Adds the intensity values in rows y0 to y1-1 to the histogram\n" +
+					"\t */\n" +
+					"\tstatic void histogramRows( "+name+" input , int histogram[] , int y0 , int y1 ) {\n");
 		}
+		out.print("\t\tfor( int y = y0; y < y1; y++ ) {\n" +
+				"\t\t\tint index = input.startIndex + y*input.stride;\n" +
+				"\t\t\tint end = index + input.width;\n" +
+				"\n" +
+				"\t\t\tfor( ; index < end; index++ ) {\n");
+		if( input.isSigned() && !input.isInteger() )
+			out.print("\t\t\t\t// floor value. just convert to int rounds towards zero\n");
+		out.print("\t\t\t\thistogram["+histogramIndex("input.data[index]"+input.getBitWise())+"]++;\n" +
+				"\t\t\t}\n" +
+				"\t\t}\n" +
+				"\t}\n\n");
 	}
 
-	public void printMaxAbs() {
+	public void printStatistics() {
+		String name = input.getSingleBandName();
+		String sumType = input.getSumType();
+		String bitWise = input.getBitWise();
+		boolean signed = input.isSigned();
+		// for small integer types the sums can be computed exactly
+		boolean exact = input.isInteger() && input.getNumBits() <= 16;
+
 		out.print("\t/**\n" +
-				"\t * Returns the absolute value of the element with the largest absolute value.\n" +
-				"\t * \n" +
-				"\t * @param input Input image. Not modified.\n" +
-				"\t * @return Largest pixel absolute value.\n" +
+				"\t * Computes the minimum, maximum, mean, and variance of the pixel values and optionally the histogram\n" +
+				"\t * in a single pass through the image.  See {@link PixelStatistics}.\n" +
+				"\t *\n" +
+				"\t * @param input (input) Image. Not modified.\n");
+		if( signed )
+			out.print("\t * @param minValue (input) Minimum possible intensity value.  Only used by the histogram.\n");
+		out.print("\t * @param histogram (output) Storage for histogram or null if not needed. Number of elements must be equal to max value.\n" +
+				"\t * @param output (output) Storage for the statistics.  If null a new instance is created.\n" +
+				"\t * @return The statistics\n" +
 				"\t */\n" +
-				"\tpublic static "+input.getSumType()+" maxAbs( "+input.getSingleBandName()+" input ) {\n" +
+				"\tpublic static PixelStatistics statistics( "+name+" input , "+(signed ? "int minValue , " : "")+
+				"int histogram[] , PixelStatistics output ) {\n" +
+				"\t\tif( BoofConcurrency.isConcurrent((long)input.width*input.height) )\n" +
+				"\t\t\treturn ImageStatistics_MT.statistics(input,"+(signed ? "minValue," : "")+"histogram,output);\n" +
 				"\n" +
-				"\t\t"+input.getSumType()+" max = 0;\n" +
+				"\t\tif( output == null )\n" +
+				"\t\t\toutput = new PixelStatistics();\n" +
+				"\t\toutput.declareRows(input.height);\n" +
+				"\t\tif( histogram != null ) {\n" +
+				"\t\t\tfor( int i = 0; i < histogram.length; i++ )\n" +
+				"\t\t\t\thistogram[i] = 0;\n" +
+				"\t\t}\n" +
+				"\n" +
+				"\t\tstatisticsRows(input,"+(signed ? "minValue," : "")+"histogram,output,0,input.height);\n" +
+				"\t\toutput.combineRows(input.width,input.height,input.get(0,0));\n" +
+				"\n" +
+				"\t\treturn output;\n" +
+				"\t}\n\n");
+
+		String offsetType = exact ? "int" : "double";
+		String accType = exact ? "long" : "double";
+		String square = exact ? "(long)d*d" : "d*d";
+
+		out.print("\t/**\n" +
+				"\t * Computes the statistics for each row from y0 to y1-1 and adds the pixels to the histogram, if not null.\n" +
+				"\t */\n" +
+				"\tstatic void statisticsRows( "+name+" input , "+(signed ? "int minValue , " : "")+
+				"int histogram[] , PixelStatistics output , int y0 , int y1 ) {\n" +
+				"\t\t// sums are relative to the first pixel to avoid numerical problems when computing the variance\n" +
+				"\t\t"+offsetType+" offset = input.get(0,0);\n" +
 				"\n" +
-				"\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
+				"\t\tfor( int y = y0; y < y1; y++ ) {\n" +
 				"\t\t\tint index = input.startIndex + y*input.stride;\n" +
 				"\t\t\tint end = index + input.width;\n" +
 				"\n" +
-				"\t\t\tfor( ; index < end; index++ ) {\n");
-		if( input.isSigned() )
-			out.print("\t\t\t\t"+input.getSumType()+" v = Math.abs(input.data[index]);\n");
-		else
-			out.print("\t\t\t\t"+input.getSumType()+" v = input.data[index]"+input.getBitWise()+";\n");
-		out.print("\t\t\t\tif( v > max )\n" +
-				"\t\t\t\t\tmax = v;\n" +
-				"\t\t\t}\n" +
+				"\t\t\t"+sumType+" min = input.data[index]"+bitWise+";\n" +
+				"\t\t\t"+sumType+" max = min;\n" +
+				"\t\t\t"+accType+" sum = 0, sumSq = 0;\n" +
+				"\n" +
+				"\t\t\tif( histogram == null ) {\n");
+		printStatisticsInner(sumType, bitWise, offsetType, square, false);
+		out.print("\t\t\t} else {\n");
+		printStatisticsInner(sumType, bitWise, offsetType, square, true);
+		out.print("\t\t\t}\n" +
+				"\n" +
+				"\t\t\toutput.rowMin[y] = min;\n" +
+				"\t\t\toutput.rowMax[y] = max;\n" +
+				"\t\t\toutput.rowSum[y] = sum;\n" +
+				"\t\t\toutput.rowSumSq[y] = sumSq;\n" +
 				"\t\t}\n" +
-				"\t\treturn max;\n" +
 				"\t}\n\n");
 	}
 
-	public void printMax() {
+	private void printStatisticsInner( String sumType , String bitWise , String offsetType ,
+									   String square , boolean histogram ) {
+		out.print("\t\t\t\tfor( ; index < end; index++ ) {\n" +
+				"\t\t\t\t\t"+sumType+" v = input.data[index]"+bitWise+";\n" +
+				"\t\t\t\t\tif( v < min )\n" +
+				"\t\t\t\t\t\tmin = v;\n" +
+				"\t\t\t\t\telse if( v > max )\n" +
+				"\t\t\t\t\t\tmax = v;\n" +
+				"\t\t\t\t\t"+offsetType+" d = v - offset;\n" +
+				"\t\t\t\t\tsum += d;\n" +
+				"\t\t\t\t\tsumSq += "+square+";\n");
+		if( histogram )
+			out.print("\t\t\t\t\thistogram["+histogramIndex("v")+"]++;\n");
+		out.print("\t\t\t\t}\n");
+	}
+
+	public void printMaxAbs() {
+		String sumType = input.getSumType();
+
 		out.print("\t/**\n" +
-				"\t * Returns the maximum element value.\n" +
+				"\t * Returns the absolute value of the element with the largest absolute value.\n" +
 				"\t * \n" +
 				"\t * @param input Input image. Not modified.\n" +
-				"\t * @return Maximum pixel value.\n" +
+				"\t * @return Largest pixel absolute value.\n" +
+				"\t */\n" +
+				"\tpublic static "+sumType+" maxAbs( "+input.getSingleBandName()+" input ) {\n" +
+				"\t\tif( BoofConcurrency.isConcurrent((long)input.width*input.height) )\n" +
+				"\t\t\treturn ImageStatistics_MT.maxAbs(input);\n" +
+				"\n" +
+				"\t\treturn maxAbsRows(input,0,input.height);\n" +
+				"\t}\n\n" +
+				"\t/**\n" +
+				"\t * Largest absolute value in rows y0 to y1-1.\n" +
 				"\t */\n" +
-				"\tpublic static "+input.getSumType()+" max( "+input.getSingleBandName()+" input ) {\n" +
+				"\tstatic "+sumType+" maxAbsRows( "+input.getSingleBandName()+" input , int y0 , int y1 ) {\n" +
 				"\n" +
-				"\t\t"+input.getSumType()+" max = input.get(0,0);\n" +
+				"\t\t"+sumType+" max = 0;\n" +
 				"\n" +
-				"\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
+				"\t\tfor( int y = y0; y < y1; y++ ) {\n" +
 				"\t\t\tint index = input.startIndex + y*input.stride;\n" +
 				"\t\t\tint end = index + input.width;\n" +
 				"\n" +
 				"\t\t\tfor( ; index < end; index++ ) {\n");
-		out.print("\t\t\t\t"+input.getSumType()+" v = input.data[index] "+input.getBitWise()+";\n");
+		if( input.isSigned() )
+			out.print("\t\t\t\t"+sumType+" v = Math.abs(input.data[index]);\n");
+		else
+			out.print("\t\t\t\t"+sumType+" v = input.data[index]"+input.getBitWise()+";\n");
 		out.print("\t\t\t\tif( v > max )\n" +
 				"\t\t\t\t\tmax = v;\n" +
 				"\t\t\t}\n" +
@@ -178,61 +297,123 @@ public class GenerateImageStatistics extends CodeGeneratorBase {
 				"\t}\n\n");
 	}
 
+	public void printMax() {
+		printMinMax("max","maximum","Maximum",">");
+	}
+
 	public void printMin() {
+		printMinMax("min","minimum","Minimum","<");
+	}
+
+	private void printMinMax( String function , String lower , String upper , String compare ) {
+		String sumType = input.getSumType();
+
 		out.print("\t/**\n" +
-				"\t * Returns the minimum element value.\n" +
+				"\t * Returns the "+lower+" element value.\n" +
 				"\t * \n" +
 				"\t * @param input Input image. Not modified.\n" +
-				"\t * @return Minimum pixel value.\n" +
+				"\t * @return "+upper+" pixel value.\n" +
+				"\t */\n" +
+				"\tpublic static "+sumType+" "+function+"( "+input.getSingleBandName()+" input ) {\n" +
+				"\t\tif( BoofConcurrency.isConcurrent((long)input.width*input.height) )\n" +
+				"\t\t\treturn ImageStatistics_MT."+function+"(input);\n" +
+				"\n" +
+				"\t\treturn "+function+"Rows(input,0,input.height);\n" +
+				"\t}\n\n" +
+				"\t/**\n" +
+				"\t * "+upper+" element value in rows y0 to y1-1.\n" +
 				"\t */\n" +
-				"\tpublic static "+input.getSumType()+" min( "+input.getSingleBandName()+" input ) {\n" +
+				"\tstatic "+sumType+" "+function+"Rows( "+input.getSingleBandName()+" input , int y0 , int y1 ) {\n" +
 				"\n" +
-				"\t\t"+input.getSumType()+" min = input.get(0,0);\n" +
+				"\t\t"+sumType+" "+function+" = input.get(0,y0);\n" +
 				"\n" +
-				"\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
+				"\t\tfor( int y = y0; y < y1; y++ ) {\n" +
 				"\t\t\tint index = input.startIndex + y*input.stride;\n" +
 				"\t\t\tint end = index + input.width;\n" +
 				"\n" +
-				"\t\t\tfor( ; index < end; index++ ) {\n");
-		out.print("\t\t\t\t"+input.getSumType()+" v = input.data[index] "+input.getBitWise()+";\n");
-		out.print("\t\t\t\tif( v < min )\n" +
-				"\t\t\t\t\tmin = v;\n" +
+				"\t\t\tfor( ; index < end; index++ ) {\n" +
+				"\t\t\t\t"+sumType+" v = input.data[index] "+input.getBitWise()+";\n" +
+				"\t\t\t\tif( v "+compare+" "+function+" )\n" +
+				"\t\t\t\t\t"+function+" = v;\n" +
 				"\t\t\t}\n" +
 				"\t\t}\n" +
-				"\t\treturn min;\n" +
+				"\t\treturn "+function+";\n" +
 				"\t}\n\n");
 	}
 
 	public void printSum() {
 
 		String bitWise = input.getBitWise();
+		String sumType = input.getSumType();
+		String name = input.getSingleBandName();
 
-		out.print("\t/**\n" +
-				"\t * <p>\n" +
-				"\t * Returns the sum of all the pixels in the image.\n" +
-				"\t * </p>\n" +
-				"\t * \n" +
-				"\t * @param img Input image. Not modified.\n" +
-				"\t */\n" +
-				"\tpublic static "+input.getSumType()+" sum( "+input.getSingleBandName()+" img ) {\n" +
-				"\n" +
-				"\t\tfinal int h = img.getHeight();\n" +
-				"\t\tfinal int w = img.getWidth();\n" +
-				"\n" +
-				"\t\t"+input.getSumType()+" total = 0;\n" +
-				"\t\t\n" +
-				"\t\tfor (int y = 0; y < h; y++) {\n" +
-				"\t\t\tint index = img.getStartIndex() + y * img.getStride();\n" +
-				"\t\t\t\n" +
-				"\t\t\tint indexEnd = index+w;\n" +
-				"\t\t\t// for(int x = 0; x < w; x++ ) {\n" +
-				"\t\t\tfor (; index < indexEnd; index++ ) {\n" +
-				"\t\t\t\ttotal += img.data[index] "+bitWise+";\n" +
-				"\t\t\t}\n" +
-				"\t\t}\n" +
-				"\t\t\n" +
-				"\t\treturn total;\n" +
-				"\t}\n\n");
+		if( input.isInteger() ) {
+			out.print("\t/**\n" +
+					"\t * <p>\n" +
+					"\t * Returns the sum of all the pixels in the image.\n" +
+					"\t * </p>\n" +
+					"\t * \n" +
+					"\t * @param img Input image. Not modified.\n" +
+					"\t */\n" +
+					"\tpublic static "+sumType+" sum( "+name+" img ) {\n" +
+					"\t\tif( BoofConcurrency.isConcurrent((long)img.width*img.height) )\n" +
+					"\t\t\treturn ImageStatistics_MT.sum(img);\n" +
+					"\n" +
+					"\t\treturn sumRows(img,0,img.height);\n" +
+					"\t}\n\n" +
+					"\t/**\n" +
+					"\t * Sum of the pixels in rows y0 to y1-1.\n" +
+					"\t */\n" +
+					"\tstatic "+sumType+" sumRows( "+name+" img , int y0 , int y1 ) {\n" +
+					"\n" +
+					"\t\t"+sumType+" total = 0;\n" +
+					"\n" +
+					"\t\tfor (int y = y0; y < y1; y++) {\n" +
+					"\t\t\tint index = img.getStartIndex() + y * img.getStride();\n" +
+					"\t\t\t\n" +
+					"\t\t\tint indexEnd = index+img.width;\n" +
+					"\t\t\t// for(int x = 0; x < w; x++ ) {\n" +
+					"\t\t\tfor (; index < indexEnd; index++ ) {\n" +
+					"\t\t\t\ttotal += img.data[index] "+bitWise+";\n" +
+					"\t\t\t}\n" +
+					"\t\t}\n" +
+					"\t\t\n" +
+					"\t\treturn total;\n" +
+					"\t}\n\n");
+		} else {
+			out.print("\t/**\n" +
+					"\t * <p>\n" +
+					"\t * Returns the sum of all the pixels in the image.  Each row is summed using Kahan summation in double\n" +
+					"\t * precision and then the rows are combined the same way.\n" +
+					"\t * </p>\n" +
+					"\t * \n" +
+					"\t * @param img Input image. Not modified.\n" +
+					"\t */\n" +
+					"\tpublic static "+sumType+" sum( "+name+" img ) {\n" +
+					"\t\tif( BoofConcurrency.isConcurrent((long)img.width*img.height) )\n" +
+					"\t\t\treturn ImageStatistics_MT.sum(img);\n" +
+					"\n");
+			printKahanRows("sumRow(img,y)", "img.height");
+			out.print("\n" +
+					"\t\treturn "+(sumType.equals("double") ? "" : "("+sumType+")")+"total;\n" +
+					"\t}\n\n" +
+					"\t/**\n" +
+					"\t * Sum of the pixels in row y computed using Kahan summation.\n" +
+					"\t */\n" +
+					"\tstatic double sumRow( "+name+" img , int y ) {\n" +
+					"\t\tint index = img.getStartIndex() + y * img.getStride();\n" +
+					"\t\tint indexEnd = index+img.width;\n" +
+					"\n" +
+					"\t\tdouble total = 0, error = 0;\n" +
+					"\t\tfor (; index < indexEnd; index++ ) {\n" +
+					"\t\t\tdouble v = img.data[index] - error;\n" +
+					"\t\t\tdouble t = total + v;\n" +
+					"\t\t\terror = (t - total) - v;\n" +
+					"\t\t\ttotal = t;\n" +
+					"\t\t}\n" +
+					"\t\treturn total;\n" +
+					"\t}\n\n");
+		}
 	}
 
 	public void printMean() {
@@ -250,6 +431,7 @@ public class GenerateImageStatistics extends CodeGeneratorBase {
 	public void printVariance() {
 
 		String bitWise = input.getBitWise();
+		String name = input.getSingleBandName();
 
 		out.print("\t/**\n" +
 				"\t * Computes the variance of pixel intensity values inside the image.\n" +
@@ -258,81 +440,117 @@ public class GenerateImageStatistics extends CodeGeneratorBase {
 				"\t * @param mean Mean pixel intensity value.   \n" +
 				"\t * @return Pixel variance   \n" +
 				"\t */\n" +
-				"\tpublic static double variance( "+input.getSingleBandName()+" img , double mean ) {\n" +
-				"\n" +
-				"\t\tdouble variance = 0;\n" +
-				"\n" +
-				"\t\tfor (int y = 0; y < img.height; y++) {\n" +
-				"\t\t\tint index = img.getStartIndex() + y * img.getStride();\n" +
+				"\tpublic static double variance( "+name+" img , double mean ) {\n" +
+				"\t\tif( BoofConcurrency.isConcurrent((long)img.width*img.height) )\n" +
+				"\t\t\treturn ImageStatistics_MT.variance(img,mean);\n" +
+				"\n");
+		printKahanRows("varianceRow(img,y,mean)", "img.height");
+		out.print("\n" +
+				"\t\treturn total/(img.width*img.height);\n" +
+				"\t}\n\n" +
+				"\t/**\n" +
+				"\t * Sum of the squared difference from the mean for pixels in row y.\n" +
+				"\t */\n" +
+				"\tstatic double varianceRow( "+name+" img , int y , double mean ) {\n" +
+				"\t\tint index = img.getStartIndex() + y * img.getStride();\n" +
+				"\t\tint indexEnd = index+img.width;\n" +
 				"\n" +
-				"\t\t\tint indexEnd = index+img.width;\n" +
-				"\t\t\t// for(int x = 0; x < img.width; x++ ) {\n" +
-				"\t\t\tfor (; index < indexEnd; index++ ) {\n" +
-				"\t\t\t\tdouble d = (img.data[index]"+bitWise+") - mean; \n" +
-				"\t\t\t\tvariance += d*d;\n" +
-				"\t\t\t}\n" +
+				"\t\tdouble total = 0;\n" +
+				"\t\tfor (; index < indexEnd; index++ ) {\n" +
+				"\t\t\tdouble d = (img.data[index]"+bitWise+") - mean; \n" +
+				"\t\t\ttotal += d*d;\n" +
 				"\t\t}\n" +
-				"\n" +
-				"\t\treturn variance/(img.width*img.height);\n" +
+				"\t\treturn total;\n" +
 				"\t}\n\n");
 	}
 
 	public void printMeanDiffSq() {
+		printMeanDiff("meanDiffSq","Computes the mean squared error (MSE) between the two images.",
+				input.getLargeSumType(),"difference*difference");
+	}
+
+	public void printMeanDiffAbs() {
+		printMeanDiff("meanDiffAbs","Computes the mean absolute difference between the two images.",
+				input.getSumType(),"Math.abs(difference)");
+	}
+
+	private void printMeanDiff( String function , String description , String totalType , String operation ) {
 
 		String imageName = input.getSingleBandName();
 		String bitWise = input.getBitWise();
 		String sumType = input.getSumType();
-		String largeSumType = input.getLargeSumType();
 
 		out.print("\t/**\n" +
-				"\t * <p>Computes the mean squared error (MSE) between the two images.</p>\n" +
+				"\t * <p>"+description+"</p>\n" +
 				"\t *\n" +
 				"\t * @param imgA first image. Not modified.\n" +
 				"\t * @param imgB second image. Not modified.\n" +
 				"\t * @return error between the two images.\n" +
 				"\t */\n" +
-				"\tpublic static double meanDiffSq("+imageName+" imgA, "+imageName+" imgB ) {\n" +
-				"\t\t"+largeSumType+" total = 0;\n" +
-				"\n" +
-				"\t\tfor (int y = 0; y < imgA.height; y++) {\n" +
-				"\t\t\tint indexA = imgA.getStartIndex() + y * imgA.getStride();\n" +
-				"\t\t\tint indexB = imgB.getStartIndex() + y * imgB.getStride();\n" +
-				"\t\t\tfor (int x = 0; x < imgA.width; x++,indexA++,indexB++) {\n" +
-				"\t\t\t\t"+sumType+" difference = (imgA.data[indexA]"+bitWise+")-(imgB.data[indexB]"+bitWise+");\n" +
-				"\t\t\t\ttotal += difference*difference;\n" +
-				"\t\t\t}\n" +
-				"\t\t}\n" +
-				"\n" +
-				"\t\treturn total / (double)(imgA.width*imgA.height);\n" +
-				"\t}\n\n");
-	}
+				"\tpublic static double "+function+"("+imageName+" imgA, "+imageName+" imgB ) {\n" +
+				"\t\tif( BoofConcurrency.isConcurrent((long)imgA.width*imgA.height) )\n" +
+				"\t\t\treturn ImageStatistics_MT."+function+"(imgA,imgB);\n" +
+				"\n");
 
-	public void printMeanDiffAbs() {
+		String difference = "\t"+sumType+" difference = (imgA.data[indexA]"+bitWise+")-(imgB.data[indexB]"+bitWise+");\n";
 
-		String imageName = input.getSingleBandName();
-		String bitWise = input.getBitWise();
-		String sumType = input.getSumType();
+		if( input.isInteger() ) {
+			out.print("\t\treturn "+function+"Rows(imgA,imgB,0,imgA.height) / (double)(imgA.width*imgA.height);\n" +
+					"\t}\n\n" +
+					"\t/**\n" +
+					"\t * Sum of the error in rows y0 to y1-1.\n" +
+					"\t */\n" +
+					"\tstatic "+totalType+" "+function+"Rows("+imageName+" imgA, "+imageName+" imgB , int y0 , int y1 ) {\n" +
+					"\t\t"+totalType+" total = 0;\n" +
+					"\n" +
+					"\t\tfor (int y = y0; y < y1; y++) {\n" +
+					"\t\t\tint indexA = imgA.getStartIndex() + y * imgA.getStride();\n" +
+					"\t\t\tint indexB = imgB.getStartIndex() + y * imgB.getStride();\n" +
+					"\t\t\tfor (int x = 0; x < imgA.width; x++,indexA++,indexB++) {\n" +
+					"\t\t\t"+difference +
+					"\t\t\t\ttotal += "+operation+";\n" +
+					"\t\t\t}\n" +
+					"\t\t}\n" +
+					"\n" +
+					"\t\treturn total;\n" +
+					"\t}\n\n");
+		} else {
+			printKahanRows(function+"Row(imgA,imgB,y)", "imgA.height");
+			out.print("\n" +
+					"\t\treturn total / (double)(imgA.width*imgA.height);\n" +
+					"\t}\n\n" +
+					"\t/**\n" +
+					"\t * Sum of the error in row y.\n" +
+					"\t */\n" +
+					"\tstatic double "+function+"Row("+imageName+" imgA, "+imageName+" imgB , int y ) {\n" +
+					"\t\tint indexA = imgA.getStartIndex() + y * imgA.getStride();\n" +
+					"\t\tint indexB = imgB.getStartIndex() + y * imgB.getStride();\n" +
+					"\n" +
+					"\t\tdouble total = 0;\n" +
+					"\t\tfor (int x = 0; x < imgA.width; x++,indexA++,indexB++) {\n" +
+					"\t\t"+difference +
+					"\t\t\ttotal += "+operation+";\n" +
+					"\t\t}\n" +
+					"\n" +
+					"\t\treturn total;\n" +
+					"\t}\n\n");
+		}
+	}
 
+	private void printSumKahan() {
 		out.print("\t/**\n" +
-				"\t * <p>Computes the mean squared error (MSE) between the two images.</p>\n" +
-				"\t *\n" +
-				"\t * @param imgA first image. Not modified.\n" +
-				"\t * @param imgB second image. Not modified.\n" +
-				"\t * @return error between the two images.\n" +
+				"\t * Sums up the values in the array, in order, using Kahan summation.\n" +
 				"\t */\n" +
-				"\tpublic static double meanDiffAbs("+imageName+" imgA, "+imageName+" imgB ) {\n" +
-				"\t\t"+sumType+" total = 0;\n" +
+				"\tstatic double sumKahan( double values[] ) {\n" +
+				"\t\tdouble total = 0, error = 0;\n" +
 				"\n" +
-				"\t\tfor (int y = 0; y < imgA.height; y++) {\n" +
-				"\t\t\tint indexA = imgA.getStartIndex() + y * imgA.getStride();\n" +
-				"\t\t\tint indexB = imgB.getStartIndex() + y * imgB.getStride();\n" +
-				"\t\t\tfor (int x = 0; x < imgA.width; x++,indexA++,indexB++) {\n" +
-				"\t\t\t\t"+sumType+" difference = (imgA.data[indexA]"+bitWise+")-(imgB.data[indexB]"+bitWise+");\n" +
-				"\t\t\t\ttotal += Math.abs(difference);\n" +
-				"\t\t\t}\n" +
+				"\t\tfor (int i = 0; i < values.length; i++) {\n" +
+				"\t\t\tdouble v = values[i] - error;\n" +
+				"\t\t\tdouble t = total + v;\n" +
+				"\t\t\terror = (t - total) - v;\n" +
+				"\t\t\ttotal = t;\n" +
 				"\t\t}\n" +
-				"\n" +
-				"\t\treturn total / (double)(imgA.width*imgA.height);\n" +
+				"\t\treturn total;\n" +
 				"\t}\n\n");
 	}
 
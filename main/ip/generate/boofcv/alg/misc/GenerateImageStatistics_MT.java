@@ -0,0 +1,307 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.misc;
+
+import boofcv.misc.AutoTypeImage;
+import boofcv.misc.CodeGeneratorBase;
+
+import java.io.FileNotFoundException;
+
+
+/**
+ * Generates functions inside of {@link ImageStatistics_MT}.
+ *
+ * @author Peter Abeles
+ */
+public class GenerateImageStatistics_MT extends CodeGeneratorBase {
+
+	String className = "ImageStatistics_MT";
+
+	private AutoTypeImage input;
+
+	public void generate() throws FileNotFoundException {
+		printPreamble();
+		printAll();
+		printAddHistogram();
+		out.println("}");
+	}
+
+	private void printPreamble() throws FileNotFoundException {
+		setOutputFile(className);
+		out.print("import boofcv.concurrency.BoofConcurrency;\n" +
+				"import boofcv.concurrency.IntRangeTask;\n" +
+				"import boofcv.struct.image.*;\n" +
+				"\n" +
+				"/**\n" +
+				" * <p>\n" +
+				" * Concurrent implementations of the functions in {@link ImageStatistics}.  The image is split into bands of rows\n" +
+				" * which are processed in parallel and then the partial results are merged.  Each band computes its own\n" +
+				" * histogram, which is added to the output once the band is done.  Floating point sums are computed for\n" +
+				" * each row and then combined in order using Kahan summation, so the results are identical to the single\n" +
+				" * threaded version no matter how many threads are used.\n" +
+				" * </p>\n" +
+				" *\n" +
+				" * <p>DO NOT MODIFY: Generated by {@link "+getClass().getName()+"}</p>.\n"+
+				" *\n"+
+				" * @author Peter Abeles\n" +
+				" */\n" +
+				"public class "+className+" {\n\n");
+	}
+
+	public void printAll() {
+		AutoTypeImage types[] = AutoTypeImage.getSpecificTypes();
+
+		for( AutoTypeImage t : types ) {
+			input = t;
+			printMinMax("min","minimum","Minimum","<","input.get(0,0)");
+			printMinMax("max","maximum","Maximum",">","input.get(0,0)");
+			printMinMax("maxAbs","largest absolute","Largest absolute",">","0");
+			printSum();
+			printMean();
+			printVariance();
+			printMeanDiff("meanDiffSq","Computes the mean squared error (MSE) between the two images.",
+					input.getLargeSumType());
+			printMeanDiff("meanDiffAbs","Computes the mean absolute difference between the two images.",
+					input.getSumType());
+			printHistogram();
+			printStatistics();
+		}
+	}
+
+	private void printLoopStart( String image ) {
+		out.print("\t\tBoofConcurrency.loopBlocks(0,"+image+".height,"+image+".width,new IntRangeTask() {\n" +
+				"\t\t\t@Override\n" +
+				"\t\t\tpublic void process(int y0, int y1) {\n");
+	}
+
+	private void printLoopEnd() {
+		out.print("\t\t\t}\n" +
+				"\t\t});\n");
+	}
+
+	private void printMinMax( String function , String lower , String upper , String compare , String initial ) {
+		String sumType = input.getSumType();
+
+		out.print("\t/**\n" +
+				"\t * Returns the "+lower+" element value.\n" +
+				"\t * \n" +
+				"\t * @param input Input image. Not modified.\n" +
+				"\t * @return "+upper+" pixel value.\n" +
+				"\t */\n" +
+				"\tpublic static "+sumType+" "+function+"( final "+input.getSingleBandName()+" input ) {\n" +
+				"\t\tfinal "+sumType+" results[] = new "+sumType+"[]{"+initial+"};\n" +
+				"\n");
+		printLoopStart("input");
+		out.print("\t\t\t\t"+sumType+" found = ImageStatistics."+function+"Rows(input,y0,y1);\n" +
+				"\t\t\t\tsynchronized( results ) {\n" +
+				"\t\t\t\t\tif( found "+compare+" results[0] )\n" +
+				"\t\t\t\t\t\tresults[0] = found;\n" +
+				"\t\t\t\t}\n");
+		printLoopEnd();
+		out.print("\n" +
+				"\t\treturn results[0];\n" +
+				"\t}\n\n");
+	}
+
+	/**
+	 * Prints code which computes the value of each row in parallel and then sums them up in order
+	 */
+	private void printRows( String image , String rowFunction ) {
+		out.print("\t\tfinal double rows[] = new double["+image+".height];\n" +
+				"\n");
+		printLoopStart(image);
+		out.print("\t\t\t\tfor( int y = y0; y < y1; y++ )\n" +
+				"\t\t\t\t\trows[y] = ImageStatistics."+rowFunction+";\n");
+		printLoopEnd();
+		out.print("\n");
+	}
+
+	public void printSum() {
+		String sumType = input.getSumType();
+		String name = input.getSingleBandName();
+
+		out.print("\t/**\n" +
+				"\t * <p>\n" +
+				"\t * Returns the sum of all the pixels in the image.\n" +
+				"\t * </p>\n" +
+				"\t * \n" +
+				"\t * @param img Input image. Not modified.\n" +
+				"\t */\n" +
+				"\tpublic static "+sumType+" sum( final "+name+" img ) {\n");
+
+		if( input.isInteger() ) {
+			out.print("\t\tfinal "+sumType+" results[] = new "+sumType+"[1];\n" +
+					"\n");
+			printLoopStart("img");
+			out.print("\t\t\t\t"+sumType+" found = ImageStatistics.sumRows(img,y0,y1);\n" +
+					"\t\t\t\tsynchronized( results ) {\n" +
+					"\t\t\t\t\tresults[0] += found;\n" +
+					"\t\t\t\t}\n");
+			printLoopEnd();
+			out.print("\n" +
+					"\t\treturn results[0];\n");
+		} else {
+			printRows("img","sumRow(img,y)");
+			out.print("\t\treturn "+(sumType.equals("double") ? "" : "("+sumType+")")+"ImageStatistics.sumKahan(rows);\n");
+		}
+		out.print("\t}\n\n");
+	}
+
+	public void printMean() {
+		out.print("\t/**\n" +
+				"\t * Returns the mean pixel intensity value.\n" +
+				"\t * \n" +
+				"\t * @param img Input image.  Not modified.\n" +
+				"\t * @return Mean pixel intensity value\n" +
+				"\t */\n" +
+				"\tpublic static double mean( "+input.getSingleBandName()+" img ) {\n" +
+				"\t\treturn sum(img)/(double)(img.width*img.height);\n" +
+				"\t}\n\n");
+	}
+
+	public void printVariance() {
+		out.print("\t/**\n" +
+				"\t * Computes the variance of pixel intensity values inside the image.\n" +
+				"\t *\n" +
+				"\t * @param img Input image. Not modified.\n" +
+				"\t * @param mean Mean pixel intensity value.   \n" +
+				"\t * @return Pixel variance   \n" +
+				"\t */\n" +
+				"\tpublic static double variance( final "+input.getSingleBandName()+" img , final double mean ) {\n");
+		printRows("img","varianceRow(img,y,mean)");
+		out.print("\t\treturn ImageStatistics.sumKahan(rows)/(img.width*img.height);\n" +
+				"\t}\n\n");
+	}
+
+	private void printMeanDiff( String function , String description , String totalType ) {
+		String imageName = input.getSingleBandName();
+
+		out.print("\t/**\n" +
+				"\t * <p>"+description+"</p>\n" +
+				"\t *\n" +
+				"\t * @param imgA first image. Not modified.\n" +
+				"\t * @param imgB second image. Not modified.\n" +
+				"\t * @return error between the two images.\n" +
+				"\t */\n" +
+				"\tpublic static double "+function+"( final "+imageName+" imgA, final "+imageName+" imgB ) {\n");
+
+		if( input.isInteger() ) {
+			out.print("\t\tfinal "+totalType+" results[] = new "+totalType+"[1];\n" +
+					"\n");
+			printLoopStart("imgA");
+			out.print("\t\t\t\t"+totalType+" found = ImageStatistics."+function+"Rows(imgA,imgB,y0,y1);\n" +
+					"\t\t\t\tsynchronized( results ) {\n" +
+					"\t\t\t\t\tresults[0] += found;\n" +
+					"\t\t\t\t}\n");
+			printLoopEnd();
+			out.print("\n" +
+					"\t\treturn results[0] / (double)(imgA.width*imgA.height);\n");
+		} else {
+			printRows("imgA",function+"Row(imgA,imgB,y)");
+			out.print("\t\treturn ImageStatistics.sumKahan(rows) / (double)(imgA.width*imgA.height);\n");
+		}
+		out.print("\t}\n\n");
+	}
+
+	public void printHistogram() {
+		String name = input.getSingleBandName();
+		boolean signed = input.isSigned();
+		String minValue = signed ? "minValue," : "";
+
+		out.print("\t/**\n" +
+				"\t * Computes the histogram of intensity values for the image.\n" +
+				"\t * \n" +
+				"\t * @param input (input) Image.\n");
+		if( signed )
+			out.print("\t * @param minValue (input) Minimum possible intensity value   \n");
+		out.print("\t * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.\n" +
+				"\t */\n" +
+				"\tpublic static void histogram( final "+name+" input , "+(signed ? "final int minValue , " : "")+
+				"final int histogram[] ) {\n" +
+				"\t\tfor( int i = 0; i < histogram.length; i++ )\n" +
+				"\t\t\thistogram[i] = 0;\n" +
+				"\n");
+		printLoopStart("input");
+		out.print("\t\t\t\tint local[] = new int[histogram.length];\n" +
+				"\t\t\t\tImageStatistics.histogramRows(input,"+minValue+"local,y0,y1);\n" +
+				"\t\t\t\taddHistogram(local,histogram);\n");
+		printLoopEnd();
+		out.print("\t}\n\n");
+	}
+
+	public void printStatistics() {
+		String name = input.getSingleBandName();
+		boolean signed = input.isSigned();
+		String minValue = signed ? "minValue," : "";
+
+		out.print("\t/**\n" +
+				"\t * Computes the minimum, maximum, mean, and variance of the pixel values and optionally the histogram\n" +
+				"\t * in a single pass through the image.  See {@link PixelStatistics}.\n" +
+				"\t *\n" +
+				"\t * @param input (input) Image. Not modified.\n");
+		if( signed )
+			out.print("\t * @param minValue (input) Minimum possible intensity value.  Only used by the histogram.\n");
+		out.print("\t * @param histogram (output) Storage for histogram or null if not needed. Number of elements must be equal to max value.\n" +
+				"\t * @param output (output) Storage for the statistics.  If null a new instance is created.\n" +
+				"\t * @return The statistics\n" +
+				"\t */\n" +
+				"\tpublic static PixelStatistics statistics( final "+name+" input , "+(signed ? "final int minValue , " : "")+
+				"final int histogram[] , PixelStatistics output ) {\n" +
+				"\t\tif( output == null )\n" +
+				"\t\t\toutput = new PixelStatistics();\n" +
+				"\t\toutput.declareRows(input.height);\n" +
+				"\t\tif( histogram != null ) {\n" +
+				"\t\t\tfor( int i = 0; i < histogram.length; i++ )\n" +
+				"\t\t\t\thistogram[i] = 0;\n" +
+				"\t\t}\n" +
+				"\n" +
+				"\t\tfinal PixelStatistics stats = output;\n");
+		printLoopStart("input");
+		out.print("\t\t\t\tif( histogram == null ) {\n" +
+				"\t\t\t\t\tImageStatistics.statisticsRows(input,"+minValue+"null,stats,y0,y1);\n" +
+				"\t\t\t\t} else {\n" +
+				"\t\t\t\t\tint local[] = new int[histogram.length];\n" +
+				"\t\t\t\t\tImageStatistics.statisticsRows(input,"+minValue+"local,stats,y0,y1);\n" +
+				"\t\t\t\t\taddHistogram(local,histogram);\n" +
+				"\t\t\t\t}\n");
+		printLoopEnd();
+		out.print("\t\toutput.combineRows(input.width,input.height,input.get(0,0));\n" +
+				"\n" +
+				"\t\treturn output;\n" +
+				"\t}\n\n");
+	}
+
+	private void printAddHistogram() {
+		out.print("\t/**\n" +
+				"\t * Adds the histogram computed by a single block to the total histogram\n" +
+				"\t */\n" +
+				"\tprivate static void addHistogram( int local[] , int histogram[] ) {\n" +
+				"\t\tsynchronized( histogram ) {\n" +
+				"\t\t\tfor( int i = 0; i < histogram.length; i++ )\n" +
+				"\t\t\t\thistogram[i] += local[i];\n" +
+				"\t\t}\n" +
+				"\t}\n\n");
+	}
+
+	public static void main( String args[] ) throws FileNotFoundException {
+		GenerateImageStatistics_MT gen = new GenerateImageStatistics_MT();
+		gen.generate();
+	}
+}
@@ -37,10 +37,16 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 
 	private AutoTypeImage input;
 
+	// if true then functions for interleaved images are being generated
+	private boolean interleaved;
+
 	public void generate() throws FileNotFoundException {
 		printPreamble();
 		printAllSigned();
 		printAll();
+		interleaved = true;
+		printAllSigned();
+		printAll();
 		out.println("}");
 	}
 
@@ -74,7 +80,10 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 			printPlusBounded();
 			printBoundImage();
 			printDiffAbs();
-			printAverageBand();
+			if( interleaved )
+				printAverageBandInterleaved();
+			else
+				printAverageBand();
 		}
 
 		AutoTypeImage outputsAdd[] = new AutoTypeImage[]{U16,S16,S32,S32,S32,S64,F32,F64};
@@ -104,6 +113,82 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 		}
 	}
 
+	/**
+	 * Name of the image type which is being processed
+	 */
+	private String name( AutoTypeImage type ) {
+		return interleaved ? type.getInterleavedName() : type.getSingleBandName();
+	}
+
+	/**
+	 * Number of elements in a row of the image.  Interleaved images are processed as a single band image
+	 * which is numBands times wider.
+	 */
+	private String columns( String variable ) {
+		if( interleaved )
+			return variable+".width*"+variable+".numBands";
+		else
+			return variable+".width";
+	}
+
+	/**
+	 * Start of a loop across every pixel in the input and output images.  The loop body accesses pixels
+	 * at indexSrc+i and indexDst+i.  The inner loop only has a single counter, which makes it easy for the
+	 * JIT to vectorize, and if the images are contiguous in memory all the rows are processed as one row.
+	 */
+	private String loopStart( String src , String dst ) {
+		return "\t\tint columns = "+columns(src)+";\n" +
+				"\t\tint rows = "+src+".height;\n" +
+				"\t\tif( "+src+".stride == columns && "+dst+".stride == columns ) {\n" +
+				"\t\t\tcolumns *= rows;\n" +
+				"\t\t\trows = 1;\n" +
+				"\t\t}\n" +
+				"\n" +
+				"\t\tfor( int y = 0; y < rows; y++ ) {\n" +
+				"\t\t\tint indexSrc = "+src+".startIndex + y*"+src+".stride;\n" +
+				"\t\t\tint indexDst = "+dst+".startIndex + y*"+dst+".stride;\n" +
+				"\n" +
+				"\t\t\tfor( int i = 0; i < columns; i++ ) {\n";
+	}
+
+	/**
+	 * Same as {@link #loopStart(String, String)} but for two input images.  Pixels are at indexA+i, indexB+i,
+	 * and indexOut+i.
+	 */
+	private String loopStart( String imgA , String imgB , String out ) {
+		return "\t\tint columns = "+columns(imgA)+";\n" +
+				"\t\tint rows = "+imgA+".height;\n" +
+				"\t\tif( "+imgA+".stride == columns && "+imgB+".stride == columns && "+out+".stride == columns ) {\n" +
+				"\t\t\tcolumns *= rows;\n" +
+				"\t\t\trows = 1;\n" +
+				"\t\t}\n" +
+				"\n" +
+				"\t\tfor( int y = 0; y < rows; y++ ) {\n" +
+				"\t\t\tint indexA = "+imgA+".startIndex + y*"+imgA+".stride;\n" +
+				"\t\t\tint indexB = "+imgB+".startIndex + y*"+imgB+".stride;\n" +
+				"\t\t\tint indexOut = "+out+".startIndex + y*"+out+".stride;\n" +
+				"\n" +
+				"\t\t\tfor( int i = 0; i < columns; i++ ) {\n";
+	}
+
+	/**
+	 * Same as {@link #loopStart(String, String)} but for a single image which is modified.  Pixels are
+	 * at index+i.
+	 */
+	private String loopStart( String img ) {
+		return "\t\tint columns = "+columns(img)+";\n" +
+				"\t\tint rows = "+img+".height;\n" +
+				"\t\tif( "+img+".stride == columns ) {\n" +
+				"\t\t\tcolumns *= rows;\n" +
+				"\t\t\trows = 1;\n" +
+				"\t\t}\n" +
+				"\n" +
+				"\t\tfor( int y = 0; y < rows; y++ ) {\n" +
+				"\t\t\tint index = "+img+".startIndex + y*"+img+".stride;\n" +
+				"\n" +
+				"\t\t\tfor( int i = 0; i < columns; i++ ) {\n";
+	}
+
 	public void printAbs()
 	{
 		out.print("\t/**\n" +
@@ -113,17 +198,12 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t * @param input The input image. Not modified.\n" +
 				"\t * @param output Where the absolute value image is written to. Modified.\n" +
 				"\t */\n" +
-				"\tpublic static void abs( "+ input.getSingleBandName()+" input , "+ input.getSingleBandName()+" output ) {\n" +
+				"\tpublic static void abs( "+ name(input)+" input , "+ name(input)+" output ) {\n" +
 				"\n" +
 				"\t\tInputSanityCheck.checkSameShape(input,output);\n" +
 				"\t\t\n" +
-				"\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
-				"\t\t\tint indexSrc = input.startIndex + y* input.stride;\n" +
-				"\t\t\tint indexDst = output.startIndex + y* output.stride;\n" +
-				"\t\t\tint end = indexSrc + input.width;\n" +
-				"\n" +
-				"\t\t\tfor( ; indexSrc < end; indexSrc++ , indexDst++) {\n" +
-				"\t\t\t\toutput.data[indexDst] = "+input.getTypeCastFromSum()+"Math.abs(input.data[indexSrc]);\n" +
+				loopStart("input","output") +
+				"\t\t\t\toutput.data[indexDst+i] = "+input.getTypeCastFromSum()+"Math.abs(input.data[indexSrc+i]);\n" +
 				"\t\t\t}\n" +
 				"\t\t}\n" +
 				"\t}\n\n");
@@ -136,17 +216,12 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t * @param input The input image. Not modified.\n" +
 				"\t * @param output Where the inverted image is written to. Modified.\n" +
 				"\t */\n" +
-				"\tpublic static void invert( "+input.getSingleBandName()+" input , "+input.getSingleBandName()+" output ) {\n" +
+				"\tpublic static void invert( "+name(input)+" input , "+name(input)+" output ) {\n" +
 				"\n" +
 				"\t\tInputSanityCheck.checkSameShape(input,output);\n" +
 				"\n" +
-				"\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
-				"\t\t\tint indexSrc = input.startIndex + y* input.stride;\n" +
-				"\t\t\tint indexDst = output.startIndex + y* output.stride;\n" +
-				"\t\t\tint end = indexSrc + input.width;\n" +
-				"\n" +
-				"\t\t\tfor( ; indexSrc < end; indexSrc++ , indexDst++) {\n" +
-				"\t\t\t\toutput.data[indexDst] = "+input.getTypeCastFromSum()+"-input.data[indexSrc];\n" +
+				loopStart("input","output") +
+				"\t\t\t\toutput.data[indexDst+i] = "+input.getTypeCastFromSum()+"-input.data[indexSrc+i];\n" +
 				"\t\t\t}\n" +
 				"\t\t}\n" +
 				"\t}\n\n");
@@ -163,17 +238,12 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t * @param denominator What each element is divided by.\n" +
 				"\t * @param output The output image. Modified.\n" +
 				"\t */\n" +
-				"\tpublic static void divide( "+input.getSingleBandName()+" input , "+scaleType+" denominator , "+input.getSingleBandName()+" output ) {\n" +
+				"\tpublic static void divide( "+name(input)+" input , "+scaleType+" denominator , "+name(input)+" output ) {\n" +
 				"\n" +
 				"\t\tInputSanityCheck.checkSameShape(input,output);\n" +
 				"\n" +
-				"\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
-				"\t\t\tint indexSrc = input.startIndex + y* input.stride;\n" +
-				"\t\t\tint indexDst = output.startIndex + y* output.stride;\n" +
-				"\t\t\tint end = indexSrc + input.width;\n" +
-				"\n" +
-				"\t\t\tfor( ; indexSrc < end; indexSrc++, indexDst++ ) {\n" +
-				"\t\t\t\toutput.data[indexDst] = "+typeCast+"((input.data[indexSrc] "+input.getBitWise()+") / denominator);\n" +
+				loopStart("input","output") +
+				"\t\t\t\toutput.data[indexDst+i] = "+typeCast+"((input.data[indexSrc+i] "+input.getBitWise()+") / denominator);\n" +
 				"\t\t\t}\n" +
 				"\t\t}\n" +
 				"\t}\n\n");
@@ -193,21 +263,16 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t * @param upper Upper bound on output\n" +
 				"\t * @param output The output image. Modified.\n" +
 				"\t */\n" +
-				"\tpublic static void divide( "+input.getSingleBandName()+" input , "+scaleType+" denominator , "+
-				sumType+" lower , "+sumType+" upper , "+input.getSingleBandName()+" output ) {\n" +
+				"\tpublic static void divide( "+name(input)+" input , "+scaleType+" denominator , "+
+				sumType+" lower , "+sumType+" upper , "+name(input)+" output ) {\n" +
 				"\n" +
 				"\t\tInputSanityCheck.checkSameShape(input,output);\n" +
 				"\n" +
-				"\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
-				"\t\t\tint indexSrc = input.startIndex + y* input.stride;\n" +
-				"\t\t\tint indexDst = output.startIndex + y* output.stride;\n" +
-				"\t\t\tint end = indexSrc + input.width;\n" +
-				"\n" +
-				"\t\t\tfor( ; indexSrc < end; indexSrc++, indexDst++ ) {\n" +
-				"\t\t\t\t"+sumType+" val = "+typeCast+"((input.data[indexSrc] "+input.getBitWise()+") / denominator);\n" +
+				loopStart("input","output") +
+				"\t\t\t\t"+sumType+" val = "+typeCast+"((input.data[indexSrc+i] "+input.getBitWise()+") / denominator);\n" +
 				"\t\t\t\tif( val < lower ) val = lower;\n" +
 				"\t\t\t\tif( val > upper ) val = upper;\n" +
-				"\t\t\t\toutput.data[indexDst] = "+input.getTypeCastFromSum()+"val;\n" +
+				"\t\t\t\toutput.data[indexDst+i] = "+input.getTypeCastFromSum()+"val;\n" +
 				"\t\t\t}\n" +
 				"\t\t}\n" +
 				"\t}\n\n");
@@ -226,17 +291,12 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t * @param value What each element is multiplied by.\n" +
 				"\t * @param output The output image. Modified.\n" +
 				"\t */\n" +
-				"\tpublic static void multiply( "+input.getSingleBandName()+" input , "+scaleType+" value , "+input.getSingleBandName()+" output ) {\n" +
+				"\tpublic static void multiply( "+name(input)+" input , "+scaleType+" value , "+name(input)+" output ) {\n" +
 				"\n" +
 				"\t\tInputSanityCheck.checkSameShape(input,output);\n" +
 				"\n" +
-				"\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
-				"\t\t\tint indexSrc = input.startIndex + y* input.stride;\n" +
-				"\t\t\tint indexDst = output.startIndex + y* output.stride;\n" +
-				"\t\t\tint end = indexSrc + input.width;\n" +
-				"\n" +
-				"\t\t\tfor( ; indexSrc < end; indexSrc++, indexDst++ ) {\n" +
-				"\t\t\t\toutput.data[indexDst] = "+typeCast+"((input.data[indexSrc] "+input.getBitWise()+") * value);\n" +
+				loopStart("input","output") +
+				"\t\t\t\toutput.data[indexDst+i] = "+typeCast+"((input.data[indexSrc+i] "+input.getBitWise()+") * value);\n" +
 				"\t\t\t}\n" +
 				"\t\t}\n" +
 				"\t}\n\n");
@@ -257,21 +317,16 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t * @param upper Upper bound on output\n" +
 				"\t * @param output The output image. Modified.\n" +
 				"\t */\n" +
-				"\tpublic static void multiply( "+input.getSingleBandName()+" input , "+scaleType+" value , " +
-				sumType+" lower , "+sumType+" upper , "+input.getSingleBandName()+" output ) {\n" +
+				"\tpublic static void multiply( "+name(input)+" input , "+scaleType+" value , " +
+				sumType+" lower , "+sumType+" upper , "+name(input)+" output ) {\n" +
 				"\n" +
 				"\t\tInputSanityCheck.checkSameShape(input,output);\n" +
 				"\n" +
-				"\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
-				"\t\t\tint indexSrc = input.startIndex + y* input.stride;\n" +
-				"\t\t\tint indexDst = output.startIndex + y* output.stride;\n" +
-				"\t\t\tint end = indexSrc + input.width;\n" +
-				"\n" +
-				"\t\t\tfor( ; indexSrc < end; indexSrc++, indexDst++ ) {\n" +
-				"\t\t\t\t"+sumType+" val = "+typeCast+"((input.data[indexSrc] "+input.getBitWise()+") * value);\n" +
+				loopStart("input","output") +
+				"\t\t\t\t"+sumType+" val = "+typeCast+"((input.data[indexSrc+i] "+input.getBitWise()+") * value);\n" +
 				"\t\t\t\tif( val < lower ) val = lower;\n" +
 				"\t\t\t\tif( val > upper ) val = upper;\n" +
-				"\t\t\t\toutput.data[indexDst] = "+input.getTypeCastFromSum()+"val;\n" +
+				"\t\t\t\toutput.data[indexDst+i] = "+input.getTypeCastFromSum()+"val;\n" +
 				"\t\t\t}\n" +
 				"\t\t}\n" +
 				"\t}\n\n");
@@ -285,17 +340,12 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t * @param value What is added to each element.\n" +
 				"\t * @param output The output image. Modified.\n" +
 				"\t */\n" +
-				"\tpublic static void plus( "+input.getSingleBandName()+" input , "+input.getSumType()+" value , "+input.getSingleBandName()+" output ) {\n" +
+				"\tpublic static void plus( "+name(input)+" input , "+input.getSumType()+" value , "+name(input)+" output ) {\n" +
 				"\n" +
 				"\t\tInputSanityCheck.checkSameShape(input,output);\n" +
 				"\n" +
-				"\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
-				"\t\t\tint indexSrc = input.startIndex + y* input.stride;\n" +
-				"\t\t\tint indexDst = output.startIndex + y* output.stride;\n" +
-				"\t\t\tint end = indexSrc + input.width;\n" +
-				"\n" +
-				"\t\t\tfor( ; indexSrc < end; indexSrc++, indexDst++ ) {\n" +
-				"\t\t\t\toutput.data[indexDst] = "+input.getTypeCastFromSum()+"((input.data[indexSrc] "+input.getBitWise()+") + value);\n" +
+				loopStart("input","output") +
+				"\t\t\t\toutput.data[indexDst+i] = "+input.getTypeCastFromSum()+"((input.data[indexSrc+i] "+input.getBitWise()+") + value);\n" +
 				"\t\t\t}\n" +
 				"\t\t}\n" +
 				"\t}\n\n");
@@ -313,21 +363,16 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t * @param upper Upper bound on output\n" +
 				"\t * @param output The output image. Modified.\n" +
 				"\t */\n" +
-				"\tpublic static void plus( "+input.getSingleBandName()+" input , "+sumType+" value , "+
-				sumType+" lower , "+sumType+" upper , "+input.getSingleBandName()+" output ) {\n" +
+				"\tpublic static void plus( "+name(input)+" input , "+sumType+" value , "+
+				sumType+" lower , "+sumType+" upper , "+name(input)+" output ) {\n" +
 				"\n" +
 				"\t\tInputSanityCheck.checkSameShape(input,output);\n" +
 				"\n" +
-				"\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
-				"\t\t\tint indexSrc = input.startIndex + y* input.stride;\n" +
-				"\t\t\tint indexDst = output.startIndex + y* output.stride;\n" +
-				"\t\t\tint end = indexSrc + input.width;\n" +
-				"\n" +
-				"\t\t\tfor( ; indexSrc < end; indexSrc++, indexDst++ ) {\n" +
-				"\t\t\t\t"+sumType+" val = (input.data[indexSrc] "+input.getBitWise()+") + value;\n" +
+				loopStart("input","output") +
+				"\t\t\t\t"+sumType+" val = (input.data[indexSrc+i] "+input.getBitWise()+") + value;\n" +
 				"\t\t\t\tif( val < lower ) val = lower;\n" +
 				"\t\t\t\tif( val > upper ) val = upper;\n" +
-				"\t\t\t\toutput.data[indexDst] = "+input.getTypeCastFromSum()+"val;\n" +
+				"\t\t\t\toutput.data[indexDst+i] = "+input.getTypeCastFromSum()+"val;\n" +
 				"\t\t\t}\n" +
 				"\t\t}\n" +
 				"\t}\n\n");
@@ -345,22 +390,13 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t * @param min minimum value.\n" +
 				"\t * @param max maximum value.\n" +
 				"\t */\n" +
-				"\tpublic static void boundImage( "+input.getSingleBandName()+" img , "+sumType+" min , "+sumType+" max ) {\n" +
-				"\t\tfinal int h = img.getHeight();\n" +
-				"\t\tfinal int w = img.getWidth();\n" +
-				"\n" +
-				"\t\t"+input.getDataType()+"[] data = img.data;\n" +
-				"\n" +
-				"\t\tfor (int y = 0; y < h; y++) {\n" +
-				"\t\t\tint index = img.getStartIndex() + y * img.getStride();\n" +
-				"\t\t\tint indexEnd = index+w;\n" +
-				"\t\t\t// for(int x = 0; x < w; x++ ) {\n" +
-				"\t\t\tfor (; index < indexEnd; index++) {\n" +
-				"\t\t\t\t"+sumType+" value = data[index]"+bitWise+";\n" +
+				"\tpublic static void boundImage( "+name(input)+" img , "+sumType+" min , "+sumType+" max ) {\n" +
+				loopStart("img") +
+				"\t\t\t\t"+sumType+" value = img.data[index+i]"+bitWise+";\n" +
 				"\t\t\t\tif( value < min )\n" +
-				"\t\t\t\t\tdata[index] = "+input.getTypeCastFromSum()+"min;\n" +
+				"\t\t\t\t\timg.data[index+i] = "+input.getTypeCastFromSum()+"min;\n" +
 				"\t\t\t\telse if( value > max )\n" +
-				"\t\t\t\t\tdata[index] = "+input.getTypeCastFromSum()+"max;\n" +
+				"\t\t\t\t\timg.data[index+i] = "+input.getTypeCastFromSum()+"max;\n" +
 				"\t\t\t}\n" +
 				"\t\t}\n" +
 				"\t}\n\n");
@@ -369,7 +405,7 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 	public void printDiffAbs() {
 
 		String bitWise = input.getBitWise();
-		String typeCast = input.isInteger() ? "("+input.getDataType()+")" : "";
+		String typeCast = integerCast(input);
 
 		out.print("\t/**\n" +
 				"\t * <p>\n" +
@@ -380,21 +416,11 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t * @param imgB Input image. Not modified.\n" +
 				"\t * @param diff Absolute value of difference image. Modified.\n" +
 				"\t */\n" +
-				"\tpublic static void diffAbs( "+input.getSingleBandName()+" imgA , "+input.getSingleBandName()+" imgB , "+input.getSingleBandName()+" diff ) {\n" +
+				"\tpublic static void diffAbs( "+name(input)+" imgA , "+name(input)+" imgB , "+name(input)+" diff ) {\n" +
 				"\t\tInputSanityCheck.checkSameShape(imgA,imgB,diff);\n" +
-				"\t\t\n" +
-				"\t\tfinal int h = imgA.getHeight();\n" +
-				"\t\tfinal int w = imgA.getWidth();\n" +
 				"\n" +
-				"\t\tfor (int y = 0; y < h; y++) {\n" +
-				"\t\t\tint indexA = imgA.getStartIndex() + y * imgA.getStride();\n" +
-				"\t\t\tint indexB = imgB.getStartIndex() + y * imgB.getStride();\n" +
-				"\t\t\tint indexDiff = diff.getStartIndex() + y * diff.getStride();\n" +
-				"\t\t\t\n" +
-				"\t\t\tint indexEnd = indexA+w;\n" +
-				"\t\t\t// for(int x = 0; x < w; x++ ) {\n" +
-				"\t\t\tfor (; indexA < indexEnd; indexA++, indexB++, indexDiff++ ) {\n" +
-				"\t\t\t\tdiff.data[indexDiff] = "+typeCast+"Math.abs((imgA.data[indexA] "+bitWise+") - (imgB.data[indexB] "+bitWise+"));\n" +
+				loopStart("imgA","imgB","diff") +
+				"\t\t\t\tdiff.data[indexOut+i] = "+typeCast+"Math.abs((imgA.data[indexA+i] "+bitWise+") - (imgB.data[indexB+i] "+bitWise+"));\n" +
 				"\t\t\t}\n" +
 				"\t\t}\n" +
 				"\t}\n\n");
@@ -403,7 +429,7 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 	public void printAddTwoImages( AutoTypeImage typeIn , AutoTypeImage typeOut  ) {
 
 		String bitWise = typeIn.getBitWise();
-		String typeCast = typeOut.isInteger() ? "("+typeOut.getDataType()+")" : "";
+		String typeCast = integerCast(typeOut);
 
 		out.print("\t/**\n" +
 				"\t * <p>\n" +
@@ -414,21 +440,11 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t * @param imgB Input image. Not modified.\n" +
 				"\t * @param output Output image. Modified.\n" +
 				"\t */\n" +
-				"\tpublic static void add( "+typeIn.getSingleBandName()+" imgA , "+typeIn.getSingleBandName()+" imgB , "+typeOut.getSingleBandName()+" output ) {\n" +
+				"\tpublic static void add( "+name(typeIn)+" imgA , "+name(typeIn)+" imgB , "+name(typeOut)+" output ) {\n" +
 				"\t\tInputSanityCheck.checkSameShape(imgA,imgB,output);\n" +
-				"\t\t\n" +
-				"\t\tfinal int h = imgA.getHeight();\n" +
-				"\t\tfinal int w = imgA.getWidth();\n" +
 				"\n" +
-				"\t\tfor (int y = 0; y < h; y++) {\n" +
-				"\t\t\tint indexA = imgA.getStartIndex() + y * imgA.getStride();\n" +
-				"\t\t\tint indexB = imgB.getStartIndex() + y * imgB.getStride();\n" +
-				"\t\t\tint indexOut = output.getStartIndex() + y * output.getStride();\n" +
-				"\t\t\t\n" +
-				"\t\t\tint indexEnd = indexA+w;\n" +
-				"\t\t\t// for(int x = 0; x < w; x++ ) {\n" +
-				"\t\t\tfor (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {\n" +
-				"\t\t\t\toutput.data[indexOut] = "+typeCast+"((imgA.data[indexA] "+bitWise+") + (imgB.data[indexB] "+bitWise+"));\n" +
+				loopStart("imgA","imgB","output") +
+				"\t\t\t\toutput.data[indexOut+i] = "+typeCast+"((imgA.data[indexA+i] "+bitWise+") + (imgB.data[indexB+i] "+bitWise+"));\n" +
 				"\t\t\t}\n" +
 				"\t\t}\n" +
 				"\t}\n\n");
@@ -437,7 +453,7 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 	public void printSubtractTwoImages( AutoTypeImage typeIn , AutoTypeImage typeOut ) {
 
 		String bitWise = typeIn.getBitWise();
-		String typeCast = typeOut.isInteger() ? "("+typeOut.getDataType()+")" : "";
+		String typeCast = integerCast(typeOut);
 
 		out.print("\t/**\n" +
 				"\t * <p>\n" +
@@ -448,22 +464,12 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t * @param imgB Input image. Not modified.\n" +
 				"\t * @param output Output image. Modified.\n" +
 				"\t */\n" +
-				"\tpublic static void subtract( "+typeIn.getSingleBandName()+" imgA , "+typeIn.getSingleBandName()+" imgB , "
-				+typeOut.getSingleBandName()+" output ) {\n" +
+				"\tpublic static void subtract( "+name(typeIn)+" imgA , "+name(typeIn)+" imgB , "
+				+name(typeOut)+" output ) {\n" +
 				"\t\tInputSanityCheck.checkSameShape(imgA,imgB,output);\n" +
-				"\t\t\n" +
-				"\t\tfinal int h = imgA.getHeight();\n" +
-				"\t\tfinal int w = imgA.getWidth();\n" +
 				"\n" +
-				"\t\tfor (int y = 0; y < h; y++) {\n" +
-				"\t\t\tint indexA = imgA.getStartIndex() + y * imgA.getStride();\n" +
-				"\t\t\tint indexB = imgB.getStartIndex() + y * imgB.getStride();\n" +
-				"\t\t\tint indexOut = output.getStartIndex() + y * output.getStride();\n" +
-				"\t\t\t\n" +
-				"\t\t\tint indexEnd = indexA+w;\n" +
-				"\t\t\t// for(int x = 0; x < w; x++ ) {\n" +
-				"\t\t\tfor (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {\n" +
-				"\t\t\t\toutput.data[indexOut] = "+typeCast+"((imgA.data[indexA] "+bitWise+") - (imgB.data[indexB] "+bitWise+"));\n" +
+				loopStart("imgA","imgB","output") +
+				"\t\t\t\toutput.data[indexOut+i] = "+typeCast+"((imgA.data[indexA+i] "+bitWise+") - (imgB.data[indexB+i] "+bitWise+"));\n" +
 				"\t\t\t}\n" +
 				"\t\t}\n" +
 				"\t}\n\n");
@@ -472,7 +478,7 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 	public void printMultTwoImages( AutoTypeImage typeIn , AutoTypeImage typeOut  ) {
 
 		String bitWise = typeIn.getBitWise();
-		String typeCast = typeOut.isInteger() ? "("+typeOut.getDataType()+")" : "";
+		String typeCast = integerCast(typeOut);
 
 		out.print("\t/**\n" +
 				"\t * <p>\n" +
@@ -483,21 +489,11 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t * @param imgB Input image. Not modified.\n" +
 				"\t * @param output Output image. Modified.\n" +
 				"\t */\n" +
-				"\tpublic static void multiply( "+typeIn.getSingleBandName()+" imgA , "+typeIn.getSingleBandName()+" imgB , "+typeOut.getSingleBandName()+" output ) {\n" +
+				"\tpublic static void multiply( "+name(typeIn)+" imgA , "+name(typeIn)+" imgB , "+name(typeOut)+" output ) {\n" +
 				"\t\tInputSanityCheck.checkSameShape(imgA,imgB,output);\n" +
-				"\t\t\n" +
-				"\t\tfinal int h = imgA.getHeight();\n" +
-				"\t\tfinal int w = imgA.getWidth();\n" +
 				"\n" +
-				"\t\tfor (int y = 0; y < h; y++) {\n" +
-				"\t\t\tint indexA = imgA.getStartIndex() + y * imgA.getStride();\n" +
-				"\t\t\tint indexB = imgB.getStartIndex() + y * imgB.getStride();\n" +
-				"\t\t\tint indexOut = output.getStartIndex() + y * output.getStride();\n" +
-				"\t\t\t\n" +
-				"\t\t\tint indexEnd = indexA+w;\n" +
-				"\t\t\t// for(int x = 0; x < w; x++ ) {\n" +
-				"\t\t\tfor (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {\n" +
-				"\t\t\t\toutput.data[indexOut] = "+typeCast+"((imgA.data[indexA] "+bitWise+") * (imgB.data[indexB] "+bitWise+"));\n" +
+				loopStart("imgA","imgB","output") +
+				"\t\t\t\toutput.data[indexOut+i] = "+typeCast+"((imgA.data[indexA+i] "+bitWise+") * (imgB.data[indexB+i] "+bitWise+"));\n" +
 				"\t\t\t}\n" +
 				"\t\t}\n" +
 				"\t}\n\n");
@@ -514,17 +510,12 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t * @param input The input image. Not modified.\n" +
 				"\t * @param output Where the log image is written to. Modified.\n" +
 				"\t */\n" +
-				"\tpublic static void log( "+typeIn.getSingleBandName()+" input , "+typeOut.getSingleBandName()+" output ) {\n" +
+				"\tpublic static void log( "+name(typeIn)+" input , "+name(typeOut)+" output ) {\n" +
 				"\n" +
 				"\t\tInputSanityCheck.checkSameShape(input,output);\n" +
 				"\n" +
-				"\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
-				"\t\t\tint indexSrc = input.startIndex + y* input.stride;\n" +
-				"\t\t\tint indexDst = output.startIndex + y* output.stride;\n" +
-				"\t\t\tint end = indexSrc + input.width;\n" +
-				"\n" +
-				"\t\t\tfor( ; indexSrc < end; indexSrc++ , indexDst++) {\n" +
-				"\t\t\t\toutput.data[indexDst] = "+typeCast+"Math.log(1 + input.data[indexSrc]"+bitWise+");\n" +
+				loopStart("input","output") +
+				"\t\t\t\toutput.data[indexDst+i] = "+typeCast+"Math.log(1 + input.data[indexSrc+i]"+bitWise+");\n" +
 				"\t\t\t}\n" +
 				"\t\t}\n" +
 				"\t}\n\n");
@@ -540,18 +531,13 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t * @param input The input image. Not modified.\n" +
 				"\t * @param output Where the pow2 image is written to. Modified.\n" +
 				"\t */\n" +
-				"\tpublic static void pow2( "+typeIn.getSingleBandName()+" input , "+typeOut.getSingleBandName()+" output ) {\n" +
+				"\tpublic static void pow2( "+name(typeIn)+" input , "+name(typeOut)+" output ) {\n" +
 				"\n" +
 				"\t\tInputSanityCheck.checkSameShape(input,output);\n" +
 				"\n" +
-				"\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
-				"\t\t\tint indexSrc = input.startIndex + y* input.stride;\n" +
-				"\t\t\tint indexDst = output.startIndex + y* output.stride;\n" +
-				"\t\t\tint end = indexSrc + input.width;\n" +
-				"\n" +
-				"\t\t\tfor( ; indexSrc < end; indexSrc++ , indexDst++) {\n" +
-				"\t\t\t\t"+typeOut.getDataType()+" v = input.data[indexSrc]"+bitWise+";\n" +
-				"\t\t\t\toutput.data[indexDst] = v*v;\n" +
+				loopStart("input","output") +
+				"\t\t\t\t"+typeOut.getDataType()+" v = input.data[indexSrc+i]"+bitWise+";\n" +
+				"\t\t\t\toutput.data[indexDst+i] = v*v;\n" +
 				"\t\t\t}\n" +
 				"\t\t}\n" +
 				"\t}\n\n");
@@ -568,17 +554,12 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t * @param input The input image. Not modified.\n" +
 				"\t * @param output Where the sqrt() image is written to. Modified.\n" +
 				"\t */\n" +
-				"\tpublic static void sqrt( "+typeIn.getSingleBandName()+" input , "+typeOut.getSingleBandName()+" output ) {\n" +
+				"\tpublic static void sqrt( "+name(typeIn)+" input , "+name(typeOut)+" output ) {\n" +
 				"\n" +
 				"\t\tInputSanityCheck.checkSameShape(input,output);\n" +
 				"\n" +
-				"\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
-				"\t\t\tint indexSrc = input.startIndex + y* input.stride;\n" +
-				"\t\t\tint indexDst = output.startIndex + y* output.stride;\n" +
-				"\t\t\tint end = indexSrc + input.width;\n" +
-				"\n" +
-				"\t\t\tfor( ; indexSrc < end; indexSrc++ , indexDst++) {\n" +
-				"\t\t\t\toutput.data[indexDst] = "+typeCast+"Math.sqrt(input.data[indexSrc]"+bitWise+");\n" +
+				loopStart("input","output") +
+				"\t\t\t\toutput.data[indexDst+i] = "+typeCast+"Math.sqrt(input.data[indexSrc+i]"+bitWise+");\n" +
 				"\t\t\t}\n" +
 				"\t\t}\n" +
 				"\t}\n\n");
@@ -587,7 +568,7 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 	public void printDivTwoImages( AutoTypeImage typeIn , AutoTypeImage typeOut  ) {
 
 		String bitWise = typeIn.getBitWise();
-		String typeCast = typeOut.isInteger() ? "("+typeOut.getDataType()+")" : "";
+		String typeCast = integerCast(typeOut);
 
 		out.print("\t/**\n" +
 				"\t * <p>\n" +
@@ -598,21 +579,11 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t * @param imgB Input image. Not modified.\n" +
 				"\t * @param output Output image. Modified.\n" +
 				"\t */\n" +
-				"\tpublic static void divide( "+typeIn.getSingleBandName()+" imgA , "+typeIn.getSingleBandName()+" imgB , "+typeOut.getSingleBandName()+" output ) {\n" +
+				"\tpublic static void divide( "+name(typeIn)+" imgA , "+name(typeIn)+" imgB , "+name(typeOut)+" output ) {\n" +
 				"\t\tInputSanityCheck.checkSameShape(imgA,imgB,output);\n" +
-				"\t\t\n" +
-				"\t\tfinal int h = imgA.getHeight();\n" +
-				"\t\tfinal int w = imgA.getWidth();\n" +
 				"\n" +
-				"\t\tfor (int y = 0; y < h; y++) {\n" +
-				"\t\t\tint indexA = imgA.getStartIndex() + y * imgA.getStride();\n" +
-				"\t\t\tint indexB = imgB.getStartIndex() + y * imgB.getStride();\n" +
-				"\t\t\tint indexOut = output.getStartIndex() + y * output.getStride();\n" +
-				"\t\t\t\n" +
-				"\t\t\tint indexEnd = indexA+w;\n" +
-				"\t\t\t// for(int x = 0; x < w; x++ ) {\n" +
-				"\t\t\tfor (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {\n" +
-				"\t\t\t\toutput.data[indexOut] = "+typeCast+"((imgA.data[indexA] "+bitWise+") / (imgB.data[indexB] "+bitWise+"));\n" +
+				loopStart("imgA","imgB","output") +
+				"\t\t\t\toutput.data[indexOut+i] = "+typeCast+"((imgA.data[indexA+i] "+bitWise+") / (imgB.data[indexB+i] "+bitWise+"));\n" +
 				"\t\t\t}\n" +
 				"\t\t}\n" +
 				"\t}\n\n");
@@ -655,6 +626,51 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t}\n\n");
 	}
 
+	public void printAverageBandInterleaved() {
+
+		String imageName = input.getSingleBandName();
+		String sumType = input.getSumType();
+		String typecast = input.getTypeCastFromSum();
+		String bitwise = input.getBitWise();
+
+		out.print("\t/**\n" +
+				"\t * Computes the average for each pixel across all bands in the interleaved image.\n" +
+				"\t * \n" +
+				"\t * @param input Interleaved image\n" +
+				"\t * @param output Gray scale image containing average pixel values\n" +
+				"\t */\n" +
+				"\tpublic static void averageBand( "+name(input)+" input , "+imageName+" output ) {\n" +
+				"\t\tInputSanityCheck.checkSameShape(input,output);\n" +
+				"\n" +
+				"\t\tfinal int h = input.getHeight();\n" +
+				"\t\tfinal int w = input.getWidth();\n" +
+				"\t\tfinal int numBands = input.numBands;\n" +
+				"\n" +
+				"\t\tfor (int y = 0; y < h; y++) {\n" +
+				"\t\t\tint indexInput = input.getStartIndex() + y * input.getStride();\n" +
+				"\t\t\tint indexOutput = output.getStartIndex() + y * output.getStride();\n" +
+				"\n" +
+				"\t\t\tint indexEnd = indexOutput+w;\n" +
+				"\t\t\t// for(int x = 0; x < w; x++ ) {\n" +
+				"\t\t\tfor (; indexOutput < indexEnd; indexOutput++ ) {\n" +
+				"\t\t\t\t"+sumType+" total = 0;\n" +
+				"\t\t\t\tfor( int i = 0; i < numBands; i++ ) {\n" +
+				"\t\t\t\t\ttotal += input.data[ indexInput++ ]"+bitwise+";\n" +
+				"\t\t\t\t}\n" +
+				"\t\t\t\toutput.data[indexOutput] = "+typecast+"(total / numBands);\n" +
+				"\t\t\t}\n" +
+				"\t\t}\n" +
+				"\t}\n\n");
+	}
+
+	/**
+	 * Cast needed to store the result of integer arithmetic in the image.  Arithmetic on integers is done with
+	 * at least an int, so only smaller types need a cast.
+	 */
+	private static String integerCast( AutoTypeImage type ) {
+		return type.isInteger() && type.getNumBits() < 32 ? "("+type.getDataType()+")" : "";
+	}
+
 	public static void main( String args[] ) throws FileNotFoundException {
 		GeneratePixelMath gen = new GeneratePixelMath();
 		gen.generate();
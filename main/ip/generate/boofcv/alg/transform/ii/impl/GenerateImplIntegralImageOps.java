@@ -48,6 +48,11 @@ public class GenerateImplIntegralImageOps extends CodeGeneratorBase {
 		printTwoInput(AutoTypeImage.U8, AutoTypeImage.S32);
 		printTwoInput(AutoTypeImage.S32, AutoTypeImage.S32);
 		printTwoInput(AutoTypeImage.S64, AutoTypeImage.S64);
+		printTwoInput(AutoTypeImage.U16, AutoTypeImage.S64);
+		printTransformColumns(AutoTypeImage.F32);
+		printTransformColumns(AutoTypeImage.F64);
+		printTransformColumns(AutoTypeImage.S32);
+		printTransformColumns(AutoTypeImage.S64);
 		singleInput(AutoTypeImage.F32);
 		singleInput(AutoTypeImage.S32);
 		singleInput(AutoTypeImage.F64);
@@ -82,7 +87,8 @@ public class GenerateImplIntegralImageOps extends CodeGeneratorBase {
 
 	private void printTwoInput( AutoTypeImage imageIn , AutoTypeImage imageOut ) {
 		printTransform(imageIn,imageOut);
-
+		printTransformRows(imageIn,imageOut);
+		printTransformRegion(imageIn,imageOut);
 	}
 
 	private void singleInput(AutoTypeImage image) {
@@ -126,6 +132,117 @@ public class GenerateImplIntegralImageOps extends CodeGeneratorBase {
 				"\t}\n\n");
 	}
 
+	private void printTransformRows( AutoTypeImage imageIn , AutoTypeImage imageOut ) {
+
+		String sumType = imageOut.getSumType();
+		String bitWise = imageIn.getBitWise();
+		String typeCast = imageOut.getTypeCastFromSum();
+
+		out.print("\t/**\n" +
+				"\t * First pass of the integral image.  Computes the sum along each row inside the range of rows.\n" +
+				"\t */\n" +
+				"\tpublic static void transformRows( final "+imageIn.getSingleBandName()+" input , final "+imageOut.getSingleBandName()+" transformed , int y0 , int y1 )\n" +
+				"\t{\n" +
+				"\t\tfor( int y = y0; y < y1; y++ ) {\n" +
+				"\t\t\tint indexSrc = input.startIndex + input.stride*y;\n" +
+				"\t\t\tint indexDst = transformed.startIndex + transformed.stride*y;\n" +
+				"\t\t\tint end = indexSrc + input.width;\n" +
+				"\n" +
+				"\t\t\t"+sumType+" total = 0;\n" +
+				"\t\t\tfor( ; indexSrc < end; indexSrc++ ) {\n" +
+				"\t\t\t\ttransformed.data[indexDst++] = "+typeCast+"total += input.data[indexSrc]"+bitWise+";\n" +
+				"\t\t\t}\n" +
+				"\t\t}\n" +
+				"\t}\n\n");
+	}
+
+	private void printTransformColumns( AutoTypeImage imageOut ) {
+		out.print("\t/**\n" +
+				"\t * Second pass of the integral image.  Sums the output of {@code transformRows} along each column\n" +
+				"\t * inside the range of columns.\n" +
+				"\t */\n" +
+				"\tpublic static void transformColumns( final "+imageOut.getSingleBandName()+" transformed , int x0 , int x1 )\n" +
+				"\t{\n" +
+				"\t\tfor( int y = 1; y < transformed.height; y++ ) {\n" +
+				"\t\t\tint indexDst = transformed.startIndex + transformed.stride*y + x0;\n" +
+				"\t\t\tint indexPrev = indexDst - transformed.stride;\n" +
+				"\t\t\tint end = indexDst + x1 - x0;\n" +
+				"\n" +
+				"\t\t\tfor( ; indexDst < end; indexDst++ ) {\n" +
+				"\t\t\t\ttransformed.data[indexDst] += transformed.data[indexPrev++];\n" +
+				"\t\t\t}\n" +
+				"\t\t}\n" +
+				"\t}\n\n");
+	}
+
+	private void printTransformRegion( AutoTypeImage imageIn , AutoTypeImage imageOut ) {
+
+		String sumType = imageOut.getSumType();
+		String bitWise = imageIn.getBitWise();
+		String typeCast = imageOut.getTypeCastFromSum();
+
+		out.print("\t/**\n" +
+				"\t * Updates the integral image after the input image has been modified inside of rows y0 to y1 and\n" +
+				"\t * columns x0 and above.  Rows below the region are updated by adding the change in the region's last row.\n" +
+				"\t *\n" +
+				"\t * @param work Storage for the change in the last row.  Must have at least width-x0 elements.\n" +
+				"\t */\n" +
+				"\tpublic static void transformRegion( final "+imageIn.getSingleBandName()+" input , final "+imageOut.getSingleBandName()+" transformed ,\n" +
+				"\t\t\t\t\t\t\t\t\t\tint x0 , int y0 , int y1 , "+sumType+" work[] )\n" +
+				"\t{\n" +
+				"\t\tfinal int width = input.width;\n" +
+				"\t\tfinal boolean below = y1 < input.height;\n" +
+				"\n" +
+				"\t\t// save the original values in the region's last row\n" +
+				"\t\tif( below ) {\n" +
+				"\t\t\tint index = transformed.startIndex + transformed.stride*(y1-1) + x0;\n" +
+				"\t\t\tfor( int x = x0; x < width; x++ ) {\n" +
+				"\t\t\t\twork[x-x0] = transformed.data[index++];\n" +
+				"\t\t\t}\n" +
+				"\t\t}\n" +
+				"\n" +
+				"\t\tfor( int y = y0; y < y1; y++ ) {\n" +
+				"\t\t\tint indexSrc = input.startIndex + input.stride*y;\n" +
+				"\t\t\tint indexDst = transformed.startIndex + transformed.stride*y + x0;\n" +
+				"\t\t\tint indexPrev = indexDst - transformed.stride;\n" +
+				"\n" +
+				"\t\t\t// sum of the row before the region\n" +
+				"\t\t\t"+sumType+" total = 0;\n" +
+				"\t\t\tint end = indexSrc + x0;\n" +
+				"\t\t\tfor( ; indexSrc < end; indexSrc++ ) {\n" +
+				"\t\t\t\ttotal += input.data[indexSrc]"+bitWise+";\n" +
+				"\t\t\t}\n" +
+				"\n" +
+				"\t\t\tend = input.startIndex + input.stride*y + width;\n" +
+				"\t\t\tif( y == 0 ) {\n" +
+				"\t\t\t\tfor( ; indexSrc < end; indexSrc++ ) {\n" +
+				"\t\t\t\t\ttransformed.data[indexDst++] = "+typeCast+"total += input.data[indexSrc]"+bitWise+";\n" +
+				"\t\t\t\t}\n" +
+				"\t\t\t} else {\n" +
+				"\t\t\t\tfor( ; indexSrc < end; indexSrc++ ) {\n" +
+				"\t\t\t\t\ttotal += input.data[indexSrc]"+bitWise+";\n" +
+				"\t\t\t\t\ttransformed.data[indexDst++] = transformed.data[indexPrev++] + total;\n" +
+				"\t\t\t\t}\n" +
+				"\t\t\t}\n" +
+				"\t\t}\n" +
+				"\n" +
+				"\t\t// the rows below the region all change by the same amount\n" +
+				"\t\tif( below ) {\n" +
+				"\t\t\tint index = transformed.startIndex + transformed.stride*(y1-1) + x0;\n" +
+				"\t\t\tfor( int x = x0; x < width; x++ ) {\n" +
+				"\t\t\t\twork[x-x0] = transformed.data[index++] - work[x-x0];\n" +
+				"\t\t\t}\n" +
+				"\n" +
+				"\t\t\tfor( int y = y1; y < input.height; y++ ) {\n" +
+				"\t\t\t\tindex = transformed.startIndex + transformed.stride*y + x0;\n" +
+				"\t\t\t\tfor( int x = x0; x < width; x++ ) {\n" +
+				"\t\t\t\t\ttransformed.data[index++] += work[x-x0];\n" +
+				"\t\t\t\t}\n" +
+				"\t\t\t}\n" +
+				"\t\t}\n" +
+				"\t}\n\n");
+	}
+
 	private void printConvolve( AutoTypeImage imageIn , AutoTypeImage imageOut) {
 		out.print("\tpublic static void convolve( "+imageIn.getSingleBandName()+" integral ,\n" +
 				"\t\t\t\t\t\t\t\t IntegralKernel kernel,\n" +
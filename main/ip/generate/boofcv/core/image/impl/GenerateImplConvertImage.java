@@ -90,11 +90,17 @@ public class GenerateImplConvertImage extends CodeGeneratorBase {
 				"\t\t\tfor (int y = 0; y < from.height; y++) {\n" +
 				"\t\t\t\tint indexFrom = from.getIndex(0, y);\n" +
 				"\t\t\t\tint indexTo = to.getIndex(0, y);\n" +
-				"\n" +
-				"\t\t\t\tfor (int x = 0; x < from.width; x++) {\n" +
-				"\t\t\t\t\tto.data[indexTo++] = "+typeCast+"( from.data[indexFrom++] "+bitWise+");\n" +
-				"\t\t\t\t}\n" +
-				"\t\t\t}\n" +
+				"\n");
+
+		if( sameTypes ) {
+			out.print("\t\t\t\tSystem.arraycopy(from.data, indexFrom, to.data, indexTo, from.width);\n");
+		} else {
+			// a single loop counter makes it easier for the JIT to vectorize the loop
+			out.print("\t\t\t\tfor (int i = 0; i < from.width; i++) {\n" +
+					"\t\t\t\t\tto.data[indexTo+i] = "+typeCast+"( from.data[indexFrom+i] "+bitWise+");\n" +
+					"\t\t\t\t}\n");
+		}
+		out.print("\t\t\t}\n" +
 				"\n" +
 				"\t\t} else {\n" +
 				"\t\t\tfinal int N = from.width * from.height;\n" +
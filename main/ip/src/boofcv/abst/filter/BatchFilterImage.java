@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.abst.filter;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.InstanceFactory;
+import boofcv.concurrency.InstancePool;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.struct.image.ImageBase;
+
+import java.util.List;
+
+/**
+ * <p>
+ * Applies the same {@link FilterImageInterface} to a large number of images which all have the same shape, e.g.
+ * thumbnails, tiles, or the images in a {@link boofcv.struct.image.ImageStack}.  Image shapes are checked once
+ * for the whole batch and the work is split across threads at the granularity of whole images, using the shared
+ * thread pool in {@link BoofConcurrency}.  Each thread gets its own filter.  All the filters a batch might need
+ * are created by the factory before any images are processed, one for each thread, and then reused for every
+ * image and later batches.  Filter setup is therefore only done once per thread, not once per image or batch.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class BatchFilterImage<Input extends ImageBase, Output extends ImageBase> {
+
+	// filters which are not in use
+	InstancePool<FilterImageInterface<Input,Output>> filters;
+
+	// processes a block of images
+	Task task = new Task();
+
+	/**
+	 * Configures the batch filter
+	 *
+	 * @param factory Creates a new instance of the filter.
+	 */
+	public BatchFilterImage(InstanceFactory<FilterImageInterface<Input, Output>> factory) {
+		this.filters = new InstancePool<FilterImageInterface<Input,Output>>(factory);
+	}
+
+	/**
+	 * Applies the filter to each input image and writes the result into the output image with the same index.
+	 *
+	 * @param inputs Input images.  All must have the same shape.  Not modified.
+	 * @param outputs Output images.  Must have the same shape as the inputs.  Modified.
+	 */
+	public void process( List<? extends Input> inputs , List<? extends Output> outputs ) {
+		if( inputs.size() != outputs.size() )
+			throw new IllegalArgumentException("Number of input and output images must be the same");
+		if( inputs.isEmpty() )
+			return;
+
+		ImageBase first = inputs.get(0);
+		checkSameShape(first, inputs);
+		checkSameShape(first, outputs);
+
+		// create and set up every filter which might be used before the work is split up.  There are never
+		// more blocks than threads, so filters are not created while the images are processed
+		filters.reserve(Math.min(BoofConcurrency.getMaxThreads(), inputs.size()));
+
+		task.inputs = inputs;
+		task.outputs = outputs;
+		try {
+			BoofConcurrency.loopBlocks(0, inputs.size(), first.width*first.height, task);
+		} finally {
+			task.inputs = null;
+			task.outputs = null;
+		}
+	}
+
+	/**
+	 * Makes sure all the images in the list have the same shape
+	 */
+	public static void checkSameShape( ImageBase expected , List<? extends ImageBase> images ) {
+		for( int i = 0; i < images.size(); i++ ) {
+			ImageBase image = images.get(i);
+			if( image.width != expected.width || image.height != expected.height )
+				throw new IllegalArgumentException("All images must have the same shape. Image "+i+" is "+
+						image.width+"x"+image.height+" and not "+expected.width+"x"+expected.height);
+		}
+	}
+
+	/**
+	 * Filters a block of images with a single filter
+	 */
+	private class Task implements IntRangeTask {
+		List<? extends Input> inputs;
+		List<? extends Output> outputs;
+
+		@Override
+		public void process(int minInclusive, int maxExclusive) {
+			FilterImageInterface<Input,Output> filter = filters.grab();
+			try {
+				for( int i = minInclusive; i < maxExclusive; i++ ) {
+					filter.process(inputs.get(i), outputs.get(i));
+				}
+			} finally {
+				filters.release(filter);
+			}
+		}
+	}
+}
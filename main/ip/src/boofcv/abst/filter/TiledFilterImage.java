@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.abst.filter;
+
+import boofcv.struct.ImageRectangle;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.TiledImage;
+
+/**
+ * <p>
+ * Applies a {@link FilterImageInterface} to a {@link TiledImage} one tile at a time, so that images which are
+ * too large to fit in memory can be processed.  Each tile is read with a halo around it, the filter is applied
+ * to the expanded tile, and only the tile itself is written to the output.  If the halo is at least as large as
+ * the filter's radius then the output is identical to processing the whole image at once.
+ * </p>
+ *
+ * <p>
+ * Only memory for a single expanded tile is used and the same storage is recycled for every tile.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class TiledFilterImage<Input extends ImageSingleBand, Output extends ImageSingleBand> {
+
+	// filter applied to each tile
+	FilterImageInterface<Input,Output> filter;
+	// number of pixels each tile is expanded by
+	int halo;
+
+	// storage for the expanded tile
+	Input workInput;
+	Output workOutput;
+
+	// bounds of the expanded tile
+	ImageRectangle region = new ImageRectangle();
+
+	/**
+	 * Configures the tiled filter.
+	 *
+	 * @param filter The filter being applied.
+	 * @param halo Number of pixels each tile is expanded by.  Should be at least the radius of the filter.
+	 *             If the filter doesn't process its border then the halo is increased by the border's size.
+	 */
+	public TiledFilterImage(FilterImageInterface<Input, Output> filter, int halo) {
+		if( halo < 0 )
+			throw new IllegalArgumentException("Halo must be >= 0");
+		this.filter = filter;
+		this.halo = halo + Math.max(filter.getHorizontalBorder(),filter.getVerticalBorder());
+
+		workInput = filter.getInputType().createImage(1,1);
+		workOutput = filter.getOutputType().createImage(1,1);
+	}
+
+	/**
+	 * Applies the filter to every tile in the input image and writes the results into the output image.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output Output image.  Must have the same shape as the input.  Can have a different tile shape.
+	 */
+	public void process( TiledImage<Input> input , TiledImage<Output> output ) {
+		if( input.getWidth() != output.getWidth() || input.getHeight() != output.getHeight() )
+			throw new IllegalArgumentException("Input and output must have the same shape");
+
+		for( int row = 0; row < input.getTilesY(); row++ ) {
+			for( int col = 0; col < input.getTilesX(); col++ ) {
+				input.getTileRegion(col,row,halo,region);
+				input.read(region.x0,region.y0,region.x1,region.y1,workInput);
+
+				workOutput.reshape(workInput.width,workInput.height);
+				filter.process(workInput,workOutput);
+
+				writeTile(input, col, row, region, workOutput, output);
+			}
+		}
+	}
+
+	/**
+	 * Writes the part of the processed expanded tile which belongs to the tile
+	 *
+	 * @param input Image which defines the tile grid
+	 * @param region Bounds of the expanded tile
+	 * @param work Processed expanded tile
+	 * @param output Image the tile is written to
+	 */
+	public static <T extends ImageSingleBand>
+	void writeTile( TiledImage<?> input , int col , int row , ImageRectangle region ,
+					T work , TiledImage<T> output )
+	{
+		int x0 = col*input.getTileWidth();
+		int y0 = row*input.getTileHeight();
+		int x1 = Math.min(input.getWidth(),x0+input.getTileWidth());
+		int y1 = Math.min(input.getHeight(),y0+input.getTileHeight());
+
+		T core = (T)work.subimage(x0-region.x0,y0-region.y0,x1-region.x0,y1-region.y0,null);
+		output.write(x0,y0,core);
+	}
+
+	public FilterImageInterface<Input, Output> getFilter() {
+		return filter;
+	}
+
+	public int getHalo() {
+		return halo;
+	}
+}
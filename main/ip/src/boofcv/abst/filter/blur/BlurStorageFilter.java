@@ -20,6 +20,7 @@ package boofcv.abst.filter.blur;
 
 import boofcv.alg.filter.blur.BlurImageOps;
 import boofcv.core.image.GeneralizedImageOps;
+import boofcv.struct.image.ImagePool;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.struct.image.ImageType;
 
@@ -28,7 +29,9 @@ import java.lang.reflect.Method;
 
 /**
  * Simplified interface for using a blur filter that requires storage.  Reflections are used to look up a function inside
- * of {@link boofcv.alg.filter.blur.BlurImageOps} which is then invoked later on.
+ * of {@link boofcv.alg.filter.blur.BlurImageOps} which is then invoked later on.  If an {@link ImagePool} is
+ * specified then the storage image is taken from the pool when processing and handed back afterwards,
+ * allowing several filters to share the same storage.
  *
  * @author Peter Abeles
  */
@@ -44,6 +47,8 @@ public class BlurStorageFilter<T extends ImageSingleBand> implements BlurFilter<
 	private ImageSingleBand storage;
 	// if sigma is an input or not
 	private boolean hasSigma;
+	// if not null the storage image is taken from this pool
+	private ImagePool pool;
 
 	// type of image it processes
 	Class<T> inputType;
@@ -104,13 +109,28 @@ public class BlurStorageFilter<T extends ImageSingleBand> implements BlurFilter<
 
 	@Override
 	public void process(T input, T output) {
+		if( storage == null ) {
+			invoke(input, output, null);
+		} else if( pool != null ) {
+			ImageSingleBand work = pool.acquire(storage.getClass(), output.width, output.height);
+			try {
+				invoke(input, output, work);
+			} finally {
+				pool.release(work);
+			}
+		} else {
+			storage.reshape(output.width, output.height);
+			invoke(input, output, storage);
+		}
+	}
+
+	private void invoke( T input , T output , ImageSingleBand work ) {
 		try {
-			if( storage != null ) {
-				storage.reshape(output.width, output.height);
+			if( work != null ) {
 				if (hasSigma)
-					m.invoke(null, input, output, sigma, radius, storage);
+					m.invoke(null, input, output, sigma, radius, work);
 				else
-					m.invoke(null, input, output, radius, storage);
+					m.invoke(null, input, output, radius, work);
 			} else {
 				m.invoke(null, input, output,radius);
 			}
@@ -121,6 +141,23 @@ public class BlurStorageFilter<T extends ImageSingleBand> implements BlurFilter<
 		}
 	}
 
+	public ImagePool getPool() {
+		return pool;
+	}
+
+	/**
+	 * Specifies a pool which the storage image is taken from.  When set the filter does not hold on to
+	 * its own storage image between calls.
+	 *
+	 * @param pool The pool or null to use internal storage.
+	 */
+	public void setPool(ImagePool pool) {
+		this.pool = pool;
+		// discard the internal storage, only its type is needed now
+		if( pool != null && storage != null )
+			storage = (ImageSingleBand)storage._createNew(1,1);
+	}
+
 	@Override
 	public int getHorizontalBorder() {
 		return 0;
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.filter.blur;
+
+import boofcv.alg.filter.blur.RecursiveGaussian;
+import boofcv.core.image.border.BorderType;
+import boofcv.factory.filter.kernel.FactoryKernelGaussian;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageType;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * Wrapper around {@link RecursiveGaussian} for {@link BlurFilter}.  The radius is the radius of the
+ * equivalent Gaussian kernel.  Supports ImageUInt8 and ImageFloat32.
+ *
+ * @author Peter Abeles
+ */
+public class RecursiveGaussianBlurFilter<T extends ImageSingleBand> implements BlurFilter<T> {
+
+	RecursiveGaussian alg;
+
+	// type of image it processes
+	Class<T> inputType;
+
+	public RecursiveGaussianBlurFilter(Class<T> inputType, double sigma, BorderType border ) {
+		if( inputType != ImageUInt8.class && inputType != ImageFloat32.class )
+			throw new IllegalArgumentException("Unsupported image type: "+inputType.getSimpleName());
+		this.inputType = inputType;
+		this.alg = new RecursiveGaussian(sigma,border);
+	}
+
+	/**
+	 * Radius of the equivalent Gaussian kernel.
+	 */
+	@Override
+	public int getRadius() {
+		return FactoryKernelGaussian.radiusForSigma(alg.getSigma(),0);
+	}
+
+	/**
+	 * Changes sigma to match a Gaussian kernel with the specified radius.
+	 */
+	@Override
+	public void setRadius(int radius) {
+		alg.setSigma(FactoryKernelGaussian.sigmaForRadius(radius,0));
+	}
+
+	@Override
+	public void process(T input, T output) {
+		if( input instanceof ImageUInt8 )
+			alg.process((ImageUInt8)input,(ImageUInt8)output);
+		else
+			alg.process((ImageFloat32)input,(ImageFloat32)output);
+	}
+
+	public RecursiveGaussian getAlgorithm() {
+		return alg;
+	}
+
+	@Override
+	public int getHorizontalBorder() {
+		return 0;
+	}
+
+	@Override
+	public int getVerticalBorder() {
+		return 0;
+	}
+
+	@Override
+	public ImageType<T> getInputType() {
+		return ImageType.single(inputType);
+	}
+
+	@Override
+	public ImageType<T> getOutputType() {
+		return ImageType.single(inputType);
+	}
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.filter.convolve;
+
+import boofcv.alg.filter.convolve.ConvolveFft_F32;
+import boofcv.core.image.border.BorderType;
+import boofcv.struct.convolve.Kernel2D_F32;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageType;
+
+/**
+ * Wrapper around {@link ConvolveFft_F32} for {@link ConvolveInterface}.  The image border is skipped.
+ *
+ * @author Peter Abeles
+ */
+public class ConvolveFft_to_ConvolveInterface implements ConvolveInterface<ImageFloat32,ImageFloat32> {
+
+	ConvolveFft_F32 alg;
+
+	public ConvolveFft_to_ConvolveInterface(ConvolveFft_F32 alg) {
+		this.alg = alg;
+	}
+
+	public ConvolveFft_to_ConvolveInterface(Kernel2D_F32 kernel) {
+		this(new ConvolveFft_F32());
+		alg.setKernel(kernel);
+	}
+
+	@Override
+	public void process(ImageFloat32 input, ImageFloat32 output) {
+		alg.process(input,output);
+	}
+
+	@Override
+	public BorderType getBorderType() {
+		return BorderType.SKIP;
+	}
+
+	@Override
+	public int getHorizontalBorder() {
+		return Math.max(alg.getOffsetX(),alg.getKernelWidth()-alg.getOffsetX()-1);
+	}
+
+	@Override
+	public int getVerticalBorder() {
+		return Math.max(alg.getOffsetY(),alg.getKernelHeight()-alg.getOffsetY()-1);
+	}
+
+	@Override
+	public ImageType<ImageFloat32> getInputType() {
+		return ImageType.single(ImageFloat32.class);
+	}
+
+	@Override
+	public ImageType<ImageFloat32> getOutputType() {
+		return ImageType.single(ImageFloat32.class);
+	}
+
+	public ConvolveFft_F32 getAlgorithm() {
+		return alg;
+	}
+}
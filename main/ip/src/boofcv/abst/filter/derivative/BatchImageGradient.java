@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.abst.filter.derivative;
+
+import boofcv.abst.filter.BatchFilterImage;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.InstanceFactory;
+import boofcv.concurrency.InstancePool;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.struct.image.ImageBase;
+
+import java.util.List;
+
+/**
+ * Computes the {@link ImageGradient} of a large number of images which all have the same shape.  See
+ * {@link BatchFilterImage} for how the work is split across threads.
+ *
+ * @author Peter Abeles
+ */
+public class BatchImageGradient<Input extends ImageBase, Deriv extends ImageBase> {
+
+	// gradients which are not in use
+	InstancePool<ImageGradient<Input,Deriv>> gradients;
+
+	// processes a block of images
+	Task task = new Task();
+
+	/**
+	 * Configures the batch gradient
+	 *
+	 * @param factory Creates a new instance of the gradient.
+	 */
+	public BatchImageGradient(InstanceFactory<ImageGradient<Input, Deriv>> factory) {
+		this.gradients = new InstancePool<ImageGradient<Input,Deriv>>(factory);
+	}
+
+	/**
+	 * Computes the gradient of each input image.
+	 *
+	 * @param inputs Input images.  All must have the same shape.  Not modified.
+	 * @param derivX Derivative along the x-axis for each image.  Must have the same shape as the inputs.  Modified.
+	 * @param derivY Derivative along the y-axis for each image.  Must have the same shape as the inputs.  Modified.
+	 */
+	public void process( List<? extends Input> inputs , List<? extends Deriv> derivX , List<? extends Deriv> derivY ) {
+		if( inputs.size() != derivX.size() || inputs.size() != derivY.size() )
+			throw new IllegalArgumentException("Number of input and output images must be the same");
+		if( inputs.isEmpty() )
+			return;
+
+		ImageBase first = inputs.get(0);
+		BatchFilterImage.checkSameShape(first, inputs);
+		BatchFilterImage.checkSameShape(first, derivX);
+		BatchFilterImage.checkSameShape(first, derivY);
+
+		// create every gradient which might be used before the work is split up
+		gradients.reserve(Math.min(BoofConcurrency.getMaxThreads(), inputs.size()));
+
+		task.inputs = inputs;
+		task.derivX = derivX;
+		task.derivY = derivY;
+		try {
+			BoofConcurrency.loopBlocks(0, inputs.size(), first.width*first.height, task);
+		} finally {
+			task.inputs = null;
+			task.derivX = null;
+			task.derivY = null;
+		}
+	}
+
+	/**
+	 * Computes the gradient for a block of images with a single gradient instance
+	 */
+	private class Task implements IntRangeTask {
+		List<? extends Input> inputs;
+		List<? extends Deriv> derivX;
+		List<? extends Deriv> derivY;
+
+		@Override
+		public void process(int minInclusive, int maxExclusive) {
+			ImageGradient<Input,Deriv> gradient = gradients.grab();
+			try {
+				for( int i = minInclusive; i < maxExclusive; i++ ) {
+					gradient.process(inputs.get(i), derivX.get(i), derivY.get(i));
+				}
+			} finally {
+				gradients.release(gradient);
+			}
+		}
+	}
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.abst.filter.derivative;
+
+import boofcv.abst.filter.TiledFilterImage;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.struct.ImageRectangle;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.TiledImage;
+
+/**
+ * Computes the image gradient of a {@link TiledImage} one tile at a time.  See {@link TiledFilterImage} for
+ * a description of how tiles and their halo are handled.
+ *
+ * @author Peter Abeles
+ */
+public class TiledImageGradient<Input extends ImageSingleBand, Deriv extends ImageSingleBand> {
+
+	// computes the gradient of each tile
+	ImageGradient<Input,Deriv> gradient;
+	// number of pixels each tile is expanded by
+	int halo;
+
+	// storage for the expanded tile
+	Input workInput;
+	Deriv workX;
+	Deriv workY;
+
+	// bounds of the expanded tile
+	ImageRectangle region = new ImageRectangle();
+
+	/**
+	 * Configures the tiled gradient.
+	 *
+	 * @param gradient Computes the gradient.
+	 * @param inputType Type of input image.
+	 * @param halo Number of pixels each tile is expanded by.  Should be at least the radius of the derivative's
+	 *             kernel.  If the gradient doesn't process its border then the halo is increased by the border's size.
+	 */
+	public TiledImageGradient(ImageGradient<Input, Deriv> gradient, Class<Input> inputType, int halo) {
+		if( halo < 0 )
+			throw new IllegalArgumentException("Halo must be >= 0");
+		this.gradient = gradient;
+		this.halo = halo + gradient.getBorder();
+
+		workInput = GeneralizedImageOps.createSingleBand(inputType,1,1);
+		workX = gradient.getDerivType().createImage(1,1);
+		workY = gradient.getDerivType().createImage(1,1);
+	}
+
+	/**
+	 * Computes the gradient of every tile in the input image.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param derivX Output derivative along x-axis.  Must have the same shape as the input.
+	 * @param derivY Output derivative along y-axis.  Must have the same shape as the input.
+	 */
+	public void process( TiledImage<Input> input , TiledImage<Deriv> derivX , TiledImage<Deriv> derivY ) {
+		if( input.getWidth() != derivX.getWidth() || input.getHeight() != derivX.getHeight() ||
+				input.getWidth() != derivY.getWidth() || input.getHeight() != derivY.getHeight() )
+			throw new IllegalArgumentException("Input and output must have the same shape");
+
+		for( int row = 0; row < input.getTilesY(); row++ ) {
+			for( int col = 0; col < input.getTilesX(); col++ ) {
+				input.getTileRegion(col,row,halo,region);
+				input.read(region.x0,region.y0,region.x1,region.y1,workInput);
+
+				workX.reshape(workInput.width,workInput.height);
+				workY.reshape(workInput.width,workInput.height);
+				gradient.process(workInput,workX,workY);
+
+				TiledFilterImage.writeTile(input,col,row,region,workX,derivX);
+				TiledFilterImage.writeTile(input,col,row,region,workY,derivY);
+			}
+		}
+	}
+
+	public int getHalo() {
+		return halo;
+	}
+}
@@ -35,6 +35,14 @@ import boofcv.struct.image.ImageBase;
  * a[i*2*width+2*j+1] = Im[i][j], 0&le;i&lt;height, 0&le;j&lt;width,</pre>
  * </p>
  * <p>
+ * The transform of a real image is conjugate symmetric, so half of it is redundant.  {@link #forwardHalf} and
+ * {@link #inverseHalf} only compute and store the non-redundant half, columns 0 to width/2 inclusive, which
+ * requires about half the memory and computations:
+ * <pre>
+ * a[i*2*(width/2+1)+2*j] = Re[i][j],
+ * a[i*2*(width/2+1)+2*j+1] = Im[i][j], 0&le;i&lt;height, 0&le;j&le;width/2,</pre>
+ * </p>
+ * <p>
  * INPUT MODIFICATION: By default none of the inputs are modified.  However, in some implementations, memory can be
  * saved by allowing inputs to be modified.  To allow the class to modify its inputs use the following function,
  * {@link #setModifyInputs(boolean)}.
@@ -59,6 +67,23 @@ public interface DiscreteFourierTransform<I extends ImageBase, T extends ImageBa
 	 */
 	public void inverse( T transform , I image );
 
+	/**
+	 * Applies the forward transform to the input image and only computes the non-redundant half of the transform.
+	 *
+	 * @param image (Input) Input image.  Not modified.
+	 * @param transform (Output) Half of the Fourier transform, width/2+1 and same height of input.  Modified.
+	 */
+	public void forwardHalf( I image , T transform );
+
+	/**
+	 * Applies the inverse transform to the non-redundant half of a Fourier transformed real image, as computed
+	 * by {@link #forwardHalf}, to recover the original image.
+	 *
+	 * @param transform (Input) Half of the Fourier transform, width/2+1 and same height of output.  Not modified.
+	 * @param image (Output) reconstructed image.  Modified.
+	 */
+	public void inverseHalf( T transform , I image );
+
 	/**
 	 * This function can toggle the internal implementations ability to modify the input image or input transform.
 	 *
@@ -23,17 +23,28 @@ import boofcv.alg.transform.fft.GeneralPurposeFFT_F64_2D;
 import boofcv.struct.image.ImageFloat64;
 import boofcv.struct.image.InterleavedF64;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
+ * <p>
  * Wrapper around {@link GeneralPurposeFFT_F64_2D} which implements {@link DiscreteFourierTransform}
+ * </p>
+ *
+ * <p>
+ * Declaring a transform is expensive, so the transforms for the most recently processed image sizes are cached.
+ * Switching between a few fixed image sizes will not cause any new memory to be declared.
+ * </p>
  *
  * @author Peter Abeles
  */
 public class GeneralFft_to_DiscreteFourierTransform_F64
 		implements DiscreteFourierTransform<ImageFloat64,InterleavedF64>
 {
-	// previous size of input image
-	private int prevWidth = -1;
-	private int prevHeight = -1;
+	// transforms for recently processed image sizes.  The most recently used one is first
+	private List<GeneralPurposeFFT_F64_2D> plans = new ArrayList<GeneralPurposeFFT_F64_2D>();
+	// maximum number of transforms which are cached
+	private int maxPlans = 4;
 
 	// performs the FFT
 	private GeneralPurposeFFT_F64_2D alg;
@@ -86,15 +97,64 @@ public class GeneralFft_to_DiscreteFourierTransform_F64
 		}
 	}
 
+	@Override
+	public void forwardHalf(ImageFloat64 image, InterleavedF64 transform) {
+		DiscreteFourierTransformOps.checkImageArgumentsHalf(image,transform);
+		if( image.isSubimage() || transform.isSubimage() )
+			throw new IllegalArgumentException("Subimages are not supported");
+
+		checkDeclareAlg(image);
+
+		alg.realForwardHalf(image.data,transform.data);
+	}
+
+	@Override
+	public void inverseHalf(InterleavedF64 transform, ImageFloat64 image) {
+		DiscreteFourierTransformOps.checkImageArgumentsHalf(image,transform);
+		if( image.isSubimage() || transform.isSubimage() )
+			throw new IllegalArgumentException("Subimages are not supported");
+
+		checkDeclareAlg(image);
+
+		alg.realInverseHalf(transform.data,image.data,true);
+	}
+
 	/**
-	 * Declare the algorithm if the image size has changed
+	 * Selects the algorithm for the image's size.  A new one is only declared if it isn't in the cache.
 	 */
 	private void checkDeclareAlg(ImageFloat64 image) {
-		if( prevWidth != image.width || prevHeight != image.height ) {
-			prevWidth = image.width;
-			prevHeight = image.height;
-			alg = new GeneralPurposeFFT_F64_2D(image.height,image.width);
+		if( alg != null && alg.getRows() == image.height && alg.getColumns() == image.width )
+			return;
+
+		for( int i = 0; i < plans.size(); i++ ) {
+			GeneralPurposeFFT_F64_2D p = plans.get(i);
+			if( p.getRows() == image.height && p.getColumns() == image.width ) {
+				plans.remove(i);
+				plans.add(0,p);
+				alg = p;
+				return;
+			}
 		}
+
+		alg = new GeneralPurposeFFT_F64_2D(image.height,image.width);
+		plans.add(0,alg);
+		while( plans.size() > maxPlans )
+			plans.remove(plans.size()-1);
+	}
+
+	public int getMaxPlans() {
+		return maxPlans;
+	}
+
+	/**
+	 * Specifies the maximum number of image sizes which have their transform cached.  Must be at least one.
+	 */
+	public void setMaxPlans(int maxPlans) {
+		if( maxPlans < 1 )
+			throw new IllegalArgumentException("Must cache at least one transform");
+		this.maxPlans = maxPlans;
+		while( plans.size() > maxPlans )
+			plans.remove(plans.size()-1);
 	}
 
 	@Override
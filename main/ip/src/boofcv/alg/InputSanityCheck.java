@@ -20,6 +20,8 @@ package boofcv.alg;
 
 import boofcv.core.image.GeneralizedImageOps;
 import boofcv.struct.image.ImageBase;
+import boofcv.struct.image.ImageBufferSingleBand;
+import boofcv.struct.image.ImageInterleaved;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.struct.pyramid.ImagePyramid;
 
@@ -75,6 +77,19 @@ public class InputSanityCheck {
 		return output;
 	}
 
+	/**
+	 * If the output has not been declared a new instance is declared.  If an instance of the output
+	 * is provided its bounds are checked.
+	 */
+	public static <T extends ImageInterleaved> T checkDeclare(T input, T output) {
+		if (output == null) {
+			output = (T) input._createNew(input.width, input.height);
+		} else {
+			checkSameShape(input, output);
+		}
+		return output;
+	}
+
 	public static void checkSameShape(ImageBase<?> imgA, ImageBase<?> imgB) {
 		if (imgA.width != imgB.width)
 			throw new IllegalArgumentException("Image widths do not match.");
@@ -82,6 +97,24 @@ public class InputSanityCheck {
 			throw new IllegalArgumentException("Image heights do not match.");
 	}
 
+	/**
+	 * Checks to see if the interleaved images have the same shape and number of bands
+	 */
+	public static void checkSameShape(ImageInterleaved<?> imgA, ImageInterleaved<?> imgB) {
+		checkSameShape((ImageBase)imgA,(ImageBase)imgB);
+		if (imgA.numBands != imgB.numBands)
+			throw new IllegalArgumentException("Number of bands do not match.");
+	}
+
+	/**
+	 * Checks to see if the interleaved images have the same shape and number of bands
+	 */
+	public static void checkSameShape(ImageInterleaved<?> imgA, ImageInterleaved<?> imgB, ImageInterleaved<?> imgC) {
+		checkSameShape((ImageBase)imgA,(ImageBase)imgB,(ImageBase)imgC);
+		if (imgA.numBands != imgB.numBands || imgA.numBands != imgC.numBands)
+			throw new IllegalArgumentException("Number of bands do not match.");
+	}
+
 	public static void checkSameShape(ImagePyramid<?> imgA, ImagePyramid<?> imgB) {
 		if (imgA.getNumLayers() != imgB.getNumLayers())
 			throw new IllegalArgumentException("Number of layers do not match");
@@ -92,6 +125,25 @@ public class InputSanityCheck {
 		}
 	}
 
+	public static void checkSameShape(ImageBufferSingleBand<?> imgA, ImageBase<?> imgB) {
+		if (imgA.width != imgB.width)
+			throw new IllegalArgumentException("Image widths do not match.");
+		if (imgA.height != imgB.height)
+			throw new IllegalArgumentException("Image heights do not match.");
+	}
+
+	public static void checkSameShape(ImageBufferSingleBand<?> imgA, ImageBufferSingleBand<?> imgB) {
+		if (imgA.width != imgB.width)
+			throw new IllegalArgumentException("Image widths do not match.");
+		if (imgA.height != imgB.height)
+			throw new IllegalArgumentException("Image heights do not match.");
+	}
+
+	public static void checkSameShape(ImageBufferSingleBand<?> imgA, ImageBufferSingleBand<?> imgB, ImageBase<?> imgC) {
+		checkSameShape(imgA,imgB);
+		checkSameShape(imgA,imgC);
+	}
+
 	public static void checkSameShape(ImageBase<?> imgA, ImageBase<?> imgB, ImageBase<?> imgC) {
 		if (imgA.width != imgB.width || imgA.width != imgC.width)
 			throw new IllegalArgumentException("Image widths do not match.");
@@ -20,6 +20,7 @@ package boofcv.alg.color;
 
 import boofcv.alg.InputSanityCheck;
 import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.InterleavedF32;
 import boofcv.struct.image.MultiSpectral;
 
 /**
@@ -370,4 +371,116 @@ public class ColorHsv {
 			}
 		}
 	}
+
+	/**
+	 * Converts an interleaved image from HSV into RGB.  Input and output image can be the same instance.
+	 *
+	 * @param hsv (Input) Image in HSV format with 3 bands
+	 * @param rgb (Output) Image in RGB format with 3 bands
+	 */
+	public static void hsvToRgb_F32( InterleavedF32 hsv , InterleavedF32 rgb ) {
+
+		checkThreeBands(hsv, rgb);
+
+		for( int row = 0; row < hsv.height; row++ ) {
+			int indexHsv = hsv.startIndex + row*hsv.stride;
+			int indexRgb = rgb.startIndex + row*rgb.stride;
+
+			for( int col = 0; col < hsv.width; col++ , indexHsv += 3 , indexRgb += 3) {
+				float h = hsv.data[indexHsv];
+				float s = hsv.data[indexHsv+1];
+				float v = hsv.data[indexHsv+2];
+
+				if( s == 0 ) {
+					rgb.data[indexRgb  ] = v;
+					rgb.data[indexRgb+1] = v;
+					rgb.data[indexRgb+2] = v;
+					continue;
+				}
+				h /= d60_F32;
+				int h_int = (int)h;
+				float remainder = h - h_int;
+				float p = v * ( 1 - s );
+				float q = v * ( 1 - s * remainder );
+				float t = v * ( 1 - s * ( 1 - remainder ) );
+
+				float r,g,b;
+				if( h_int < 1 ) {
+					r = v; g = t; b = p;
+				} else if( h_int < 2 ) {
+					r = q; g = v; b = p;
+				} else if( h_int < 3 ) {
+					r = p; g = v; b = t;
+				} else if( h_int < 4 ) {
+					r = p; g = q; b = v;
+				} else if( h_int < 5 ) {
+					r = t; g = p; b = v;
+				} else {
+					r = v; g = p; b = q;
+				}
+				rgb.data[indexRgb  ] = r;
+				rgb.data[indexRgb+1] = g;
+				rgb.data[indexRgb+2] = b;
+			}
+		}
+	}
+
+	/**
+	 * Converts an interleaved image from RGB into HSV.  Pixels must have a value within the range of [0,1].
+	 * Input and output image can be the same instance.
+	 *
+	 * @param rgb (Input) Image in RGB format with 3 bands
+	 * @param hsv (Output) Image in HSV format with 3 bands
+	 */
+	public static void rgbToHsv_F32( InterleavedF32 rgb , InterleavedF32 hsv ) {
+
+		checkThreeBands(rgb, hsv);
+
+		for( int row = 0; row < hsv.height; row++ ) {
+			int indexRgb = rgb.startIndex + row*rgb.stride;
+			int indexHsv = hsv.startIndex + row*hsv.stride;
+
+			for( int col = 0; col < hsv.width; col++ , indexHsv += 3 , indexRgb += 3) {
+
+				float r = rgb.data[indexRgb];
+				float g = rgb.data[indexRgb+1];
+				float b = rgb.data[indexRgb+2];
+
+				float max = r > g ? ( r > b ? r : b) : ( g > b ? g : b );
+				float min = r < g ? ( r < b ? r : b) : ( g < b ? g : b );
+
+				float delta = max - min;
+
+				hsv.data[indexHsv+2] = max;
+
+				if( max != 0 )
+					hsv.data[indexHsv+1] = delta / max;
+				else {
+					hsv.data[indexHsv] = Float.NaN;
+					hsv.data[indexHsv+1] = 0;
+					continue;
+				}
+
+				float h;
+				if( r == max )
+					h = ( g - b ) / delta;
+				else if( g == max )
+					h = 2 + ( b - r ) / delta;
+				else
+					h = 4 + ( r - g ) / delta;
+
+				h *= d60_F32;
+				if( h < 0 )
+					h += PI2_F32;
+
+				hsv.data[indexHsv] = h;
+			}
+		}
+	}
+
+	private static void checkThreeBands( InterleavedF32 a , InterleavedF32 b ) {
+		InputSanityCheck.checkSameShape(a, b);
+		if( a.numBands != 3 )
+			throw new IllegalArgumentException("Images must have 3 bands");
+	}
 }
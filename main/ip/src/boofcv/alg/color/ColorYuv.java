@@ -20,7 +20,10 @@ package boofcv.alg.color;
 
 import boofcv.alg.InputSanityCheck;
 import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageInterleaved;
 import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.InterleavedF32;
+import boofcv.struct.image.InterleavedU8;
 import boofcv.struct.image.MultiSpectral;
 
 /**
@@ -250,4 +253,136 @@ public class ColorYuv {
 		}
 	}
 
+	/**
+	 * Convert a 3-band interleaved image from YUV into RGB.
+	 *
+	 * NOTE: Input and output image can be the same instance.
+	 *
+	 * @param yuv (Input) YUV encoded image
+	 * @param rgb (Output) RGB encoded image
+	 */
+	public static void yuvToRgb_F32( InterleavedF32 yuv , InterleavedF32 rgb ) {
+
+		checkThreeBands(yuv, rgb);
+
+		for( int row = 0; row < yuv.height; row++ ) {
+			int indexYuv = yuv.startIndex + row*yuv.stride;
+			int indexRgb = rgb.startIndex + row*rgb.stride;
+
+			for( int col = 0; col < yuv.width; col++ , indexYuv += 3 , indexRgb += 3) {
+				float y = yuv.data[indexYuv];
+				float u = yuv.data[indexYuv+1];
+				float v = yuv.data[indexYuv+2];
+
+				rgb.data[indexRgb  ] = y + 1.13983f*v;
+				rgb.data[indexRgb+1] = y - 0.39465f*u - 0.58060f*v;
+				rgb.data[indexRgb+2] = y + 2.032f*u;
+			}
+		}
+	}
+
+	/**
+	 * Convert a 3-band interleaved image from RGB into YUV.
+	 *
+	 * NOTE: Input and output image can be the same instance.
+	 *
+	 * @param rgb (Input) RGB encoded image
+	 * @param yuv (Output) YUV encoded image
+	 */
+	public static void rgbToYuv_F32( InterleavedF32 rgb , InterleavedF32 yuv ) {
+
+		checkThreeBands(rgb, yuv);
+
+		for( int row = 0; row < yuv.height; row++ ) {
+			int indexYuv = yuv.startIndex + row*yuv.stride;
+			int indexRgb = rgb.startIndex + row*rgb.stride;
+
+			for( int col = 0; col < yuv.width; col++ , indexYuv += 3 , indexRgb += 3) {
+				float r = rgb.data[indexRgb];
+				float g = rgb.data[indexRgb+1];
+				float b = rgb.data[indexRgb+2];
+
+				float y = 0.299f*r + 0.587f*g + 0.114f*b;
+
+				yuv.data[indexYuv  ] = y;
+				yuv.data[indexYuv+1] = 0.492f*(b-y);
+				yuv.data[indexYuv+2] = 0.877f*(r-y);
+			}
+		}
+	}
+
+	/**
+	 * Conversion of a 3-band interleaved image from RGB to YCbCr.  See [Jack07].
+	 *
+	 * NOTE: Input and output image can be the same instance.
+	 *
+	 * @param rgb RGB encoded 8-bit image
+	 * @param yuv YCbCr encoded 8-bit image
+	 */
+	public static void rgbToYCbCr_U8( InterleavedU8 rgb , InterleavedU8 yuv ) {
+
+		checkThreeBands(rgb, yuv);
+
+		for( int row = 0; row < yuv.height; row++ ) {
+			int indexYuv = yuv.startIndex + row*yuv.stride;
+			int indexRgb = rgb.startIndex + row*rgb.stride;
+
+			for( int col = 0; col < yuv.width; col++ , indexYuv += 3 , indexRgb += 3) {
+				int r = rgb.data[indexRgb]&0xFF;
+				int g = rgb.data[indexRgb+1]&0xFF;
+				int b = rgb.data[indexRgb+2]&0xFF;
+
+				yuv.data[indexYuv  ] = (byte)((( 187*r + 629*g + 63*b ) >> 10) + 16);
+				yuv.data[indexYuv+1] = (byte)(((-103*r - 346*g + 450*b) >> 10) + 128);
+				yuv.data[indexYuv+2] = (byte)((( 450*r - 409*g - 41*b ) >> 10) + 128);
+			}
+		}
+	}
+
+	/**
+	 * Conversion of a 3-band interleaved image from YCbCr to RGB.  See [Jack07].
+	 *
+	 * NOTE: Input and output image can be the same instance.
+	 *
+	 * @param yuv YCbCr encoded 8-bit image
+	 * @param rgb RGB encoded 8-bit image
+	 */
+	public static void ycbcrToRgb_U8( InterleavedU8 yuv , InterleavedU8 rgb ) {
+
+		checkThreeBands(yuv, rgb);
+
+		for( int row = 0; row < yuv.height; row++ ) {
+			int indexYuv = yuv.startIndex + row*yuv.stride;
+			int indexRgb = rgb.startIndex + row*rgb.stride;
+
+			for( int col = 0; col < yuv.width; col++ , indexYuv += 3 , indexRgb += 3) {
+				int y = 1191*((yuv.data[indexYuv]&0xFF) - 16);
+				int cb = (yuv.data[indexYuv+1]&0xFF) - 128;
+				int cr = (yuv.data[indexYuv+2]&0xFF) - 128;
+
+				if( y < 0 ) y = 0;
+
+				int r = (y + 1836*cr) >> 10;
+				int g = (y - 547*cr - 218*cb) >> 10;
+				int b = (y + 2165*cb) >> 10;
+
+				if( r < 0 ) r = 0;
+				else if( r > 255 ) r = 255;
+				if( g < 0 ) g = 0;
+				else if( g > 255 ) g = 255;
+				if( b < 0 ) b = 0;
+				else if( b > 255 ) b = 255;
+
+				rgb.data[indexRgb  ] = (byte)r;
+				rgb.data[indexRgb+1] = (byte)g;
+				rgb.data[indexRgb+2] = (byte)b;
+			}
+		}
+	}
+
+	private static void checkThreeBands( ImageInterleaved a , ImageInterleaved b ) {
+		InputSanityCheck.checkSameShape(a, b);
+		if( a.numBands != 3 )
+			throw new IllegalArgumentException("Images must have 3 bands");
+	}
 }
@@ -0,0 +1,412 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.enhance;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.struct.image.ImageUInt16;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * <p>
+ * Contrast Limited Adaptive Histogram Equalization (CLAHE) [1].  The image is divided into a grid of tiles and
+ * a histogram equalization transform is computed for each tile.  Before the transform is computed, bins in the
+ * tile's histogram which are larger than the clip limit are clipped and the excess is spread evenly across all
+ * the bins.  This limits how much the contrast is amplified in uniform regions.  Each output pixel is found by
+ * bilinear interpolation between the transforms of the four nearest tile centers.  Pixels which are closer to the
+ * image border than the nearest tile center use the nearest one or two tiles.
+ * </p>
+ *
+ * <p>
+ * Unlike {@link EnhanceImageOps#equalizeLocal}, the cost per pixel is constant and does not depend on the size
+ * of the local region.  The transforms are stored internally and recycled between calls.  If
+ * {@link BoofConcurrency#USE_CONCURRENT} is true then tiles are processed in parallel when computing the
+ * transforms, and rows are processed in parallel when applying them.  Input and output can be the same image.
+ * </p>
+ *
+ * <p>
+ * [1] Zuiderveld, Karel. "Contrast limited adaptive histogram equalization." Graphics gems IV. 1994
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class EnhanceHistogramClahe {
+
+	// number of tiles along each axis
+	int numTilesX, numTilesY;
+	// Clip limit relative to the average number of pixels in each histogram bin.  If <= 0 no clipping is done
+	double clipLimit;
+	// largest possible pixel value.  The histogram has maxValue+1 bins
+	int maxValue;
+
+	// number of tiles actually used.  Reduced if the image is smaller than the number of tiles
+	int tilesX, tilesY;
+	// transform for each tile, stored one after the other.  Also used to store the histograms
+	int transforms[] = new int[0];
+
+	// For each column, the two tiles it is interpolated between and the weight of the second tile
+	int columnTile0[] = new int[0];
+	int columnTile1[] = new int[0];
+	float columnWeight[] = new float[0];
+
+	/**
+	 * Configures the algorithm
+	 *
+	 * @param numTilesX Number of tiles along the x-axis.  Typically 8.
+	 * @param numTilesY Number of tiles along the y-axis.  Typically 8.
+	 * @param clipLimit Maximum histogram bin size relative to the average bin size, e.g. 2.  If &le; 0 then
+	 *                  the histogram is not clipped.
+	 * @param maxValue Largest possible pixel value.  Larger values are treated as being equal to this.
+	 *                 For ImageUInt8 it is typically 255.
+	 */
+	public EnhanceHistogramClahe(int numTilesX, int numTilesY, double clipLimit, int maxValue) {
+		if( numTilesX <= 0 || numTilesY <= 0 )
+			throw new IllegalArgumentException("Number of tiles must be more than zero");
+		if( maxValue <= 0 )
+			throw new IllegalArgumentException("maxValue must be more than zero");
+		this.numTilesX = numTilesX;
+		this.numTilesY = numTilesY;
+		this.clipLimit = clipLimit;
+		this.maxValue = maxValue;
+	}
+
+	/**
+	 * Applies CLAHE to the input image.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output Output image.  Can be the same as the input.  Modified.
+	 */
+	public void process( final ImageUInt8 input , final ImageUInt8 output ) {
+		if( maxValue > 255 )
+			throw new IllegalArgumentException("maxValue is too large for ImageUInt8");
+		InputSanityCheck.checkSameShape(input, output);
+
+		declareTiles(input.width, input.height);
+		final int tileArea = (input.width/tilesX+1)*(input.height/tilesY+1);
+		loop(0, tilesX*tilesY, tileArea, new IntRangeTask() {
+			@Override
+			public void process(int start, int end) {
+				for( int tile = start; tile < end; tile++ ) {
+					computeHistogram(input, tile);
+					computeTransform(tile);
+				}
+			}
+		});
+		loop(0, input.height, input.width, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				applyTransforms(input, output, y0, y1);
+			}
+		});
+	}
+
+	/**
+	 * Applies CLAHE to the input image.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output Output image.  Can be the same as the input.  Modified.
+	 */
+	public void process( final ImageUInt16 input , final ImageUInt16 output ) {
+		if( maxValue > 65535 )
+			throw new IllegalArgumentException("maxValue is too large for ImageUInt16");
+		InputSanityCheck.checkSameShape(input, output);
+
+		declareTiles(input.width, input.height);
+		final int tileArea = (input.width/tilesX+1)*(input.height/tilesY+1);
+		loop(0, tilesX*tilesY, tileArea, new IntRangeTask() {
+			@Override
+			public void process(int start, int end) {
+				for( int tile = start; tile < end; tile++ ) {
+					computeHistogram(input, tile);
+					computeTransform(tile);
+				}
+			}
+		});
+		loop(0, input.height, input.width, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				applyTransforms(input, output, y0, y1);
+			}
+		});
+	}
+
+	/**
+	 * Processes the loop in parallel if there is enough work and concurrency is turned on
+	 */
+	private void loop( int start , int end , int workPerIndex , IntRangeTask task ) {
+		if( BoofConcurrency.isConcurrent((long)(end-start)*workPerIndex) )
+			BoofConcurrency.loopBlocks(start, end, workPerIndex, task);
+		else
+			task.process(start,end);
+	}
+
+	/**
+	 * Declares storage for the transforms and computes which tiles each column is interpolated between
+	 */
+	void declareTiles( int width , int height ) {
+		tilesX = Math.min(numTilesX, width);
+		tilesY = Math.min(numTilesY, height);
+
+		int N = tilesX*tilesY*(maxValue+1);
+		if( transforms.length < N )
+			transforms = new int[N];
+
+		if( columnTile0.length < width ) {
+			columnTile0 = new int[width];
+			columnTile1 = new int[width];
+			columnWeight = new float[width];
+		}
+		for( int x = 0; x < width; x++ ) {
+			int tile0 = findTile(x, width, tilesX);
+			int tile1 = Math.min(tile0+1,tilesX-1);
+			columnTile0[x] = tile0;
+			columnTile1[x] = tile1;
+			columnWeight[x] = computeWeight(x, width, tilesX, tile0, tile1);
+		}
+	}
+
+	/**
+	 * Returns the first pixel, inclusive, in the tile
+	 */
+	static int tileStart( int tile , int length , int numTiles ) {
+		return (int)((long)tile*length/numTiles);
+	}
+
+	/**
+	 * Location of the tile's center
+	 */
+	static float tileCenter( int tile , int length , int numTiles ) {
+		return (tileStart(tile, length, numTiles) + tileStart(tile + 1, length, numTiles) - 1)/2.0f;
+	}
+
+	/**
+	 * Finds the tile whose center is the closest one at or before the coordinate.  If there is no such tile
+	 * then the first tile is returned.
+	 */
+	static int findTile( int coordinate , int length , int numTiles ) {
+		// tile which contains the coordinate
+		int tile = (int)(((long)(coordinate+1)*numTiles - 1)/length);
+		if( tile > 0 && coordinate < tileCenter(tile, length, numTiles) )
+			tile--;
+		return tile;
+	}
+
+	/**
+	 * Weight of the second tile when interpolating
+	 */
+	static float computeWeight( int coordinate , int length , int numTiles , int tile0 , int tile1 ) {
+		if( tile0 == tile1 )
+			return 0;
+		float c0 = tileCenter(tile0, length, numTiles);
+		float c1 = tileCenter(tile1, length, numTiles);
+		if( coordinate <= c0 )
+			return 0;
+		return (coordinate - c0)/(c1 - c0);
+	}
+
+	/**
+	 * Computes the histogram inside the tile and saves it in the tile's transform
+	 */
+	void computeHistogram( ImageUInt8 input , int tile ) {
+		int numBins = maxValue+1;
+		int offset = tile*numBins;
+		for( int i = 0; i < numBins; i++ )
+			transforms[offset+i] = 0;
+
+		int tileX = tile % tilesX, tileY = tile / tilesX;
+		int x0 = tileStart(tileX, input.width, tilesX), x1 = tileStart(tileX+1, input.width, tilesX);
+		int y0 = tileStart(tileY, input.height, tilesY), y1 = tileStart(tileY+1, input.height, tilesY);
+
+		for( int y = y0; y < y1; y++ ) {
+			int index = input.startIndex + y*input.stride + x0;
+			int end = index + (x1-x0);
+			for( ; index < end; index++ ) {
+				int v = input.data[index] & 0xFF;
+				transforms[offset + (v <= maxValue ? v : maxValue)]++;
+			}
+		}
+	}
+
+	/**
+	 * Computes the histogram inside the tile and saves it in the tile's transform
+	 */
+	void computeHistogram( ImageUInt16 input , int tile ) {
+		int numBins = maxValue+1;
+		int offset = tile*numBins;
+		for( int i = 0; i < numBins; i++ )
+			transforms[offset+i] = 0;
+
+		int tileX = tile % tilesX, tileY = tile / tilesX;
+		int x0 = tileStart(tileX, input.width, tilesX), x1 = tileStart(tileX+1, input.width, tilesX);
+		int y0 = tileStart(tileY, input.height, tilesY), y1 = tileStart(tileY+1, input.height, tilesY);
+
+		for( int y = y0; y < y1; y++ ) {
+			int index = input.startIndex + y*input.stride + x0;
+			int end = index + (x1-x0);
+			for( ; index < end; index++ ) {
+				int v = input.data[index] & 0xFFFF;
+				transforms[offset + (v <= maxValue ? v : maxValue)]++;
+			}
+		}
+	}
+
+	/**
+	 * Clips the tile's histogram, redistributes the excess, and converts it into an equalization transform.
+	 * The transform is computed the same way as {@link EnhanceImageOps#equalize}.
+	 */
+	void computeTransform( int tile ) {
+		int numBins = maxValue+1;
+		int offset = tile*numBins;
+		int end = offset + numBins;
+
+		int total = 0;
+		for( int i = offset; i < end; i++ )
+			total += transforms[i];
+
+		if( clipLimit > 0 ) {
+			int limit = Math.max(1,(int)(clipLimit*total/numBins));
+
+			int excess = 0;
+			for( int i = offset; i < end; i++ ) {
+				if( transforms[i] > limit ) {
+					excess += transforms[i] - limit;
+					transforms[i] = limit;
+				}
+			}
+
+			// spread the excess evenly across all the bins, the remainder is spread out with a constant step
+			int increment = excess/numBins;
+			int remainder = excess - increment*numBins;
+			for( int i = offset; i < end; i++ )
+				transforms[i] += increment;
+			if( remainder > 0 ) {
+				int step = numBins/remainder;
+				for( int i = 0; i < remainder; i++ )
+					transforms[offset + i*step]++;
+			}
+		}
+
+		// cumulative histogram then scale to the output range
+		int sum = 0;
+		for( int i = offset; i < end; i++ ) {
+			sum += transforms[i];
+			transforms[i] = (int)((long)sum*maxValue/total);
+		}
+	}
+
+	/**
+	 * Computes the output pixel values by interpolating between the transforms of nearby tiles
+	 */
+	void applyTransforms( ImageUInt8 input , ImageUInt8 output , int y0 , int y1 ) {
+		int numBins = maxValue+1;
+
+		for( int y = y0; y < y1; y++ ) {
+			int tileY0 = findTile(y, input.height, tilesY);
+			int tileY1 = Math.min(tileY0+1,tilesY-1);
+			float weightY = computeWeight(y, input.height, tilesY, tileY0, tileY1);
+
+			int offset0 = tileY0*tilesX*numBins;
+			int offset1 = tileY1*tilesX*numBins;
+
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int x = 0; x < input.width; x++ ) {
+				int v = input.data[indexIn++] & 0xFF;
+				if( v > maxValue ) v = maxValue;
+
+				int tx0 = columnTile0[x]*numBins + v;
+				int tx1 = columnTile1[x]*numBins + v;
+				float weightX = columnWeight[x];
+
+				float top = transforms[offset0+tx0] + weightX*(transforms[offset0+tx1]-transforms[offset0+tx0]);
+				float bottom = transforms[offset1+tx0] + weightX*(transforms[offset1+tx1]-transforms[offset1+tx0]);
+
+				output.data[indexOut++] = (byte)(int)(top + weightY*(bottom-top) + 0.5f);
+			}
+		}
+	}
+
+	/**
+	 * Computes the output pixel values by interpolating between the transforms of nearby tiles
+	 */
+	void applyTransforms( ImageUInt16 input , ImageUInt16 output , int y0 , int y1 ) {
+		int numBins = maxValue+1;
+
+		for( int y = y0; y < y1; y++ ) {
+			int tileY0 = findTile(y, input.height, tilesY);
+			int tileY1 = Math.min(tileY0+1,tilesY-1);
+			float weightY = computeWeight(y, input.height, tilesY, tileY0, tileY1);
+
+			int offset0 = tileY0*tilesX*numBins;
+			int offset1 = tileY1*tilesX*numBins;
+
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int x = 0; x < input.width; x++ ) {
+				int v = input.data[indexIn++] & 0xFFFF;
+				if( v > maxValue ) v = maxValue;
+
+				int tx0 = columnTile0[x]*numBins + v;
+				int tx1 = columnTile1[x]*numBins + v;
+				float weightX = columnWeight[x];
+
+				float top = transforms[offset0+tx0] + weightX*(transforms[offset0+tx1]-transforms[offset0+tx0]);
+				float bottom = transforms[offset1+tx0] + weightX*(transforms[offset1+tx1]-transforms[offset1+tx0]);
+
+				output.data[indexOut++] = (short)(int)(top + weightY*(bottom-top) + 0.5f);
+			}
+		}
+	}
+
+	public int getNumTilesX() {
+		return numTilesX;
+	}
+
+	public void setNumTilesX(int numTilesX) {
+		this.numTilesX = numTilesX;
+	}
+
+	public int getNumTilesY() {
+		return numTilesY;
+	}
+
+	public void setNumTilesY(int numTilesY) {
+		this.numTilesY = numTilesY;
+	}
+
+	public double getClipLimit() {
+		return clipLimit;
+	}
+
+	public void setClipLimit(double clipLimit) {
+		this.clipLimit = clipLimit;
+	}
+
+	public int getMaxValue() {
+		return maxValue;
+	}
+
+	public void setMaxValue(int maxValue) {
+		this.maxValue = maxValue;
+	}
+}
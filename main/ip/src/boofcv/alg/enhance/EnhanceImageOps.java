@@ -211,6 +211,41 @@ public class EnhanceImageOps {
 		}
 	}
 
+	/**
+	 * Contrast limited adaptive histogram equalization (CLAHE).  Histograms are computed for a grid of tiles
+	 * and interpolated, making the cost per pixel constant.  When processing a sequence of images use
+	 * {@link EnhanceHistogramClahe} directly to avoid creating new memory each time.
+	 *
+	 * @param input Input image.
+	 * @param numTilesX Number of tiles along the x-axis.  Typically 8.
+	 * @param numTilesY Number of tiles along the y-axis.  Typically 8.
+	 * @param clipLimit Maximum histogram bin size relative to the average bin size, e.g. 2.  If &le; 0 then
+	 *                  the histogram is not clipped.
+	 * @param output Output image.  Can be the same as the input.
+	 */
+	public static void equalizeClahe( ImageUInt8 input , int numTilesX , int numTilesY , double clipLimit ,
+									  ImageUInt8 output ) {
+		new EnhanceHistogramClahe(numTilesX,numTilesY,clipLimit,255).process(input,output);
+	}
+
+	/**
+	 * Contrast limited adaptive histogram equalization (CLAHE).  Histograms are computed for a grid of tiles
+	 * and interpolated, making the cost per pixel constant.  When processing a sequence of images use
+	 * {@link EnhanceHistogramClahe} directly to avoid creating new memory each time.
+	 *
+	 * @param input Input image.
+	 * @param numTilesX Number of tiles along the x-axis.  Typically 8.
+	 * @param numTilesY Number of tiles along the y-axis.  Typically 8.
+	 * @param clipLimit Maximum histogram bin size relative to the average bin size, e.g. 2.  If &le; 0 then
+	 *                  the histogram is not clipped.
+	 * @param maxValue Largest possible pixel value, e.g. 4095 for 12-bit images.  Determines the histogram size.
+	 * @param output Output image.  Can be the same as the input.
+	 */
+	public static void equalizeClahe( ImageUInt16 input , int numTilesX , int numTilesY , double clipLimit ,
+									  int maxValue , ImageUInt16 output ) {
+		new EnhanceHistogramClahe(numTilesX,numTilesY,clipLimit,maxValue).process(input,output);
+	}
+
 	/**
 	 * Applies a Laplacian-4 based sharpen filter to the image.
 	 *
@@ -79,6 +79,29 @@ public class GEnhanceImageOps {
 		}
 	}
 
+	/**
+	 * Contrast limited adaptive histogram equalization (CLAHE).  See {@link EnhanceHistogramClahe}.
+	 *
+	 * @param input Input image.
+	 * @param numTilesX Number of tiles along the x-axis.  Typically 8.
+	 * @param numTilesY Number of tiles along the y-axis.  Typically 8.
+	 * @param clipLimit Maximum histogram bin size relative to the average bin size, e.g. 2.  If &le; 0 then
+	 *                  the histogram is not clipped.
+	 * @param maxValue Largest possible pixel value.  Determines the histogram size.
+	 * @param output Output image.  Can be the same as the input.
+	 */
+	public static <T extends ImageSingleBand>
+	void equalizeClahe( T input , int numTilesX , int numTilesY , double clipLimit , int maxValue , T output ) {
+		EnhanceHistogramClahe alg = new EnhanceHistogramClahe(numTilesX,numTilesY,clipLimit,maxValue);
+		if( input instanceof ImageUInt8 ) {
+			alg.process((ImageUInt8)input,(ImageUInt8)output);
+		} else if( input instanceof ImageUInt16 ) {
+			alg.process((ImageUInt16)input,(ImageUInt16)output);
+		} else {
+			throw new IllegalArgumentException("Unsupported image type "+input.getClass().getSimpleName());
+		}
+	}
+
 	/**
 	 * Applies a Laplacian-4 based sharpen filter to the image.
 	 *
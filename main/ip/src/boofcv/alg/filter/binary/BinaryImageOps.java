@@ -22,6 +22,7 @@ import boofcv.alg.InputSanityCheck;
 import boofcv.alg.filter.binary.impl.ImplBinaryBorderOps;
 import boofcv.alg.filter.binary.impl.ImplBinaryInnerOps;
 import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.struct.ConnectRule;
 import boofcv.struct.image.ImageSInt32;
 import boofcv.struct.image.ImageUInt8;
@@ -396,6 +397,7 @@ public class BinaryImageOps {
 	 * </p>
 	 *
 	 * @see LinearContourLabelChang2004
+	 * @see LinearContourLabelChang2004_MT
 	 *
 	 * @param input Input binary image.  Not modified.
 	 * @param rule Connectivity rule.  Can be 4 or 8.  8 is more commonly used.
@@ -409,9 +411,15 @@ public class BinaryImageOps {
 			InputSanityCheck.checkSameShape(input,output);
 		}
 
-		LinearContourLabelChang2004 alg = new LinearContourLabelChang2004(rule);
-		alg.process(input,output);
-		return alg.getContours().toList();
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			LinearContourLabelChang2004_MT alg = new LinearContourLabelChang2004_MT(rule);
+			alg.process(input,output);
+			return alg.getContours().toList();
+		} else {
+			LinearContourLabelChang2004 alg = new LinearContourLabelChang2004(rule);
+			alg.process(input,output);
+			return alg.getContours().toList();
+		}
 	}
 
 	/**
@@ -18,6 +18,7 @@
 
 package boofcv.alg.filter.binary;
 
+import boofcv.alg.filter.binary.impl.ThresholdLocalIntegral;
 import boofcv.alg.filter.binary.impl.ThresholdSauvola;
 import boofcv.alg.misc.GImageStatistics;
 import boofcv.core.image.GConvertImage;
@@ -334,4 +335,32 @@ public class GThresholdImageOps {
 		return output;
 	}
 
+	/**
+	 * Applies an adaptive threshold which is computed using the local mean and standard deviation.  Local statistics
+	 * are found using integral images, so the computational cost does not depend on the radius.
+	 *
+	 * @see ThresholdLocalIntegral
+	 *
+	 * @param input Input image.
+	 * @param output (optional) Output binary image.  If null it will be declared internally.
+	 * @param type Which equation is used to compute the threshold.
+	 * @param radius Radius of local region.
+	 * @param k Tuning parameter.  See {@link ThresholdLocalType}.
+	 * @param down Should it threshold up or down.
+	 * @return binary image
+	 */
+	public static <T extends ImageSingleBand>
+	ImageUInt8 adaptiveIntegral( T input , ImageUInt8 output ,
+								 ThresholdLocalType type , int radius , double k , boolean down )
+	{
+		ThresholdLocalIntegral alg = new ThresholdLocalIntegral(type, radius, k, down);
+
+		if( output == null )
+			output = new ImageUInt8(input.width,input.height);
+
+		alg.process(input,output);
+
+		return output;
+	}
+
 }
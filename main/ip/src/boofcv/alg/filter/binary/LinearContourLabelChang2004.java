@@ -22,6 +22,7 @@ import boofcv.alg.misc.ImageMiscOps;
 import boofcv.struct.ConnectRule;
 import boofcv.struct.image.ImageSInt32;
 import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.PackedBinaryImage;
 import georegression.struct.point.Point2D_I32;
 import org.ddogleg.struct.FastQueue;
 
@@ -87,18 +88,44 @@ public class LinearContourLabelChang2004 {
 	 */
 	public void process( ImageUInt8 binary , ImageSInt32 labeled ) {
 		// initialize data structures
+		declareBorder(binary.width, binary.height);
+		border.subimage(1,1,border.width-1,border.height-1, null).setTo(binary);
+
+		process(labeled);
+	}
+
+	/**
+	 * Processes a bit packed binary image to find the contour of and label blobs.  The image is unpacked
+	 * directly into the internal bordered image, so no additional copies are made.
+	 *
+	 * @param binary Input binary image. Not modified.
+	 * @param labeled Output. Labeled image.  Modified.
+	 */
+	public void process( PackedBinaryImage binary , ImageSInt32 labeled ) {
+		declareBorder(binary.width, binary.height);
+		PackedBinaryOps.convert(binary, border.subimage(1, 1, border.width - 1, border.height - 1, null));
 
-		// ensure that the image border pixels are filled with zero by enlarging the image
-		if( border.width != binary.width+2 || border.height != binary.height+2)  {
-			border.reshape(binary.width + 2, binary.height + 2);
+		process(labeled);
+	}
+
+	/**
+	 * Ensure that the image border pixels are filled with zero by enlarging the image
+	 */
+	private void declareBorder( int width , int height ) {
+		if( border.width != width+2 || border.height != height+2)  {
+			border.reshape(width + 2, height + 2);
 			ImageMiscOps.fillBorder(border, 0, 1);
 		}
-		border.subimage(1,1,border.width-1,border.height-1, null).setTo(binary);
+	}
 
+	/**
+	 * Labels the image after the input has been copied into the bordered image
+	 */
+	private void process( ImageSInt32 labeled ) {
 		// labeled image must initially be filled with zeros
 		ImageMiscOps.fill(labeled,0);
 
-		binary = border;
+		ImageUInt8 binary = border;
 		storagePoints.reset();
 		storageLists.reset();
 		contours.reset();
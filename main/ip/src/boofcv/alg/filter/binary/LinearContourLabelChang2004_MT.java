@@ -0,0 +1,401 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.filter.binary;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.struct.ConnectRule;
+import boofcv.struct.image.ImageSInt32;
+import boofcv.struct.image.ImageUInt8;
+import georegression.struct.point.Point2D_I32;
+import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_B;
+import org.ddogleg.struct.GrowQueue_I32;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Concurrent implementation of {@link LinearContourLabelChang2004}.  The image is split into bands of rows
+ * which are labeled independently in parallel.  Blobs which cross the boundary between two bands are then
+ * merged together using union-find and the image is relabeled in parallel.  The labeled image is identical
+ * to the one produced by {@link LinearContourLabelChang2004}, including the order of the labels.
+ * </p>
+ *
+ * <p>
+ * If contours are saved, the contours of blobs which don't touch a boundary between bands are taken directly
+ * from the bands.  Only blobs which touch a boundary are traced again across the whole image, which is done
+ * in a single thread.  The resulting contours are identical to the single threaded version.  If the contours
+ * are not needed this step can be turned off with {@link #setSaveContours(boolean)}.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class LinearContourLabelChang2004_MT {
+
+	private ConnectRule rule;
+
+	// labels each band of rows
+	private List<LinearContourLabelChang2004> bandAlgs = new ArrayList<LinearContourLabelChang2004>();
+	// first row in each band.  Band 'i' has rows bandY[i] to bandY[i+1]
+	private int bandY[] = new int[0];
+	// index of the first label of each band in the union-find forest
+	private int bandOffset[] = new int[0];
+
+	// union-find forest of labels inside the bands.  Root is always the lowest index.
+	private GrowQueue_I32 parent = new GrowQueue_I32();
+	// the final label of each label in the bands
+	private GrowQueue_I32 finalLabel = new GrowQueue_I32();
+	// indicates if the final blob touches a seam and if it has been encountered yet when tracing
+	private GrowQueue_B retrace = new GrowQueue_B();
+	private GrowQueue_B encountered = new GrowQueue_B();
+
+	// should contours be saved
+	private boolean saveContours = true;
+
+	// used to retrace the contours of blobs which cross between bands
+	private ContourTracer tracer;
+	private ImageUInt8 border = new ImageUInt8(1,1);
+
+	// storage for contours
+	private FastQueue<Point2D_I32> storagePoints = new FastQueue<Point2D_I32>(Point2D_I32.class,true);
+	private FastQueue<List<Point2D_I32>> storageLists = new FastQueue<List<Point2D_I32>>((Class)ArrayList.class,true);
+	private FastQueue<Contour> contours = new FastQueue<Contour>(Contour.class,true);
+	// contour of a blob which is traced again but doesn't need to be saved
+	private List<Point2D_I32> scratch = new ArrayList<Point2D_I32>();
+
+	/**
+	 * Configures the algorithm.
+	 *
+	 * @param rule Connectivity rule.  4 or 8
+	 */
+	public LinearContourLabelChang2004_MT( ConnectRule rule ) {
+		this.rule = rule;
+		tracer = new ContourTracer(rule);
+	}
+
+	/**
+	 * Processes the binary image to find the contour of and label blobs.
+	 *
+	 * @param binary Input binary image. Not modified.
+	 * @param labeled Output. Labeled image.  Modified.
+	 */
+	public void process( final ImageUInt8 binary , final ImageSInt32 labeled ) {
+		InputSanityCheck.checkSameShape(binary,labeled);
+
+		final int numBands = Math.max(1,Math.min(BoofConcurrency.getMaxThreads(),binary.height));
+		declareBands(numBands, binary.height);
+
+		// label each band independently
+		BoofConcurrency.loopBlocks(0, numBands, binary.width*binary.height/numBands, new IntRangeTask() {
+			@Override
+			public void process(int band0, int band1) {
+				for( int band = band0; band < band1; band++ ) {
+					int y0 = bandY[band], y1 = bandY[band+1];
+					bandAlgs.get(band).process(binary.subimage(0, y0, binary.width, y1, null),
+							labeled.subimage(0, y0, labeled.width, y1, null));
+				}
+			}
+		});
+
+		int total = 0;
+		for( int band = 0; band < numBands; band++ ) {
+			bandOffset[band] = total;
+			total += bandAlgs.get(band).getContours().size;
+		}
+
+		parent.resize(total);
+		for( int i = 0; i < total; i++ )
+			parent.data[i] = i;
+
+		for( int band = 1; band < numBands; band++ ) {
+			mergeSeam(labeled, band);
+		}
+
+		// labels are assigned in the order the roots are encountered, which matches the single threaded version
+		finalLabel.resize(total);
+		int numLabels = 0;
+		for( int i = 0; i < total; i++ ) {
+			int root = find(i);
+			if( root == i )
+				finalLabel.data[i] = ++numLabels;
+			else
+				finalLabel.data[i] = finalLabel.data[root];
+		}
+
+		BoofConcurrency.loopBlocks(0, numBands, binary.width*binary.height/numBands, new IntRangeTask() {
+			@Override
+			public void process(int band0, int band1) {
+				for( int band = band0; band < band1; band++ ) {
+					relabel(labeled, band);
+				}
+			}
+		});
+
+		contours.reset();
+		if( saveContours ) {
+			computeContours(binary, labeled, numBands, numLabels);
+		}
+	}
+
+	private void declareBands( int numBands , int height ) {
+		if( bandY.length != numBands+1 ) {
+			bandY = new int[ numBands+1 ];
+			bandOffset = new int[ numBands ];
+		}
+		for( int i = 0; i <= numBands; i++ ) {
+			bandY[i] = (int)((long)height*i/numBands);
+		}
+		while( bandAlgs.size() < numBands ) {
+			bandAlgs.add(new LinearContourLabelChang2004(rule));
+		}
+	}
+
+	/**
+	 * Merges together labels in the first row of the band with labels in the last row of the previous band
+	 */
+	private void mergeSeam( ImageSInt32 labeled , int band ) {
+		int y = bandY[band];
+		int offsetAbove = bandOffset[band-1]-1;
+		int offsetBelow = bandOffset[band]-1;
+
+		int indexBelow = labeled.startIndex + y*labeled.stride;
+		int indexAbove = indexBelow - labeled.stride;
+
+		for( int x = 0; x < labeled.width; x++ ) {
+			int below = labeled.data[indexBelow+x];
+			if( below == 0 )
+				continue;
+			below += offsetBelow;
+
+			int above = labeled.data[indexAbove+x];
+			if( above != 0 )
+				union(above + offsetAbove, below);
+
+			if( rule == ConnectRule.EIGHT ) {
+				if( x > 0 && (above = labeled.data[indexAbove+x-1]) != 0 )
+					union(above + offsetAbove, below);
+				if( x < labeled.width-1 && (above = labeled.data[indexAbove+x+1]) != 0 )
+					union(above + offsetAbove, below);
+			}
+		}
+	}
+
+	private int find( int i ) {
+		int[] p = parent.data;
+		int root = i;
+		while( p[root] != root )
+			root = p[root];
+		// path compression
+		while( p[i] != root ) {
+			int next = p[i];
+			p[i] = root;
+			i = next;
+		}
+		return root;
+	}
+
+	private void union( int a , int b ) {
+		a = find(a);
+		b = find(b);
+		if( a < b )
+			parent.data[b] = a;
+		else if( b < a )
+			parent.data[a] = b;
+	}
+
+	/**
+	 * Replaces labels inside the band with the final labels
+	 */
+	private void relabel( ImageSInt32 labeled , int band ) {
+		int offset = bandOffset[band]-1;
+		int[] map = finalLabel.data;
+
+		for( int y = bandY[band]; y < bandY[band+1]; y++ ) {
+			int index = labeled.startIndex + y*labeled.stride;
+			int end = index + labeled.width;
+			for( ; index < end; index++ ) {
+				int v = labeled.data[index];
+				if( v != 0 )
+					labeled.data[index] = map[v+offset];
+			}
+		}
+	}
+
+	/**
+	 * Copies contours from the bands for blobs which don't touch a seam and retraces the rest
+	 */
+	private void computeContours( ImageUInt8 binary , ImageSInt32 labeled , int numBands , int numLabels ) {
+		storagePoints.reset();
+		storageLists.reset();
+		for( int i = 0; i < numLabels; i++ ) {
+			Contour c = contours.grow();
+			c.reset();
+			c.id = i+1;
+		}
+
+		// find blobs which touch a seam
+		retrace.resize(numLabels+1);
+		encountered.resize(numLabels+1);
+		for( int i = 0; i <= numLabels; i++ ) {
+			retrace.data[i] = false;
+			encountered.data[i] = false;
+		}
+
+		for( int band = 1; band < numBands; band++ ) {
+			markSeamRow(labeled, bandY[band]-1);
+			markSeamRow(labeled, bandY[band]);
+		}
+
+		// rows which need to be scanned to retrace the contours
+		int retraceY0 = labeled.height, retraceY1 = 0;
+
+		for( int band = 0; band < numBands; band++ ) {
+			FastQueue<Contour> bandContours = bandAlgs.get(band).getContours();
+			int y0 = bandY[band];
+
+			for( int i = 0; i < bandContours.size; i++ ) {
+				int label = finalLabel.data[bandOffset[band]+i];
+				if( retrace.data[label] ) {
+					retraceY0 = Math.min(retraceY0,y0);
+					retraceY1 = Math.max(retraceY1,bandY[band+1]);
+					continue;
+				}
+
+				Contour src = bandContours.get(i);
+				Contour dst = contours.get(label-1);
+				copy(src.external, dst.external, y0);
+				for( int j = 0; j < src.internal.size(); j++ ) {
+					List<Point2D_I32> inner = storageLists.grow();
+					inner.clear();
+					copy(src.internal.get(j), inner, y0);
+					dst.internal.add(inner);
+				}
+			}
+		}
+
+		if( retraceY0 < retraceY1 )
+			retrace(binary, labeled, retraceY0, retraceY1);
+	}
+
+	/**
+	 * Marks final labels in the row as needing to be retraced
+	 */
+	private void markSeamRow( ImageSInt32 labeled , int y ) {
+		int index = labeled.startIndex + y*labeled.stride;
+		for( int x = 0; x < labeled.width; x++ ) {
+			retrace.data[labeled.data[index++]] = true;
+		}
+		// zero is background
+		retrace.data[0] = false;
+	}
+
+	private void copy( List<Point2D_I32> src , List<Point2D_I32> dst , int offsetY ) {
+		for( int i = 0; i < src.size(); i++ ) {
+			Point2D_I32 p = src.get(i);
+			Point2D_I32 q = storagePoints.grow();
+			q.set(p.x,p.y+offsetY);
+			dst.add(q);
+		}
+	}
+
+	/**
+	 * Traces the contours of blobs which touch a seam the same way {@link LinearContourLabelChang2004} does.  Since the
+	 * image has already been labeled only the contour tracing steps are needed.  No blob crosses the start of the
+	 * first band or the end of the last band being traced, so the result is the same as tracing the entire image.
+	 */
+	private void retrace( ImageUInt8 binary , ImageSInt32 labeled , int y0 , int y1 ) {
+		if( border.width != binary.width+2 || border.height != binary.height+2)  {
+			border.reshape(binary.width + 2, binary.height + 2);
+		}
+		// the pixels are copied again since the tracer marks pixels in the band's copies
+		border.subimage(1, 1, border.width - 1, border.height - 1, null).setTo(binary);
+		for( int x = 0; x < border.width; x++ ) {
+			border.data[x] = 0;
+			border.data[(border.height-1)*border.stride + x] = 0;
+		}
+		for( int y = 0; y < border.height; y++ ) {
+			border.data[y*border.stride] = 0;
+			border.data[y*border.stride + border.width-1] = 0;
+		}
+		tracer.setInputs(border, labeled, storagePoints);
+
+		for( int y = y0; y < y1; y++ ) {
+			int indexIn = border.startIndex + (y+1)*border.stride + 1;
+			int indexOut = labeled.startIndex + y*labeled.stride;
+
+			for( int x = 0; x < binary.width; x++, indexIn++, indexOut++ ) {
+				int label = labeled.data[indexOut];
+				if( label == 0 )
+					continue;
+
+				// Blobs which don't touch a seam are traced too since the tracer marks pixels around the contour
+				// and that determines which internal contours are found.  Their contours are thrown away
+				boolean keep = retrace.data[label];
+				int sizeBefore = storagePoints.size;
+
+				if( !encountered.data[label] ) {
+					encountered.data[label] = true;
+					if( keep ) {
+						tracer.trace(label, x + 1, y + 1, true, contours.get(label-1).external);
+					} else {
+						scratch.clear();
+						tracer.trace(label, x + 1, y + 1, true, scratch);
+						storagePoints.size = sizeBefore;
+					}
+				}
+				if( border.data[indexIn + border.stride] == 0 ) {
+					if( keep ) {
+						List<Point2D_I32> inner = storageLists.grow();
+						inner.clear();
+						contours.get(label-1).internal.add(inner);
+						tracer.trace(label, x + 1, y + 1, false, inner);
+					} else {
+						scratch.clear();
+						tracer.trace(label, x + 1, y + 1, false, scratch);
+						storagePoints.size = sizeBefore;
+					}
+				}
+			}
+		}
+		scratch.clear();
+	}
+
+	public FastQueue<Contour> getContours() {
+		return contours;
+	}
+
+	public boolean isSaveContours() {
+		return saveContours;
+	}
+
+	/**
+	 * If false then contours are not saved, which avoids retracing the blobs that cross between bands.
+	 */
+	public void setSaveContours(boolean saveContours) {
+		this.saveContours = saveContours;
+	}
+
+	public ConnectRule getRule() {
+		return rule;
+	}
+}
@@ -0,0 +1,315 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.filter.binary;
+
+import boofcv.alg.filter.binary.impl.ImplPackedBinaryOps;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.PackedBinaryImage;
+
+/**
+ * <p>
+ * Operations on binary images where each pixel is stored in a single bit, see {@link PackedBinaryImage}.
+ * Results are identical to the equivalent functions in {@link BinaryImageOps}, including how the image border
+ * is handled.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class PackedBinaryOps {
+
+	/**
+	 * Converts a binary {@link ImageUInt8} into a packed binary image.  Any pixel which is not zero is
+	 * considered to be one.
+	 *
+	 * @param input Input binary image.  Not modified.
+	 * @param output (Optional) Storage for output image.  If null a new image is declared.  Modified.
+	 * @return Packed binary image.
+	 */
+	public static PackedBinaryImage convert( ImageUInt8 input , PackedBinaryImage output ) {
+		if( output == null )
+			output = new PackedBinaryImage(input.width,input.height);
+		else
+			output.reshape(input.width,input.height);
+
+		for( int y = 0; y < input.height; y++ ) {
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = y*output.stride;
+
+			for( int x = 0; x < input.width; x += 64 ) {
+				int end = Math.min(64,input.width-x);
+				long word = 0;
+				for( int bit = 0; bit < end; bit++ ) {
+					if( input.data[indexIn++] != 0 )
+						word |= 1L << bit;
+				}
+				output.data[indexOut++] = word;
+			}
+		}
+
+		return output;
+	}
+
+	/**
+	 * Converts a packed binary image into a binary {@link ImageUInt8}.
+	 *
+	 * @param input Packed binary image.  Not modified.
+	 * @param output (Optional) Storage for output image.  If null a new image is declared.  Modified.
+	 * @return Binary image.
+	 */
+	public static ImageUInt8 convert( PackedBinaryImage input , ImageUInt8 output ) {
+		if( output == null ) {
+			output = new ImageUInt8(input.width,input.height);
+		} else if( output.width != input.width || output.height != input.height ) {
+			throw new IllegalArgumentException("Image shapes are not the same");
+		}
+
+		for( int y = 0; y < input.height; y++ ) {
+			int indexIn = y*input.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int x = 0; x < input.width; x += 64 ) {
+				int end = Math.min(64,input.width-x);
+				long word = input.data[indexIn++];
+				for( int bit = 0; bit < end; bit++ ) {
+					output.data[indexOut++] = (byte)((word >>> bit) & 1);
+				}
+			}
+		}
+
+		return output;
+	}
+
+	/**
+	 * For each pixel it applies the logical 'and' operator between two images.
+	 *
+	 * @param inputA First input image. Not modified.
+	 * @param inputB Second input image. Not modified.
+	 * @param output (Optional) Output image.  If null a new image is declared.  Modified.
+	 * @return Output of logical operation.
+	 */
+	public static PackedBinaryImage logicAnd( PackedBinaryImage inputA , PackedBinaryImage inputB ,
+											  PackedBinaryImage output ) {
+		output = checkDeclare(inputA, inputB, output);
+
+		int N = inputA.stride*inputA.height;
+		for( int i = 0; i < N; i++ )
+			output.data[i] = inputA.data[i] & inputB.data[i];
+
+		return output;
+	}
+
+	/**
+	 * For each pixel it applies the logical 'or' operator between two images.
+	 *
+	 * @param inputA First input image. Not modified.
+	 * @param inputB Second input image. Not modified.
+	 * @param output (Optional) Output image.  If null a new image is declared.  Modified.
+	 * @return Output of logical operation.
+	 */
+	public static PackedBinaryImage logicOr( PackedBinaryImage inputA , PackedBinaryImage inputB ,
+											 PackedBinaryImage output ) {
+		output = checkDeclare(inputA, inputB, output);
+
+		int N = inputA.stride*inputA.height;
+		for( int i = 0; i < N; i++ )
+			output.data[i] = inputA.data[i] | inputB.data[i];
+
+		return output;
+	}
+
+	/**
+	 * For each pixel it applies the logical 'xor' operator between two images.
+	 *
+	 * @param inputA First input image. Not modified.
+	 * @param inputB Second input image. Not modified.
+	 * @param output (Optional) Output image.  If null a new image is declared.  Modified.
+	 * @return Output of logical operation.
+	 */
+	public static PackedBinaryImage logicXor( PackedBinaryImage inputA , PackedBinaryImage inputB ,
+											  PackedBinaryImage output ) {
+		output = checkDeclare(inputA, inputB, output);
+
+		int N = inputA.stride*inputA.height;
+		for( int i = 0; i < N; i++ )
+			output.data[i] = inputA.data[i] ^ inputB.data[i];
+
+		return output;
+	}
+
+	/**
+	 * Inverts each pixel from true to false and vis-versa.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output (Optional) Output image.  If null a new image is declared.  Modified.
+	 * @return Output of logical operation.
+	 */
+	public static PackedBinaryImage invert( PackedBinaryImage input , PackedBinaryImage output ) {
+		output = checkDeclare(input, input, output);
+
+		long lastMask = input.getLastWordMask();
+		for( int y = 0; y < input.height; y++ ) {
+			int index = y*input.stride;
+			int end = index + input.stride - 1;
+			for( ; index < end; index++ )
+				output.data[index] = ~input.data[index];
+			output.data[end] = ~input.data[end] & lastMask;
+		}
+
+		return output;
+	}
+
+	/**
+	 * Erodes an image according to a 4-neighborhood.  See {@link BinaryImageOps#erode4}.
+	 *
+	 * @param input  Input image. Not modified.
+	 * @param numTimes How many times the operation will be applied to the image.
+	 * @param output (Optional) Output image.  If null a new image is declared.  Modified.
+	 * @return Output image.
+	 */
+	public static PackedBinaryImage erode4( PackedBinaryImage input , int numTimes , PackedBinaryImage output ) {
+		return morph(input, numTimes, 0, output);
+	}
+
+	/**
+	 * Erodes an image according to a 8-neighborhood.  See {@link BinaryImageOps#erode8}.
+	 *
+	 * @param input  Input image. Not modified.
+	 * @param numTimes How many times the operation will be applied to the image.
+	 * @param output (Optional) Output image.  If null a new image is declared.  Modified.
+	 * @return Output image.
+	 */
+	public static PackedBinaryImage erode8( PackedBinaryImage input , int numTimes , PackedBinaryImage output ) {
+		return morph(input, numTimes, 1, output);
+	}
+
+	/**
+	 * Dilates an image according to a 4-neighborhood.  See {@link BinaryImageOps#dilate4}.
+	 *
+	 * @param input  Input image. Not modified.
+	 * @param numTimes How many times the operation will be applied to the image.
+	 * @param output (Optional) Output image.  If null a new image is declared.  Modified.
+	 * @return Output image.
+	 */
+	public static PackedBinaryImage dilate4( PackedBinaryImage input , int numTimes , PackedBinaryImage output ) {
+		return morph(input, numTimes, 2, output);
+	}
+
+	/**
+	 * Dilates an image according to a 8-neighborhood.  See {@link BinaryImageOps#dilate8}.
+	 *
+	 * @param input  Input image. Not modified.
+	 * @param numTimes How many times the operation will be applied to the image.
+	 * @param output (Optional) Output image.  If null a new image is declared.  Modified.
+	 * @return Output image.
+	 */
+	public static PackedBinaryImage dilate8( PackedBinaryImage input , int numTimes , PackedBinaryImage output ) {
+		return morph(input, numTimes, 3, output);
+	}
+
+	/**
+	 * Removes all pixels except ones which are on the edge of an object along a 4-neighborhood.
+	 * See {@link BinaryImageOps#edge4}.
+	 *
+	 * @param input  Input image. Not modified.
+	 * @param output (Optional) Output image.  If null a new image is declared.  Modified.
+	 * @return Output image.
+	 */
+	public static PackedBinaryImage edge4( PackedBinaryImage input , PackedBinaryImage output ) {
+		output = checkDeclareMorph(input, output);
+		ImplPackedBinaryOps.edge4(input, output);
+		return output;
+	}
+
+	/**
+	 * Removes all pixels except ones which are on the edge of an object along a 8-neighborhood.
+	 * See {@link BinaryImageOps#edge8}.
+	 *
+	 * @param input  Input image. Not modified.
+	 * @param output (Optional) Output image.  If null a new image is declared.  Modified.
+	 * @return Output image.
+	 */
+	public static PackedBinaryImage edge8( PackedBinaryImage input , PackedBinaryImage output ) {
+		output = checkDeclareMorph(input, output);
+		ImplPackedBinaryOps.edge8(input, output);
+		return output;
+	}
+
+	private static PackedBinaryImage morph( PackedBinaryImage input , int numTimes , int type ,
+											PackedBinaryImage output ) {
+		if( numTimes <= 0 )
+			throw new IllegalArgumentException("numTimes must be >= 1");
+		output = checkDeclareMorph(input, output);
+
+		morph(input, type, output);
+
+		if( numTimes > 1 ) {
+			PackedBinaryImage tmp1 = new PackedBinaryImage(input.width,input.height);
+			PackedBinaryImage tmp2 = output;
+
+			for( int i = 1; i < numTimes; i++ ) {
+				morph(tmp2, type, tmp1);
+
+				PackedBinaryImage a = tmp1;
+				tmp1 = tmp2;
+				tmp2 = a;
+			}
+
+			if( tmp2 != output ) {
+				output.setTo(tmp2);
+			}
+		}
+
+		return output;
+	}
+
+	private static void morph( PackedBinaryImage input , int type , PackedBinaryImage output ) {
+		switch( type ) {
+			case 0: ImplPackedBinaryOps.erode4(input, output); break;
+			case 1: ImplPackedBinaryOps.erode8(input, output); break;
+			case 2: ImplPackedBinaryOps.dilate4(input, output); break;
+			default: ImplPackedBinaryOps.dilate8(input, output); break;
+		}
+	}
+
+	private static PackedBinaryImage checkDeclare( PackedBinaryImage inputA , PackedBinaryImage inputB ,
+												   PackedBinaryImage output ) {
+		if( inputA.width != inputB.width || inputA.height != inputB.height )
+			throw new IllegalArgumentException("Image shapes are not the same");
+		if( output == null ) {
+			output = new PackedBinaryImage(inputA.width,inputA.height);
+		} else if( output != inputA && output != inputB ) {
+			output.reshape(inputA.width,inputA.height);
+		}
+		return output;
+	}
+
+	/**
+	 * Morphological operations read neighboring pixels, so the output can't be the input
+	 */
+	private static PackedBinaryImage checkDeclareMorph( PackedBinaryImage input , PackedBinaryImage output ) {
+		if( output == null )
+			output = new PackedBinaryImage(input.width,input.height);
+		else if( output == input )
+			throw new IllegalArgumentException("Output can't be the same instance as the input");
+		else
+			output.reshape(input.width,input.height);
+		return output;
+	}
+}
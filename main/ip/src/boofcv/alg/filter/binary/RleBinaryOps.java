@@ -0,0 +1,501 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.filter.binary;
+
+import boofcv.struct.image.ImageSInt32;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.RleBinaryImage;
+import org.ddogleg.struct.GrowQueue_I32;
+
+/**
+ * <p>
+ * Operations on binary images which are encoded using runs, see {@link RleBinaryImage}.  The operations
+ * work directly on the runs, so their cost depends on the number of runs and not the number of pixels.
+ * Results are identical to the equivalent functions in {@link BinaryImageOps}, including how the image border
+ * is handled.
+ * </p>
+ *
+ * <p>
+ * The output image must not be the same instance as an input image.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class RleBinaryOps {
+
+	private static final int AND = 0;
+	private static final int OR = 1;
+	private static final int XOR = 2;
+
+	/**
+	 * Converts a binary {@link ImageUInt8} into a run-length encoded image.  Any pixel which is not zero is
+	 * considered to be one.
+	 *
+	 * @param input Input binary image.  Not modified.
+	 * @param output (Optional) Storage for output image.  If null a new image is declared.  Modified.
+	 * @return Run-length encoded image.
+	 */
+	public static RleBinaryImage convert( ImageUInt8 input , RleBinaryImage output ) {
+		if( output == null )
+			output = new RleBinaryImage();
+		output.reshape(input.width,input.height);
+
+		for( int y = 0; y < input.height; y++ ) {
+			int start = input.startIndex + y*input.stride;
+			int end = start + input.width;
+			int index = start;
+
+			while( index < end ) {
+				// skip over zeros
+				while( index < end && input.data[index] == 0 )
+					index++;
+				if( index == end )
+					break;
+				int x0 = index;
+				while( index < end && input.data[index] != 0 )
+					index++;
+				output.addRun(x0-start,index-start);
+			}
+			output.finishRow();
+		}
+
+		return output;
+	}
+
+	/**
+	 * Converts a run-length encoded image into a binary {@link ImageUInt8}.
+	 *
+	 * @param input Run-length encoded image.  Not modified.
+	 * @param output (Optional) Storage for output image.  If null a new image is declared.  Modified.
+	 * @return Binary image.
+	 */
+	public static ImageUInt8 convert( RleBinaryImage input , ImageUInt8 output ) {
+		if( output == null ) {
+			output = new ImageUInt8(input.width,input.height);
+		} else if( output.width != input.width || output.height != input.height ) {
+			throw new IllegalArgumentException("Image shapes are not the same");
+		}
+
+		for( int y = 0; y < input.height; y++ ) {
+			int index = output.startIndex + y*output.stride;
+			int prev = 0;
+			for( int i = input.rowIndex[y]; i < input.rowIndex[y+1]; i++ ) {
+				int x0 = input.runs[2*i], x1 = input.runs[2*i+1];
+				fill(output.data, index + prev, index + x0, (byte)0);
+				fill(output.data, index + x0, index + x1, (byte)1);
+				prev = x1;
+			}
+			fill(output.data, index + prev, index + input.width, (byte)0);
+		}
+
+		return output;
+	}
+
+	private static void fill( byte[] data , int start , int end , byte value ) {
+		for( int i = start; i < end; i++ )
+			data[i] = value;
+	}
+
+	/**
+	 * For each pixel it applies the logical 'and' operator between two images.
+	 *
+	 * @param inputA First input image. Not modified.
+	 * @param inputB Second input image. Not modified.
+	 * @param output (Optional) Output image.  If null a new image is declared.  Modified.
+	 * @return Output of logical operation.
+	 */
+	public static RleBinaryImage logicAnd( RleBinaryImage inputA , RleBinaryImage inputB , RleBinaryImage output ) {
+		return logic(inputA, inputB, AND, output);
+	}
+
+	/**
+	 * For each pixel it applies the logical 'or' operator between two images.
+	 *
+	 * @param inputA First input image. Not modified.
+	 * @param inputB Second input image. Not modified.
+	 * @param output (Optional) Output image.  If null a new image is declared.  Modified.
+	 * @return Output of logical operation.
+	 */
+	public static RleBinaryImage logicOr( RleBinaryImage inputA , RleBinaryImage inputB , RleBinaryImage output ) {
+		return logic(inputA, inputB, OR, output);
+	}
+
+	/**
+	 * For each pixel it applies the logical 'xor' operator between two images.
+	 *
+	 * @param inputA First input image. Not modified.
+	 * @param inputB Second input image. Not modified.
+	 * @param output (Optional) Output image.  If null a new image is declared.  Modified.
+	 * @return Output of logical operation.
+	 */
+	public static RleBinaryImage logicXor( RleBinaryImage inputA , RleBinaryImage inputB , RleBinaryImage output ) {
+		return logic(inputA, inputB, XOR, output);
+	}
+
+	private static RleBinaryImage logic( RleBinaryImage inputA , RleBinaryImage inputB , int op ,
+										 RleBinaryImage output ) {
+		if( inputA.width != inputB.width || inputA.height != inputB.height )
+			throw new IllegalArgumentException("Image shapes are not the same");
+		output = declare(inputA, output);
+		if( output == inputB )
+			throw new IllegalArgumentException("Output can't be the same instance as the input");
+
+		GrowQueue_I32 work = new GrowQueue_I32();
+		for( int y = 0; y < inputA.height; y++ ) {
+			combine(inputA.runs, 2*inputA.rowIndex[y], 2*inputA.rowIndex[y+1],
+					inputB.runs, 2*inputB.rowIndex[y], 2*inputB.rowIndex[y+1], op, work);
+			addRow(work, output);
+		}
+		return output;
+	}
+
+	/**
+	 * Inverts each pixel from true to false and vis-versa.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output (Optional) Output image.  If null a new image is declared.  Modified.
+	 * @return Output of logical operation.
+	 */
+	public static RleBinaryImage invert( RleBinaryImage input , RleBinaryImage output ) {
+		output = declare(input, output);
+
+		for( int y = 0; y < input.height; y++ ) {
+			int prev = 0;
+			for( int i = input.rowIndex[y]; i < input.rowIndex[y+1]; i++ ) {
+				output.addRun(prev, input.runs[2*i]);
+				prev = input.runs[2*i+1];
+			}
+			output.addRun(prev,input.width);
+			output.finishRow();
+		}
+		return output;
+	}
+
+	/**
+	 * Erodes an image according to a 4-neighborhood.  See {@link BinaryImageOps#erode4}.
+	 *
+	 * @param input  Input image. Not modified.
+	 * @param numTimes How many times the operation will be applied to the image.
+	 * @param output (Optional) Output image.  If null a new image is declared.  Modified.
+	 * @return Output image.
+	 */
+	public static RleBinaryImage erode4( RleBinaryImage input , int numTimes , RleBinaryImage output ) {
+		return morph(input, numTimes, false, false, output);
+	}
+
+	/**
+	 * Erodes an image according to a 8-neighborhood.  See {@link BinaryImageOps#erode8}.
+	 *
+	 * @param input  Input image. Not modified.
+	 * @param numTimes How many times the operation will be applied to the image.
+	 * @param output (Optional) Output image.  If null a new image is declared.  Modified.
+	 * @return Output image.
+	 */
+	public static RleBinaryImage erode8( RleBinaryImage input , int numTimes , RleBinaryImage output ) {
+		return morph(input, numTimes, false, true, output);
+	}
+
+	/**
+	 * Dilates an image according to a 4-neighborhood.  See {@link BinaryImageOps#dilate4}.
+	 *
+	 * @param input  Input image. Not modified.
+	 * @param numTimes How many times the operation will be applied to the image.
+	 * @param output (Optional) Output image.  If null a new image is declared.  Modified.
+	 * @return Output image.
+	 */
+	public static RleBinaryImage dilate4( RleBinaryImage input , int numTimes , RleBinaryImage output ) {
+		return morph(input, numTimes, true, false, output);
+	}
+
+	/**
+	 * Dilates an image according to a 8-neighborhood.  See {@link BinaryImageOps#dilate8}.
+	 *
+	 * @param input  Input image. Not modified.
+	 * @param numTimes How many times the operation will be applied to the image.
+	 * @param output (Optional) Output image.  If null a new image is declared.  Modified.
+	 * @return Output image.
+	 */
+	public static RleBinaryImage dilate8( RleBinaryImage input , int numTimes , RleBinaryImage output ) {
+		return morph(input, numTimes, true, true, output);
+	}
+
+	/**
+	 * Removes all pixels except ones which are on the edge of an object along a 4-neighborhood.
+	 * See {@link BinaryImageOps#edge4}.
+	 *
+	 * @param input  Input image. Not modified.
+	 * @param output (Optional) Output image.  If null a new image is declared.  Modified.
+	 * @return Output image.
+	 */
+	public static RleBinaryImage edge4( RleBinaryImage input , RleBinaryImage output ) {
+		return edge(input, false, output);
+	}
+
+	/**
+	 * Removes all pixels except ones which are on the edge of an object along a 8-neighborhood.
+	 * See {@link BinaryImageOps#edge8}.
+	 *
+	 * @param input  Input image. Not modified.
+	 * @param output (Optional) Output image.  If null a new image is declared.  Modified.
+	 * @return Output image.
+	 */
+	public static RleBinaryImage edge8( RleBinaryImage input , RleBinaryImage output ) {
+		return edge(input, true, output);
+	}
+
+	/**
+	 * Renders the labels of each run into a labeled image.  Pixels which are not part of any run are set to zero.
+	 *
+	 * @param input Run-length encoded image.  Not modified.
+	 * @param runLabels Label of each run in the image.  See {@link RleBlobLabeling#getRunLabels()}
+	 * @param output (Optional) Output labeled image.  If null a new image is declared.  Modified.
+	 * @return Labeled image.
+	 */
+	public static ImageSInt32 renderLabels( RleBinaryImage input , GrowQueue_I32 runLabels , ImageSInt32 output ) {
+		if( output == null ) {
+			output = new ImageSInt32(input.width,input.height);
+		} else if( output.width != input.width || output.height != input.height ) {
+			throw new IllegalArgumentException("Image shapes are not the same");
+		}
+
+		for( int y = 0; y < input.height; y++ ) {
+			int index = output.startIndex + y*output.stride;
+			int prev = 0;
+			for( int i = input.rowIndex[y]; i < input.rowIndex[y+1]; i++ ) {
+				int x0 = input.runs[2*i], x1 = input.runs[2*i+1];
+				int label = runLabels.data[i];
+				for( int x = prev; x < x0; x++ )
+					output.data[index+x] = 0;
+				for( int x = x0; x < x1; x++ )
+					output.data[index+x] = label;
+				prev = x1;
+			}
+			for( int x = prev; x < input.width; x++ )
+				output.data[index+x] = 0;
+		}
+
+		return output;
+	}
+
+	private static RleBinaryImage edge( RleBinaryImage input , boolean eight , RleBinaryImage output ) {
+		output = declare(input, output);
+
+		// the edge is the input minus the eroded image, since the eroded image is a subset of the input
+		RleBinaryImage eroded = new RleBinaryImage();
+		morph(input, 1, false, eight, eroded);
+
+		GrowQueue_I32 work = new GrowQueue_I32();
+		for( int y = 0; y < input.height; y++ ) {
+			combine(input.runs, 2*input.rowIndex[y], 2*input.rowIndex[y+1],
+					eroded.runs, 2*eroded.rowIndex[y], 2*eroded.rowIndex[y+1], XOR, work);
+			addRow(work, output);
+		}
+		return output;
+	}
+
+	private static RleBinaryImage morph( RleBinaryImage input , int numTimes , boolean dilate , boolean eight ,
+										 RleBinaryImage output ) {
+		if( numTimes <= 0 )
+			throw new IllegalArgumentException("numTimes must be >= 1");
+		output = declare(input,output);
+
+		Morph morph = new Morph(input.width, dilate, eight);
+		if( numTimes == 1 ) {
+			morph.process(input, output);
+		} else {
+			RleBinaryImage tmp1 = new RleBinaryImage();
+			RleBinaryImage tmp2 = new RleBinaryImage();
+			morph.process(input, tmp1);
+			for( int i = 1; i < numTimes-1; i++ ) {
+				morph.process(tmp1, tmp2);
+				RleBinaryImage a = tmp1;
+				tmp1 = tmp2;
+				tmp2 = a;
+			}
+			morph.process(tmp1, output);
+		}
+
+		return output;
+	}
+
+	/**
+	 * Applies a single erode or dilate operation.  Outside the image is treated as ones when eroding and zeros
+	 * when dilating, which matches {@link boofcv.alg.filter.binary.impl.ImplBinaryBorderOps}.
+	 */
+	private static class Morph {
+		int width;
+		boolean dilate;
+		boolean eight;
+
+		// a full row of ones
+		int[] full;
+
+		GrowQueue_I32 rowA = new GrowQueue_I32();
+		GrowQueue_I32 rowB = new GrowQueue_I32();
+		GrowQueue_I32 rowC = new GrowQueue_I32();
+
+		private Morph(int width, boolean dilate, boolean eight) {
+			this.width = width;
+			this.dilate = dilate;
+			this.eight = eight;
+			full = new int[]{0,width};
+		}
+
+		public void process( RleBinaryImage input , RleBinaryImage output ) {
+			output.reshape(input.width,input.height);
+
+			int[] runs = input.runs;
+			for( int y = 0; y < input.height; y++ ) {
+				int start = 2*input.rowIndex[y], end = 2*input.rowIndex[y+1];
+
+				// rows above and below.  Outside the image they are full for erode and empty for dilate
+				int[] above = runs, below = runs;
+				int startAbove, endAbove, startBelow, endBelow;
+				if( y > 0 ) {
+					startAbove = 2*input.rowIndex[y-1]; endAbove = start;
+				} else if( dilate ) {
+					startAbove = endAbove = 0;
+				} else {
+					above = full; startAbove = 0; endAbove = 2;
+				}
+				if( y < input.height-1 ) {
+					startBelow = end; endBelow = 2*input.rowIndex[y+2];
+				} else if( dilate ) {
+					startBelow = endBelow = 0;
+				} else {
+					below = full; startBelow = 0; endBelow = 2;
+				}
+
+				int op = dilate ? OR : AND;
+				if( eight ) {
+					// all three rows are expanded or shrunk horizontally
+					combine(above, startAbove, endAbove, below, startBelow, endBelow, op, rowA);
+					combine(rowA.data, 0, rowA.size, runs, start, end, op, rowB);
+					resize(rowB.data, 0, rowB.size, rowC);
+					addRow(rowC, output);
+				} else {
+					// only the center row is expanded or shrunk
+					resize(runs, start, end, rowA);
+					combine(above, startAbove, endAbove, below, startBelow, endBelow, op, rowB);
+					combine(rowA.data, 0, rowA.size, rowB.data, 0, rowB.size, op, rowC);
+					addRow(rowC, output);
+				}
+			}
+		}
+
+		/**
+		 * Grows each run by one pixel in each direction when dilating or shrinks them when eroding.  Runs which
+		 * touch the image border are not shrunk at the border.
+		 */
+		private void resize( int[] runs , int start , int end , GrowQueue_I32 output ) {
+			output.reset();
+			for( int i = start; i < end; i += 2 ) {
+				int x0 = runs[i], x1 = runs[i+1];
+				if( dilate ) {
+					x0 = Math.max(0, x0 - 1);
+					x1 = Math.min(width, x1 + 1);
+				} else {
+					if( x0 > 0 ) x0++;
+					if( x1 < width ) x1--;
+				}
+				append(output, x0, x1);
+			}
+		}
+	}
+
+	/**
+	 * Applies a logical operation to two rows of runs.  The runs in each row must be sorted.
+	 *
+	 * @param a Array containing the runs in the first row
+	 * @param indexA Index in 'a' of the first element in the row
+	 * @param endA Index in 'a' of the last element in the row + 1
+	 * @param b Array containing the runs in the second row
+	 * @param indexB Index in 'b' of the first element in the row
+	 * @param endB Index in 'b' of the last element in the row + 1
+	 * @param op The logical operation
+	 * @param output Storage for runs in the output row.
+	 */
+	private static void combine( int[] a , int indexA , int endA , int[] b , int indexB , int endB ,
+								 int op , GrowQueue_I32 output ) {
+		output.reset();
+
+		// Each start or end of a run toggles the value.  Walk through them in order
+		boolean inA = false, inB = false, value = false;
+		int start = 0;
+		while( indexA < endA || indexB < endB ) {
+			int xa = indexA < endA ? a[indexA] : Integer.MAX_VALUE;
+			int xb = indexB < endB ? b[indexB] : Integer.MAX_VALUE;
+			int x = Math.min(xa,xb);
+			if( xa == x ) {
+				inA = !inA;
+				indexA++;
+			}
+			if( xb == x ) {
+				inB = !inB;
+				indexB++;
+			}
+
+			boolean v;
+			switch( op ) {
+				case AND: v = inA && inB; break;
+				case OR: v = inA || inB; break;
+				default: v = inA ^ inB; break;
+			}
+
+			if( v != value ) {
+				if( v )
+					start = x;
+				else
+					append(output, start, x);
+				value = v;
+			}
+		}
+	}
+
+	/**
+	 * Adds a run to the end of the row.  Merges it with the previous run if they touch and ignores empty runs
+	 */
+	private static void append( GrowQueue_I32 row , int x0 , int x1 ) {
+		if( x1 <= x0 )
+			return;
+		if( row.size > 0 && x0 <= row.data[row.size-1] ) {
+			row.data[row.size-1] = Math.max(x1,row.data[row.size-1]);
+		} else {
+			row.add(x0);
+			row.add(x1);
+		}
+	}
+
+	private static void addRow( GrowQueue_I32 row , RleBinaryImage output ) {
+		for( int i = 0; i < row.size; i += 2 ) {
+			output.addRun(row.data[i],row.data[i+1]);
+		}
+		output.finishRow();
+	}
+
+	private static RleBinaryImage declare( RleBinaryImage input , RleBinaryImage output ) {
+		if( output == null )
+			output = new RleBinaryImage();
+		else if( output == input )
+			throw new IllegalArgumentException("Output can't be the same instance as the input");
+		output.reshape(input.width,input.height);
+		return output;
+	}
+}
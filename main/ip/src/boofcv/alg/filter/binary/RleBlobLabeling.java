@@ -0,0 +1,359 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.filter.binary;
+
+import boofcv.struct.ConnectRule;
+import boofcv.struct.image.RleBinaryImage;
+import georegression.struct.point.Point2D_I32;
+import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_B;
+import org.ddogleg.struct.GrowQueue_I32;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Labels blobs and finds their contours in a {@link RleBinaryImage}, working directly on the runs.  Runs in
+ * adjacent rows which are connected are merged together using union-find.  Labels are assigned in the order
+ * blobs are first encountered in a raster scan, so the labels are the same as the ones found by
+ * {@link LinearContourLabelChang2004}.  Use {@link RleBinaryOps#renderLabels} to create a labeled image.
+ * </p>
+ *
+ * <p>
+ * External contours are traced starting from the first pixel in each blob.  Internal contours are found by
+ * labeling the background using the opposite connectivity rule.  Background blobs which don't touch the image
+ * border are holes and their contour is traced starting from the pixel above the first pixel in the hole.
+ * Contours are traced the same way as in {@link ContourTracer}.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class RleBlobLabeling {
+
+	private ConnectRule rule;
+
+	// union-find forest for runs.  The root is always the run with the lowest index
+	private GrowQueue_I32 parent = new GrowQueue_I32();
+
+	// label of each run in the binary image
+	private GrowQueue_I32 runLabels = new GrowQueue_I32();
+	private int numLabels;
+
+	// should it find the contours
+	private boolean saveContours = true;
+
+	// The background image, which is used to find holes, and its labels
+	private RleBinaryImage background = new RleBinaryImage();
+	private GrowQueue_I32 backgroundLabels = new GrowQueue_I32();
+	// which labels touch the image border and which have been encountered
+	private GrowQueue_B outside = new GrowQueue_B();
+	private GrowQueue_B encountered = new GrowQueue_B();
+
+	// storage for contours
+	private FastQueue<Point2D_I32> storagePoints = new FastQueue<Point2D_I32>(Point2D_I32.class,true);
+	private FastQueue<List<Point2D_I32>> storageLists = new FastQueue<List<Point2D_I32>>((Class)ArrayList.class,true);
+	private FastQueue<Contour> contours = new FastQueue<Contour>(Contour.class,true);
+
+	// used for contour tracing.  Offset to neighbors in each direction
+	private int dx[], dy[];
+	// lookup table for which direction it should search next given the direction it traveled into the current pixel
+	private int nextDirection[];
+	private int ruleN;
+
+	// image being traced and the current state of the tracer
+	private RleBinaryImage binary;
+	private int x, y, dir;
+
+	/**
+	 * Configures the algorithm.
+	 *
+	 * @param rule Connectivity rule.  4 or 8
+	 */
+	public RleBlobLabeling( ConnectRule rule ) {
+		this.rule = rule;
+
+		if( ConnectRule.EIGHT == rule ) {
+			dx = new int[]{1,1,0,-1,-1,-1, 0, 1};
+			dy = new int[]{0,1,1, 1, 0,-1,-1,-1};
+			ruleN = 8;
+			nextDirection = new int[8];
+			for( int i = 0; i < 8; i++ )
+				nextDirection[i] = ((i+4)%8 + 2)%8;
+		} else if( ConnectRule.FOUR == rule ) {
+			dx = new int[]{1,0,-1, 0};
+			dy = new int[]{0,1, 0,-1};
+			ruleN = 4;
+			nextDirection = new int[4];
+			for( int i = 0; i < 4; i++ )
+				nextDirection[i] = ((i+2)%4 + 1)%4;
+		} else {
+			throw new IllegalArgumentException("Connectivity rule must be 4 or 8 not "+rule);
+		}
+	}
+
+	/**
+	 * Labels the blobs in the binary image and, if configured to do so, finds their contours.
+	 *
+	 * @param binary Input binary image.  Not modified.
+	 */
+	public void process( RleBinaryImage binary ) {
+		this.binary = binary;
+		numLabels = label(binary, rule == ConnectRule.EIGHT, runLabels);
+
+		contours.reset();
+		storagePoints.reset();
+		storageLists.reset();
+
+		if( !saveContours )
+			return;
+
+		for( int i = 0; i < numLabels; i++ ) {
+			Contour c = contours.grow();
+			c.reset();
+			c.id = i + 1;
+		}
+
+		traceExternal(binary);
+		traceInternal(binary);
+	}
+
+	/**
+	 * Assigns a label to each run.  Labels start at 1 and are assigned in the order they are encountered.
+	 *
+	 * @return Number of labels
+	 */
+	private int label( RleBinaryImage image , boolean eight , GrowQueue_I32 labels ) {
+		parent.resize(image.numRuns);
+		for( int i = 0; i < image.numRuns; i++ )
+			parent.data[i] = i;
+
+		// the amount runs are expanded by when checking to see if they are connected
+		int pad = eight ? 1 : 0;
+		int runs[] = image.runs;
+
+		for( int y = 1; y < image.height; y++ ) {
+			int indexA = image.rowIndex[y-1], endA = image.rowIndex[y];
+			int indexB = endA, endB = image.rowIndex[y+1];
+
+			while( indexA < endA && indexB < endB ) {
+				int a0 = runs[2*indexA], a1 = runs[2*indexA+1];
+				int b0 = runs[2*indexB], b1 = runs[2*indexB+1];
+
+				if( a0 < b1 + pad && b0 < a1 + pad )
+					union(indexA, indexB);
+
+				if( a1 < b1 )
+					indexA++;
+				else
+					indexB++;
+			}
+		}
+
+		labels.resize(image.numRuns);
+		int count = 0;
+		for( int i = 0; i < image.numRuns; i++ ) {
+			int root = find(i);
+			if( root == i )
+				labels.data[i] = ++count;
+			else
+				labels.data[i] = labels.data[root];
+		}
+		return count;
+	}
+
+	private int find( int i ) {
+		int[] p = parent.data;
+		int root = i;
+		while( p[root] != root )
+			root = p[root];
+		// path compression
+		while( p[i] != root ) {
+			int next = p[i];
+			p[i] = root;
+			i = next;
+		}
+		return root;
+	}
+
+	private void union( int a , int b ) {
+		a = find(a);
+		b = find(b);
+		if( a < b )
+			parent.data[b] = a;
+		else if( b < a )
+			parent.data[a] = b;
+	}
+
+	/**
+	 * Traces the external contour of each blob, starting at the first pixel in the blob
+	 */
+	private void traceExternal( RleBinaryImage binary ) {
+		int label = 1;
+		for( int y = 0; y < binary.height && label <= numLabels; y++ ) {
+			for( int i = binary.rowIndex[y]; i < binary.rowIndex[y+1]; i++ ) {
+				if( runLabels.data[i] == label ) {
+					trace(binary.runs[2*i], y, true, contours.get(label-1).external);
+					label++;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Finds holes and traces their contour
+	 */
+	private void traceInternal( RleBinaryImage binary ) {
+		RleBinaryOps.invert(binary, background);
+		int numBackground = label(background, rule != ConnectRule.EIGHT, backgroundLabels);
+
+		outside.resize(numBackground+1);
+		encountered.resize(numBackground+1);
+		for( int i = 0; i <= numBackground; i++ ) {
+			outside.data[i] = false;
+			encountered.data[i] = false;
+		}
+
+		// background which touches the image border is not a hole
+		int runs[] = background.runs;
+		int lastRow = background.height-1;
+		for( int y = 0; y < background.height; y++ ) {
+			for( int i = background.rowIndex[y]; i < background.rowIndex[y+1]; i++ ) {
+				if( y == 0 || y == lastRow || runs[2*i] == 0 || runs[2*i+1] == background.width )
+					outside.data[backgroundLabels.data[i]] = true;
+			}
+		}
+
+		for( int y = 1; y < lastRow; y++ ) {
+			for( int i = background.rowIndex[y]; i < background.rowIndex[y+1]; i++ ) {
+				int hole = backgroundLabels.data[i];
+				if( outside.data[hole] || encountered.data[hole] )
+					continue;
+				encountered.data[hole] = true;
+
+				// the pixel above the first pixel in the hole must belong to the blob which contains the hole
+				int x = runs[2*i];
+				int label = runLabels.data[binary.findRun(x, y - 1)];
+
+				List<Point2D_I32> inner = storageLists.grow();
+				inner.clear();
+				contours.get(label-1).internal.add(inner);
+				trace(x, y - 1, false, inner);
+			}
+		}
+	}
+
+	/**
+	 * Traces a contour the same way as {@link ContourTracer}
+	 */
+	private void trace( int initialX , int initialY , boolean external , List<Point2D_I32> contour ) {
+		int initialDir;
+		if( rule == ConnectRule.EIGHT )
+			initialDir = external ? 7 : 3;
+		else
+			initialDir = external ? 0 : 2;
+
+		dir = initialDir;
+		x = initialX;
+		y = initialY;
+
+		add(contour);
+
+		// find the next black pixel.  handle case where its an isolated point
+		if( !searchBlack() ) {
+			return;
+		} else {
+			initialDir = dir;
+			moveToNext();
+		}
+
+		while( true ) {
+			searchBlack();
+			if( x == initialX && y == initialY && dir == initialDir ) {
+				return;
+			} else {
+				add(contour);
+				moveToNext();
+			}
+		}
+	}
+
+	/**
+	 * Searches in a circle around the current point in a clock-wise direction for the first black pixel.
+	 */
+	private boolean searchBlack() {
+		for( int i = 0; i < ruleN; i++ ) {
+			int px = x + dx[dir], py = y + dy[dir];
+			if( binary.isInBounds(px,py) && binary.findRun(px,py) >= 0 )
+				return true;
+			dir = (dir+1)%ruleN;
+		}
+		return false;
+	}
+
+	private void moveToNext() {
+		x += dx[dir];
+		y += dy[dir];
+		dir = nextDirection[dir];
+	}
+
+	private void add( List<Point2D_I32> contour ) {
+		Point2D_I32 p = storagePoints.grow();
+		p.set(x,y);
+		contour.add(p);
+	}
+
+	/**
+	 * Label of each run in the image.  Labels start at 1.
+	 */
+	public GrowQueue_I32 getRunLabels() {
+		return runLabels;
+	}
+
+	/**
+	 * Number of blobs which were found
+	 */
+	public int getNumberOfLabels() {
+		return numLabels;
+	}
+
+	/**
+	 * Contours of each blob.  The contour of the blob with label 'i' is at index i-1.  Empty if contours are
+	 * not being saved.
+	 */
+	public FastQueue<Contour> getContours() {
+		return contours;
+	}
+
+	public boolean isSaveContours() {
+		return saveContours;
+	}
+
+	/**
+	 * If false then contours are not found and only the blobs are labeled.
+	 */
+	public void setSaveContours(boolean saveContours) {
+		this.saveContours = saveContours;
+	}
+
+	public ConnectRule getRule() {
+		return rule;
+	}
+}
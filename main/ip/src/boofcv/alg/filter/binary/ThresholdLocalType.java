@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.filter.binary;
+
+/**
+ * Equations used to compute a local threshold from the mean 'm' and standard deviation 's' of the pixels inside
+ * a local region.  See {@link boofcv.alg.filter.binary.impl.ThresholdLocalIntegral}.
+ *
+ * @author Peter Abeles
+ */
+public enum ThresholdLocalType {
+	/**
+	 * T = m + k, where 'k' is a bias
+	 */
+	MEAN,
+	/**
+	 * T = m*(1 + k*(s/R - 1)), where R is the maximum standard deviation in the image.  Try k = 0.3
+	 */
+	SAUVOLA,
+	/**
+	 * T = m + k*s.  Try k = -0.2 when thresholding down.
+	 */
+	NIBLACK,
+	/**
+	 * T = (1-k)*m + k*M + k*(s/R)*(m - M), where M is the minimum pixel value and R is the maximum
+	 * standard deviation in the image.  Try k = 0.5
+	 */
+	WOLF
+}
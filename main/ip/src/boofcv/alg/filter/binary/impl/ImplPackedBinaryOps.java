@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.filter.binary.impl;
+
+import boofcv.struct.image.PackedBinaryImage;
+
+/**
+ * <p>
+ * Word parallel implementations of binary morphological operations for {@link PackedBinaryImage}.  Neighboring
+ * pixels along a row are found by shifting the words, so 64 pixels are processed with each operation.  The
+ * entire image is processed, including the border.  Pixels outside the image are treated as one when eroding
+ * and zero when dilating, the same as {@link ImplBinaryBorderOps}.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplPackedBinaryOps {
+
+	public static void erode4( PackedBinaryImage input , PackedBinaryImage output ) {
+		morph(input, output, false, false);
+	}
+
+	public static void erode8( PackedBinaryImage input , PackedBinaryImage output ) {
+		morph(input, output, false, true);
+	}
+
+	public static void dilate4( PackedBinaryImage input , PackedBinaryImage output ) {
+		morph(input, output, true, false);
+	}
+
+	public static void dilate8( PackedBinaryImage input , PackedBinaryImage output ) {
+		morph(input, output, true, true);
+	}
+
+	/**
+	 * Applies erode or dilate.  For each output word the words above, below, and to either side are loaded
+	 * and then combined.
+	 */
+	private static void morph( PackedBinaryImage input , PackedBinaryImage output , boolean dilate , boolean eight ) {
+		final long data[] = input.data;
+		final int stride = input.stride;
+		final long outside = dilate ? 0L : ~0L;
+		// unused bits at the end of the row need to have the same value as outside the image
+		final long pad = outside & ~input.getLastWordMask();
+		final long lastMask = input.getLastWordMask();
+
+		for( int y = 0; y < input.height; y++ ) {
+			// index of the start of each row or -1 if outside the image
+			int rowA = y > 0 ? (y-1)*stride : -1;
+			int rowC = y*stride;
+			int rowB = y < input.height-1 ? (y+1)*stride : -1;
+
+			long a0 = outside, c0 = outside, b0 = outside;
+			long a1 = load(data, rowA, 0, stride, outside, pad);
+			long c1 = load(data, rowC, 0, stride, outside, pad);
+			long b1 = load(data, rowB, 0, stride, outside, pad);
+
+			for( int i = 0; i < stride; i++ ) {
+				long a2,c2,b2;
+				if( i+1 < stride ) {
+					a2 = load(data, rowA, i+1, stride, outside, pad);
+					c2 = load(data, rowC, i+1, stride, outside, pad);
+					b2 = load(data, rowB, i+1, stride, outside, pad);
+				} else {
+					a2 = c2 = b2 = outside;
+				}
+
+				long v;
+				if( dilate ) {
+					if( eight ) {
+						long p = a0|c0|b0, c = a1|c1|b1, n = a2|c2|b2;
+						v = c | shiftLeft(p,c) | shiftRight(c,n);
+					} else {
+						v = c1 | a1 | b1 | shiftLeft(c0,c1) | shiftRight(c1,c2);
+					}
+				} else {
+					if( eight ) {
+						long p = a0&c0&b0, c = a1&c1&b1, n = a2&c2&b2;
+						v = c & shiftLeft(p,c) & shiftRight(c,n);
+					} else {
+						v = c1 & a1 & b1 & shiftLeft(c0,c1) & shiftRight(c1,c2);
+					}
+				}
+				output.data[rowC+i] = i == stride-1 ? v & lastMask : v;
+
+				a0 = a1; a1 = a2;
+				c0 = c1; c1 = c2;
+				b0 = b1; b1 = b2;
+			}
+		}
+	}
+
+	/**
+	 * The edge is all the pixels in the input which are not in the eroded image
+	 */
+	public static void edge4( PackedBinaryImage input , PackedBinaryImage output ) {
+		erode4(input, output);
+		int N = input.stride*input.height;
+		for( int i = 0; i < N; i++ )
+			output.data[i] = input.data[i] & ~output.data[i];
+	}
+
+	/**
+	 * The edge is all the pixels in the input which are not in the eroded image
+	 */
+	public static void edge8( PackedBinaryImage input , PackedBinaryImage output ) {
+		erode8(input, output);
+		int N = input.stride*input.height;
+		for( int i = 0; i < N; i++ )
+			output.data[i] = input.data[i] & ~output.data[i];
+	}
+
+	/**
+	 * Returns the word at the specified row and word index.  If the row is outside the image every bit
+	 * has the value of 'outside'.  The unused bits at the end of the row are set to 'pad'.
+	 */
+	private static long load( long data[] , int row , int i , int stride , long outside , long pad ) {
+		if( row < 0 )
+			return outside;
+		long w = data[row+i];
+		return i == stride-1 ? w | pad : w;
+	}
+
+	/**
+	 * Bit x in the returned word is the value of pixel x-1
+	 */
+	private static long shiftLeft( long prev , long current ) {
+		return (current << 1) | (prev >>> 63);
+	}
+
+	/**
+	 * Bit x in the returned word is the value of pixel x+1
+	 */
+	private static long shiftRight( long current , long next ) {
+		return (current >>> 1) | (next << 63);
+	}
+}
@@ -0,0 +1,405 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.filter.binary.impl;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.alg.filter.binary.ThresholdLocalType;
+import boofcv.alg.misc.ImageStatistics;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.InstanceFactory;
+import boofcv.concurrency.InstancePool;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.core.image.ConvertImage;
+import boofcv.core.image.GConvertImage;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * <p>
+ * Adaptive threshold where the threshold of each pixel is computed from the mean and standard deviation of the
+ * pixels inside a square region centered around it.  The equation used is specified by {@link ThresholdLocalType}.
+ * Local statistics are computed using integral images of the input and the input squared, so the cost per
+ * pixel does not depend on the radius.  Along the image border the local region is clipped so that only
+ * pixels inside the image are used.
+ * </p>
+ *
+ * <p>
+ * The integral images and the column sums used by each thread are stored internally and recycled between calls.
+ * If {@link BoofConcurrency#USE_CONCURRENT} is true then rows are processed in parallel.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ThresholdLocalIntegral {
+
+	// equation used to compute the threshold
+	ThresholdLocalType type;
+	// radius of the local region
+	int radius;
+	// tuning parameter.  Meaning depends on the type
+	double k;
+	// should it threshold down or up
+	boolean down;
+
+	// Integral images of the input and the input squared.  They have an extra row and column of zeros
+	// at the start so that no special case is needed for the image border
+	double sum[] = new double[0];
+	double sumSq[] = new double[0];
+	int stride;
+
+	// storage for the column sums.  One is needed for each thread
+	InstancePool<ColumnSums> columnSums = new InstancePool<ColumnSums>(new InstanceFactory<ColumnSums>() {
+		@Override
+		public ColumnSums newInstance() {
+			return new ColumnSums();
+		}
+	});
+
+	// input image copied into a float image, only used for ImageUInt8 input
+	ImageFloat32 work = new ImageFloat32(1,1);
+
+	// largest local variance in each row
+	double rowMaxVariance[] = new double[0];
+
+	// statistics for the entire image used by some of the thresholds
+	double maxStdev;
+	double minValue;
+
+	/**
+	 * Configures the algorithm.
+	 *
+	 * @param type Which equation is used to compute the threshold.
+	 * @param radius Radius of the local square region.
+	 * @param k Tuning parameter.  See {@link ThresholdLocalType} for how it is used.
+	 * @param down Threshold down or up
+	 */
+	public ThresholdLocalIntegral(ThresholdLocalType type, int radius, double k, boolean down) {
+		if( radius < 0 )
+			throw new IllegalArgumentException("Radius must be >= 0");
+		this.type = type;
+		this.radius = radius;
+		this.k = k;
+		this.down = down;
+	}
+
+	/**
+	 * Converts the input image into a binary image.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output Output binary image.  Modified.
+	 */
+	public void process( ImageUInt8 input , ImageUInt8 output ) {
+		work.reshape(input.width,input.height);
+		ConvertImage.convert(input,work);
+		process(work, output);
+	}
+
+	/**
+	 * Converts the input image into a binary image.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output Output binary image.  Modified.
+	 */
+	public void process( final ImageFloat32 input , final ImageUInt8 output ) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int width = input.width, height = input.height;
+		stride = width+1;
+		int N = stride*(height+1);
+		if( sum.length < N ) {
+			sum = new double[N];
+			sumSq = new double[N];
+		}
+
+		// sum along each row, then down each column
+		loop(0, height, width, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				computeRows(input, y0, y1);
+			}
+		});
+		loop(0, width+1, height, new IntRangeTask() {
+			@Override
+			public void process(int x0, int x1) {
+				computeColumns(height, x0, x1);
+			}
+		});
+
+		if( type == ThresholdLocalType.SAUVOLA || type == ThresholdLocalType.WOLF ) {
+			computeMaxStdev(width, height);
+		}
+		if( type == ThresholdLocalType.WOLF ) {
+			minValue = ImageStatistics.min(input);
+		}
+
+		loop(0, height, width, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ColumnSums columns = columnSums.grab();
+				try {
+					threshold(input, output, y0, y1, columns);
+				} finally {
+					columnSums.release(columns);
+				}
+			}
+		});
+	}
+
+	private void loop( int start , int end , int workPerIndex , IntRangeTask task ) {
+		if( BoofConcurrency.isConcurrent((long)(end-start)*workPerIndex) )
+			BoofConcurrency.loopBlocks(start, end, workPerIndex, task);
+		else
+			task.process(start,end);
+	}
+
+	/**
+	 * Computes the cumulative sum along each row
+	 */
+	void computeRows( ImageFloat32 input , int y0 , int y1 ) {
+		if( y0 == 0 ) {
+			for( int x = 0; x < stride; x++ ) {
+				sum[x] = 0;
+				sumSq[x] = 0;
+			}
+		}
+		for( int y = y0; y < y1; y++ ) {
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = (y+1)*stride;
+			sum[indexOut] = 0;
+			sumSq[indexOut] = 0;
+
+			double total = 0, totalSq = 0;
+			for( int x = 0; x < input.width; x++ ) {
+				double v = input.data[indexIn++];
+				total += v;
+				totalSq += v*v;
+				indexOut++;
+				sum[indexOut] = total;
+				sumSq[indexOut] = totalSq;
+			}
+		}
+	}
+
+	/**
+	 * Adds the rows together to finish the integral images
+	 */
+	void computeColumns( int height , int x0 , int x1 ) {
+		for( int y = 2; y <= height; y++ ) {
+			int index = y*stride + x0;
+			int end = y*stride + x1;
+			for( ; index < end; index++ ) {
+				sum[index] += sum[index-stride];
+				sumSq[index] += sumSq[index-stride];
+			}
+		}
+	}
+
+	/**
+	 * Finds the largest local standard deviation in the image
+	 */
+	private void computeMaxStdev( final int width , final int height ) {
+		if( rowMaxVariance.length < height )
+			rowMaxVariance = new double[height];
+		loop(0, height, width, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ColumnSums columns = columnSums.grab();
+				try {
+					computeMaxVariance(width, height, y0, y1, columns, rowMaxVariance);
+				} finally {
+					columnSums.release(columns);
+				}
+			}
+		});
+
+		double max = 0;
+		for( int y = 0; y < height; y++ )
+			max = Math.max(max,rowMaxVariance[y]);
+		maxStdev = Math.sqrt(max);
+	}
+
+	/**
+	 * Finds the largest local variance in each row
+	 */
+	private void computeMaxVariance( int width , int height , int y0 , int y1 , ColumnSums columns , double found[] ) {
+		columns.resize(width+1);
+		double colSum[] = columns.sum;
+		double colSumSq[] = columns.sumSq;
+
+		for( int y = y0; y < y1; y++ ) {
+			int rows = sumColumns(y, height, colSum, colSumSq);
+
+			double invAreaInner = 1.0/((2*radius+1)*rows);
+			double max = 0;
+			for( int x = 0; x < width; x++ ) {
+				int left = x - radius, right = x + radius + 1;
+				double invArea;
+				if( left < 0 || right > width ) {
+					left = Math.max(0, left);
+					right = Math.min(width, right);
+					invArea = 1.0/((right-left)*rows);
+				} else {
+					invArea = invAreaInner;
+				}
+				double mean = (colSum[right]-colSum[left])*invArea;
+				double variance = (colSumSq[right]-colSumSq[left])*invArea - mean*mean;
+				if( variance > max )
+					max = variance;
+			}
+			found[y] = max;
+		}
+	}
+
+	/**
+	 * Applies the threshold to each row
+	 */
+	void threshold( ImageFloat32 input , ImageUInt8 output , int y0 , int y1 , ColumnSums columns ) {
+		final int width = input.width, height = input.height;
+		// avoid divide by zero in images with no variation
+		final double invR = 1.0/(maxStdev > 0 ? maxStdev : 1);
+		final boolean needStdev = type != ThresholdLocalType.MEAN;
+
+		columns.resize(width+1);
+		double colSum[] = columns.sum;
+		double colSumSq[] = needStdev ? columns.sumSq : null;
+
+		for( int y = y0; y < y1; y++ ) {
+			int rows = sumColumns(y, height, colSum, colSumSq);
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			// the area is the same for all pixels away from the left and right border
+			double invAreaInner = 1.0/((2*radius+1)*rows);
+
+			for( int x = 0; x < width; x++ ) {
+				int left = x - radius, right = x + radius + 1;
+				double invArea;
+				if( left < 0 || right > width ) {
+					left = Math.max(0, left);
+					right = Math.min(width, right);
+					invArea = 1.0/((right-left)*rows);
+				} else {
+					invArea = invAreaInner;
+				}
+				double mean = (colSum[right]-colSum[left])*invArea;
+
+				double threshold;
+				if( needStdev ) {
+					double variance = (colSumSq[right]-colSumSq[left])*invArea - mean*mean;
+					double stdev = variance > 0 ? Math.sqrt(variance) : 0;
+
+					switch( type ) {
+						case SAUVOLA: threshold = mean*(1.0 + k*(stdev*invR - 1.0)); break;
+						case NIBLACK: threshold = mean + k*stdev; break;
+						default: threshold = (1.0-k)*mean + k*minValue + k*(stdev*invR)*(mean - minValue); break;
+					}
+				} else {
+					threshold = mean + k;
+				}
+
+				float value = input.data[indexIn++];
+				if( down )
+					output.data[indexOut++] = (byte)(value <= threshold ? 1 : 0);
+				else
+					output.data[indexOut++] = (byte)(value >= threshold ? 1 : 0);
+			}
+		}
+	}
+
+	/**
+	 * Computes the sum of each column in the integral image across the rows in the local region around
+	 * row 'y'.  Then the sum inside a local region is the difference of two elements.
+	 *
+	 * @return number of rows in the local region
+	 */
+	private int sumColumns( int y , int height , double colSum[] , double colSumSq[] ) {
+		int top = Math.max(0, y - radius), bottom = Math.min(height, y + radius + 1);
+		int indexTop = top*stride, indexBottom = bottom*stride;
+		for( int x = 0; x < stride; x++ ) {
+			colSum[x] = sum[indexBottom+x] - sum[indexTop+x];
+		}
+		if( colSumSq != null ) {
+			for( int x = 0; x < stride; x++ ) {
+				colSumSq[x] = sumSq[indexBottom+x] - sumSq[indexTop+x];
+			}
+		}
+		return bottom-top;
+	}
+
+	/**
+	 * Converts any single band image into a binary image.  Images which are not {@link ImageFloat32} or
+	 * {@link ImageUInt8} are first converted into a {@link ImageFloat32}.
+	 */
+	public void process( ImageSingleBand input , ImageUInt8 output ) {
+		if( input instanceof ImageFloat32 ) {
+			process((ImageFloat32)input,output);
+		} else if( input instanceof ImageUInt8 ) {
+			process((ImageUInt8)input,output);
+		} else {
+			work.reshape(input.width,input.height);
+			GConvertImage.convert(input,work);
+			process(work,output);
+		}
+	}
+
+	/**
+	 * Storage for the sum of each column inside the local region
+	 */
+	static class ColumnSums {
+		double sum[] = new double[0];
+		double sumSq[] = new double[0];
+
+		public void resize( int length ) {
+			if( sum.length < length ) {
+				sum = new double[length];
+				sumSq = new double[length];
+			}
+		}
+	}
+
+	public ThresholdLocalType getType() {
+		return type;
+	}
+
+	public int getRadius() {
+		return radius;
+	}
+
+	public void setRadius(int radius) {
+		this.radius = radius;
+	}
+
+	public double getK() {
+		return k;
+	}
+
+	public void setK(double k) {
+		this.k = k;
+	}
+
+	public boolean isDown() {
+		return down;
+	}
+
+	public void setDown(boolean down) {
+		this.down = down;
+	}
+}
@@ -19,18 +19,29 @@
 package boofcv.alg.filter.blur;
 
 import boofcv.alg.InputSanityCheck;
+import boofcv.alg.filter.blur.impl.ImplMedianHistogramConstant;
+import boofcv.alg.filter.blur.impl.ImplMedianHistogramConstant_MT;
 import boofcv.alg.filter.blur.impl.ImplMedianHistogramInner;
 import boofcv.alg.filter.blur.impl.ImplMedianSortEdgeNaive;
 import boofcv.alg.filter.blur.impl.ImplMedianSortNaive;
 import boofcv.alg.filter.convolve.ConvolveImageMean;
 import boofcv.alg.filter.convolve.ConvolveNormalized;
+import boofcv.alg.misc.ImageStatistics;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.ImageBandTask;
 import boofcv.core.image.GeneralizedImageOps;
+import boofcv.core.image.border.BorderType;
+import boofcv.factory.filter.kernel.FactoryKernel;
 import boofcv.factory.filter.kernel.FactoryKernelGaussian;
 import boofcv.struct.convolve.Kernel1D_F32;
 import boofcv.struct.convolve.Kernel1D_I32;
+import boofcv.struct.image.ImageBase;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageUInt16;
 import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.InterleavedF32;
+import boofcv.struct.image.InterleavedU8;
 import boofcv.struct.image.MultiSpectral;
 
 /**
@@ -41,6 +52,25 @@ import boofcv.struct.image.MultiSpectral;
  */
 public class BlurImageOps {
 
+	/**
+	 * Radius at which the median filter for ImageUInt8 switches to {@link ImplMedianHistogramConstant}.  Below
+	 * this radius the sliding histogram in {@link ImplMedianHistogramInner} is faster.
+	 */
+	public static final int MEDIAN_CONSTANT_RADIUS = 5;
+
+	/**
+	 * Radius at which the median filter for ImageUInt16 switches to {@link ImplMedianHistogramConstant}.  Below
+	 * this radius sorting the pixels in the region with {@link ImplMedianSortNaive} is faster.
+	 */
+	public static final int MEDIAN_CONSTANT_RADIUS_U16 = 2;
+
+	/**
+	 * Sigma at which Gaussian blur inside of scale-space construction switches to {@link RecursiveGaussian}, when
+	 * the recursive Gaussian has been requested.  Below this sigma convolution with a kernel is faster and more
+	 * accurate.
+	 */
+	public static final double RECURSIVE_GAUSSIAN_SIGMA = 10;
+
 	/**
 	 * Applies a mean box filter.
 	 *
@@ -50,7 +80,7 @@ public class BlurImageOps {
 	 * @param storage (Optional) Storage for intermediate results.  Same size as input image.  Can be null.
 	 * @return Output blurred image.
 	 */
-	public static ImageUInt8 mean(ImageUInt8 input, ImageUInt8 output, int radius, ImageUInt8 storage) {
+	public static ImageUInt8 mean(ImageUInt8 input, ImageUInt8 output, final int radius, ImageUInt8 storage) {
 
 		if( radius <= 0 )
 			throw new IllegalArgumentException("Radius must be > 0");
@@ -58,14 +88,32 @@ public class BlurImageOps {
 		output = InputSanityCheck.checkDeclare(input,output);
 		storage = InputSanityCheck.checkDeclare(input,storage);
 
-		ConvolveImageMean.horizontal(input,storage,radius);
-		ConvolveImageMean.vertical(storage, output, radius);
+		if( BoofConcurrency.isConcurrent(2*input.width*input.height) ) {
+			// each row is independent in the horizontal pass and each column in the vertical pass
+			new ImageBandTask(input,storage) {
+				@Override
+				protected void processBand(ImageBase[] b) {
+					ConvolveImageMean.horizontal((ImageUInt8)b[0],(ImageUInt8)b[1],radius);
+				}
+			}.processRows();
+			new ImageBandTask(storage,output) {
+				@Override
+				protected void processBand(ImageBase[] b) {
+					ConvolveImageMean.vertical((ImageUInt8)b[0],(ImageUInt8)b[1],radius);
+				}
+			}.processColumns();
+		} else {
+			ConvolveImageMean.horizontal(input,storage,radius);
+			ConvolveImageMean.vertical(storage, output, radius);
+		}
 
 		return output;
 	}
 
 	/**
-	 * Applies a median filter.
+	 * Applies a median filter.  For radii of {@link #MEDIAN_CONSTANT_RADIUS} or larger a filter whose cost per
+	 * pixel doesn't depend on the radius is used, see {@link ImplMedianHistogramConstant}, which is computed in
+	 * parallel if concurrency is turned on.
 	 *
 	 * @param input Input image.  Not modified.
 	 * @param output (Optional) Storage for output image, Can be null.  Modified.
@@ -78,6 +126,14 @@ public class BlurImageOps {
 
 		output = InputSanityCheck.checkDeclare(input,output);
 
+		if( radius >= MEDIAN_CONSTANT_RADIUS ) {
+			if( BoofConcurrency.isConcurrent(input.width*input.height) )
+				ImplMedianHistogramConstant_MT.process(input, output, radius);
+			else
+				new ImplMedianHistogramConstant().process(input, output, radius);
+			return output;
+		}
+
 		int w = radius*2+1;
 		int offset[] = new int[ w*w ];
 		int histogram[] = new int[ 256 ];
@@ -88,6 +144,33 @@ public class BlurImageOps {
 		return output;
 	}
 
+	/**
+	 * Applies a median filter.  For radii of {@link #MEDIAN_CONSTANT_RADIUS_U16} or larger a filter whose cost per
+	 * pixel doesn't depend on the radius is used, see {@link ImplMedianHistogramConstant}, which is computed in
+	 * parallel if concurrency is turned on.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output (Optional) Storage for output image, Can be null.  Modified.
+	 * @param radius Radius of the median blur function.
+	 * @return Output blurred image.
+	 */
+	public static ImageUInt16 median(ImageUInt16 input, ImageUInt16 output, int radius) {
+		if( radius <= 0 )
+			throw new IllegalArgumentException("Radius must be > 0");
+
+		output = InputSanityCheck.checkDeclare(input,output);
+
+		if( radius < MEDIAN_CONSTANT_RADIUS_U16 ) {
+			ImplMedianSortNaive.process(input, output, radius, null);
+		} else if( BoofConcurrency.isConcurrent(input.width*input.height) ) {
+			ImplMedianHistogramConstant_MT.process(input, output, radius);
+		} else {
+			new ImplMedianHistogramConstant().process(input, output, radius, ImageStatistics.max(input));
+		}
+
+		return output;
+	}
+
 	/**
 	 * Applies Gaussian blur.
 	 *
@@ -111,6 +194,25 @@ public class BlurImageOps {
 		return output;
 	}
 
+	/**
+	 * Applies Gaussian blur using {@link RecursiveGaussian}, whose cost does not depend on sigma.  When
+	 * called repeatedly, use {@link RecursiveGaussian} directly to avoid declaring memory each time.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output (Optional) Storage for output image, Can be null.  Modified.
+	 * @param sigma Gaussian distribution's sigma.  Must be &ge; 0.5
+	 * @param border How the image border is handled.
+	 * @return Output blurred image.
+	 */
+	public static ImageUInt8 gaussianRecursive(ImageUInt8 input, ImageUInt8 output, double sigma ,
+											   BorderType border ) {
+		output = InputSanityCheck.checkDeclare(input,output);
+
+		new RecursiveGaussian(sigma,border).process(input,output);
+
+		return output;
+	}
+
 	/**
 	 * Applies a mean box filter.
 	 *
@@ -120,7 +222,7 @@ public class BlurImageOps {
 	 * @param storage (Optional) Storage for intermediate results.  Same size as input image.  Can be null.
 	 * @return Output blurred image.
 	 */
-	public static ImageFloat32 mean(ImageFloat32 input, ImageFloat32 output, int radius, ImageFloat32 storage) {
+	public static ImageFloat32 mean(ImageFloat32 input, ImageFloat32 output, final int radius, ImageFloat32 storage) {
 
 		if( radius <= 0 )
 			throw new IllegalArgumentException("Radius must be > 0");
@@ -128,8 +230,24 @@ public class BlurImageOps {
 		output = InputSanityCheck.checkDeclare(input,output);
 		storage = InputSanityCheck.checkDeclare(input,storage);
 
-		ConvolveImageMean.horizontal(input,storage,radius);
-		ConvolveImageMean.vertical(storage,output,radius);
+		if( BoofConcurrency.isConcurrent(2*input.width*input.height) ) {
+			// each row is independent in the horizontal pass and each column in the vertical pass
+			new ImageBandTask(input,storage) {
+				@Override
+				protected void processBand(ImageBase[] b) {
+					ConvolveImageMean.horizontal((ImageFloat32)b[0],(ImageFloat32)b[1],radius);
+				}
+			}.processRows();
+			new ImageBandTask(storage,output) {
+				@Override
+				protected void processBand(ImageBase[] b) {
+					ConvolveImageMean.vertical((ImageFloat32)b[0],(ImageFloat32)b[1],radius);
+				}
+			}.processColumns();
+		} else {
+			ConvolveImageMean.horizontal(input,storage,radius);
+			ConvolveImageMean.vertical(storage,output,radius);
+		}
 
 		return output;
 	}
@@ -178,6 +296,25 @@ public class BlurImageOps {
 		return output;
 	}
 
+	/**
+	 * Applies Gaussian blur using {@link RecursiveGaussian}, whose cost does not depend on sigma.  When
+	 * called repeatedly, use {@link RecursiveGaussian} directly to avoid declaring memory each time.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output (Optional) Storage for output image, Can be null.  Modified.
+	 * @param sigma Gaussian distribution's sigma.  Must be &ge; 0.5
+	 * @param border How the image border is handled.
+	 * @return Output blurred image.
+	 */
+	public static ImageFloat32 gaussianRecursive(ImageFloat32 input, ImageFloat32 output, double sigma ,
+												 BorderType border ) {
+		output = InputSanityCheck.checkDeclare(input,output);
+
+		new RecursiveGaussian(sigma,border).process(input,output);
+
+		return output;
+	}
+
 	/**
 	 * Applies mean box filter to a {@link MultiSpectral}
 	 *
@@ -247,4 +384,104 @@ public class BlurImageOps {
 		}
 		return output;
 	}
+
+	/**
+	 * Applies a mean box filter to an interleaved image.  Each band is processed independently without
+	 * splitting the image into bands.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output (Optional) Storage for output image, Can be null.  Modified.
+	 * @param radius Radius of the box blur function.
+	 * @param storage (Optional) Storage for intermediate results.  Same size as input image.  Can be null.
+	 * @return Output blurred image.
+	 */
+	public static InterleavedU8 mean(InterleavedU8 input, InterleavedU8 output, int radius, InterleavedU8 storage) {
+
+		if( radius <= 0 )
+			throw new IllegalArgumentException("Radius must be > 0");
+
+		output = InputSanityCheck.checkDeclare(input,output);
+		storage = InputSanityCheck.checkDeclare(input,storage);
+
+		Kernel1D_I32 kernel = FactoryKernel.table1D_I32(radius);
+
+		ConvolveNormalized.horizontal(kernel,input,storage);
+		ConvolveNormalized.vertical(kernel,storage,output);
+
+		return output;
+	}
+
+	/**
+	 * Applies Gaussian blur to an interleaved image.  Each band is processed independently without
+	 * splitting the image into bands.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output (Optional) Storage for output image, Can be null.  Modified.
+	 * @param sigma Gaussian distribution's sigma.  If <= 0 then will be selected based on radius.
+	 * @param radius Radius of the Gaussian blur function. If <= 0 then radius will be determined by sigma.
+	 * @param storage (Optional) Storage for intermediate results.  Same size as input image.  Can be null.
+	 * @return Output blurred image.
+	 */
+	public static InterleavedU8 gaussian(InterleavedU8 input, InterleavedU8 output, double sigma , int radius,
+										InterleavedU8 storage ) {
+		output = InputSanityCheck.checkDeclare(input,output);
+		storage = InputSanityCheck.checkDeclare(input,storage);
+
+		Kernel1D_I32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_I32.class,sigma,radius);
+
+		ConvolveNormalized.horizontal(kernel,input,storage);
+		ConvolveNormalized.vertical(kernel,storage,output);
+
+		return output;
+	}
+
+	/**
+	 * Applies a mean box filter to an interleaved image.  Each band is processed independently without
+	 * splitting the image into bands.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output (Optional) Storage for output image, Can be null.  Modified.
+	 * @param radius Radius of the box blur function.
+	 * @param storage (Optional) Storage for intermediate results.  Same size as input image.  Can be null.
+	 * @return Output blurred image.
+	 */
+	public static InterleavedF32 mean(InterleavedF32 input, InterleavedF32 output, int radius, InterleavedF32 storage) {
+
+		if( radius <= 0 )
+			throw new IllegalArgumentException("Radius must be > 0");
+
+		output = InputSanityCheck.checkDeclare(input,output);
+		storage = InputSanityCheck.checkDeclare(input,storage);
+
+		Kernel1D_F32 kernel = FactoryKernel.table1D_F32(radius,true);
+
+		ConvolveNormalized.horizontal(kernel,input,storage);
+		ConvolveNormalized.vertical(kernel,storage,output);
+
+		return output;
+	}
+
+	/**
+	 * Applies Gaussian blur to an interleaved image.  Each band is processed independently without
+	 * splitting the image into bands.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output (Optional) Storage for output image, Can be null.  Modified.
+	 * @param sigma Gaussian distribution's sigma.  If <= 0 then will be selected based on radius.
+	 * @param radius Radius of the Gaussian blur function. If <= 0 then radius will be determined by sigma.
+	 * @param storage (Optional) Storage for intermediate results.  Same size as input image.  Can be null.
+	 * @return Output blurred image.
+	 */
+	public static InterleavedF32 gaussian(InterleavedF32 input, InterleavedF32 output, double sigma , int radius,
+										InterleavedF32 storage ) {
+		output = InputSanityCheck.checkDeclare(input,output);
+		storage = InputSanityCheck.checkDeclare(input,storage);
+
+		Kernel1D_F32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_F32.class,sigma,radius);
+
+		ConvolveNormalized.horizontal(kernel,input,storage);
+		ConvolveNormalized.vertical(kernel,storage,output);
+
+		return output;
+	}
 }
@@ -18,6 +18,7 @@
 
 package boofcv.alg.filter.blur;
 
+import boofcv.core.image.border.BorderType;
 import boofcv.struct.image.*;
 
 
@@ -25,6 +26,11 @@ import boofcv.struct.image.*;
  * Generalized functions for applying different image blur operators.  Invokes functions
  * from {@link BlurImageOps}, which provides type specific functions.
  *
+ * Mean and Gaussian blur, and the median filter for integer images once the radius is large enough for the
+ * constant time algorithm, are computed in parallel if {@link boofcv.concurrency.BoofConcurrency#USE_CONCURRENT}
+ * is true and the image is large enough.  The number of threads and which executor they run on is configured
+ * through {@link boofcv.concurrency.BoofConcurrency}.
+ *
  * @author Peter Abeles
  */
 public class GBlurImageOps {
@@ -65,6 +71,8 @@ public class GBlurImageOps {
 	T median(T input, T output, int radius ) {
 		if( input instanceof ImageUInt8 ) {
 			return (T)BlurImageOps.median((ImageUInt8) input, (ImageUInt8) output, radius);
+		} else if( input instanceof ImageUInt16 ) {
+			return (T)BlurImageOps.median((ImageUInt16) input, (ImageUInt16) output, radius);
 		} else if( input instanceof ImageFloat32) {
 			return (T)BlurImageOps.median((ImageFloat32) input, (ImageFloat32) output, radius);
 		} else if( input instanceof MultiSpectral ) {
@@ -97,4 +105,26 @@ public class GBlurImageOps {
 			throw new IllegalArgumentException("Unsupported image type: "+input.getClass().getSimpleName());
 		}
 	}
+
+	/**
+	 * Applies Gaussian blur using {@link RecursiveGaussian}, whose cost does not depend on sigma.
+	 * Supports ImageUInt8 and ImageFloat32.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output (Optional) Storage for output image, Can be null.  Modified.
+	 * @param sigma Gaussian distribution's sigma.  Must be &ge; 0.5
+	 * @param border How the image border is handled.
+	 * @param <T> Input image type.
+	 * @return Output blurred image.
+	 */
+	public static <T extends ImageSingleBand>
+	T gaussianRecursive(T input, T output, double sigma , BorderType border ) {
+		if( input instanceof ImageUInt8 ) {
+			return (T)BlurImageOps.gaussianRecursive((ImageUInt8)input,(ImageUInt8)output,sigma,border);
+		} else if( input instanceof ImageFloat32) {
+			return (T)BlurImageOps.gaussianRecursive((ImageFloat32)input,(ImageFloat32)output,sigma,border);
+		} else  {
+			throw new IllegalArgumentException("Unsupported image type: "+input.getClass().getSimpleName());
+		}
+	}
 }
@@ -0,0 +1,642 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.blur;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.core.image.border.BorderIndex1D;
+import boofcv.core.image.border.BorderIndex1D_Reflect;
+import boofcv.core.image.border.BorderIndex1D_Wrap;
+import boofcv.core.image.border.BorderType;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Recursive (IIR) approximation of Gaussian blur, using the third order filter of Young and van Vliet [1].  Each
+ * axis is filtered with a causal pass followed by an anti-causal pass.  Unlike convolution with a
+ * {@link boofcv.struct.convolve.Kernel1D}, whose width grows with sigma, the cost per pixel is constant.  For small
+ * sigma convolution is faster and more accurate, see {@link BlurImageOps#RECURSIVE_GAUSSIAN_SIGMA}.
+ * </p>
+ *
+ * <p>
+ * Image borders are handled as specified by {@link BorderType}:
+ * <ul>
+ * <li>EXTENDED and VALUE: The filter states are initialized to the response to a constant signal outside the image.
+ * The anti-causal pass is initialized with the method of Triggs and Sdika [2], which makes the result exact.</li>
+ * <li>NORMALIZED: Pixels outside the image are zero and the result is divided by the response to an image
+ * which is one inside and zero outside.</li>
+ * <li>REFLECT and WRAP: Each line is padded with 4*sigma pixels, limited by the line's length, before it's filtered.</li>
+ * </ul>
+ * SKIP is not supported.
+ * </p>
+ *
+ * <p>
+ * First order derivatives are computed by applying a central difference to the blurred image, as suggested in [1].
+ * Lines are filtered in strips with double precision accumulators.  If {@link BoofConcurrency#USE_CONCURRENT} is true
+ * then strips are processed in parallel.  Input and output can be the same image.
+ * </p>
+ *
+ * <p>
+ * [1] Young, Ian T., and Lucas J. van Vliet. "Recursive implementation of the Gaussian filter."
+ * Signal processing 44.2 (1995): 139-151.<br>
+ * [2] Triggs, Bill, and Michael Sdika. "Boundary conditions for Young-van Vliet recursive filtering."
+ * IEEE Transactions on Signal Processing 54.6 (2006): 2365-2367.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class RecursiveGaussian {
+
+	// number of lines which are filtered at the same time
+	static final int STRIP = 16;
+
+	// standard deviation of the Gaussian
+	double sigma;
+	// how the image border is handled
+	BorderType border;
+	// value of pixels outside the image for BorderType.VALUE
+	double borderValue;
+
+	// recursion coefficients.  w[n] = B*x[n] + a1*w[n-1] + a2*w[n-2] + a3*w[n-3]
+	double B, a1, a2, a3;
+	// Triggs and Sdika matrix for initializing the anti-causal pass
+	double M[] = new double[9];
+
+	// maps an index in the padded line to an index in the image
+	int tableX[] = new int[0];
+	int tableY[] = new int[0];
+	// amount of padding added to each side of a line
+	int padX, padY;
+	// normalization for each column and row.  null unless the border is NORMALIZED
+	double weightsX[];
+	double weightsY[];
+
+	// storage for the image after the horizontal pass
+	ImageFloat32 storage = new ImageFloat32(1,1);
+	// storage for the blurred image when computing derivatives
+	ImageFloat32 blurred = new ImageFloat32(1,1);
+
+	// work buffers which are not being used by any thread
+	final List<double[]> buffers = new ArrayList<double[]>();
+
+	/**
+	 * Configures the filter
+	 *
+	 * @param sigma Standard deviation of the Gaussian.  Must be &ge; 0.5
+	 * @param border How the image border is handled.
+	 */
+	public RecursiveGaussian(double sigma, BorderType border) {
+		setBorder(border);
+		setSigma(sigma);
+	}
+
+	/**
+	 * Changes the Gaussian's standard deviation and recomputes the filter coefficients.
+	 *
+	 * @param sigma Standard deviation of the Gaussian.  Must be &ge; 0.5
+	 */
+	public void setSigma( double sigma ) {
+		if( sigma < 0.5 )
+			throw new IllegalArgumentException("Sigma must be at least 0.5");
+		if( this.sigma == sigma )
+			return;
+		this.sigma = sigma;
+
+		double q;
+		if( sigma >= 2.5 )
+			q = 0.98711*sigma - 0.96330;
+		else
+			q = 3.97156 - 4.14554*Math.sqrt(1 - 0.26891*sigma);
+		computeCoefficients(q);
+
+		computeTriggsSdika();
+
+		// force the tables to be recomputed
+		tableX = new int[0];
+		tableY = new int[0];
+	}
+
+	/**
+	 * Computes the recursion coefficients from the filter parameter q, see [1]
+	 */
+	void computeCoefficients( double q ) {
+		double q2 = q*q, q3 = q2*q;
+		double b0 = 1.57825 + 2.44413*q + 1.4281*q2 + 0.422205*q3;
+		double b1 = 2.44413*q + 2.85619*q2 + 1.26661*q3;
+		double b2 = -(1.4281*q2 + 1.26661*q3);
+		double b3 = 0.422205*q3;
+
+		a1 = b1/b0;
+		a2 = b2/b0;
+		a3 = b3/b0;
+		B = 1 - (a1 + a2 + a3);
+	}
+
+	/**
+	 * Computes the matrix which maps the last three outputs of the causal pass onto the first three outputs of
+	 * the anti-causal pass.  Instead of the closed form solution, the matrix is found by filtering each of the
+	 * three impulses in the causal filter's state until it has decayed.
+	 */
+	void computeTriggsSdika() {
+		int tail = (int)(30*sigma) + 100;
+		double w[] = new double[tail];
+		double y[] = new double[tail+3];
+
+		for( int j = 0; j < 3; j++ ) {
+			// w[0], w[1], w[2] are the causal outputs at N-3, N-2, N-1
+			for( int i = 0; i < w.length; i++ )
+				w[i] = 0;
+			w[2-j] = 1;
+			for( int i = 3; i < tail; i++ )
+				w[i] = a1*w[i-1] + a2*w[i-2] + a3*w[i-3];
+
+			for( int i = 0; i < y.length; i++ )
+				y[i] = 0;
+			for( int i = tail-1; i >= 2; i-- )
+				y[i] = B*w[i] + a1*y[i+1] + a2*y[i+2] + a3*y[i+3];
+
+			// anti-causal outputs at N-1, N, N+1
+			for( int k = 0; k < 3; k++ )
+				M[k*3+j] = y[2+k];
+		}
+	}
+
+	/**
+	 * Applies Gaussian blur to the input image.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output Output image.  Can be the same as the input.  Modified.
+	 */
+	public void process( ImageFloat32 input , ImageFloat32 output ) {
+		InputSanityCheck.checkSameShape(input, output);
+		declareTables(input.width, input.height);
+		horizontal(input);
+		vertical(output);
+	}
+
+	/**
+	 * Applies Gaussian blur to the input image.  The output is rounded to the nearest integer.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output Output image.  Can be the same as the input.  Modified.
+	 */
+	public void process( ImageUInt8 input , ImageUInt8 output ) {
+		InputSanityCheck.checkSameShape(input, output);
+		declareTables(input.width, input.height);
+		horizontal(input);
+		vertical(output);
+	}
+
+	/**
+	 * Applies Gaussian blur to the input image.  The output is not rounded.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output Output image.  Modified.
+	 */
+	public void process( ImageUInt8 input , ImageFloat32 output ) {
+		InputSanityCheck.checkSameShape(input, output);
+		declareTables(input.width, input.height);
+		horizontal(input);
+		vertical(output);
+	}
+
+	/**
+	 * Computes the image gradient of the blurred image using a central difference, which approximates
+	 * convolution with the derivative of a Gaussian.  Along the image border the blurred image is extended.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param derivX Derivative along the x-axis.  Modified.
+	 * @param derivY Derivative along the y-axis.  Modified.
+	 */
+	public void gradient( ImageFloat32 input , ImageFloat32 derivX , ImageFloat32 derivY ) {
+		InputSanityCheck.checkSameShape(input, derivX, derivY);
+		blurred.reshape(input.width, input.height);
+		process(input, blurred);
+		centralDifference(derivX, derivY);
+	}
+
+	/**
+	 * Computes the image gradient of the blurred image using a central difference, which approximates
+	 * convolution with the derivative of a Gaussian.  Along the image border the blurred image is extended.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param derivX Derivative along the x-axis.  Modified.
+	 * @param derivY Derivative along the y-axis.  Modified.
+	 */
+	public void gradient( ImageUInt8 input , ImageFloat32 derivX , ImageFloat32 derivY ) {
+		InputSanityCheck.checkSameShape(input, derivX);
+		InputSanityCheck.checkSameShape(input, derivY);
+		blurred.reshape(input.width, input.height);
+		process(input, blurred);
+		centralDifference(derivX, derivY);
+	}
+
+	/**
+	 * Filters along each row and saves the results in {@link #storage}
+	 */
+	private void horizontal( final ImageFloat32 input ) {
+		loop(0, input.height, input.width, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				double buffer[] = takeBuffer(tableX.length);
+				for( int y = y0; y < y1; y += STRIP ) {
+					int count = Math.min(STRIP, y1-y);
+					readRows(input, y, count, buffer);
+					filter(buffer, tableX.length, count, weightsX, padX, input.width);
+					writeRows(buffer, y, count);
+				}
+				releaseBuffer(buffer);
+			}
+		});
+	}
+
+	/**
+	 * Filters along each row and saves the results in {@link #storage}
+	 */
+	private void horizontal( final ImageUInt8 input ) {
+		loop(0, input.height, input.width, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				double buffer[] = takeBuffer(tableX.length);
+				for( int y = y0; y < y1; y += STRIP ) {
+					int count = Math.min(STRIP, y1-y);
+					readRows(input, y, count, buffer);
+					filter(buffer, tableX.length, count, weightsX, padX, input.width);
+					writeRows(buffer, y, count);
+				}
+				releaseBuffer(buffer);
+			}
+		});
+	}
+
+	/**
+	 * Filters along each column of {@link #storage} and writes the results into the output
+	 */
+	private void vertical( final ImageFloat32 output ) {
+		loop(0, output.width, output.height, new IntRangeTask() {
+			@Override
+			public void process(int x0, int x1) {
+				double buffer[] = takeBuffer(tableY.length);
+				for( int x = x0; x < x1; x += STRIP ) {
+					int count = Math.min(STRIP, x1-x);
+					readColumns(x, count, buffer);
+					filter(buffer, tableY.length, count, weightsY, padY, output.height);
+					writeColumns(buffer, output, x, count);
+				}
+				releaseBuffer(buffer);
+			}
+		});
+	}
+
+	/**
+	 * Filters along each column of {@link #storage} and writes the results into the output
+	 */
+	private void vertical( final ImageUInt8 output ) {
+		loop(0, output.width, output.height, new IntRangeTask() {
+			@Override
+			public void process(int x0, int x1) {
+				double buffer[] = takeBuffer(tableY.length);
+				for( int x = x0; x < x1; x += STRIP ) {
+					int count = Math.min(STRIP, x1-x);
+					readColumns(x, count, buffer);
+					filter(buffer, tableY.length, count, weightsY, padY, output.height);
+					writeColumns(buffer, output, x, count);
+				}
+				releaseBuffer(buffer);
+			}
+		});
+	}
+
+	/**
+	 * Computes the derivative of {@link #blurred} using a central difference
+	 */
+	void centralDifference( final ImageFloat32 derivX , final ImageFloat32 derivY ) {
+		final int width = blurred.width;
+		final int height = blurred.height;
+
+		loop(0, height, width, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexB = y*width;
+					int indexUp = y > 0 ? indexB - width : indexB;
+					int indexDown = y < height-1 ? indexB + width : indexB;
+					int indexX = derivX.startIndex + y*derivX.stride;
+					int indexY = derivY.startIndex + y*derivY.stride;
+
+					for( int x = 0; x < width; x++ ) {
+						int left = x > 0 ? x-1 : 0;
+						int right = x < width-1 ? x+1 : x;
+						derivX.data[indexX++] = 0.5f*(blurred.data[indexB+right] - blurred.data[indexB+left]);
+						derivY.data[indexY++] = 0.5f*(blurred.data[indexDown+x] - blurred.data[indexUp+x]);
+					}
+				}
+			}
+		});
+	}
+
+	/**
+	 * Declares storage and computes the lookup tables for the padded lines
+	 */
+	void declareTables( int width , int height ) {
+		storage.reshape(width, height);
+
+		if( tableX.length == 0 || tableX.length - 2*padX != width ) {
+			padX = padding(width);
+			tableX = createTable(width, padX);
+			weightsX = createWeights(width);
+		}
+		if( tableY.length == 0 || tableY.length - 2*padY != height ) {
+			padY = padding(height);
+			tableY = createTable(height, padY);
+			weightsY = createWeights(height);
+		}
+	}
+
+	/**
+	 * Number of pixels added to each side of a line with the specified length
+	 */
+	int padding( int length ) {
+		if( border == BorderType.REFLECT )
+			return Math.min((int)Math.ceil(4*sigma), length-1);
+		else if( border == BorderType.WRAP )
+			return Math.min((int)Math.ceil(4*sigma), length);
+		return 0;
+	}
+
+	/**
+	 * Creates a table which maps an index in the padded line to an index in the image
+	 */
+	int[] createTable( int length , int pad ) {
+		int table[] = new int[ length + 2*pad ];
+
+		BorderIndex1D index;
+		if( border == BorderType.REFLECT )
+			index = new BorderIndex1D_Reflect();
+		else
+			index = new BorderIndex1D_Wrap();
+		index.setLength(length);
+
+		for( int i = 0; i < table.length; i++ ) {
+			int x = i - pad;
+			table[i] = pad == 0 ? x : index.getIndex(x);
+		}
+		return table;
+	}
+
+	/**
+	 * Computes the response to a line of ones, which is zero outside the line.  Only needed for NORMALIZED
+	 */
+	double[] createWeights( int length ) {
+		if( border != BorderType.NORMALIZED )
+			return null;
+
+		double buffer[] = new double[ (length+5)*STRIP ];
+		for( int i = 0; i < length; i++ )
+			buffer[(i+3)*STRIP] = 1;
+		filter(buffer, length, 1, null, 0, length);
+
+		double weights[] = new double[ length ];
+		for( int i = 0; i < length; i++ )
+			weights[i] = buffer[(i+3)*STRIP];
+		return weights;
+	}
+
+	/**
+	 * <p>
+	 * Filters several interleaved lines at once.  Element i of line k is stored at (i+3)*STRIP + k.  The three
+	 * elements before and two elements after each line are used to initialize the filter.
+	 * </p>
+	 *
+	 * @param buffer Contains the lines.  Results are written back into it.
+	 * @param length Length of each line, including padding
+	 * @param count Number of lines
+	 * @param weights If not null the results are divided by these weights
+	 * @param pad Amount of padding on each side of the line
+	 * @param outputLength Length of the line after the padding has been removed
+	 */
+	void filter( double buffer[] , int length , int count , double weights[] , int pad , int outputLength ) {
+		final int first = 3*STRIP;
+		final int last = (length+2)*STRIP;
+
+		// initialize the causal filter, assuming the signal is constant outside the line
+		for( int k = 0; k < count; k++ ) {
+			double u = leftValue(buffer[first+k]);
+			buffer[k] = buffer[STRIP+k] = buffer[2*STRIP+k] = u;
+			// save the last value, it will be overwritten
+			buffer[last+STRIP+k] = rightValue(buffer[last+k]);
+		}
+
+		// causal pass
+		for( int i = first; i <= last; i += STRIP ) {
+			for( int k = 0; k < count; k++ ) {
+				int index = i + k;
+				buffer[index] = B*buffer[index] + a1*buffer[index-STRIP] +
+						a2*buffer[index-2*STRIP] + a3*buffer[index-3*STRIP];
+			}
+		}
+
+		// initialize the anti-causal filter using Triggs and Sdika
+		for( int k = 0; k < count; k++ ) {
+			double u = buffer[last+STRIP+k];
+			double d0 = buffer[last+k] - u;
+			double d1 = buffer[last-STRIP+k] - u;
+			double d2 = buffer[last-2*STRIP+k] - u;
+
+			buffer[last+k]         = u + M[0]*d0 + M[1]*d1 + M[2]*d2;
+			buffer[last+STRIP+k]   = u + M[3]*d0 + M[4]*d1 + M[5]*d2;
+			buffer[last+2*STRIP+k] = u + M[6]*d0 + M[7]*d1 + M[8]*d2;
+		}
+
+		// anti-causal pass
+		for( int i = last-STRIP; i >= first; i -= STRIP ) {
+			for( int k = 0; k < count; k++ ) {
+				int index = i + k;
+				buffer[index] = B*buffer[index] + a1*buffer[index+STRIP] +
+						a2*buffer[index+2*STRIP] + a3*buffer[index+3*STRIP];
+			}
+		}
+
+		// remove the padding
+		if( pad > 0 ) {
+			System.arraycopy(buffer,first+pad*STRIP,buffer,first,outputLength*STRIP);
+		}
+
+		if( weights != null ) {
+			for( int i = 0; i < outputLength; i++ ) {
+				double w = weights[i];
+				int index = first + i*STRIP;
+				for( int k = 0; k < count; k++ ) {
+					buffer[index+k] /= w;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Value of the signal to the left of the line given its first element
+	 */
+	private double leftValue( double first ) {
+		if( border == BorderType.NORMALIZED )
+			return 0;
+		else if( border == BorderType.VALUE )
+			return borderValue;
+		return first;
+	}
+
+	/**
+	 * Value of the signal to the right of the line given its last element
+	 */
+	private double rightValue( double last ) {
+		return leftValue(last);
+	}
+
+	private void readRows( ImageFloat32 input , int y , int count , double buffer[] ) {
+		final int length = tableX.length;
+		for( int k = 0; k < count; k++ ) {
+			int indexIn = input.startIndex + (y+k)*input.stride;
+			for( int i = 0; i < length; i++ ) {
+				buffer[(i+3)*STRIP+k] = input.data[indexIn + tableX[i]];
+			}
+		}
+	}
+
+	private void readRows( ImageUInt8 input , int y , int count , double buffer[] ) {
+		final int length = tableX.length;
+		for( int k = 0; k < count; k++ ) {
+			int indexIn = input.startIndex + (y+k)*input.stride;
+			for( int i = 0; i < length; i++ ) {
+				buffer[(i+3)*STRIP+k] = input.data[indexIn + tableX[i]] & 0xFF;
+			}
+		}
+	}
+
+	private void writeRows( double buffer[] , int y , int count ) {
+		final int width = storage.width;
+		for( int k = 0; k < count; k++ ) {
+			int indexOut = (y+k)*width;
+			for( int i = 0; i < width; i++ ) {
+				storage.data[indexOut++] = (float)buffer[(i+3)*STRIP+k];
+			}
+		}
+	}
+
+	private void readColumns( int x , int count , double buffer[] ) {
+		final int length = tableY.length;
+		final int width = storage.width;
+		for( int i = 0; i < length; i++ ) {
+			int indexIn = tableY[i]*width + x;
+			int indexBuff = (i+3)*STRIP;
+			for( int k = 0; k < count; k++ ) {
+				buffer[indexBuff+k] = storage.data[indexIn+k];
+			}
+		}
+	}
+
+	private void writeColumns( double buffer[] , ImageFloat32 output , int x , int count ) {
+		for( int i = 0; i < output.height; i++ ) {
+			int indexOut = output.startIndex + i*output.stride + x;
+			int indexBuff = (i+3)*STRIP;
+			for( int k = 0; k < count; k++ ) {
+				output.data[indexOut+k] = (float)buffer[indexBuff+k];
+			}
+		}
+	}
+
+	private void writeColumns( double buffer[] , ImageUInt8 output , int x , int count ) {
+		for( int i = 0; i < output.height; i++ ) {
+			int indexOut = output.startIndex + i*output.stride + x;
+			int indexBuff = (i+3)*STRIP;
+			for( int k = 0; k < count; k++ ) {
+				int value = (int)(buffer[indexBuff+k] + 0.5);
+				if( value < 0 ) value = 0;
+				else if( value > 255 ) value = 255;
+				output.data[indexOut+k] = (byte)value;
+			}
+		}
+	}
+
+	/**
+	 * Returns a work buffer which can hold STRIP lines of the specified length
+	 */
+	private double[] takeBuffer( int length ) {
+		int size = (length+5)*STRIP;
+		synchronized( buffers ) {
+			for( int i = buffers.size()-1; i >= 0; i-- ) {
+				if( buffers.get(i).length >= size )
+					return buffers.remove(i);
+			}
+		}
+		return new double[size];
+	}
+
+	private void releaseBuffer( double buffer[] ) {
+		synchronized( buffers ) {
+			buffers.add(buffer);
+		}
+	}
+
+	/**
+	 * Processes the loop in parallel if there is enough work and concurrency is turned on
+	 */
+	private void loop( int start , int end , int workPerIndex , IntRangeTask task ) {
+		if( BoofConcurrency.isConcurrent((long)(end-start)*workPerIndex) )
+			BoofConcurrency.loopBlocks(start, end, workPerIndex, task);
+		else
+			task.process(start,end);
+	}
+
+	public double getSigma() {
+		return sigma;
+	}
+
+	public BorderType getBorder() {
+		return border;
+	}
+
+	/**
+	 * Specifies how the image border is handled.  SKIP is not supported.
+	 */
+	public void setBorder(BorderType border) {
+		if( border == BorderType.SKIP )
+			throw new IllegalArgumentException("SKIP border is not supported");
+		if( this.border == border )
+			return;
+		this.border = border;
+		// force the tables to be recomputed
+		tableX = new int[0];
+		tableY = new int[0];
+	}
+
+	public double getBorderValue() {
+		return borderValue;
+	}
+
+	/**
+	 * Value of pixels outside the image when the border is {@link BorderType#VALUE}.
+	 */
+	public void setBorderValue(double borderValue) {
+		this.borderValue = borderValue;
+	}
+}
@@ -0,0 +1,382 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.filter.blur.impl;
+
+import boofcv.struct.image.ImageUInt16;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * <p>
+ * Median filter whose cost per pixel does not depend on the radius.  A histogram is maintained for each
+ * column in the image.  When moving down one row each column histogram has one pixel removed and one added.
+ * The kernel's histogram is then updated by adding the column histogram which enters the region and
+ * subtracting the one which leaves it.  To keep that cheap the histogram has two levels, a coarse histogram
+ * which is always up to date and a fine histogram which is only brought up to date inside the coarse bin which
+ * contains the median.  Pixels along the image border are handled by clipping the region to the image, which
+ * produces the same results as {@link ImplMedianSortEdgeNaive}.
+ * </p>
+ *
+ * <p>
+ * Only the rows in the specified range are processed, which allows different bands of rows to be processed by
+ * different instances at the same time.  If the histogram has a lot of bins, e.g. 16-bit images, the image is
+ * processed in vertical strips to limit memory usage, see {@link #MAX_HISTOGRAM_ELEMENTS}.
+ * </p>
+ *
+ * <p>
+ * Perreault, S. and Hebert, P. "Median Filtering in Constant Time" IEEE Trans. Image Processing. 2007
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplMedianHistogramConstant {
+
+	/**
+	 * Maximum number of elements in the column histograms.  Once exceeded the image is processed in strips.
+	 */
+	public static int MAX_HISTOGRAM_ELEMENTS = 1 << 22;
+
+	// radius of the square region
+	int radius;
+	// number of bins in the fine histogram and the number of bits in each coarse bin
+	int numFine, shift;
+	int numCoarse;
+
+	// histogram for each column in the strip. fine and coarse
+	int colFine[] = new int[0];
+	int colCoarse[] = new int[0];
+
+	// histogram of the kernel region
+	int kerFine[] = new int[0];
+	int kerCoarse[] = new int[0];
+
+	// columns which were contained in each segment of the fine kernel histogram when it was last updated
+	boolean segValid[] = new boolean[0];
+	int segLo[] = new int[0];
+	int segHi[] = new int[0];
+
+	// median values for the row being processed
+	int medians[] = new int[0];
+
+	/**
+	 * Applies the median filter to the entire image.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Filtered output image. Modified.
+	 * @param radius Size of the filter region.
+	 */
+	public void process( ImageUInt8 input , ImageUInt8 output , int radius ) {
+		process(input, output, radius, 0, input.height);
+	}
+
+	/**
+	 * Applies the median filter to the specified rows.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Filtered output image. Modified.
+	 * @param radius Size of the filter region.
+	 * @param y0 First row in the output which is processed, inclusive.
+	 * @param y1 Last row in the output which is processed, exclusive.
+	 */
+	public void process( ImageUInt8 input , ImageUInt8 output , int radius , int y0 , int y1 ) {
+		setup(input.width, radius, 8);
+
+		int stripWidth = stripWidth();
+		for( int sx0 = 0; sx0 < input.width; sx0 += stripWidth ) {
+			int sx1 = Math.min(input.width,sx0+stripWidth);
+			int cx0 = Math.max(0,sx0-radius);
+			int cx1 = Math.min(input.width,sx1+radius);
+
+			clearColumns(cx1-cx0);
+
+			for( int y = y0; y < y1; y++ ) {
+				if( y == y0 ) {
+					int top = Math.max(0,y-radius);
+					int bottom = Math.min(input.height,y+radius+1);
+					for( int i = top; i < bottom; i++ )
+						updateColumns(input,i,cx0,cx1,1);
+				} else {
+					if( y-radius-1 >= 0 )
+						updateColumns(input,y-radius-1,cx0,cx1,-1);
+					if( y+radius < input.height )
+						updateColumns(input,y+radius,cx0,cx1,1);
+				}
+
+				int numRows = Math.min(input.height,y+radius+1) - Math.max(0,y-radius);
+				computeRow(numRows, input.width, sx0, sx1, cx0);
+
+				int indexOut = output.startIndex + y*output.stride + sx0;
+				for( int x = 0; x < sx1-sx0; x++ ) {
+					output.data[indexOut++] = (byte)medians[x];
+				}
+			}
+		}
+	}
+
+	/**
+	 * Applies the median filter to the entire image.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Filtered output image. Modified.
+	 * @param radius Size of the filter region.
+	 * @param maxValue Maximum pixel value in the input image.  Used to select the histogram's size.
+	 */
+	public void process( ImageUInt16 input , ImageUInt16 output , int radius , int maxValue ) {
+		process(input, output, radius, maxValue, 0, input.height);
+	}
+
+	/**
+	 * Applies the median filter to the specified rows.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Filtered output image. Modified.
+	 * @param radius Size of the filter region.
+	 * @param maxValue Maximum pixel value in the input image.  Used to select the histogram's size.
+	 * @param y0 First row in the output which is processed, inclusive.
+	 * @param y1 Last row in the output which is processed, exclusive.
+	 */
+	public void process( ImageUInt16 input , ImageUInt16 output , int radius , int maxValue , int y0 , int y1 ) {
+		setup(input.width, radius, numberOfBits(maxValue));
+
+		int stripWidth = stripWidth();
+		for( int sx0 = 0; sx0 < input.width; sx0 += stripWidth ) {
+			int sx1 = Math.min(input.width,sx0+stripWidth);
+			int cx0 = Math.max(0,sx0-radius);
+			int cx1 = Math.min(input.width,sx1+radius);
+
+			clearColumns(cx1-cx0);
+
+			for( int y = y0; y < y1; y++ ) {
+				if( y == y0 ) {
+					int top = Math.max(0,y-radius);
+					int bottom = Math.min(input.height,y+radius+1);
+					for( int i = top; i < bottom; i++ )
+						updateColumns(input,i,cx0,cx1,1);
+				} else {
+					if( y-radius-1 >= 0 )
+						updateColumns(input,y-radius-1,cx0,cx1,-1);
+					if( y+radius < input.height )
+						updateColumns(input,y+radius,cx0,cx1,1);
+				}
+
+				int numRows = Math.min(input.height,y+radius+1) - Math.max(0,y-radius);
+				computeRow(numRows, input.width, sx0, sx1, cx0);
+
+				int indexOut = output.startIndex + y*output.stride + sx0;
+				for( int x = 0; x < sx1-sx0; x++ ) {
+					output.data[indexOut++] = (short)medians[x];
+				}
+			}
+		}
+	}
+
+	/**
+	 * Number of bits needed to represent the value.  Always at least one.
+	 */
+	public static int numberOfBits( int maxValue ) {
+		return Math.max(1,32-Integer.numberOfLeadingZeros(maxValue));
+	}
+
+	/**
+	 * Declares memory and selects the histogram's shape
+	 *
+	 * @param numBits Number of bits in the input image's values
+	 */
+	protected void setup( int imageWidth , int radius , int numBits ) {
+		if( radius <= 0 )
+			throw new IllegalArgumentException("Radius must be > 0");
+
+		this.radius = radius;
+		this.shift = (numBits+1)/2;
+		this.numFine = 1 << numBits;
+		this.numCoarse = 1 << (numBits-shift);
+
+		int stripWidth = Math.min(imageWidth,stripWidth());
+		int columns = Math.min(imageWidth,stripWidth+2*radius);
+
+		if( colFine.length < columns*numFine ) {
+			colFine = new int[ columns*numFine ];
+		}
+		if( colCoarse.length < columns*numCoarse ) {
+			colCoarse = new int[ columns*numCoarse ];
+		}
+		if( kerFine.length < numFine ) {
+			kerFine = new int[ numFine ];
+		}
+		if( kerCoarse.length < numCoarse ) {
+			kerCoarse = new int[ numCoarse ];
+			segValid = new boolean[ numCoarse ];
+			segLo = new int[ numCoarse ];
+			segHi = new int[ numCoarse ];
+		}
+		if( medians.length < stripWidth ) {
+			medians = new int[ stripWidth ];
+		}
+	}
+
+	/**
+	 * Number of output columns in each strip
+	 */
+	protected int stripWidth() {
+		return Math.max(MAX_HISTOGRAM_ELEMENTS/numFine - 2*radius, 2*radius+1);
+	}
+
+	protected void clearColumns( int columns ) {
+		int N = columns*numFine;
+		for( int i = 0; i < N; i++ )
+			colFine[i] = 0;
+		N = columns*numCoarse;
+		for( int i = 0; i < N; i++ )
+			colCoarse[i] = 0;
+	}
+
+	/**
+	 * Adds or removes a row from the column histograms
+	 */
+	protected void updateColumns( ImageUInt8 input , int row , int cx0 , int cx1 , int delta ) {
+		int index = input.startIndex + row*input.stride + cx0;
+		for( int c = 0; c < cx1-cx0; c++ ) {
+			int value = input.data[index++] & 0xFF;
+			colFine[c*numFine + value] += delta;
+			colCoarse[c*numCoarse + (value >> shift)] += delta;
+		}
+	}
+
+	/**
+	 * Adds or removes a row from the column histograms
+	 */
+	protected void updateColumns( ImageUInt16 input , int row , int cx0 , int cx1 , int delta ) {
+		int index = input.startIndex + row*input.stride + cx0;
+		for( int c = 0; c < cx1-cx0; c++ ) {
+			int value = input.data[index++] & 0xFFFF;
+			colFine[c*numFine + value] += delta;
+			colCoarse[c*numCoarse + (value >> shift)] += delta;
+		}
+	}
+
+	/**
+	 * Computes the median for each pixel in the row inside the strip using the column histograms.
+	 *
+	 * @param numRows Number of rows inside the column histograms
+	 * @param imageWidth Width of the image
+	 * @param sx0 First column in the strip, inclusive
+	 * @param sx1 Last column in the strip, exclusive
+	 * @param cx0 Column in the image which the first column histogram belongs to
+	 */
+	protected void computeRow( int numRows , int imageWidth , int sx0 , int sx1 , int cx0 ) {
+		for( int i = 0; i < numCoarse; i++ ) {
+			kerCoarse[i] = 0;
+			segValid[i] = false;
+		}
+
+		// columns inside the kernel, inclusive
+		int lo = Math.max(0,sx0-radius);
+		int hi = Math.min(imageWidth-1,sx0+radius);
+		for( int c = lo; c <= hi; c++ ) {
+			addCoarse(c-cx0, 1);
+		}
+
+		for( int x = sx0; x < sx1; x++ ) {
+			if( x > sx0 ) {
+				if( x-radius-1 >= 0 ) {
+					addCoarse(lo-cx0, -1);
+					lo++;
+				}
+				if( x+radius < imageWidth ) {
+					hi++;
+					addCoarse(hi-cx0, 1);
+				}
+			}
+
+			int threshold = numRows*(hi-lo+1)/2 + 1;
+
+			// find the coarse bin which contains the median
+			int sum = 0;
+			int bin = 0;
+			while( sum + kerCoarse[bin] < threshold ) {
+				sum += kerCoarse[bin++];
+			}
+
+			updateSegment(bin, lo, hi, cx0);
+
+			// search inside the fine histogram's segment
+			int value = bin << shift;
+			while( sum + kerFine[value] < threshold ) {
+				sum += kerFine[value++];
+			}
+			medians[x-sx0] = value;
+		}
+	}
+
+	private void addCoarse( int column , int delta ) {
+		int index = column*numCoarse;
+		if( delta > 0 ) {
+			for( int i = 0; i < numCoarse; i++ ) {
+				kerCoarse[i] += colCoarse[index++];
+			}
+		} else {
+			for( int i = 0; i < numCoarse; i++ ) {
+				kerCoarse[i] -= colCoarse[index++];
+			}
+		}
+	}
+
+	/**
+	 * Brings a segment in the fine kernel histogram up to date so that it contains columns lo to hi, inclusive.
+	 */
+	private void updateSegment( int bin , int lo , int hi , int cx0 ) {
+		int offset = bin << shift;
+		int length = 1 << shift;
+
+		int changed = (lo-segLo[bin]) + (hi-segHi[bin]);
+		if( !segValid[bin] || changed > hi-lo+1 ) {
+			// it's faster to compute it from scratch
+			for( int i = 0; i < length; i++ ) {
+				kerFine[offset+i] = 0;
+			}
+			for( int c = lo; c <= hi; c++ ) {
+				addFine(c-cx0,offset,length,1);
+			}
+		} else {
+			for( int c = segLo[bin]; c < lo; c++ ) {
+				addFine(c-cx0,offset,length,-1);
+			}
+			for( int c = segHi[bin]+1; c <= hi; c++ ) {
+				addFine(c-cx0,offset,length,1);
+			}
+		}
+
+		segValid[bin] = true;
+		segLo[bin] = lo;
+		segHi[bin] = hi;
+	}
+
+	private void addFine( int column , int offset , int length , int delta ) {
+		int index = column*numFine + offset;
+		if( delta > 0 ) {
+			for( int i = 0; i < length; i++ ) {
+				kerFine[offset+i] += colFine[index+i];
+			}
+		} else {
+			for( int i = 0; i < length; i++ ) {
+				kerFine[offset+i] -= colFine[index+i];
+			}
+		}
+	}
+}
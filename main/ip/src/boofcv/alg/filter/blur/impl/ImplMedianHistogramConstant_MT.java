@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.filter.blur.impl;
+
+import boofcv.alg.misc.ImageStatistics;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.struct.image.ImageUInt16;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * <p>
+ * Concurrent implementation of {@link ImplMedianHistogramConstant}.  The image is split into bands of rows
+ * which are processed in parallel by {@link BoofConcurrency}, with each band having its own column histograms.
+ * The output is identical to the single threaded version.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplMedianHistogramConstant_MT {
+
+	/**
+	 * Applies a median image filter.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Filtered output image. Modified.
+	 * @param radius Size of the filter region.
+	 */
+	public static void process( final ImageUInt8 input , final ImageUInt8 output , final int radius ) {
+		BoofConcurrency.loopBlocks(0, input.height, input.width*4, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				new ImplMedianHistogramConstant().process(input, output, radius, y0, y1);
+			}
+		});
+	}
+
+	/**
+	 * Applies a median image filter.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Filtered output image. Modified.
+	 * @param radius Size of the filter region.
+	 */
+	public static void process( final ImageUInt16 input , final ImageUInt16 output , final int radius ) {
+		final int maxValue = ImageStatistics.max(input);
+
+		BoofConcurrency.loopBlocks(0, input.height, input.width*4, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				new ImplMedianHistogramConstant().process(input, output, radius, maxValue, y0, y1);
+			}
+		});
+	}
+}
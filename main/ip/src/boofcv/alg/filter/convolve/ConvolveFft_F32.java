@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.convolve;
+
+import boofcv.abst.transform.fft.DiscreteFourierTransform;
+import boofcv.alg.InputSanityCheck;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.alg.transform.fft.DiscreteFourierTransformOps;
+import boofcv.struct.convolve.Kernel2D_F32;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.InterleavedF32;
+
+/**
+ * <p>
+ * Convolves a 2D kernel across the image using the Fast Fourier Transform.  The cost per pixel of a direct
+ * convolution grows with the number of elements in the kernel, while the cost per pixel of this algorithm
+ * only grows with the logarithm of the kernel's width.  For kernels which are {@link #MIN_KERNEL_WIDTH} pixels
+ * wide or larger it is faster than {@link ConvolveImageNoBorder}.
+ * </p>
+ *
+ * <p>
+ * The output is the same as {@link ConvolveImageNoBorder#convolve(Kernel2D_F32, ImageFloat32, ImageFloat32)},
+ * up to floating point round off error.  Only pixels in the output which the kernel can be placed over without
+ * going outside the image are written to.  The kernel can be rectangular and is specified as an image with an
+ * arbitrary offset to its center.  The value of an output pixel is
+ * </p>
+ * <pre>
+ * output(x,y) = sum<sub>i,j</sub> kernel(i,j)*input(x+i-offsetX, y+j-offsetY)
+ * </pre>
+ *
+ * <p>
+ * Large images are processed using overlap-add.  The image is broken up into tiles, each tile is zero padded
+ * and convolved with the kernel using a single transform whose width is a power of two, and the result of
+ * each tile is added to the output.  The transform of the kernel is only recomputed when the kernel or
+ * the transform's size changes.  The transform's size is selected using the size of the kernel, see
+ * {@link #selectTransformSize}.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ConvolveFft_F32 {
+
+	/**
+	 * Width of a kernel at which convolution using the FFT is faster than directly convolving the kernel.
+	 * Used by factories to automatically select the algorithm.
+	 */
+	public static final int MIN_KERNEL_WIDTH = 15;
+
+	// computes the Fourier transform of the kernel and of each tile
+	private DiscreteFourierTransform<ImageFloat32,InterleavedF32> dft =
+			DiscreteFourierTransformOps.createTransformF32();
+
+	// the kernel with its elements in reverse order
+	private ImageFloat32 kernelFlipped = new ImageFloat32(1,1);
+	// offset from the kernel's top left corner to its center
+	private int offsetX,offsetY;
+
+	// Minimum width of the transform along each axis
+	private int minimumTransformWidth = 64;
+
+	// size of the transform which the kernel's transform was computed for
+	private int transformWidth = -1, transformHeight = -1;
+
+	// zero padded tile from the input image and the result of convolving it
+	private ImageFloat32 tile = new ImageFloat32(1,1);
+	// half spectrum of the kernel and the tile
+	private InterleavedF32 kernelSpectrum = new InterleavedF32(1,1,2);
+	private InterleavedF32 tileSpectrum = new InterleavedF32(1,1,2);
+
+	/**
+	 * Specifies the kernel which is convolved.
+	 *
+	 * @param kernel Convolution kernel.  Not modified.
+	 */
+	public void setKernel( Kernel2D_F32 kernel ) {
+		ImageFloat32 image = new ImageFloat32(kernel.width,kernel.width);
+		System.arraycopy(kernel.data,0,image.data,0,kernel.width*kernel.width);
+		setKernel(image, kernel.offset, kernel.offset);
+	}
+
+	/**
+	 * Specifies the kernel which is convolved.  The kernel can be any shape.
+	 *
+	 * @param kernel Convolution kernel.  Not modified.
+	 * @param offsetX Offset along the x-axis from the kernel's left side to its center
+	 * @param offsetY Offset along the y-axis from the kernel's top to its center
+	 */
+	public void setKernel( ImageFloat32 kernel , int offsetX , int offsetY ) {
+		if( offsetX < 0 || offsetX >= kernel.width || offsetY < 0 || offsetY >= kernel.height )
+			throw new IllegalArgumentException("The kernel's center must be inside the kernel");
+
+		this.offsetX = offsetX;
+		this.offsetY = offsetY;
+
+		// Multiplying the transforms convolves the tile with the kernel, while the output is computed by
+		// correlating the kernel with the image.  Reversing the kernel's order makes the two equivalent.
+		kernelFlipped.reshape(kernel.width,kernel.height);
+		for( int y = 0; y < kernel.height; y++ ) {
+			for( int x = 0; x < kernel.width; x++ ) {
+				kernelFlipped.unsafe_set(kernel.width-1-x, kernel.height-1-y, kernel.unsafe_get(x,y));
+			}
+		}
+
+		// force the kernel's transform to be recomputed
+		transformWidth = transformHeight = -1;
+	}
+
+	/**
+	 * Convolves the kernel across the input image.  Pixels in the output image along the image border which
+	 * the kernel can't be placed over are not modified.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output Output image.  Modified.
+	 */
+	public void process( ImageFloat32 input , ImageFloat32 output ) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		int kernelWidth = kernelFlipped.width;
+		int kernelHeight = kernelFlipped.height;
+
+		// region in the output which is written to
+		int x0 = offsetX, x1 = input.width - (kernelWidth-offsetX-1);
+		int y0 = offsetY, y1 = input.height - (kernelHeight-offsetY-1);
+		if( x0 >= x1 || y0 >= y1 )
+			return;
+
+		declareTransform(selectTransformSize(input.width,kernelWidth),
+				selectTransformSize(input.height,kernelHeight));
+
+		// size of a tile in the input image
+		int tileWidth = transformWidth - kernelWidth + 1;
+		int tileHeight = transformHeight - kernelHeight + 1;
+
+		ImageMiscOps.fillRectangle(output,0,x0,y0,x1-x0,y1-y0);
+
+		for( int ty = 0; ty < input.height; ty += tileHeight ) {
+			int th = Math.min(tileHeight,input.height-ty);
+			for( int tx = 0; tx < input.width; tx += tileWidth ) {
+				int tw = Math.min(tileWidth,input.width-tx);
+
+				// copy the tile into the zero padded image
+				ImageMiscOps.fill(tile,0);
+				for( int y = 0; y < th; y++ ) {
+					System.arraycopy(input.data,input.startIndex+(ty+y)*input.stride+tx,
+							tile.data,y*tile.stride,tw);
+				}
+
+				dft.forwardHalf(tile,tileSpectrum);
+				DiscreteFourierTransformOps.multiplyComplex(tileSpectrum,kernelSpectrum,tileSpectrum);
+				dft.inverseHalf(tileSpectrum,tile);
+
+				// The transform is large enough that the convolution doesn't wrap around.  Add the
+				// tile's contribution to the output pixels which it overlaps
+				addTile(tile, tx - kernelWidth + 1 + offsetX, ty - kernelHeight + 1 + offsetY,
+						tw + kernelWidth - 1, th + kernelHeight - 1, output, x0, y0, x1, y1);
+			}
+		}
+	}
+
+	/**
+	 * Adds the convolved tile to the output image.  Only pixels inside the output region are modified.
+	 */
+	private static void addTile( ImageFloat32 tile , int outX , int outY , int width , int height ,
+								 ImageFloat32 output , int x0 , int y0 , int x1 , int y1 ) {
+		int startX = Math.max(x0,outX), endX = Math.min(x1,outX+width);
+		int startY = Math.max(y0,outY), endY = Math.min(y1,outY+height);
+
+		for( int y = startY; y < endY; y++ ) {
+			int indexTile = (y-outY)*tile.stride + startX-outX;
+			int indexOut = output.startIndex + y*output.stride + startX;
+			for( int x = startX; x < endX; x++ ) {
+				output.data[indexOut++] += tile.data[indexTile++];
+			}
+		}
+	}
+
+	/**
+	 * Selects the width of the transform along one axis.  If the whole image can be processed with
+	 * a transform which is no larger than the one for a tile then a single tile is used.  Otherwise the
+	 * transform is the power of two which is four times the kernel's width, or the minimum width, whichever
+	 * is larger.
+	 *
+	 * @param imageLength Length of the image along the axis
+	 * @param kernelLength Length of the kernel along the axis
+	 * @return Width of the transform
+	 */
+	protected int selectTransformSize( int imageLength , int kernelLength ) {
+		int tileTransform = Math.max(minimumTransformWidth,
+				DiscreteFourierTransformOps.nextPow2(4*kernelLength));
+		int wholeImage = imageLength + kernelLength - 1;
+		if( wholeImage <= tileTransform )
+			return DiscreteFourierTransformOps.nextPow2(wholeImage);
+		return tileTransform;
+	}
+
+	/**
+	 * Declares storage for the specified transform size and computes the kernel's transform, if the size
+	 * has changed
+	 */
+	private void declareTransform( int width , int height ) {
+		if( width == transformWidth && height == transformHeight )
+			return;
+
+		transformWidth = width;
+		transformHeight = height;
+
+		tile.reshape(width,height);
+		tileSpectrum.reshape(width/2+1,height);
+		kernelSpectrum.reshape(width/2+1,height);
+
+		ImageMiscOps.fill(tile,0);
+		for( int y = 0; y < kernelFlipped.height; y++ ) {
+			System.arraycopy(kernelFlipped.data,y*kernelFlipped.stride,tile.data,y*tile.stride,kernelFlipped.width);
+		}
+		dft.forwardHalf(tile,kernelSpectrum);
+	}
+
+	public int getMinimumTransformWidth() {
+		return minimumTransformWidth;
+	}
+
+	/**
+	 * Specifies the minimum width of the transform along each axis when the image is broken up into tiles.
+	 * Smaller transforms require less memory but more tiles.
+	 */
+	public void setMinimumTransformWidth(int minimumTransformWidth) {
+		this.minimumTransformWidth = minimumTransformWidth;
+		transformWidth = transformHeight = -1;
+	}
+
+	public int getOffsetX() {
+		return offsetX;
+	}
+
+	public int getOffsetY() {
+		return offsetY;
+	}
+
+	public int getKernelWidth() {
+		return kernelFlipped.width;
+	}
+
+	public int getKernelHeight() {
+		return kernelFlipped.height;
+	}
+}
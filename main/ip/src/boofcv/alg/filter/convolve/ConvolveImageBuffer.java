@@ -0,0 +1,336 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.convolve;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.struct.convolve.Kernel1D_F32;
+import boofcv.struct.convolve.Kernel1D_I32;
+import boofcv.struct.convolve.Kernel2D_F32;
+import boofcv.struct.convolve.Kernel2D_I32;
+import boofcv.struct.image.*;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+
+/**
+ * <p>
+ * Convolves a kernel across an image stored inside of a {@link java.nio.Buffer}, see {@link ImageBufferSingleBand}.
+ * Pixels are read directly from the buffer, which can be direct or memory mapped, so the input doesn't need to be
+ * copied into an array image first.  The output is written to an array image.  The results and the pixels which
+ * are written to are the same as in {@link ConvolveImageNoBorder}, the image border is not processed.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ConvolveImageBuffer {
+
+	/**
+	 * Performs a horizontal 1D convolution across the image.  The horizontal border is not processed.
+	 *
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 * @param image The image that is being convolved. Not modified.
+	 * @param dest Where the resulting image is written to. Modified.
+	 */
+	public static void horizontal( Kernel1D_F32 kernel , ImageBufferFloat32 image , ImageFloat32 dest ) {
+		InputSanityCheck.checkSameShape(image, dest);
+
+		final FloatBuffer dataSrc = image.data;
+		final float[] dataDst = dest.data;
+		final float[] dataKer = kernel.data;
+
+		final int offset = kernel.getOffset();
+		final int kernelWidth = kernel.getWidth();
+
+		final int width = image.getWidth();
+
+		for( int i = 0; i < image.height; i++ ) {
+			int indexDst = dest.startIndex + i*dest.stride+offset;
+			int j = image.startIndex + i*image.stride;
+			final int jEnd = j+width-(kernelWidth-1);
+
+			for( ; j < jEnd; j++ ) {
+				float total = 0;
+				int indexSrc = j;
+				for( int k = 0; k < kernelWidth; k++ ) {
+					total += dataSrc.get(indexSrc++) * dataKer[k];
+				}
+				dataDst[indexDst++] = total;
+			}
+		}
+	}
+
+	/**
+	 * Performs a vertical 1D convolution across the image.  The vertical border is not processed.
+	 *
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 * @param image The image that is being convolved. Not modified.
+	 * @param dest Where the resulting image is written to. Modified.
+	 */
+	public static void vertical( Kernel1D_F32 kernel , ImageBufferFloat32 image , ImageFloat32 dest ) {
+		InputSanityCheck.checkSameShape(image, dest);
+
+		final FloatBuffer dataSrc = image.data;
+		final float[] dataDst = dest.data;
+		final float[] dataKer = kernel.data;
+
+		final int offset = kernel.getOffset();
+		final int kernelWidth = kernel.getWidth();
+
+		final int imgWidth = dest.getWidth();
+		final int imgHeight = dest.getHeight();
+
+		final int yEnd = imgHeight-(kernelWidth-offset-1);
+
+		for( int y = offset; y < yEnd; y++ ) {
+			int indexDst = dest.startIndex+y*dest.stride;
+			int i = image.startIndex + (y-offset)*image.stride;
+			final int iEnd = i+imgWidth;
+
+			for( ; i < iEnd; i++ ) {
+				float total = 0;
+				int indexSrc = i;
+				for( int k = 0; k < kernelWidth; k++ ) {
+					total += dataSrc.get(indexSrc) * dataKer[k];
+					indexSrc += image.stride;
+				}
+				dataDst[indexDst++] = total;
+			}
+		}
+	}
+
+	/**
+	 * Performs a 2D convolution across the image.  The image border is not processed.
+	 *
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 * @param src The image that is being convolved. Not modified.
+	 * @param dest Where the resulting image is written to. Modified.
+	 */
+	public static void convolve( Kernel2D_F32 kernel , ImageBufferFloat32 src , ImageFloat32 dest ) {
+		InputSanityCheck.checkSameShape(src, dest);
+
+		final float[] dataKernel = kernel.data;
+		final FloatBuffer dataSrc = src.data;
+		final float[] dataDst = dest.data;
+
+		final int width = src.getWidth();
+		final int height = src.getHeight();
+
+		int offsetL = kernel.offset;
+		int offsetR = kernel.width-kernel.offset-1;
+
+		for( int y = offsetL; y < height-offsetR; y++ ) {
+			int indexDst = dest.startIndex + y*dest.stride+offsetL;
+			for( int x = offsetL; x < width-offsetR; x++ ) {
+				float total = 0;
+				int indexKer = 0;
+				for( int ki = 0; ki < kernel.width; ki++ ) {
+					int indexSrc = src.startIndex + (y+ki-offsetL)*src.stride + x-offsetL;
+					for( int kj = 0; kj < kernel.width; kj++ ) {
+						total += dataSrc.get(indexSrc+kj) * dataKernel[indexKer++];
+					}
+				}
+				dataDst[indexDst++] = total;
+			}
+		}
+	}
+
+	/**
+	 * Performs a horizontal 1D convolution across the image.  The horizontal border is not processed.
+	 *
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 * @param image The image that is being convolved. Not modified.
+	 * @param dest Where the resulting image is written to. Modified.
+	 */
+	public static void horizontal( Kernel1D_I32 kernel , ImageBufferUInt8 image , ImageInt16 dest ) {
+		InputSanityCheck.checkSameShape(image, dest);
+
+		final ByteBuffer dataSrc = image.data;
+		final short[] dataDst = dest.data;
+		final int[] dataKer = kernel.data;
+
+		final int offset = kernel.getOffset();
+		final int kernelWidth = kernel.getWidth();
+
+		final int width = image.getWidth();
+
+		for( int i = 0; i < image.height; i++ ) {
+			int indexDst = dest.startIndex + i*dest.stride+offset;
+			int j = image.startIndex + i*image.stride;
+			final int jEnd = j+width-(kernelWidth-1);
+
+			for( ; j < jEnd; j++ ) {
+				int total = 0;
+				int indexSrc = j;
+				for( int k = 0; k < kernelWidth; k++ ) {
+					total += (dataSrc.get(indexSrc++) & 0xFF) * dataKer[k];
+				}
+				dataDst[indexDst++] = (short)total;
+			}
+		}
+	}
+
+	/**
+	 * Performs a vertical 1D convolution across the image.  The vertical border is not processed.
+	 *
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 * @param image The image that is being convolved. Not modified.
+	 * @param dest Where the resulting image is written to. Modified.
+	 */
+	public static void vertical( Kernel1D_I32 kernel , ImageBufferUInt8 image , ImageInt16 dest ) {
+		InputSanityCheck.checkSameShape(image, dest);
+
+		final ByteBuffer dataSrc = image.data;
+		final short[] dataDst = dest.data;
+		final int[] dataKer = kernel.data;
+
+		final int offset = kernel.getOffset();
+		final int kernelWidth = kernel.getWidth();
+
+		final int imgWidth = dest.getWidth();
+		final int imgHeight = dest.getHeight();
+
+		final int yEnd = imgHeight-(kernelWidth-offset-1);
+
+		for( int y = offset; y < yEnd; y++ ) {
+			int indexDst = dest.startIndex+y*dest.stride;
+			int i = image.startIndex + (y-offset)*image.stride;
+			final int iEnd = i+imgWidth;
+
+			for( ; i < iEnd; i++ ) {
+				int total = 0;
+				int indexSrc = i;
+				for( int k = 0; k < kernelWidth; k++ ) {
+					total += (dataSrc.get(indexSrc) & 0xFF) * dataKer[k];
+					indexSrc += image.stride;
+				}
+				dataDst[indexDst++] = (short)total;
+			}
+		}
+	}
+
+	/**
+	 * Performs a 2D convolution across the image.  The image border is not processed.
+	 *
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 * @param src The image that is being convolved. Not modified.
+	 * @param dest Where the resulting image is written to. Modified.
+	 */
+	public static void convolve( Kernel2D_I32 kernel , ImageBufferUInt8 src , ImageInt16 dest ) {
+		InputSanityCheck.checkSameShape(src, dest);
+
+		final int[] dataKernel = kernel.data;
+		final ByteBuffer dataSrc = src.data;
+		final short[] dataDst = dest.data;
+
+		final int width = src.getWidth();
+		final int height = src.getHeight();
+
+		int offsetL = kernel.offset;
+		int offsetR = kernel.width-kernel.offset-1;
+
+		for( int y = offsetL; y < height-offsetR; y++ ) {
+			int indexDst = dest.startIndex + y*dest.stride+offsetL;
+			for( int x = offsetL; x < width-offsetR; x++ ) {
+				int total = 0;
+				int indexKer = 0;
+				for( int ki = 0; ki < kernel.width; ki++ ) {
+					int indexSrc = src.startIndex + (y+ki-offsetL)*src.stride + x-offsetL;
+					for( int kj = 0; kj < kernel.width; kj++ ) {
+						total += (dataSrc.get(indexSrc+kj) & 0xFF) * dataKernel[indexKer++];
+					}
+				}
+				dataDst[indexDst++] = (short)total;
+			}
+		}
+	}
+
+	/**
+	 * Performs a horizontal 1D convolution across the image.  The horizontal border is not processed.
+	 *
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 * @param image The image that is being convolved. Not modified.
+	 * @param dest Where the resulting image is written to. Modified.
+	 */
+	public static void horizontal( Kernel1D_F32 kernel , ImageBufferUInt8 image , ImageFloat32 dest ) {
+		InputSanityCheck.checkSameShape(image, dest);
+
+		final ByteBuffer dataSrc = image.data;
+		final float[] dataDst = dest.data;
+		final float[] dataKer = kernel.data;
+
+		final int offset = kernel.getOffset();
+		final int kernelWidth = kernel.getWidth();
+
+		final int width = image.getWidth();
+
+		for( int i = 0; i < image.height; i++ ) {
+			int indexDst = dest.startIndex + i*dest.stride+offset;
+			int j = image.startIndex + i*image.stride;
+			final int jEnd = j+width-(kernelWidth-1);
+
+			for( ; j < jEnd; j++ ) {
+				float total = 0;
+				int indexSrc = j;
+				for( int k = 0; k < kernelWidth; k++ ) {
+					total += (dataSrc.get(indexSrc++) & 0xFF) * dataKer[k];
+				}
+				dataDst[indexDst++] = total;
+			}
+		}
+	}
+
+	/**
+	 * Performs a vertical 1D convolution across the image.  The vertical border is not processed.
+	 *
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 * @param image The image that is being convolved. Not modified.
+	 * @param dest Where the resulting image is written to. Modified.
+	 */
+	public static void vertical( Kernel1D_F32 kernel , ImageBufferUInt8 image , ImageFloat32 dest ) {
+		InputSanityCheck.checkSameShape(image, dest);
+
+		final ByteBuffer dataSrc = image.data;
+		final float[] dataDst = dest.data;
+		final float[] dataKer = kernel.data;
+
+		final int offset = kernel.getOffset();
+		final int kernelWidth = kernel.getWidth();
+
+		final int imgWidth = dest.getWidth();
+		final int imgHeight = dest.getHeight();
+
+		final int yEnd = imgHeight-(kernelWidth-offset-1);
+
+		for( int y = offset; y < yEnd; y++ ) {
+			int indexDst = dest.startIndex+y*dest.stride;
+			int i = image.startIndex + (y-offset)*image.stride;
+			final int iEnd = i+imgWidth;
+
+			for( ; i < iEnd; i++ ) {
+				float total = 0;
+				int indexSrc = i;
+				for( int k = 0; k < kernelWidth; k++ ) {
+					total += (dataSrc.get(indexSrc) & 0xFF) * dataKer[k];
+					indexSrc += image.stride;
+				}
+				dataDst[indexDst++] = total;
+			}
+		}
+	}
+}
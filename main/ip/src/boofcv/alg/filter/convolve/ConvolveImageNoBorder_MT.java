@@ -0,0 +1,523 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.filter.convolve;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.alg.filter.convolve.noborder.*;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.struct.convolve.Kernel1D_F32;
+import boofcv.struct.convolve.Kernel1D_I32;
+import boofcv.struct.convolve.Kernel2D_F32;
+import boofcv.struct.convolve.Kernel2D_I32;
+import boofcv.struct.image.*;
+
+
+/**
+ * <p>
+ * Concurrent implementation of {@link ConvolveImageNoBorder}.  The output image is split into bands of rows
+ * which are processed in parallel by {@link BoofConcurrency}.  Small images are processed in the calling
+ * thread, see {@link BoofConcurrency#setMinimumWork(int)}.  Each band is a sub-image which includes the rows
+ * above and below it that the kernel reads from, and is convolved with the same unrolled or standard
+ * implementation as the single threaded code.  The output is identical to {@link ConvolveImageNoBorder}.
+ * </p>
+ *
+ * <p>
+ * Functions in this class run concurrently regardless of {@link BoofConcurrency#USE_CONCURRENT}.
+ * {@link ConvolveImageNoBorder} will invoke them if {@link BoofConcurrency#USE_CONCURRENT} is true.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ConvolveImageNoBorder_MT {
+
+	/**
+	 * Performs a horizontal 1D convolution across the image.  The horizontal border is not processed.
+	 *
+	 * @param input	 The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 */
+	public static void horizontal(final Kernel1D_F32 kernel, ImageFloat32 input, ImageFloat32 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		bands(input, output, 0, 0, output.width*kernel.width, new Band<ImageFloat32,ImageFloat32>() {
+			@Override
+			protected void process(ImageFloat32 input, ImageFloat32 output) {
+				if (!ConvolveImageUnrolled_F32_F32.horizontal(kernel, input, output))
+					ConvolveImageStandard.horizontal(kernel, input, output);
+			}
+		});
+	}
+
+	/**
+	 * Performs a horizontal 1D convolution across the image.  The horizontal border is not processed.
+	 *
+	 * @param input	 The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 */
+	public static void horizontal(final Kernel1D_I32 kernel, ImageUInt8 input, ImageInt8 output, final int divisor) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		bands(input, output, 0, 0, output.width*kernel.width, new Band<ImageUInt8,ImageInt8>() {
+			@Override
+			protected void process(ImageUInt8 input, ImageInt8 output) {
+				if( !ConvolveImageUnrolled_U8_I8_Div.horizontal(kernel, input,  output, divisor))
+					ConvolveImageStandard.horizontal(kernel, input,  output, divisor);
+			}
+		});
+	}
+
+	/**
+	 * Performs a horizontal 1D convolution across the image.  The horizontal border is not processed.
+	 *
+	 * @param input	 The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 */
+	public static void horizontal(final Kernel1D_I32 kernel, ImageUInt8 input, ImageInt16 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		bands(input, output, 0, 0, output.width*kernel.width, new Band<ImageUInt8,ImageInt16>() {
+			@Override
+			protected void process(ImageUInt8 input, ImageInt16 output) {
+				if (!ConvolveImageUnrolled_U8_I16.horizontal(kernel, input,  output ))
+					ConvolveImageStandard.horizontal(kernel, input,  output);
+			}
+		});
+	}
+
+	/**
+	 * Performs a horizontal 1D convolution across the image.  The horizontal border is not processed.
+	 *
+	 * @param input	 The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 */
+	public static void horizontal(final Kernel1D_I32 kernel, ImageUInt8 input, ImageSInt32 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		bands(input, output, 0, 0, output.width*kernel.width, new Band<ImageUInt8,ImageSInt32>() {
+			@Override
+			protected void process(ImageUInt8 input, ImageSInt32 output) {
+				ConvolveImageStandard.horizontal(kernel, input, output);
+			}
+		});
+	}
+
+	/**
+	 * Performs a horizontal 1D convolution across the image.  The horizontal border is not processed.
+	 *
+	 * @param input	 The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 */
+	public static void horizontal(final Kernel1D_I32 kernel, ImageSInt16 input, ImageInt16 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		bands(input, output, 0, 0, output.width*kernel.width, new Band<ImageSInt16,ImageInt16>() {
+			@Override
+			protected void process(ImageSInt16 input, ImageInt16 output) {
+				if (!ConvolveImageUnrolled_S16_I16.horizontal(kernel, input, output))
+					ConvolveImageStandard.horizontal(kernel, input, output);
+			}
+		});
+	}
+
+	/**
+	 * Performs a horizontal 1D convolution across the image.  The horizontal border is not processed.
+	 *
+	 * @param input The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 * @param divisor The value that the convolved image is divided by.
+	 */
+	public static void horizontal(final Kernel1D_I32 kernel, ImageSInt16 input, ImageInt16 output, final int divisor) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		bands(input, output, 0, 0, output.width*kernel.width, new Band<ImageSInt16,ImageInt16>() {
+			@Override
+			protected void process(ImageSInt16 input, ImageInt16 output) {
+				if (!ConvolveImageUnrolled_S16_I16_Div.horizontal(kernel, input, output, divisor))
+					ConvolveImageStandard.horizontal(kernel, input, output, divisor);
+			}
+		});
+	}
+
+	/**
+	 * Performs a horizontal 1D convolution across the image.  The horizontal border is not processed.
+	 *
+	 * @param input The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 * @param divisor The value that the convolved image is divided by.
+	 */
+	public static void horizontal(final Kernel1D_I32 kernel, ImageSInt32 input, ImageSInt32 output, final int divisor) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		bands(input, output, 0, 0, output.width*kernel.width, new Band<ImageSInt32,ImageSInt32>() {
+			@Override
+			protected void process(ImageSInt32 input, ImageSInt32 output) {
+				if (!ConvolveImageUnrolled_S32_S32_Div.horizontal(kernel, input, output, divisor))
+					ConvolveImageStandard.horizontal(kernel, input, output, divisor);
+			}
+		});
+	}
+
+	/**
+	 * Performs a vertical 1D convolution across the image in the vertical direction.
+	 * The vertical border is not processed.
+	 *
+	 * @param input The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 */
+	public static void vertical(final Kernel1D_F32 kernel, ImageFloat32 input, ImageFloat32 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		bands(input, output, kernel.offset, kernel.width-kernel.offset-1, output.width*kernel.width, new Band<ImageFloat32,ImageFloat32>() {
+			@Override
+			protected void process(ImageFloat32 input, ImageFloat32 output) {
+				if (!ConvolveImageUnrolled_F32_F32.vertical(kernel, input,  output))
+					ConvolveImageStandard.vertical(kernel, input,  output);
+			}
+		});
+	}
+
+	/**
+	 * Performs a vertical 1D convolution across the image in the vertical direction.
+	 * The vertical border is not processed.
+	 *
+	 * @param input The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 */
+	public static void vertical(final Kernel1D_I32 kernel, ImageUInt8 input, ImageInt8 output, final int divisor) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		bands(input, output, kernel.offset, kernel.width-kernel.offset-1, output.width*kernel.width, new Band<ImageUInt8,ImageInt8>() {
+			@Override
+			protected void process(ImageUInt8 input, ImageInt8 output) {
+				if( !ConvolveImageUnrolled_U8_I8_Div.vertical(kernel, input,  output, divisor))
+					ConvolveImageStandard.vertical(kernel, input,  output, divisor);
+			}
+		});
+	}
+
+	/**
+	 * Performs a vertical 1D convolution across the image in the vertical direction.
+	 * The vertical border is not processed.
+	 *
+	 * @param input The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 */
+	public static void vertical(final Kernel1D_I32 kernel, ImageUInt16 input, ImageInt8 output, final int divisor) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		bands(input, output, kernel.offset, kernel.width-kernel.offset-1, output.width*kernel.width, new Band<ImageUInt16,ImageInt8>() {
+			@Override
+			protected void process(ImageUInt16 input, ImageInt8 output) {
+				ConvolveImageStandard.vertical(kernel, input,  output, divisor);
+			}
+		});
+	}
+
+	/**
+	 * Performs a vertical 1D convolution across the image in the vertical direction.
+	 * The vertical border is not processed.
+	 *
+	 * @param input The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 */
+	public static void vertical(final Kernel1D_I32 kernel, ImageUInt8 input, ImageInt16 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		bands(input, output, kernel.offset, kernel.width-kernel.offset-1, output.width*kernel.width, new Band<ImageUInt8,ImageInt16>() {
+			@Override
+			protected void process(ImageUInt8 input, ImageInt16 output) {
+				if (!ConvolveImageUnrolled_U8_I16.vertical(kernel, input,  output))
+					ConvolveImageStandard.vertical(kernel, input,  output);
+			}
+		});
+	}
+
+	/**
+	 * Performs a vertical 1D convolution across the image in the vertical direction.
+	 * The vertical border is not processed.
+	 *
+	 * @param input The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 */
+	public static void vertical(final Kernel1D_I32 kernel, ImageUInt8 input, ImageSInt32 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		bands(input, output, kernel.offset, kernel.width-kernel.offset-1, output.width*kernel.width, new Band<ImageUInt8,ImageSInt32>() {
+			@Override
+			protected void process(ImageUInt8 input, ImageSInt32 output) {
+				ConvolveImageStandard.vertical(kernel, input,  output);
+			}
+		});
+	}
+
+	/**
+	 * Performs a vertical 1D convolution across the image in the vertical direction.
+	 * The vertical border is not processed.
+	 *
+	 * @param input The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 */
+	public static void vertical(final Kernel1D_I32 kernel, ImageSInt16 input, ImageInt16 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		bands(input, output, kernel.offset, kernel.width-kernel.offset-1, output.width*kernel.width, new Band<ImageSInt16,ImageInt16>() {
+			@Override
+			protected void process(ImageSInt16 input, ImageInt16 output) {
+				if (!ConvolveImageUnrolled_S16_I16.vertical(kernel, input,  output))
+					ConvolveImageStandard.vertical(kernel, input,  output);
+			}
+		});
+	}
+
+	/**
+	 * Performs a vertical 1D convolution across the image in the vertical direction.
+	 * The vertical border is not processed.
+	 *
+	 * @param input The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 * @param divisor The value that the convolved image is divided by.
+	 */
+	public static void vertical(final Kernel1D_I32 kernel, ImageSInt16 input, ImageInt16 output, final int divisor) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		bands(input, output, kernel.offset, kernel.width-kernel.offset-1, output.width*kernel.width, new Band<ImageSInt16,ImageInt16>() {
+			@Override
+			protected void process(ImageSInt16 input, ImageInt16 output) {
+				if (!ConvolveImageUnrolled_S16_I16_Div.vertical(kernel, input, output, divisor))
+					ConvolveImageStandard.vertical(kernel, input, output, divisor);
+			}
+		});
+	}
+
+	/**
+	 * Performs a vertical 1D convolution across the image in the vertical direction.
+	 * The vertical border is not processed.
+	 *
+	 * @param input The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 * @param divisor The value that the convolved image is divided by.
+	 */
+	public static void vertical(final Kernel1D_I32 kernel, ImageSInt32 input, ImageInt16 output, final int divisor) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		bands(input, output, kernel.offset, kernel.width-kernel.offset-1, output.width*kernel.width, new Band<ImageSInt32,ImageInt16>() {
+			@Override
+			protected void process(ImageSInt32 input, ImageInt16 output) {
+				ConvolveImageStandard.vertical(kernel, input, output, divisor);
+			}
+		});
+	}
+
+	/**
+	 * Performs a vertical 1D convolution across the image in the vertical direction.
+	 * The vertical border is not processed.
+	 *
+	 * @param input The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 * @param divisor The value that the convolved image is divided by.
+	 */
+	public static void vertical(final Kernel1D_I32 kernel, ImageSInt32 input, ImageSInt32 output, final int divisor) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		bands(input, output, kernel.offset, kernel.width-kernel.offset-1, output.width*kernel.width, new Band<ImageSInt32,ImageSInt32>() {
+			@Override
+			protected void process(ImageSInt32 input, ImageSInt32 output) {
+				if (!ConvolveImageUnrolled_S32_S32_Div.vertical(kernel, input, output, divisor))
+					ConvolveImageStandard.vertical(kernel, input, output, divisor);
+			}
+		});
+	}
+
+	/**
+	 * Performs a 2D convolution across the image.  The image's borders are not processed.
+	 *
+	 * @param kernel A square kernel that will be convolved across the source image
+	 * @param input  The source image that is to be convolved
+	 * @param output   The results of the convolution
+	 */
+	public static void convolve(final Kernel2D_F32 kernel, ImageFloat32 input, ImageFloat32 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		bands(input, output, kernel.offset, kernel.width-kernel.offset-1, output.width*kernel.width*kernel.width, new Band<ImageFloat32,ImageFloat32>() {
+			@Override
+			protected void process(ImageFloat32 input, ImageFloat32 output) {
+				if( !ConvolveImageUnrolled_F32_F32.convolve(kernel,input,output))
+					ConvolveImageStandard.convolve(kernel, input,  output);
+			}
+		});
+	}
+
+	/**
+	 * Performs a 2D convolution with division across the image.  The image's borders are not processed.
+	 *
+	 * @param kernel  A square kernel that will be convolved across the source image
+	 * @param input   The source image that is to be convolved
+	 * @param output	The results of the convolution
+	 * @param divisor The value that the convolved image is divided by.
+	 */
+	public static void convolve(final Kernel2D_I32 kernel, ImageUInt8 input, ImageInt8 output, final int divisor) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		bands(input, output, kernel.offset, kernel.width-kernel.offset-1, output.width*kernel.width*kernel.width, new Band<ImageUInt8,ImageInt8>() {
+			@Override
+			protected void process(ImageUInt8 input, ImageInt8 output) {
+				if( !ConvolveImageUnrolled_U8_I8_Div.convolve(kernel,input,output,divisor))
+					ConvolveImageStandard.convolve(kernel, input,  output, divisor);
+			}
+		});
+	}
+
+	/**
+	 * Performs a 2D convolution across the image.  The image's borders are not processed.
+	 *
+	 * @param kernel A square kernel that will be convolved across the source image
+	 * @param input  The source image that is to be convolved
+	 * @param output   The results of the convolution
+	 */
+	public static void convolve(final Kernel2D_I32 kernel, ImageUInt8 input, ImageInt16 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		bands(input, output, kernel.offset, kernel.width-kernel.offset-1, output.width*kernel.width*kernel.width, new Band<ImageUInt8,ImageInt16>() {
+			@Override
+			protected void process(ImageUInt8 input, ImageInt16 output) {
+				if( !ConvolveImageUnrolled_U8_I16.convolve(kernel,input,output))
+					ConvolveImageStandard.convolve(kernel, input,  output);
+			}
+		});
+	}
+
+	/**
+	 * Performs a 2D convolution across the image.  The image's borders are not processed.
+	 *
+	 * @param kernel A square kernel that will be convolved across the source image
+	 * @param input  The source image that is to be convolved
+	 * @param output   The results of the convolution
+	 */
+	public static void convolve(final Kernel2D_I32 kernel, ImageUInt8 input, ImageSInt32 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		bands(input, output, kernel.offset, kernel.width-kernel.offset-1, output.width*kernel.width*kernel.width, new Band<ImageUInt8,ImageSInt32>() {
+			@Override
+			protected void process(ImageUInt8 input, ImageSInt32 output) {
+				ConvolveImageStandard.convolve(kernel, input,  output);
+			}
+		});
+	}
+
+	/**
+	 * Performs a 2D convolution across the image.  The image's borders are not processed.
+	 *
+	 * @param kernel A square kernel that will be convolved across the source image
+	 * @param input  The source image that is to be convolved
+	 * @param output   The results of the convolution
+	 */
+	public static void convolve(final Kernel2D_I32 kernel, ImageSInt16 input, ImageInt16 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		bands(input, output, kernel.offset, kernel.width-kernel.offset-1, output.width*kernel.width*kernel.width, new Band<ImageSInt16,ImageInt16>() {
+			@Override
+			protected void process(ImageSInt16 input, ImageInt16 output) {
+				if( !ConvolveImageUnrolled_S16_I16.convolve(kernel,input,output))
+					ConvolveImageStandard.convolve(kernel, input,  output);
+			}
+		});
+	}
+
+	/**
+	 * Performs a 2D convolution across the image.  The image's borders are not processed.
+	 *
+	 * @param kernel A square kernel that will be convolved across the source image
+	 * @param input  The source image that is to be convolved
+	 * @param output   The results of the convolution
+	 * @param divisor The value that the convolved image is divided by.
+	 */
+	public static void convolve(final Kernel2D_I32 kernel, ImageSInt16 input, ImageInt16 output, final int divisor) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		bands(input, output, kernel.offset, kernel.width-kernel.offset-1, output.width*kernel.width*kernel.width, new Band<ImageSInt16,ImageInt16>() {
+			@Override
+			protected void process(ImageSInt16 input, ImageInt16 output) {
+				if( !ConvolveImageUnrolled_S16_I16_Div.convolve(kernel,input,output,divisor))
+					ConvolveImageStandard.convolve(kernel, input,  output, divisor);
+			}
+		});
+	}
+
+	/**
+	 * Processes the rows which the kernel can be fully convolved at in parallel bands.
+	 *
+	 * @param above Number of rows above an output row which the kernel reads from
+	 * @param below Number of rows below an output row which the kernel reads from
+	 * @param workPerRow Number of multiplications needed to compute one output row
+	 */
+	private static <I extends ImageSingleBand, O extends ImageSingleBand>
+	void bands( I input , O output , int above , int below , int workPerRow , Band<I,O> band ) {
+		band.input = input;
+		band.output = output;
+		band.above = above;
+		band.below = below;
+
+		BoofConcurrency.loopBlocks(above, output.height - below, workPerRow, band);
+	}
+
+	/**
+	 * Convolves a single band of rows.  The input and output are sub-images which contain the band's rows
+	 * plus the rows above and below it.  The unprocessed border of the sub-image is the band's halo and is
+	 * not written to.
+	 */
+	private static abstract class Band<I extends ImageSingleBand, O extends ImageSingleBand>
+			implements IntRangeTask
+	{
+		I input;
+		O output;
+		int above, below;
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public void process(int minInclusive, int maxExclusive) {
+			int y0 = minInclusive - above;
+			int y1 = maxExclusive + below;
+
+			I subInput = (I)input.subimage(0, y0, input.width, y1, null);
+			O subOutput = (O)output.subimage(0, y0, output.width, y1, null);
+
+			process(subInput, subOutput);
+		}
+
+		protected abstract void process( I input , O output );
+	}
+}
@@ -19,6 +19,7 @@
 package boofcv.alg.filter.convolve;
 
 import boofcv.alg.InputSanityCheck;
+import boofcv.alg.filter.convolve.normalized.ConvolveNormalizedInterleaved;
 import boofcv.alg.filter.convolve.normalized.ConvolveNormalizedNaive;
 import boofcv.alg.filter.convolve.normalized.ConvolveNormalized_JustBorder;
 import boofcv.alg.filter.kernel.KernelMath;
@@ -32,6 +33,9 @@ import boofcv.struct.image.*;
  * Convolves a kernel across an image and scales the kernel such that the sum of the portion inside
  * the image sums up to one.
  *
+ * The inner portion of the image is processed by {@link ConvolveImageNoBorder} and will be done concurrently
+ * if {@link boofcv.concurrency.BoofConcurrency#USE_CONCURRENT} is true.
+ *
  * @author Peter Abeles
  */
 public class ConvolveNormalized {
@@ -258,4 +262,60 @@ public class ConvolveNormalized {
 			ConvolveNormalized_JustBorder.convolve(kernel,image,dest);
 		}
 	}
+
+	/**
+	 * Performs a horizontal 1D convolution across an interleaved image while re-normalizing the kernel depending
+	 * on its overlap with the image.  Each band is processed independently.
+	 *
+	 * @param image	 The original image. Not modified.
+	 * @param dest	 Where the resulting image is written to. Modified.
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 */
+	public static void horizontal(Kernel1D_F32 kernel, InterleavedF32 image, InterleavedF32 dest ) {
+		InputSanityCheck.checkSameShape(image, dest);
+
+		ConvolveNormalizedInterleaved.horizontal(kernel,image,dest);
+	}
+
+	/**
+	 * Performs a horizontal 1D convolution across an interleaved image while re-normalizing the kernel depending
+	 * on its overlap with the image.  Each band is processed independently.
+	 *
+	 * @param image	 The original image. Not modified.
+	 * @param dest	 Where the resulting image is written to. Modified.
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 */
+	public static void horizontal(Kernel1D_I32 kernel, InterleavedU8 image, InterleavedU8 dest ) {
+		InputSanityCheck.checkSameShape(image, dest);
+
+		ConvolveNormalizedInterleaved.horizontal(kernel,image,dest);
+	}
+
+	/**
+	 * Performs a vertical 1D convolution across an interleaved image while re-normalizing the kernel depending
+	 * on its overlap with the image.  Each band is processed independently.
+	 *
+	 * @param image	 The original image. Not modified.
+	 * @param dest	 Where the resulting image is written to. Modified.
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 */
+	public static void vertical(Kernel1D_F32 kernel, InterleavedF32 image, InterleavedF32 dest ) {
+		InputSanityCheck.checkSameShape(image, dest);
+
+		ConvolveNormalizedInterleaved.vertical(kernel,image,dest);
+	}
+
+	/**
+	 * Performs a vertical 1D convolution across an interleaved image while re-normalizing the kernel depending
+	 * on its overlap with the image.  Each band is processed independently.
+	 *
+	 * @param image	 The original image. Not modified.
+	 * @param dest	 Where the resulting image is written to. Modified.
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 */
+	public static void vertical(Kernel1D_I32 kernel, InterleavedU8 image, InterleavedU8 dest ) {
+		InputSanityCheck.checkSameShape(image, dest);
+
+		ConvolveNormalizedInterleaved.vertical(kernel,image,dest);
+	}
 }
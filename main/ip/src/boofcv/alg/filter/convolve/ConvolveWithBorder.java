@@ -33,6 +33,11 @@ import boofcv.struct.image.*;
  * Convolves a kernel across an image and handles the image border using the specified method.
  * </p>
  *
+ * <p>
+ * The inner portion of the image is processed by {@link ConvolveImageNoBorder} and will be done concurrently
+ * if {@link boofcv.concurrency.BoofConcurrency#USE_CONCURRENT} is true.
+ * </p>
+ *
  * @author Peter Abeles
  */
 public class ConvolveWithBorder {
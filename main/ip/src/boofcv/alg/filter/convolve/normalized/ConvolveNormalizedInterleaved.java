@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.filter.convolve.normalized;
+
+import boofcv.struct.convolve.Kernel1D_F32;
+import boofcv.struct.convolve.Kernel1D_I32;
+import boofcv.struct.image.InterleavedF32;
+import boofcv.struct.image.InterleavedU8;
+
+/**
+ * <p>
+ * Convolves a 1D kernel in the horizontal or vertical direction across an interleaved image, while re-normalizing
+ * the kernel along the image border.  Each band is convolved independently and the results are the same as
+ * convolving each band as a single band image with {@link boofcv.alg.filter.convolve.ConvolveNormalized}.
+ * </p>
+ *
+ * <p>
+ * The image is processed without splitting it into bands first.  The horizontal pass walks along each row
+ * with a step of numBands and the vertical pass treats each row as a single array with width*numBands elements.
+ * No scratch memory is allocated.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ConvolveNormalizedInterleaved {
+
+	public static void horizontal(Kernel1D_F32 kernel, InterleavedF32 input, InterleavedF32 output ) {
+		final float[] dataSrc = input.data;
+		final float[] dataDst = output.data;
+		final float[] dataKer = kernel.data;
+
+		final int kernelWidth = kernel.getWidth();
+		final int offset = kernel.getOffset();
+		final int numBands = input.numBands;
+		final int width = input.width;
+
+		for( int y = 0; y < input.height; y++ ) {
+			final int indexRowIn = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int x = 0; x < width; x++ ) {
+				int startX = x - offset;
+				int kStart = startX < 0 ? -startX : 0;
+				int kEnd = startX + kernelWidth > width ? width - startX : kernelWidth;
+
+				float weight = 0;
+				for( int k = kStart; k < kEnd; k++ )
+					weight += dataKer[k];
+
+				final int indexStart = indexRowIn + (startX+kStart)*numBands;
+				for( int band = 0; band < numBands; band++ ) {
+					float total = 0;
+					int indexSrc = indexStart + band;
+					for( int k = kStart; k < kEnd; k++ , indexSrc += numBands ) {
+						total += dataSrc[indexSrc]*dataKer[k];
+					}
+					dataDst[indexDst++] = total/weight;
+				}
+			}
+		}
+	}
+
+	public static void vertical(Kernel1D_F32 kernel, InterleavedF32 input, InterleavedF32 output ) {
+		final float[] dataSrc = input.data;
+		final float[] dataDst = output.data;
+		final float[] dataKer = kernel.data;
+
+		final int kernelWidth = kernel.getWidth();
+		final int offset = kernel.getOffset();
+		final int height = input.height;
+		final int rowLength = input.width*input.numBands;
+
+		for( int y = 0; y < height; y++ ) {
+			int startY = y - offset;
+			int kStart = startY < 0 ? -startY : 0;
+			int kEnd = startY + kernelWidth > height ? height - startY : kernelWidth;
+
+			float weight = 0;
+			for( int k = kStart; k < kEnd; k++ )
+				weight += dataKer[k];
+
+			// sum up the rows inside the output row so that memory is traversed in order
+			final int indexDstStart = output.startIndex + y*output.stride;
+			final int indexDstEnd = indexDstStart + rowLength;
+			for( int indexDst = indexDstStart; indexDst < indexDstEnd; indexDst++ )
+				dataDst[indexDst] = 0;
+			for( int k = kStart; k < kEnd; k++ ) {
+				int indexSrc = input.startIndex + (startY+k)*input.stride;
+				final float w = dataKer[k];
+				for( int indexDst = indexDstStart; indexDst < indexDstEnd; indexDst++ ) {
+					dataDst[indexDst] += dataSrc[indexSrc++]*w;
+				}
+			}
+
+			for( int indexDst = indexDstStart; indexDst < indexDstEnd; indexDst++ ) {
+				dataDst[indexDst] /= weight;
+			}
+		}
+	}
+
+	public static void horizontal(Kernel1D_I32 kernel, InterleavedU8 input, InterleavedU8 output ) {
+		final byte[] dataSrc = input.data;
+		final byte[] dataDst = output.data;
+		final int[] dataKer = kernel.data;
+
+		final int kernelWidth = kernel.getWidth();
+		final int offset = kernel.getOffset();
+		final int numBands = input.numBands;
+		final int width = input.width;
+
+		for( int y = 0; y < input.height; y++ ) {
+			final int indexRowIn = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int x = 0; x < width; x++ ) {
+				int startX = x - offset;
+				int kStart = startX < 0 ? -startX : 0;
+				int kEnd = startX + kernelWidth > width ? width - startX : kernelWidth;
+
+				int weight = 0;
+				for( int k = kStart; k < kEnd; k++ )
+					weight += dataKer[k];
+				final int halfWeight = weight/2;
+
+				final int indexStart = indexRowIn + (startX+kStart)*numBands;
+				for( int band = 0; band < numBands; band++ ) {
+					int total = 0;
+					int indexSrc = indexStart + band;
+					for( int k = kStart; k < kEnd; k++ , indexSrc += numBands ) {
+						total += (dataSrc[indexSrc] & 0xFF)*dataKer[k];
+					}
+					dataDst[indexDst++] = (byte)((total+halfWeight)/weight);
+				}
+			}
+		}
+	}
+
+	public static void vertical(Kernel1D_I32 kernel, InterleavedU8 input, InterleavedU8 output ) {
+		final byte[] dataSrc = input.data;
+		final byte[] dataDst = output.data;
+		final int[] dataKer = kernel.data;
+
+		final int kernelWidth = kernel.getWidth();
+		final int offset = kernel.getOffset();
+		final int height = input.height;
+		final int rowLength = input.width*input.numBands;
+
+		for( int y = 0; y < height; y++ ) {
+			int startY = y - offset;
+			int kStart = startY < 0 ? -startY : 0;
+			int kEnd = startY + kernelWidth > height ? height - startY : kernelWidth;
+
+			int weight = 0;
+			for( int k = kStart; k < kEnd; k++ )
+				weight += dataKer[k];
+			final int halfWeight = weight/2;
+
+			// the output can't hold the partial sums, so each element is summed down its column
+			int indexDst = output.startIndex + y*output.stride;
+			int i = input.startIndex + (startY+kStart)*input.stride;
+			final int iEnd = i + rowLength;
+
+			for( ; i < iEnd; i++ ) {
+				int total = 0;
+				int indexSrc = i;
+				for( int k = kStart; k < kEnd; k++ ) {
+					total += (dataSrc[indexSrc] & 0xFF)*dataKer[k];
+					indexSrc += input.stride;
+				}
+				dataDst[indexDst++] = (byte)((total+halfWeight)/weight);
+			}
+		}
+	}
+}
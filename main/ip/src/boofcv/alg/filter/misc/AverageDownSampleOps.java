@@ -269,4 +269,36 @@ public class AverageDownSampleOps {
 			ImplAverageDownSampleN.down( input, sampleWidth , output);
 		}
 	}
+
+	/**
+	 * Down samples an interleaved image.  All the bands are processed together without splitting the image.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param sampleWidth Width of square region.
+	 * @param output Output image. Modified.
+	 */
+	public static void down( InterleavedU8 input , int sampleWidth , InterleavedU8 output ) {
+		checkDown(input, sampleWidth, output);
+		ImplAverageDownSampleInterleaved.down(input, sampleWidth, output);
+	}
+
+	/**
+	 * Down samples an interleaved image.  All the bands are processed together without splitting the image.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param sampleWidth Width of square region.
+	 * @param output Output image. Modified.
+	 */
+	public static void down( InterleavedF32 input , int sampleWidth , InterleavedF32 output ) {
+		checkDown(input, sampleWidth, output);
+		ImplAverageDownSampleInterleaved.down(input, sampleWidth, output);
+	}
+
+	private static void checkDown( ImageInterleaved input , int sampleWidth , ImageInterleaved output ) {
+		if( input.numBands != output.numBands )
+			throw new IllegalArgumentException("Number of bands do not match");
+		if( output.width != downSampleSize(input.width,sampleWidth) ||
+				output.height != downSampleSize(input.height,sampleWidth) )
+			throw new IllegalArgumentException("Output image has an unexpected shape.  See reshapeDown()");
+	}
 }
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.filter.misc;
+
+import boofcv.struct.image.InterleavedF32;
+import boofcv.struct.image.InterleavedU8;
+
+/**
+ * <p>Implementation of {@link AverageDownSampleOps} for interleaved images.  Square regions of any width are
+ * supported.  The bands in each pixel are summed together as the image is traversed, so that each row is only
+ * read once.  Results are identical to down sampling each band independently.</p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplAverageDownSampleInterleaved {
+
+	public static void down( InterleavedU8 input , int sampleWidth , InterleavedU8 output ) {
+		final int numBands = input.numBands;
+		final int[] totals = new int[ output.width*numBands ];
+
+		for( int outY = 0; outY < output.height; outY++ ) {
+			int y0 = outY*sampleWidth;
+			int y1 = Math.min(y0 + sampleWidth, input.height);
+
+			for( int i = 0; i < totals.length; i++ )
+				totals[i] = 0;
+
+			for( int y = y0; y < y1; y++ ) {
+				int indexIn = input.startIndex + y*input.stride;
+				for( int outX = 0; outX < output.width; outX++ ) {
+					int x0 = outX*sampleWidth;
+					int x1 = Math.min(x0 + sampleWidth, input.width);
+					int indexTotal = outX*numBands;
+					for( int x = x0; x < x1; x++ ) {
+						for( int band = 0; band < numBands; band++ ) {
+							totals[indexTotal+band] += input.data[indexIn++] & 0xFF;
+						}
+					}
+				}
+			}
+
+			int indexOut = output.startIndex + outY*output.stride;
+			for( int outX = 0; outX < output.width; outX++ ) {
+				int x0 = outX*sampleWidth;
+				int N = (y1-y0)*(Math.min(x0 + sampleWidth, input.width)-x0);
+				int N_half = N/2;
+				int indexTotal = outX*numBands;
+				for( int band = 0; band < numBands; band++ ) {
+					output.data[indexOut++] = (byte)((totals[indexTotal+band]+N_half)/N);
+				}
+			}
+		}
+	}
+
+	public static void down( InterleavedF32 input , int sampleWidth , InterleavedF32 output ) {
+		final int numBands = input.numBands;
+		final float[] totals = new float[ output.width*numBands ];
+
+		for( int outY = 0; outY < output.height; outY++ ) {
+			int y0 = outY*sampleWidth;
+			int y1 = Math.min(y0 + sampleWidth, input.height);
+
+			for( int i = 0; i < totals.length; i++ )
+				totals[i] = 0;
+
+			for( int y = y0; y < y1; y++ ) {
+				int indexIn = input.startIndex + y*input.stride;
+				for( int outX = 0; outX < output.width; outX++ ) {
+					int x0 = outX*sampleWidth;
+					int x1 = Math.min(x0 + sampleWidth, input.width);
+					int indexTotal = outX*numBands;
+					for( int x = x0; x < x1; x++ ) {
+						for( int band = 0; band < numBands; band++ ) {
+							totals[indexTotal+band] += input.data[indexIn++];
+						}
+					}
+				}
+			}
+
+			int indexOut = output.startIndex + outY*output.stride;
+			for( int outX = 0; outX < output.width; outX++ ) {
+				int x0 = outX*sampleWidth;
+				float N = (y1-y0)*(Math.min(x0 + sampleWidth, input.width)-x0);
+				int indexTotal = outX*numBands;
+				for( int band = 0; band < numBands; band++ ) {
+					output.data[indexOut++] = totals[indexTotal+band]/N;
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.filter.stream;
+
+/**
+ * Same as {@link RowSink} but it receives the image's gradient one row at a time.
+ *
+ * @author Peter Abeles
+ */
+public interface GradientRowSink {
+
+	/**
+	 * Called before the first row in an image
+	 *
+	 * @param width Number of elements in each row
+	 * @param height Number of rows in the image
+	 */
+	public void initialize( int width , int height );
+
+	/**
+	 * Passes in the next row of the gradient.  The data is only valid for the duration of the call and must
+	 * not be modified.
+	 *
+	 * @param row Index of the row in the image.
+	 * @param derivX Image derivative along the x-axis.  Starts at index 0.
+	 * @param derivY Image derivative along the y-axis.  Starts at index 0.
+	 */
+	public void process( int row , float[] derivX , float[] derivY );
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.filter.stream;
+
+import boofcv.struct.image.ImageFloat32;
+
+/**
+ * Last stage in a stream which writes the gradient into two images.  The images are reshaped to match the stream.
+ *
+ * @author Peter Abeles
+ */
+public class GradientRowToImage implements GradientRowSink {
+
+	ImageFloat32 derivX;
+	ImageFloat32 derivY;
+
+	public GradientRowToImage(ImageFloat32 derivX, ImageFloat32 derivY) {
+		this.derivX = derivX;
+		this.derivY = derivY;
+	}
+
+	public GradientRowToImage() {
+		this(new ImageFloat32(1,1),new ImageFloat32(1,1));
+	}
+
+	@Override
+	public void initialize(int width, int height) {
+		derivX.reshape(width,height);
+		derivY.reshape(width,height);
+	}
+
+	@Override
+	public void process(int row, float[] derivX, float[] derivY) {
+		System.arraycopy(derivX,0,this.derivX.data,this.derivX.startIndex + row*this.derivX.stride,this.derivX.width);
+		System.arraycopy(derivY,0,this.derivY.data,this.derivY.startIndex + row*this.derivY.stride,this.derivY.width);
+	}
+
+	public ImageFloat32 getDerivX() {
+		return derivX;
+	}
+
+	public ImageFloat32 getDerivY() {
+		return derivY;
+	}
+}
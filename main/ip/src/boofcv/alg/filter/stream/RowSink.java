@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.filter.stream;
+
+/**
+ * <p>
+ * Receives an image one row at a time, starting at the top.  Used to chain filters together so that the image
+ * is processed in a single streaming pass.  Each stage only buffers the rows it needs, instead of writing a
+ * full sized intermediate image which is then read back by the next stage.
+ * </p>
+ *
+ * <p>
+ * All the rows in an image must be passed in order.  Once the last row has been passed in a stage passes all
+ * its remaining rows to the next stage.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public interface RowSink {
+
+	/**
+	 * Called before the first row in an image
+	 *
+	 * @param width Number of elements in each row
+	 * @param height Number of rows in the image
+	 */
+	public void initialize( int width , int height );
+
+	/**
+	 * Passes in the next row in the image.  The data is only valid for the duration of the call and must
+	 * not be modified.
+	 *
+	 * @param row Index of the row in the image.
+	 * @param data Array containing the row.
+	 * @param offset Index of the first element in the row.
+	 */
+	public void process( int row , float[] data , int offset );
+}
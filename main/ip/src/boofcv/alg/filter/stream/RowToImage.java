@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.filter.stream;
+
+import boofcv.struct.image.ImageFloat32;
+
+/**
+ * Last stage in a stream which writes the rows into an image.  The image is reshaped to match the stream.
+ *
+ * @author Peter Abeles
+ */
+public class RowToImage implements RowSink {
+
+	ImageFloat32 image;
+
+	public RowToImage(ImageFloat32 image) {
+		this.image = image;
+	}
+
+	public RowToImage() {
+		this(new ImageFloat32(1,1));
+	}
+
+	@Override
+	public void initialize(int width, int height) {
+		image.reshape(width,height);
+	}
+
+	@Override
+	public void process(int row, float[] data, int offset) {
+		System.arraycopy(data,offset,image.data,image.startIndex + row*image.stride,image.width);
+	}
+
+	public ImageFloat32 getImage() {
+		return image;
+	}
+
+	public void setImage(ImageFloat32 image) {
+		this.image = image;
+	}
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.filter.stream;
+
+import boofcv.alg.filter.convolve.ConvolveNormalized;
+import boofcv.struct.convolve.Kernel1D_F32;
+
+/**
+ * <p>
+ * Streaming version of a horizontal followed by a vertical normalized convolution.  Equivalent to
+ * {@link ConvolveNormalized#horizontal(Kernel1D_F32, boofcv.struct.image.ImageFloat32, boofcv.struct.image.ImageFloat32)}
+ * followed by {@link ConvolveNormalized#vertical(Kernel1D_F32, boofcv.struct.image.ImageFloat32, boofcv.struct.image.ImageFloat32)}.
+ * Instead of an intermediate image only the last kernel width rows of the horizontal convolution are saved.
+ * Gaussian blur and mean blur can be computed by passing in the appropriate kernels.
+ * </p>
+ *
+ * <p>
+ * The kernels are assumed to sum up to one.  Along the image border the kernel is renormalized so that only
+ * pixels inside the image are used.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class StreamConvolveNormalized implements RowSink {
+
+	Kernel1D_F32 horizontal;
+	Kernel1D_F32 vertical;
+
+	// the next stage in the stream
+	RowSink output;
+
+	int width, height;
+
+	// Ring buffer storing the horizontal convolution.  Row 'y' is stored at y % vertical.width
+	float ring[][] = new float[0][];
+	// storage for the output row
+	float outRow[] = new float[0];
+
+	// the next row which is passed to the output
+	int nextOut;
+
+	/**
+	 * Specifies the kernels and the next stage
+	 *
+	 * @param horizontal Kernel applied along each row
+	 * @param vertical Kernel applied along each column
+	 * @param output The next stage in the stream
+	 */
+	public StreamConvolveNormalized(Kernel1D_F32 horizontal, Kernel1D_F32 vertical, RowSink output) {
+		this.horizontal = horizontal;
+		this.vertical = vertical;
+		this.output = output;
+	}
+
+	@Override
+	public void initialize(int width, int height) {
+		this.width = width;
+		this.height = height;
+		this.nextOut = 0;
+
+		if( ring.length != vertical.width || outRow.length < width ) {
+			ring = new float[ vertical.width ][ width ];
+			outRow = new float[ width ];
+		} else if( ring[0].length < width ) {
+			for( int i = 0; i < ring.length; i++ )
+				ring[i] = new float[ width ];
+		}
+
+		output.initialize(width, height);
+	}
+
+	@Override
+	public void process(int row, float[] data, int offset) {
+		convolveHorizontal(data, offset, ring[row % vertical.width]);
+
+		// last row in the output which can be computed using the rows already seen
+		int last = row == height-1 ? height-1 : row - (vertical.width-1-vertical.offset);
+
+		for( ; nextOut <= last; nextOut++ ) {
+			convolveVertical(nextOut);
+			output.process(nextOut, outRow, 0);
+		}
+	}
+
+	protected void convolveHorizontal( float[] data , int offset , float[] dst ) {
+		final float[] kernel = horizontal.data;
+		final int kernelWidth = horizontal.width;
+		final int kernelOffset = horizontal.offset;
+
+		for( int x = 0; x < width; x++ ) {
+			int startX = x - kernelOffset;
+			int endX = startX + kernelWidth;
+
+			if( startX >= 0 && endX <= width ) {
+				float total = 0;
+				int index = offset + startX;
+				for( int k = 0; k < kernelWidth; k++ ) {
+					total += data[index++]*kernel[k];
+				}
+				dst[x] = total;
+			} else {
+				if( startX < 0 ) startX = 0;
+				if( endX > width ) endX = width;
+
+				float total = 0;
+				float weight = 0;
+				for( int j = startX; j < endX; j++ ) {
+					float v = kernel[j-x+kernelOffset];
+					total += data[offset+j]*v;
+					weight += v;
+				}
+				dst[x] = total/weight;
+			}
+		}
+	}
+
+	protected void convolveVertical( int row ) {
+		final float[] kernel = vertical.data;
+		final int kernelWidth = vertical.width;
+
+		int startY = row - vertical.offset;
+		int endY = startY + kernelWidth;
+
+		boolean border = startY < 0 || endY > height;
+		if( startY < 0 ) startY = 0;
+		if( endY > height ) endY = height;
+
+		for( int x = 0; x < width; x++ ) {
+			outRow[x] = 0;
+		}
+
+		float weight = 0;
+		for( int i = startY; i < endY; i++ ) {
+			float[] src = ring[i % kernelWidth];
+			float v = kernel[i-row+vertical.offset];
+			weight += v;
+			for( int x = 0; x < width; x++ ) {
+				outRow[x] += src[x]*v;
+			}
+		}
+
+		if( border ) {
+			for( int x = 0; x < width; x++ ) {
+				outRow[x] /= weight;
+			}
+		}
+	}
+
+	public RowSink getOutput() {
+		return output;
+	}
+
+	public Kernel1D_F32 getHorizontal() {
+		return horizontal;
+	}
+
+	public Kernel1D_F32 getVertical() {
+		return vertical;
+	}
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.filter.stream;
+
+import boofcv.alg.filter.derivative.GradientSobel;
+
+/**
+ * <p>
+ * Streaming version of {@link GradientSobel} for floating point images.  Only the last three rows of the input
+ * image are saved.  The image border is handled by extending the edge pixels, the same as passing in
+ * {@link boofcv.core.image.border.FactoryImageBorderAlgs#extend(boofcv.struct.image.ImageFloat32)}.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class StreamGradientSobel implements RowSink {
+
+	// the next stage in the stream
+	GradientRowSink output;
+
+	int width, height;
+
+	// copy of the last three input rows. Row 'y' is stored at y % 3
+	float ring[][] = new float[3][0];
+
+	// storage for the gradient's output row
+	float derivX[] = new float[0];
+	float derivY[] = new float[0];
+
+	public StreamGradientSobel(GradientRowSink output) {
+		this.output = output;
+	}
+
+	@Override
+	public void initialize(int width, int height) {
+		this.width = width;
+		this.height = height;
+
+		if( derivX.length < width ) {
+			for( int i = 0; i < ring.length; i++ )
+				ring[i] = new float[ width ];
+			derivX = new float[ width ];
+			derivY = new float[ width ];
+		}
+
+		output.initialize(width, height);
+	}
+
+	@Override
+	public void process(int row, float[] data, int offset) {
+		System.arraycopy(data,offset,ring[row%3],0,width);
+
+		if( row >= 1 )
+			computeRow(row-1);
+		if( row == height-1 )
+			computeRow(row);
+	}
+
+	protected void computeRow( int row ) {
+		float[] a = ring[Math.max(0,row-1) % 3];
+		float[] b = ring[row % 3];
+		float[] c = ring[Math.min(height-1,row+1) % 3];
+
+		if( width == 1 ) {
+			derivX[0] = 0;
+			derivY[0] = c[0]-a[0];
+		} else {
+			computeBorder(a,b,c,0,0,1);
+			for( int x = 1; x < width-1; x++ ) {
+				float a0 = a[x-1], a2 = a[x+1];
+				float c0 = c[x-1], c2 = c[x+1];
+
+				derivX[x] = 0.25f*(a2 - a0) + 0.5f*(b[x+1] - b[x-1]) + 0.25f*(c2 - c0);
+				derivY[x] = 0.25f*(c0 - a0) + 0.5f*(c[x] - a[x]) + 0.25f*(c2 - a2);
+			}
+			computeBorder(a,b,c,width-1,width-2,width-1);
+		}
+
+		output.process(row,derivX,derivY);
+	}
+
+	private void computeBorder( float[] a , float[] b , float[] c , int x , int x0 , int x2 ) {
+		derivX[x] = 0.25f*(a[x2] - a[x0]) + 0.5f*(b[x2] - b[x0]) + 0.25f*(c[x2] - c[x0]);
+		derivY[x] = 0.25f*(c[x0] - a[x0]) + 0.5f*(c[x] - a[x]) + 0.25f*(c[x2] - a[x2]);
+	}
+
+	public GradientRowSink getOutput() {
+		return output;
+	}
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.filter.stream;
+
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * Passes each row in an image, starting at the top, into a {@link RowSink}.
+ *
+ * @author Peter Abeles
+ */
+public class StreamImageRows {
+
+	/**
+	 * Streams the image into the sink.  No data is copied.
+	 *
+	 * @param image Input image. Not modified.
+	 * @param sink First stage in the stream.
+	 */
+	public static void process( ImageFloat32 image , RowSink sink ) {
+		sink.initialize(image.width,image.height);
+		for( int y = 0; y < image.height; y++ ) {
+			sink.process(y, image.data, image.startIndex + y*image.stride);
+		}
+	}
+
+	/**
+	 * Converts each row into floating point and streams the image into the sink.
+	 *
+	 * @param image Input image. Not modified.
+	 * @param sink First stage in the stream.
+	 */
+	public static void process( ImageUInt8 image , RowSink sink ) {
+		float[] row = new float[ image.width ];
+
+		sink.initialize(image.width,image.height);
+		for( int y = 0; y < image.height; y++ ) {
+			int index = image.startIndex + y*image.stride;
+			for( int x = 0; x < image.width; x++ ) {
+				row[x] = image.data[index++] & 0xFF;
+			}
+			sink.process(y, row, 0);
+		}
+	}
+}
@@ -18,12 +18,18 @@
 
 package boofcv.alg.misc;
 
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.ImageBandTask;
+import boofcv.concurrency.IntRangeTask;
 import boofcv.struct.image.*;
 
 import java.util.Random;
 
 /**
  * Generalized version of {@link ImageMiscOps}.  Type checking is performed at runtime instead of at compile type.
+ * If {@link BoofConcurrency#isConcurrent(long)} is true then {@link #copy}, {@link #fill} and
+ * {@link #flipHorizontal} split the image into bands of rows which are processed in parallel.  Functions which
+ * draw from a random number generator are always single threaded, so that their output is repeatable.
  *
  * @author Peter Abeles
  */
@@ -42,8 +48,20 @@ public class GImageMiscOps {
 	 * @param input Input image
 	 * @param output output image
 	 */
-	public static void copy( int srcX , int srcY , int dstX , int dstY , int width , int height ,
-							 ImageBase input , ImageBase output ) {
+	public static void copy( final int srcX , final int srcY , final int dstX , final int dstY ,
+							 final int width , final int height ,
+							 final ImageBase input , final ImageBase output ) {
+		// rows are only independent if the regions can't overlap
+		if( input != output && BoofConcurrency.isConcurrent(width*height) ) {
+			BoofConcurrency.loopBlocks(0,height,width,new IntRangeTask() {
+				@Override
+				public void process(int y0, int y1) {
+					copy(srcX,srcY+y0,dstX,dstY+y0,width,y1-y0,input,output);
+				}
+			});
+			return;
+		}
+
 		if( input instanceof ImageSingleBand ) {
 			if( ImageInt8.class.isAssignableFrom(input.getClass()) ) {
 				ImageMiscOps.copy(srcX, srcY, dstX, dstY, width, height, (ImageInt8) input, (ImageInt8) output);
@@ -76,7 +94,17 @@ public class GImageMiscOps {
 		 * @param input Input image. Not modified.
 		 * @param value fill value
 		 */
-	public static void fill( ImageBase input , double value ) {
+	public static void fill( ImageBase input , final double value ) {
+		if( BoofConcurrency.isConcurrent(input.width*input.height) ) {
+			new ImageBandTask(input) {
+				@Override
+				protected void processBand(ImageBase[] b) {
+					fill(b[0],value);
+				}
+			}.processRows();
+			return;
+		}
+
 		if( input instanceof ImageSingleBand ) {
 			if( ImageInt8.class.isAssignableFrom(input.getClass()) ) {
 				ImageMiscOps.fill((ImageInt8)input,(int)value);
@@ -385,6 +413,16 @@ public class GImageMiscOps {
 	 * Flips the image from left to right
 	 */
 	public static void flipHorizontal( ImageBase img ) {
+		if( BoofConcurrency.isConcurrent(img.width*img.height) ) {
+			new ImageBandTask(img) {
+				@Override
+				protected void processBand(ImageBase[] b) {
+					flipHorizontal(b[0]);
+				}
+			}.processRows();
+			return;
+		}
+
 		if( img instanceof ImageSingleBand ) {
 			if( ImageInt8.class.isAssignableFrom(img.getClass()) ) {
 				ImageMiscOps.flipHorizontal((ImageInt8) img);
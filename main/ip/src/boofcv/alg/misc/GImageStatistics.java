@@ -289,4 +289,38 @@ public class GImageStatistics {
 			throw new IllegalArgumentException("Unknown image Type");
 		}
 	}
+
+	/**
+	 * Computes the minimum, maximum, mean, and variance of the pixel values and optionally the histogram
+	 * in a single pass through the image.  For floating point images the histogram is computed by rounding
+	 * using "(int)value".
+	 *
+	 * @param input (input) Image. Not modified.
+	 * @param minValue (input) Minimum possible intensity value.  Ignored for unsigned images.
+	 * @param histogram (output) Storage for histogram or null if not needed.
+	 * @param output (output) Storage for the statistics.  If null a new instance is created.
+	 * @return The statistics
+	 */
+	public static PixelStatistics statistics( ImageSingleBand input , int minValue , int histogram[] ,
+											  PixelStatistics output ) {
+		if( ImageUInt8.class == input.getClass() ) {
+			return ImageStatistics.statistics((ImageUInt8)input,histogram,output);
+		} else if( ImageSInt8.class == input.getClass() ) {
+			return ImageStatistics.statistics((ImageSInt8)input,minValue,histogram,output);
+		} else if( ImageUInt16.class == input.getClass() ) {
+			return ImageStatistics.statistics((ImageUInt16)input,histogram,output);
+		} else if( ImageSInt16.class == input.getClass() ) {
+			return ImageStatistics.statistics((ImageSInt16)input,minValue,histogram,output);
+		} else if( ImageSInt32.class == input.getClass() ) {
+			return ImageStatistics.statistics((ImageSInt32)input,minValue,histogram,output);
+		} else if( ImageSInt64.class == input.getClass() ) {
+			return ImageStatistics.statistics((ImageSInt64)input,minValue,histogram,output);
+		} else if( ImageFloat32.class == input.getClass() ) {
+			return ImageStatistics.statistics((ImageFloat32)input,minValue,histogram,output);
+		} else if( ImageFloat64.class == input.getClass() ) {
+			return ImageStatistics.statistics((ImageFloat64)input,minValue,histogram,output);
+		} else {
+			throw new IllegalArgumentException("Unknown image Type");
+		}
+	}
 }
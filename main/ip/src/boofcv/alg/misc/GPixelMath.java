@@ -18,10 +18,15 @@
 
 package boofcv.alg.misc;
 
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.ImageBandTask;
 import boofcv.struct.image.*;
 
 /**
  * Generalized version of {@link PixelMath}.  Type checking is performed at runtime instead of at compile type.
+ * Both {@link ImageSingleBand} and {@link ImageInterleaved} images are supported.
+ * If {@link BoofConcurrency#isConcurrent(long)} is true then the images are split into bands of rows which
+ * are processed in parallel.
  *
  * @author Peter Abeles
  */
@@ -34,22 +39,51 @@ public class GPixelMath {
 	 * @param input The input image. Not modified.
 	 * @param output Where the absolute value image is written to. Modified.
 	 */
-	public static <T extends ImageSingleBand> void abs( T input , T output )
+	public static <T extends ImageBase> void abs( final T input , final T output )
 	{
-		if( ImageSInt8.class == input.getClass() ) {
-			PixelMath.abs((ImageSInt8) input, (ImageSInt8) output);
-		} else if( ImageSInt16.class == input.getClass() ) {
-			PixelMath.abs((ImageSInt16) input, (ImageSInt16) output);
-		} else if( ImageSInt32.class == input.getClass() ) {
-			PixelMath.abs((ImageSInt32) input, (ImageSInt32) output);
-		} else if( ImageSInt64.class == input.getClass() ) {
-			PixelMath.abs((ImageSInt64) input, (ImageSInt64) output);
-		} else if( ImageFloat32.class == input.getClass() ) {
-			PixelMath.abs((ImageFloat32) input, (ImageFloat32) output);
-		} else if( ImageFloat64.class == input.getClass() ) {
-			PixelMath.abs((ImageFloat64) input, (ImageFloat64) output);
-		}
-		// otherwise assume it is an unsigned image type
+		if( BoofConcurrency.isConcurrent(input.width*input.height) ) {
+			new ImageBandTask(input,output) {
+				@Override
+				protected void processBand(ImageBase[] b) {
+					abs((T)b[0],(T)b[1]);
+				}
+			}.processRows();
+			return;
+		}
+
+		if( input instanceof ImageSingleBand ) {
+			if( ImageSInt8.class == input.getClass() ) {
+				PixelMath.abs((ImageSInt8) input, (ImageSInt8) output);
+			} else if( ImageSInt16.class == input.getClass() ) {
+				PixelMath.abs((ImageSInt16) input, (ImageSInt16) output);
+			} else if( ImageSInt32.class == input.getClass() ) {
+				PixelMath.abs((ImageSInt32) input, (ImageSInt32) output);
+			} else if( ImageSInt64.class == input.getClass() ) {
+				PixelMath.abs((ImageSInt64) input, (ImageSInt64) output);
+			} else if( ImageFloat32.class == input.getClass() ) {
+				PixelMath.abs((ImageFloat32) input, (ImageFloat32) output);
+			} else if( ImageFloat64.class == input.getClass() ) {
+				PixelMath.abs((ImageFloat64) input, (ImageFloat64) output);
+			}
+			// otherwise assume it is an unsigned image type
+		} else if( input instanceof ImageInterleaved ) {
+			if( InterleavedS8.class == input.getClass() ) {
+				PixelMath.abs((InterleavedS8) input, (InterleavedS8) output);
+			} else if( InterleavedS16.class == input.getClass() ) {
+				PixelMath.abs((InterleavedS16) input, (InterleavedS16) output);
+			} else if( InterleavedS32.class == input.getClass() ) {
+				PixelMath.abs((InterleavedS32) input, (InterleavedS32) output);
+			} else if( InterleavedS64.class == input.getClass() ) {
+				PixelMath.abs((InterleavedS64) input, (InterleavedS64) output);
+			} else if( InterleavedF32.class == input.getClass() ) {
+				PixelMath.abs((InterleavedF32) input, (InterleavedF32) output);
+			} else if( InterleavedF64.class == input.getClass() ) {
+				PixelMath.abs((InterleavedF64) input, (InterleavedF64) output);
+			}
+			// otherwise assume it is an unsigned image type
+		} else {
+			throw new IllegalArgumentException("Unknown image Type: "+input.getClass().getSimpleName());
+		}
 	}
 
 	/**
@@ -59,22 +93,52 @@ public class GPixelMath {
 	 * @param input The input image. Not modified.
 	 * @param output Where the inverted image is written to. Modified.
 	 */
-	public static <T extends ImageSingleBand> void invert( T input , T output )
+	public static <T extends ImageBase> void invert( final T input , final T output )
 	{
-		if( ImageSInt8.class == input.getClass() ) {
-			PixelMath.invert((ImageSInt8) input, (ImageSInt8) output);
-		} else if( ImageSInt16.class == input.getClass() ) {
-			PixelMath.invert((ImageSInt16) input, (ImageSInt16) output);
-		} else if( ImageSInt32.class == input.getClass() ) {
-			PixelMath.invert((ImageSInt32) input, (ImageSInt32) output);
-		} else if( ImageSInt64.class == input.getClass() ) {
-			PixelMath.invert((ImageSInt64) input, (ImageSInt64) output);
-		} else if( ImageFloat32.class == input.getClass() ) {
-			PixelMath.invert((ImageFloat32) input, (ImageFloat32) output);
-		} else if( ImageFloat64.class == input.getClass() ) {
-			PixelMath.invert((ImageFloat64) input, (ImageFloat64) output);
+		if( BoofConcurrency.isConcurrent(input.width*input.height) ) {
+			new ImageBandTask(input,output) {
+				@Override
+				protected void processBand(ImageBase[] b) {
+					invert((T)b[0],(T)b[1]);
+				}
+			}.processRows();
+			return;
+		}
+
+		if( input instanceof ImageSingleBand ) {
+			if( ImageSInt8.class == input.getClass() ) {
+				PixelMath.invert((ImageSInt8) input, (ImageSInt8) output);
+			} else if( ImageSInt16.class == input.getClass() ) {
+				PixelMath.invert((ImageSInt16) input, (ImageSInt16) output);
+			} else if( ImageSInt32.class == input.getClass() ) {
+				PixelMath.invert((ImageSInt32) input, (ImageSInt32) output);
+			} else if( ImageSInt64.class == input.getClass() ) {
+				PixelMath.invert((ImageSInt64) input, (ImageSInt64) output);
+			} else if( ImageFloat32.class == input.getClass() ) {
+				PixelMath.invert((ImageFloat32) input, (ImageFloat32) output);
+			} else if( ImageFloat64.class == input.getClass() ) {
+				PixelMath.invert((ImageFloat64) input, (ImageFloat64) output);
+			} else {
+				throw new IllegalArgumentException("Unsupported image type.  Input image must be signed");
+			}
+		} else if( input instanceof ImageInterleaved ) {
+			if( InterleavedS8.class == input.getClass() ) {
+				PixelMath.invert((InterleavedS8) input, (InterleavedS8) output);
+			} else if( InterleavedS16.class == input.getClass() ) {
+				PixelMath.invert((InterleavedS16) input, (InterleavedS16) output);
+			} else if( InterleavedS32.class == input.getClass() ) {
+				PixelMath.invert((InterleavedS32) input, (InterleavedS32) output);
+			} else if( InterleavedS64.class == input.getClass() ) {
+				PixelMath.invert((InterleavedS64) input, (InterleavedS64) output);
+			} else if( InterleavedF32.class == input.getClass() ) {
+				PixelMath.invert((InterleavedF32) input, (InterleavedF32) output);
+			} else if( InterleavedF64.class == input.getClass() ) {
+				PixelMath.invert((InterleavedF64) input, (InterleavedF64) output);
+			} else {
+				throw new IllegalArgumentException("Unsupported image type.  Input image must be signed");
+			}
 		} else {
-			throw new IllegalArgumentException("Unsupported image type.  Input image must be signed");
+			throw new IllegalArgumentException("Unknown image Type: "+input.getClass().getSimpleName());
 		}
 	}
 
@@ -85,24 +149,57 @@ public class GPixelMath {
 	 * @param denominator What each element is divided by.
 	 * @param output The output image. Modified.
 	 */
-	public static <T extends ImageSingleBand> void divide(T input, double denominator, T output) {
-
-		if( ImageUInt8.class == input.getClass() ) {
-			PixelMath.divide((ImageUInt8)input,denominator,(ImageUInt8)output);
-		} else if( ImageSInt8.class == input.getClass() ) {
-			PixelMath.divide((ImageSInt8)input,denominator,(ImageSInt8)output);
-		} else if( ImageUInt16.class == input.getClass() ) {
-			PixelMath.divide((ImageUInt16)input,denominator,(ImageUInt16)output);
-		} else if( ImageSInt16.class == input.getClass() ) {
-			PixelMath.divide((ImageSInt16)input,denominator,(ImageSInt16)output);
-		} else if( ImageSInt32.class == input.getClass() ) {
-			PixelMath.divide((ImageSInt32)input,denominator,(ImageSInt32)output);
-		} else if( ImageSInt64.class == input.getClass() ) {
-			PixelMath.divide((ImageSInt64)input,denominator,(ImageSInt64)output);
-		} else if( ImageFloat32.class == input.getClass() ) {
-			PixelMath.divide((ImageFloat32)input,(float)denominator,(ImageFloat32)output);
-		} else if( ImageFloat64.class == input.getClass() ) {
-			PixelMath.divide((ImageFloat64)input,denominator,(ImageFloat64)output);
+	public static <T extends ImageBase> void divide(final T input, final double denominator, final T output) {
+		if( BoofConcurrency.isConcurrent(input.width*input.height) ) {
+			new ImageBandTask(input,output) {
+				@Override
+				protected void processBand(ImageBase[] b) {
+					divide((T)b[0],denominator,(T)b[1]);
+				}
+			}.processRows();
+			return;
+		}
+
+		if( input instanceof ImageSingleBand ) {
+			if( ImageUInt8.class == input.getClass() ) {
+				PixelMath.divide((ImageUInt8)input,denominator,(ImageUInt8)output);
+			} else if( ImageSInt8.class == input.getClass() ) {
+				PixelMath.divide((ImageSInt8)input,denominator,(ImageSInt8)output);
+			} else if( ImageUInt16.class == input.getClass() ) {
+				PixelMath.divide((ImageUInt16)input,denominator,(ImageUInt16)output);
+			} else if( ImageSInt16.class == input.getClass() ) {
+				PixelMath.divide((ImageSInt16)input,denominator,(ImageSInt16)output);
+			} else if( ImageSInt32.class == input.getClass() ) {
+				PixelMath.divide((ImageSInt32)input,denominator,(ImageSInt32)output);
+			} else if( ImageSInt64.class == input.getClass() ) {
+				PixelMath.divide((ImageSInt64)input,denominator,(ImageSInt64)output);
+			} else if( ImageFloat32.class == input.getClass() ) {
+				PixelMath.divide((ImageFloat32)input,(float)denominator,(ImageFloat32)output);
+			} else if( ImageFloat64.class == input.getClass() ) {
+				PixelMath.divide((ImageFloat64)input,denominator,(ImageFloat64)output);
+			} else {
+				throw new IllegalArgumentException("Unknown image Type: "+input.getClass().getSimpleName());
+			}
+		} else if( input instanceof ImageInterleaved ) {
+			if( InterleavedU8.class == input.getClass() ) {
+				PixelMath.divide((InterleavedU8)input,denominator,(InterleavedU8)output);
+			} else if( InterleavedS8.class == input.getClass() ) {
+				PixelMath.divide((InterleavedS8)input,denominator,(InterleavedS8)output);
+			} else if( InterleavedU16.class == input.getClass() ) {
+				PixelMath.divide((InterleavedU16)input,denominator,(InterleavedU16)output);
+			} else if( InterleavedS16.class == input.getClass() ) {
+				PixelMath.divide((InterleavedS16)input,denominator,(InterleavedS16)output);
+			} else if( InterleavedS32.class == input.getClass() ) {
+				PixelMath.divide((InterleavedS32)input,denominator,(InterleavedS32)output);
+			} else if( InterleavedS64.class == input.getClass() ) {
+				PixelMath.divide((InterleavedS64)input,denominator,(InterleavedS64)output);
+			} else if( InterleavedF32.class == input.getClass() ) {
+				PixelMath.divide((InterleavedF32)input,(float)denominator,(InterleavedF32)output);
+			} else if( InterleavedF64.class == input.getClass() ) {
+				PixelMath.divide((InterleavedF64)input,denominator,(InterleavedF64)output);
+			} else {
+				throw new IllegalArgumentException("Unknown image Type: "+input.getClass().getSimpleName());
+			}
 		} else {
 			throw new IllegalArgumentException("Unknown image Type: "+input.getClass().getSimpleName());
 		}
@@ -117,25 +214,59 @@ public class GPixelMath {
 	 * @param upper Upper bound on output
 	 * @param output The output image. Modified.
 	 */
-	public static <T extends ImageSingleBand> void divide(T input, double denominator,
-														  double lower , double upper  , T output)
+	public static <T extends ImageBase> void divide(final T input, final double denominator,
+														  final double lower , final double upper  , final T output)
 	{
-		if( ImageUInt8.class == input.getClass() ) {
-			PixelMath.divide((ImageUInt8)input,denominator,(int)lower,(int)upper,(ImageUInt8)output);
-		} else if( ImageSInt8.class == input.getClass() ) {
-			PixelMath.divide((ImageSInt8)input,denominator,(int)lower,(int)upper,(ImageSInt8)output);
-		} else if( ImageUInt16.class == input.getClass() ) {
-			PixelMath.divide((ImageUInt16)input,denominator,(int)lower,(int)upper,(ImageUInt16)output);
-		} else if( ImageSInt16.class == input.getClass() ) {
-			PixelMath.divide((ImageSInt16)input,denominator,(int)lower,(int)upper,(ImageSInt16)output);
-		} else if( ImageSInt32.class == input.getClass() ) {
-			PixelMath.divide((ImageSInt32)input,denominator,(int)lower,(int)upper,(ImageSInt32)output);
-		} else if( ImageSInt64.class == input.getClass() ) {
-			PixelMath.divide((ImageSInt64)input,denominator,(long)lower,(long)upper,(ImageSInt64)output);
-		} else if( ImageFloat32.class == input.getClass() ) {
-			PixelMath.divide((ImageFloat32)input,(float)denominator,(float)lower,(float)upper,(ImageFloat32)output);
-		} else if( ImageFloat64.class == input.getClass() ) {
-			PixelMath.divide((ImageFloat64)input,denominator,lower,upper,(ImageFloat64)output);
+		if( BoofConcurrency.isConcurrent(input.width*input.height) ) {
+			new ImageBandTask(input,output) {
+				@Override
+				protected void processBand(ImageBase[] b) {
+					divide((T)b[0],denominator,lower,upper,(T)b[1]);
+				}
+			}.processRows();
+			return;
+		}
+
+		if( input instanceof ImageSingleBand ) {
+			if( ImageUInt8.class == input.getClass() ) {
+				PixelMath.divide((ImageUInt8)input,denominator,(int)lower,(int)upper,(ImageUInt8)output);
+			} else if( ImageSInt8.class == input.getClass() ) {
+				PixelMath.divide((ImageSInt8)input,denominator,(int)lower,(int)upper,(ImageSInt8)output);
+			} else if( ImageUInt16.class == input.getClass() ) {
+				PixelMath.divide((ImageUInt16)input,denominator,(int)lower,(int)upper,(ImageUInt16)output);
+			} else if( ImageSInt16.class == input.getClass() ) {
+				PixelMath.divide((ImageSInt16)input,denominator,(int)lower,(int)upper,(ImageSInt16)output);
+			} else if( ImageSInt32.class == input.getClass() ) {
+				PixelMath.divide((ImageSInt32)input,denominator,(int)lower,(int)upper,(ImageSInt32)output);
+			} else if( ImageSInt64.class == input.getClass() ) {
+				PixelMath.divide((ImageSInt64)input,denominator,(long)lower,(long)upper,(ImageSInt64)output);
+			} else if( ImageFloat32.class == input.getClass() ) {
+				PixelMath.divide((ImageFloat32)input,(float)denominator,(float)lower,(float)upper,(ImageFloat32)output);
+			} else if( ImageFloat64.class == input.getClass() ) {
+				PixelMath.divide((ImageFloat64)input,denominator,lower,upper,(ImageFloat64)output);
+			} else {
+				throw new IllegalArgumentException("Unknown image Type: "+input.getClass().getSimpleName());
+			}
+		} else if( input instanceof ImageInterleaved ) {
+			if( InterleavedU8.class == input.getClass() ) {
+				PixelMath.divide((InterleavedU8)input,denominator,(int)lower,(int)upper,(InterleavedU8)output);
+			} else if( InterleavedS8.class == input.getClass() ) {
+				PixelMath.divide((InterleavedS8)input,denominator,(int)lower,(int)upper,(InterleavedS8)output);
+			} else if( InterleavedU16.class == input.getClass() ) {
+				PixelMath.divide((InterleavedU16)input,denominator,(int)lower,(int)upper,(InterleavedU16)output);
+			} else if( InterleavedS16.class == input.getClass() ) {
+				PixelMath.divide((InterleavedS16)input,denominator,(int)lower,(int)upper,(InterleavedS16)output);
+			} else if( InterleavedS32.class == input.getClass() ) {
+				PixelMath.divide((InterleavedS32)input,denominator,(int)lower,(int)upper,(InterleavedS32)output);
+			} else if( InterleavedS64.class == input.getClass() ) {
+				PixelMath.divide((InterleavedS64)input,denominator,(long)lower,(long)upper,(InterleavedS64)output);
+			} else if( InterleavedF32.class == input.getClass() ) {
+				PixelMath.divide((InterleavedF32)input,(float)denominator,(float)lower,(float)upper,(InterleavedF32)output);
+			} else if( InterleavedF64.class == input.getClass() ) {
+				PixelMath.divide((InterleavedF64)input,denominator,lower,upper,(InterleavedF64)output);
+			} else {
+				throw new IllegalArgumentException("Unknown image Type: "+input.getClass().getSimpleName());
+			}
 		} else {
 			throw new IllegalArgumentException("Unknown image Type: "+input.getClass().getSimpleName());
 		}
@@ -152,12 +283,34 @@ public class GPixelMath {
 	 * @param imgB Input image. Not modified.
 	 * @param output Output image. Modified.
 	 */
-	public static <T extends ImageSingleBand> void divide(T imgA, T imgB , T output)
+	public static <T extends ImageBase> void divide(final T imgA, final T imgB , final T output)
 	{
-		if( ImageFloat32.class == imgA.getClass() ) {
-			PixelMath.divide((ImageFloat32)imgA,(ImageFloat32)imgB,(ImageFloat32)output);
-		} else if( ImageFloat64.class == imgA.getClass() ) {
-			PixelMath.divide((ImageFloat64)imgA,(ImageFloat64)imgB,(ImageFloat64)output);
+		if( BoofConcurrency.isConcurrent(imgA.width*imgA.height) ) {
+			new ImageBandTask(imgA,imgB,output) {
+				@Override
+				protected void processBand(ImageBase[] b) {
+					divide((T)b[0],(T)b[1],(T)b[2]);
+				}
+			}.processRows();
+			return;
+		}
+
+		if( imgA instanceof ImageSingleBand ) {
+			if( ImageFloat32.class == imgA.getClass() ) {
+				PixelMath.divide((ImageFloat32)imgA,(ImageFloat32)imgB,(ImageFloat32)output);
+			} else if( ImageFloat64.class == imgA.getClass() ) {
+				PixelMath.divide((ImageFloat64)imgA,(ImageFloat64)imgB,(ImageFloat64)output);
+			} else {
+				throw new IllegalArgumentException("Unknown image Type: "+imgA.getClass().getSimpleName());
+			}
+		} else if( imgA instanceof ImageInterleaved ) {
+			if( InterleavedF32.class == imgA.getClass() ) {
+				PixelMath.divide((InterleavedF32)imgA,(InterleavedF32)imgB,(InterleavedF32)output);
+			} else if( InterleavedF64.class == imgA.getClass() ) {
+				PixelMath.divide((InterleavedF64)imgA,(InterleavedF64)imgB,(InterleavedF64)output);
+			} else {
+				throw new IllegalArgumentException("Unknown image Type: "+imgA.getClass().getSimpleName());
+			}
 		} else {
 			throw new IllegalArgumentException("Unknown image Type: "+imgA.getClass().getSimpleName());
 		}
@@ -171,24 +324,57 @@ public class GPixelMath {
 	 * @param value What each element is multiplied by.
 	 * @param output The output image. Modified.
 	 */
-	public static <T extends ImageSingleBand> void multiply(T input, double value, T output) {
-
-		if( ImageUInt8.class == input.getClass() ) {
-			PixelMath.multiply((ImageUInt8) input, value, (ImageUInt8) output);
-		} else if( ImageSInt8.class == input.getClass() ) {
-			PixelMath.multiply((ImageSInt8) input, value, (ImageSInt8) output);
-		} else if( ImageUInt16.class == input.getClass() ) {
-			PixelMath.multiply((ImageUInt16) input, value, (ImageUInt16) output);
-		} else if( ImageSInt16.class == input.getClass() ) {
-			PixelMath.multiply((ImageSInt16) input, value, (ImageSInt16) output);
-		} else if( ImageSInt32.class == input.getClass() ) {
-			PixelMath.multiply((ImageSInt32) input, value, (ImageSInt32) output);
-		} else if( ImageSInt64.class == input.getClass() ) {
-			PixelMath.multiply((ImageSInt64) input, value, (ImageSInt64) output);
-		} else if( ImageFloat32.class == input.getClass() ) {
-			PixelMath.multiply((ImageFloat32) input, (float) value, (ImageFloat32) output);
-		} else if( ImageFloat64.class == input.getClass() ) {
-			PixelMath.multiply((ImageFloat64) input, value, (ImageFloat64) output);
+	public static <T extends ImageBase> void multiply(final T input, final double value, final T output) {
+		if( BoofConcurrency.isConcurrent(input.width*input.height) ) {
+			new ImageBandTask(input,output) {
+				@Override
+				protected void processBand(ImageBase[] b) {
+					multiply((T)b[0],value,(T)b[1]);
+				}
+			}.processRows();
+			return;
+		}
+
+		if( input instanceof ImageSingleBand ) {
+			if( ImageUInt8.class == input.getClass() ) {
+				PixelMath.multiply((ImageUInt8) input, value, (ImageUInt8) output);
+			} else if( ImageSInt8.class == input.getClass() ) {
+				PixelMath.multiply((ImageSInt8) input, value, (ImageSInt8) output);
+			} else if( ImageUInt16.class == input.getClass() ) {
+				PixelMath.multiply((ImageUInt16) input, value, (ImageUInt16) output);
+			} else if( ImageSInt16.class == input.getClass() ) {
+				PixelMath.multiply((ImageSInt16) input, value, (ImageSInt16) output);
+			} else if( ImageSInt32.class == input.getClass() ) {
+				PixelMath.multiply((ImageSInt32) input, value, (ImageSInt32) output);
+			} else if( ImageSInt64.class == input.getClass() ) {
+				PixelMath.multiply((ImageSInt64) input, value, (ImageSInt64) output);
+			} else if( ImageFloat32.class == input.getClass() ) {
+				PixelMath.multiply((ImageFloat32) input, (float) value, (ImageFloat32) output);
+			} else if( ImageFloat64.class == input.getClass() ) {
+				PixelMath.multiply((ImageFloat64) input, value, (ImageFloat64) output);
+			} else {
+				throw new IllegalArgumentException("Unknown image Type: "+input.getClass().getSimpleName());
+			}
+		} else if( input instanceof ImageInterleaved ) {
+			if( InterleavedU8.class == input.getClass() ) {
+				PixelMath.multiply((InterleavedU8) input, value, (InterleavedU8) output);
+			} else if( InterleavedS8.class == input.getClass() ) {
+				PixelMath.multiply((InterleavedS8) input, value, (InterleavedS8) output);
+			} else if( InterleavedU16.class == input.getClass() ) {
+				PixelMath.multiply((InterleavedU16) input, value, (InterleavedU16) output);
+			} else if( InterleavedS16.class == input.getClass() ) {
+				PixelMath.multiply((InterleavedS16) input, value, (InterleavedS16) output);
+			} else if( InterleavedS32.class == input.getClass() ) {
+				PixelMath.multiply((InterleavedS32) input, value, (InterleavedS32) output);
+			} else if( InterleavedS64.class == input.getClass() ) {
+				PixelMath.multiply((InterleavedS64) input, value, (InterleavedS64) output);
+			} else if( InterleavedF32.class == input.getClass() ) {
+				PixelMath.multiply((InterleavedF32) input, (float) value, (InterleavedF32) output);
+			} else if( InterleavedF64.class == input.getClass() ) {
+				PixelMath.multiply((InterleavedF64) input, value, (InterleavedF64) output);
+			} else {
+				throw new IllegalArgumentException("Unknown image Type: "+input.getClass().getSimpleName());
+			}
 		} else {
 			throw new IllegalArgumentException("Unknown image Type: "+input.getClass().getSimpleName());
 		}
@@ -204,25 +390,59 @@ public class GPixelMath {
 	 * @param upper Upper bound on output
 	 * @param output The output image. Modified.
 	 */
-	public static <T extends ImageSingleBand> void multiply(T input, double value,
-														  double lower , double upper , T output)
+	public static <T extends ImageBase> void multiply(final T input, final double value,
+														  final double lower , final double upper , final T output)
 	{
-		if( ImageUInt8.class == input.getClass() ) {
-			PixelMath.multiply((ImageUInt8)input,value,(int)lower,(int)upper,(ImageUInt8)output);
-		} else if( ImageSInt8.class == input.getClass() ) {
-			PixelMath.multiply((ImageSInt8)input,value,(int)lower,(int)upper,(ImageSInt8)output);
-		} else if( ImageUInt16.class == input.getClass() ) {
-			PixelMath.multiply((ImageUInt16)input,value,(int)lower,(int)upper,(ImageUInt16)output);
-		} else if( ImageSInt16.class == input.getClass() ) {
-			PixelMath.multiply((ImageSInt16)input,value,(int)lower,(int)upper,(ImageSInt16)output);
-		} else if( ImageSInt32.class == input.getClass() ) {
-			PixelMath.multiply((ImageSInt32)input,value,(int)lower,(int)upper,(ImageSInt32)output);
-		} else if( ImageSInt64.class == input.getClass() ) {
-			PixelMath.multiply((ImageSInt64)input,value,(long)lower,(long)upper,(ImageSInt64)output);
-		} else if( ImageFloat32.class == input.getClass() ) {
-			PixelMath.multiply((ImageFloat32)input,(float)value,(float)lower,(float)upper,(ImageFloat32)output);
-		} else if( ImageFloat64.class == input.getClass() ) {
-			PixelMath.multiply((ImageFloat64)input,value,lower,upper,(ImageFloat64)output);
+		if( BoofConcurrency.isConcurrent(input.width*input.height) ) {
+			new ImageBandTask(input,output) {
+				@Override
+				protected void processBand(ImageBase[] b) {
+					multiply((T)b[0],value,lower,upper,(T)b[1]);
+				}
+			}.processRows();
+			return;
+		}
+
+		if( input instanceof ImageSingleBand ) {
+			if( ImageUInt8.class == input.getClass() ) {
+				PixelMath.multiply((ImageUInt8)input,value,(int)lower,(int)upper,(ImageUInt8)output);
+			} else if( ImageSInt8.class == input.getClass() ) {
+				PixelMath.multiply((ImageSInt8)input,value,(int)lower,(int)upper,(ImageSInt8)output);
+			} else if( ImageUInt16.class == input.getClass() ) {
+				PixelMath.multiply((ImageUInt16)input,value,(int)lower,(int)upper,(ImageUInt16)output);
+			} else if( ImageSInt16.class == input.getClass() ) {
+				PixelMath.multiply((ImageSInt16)input,value,(int)lower,(int)upper,(ImageSInt16)output);
+			} else if( ImageSInt32.class == input.getClass() ) {
+				PixelMath.multiply((ImageSInt32)input,value,(int)lower,(int)upper,(ImageSInt32)output);
+			} else if( ImageSInt64.class == input.getClass() ) {
+				PixelMath.multiply((ImageSInt64)input,value,(long)lower,(long)upper,(ImageSInt64)output);
+			} else if( ImageFloat32.class == input.getClass() ) {
+				PixelMath.multiply((ImageFloat32)input,(float)value,(float)lower,(float)upper,(ImageFloat32)output);
+			} else if( ImageFloat64.class == input.getClass() ) {
+				PixelMath.multiply((ImageFloat64)input,value,lower,upper,(ImageFloat64)output);
+			} else {
+				throw new IllegalArgumentException("Unknown image Type: "+input.getClass().getSimpleName());
+			}
+		} else if( input instanceof ImageInterleaved ) {
+			if( InterleavedU8.class == input.getClass() ) {
+				PixelMath.multiply((InterleavedU8)input,value,(int)lower,(int)upper,(InterleavedU8)output);
+			} else if( InterleavedS8.class == input.getClass() ) {
+				PixelMath.multiply((InterleavedS8)input,value,(int)lower,(int)upper,(InterleavedS8)output);
+			} else if( InterleavedU16.class == input.getClass() ) {
+				PixelMath.multiply((InterleavedU16)input,value,(int)lower,(int)upper,(InterleavedU16)output);
+			} else if( InterleavedS16.class == input.getClass() ) {
+				PixelMath.multiply((InterleavedS16)input,value,(int)lower,(int)upper,(InterleavedS16)output);
+			} else if( InterleavedS32.class == input.getClass() ) {
+				PixelMath.multiply((InterleavedS32)input,value,(int)lower,(int)upper,(InterleavedS32)output);
+			} else if( InterleavedS64.class == input.getClass() ) {
+				PixelMath.multiply((InterleavedS64)input,value,(long)lower,(long)upper,(InterleavedS64)output);
+			} else if( InterleavedF32.class == input.getClass() ) {
+				PixelMath.multiply((InterleavedF32)input,(float)value,(float)lower,(float)upper,(InterleavedF32)output);
+			} else if( InterleavedF64.class == input.getClass() ) {
+				PixelMath.multiply((InterleavedF64)input,value,lower,upper,(InterleavedF64)output);
+			} else {
+				throw new IllegalArgumentException("Unknown image Type: "+input.getClass().getSimpleName());
+			}
 		} else {
 			throw new IllegalArgumentException("Unknown image Type: "+input.getClass().getSimpleName());
 		}
@@ -239,12 +459,34 @@ public class GPixelMath {
 	 * @param imgB Input image. Not modified.
 	 * @param output Output image. Modified.
 	 */
-	public static <T extends ImageSingleBand> void multiply(T imgA, T imgB , T output)
+	public static <T extends ImageBase> void multiply(final T imgA, final T imgB , final T output)
 	{
-		if( ImageFloat32.class == imgA.getClass() ) {
-			PixelMath.multiply((ImageFloat32)imgA,(ImageFloat32)imgB,(ImageFloat32)output);
-		} else if( ImageFloat64.class == imgA.getClass() ) {
-			PixelMath.multiply((ImageFloat64)imgA,(ImageFloat64)imgB,(ImageFloat64)output);
+		if( BoofConcurrency.isConcurrent(imgA.width*imgA.height) ) {
+			new ImageBandTask(imgA,imgB,output) {
+				@Override
+				protected void processBand(ImageBase[] b) {
+					multiply((T)b[0],(T)b[1],(T)b[2]);
+				}
+			}.processRows();
+			return;
+		}
+
+		if( imgA instanceof ImageSingleBand ) {
+			if( ImageFloat32.class == imgA.getClass() ) {
+				PixelMath.multiply((ImageFloat32)imgA,(ImageFloat32)imgB,(ImageFloat32)output);
+			} else if( ImageFloat64.class == imgA.getClass() ) {
+				PixelMath.multiply((ImageFloat64)imgA,(ImageFloat64)imgB,(ImageFloat64)output);
+			} else {
+				throw new IllegalArgumentException("Unknown image Type: "+imgA.getClass().getSimpleName());
+			}
+		} else if( imgA instanceof ImageInterleaved ) {
+			if( InterleavedF32.class == imgA.getClass() ) {
+				PixelMath.multiply((InterleavedF32)imgA,(InterleavedF32)imgB,(InterleavedF32)output);
+			} else if( InterleavedF64.class == imgA.getClass() ) {
+				PixelMath.multiply((InterleavedF64)imgA,(InterleavedF64)imgB,(InterleavedF64)output);
+			} else {
+				throw new IllegalArgumentException("Unknown image Type: "+imgA.getClass().getSimpleName());
+			}
 		} else {
 			throw new IllegalArgumentException("Unknown image Type: "+imgA.getClass().getSimpleName());
 		}
@@ -257,11 +499,33 @@ public class GPixelMath {
 	 * @param input The input image. Not modified.
 	 * @param output Where the log image is written to. Modified.
 	 */
-	public static <T extends ImageSingleBand> void log( T input , T output ) {
-		if( ImageFloat32.class == input.getClass() ) {
-			PixelMath.log((ImageFloat32) input, (ImageFloat32) output);
-		} else if( ImageFloat64.class == input.getClass() ) {
-			PixelMath.log((ImageFloat64) input, (ImageFloat64) output);
+	public static <T extends ImageBase> void log( final T input , final T output ) {
+		if( BoofConcurrency.isConcurrent(input.width*input.height) ) {
+			new ImageBandTask(input,output) {
+				@Override
+				protected void processBand(ImageBase[] b) {
+					log((T)b[0],(T)b[1]);
+				}
+			}.processRows();
+			return;
+		}
+
+		if( input instanceof ImageSingleBand ) {
+			if( ImageFloat32.class == input.getClass() ) {
+				PixelMath.log((ImageFloat32) input, (ImageFloat32) output);
+			} else if( ImageFloat64.class == input.getClass() ) {
+				PixelMath.log((ImageFloat64) input, (ImageFloat64) output);
+			} else {
+				throw new IllegalArgumentException("Unknown image Type: "+input.getClass().getSimpleName());
+			}
+		} else if( input instanceof ImageInterleaved ) {
+			if( InterleavedF32.class == input.getClass() ) {
+				PixelMath.log((InterleavedF32) input, (InterleavedF32) output);
+			} else if( InterleavedF64.class == input.getClass() ) {
+				PixelMath.log((InterleavedF64) input, (InterleavedF64) output);
+			} else {
+				throw new IllegalArgumentException("Unknown image Type: "+input.getClass().getSimpleName());
+			}
 		} else {
 			throw new IllegalArgumentException("Unknown image Type: "+input.getClass().getSimpleName());
 		}
@@ -274,11 +538,33 @@ public class GPixelMath {
 	 * @param input The input image. Not modified.
 	 * @param output Where the pow2 image is written to. Modified.
 	 */
-	public static <T extends ImageSingleBand> void pow2( T input , T output ) {
-		if( ImageFloat32.class == input.getClass() ) {
-			PixelMath.pow2((ImageFloat32) input, (ImageFloat32) output);
-		} else if( ImageFloat64.class == input.getClass() ) {
-			PixelMath.pow2((ImageFloat64) input, (ImageFloat64) output);
+	public static <T extends ImageBase> void pow2( final T input , final T output ) {
+		if( BoofConcurrency.isConcurrent(input.width*input.height) ) {
+			new ImageBandTask(input,output) {
+				@Override
+				protected void processBand(ImageBase[] b) {
+					pow2((T)b[0],(T)b[1]);
+				}
+			}.processRows();
+			return;
+		}
+
+		if( input instanceof ImageSingleBand ) {
+			if( ImageFloat32.class == input.getClass() ) {
+				PixelMath.pow2((ImageFloat32) input, (ImageFloat32) output);
+			} else if( ImageFloat64.class == input.getClass() ) {
+				PixelMath.pow2((ImageFloat64) input, (ImageFloat64) output);
+			} else {
+				throw new IllegalArgumentException("Unknown image Type: "+input.getClass().getSimpleName());
+			}
+		} else if( input instanceof ImageInterleaved ) {
+			if( InterleavedF32.class == input.getClass() ) {
+				PixelMath.pow2((InterleavedF32) input, (InterleavedF32) output);
+			} else if( InterleavedF64.class == input.getClass() ) {
+				PixelMath.pow2((InterleavedF64) input, (InterleavedF64) output);
+			} else {
+				throw new IllegalArgumentException("Unknown image Type: "+input.getClass().getSimpleName());
+			}
 		} else {
 			throw new IllegalArgumentException("Unknown image Type: "+input.getClass().getSimpleName());
 		}
@@ -291,11 +577,33 @@ public class GPixelMath {
 	 * @param input The input image. Not modified.
 	 * @param output Where the sqrt() image is written to. Modified.
 	 */
-	public static <T extends ImageSingleBand> void sqrt( T input , T output ) {
-		if( ImageFloat32.class == input.getClass() ) {
-			PixelMath.sqrt((ImageFloat32) input, (ImageFloat32) output);
-		} else if( ImageFloat64.class == input.getClass() ) {
-			PixelMath.sqrt((ImageFloat64) input, (ImageFloat64) output);
+	public static <T extends ImageBase> void sqrt( final T input , final T output ) {
+		if( BoofConcurrency.isConcurrent(input.width*input.height) ) {
+			new ImageBandTask(input,output) {
+				@Override
+				protected void processBand(ImageBase[] b) {
+					sqrt((T)b[0],(T)b[1]);
+				}
+			}.processRows();
+			return;
+		}
+
+		if( input instanceof ImageSingleBand ) {
+			if( ImageFloat32.class == input.getClass() ) {
+				PixelMath.sqrt((ImageFloat32) input, (ImageFloat32) output);
+			} else if( ImageFloat64.class == input.getClass() ) {
+				PixelMath.sqrt((ImageFloat64) input, (ImageFloat64) output);
+			} else {
+				throw new IllegalArgumentException("Unknown image Type: "+input.getClass().getSimpleName());
+			}
+		} else if( input instanceof ImageInterleaved ) {
+			if( InterleavedF32.class == input.getClass() ) {
+				PixelMath.sqrt((InterleavedF32) input, (InterleavedF32) output);
+			} else if( InterleavedF64.class == input.getClass() ) {
+				PixelMath.sqrt((InterleavedF64) input, (InterleavedF64) output);
+			} else {
+				throw new IllegalArgumentException("Unknown image Type: "+input.getClass().getSimpleName());
+			}
 		} else {
 			throw new IllegalArgumentException("Unknown image Type: "+input.getClass().getSimpleName());
 		}
@@ -309,23 +617,57 @@ public class GPixelMath {
 	 * @param value What is added to each element.
 	 * @param output The output image. Modified.
 	 */
-	public static <T extends ImageSingleBand> void plus(T input, double value, T output) {
-		if( ImageUInt8.class == input.getClass() ) {
-			PixelMath.plus((ImageUInt8) input, (int)value, (ImageUInt8) output);
-		} else if( ImageSInt8.class == input.getClass() ) {
-			PixelMath.plus((ImageSInt8) input, (int)value, (ImageSInt8) output);
-		} else if( ImageUInt16.class == input.getClass() ) {
-			PixelMath.plus((ImageUInt16) input, (int)value, (ImageUInt16) output);
-		} else if( ImageSInt16.class == input.getClass() ) {
-			PixelMath.plus((ImageSInt16) input, (int)value, (ImageSInt16) output);
-		} else if( ImageSInt32.class == input.getClass() ) {
-			PixelMath.plus((ImageSInt32) input, (int)value, (ImageSInt32) output);
-		} else if( ImageSInt64.class == input.getClass() ) {
-			PixelMath.plus((ImageSInt64) input, (int)value, (ImageSInt64) output);
-		} else if( ImageFloat32.class == input.getClass() ) {
-			PixelMath.plus((ImageFloat32) input, (float) value, (ImageFloat32) output);
-		} else if( ImageFloat64.class == input.getClass() ) {
-			PixelMath.plus((ImageFloat64) input, value, (ImageFloat64) output);
+	public static <T extends ImageBase> void plus(final T input, final double value, final T output) {
+		if( BoofConcurrency.isConcurrent(input.width*input.height) ) {
+			new ImageBandTask(input,output) {
+				@Override
+				protected void processBand(ImageBase[] b) {
+					plus((T)b[0],value,(T)b[1]);
+				}
+			}.processRows();
+			return;
+		}
+
+		if( input instanceof ImageSingleBand ) {
+			if( ImageUInt8.class == input.getClass() ) {
+				PixelMath.plus((ImageUInt8) input, (int)value, (ImageUInt8) output);
+			} else if( ImageSInt8.class == input.getClass() ) {
+				PixelMath.plus((ImageSInt8) input, (int)value, (ImageSInt8) output);
+			} else if( ImageUInt16.class == input.getClass() ) {
+				PixelMath.plus((ImageUInt16) input, (int)value, (ImageUInt16) output);
+			} else if( ImageSInt16.class == input.getClass() ) {
+				PixelMath.plus((ImageSInt16) input, (int)value, (ImageSInt16) output);
+			} else if( ImageSInt32.class == input.getClass() ) {
+				PixelMath.plus((ImageSInt32) input, (int)value, (ImageSInt32) output);
+			} else if( ImageSInt64.class == input.getClass() ) {
+				PixelMath.plus((ImageSInt64) input, (int)value, (ImageSInt64) output);
+			} else if( ImageFloat32.class == input.getClass() ) {
+				PixelMath.plus((ImageFloat32) input, (float) value, (ImageFloat32) output);
+			} else if( ImageFloat64.class == input.getClass() ) {
+				PixelMath.plus((ImageFloat64) input, value, (ImageFloat64) output);
+			} else {
+				throw new IllegalArgumentException("Unknown image Type: "+input.getClass().getSimpleName());
+			}
+		} else if( input instanceof ImageInterleaved ) {
+			if( InterleavedU8.class == input.getClass() ) {
+				PixelMath.plus((InterleavedU8) input, (int)value, (InterleavedU8) output);
+			} else if( InterleavedS8.class == input.getClass() ) {
+				PixelMath.plus((InterleavedS8) input, (int)value, (InterleavedS8) output);
+			} else if( InterleavedU16.class == input.getClass() ) {
+				PixelMath.plus((InterleavedU16) input, (int)value, (InterleavedU16) output);
+			} else if( InterleavedS16.class == input.getClass() ) {
+				PixelMath.plus((InterleavedS16) input, (int)value, (InterleavedS16) output);
+			} else if( InterleavedS32.class == input.getClass() ) {
+				PixelMath.plus((InterleavedS32) input, (int)value, (InterleavedS32) output);
+			} else if( InterleavedS64.class == input.getClass() ) {
+				PixelMath.plus((InterleavedS64) input, (int)value, (InterleavedS64) output);
+			} else if( InterleavedF32.class == input.getClass() ) {
+				PixelMath.plus((InterleavedF32) input, (float) value, (InterleavedF32) output);
+			} else if( InterleavedF64.class == input.getClass() ) {
+				PixelMath.plus((InterleavedF64) input, value, (InterleavedF64) output);
+			} else {
+				throw new IllegalArgumentException("Unknown image Type: "+input.getClass().getSimpleName());
+			}
 		} else {
 			throw new IllegalArgumentException("Unknown image Type: "+input.getClass().getSimpleName());
 		}
@@ -340,25 +682,59 @@ public class GPixelMath {
 	 * @param upper Upper bound on output
 	 * @param output The output image. Modified.
 	 */
-	public static <T extends ImageSingleBand> void plus(T input, double value,
-															double lower , double upper , T output)
+	public static <T extends ImageBase> void plus(final T input, final double value,
+															final double lower , final double upper , final T output)
 	{
-		if( ImageUInt8.class == input.getClass() ) {
-			PixelMath.plus((ImageUInt8)input,(int)value,(int)lower,(int)upper,(ImageUInt8)output);
-		} else if( ImageSInt8.class == input.getClass() ) {
-			PixelMath.plus((ImageSInt8)input,(int)value,(int)lower,(int)upper,(ImageSInt8)output);
-		} else if( ImageUInt16.class == input.getClass() ) {
-			PixelMath.plus((ImageUInt16)input,(int)value,(int)lower,(int)upper,(ImageUInt16)output);
-		} else if( ImageSInt16.class == input.getClass() ) {
-			PixelMath.plus((ImageSInt16)input,(int)value,(int)lower,(int)upper,(ImageSInt16)output);
-		} else if( ImageSInt32.class == input.getClass() ) {
-			PixelMath.plus((ImageSInt32)input,(int)value,(int)lower,(int)upper,(ImageSInt32)output);
-		} else if( ImageSInt64.class == input.getClass() ) {
-			PixelMath.plus((ImageSInt64)input,(int)value,(long)lower,(long)upper,(ImageSInt64)output);
-		} else if( ImageFloat32.class == input.getClass() ) {
-			PixelMath.plus((ImageFloat32)input,(float)value,(float)lower,(float)upper,(ImageFloat32)output);
-		} else if( ImageFloat64.class == input.getClass() ) {
-			PixelMath.plus((ImageFloat64)input,value,lower,upper,(ImageFloat64)output);
+		if( BoofConcurrency.isConcurrent(input.width*input.height) ) {
+			new ImageBandTask(input,output) {
+				@Override
+				protected void processBand(ImageBase[] b) {
+					plus((T)b[0],value,lower,upper,(T)b[1]);
+				}
+			}.processRows();
+			return;
+		}
+
+		if( input instanceof ImageSingleBand ) {
+			if( ImageUInt8.class == input.getClass() ) {
+				PixelMath.plus((ImageUInt8)input,(int)value,(int)lower,(int)upper,(ImageUInt8)output);
+			} else if( ImageSInt8.class == input.getClass() ) {
+				PixelMath.plus((ImageSInt8)input,(int)value,(int)lower,(int)upper,(ImageSInt8)output);
+			} else if( ImageUInt16.class == input.getClass() ) {
+				PixelMath.plus((ImageUInt16)input,(int)value,(int)lower,(int)upper,(ImageUInt16)output);
+			} else if( ImageSInt16.class == input.getClass() ) {
+				PixelMath.plus((ImageSInt16)input,(int)value,(int)lower,(int)upper,(ImageSInt16)output);
+			} else if( ImageSInt32.class == input.getClass() ) {
+				PixelMath.plus((ImageSInt32)input,(int)value,(int)lower,(int)upper,(ImageSInt32)output);
+			} else if( ImageSInt64.class == input.getClass() ) {
+				PixelMath.plus((ImageSInt64)input,(int)value,(long)lower,(long)upper,(ImageSInt64)output);
+			} else if( ImageFloat32.class == input.getClass() ) {
+				PixelMath.plus((ImageFloat32)input,(float)value,(float)lower,(float)upper,(ImageFloat32)output);
+			} else if( ImageFloat64.class == input.getClass() ) {
+				PixelMath.plus((ImageFloat64)input,value,lower,upper,(ImageFloat64)output);
+			} else {
+				throw new IllegalArgumentException("Unknown image Type: "+input.getClass().getSimpleName());
+			}
+		} else if( input instanceof ImageInterleaved ) {
+			if( InterleavedU8.class == input.getClass() ) {
+				PixelMath.plus((InterleavedU8)input,(int)value,(int)lower,(int)upper,(InterleavedU8)output);
+			} else if( InterleavedS8.class == input.getClass() ) {
+				PixelMath.plus((InterleavedS8)input,(int)value,(int)lower,(int)upper,(InterleavedS8)output);
+			} else if( InterleavedU16.class == input.getClass() ) {
+				PixelMath.plus((InterleavedU16)input,(int)value,(int)lower,(int)upper,(InterleavedU16)output);
+			} else if( InterleavedS16.class == input.getClass() ) {
+				PixelMath.plus((InterleavedS16)input,(int)value,(int)lower,(int)upper,(InterleavedS16)output);
+			} else if( InterleavedS32.class == input.getClass() ) {
+				PixelMath.plus((InterleavedS32)input,(int)value,(int)lower,(int)upper,(InterleavedS32)output);
+			} else if( InterleavedS64.class == input.getClass() ) {
+				PixelMath.plus((InterleavedS64)input,(int)value,(long)lower,(long)upper,(InterleavedS64)output);
+			} else if( InterleavedF32.class == input.getClass() ) {
+				PixelMath.plus((InterleavedF32)input,(float)value,(float)lower,(float)upper,(InterleavedF32)output);
+			} else if( InterleavedF64.class == input.getClass() ) {
+				PixelMath.plus((InterleavedF64)input,value,lower,upper,(InterleavedF64)output);
+			} else {
+				throw new IllegalArgumentException("Unknown image Type: "+input.getClass().getSimpleName());
+			}
 		} else {
 			throw new IllegalArgumentException("Unknown image Type: "+input.getClass().getSimpleName());
 		}
@@ -373,24 +749,58 @@ public class GPixelMath {
 	 * @param inputB Input image. Not modified.
 	 * @param output Output image. Modified.
 	 */
-	public static <T extends ImageSingleBand, O extends ImageSingleBand>
-	void add(T inputA, T inputB, O output) {
-		if( ImageUInt8.class == inputA.getClass() ) {
-			PixelMath.add((ImageUInt8) inputA, (ImageUInt8)inputB, (ImageUInt16) output);
-		} else if( ImageSInt8.class == inputA.getClass() ) {
-			PixelMath.add((ImageSInt8) inputA, (ImageSInt8)inputB, (ImageSInt16) output);
-		} else if( ImageUInt16.class == inputA.getClass() ) {
-			PixelMath.add((ImageUInt16) inputA, (ImageUInt16)inputB, (ImageSInt32) output);
-		} else if( ImageSInt16.class == inputA.getClass() ) {
-			PixelMath.add((ImageSInt16) inputA, (ImageSInt16)inputB, (ImageSInt32) output);
-		} else if( ImageSInt32.class == inputA.getClass() ) {
-			PixelMath.add((ImageSInt32) inputA, (ImageSInt32)inputB, (ImageSInt32) output);
-		} else if( ImageSInt64.class == inputA.getClass() ) {
-			PixelMath.add((ImageSInt64) inputA, (ImageSInt64)inputB, (ImageSInt64) output);
-		} else if( ImageFloat32.class == inputA.getClass() ) {
-			PixelMath.add((ImageFloat32) inputA, (ImageFloat32)inputB, (ImageFloat32) output);
-		} else if( ImageFloat64.class == inputA.getClass() ) {
-			PixelMath.add((ImageFloat64) inputA, (ImageFloat64)inputB, (ImageFloat64) output);
+	public static <T extends ImageBase, O extends ImageBase>
+	void add(final T inputA, final T inputB, final O output) {
+		if( BoofConcurrency.isConcurrent(inputA.width*inputA.height) ) {
+			new ImageBandTask(inputA,inputB,output) {
+				@Override
+				protected void processBand(ImageBase[] b) {
+					add((T)b[0],(T)b[1],(O)b[2]);
+				}
+			}.processRows();
+			return;
+		}
+
+		if( inputA instanceof ImageSingleBand ) {
+			if( ImageUInt8.class == inputA.getClass() ) {
+				PixelMath.add((ImageUInt8) inputA, (ImageUInt8)inputB, (ImageUInt16) output);
+			} else if( ImageSInt8.class == inputA.getClass() ) {
+				PixelMath.add((ImageSInt8) inputA, (ImageSInt8)inputB, (ImageSInt16) output);
+			} else if( ImageUInt16.class == inputA.getClass() ) {
+				PixelMath.add((ImageUInt16) inputA, (ImageUInt16)inputB, (ImageSInt32) output);
+			} else if( ImageSInt16.class == inputA.getClass() ) {
+				PixelMath.add((ImageSInt16) inputA, (ImageSInt16)inputB, (ImageSInt32) output);
+			} else if( ImageSInt32.class == inputA.getClass() ) {
+				PixelMath.add((ImageSInt32) inputA, (ImageSInt32)inputB, (ImageSInt32) output);
+			} else if( ImageSInt64.class == inputA.getClass() ) {
+				PixelMath.add((ImageSInt64) inputA, (ImageSInt64)inputB, (ImageSInt64) output);
+			} else if( ImageFloat32.class == inputA.getClass() ) {
+				PixelMath.add((ImageFloat32) inputA, (ImageFloat32)inputB, (ImageFloat32) output);
+			} else if( ImageFloat64.class == inputA.getClass() ) {
+				PixelMath.add((ImageFloat64) inputA, (ImageFloat64)inputB, (ImageFloat64) output);
+			} else {
+				throw new IllegalArgumentException("Unknown image Type: "+inputA.getClass().getSimpleName());
+			}
+		} else if( inputA instanceof ImageInterleaved ) {
+			if( InterleavedU8.class == inputA.getClass() ) {
+				PixelMath.add((InterleavedU8) inputA, (InterleavedU8)inputB, (InterleavedU16) output);
+			} else if( InterleavedS8.class == inputA.getClass() ) {
+				PixelMath.add((InterleavedS8) inputA, (InterleavedS8)inputB, (InterleavedS16) output);
+			} else if( InterleavedU16.class == inputA.getClass() ) {
+				PixelMath.add((InterleavedU16) inputA, (InterleavedU16)inputB, (InterleavedS32) output);
+			} else if( InterleavedS16.class == inputA.getClass() ) {
+				PixelMath.add((InterleavedS16) inputA, (InterleavedS16)inputB, (InterleavedS32) output);
+			} else if( InterleavedS32.class == inputA.getClass() ) {
+				PixelMath.add((InterleavedS32) inputA, (InterleavedS32)inputB, (InterleavedS32) output);
+			} else if( InterleavedS64.class == inputA.getClass() ) {
+				PixelMath.add((InterleavedS64) inputA, (InterleavedS64)inputB, (InterleavedS64) output);
+			} else if( InterleavedF32.class == inputA.getClass() ) {
+				PixelMath.add((InterleavedF32) inputA, (InterleavedF32)inputB, (InterleavedF32) output);
+			} else if( InterleavedF64.class == inputA.getClass() ) {
+				PixelMath.add((InterleavedF64) inputA, (InterleavedF64)inputB, (InterleavedF64) output);
+			} else {
+				throw new IllegalArgumentException("Unknown image Type: "+inputA.getClass().getSimpleName());
+			}
 		} else {
 			throw new IllegalArgumentException("Unknown image Type: "+inputA.getClass().getSimpleName());
 		}
@@ -406,7 +816,17 @@ public class GPixelMath {
 	 * @param output Output image. Modified.
 	 */
 	public static <T extends ImageBase, O extends ImageBase>
-	void subtract(T inputA, T inputB, O output) {
+	void subtract(final T inputA, final T inputB, final O output) {
+		if( BoofConcurrency.isConcurrent(inputA.width*inputA.height) ) {
+			new ImageBandTask(inputA,inputB,output) {
+				@Override
+				protected void processBand(ImageBase[] b) {
+					subtract((T)b[0],(T)b[1],(O)b[2]);
+				}
+			}.processRows();
+			return;
+		}
+
 		if( inputA instanceof ImageSingleBand ){
 			if( ImageUInt8.class == inputA.getClass() ) {
 				PixelMath.subtract((ImageUInt8) inputA, (ImageUInt8)inputB, (ImageInt16) output);
@@ -427,6 +847,26 @@ public class GPixelMath {
 			} else {
 				throw new IllegalArgumentException("Unknown image Type: "+inputA.getClass().getSimpleName());
 			}
+		} else if( inputA instanceof ImageInterleaved ) {
+			if( InterleavedU8.class == inputA.getClass() ) {
+				PixelMath.subtract((InterleavedU8) inputA, (InterleavedU8)inputB, (InterleavedI16) output);
+			} else if( InterleavedS8.class == inputA.getClass() ) {
+				PixelMath.subtract((InterleavedS8) inputA, (InterleavedS8)inputB, (InterleavedS16) output);
+			} else if( InterleavedU16.class == inputA.getClass() ) {
+				PixelMath.subtract((InterleavedU16) inputA, (InterleavedU16)inputB, (InterleavedS32) output);
+			} else if( InterleavedS16.class == inputA.getClass() ) {
+				PixelMath.subtract((InterleavedS16) inputA, (InterleavedS16)inputB, (InterleavedS32) output);
+			} else if( InterleavedS32.class == inputA.getClass() ) {
+				PixelMath.subtract((InterleavedS32) inputA, (InterleavedS32)inputB, (InterleavedS32) output);
+			} else if( InterleavedS64.class == inputA.getClass() ) {
+				PixelMath.subtract((InterleavedS64) inputA, (InterleavedS64)inputB, (InterleavedS64) output);
+			} else if( InterleavedF32.class == inputA.getClass() ) {
+				PixelMath.subtract((InterleavedF32) inputA, (InterleavedF32)inputB, (InterleavedF32) output);
+			} else if( InterleavedF64.class == inputA.getClass() ) {
+				PixelMath.subtract((InterleavedF64) inputA, (InterleavedF64)inputB, (InterleavedF64) output);
+			} else {
+				throw new IllegalArgumentException("Unknown image Type: "+inputA.getClass().getSimpleName());
+			}
 		} else {
 			throw new IllegalArgumentException("Unknown image Type: "+inputA.getClass().getSimpleName());
 		}
@@ -439,24 +879,57 @@ public class GPixelMath {
 	 * @param min minimum value.
 	 * @param max maximum value.
 	 */
-	public static <T extends ImageSingleBand> void boundImage( T input , double min , double max ) {
-
-		if( ImageUInt8.class == input.getClass() ) {
-			PixelMath.boundImage((ImageUInt8)input,(int)min,(int)max);
-		} else if( ImageSInt8.class == input.getClass() ) {
-			PixelMath.boundImage((ImageSInt8)input,(int)min,(int)max);
-		} else if( ImageUInt16.class == input.getClass() ) {
-			PixelMath.boundImage((ImageUInt16)input,(int)min,(int)max);
-		} else if( ImageSInt16.class == input.getClass() ) {
-			PixelMath.boundImage((ImageSInt16)input,(int)min,(int)max);
-		} else if( ImageSInt32.class == input.getClass() ) {
-			PixelMath.boundImage((ImageSInt32)input,(int)min,(int)max);
-		} else if( ImageSInt64.class == input.getClass() ) {
-			PixelMath.boundImage((ImageSInt64)input,(long)min,(long)max);
-		} else if( ImageFloat32.class == input.getClass() ) {
-			PixelMath.boundImage((ImageFloat32)input,(float)min,(float)max);
-		} else if( ImageFloat64.class == input.getClass() ) {
-			PixelMath.boundImage((ImageFloat64)input,min,max);
+	public static <T extends ImageBase> void boundImage( final T input , final double min , final double max ) {
+		if( BoofConcurrency.isConcurrent(input.width*input.height) ) {
+			new ImageBandTask(input) {
+				@Override
+				protected void processBand(ImageBase[] b) {
+					boundImage((T)b[0],min,max);
+				}
+			}.processRows();
+			return;
+		}
+
+		if( input instanceof ImageSingleBand ) {
+			if( ImageUInt8.class == input.getClass() ) {
+				PixelMath.boundImage((ImageUInt8)input,(int)min,(int)max);
+			} else if( ImageSInt8.class == input.getClass() ) {
+				PixelMath.boundImage((ImageSInt8)input,(int)min,(int)max);
+			} else if( ImageUInt16.class == input.getClass() ) {
+				PixelMath.boundImage((ImageUInt16)input,(int)min,(int)max);
+			} else if( ImageSInt16.class == input.getClass() ) {
+				PixelMath.boundImage((ImageSInt16)input,(int)min,(int)max);
+			} else if( ImageSInt32.class == input.getClass() ) {
+				PixelMath.boundImage((ImageSInt32)input,(int)min,(int)max);
+			} else if( ImageSInt64.class == input.getClass() ) {
+				PixelMath.boundImage((ImageSInt64)input,(long)min,(long)max);
+			} else if( ImageFloat32.class == input.getClass() ) {
+				PixelMath.boundImage((ImageFloat32)input,(float)min,(float)max);
+			} else if( ImageFloat64.class == input.getClass() ) {
+				PixelMath.boundImage((ImageFloat64)input,min,max);
+			} else {
+				throw new IllegalArgumentException("Unknown image Type: "+input.getClass().getSimpleName());
+			}
+		} else if( input instanceof ImageInterleaved ) {
+			if( InterleavedU8.class == input.getClass() ) {
+				PixelMath.boundImage((InterleavedU8)input,(int)min,(int)max);
+			} else if( InterleavedS8.class == input.getClass() ) {
+				PixelMath.boundImage((InterleavedS8)input,(int)min,(int)max);
+			} else if( InterleavedU16.class == input.getClass() ) {
+				PixelMath.boundImage((InterleavedU16)input,(int)min,(int)max);
+			} else if( InterleavedS16.class == input.getClass() ) {
+				PixelMath.boundImage((InterleavedS16)input,(int)min,(int)max);
+			} else if( InterleavedS32.class == input.getClass() ) {
+				PixelMath.boundImage((InterleavedS32)input,(int)min,(int)max);
+			} else if( InterleavedS64.class == input.getClass() ) {
+				PixelMath.boundImage((InterleavedS64)input,(long)min,(long)max);
+			} else if( InterleavedF32.class == input.getClass() ) {
+				PixelMath.boundImage((InterleavedF32)input,(float)min,(float)max);
+			} else if( InterleavedF64.class == input.getClass() ) {
+				PixelMath.boundImage((InterleavedF64)input,min,max);
+			} else {
+				throw new IllegalArgumentException("Unknown image Type: "+input.getClass().getSimpleName());
+			}
 		} else {
 			throw new IllegalArgumentException("Unknown image Type: "+input.getClass().getSimpleName());
 		}
@@ -471,24 +944,57 @@ public class GPixelMath {
 	 * @param inputB Input image. Not modified.
 	 * @param output Absolute value of difference image. Modified.
 	 */
-	public static <T extends ImageSingleBand> void diffAbs( T inputA , T inputB , T output) {
-
-		if( ImageUInt8.class == inputA.getClass() ) {
-			PixelMath.diffAbs((ImageUInt8) inputA, (ImageUInt8) inputB, (ImageUInt8) output);
-		} else if( ImageSInt8.class == inputA.getClass() ) {
-			PixelMath.diffAbs((ImageSInt8) inputA, (ImageSInt8) inputB, (ImageSInt8) output);
-		} else if( ImageUInt16.class == inputA.getClass() ) {
-			PixelMath.diffAbs((ImageUInt16) inputA, (ImageUInt16) inputB, (ImageUInt16) output);
-		} else if( ImageSInt16.class == inputA.getClass() ) {
-			PixelMath.diffAbs((ImageSInt16) inputA, (ImageSInt16) inputB, (ImageSInt16) output);
-		} else if( ImageSInt32.class == inputA.getClass() ) {
-			PixelMath.diffAbs((ImageSInt32) inputA, (ImageSInt32) inputB, (ImageSInt32) output);
-		} else if( ImageSInt64.class == inputA.getClass() ) {
-			PixelMath.diffAbs((ImageSInt64) inputA, (ImageSInt64) inputB, (ImageSInt64) output);
-		} else if( ImageFloat32.class == inputA.getClass() ) {
-			PixelMath.diffAbs((ImageFloat32) inputA, (ImageFloat32) inputB, (ImageFloat32) output);
-		} else if( ImageFloat64.class == inputA.getClass() ) {
-			PixelMath.diffAbs((ImageFloat64) inputA, (ImageFloat64) inputB, (ImageFloat64) output);
+	public static <T extends ImageBase> void diffAbs( final T inputA , final T inputB , final T output) {
+		if( BoofConcurrency.isConcurrent(inputA.width*inputA.height) ) {
+			new ImageBandTask(inputA,inputB,output) {
+				@Override
+				protected void processBand(ImageBase[] b) {
+					diffAbs((T)b[0],(T)b[1],(T)b[2]);
+				}
+			}.processRows();
+			return;
+		}
+
+		if( inputA instanceof ImageSingleBand ) {
+			if( ImageUInt8.class == inputA.getClass() ) {
+				PixelMath.diffAbs((ImageUInt8) inputA, (ImageUInt8) inputB, (ImageUInt8) output);
+			} else if( ImageSInt8.class == inputA.getClass() ) {
+				PixelMath.diffAbs((ImageSInt8) inputA, (ImageSInt8) inputB, (ImageSInt8) output);
+			} else if( ImageUInt16.class == inputA.getClass() ) {
+				PixelMath.diffAbs((ImageUInt16) inputA, (ImageUInt16) inputB, (ImageUInt16) output);
+			} else if( ImageSInt16.class == inputA.getClass() ) {
+				PixelMath.diffAbs((ImageSInt16) inputA, (ImageSInt16) inputB, (ImageSInt16) output);
+			} else if( ImageSInt32.class == inputA.getClass() ) {
+				PixelMath.diffAbs((ImageSInt32) inputA, (ImageSInt32) inputB, (ImageSInt32) output);
+			} else if( ImageSInt64.class == inputA.getClass() ) {
+				PixelMath.diffAbs((ImageSInt64) inputA, (ImageSInt64) inputB, (ImageSInt64) output);
+			} else if( ImageFloat32.class == inputA.getClass() ) {
+				PixelMath.diffAbs((ImageFloat32) inputA, (ImageFloat32) inputB, (ImageFloat32) output);
+			} else if( ImageFloat64.class == inputA.getClass() ) {
+				PixelMath.diffAbs((ImageFloat64) inputA, (ImageFloat64) inputB, (ImageFloat64) output);
+			} else {
+				throw new IllegalArgumentException("Unknown image Type: "+inputA.getClass().getSimpleName());
+			}
+		} else if( inputA instanceof ImageInterleaved ) {
+			if( InterleavedU8.class == inputA.getClass() ) {
+				PixelMath.diffAbs((InterleavedU8) inputA, (InterleavedU8) inputB, (InterleavedU8) output);
+			} else if( InterleavedS8.class == inputA.getClass() ) {
+				PixelMath.diffAbs((InterleavedS8) inputA, (InterleavedS8) inputB, (InterleavedS8) output);
+			} else if( InterleavedU16.class == inputA.getClass() ) {
+				PixelMath.diffAbs((InterleavedU16) inputA, (InterleavedU16) inputB, (InterleavedU16) output);
+			} else if( InterleavedS16.class == inputA.getClass() ) {
+				PixelMath.diffAbs((InterleavedS16) inputA, (InterleavedS16) inputB, (InterleavedS16) output);
+			} else if( InterleavedS32.class == inputA.getClass() ) {
+				PixelMath.diffAbs((InterleavedS32) inputA, (InterleavedS32) inputB, (InterleavedS32) output);
+			} else if( InterleavedS64.class == inputA.getClass() ) {
+				PixelMath.diffAbs((InterleavedS64) inputA, (InterleavedS64) inputB, (InterleavedS64) output);
+			} else if( InterleavedF32.class == inputA.getClass() ) {
+				PixelMath.diffAbs((InterleavedF32) inputA, (InterleavedF32) inputB, (InterleavedF32) output);
+			} else if( InterleavedF64.class == inputA.getClass() ) {
+				PixelMath.diffAbs((InterleavedF64) inputA, (InterleavedF64) inputB, (InterleavedF64) output);
+			} else {
+				throw new IllegalArgumentException("Unknown image Type: "+inputA.getClass().getSimpleName());
+			}
 		} else {
 			throw new IllegalArgumentException("Unknown image Type: "+inputA.getClass().getSimpleName());
 		}
@@ -500,7 +1006,16 @@ public class GPixelMath {
 	 * @param input MultiSpectral image
 	 * @param output Gray scale image containing average pixel values
 	 */
-	public static <T extends ImageSingleBand> void averageBand(MultiSpectral<T> input, T output) {
+	public static <T extends ImageSingleBand> void averageBand(final MultiSpectral<T> input, final T output) {
+		if( BoofConcurrency.isConcurrent(input.width*input.height) ) {
+			new ImageBandTask(input,output) {
+				@Override
+				protected void processBand(ImageBase[] b) {
+					averageBand((MultiSpectral<T>)b[0],(T)b[1]);
+				}
+			}.processRows();
+			return;
+		}
 
 		if( ImageUInt8.class == input.getType() ) {
 			PixelMath.averageBand((MultiSpectral<ImageUInt8>) input, (ImageUInt8) output);
@@ -522,4 +1037,42 @@ public class GPixelMath {
 			throw new IllegalArgumentException("Unknown image Type: "+input.getType().getSimpleName());
 		}
 	}
+
+	/**
+	 * Computes the average for each pixel across all bands in the {@link ImageInterleaved} image.
+	 *
+	 * @param input Interleaved image
+	 * @param output Gray scale image containing average pixel values
+	 */
+	public static <T extends ImageSingleBand> void averageBand(final ImageInterleaved input, final T output) {
+		if( BoofConcurrency.isConcurrent(input.width*input.height) ) {
+			new ImageBandTask(input,output) {
+				@Override
+				protected void processBand(ImageBase[] b) {
+					averageBand((ImageInterleaved)b[0],(T)b[1]);
+				}
+			}.processRows();
+			return;
+		}
+
+		if( InterleavedU8.class == input.getClass() ) {
+			PixelMath.averageBand((InterleavedU8) input, (ImageUInt8) output);
+		} else if( InterleavedS8.class == input.getClass() ) {
+			PixelMath.averageBand((InterleavedS8) input, (ImageSInt8) output);
+		} else if( InterleavedU16.class == input.getClass() ) {
+			PixelMath.averageBand((InterleavedU16) input, (ImageUInt16) output);
+		} else if( InterleavedS16.class == input.getClass() ) {
+			PixelMath.averageBand((InterleavedS16) input, (ImageSInt16) output);
+		} else if( InterleavedS32.class == input.getClass() ) {
+			PixelMath.averageBand((InterleavedS32) input, (ImageSInt32) output);
+		} else if( InterleavedS64.class == input.getClass() ) {
+			PixelMath.averageBand((InterleavedS64) input, (ImageSInt64) output);
+		} else if( InterleavedF32.class == input.getClass() ) {
+			PixelMath.averageBand((InterleavedF32) input, (ImageFloat32) output);
+		} else if( InterleavedF64.class == input.getClass() ) {
+			PixelMath.averageBand((InterleavedF64) input, (ImageFloat64) output);
+		} else {
+			throw new IllegalArgumentException("Unknown image Type: "+input.getClass().getSimpleName());
+		}
+	}
 }
@@ -0,0 +1,282 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.misc;
+
+import boofcv.struct.image.ImageBufferFloat32;
+import boofcv.struct.image.ImageBufferUInt8;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+
+/**
+ * Computes statistical properties of pixels inside of images stored in a {@link java.nio.Buffer}.  Same as
+ * {@link ImageStatistics} but reads directly from the buffer, avoiding the need to copy the image first.
+ *
+ * @author Peter Abeles
+ */
+public class ImageBufferStatistics {
+
+	/**
+	 * Returns the minimum element value.
+	 *
+	 * @param input Input image. Not modified.
+	 * @return Minimum pixel value.
+	 */
+	public static int min( ImageBufferUInt8 input ) {
+		final ByteBuffer data = input.data;
+		int min = input.get(0,0);
+
+		for( int y = 0; y < input.height; y++ ) {
+			int index = input.startIndex + y*input.stride;
+			int end = index + input.width;
+
+			for( ; index < end; index++ ) {
+				int v = data.get(index) & 0xFF;
+				if( v < min )
+					min = v;
+			}
+		}
+		return min;
+	}
+
+	/**
+	 * Returns the maximum element value.
+	 *
+	 * @param input Input image. Not modified.
+	 * @return Maximum pixel value.
+	 */
+	public static int max( ImageBufferUInt8 input ) {
+		final ByteBuffer data = input.data;
+		int max = input.get(0,0);
+
+		for( int y = 0; y < input.height; y++ ) {
+			int index = input.startIndex + y*input.stride;
+			int end = index + input.width;
+
+			for( ; index < end; index++ ) {
+				int v = data.get(index) & 0xFF;
+				if( v > max )
+					max = v;
+			}
+		}
+		return max;
+	}
+
+	/**
+	 * Returns the sum of all the pixels in the image.
+	 *
+	 * @param img Input image. Not modified.
+	 */
+	public static int sum( ImageBufferUInt8 img ) {
+		final ByteBuffer data = img.data;
+		int total = 0;
+
+		for (int y = 0; y < img.height; y++) {
+			int index = img.startIndex + y * img.stride;
+			int indexEnd = index+img.width;
+
+			for (; index < indexEnd; index++ ) {
+				total += data.get(index) & 0xFF;
+			}
+		}
+
+		return total;
+	}
+
+	/**
+	 * Returns the mean pixel intensity value.
+	 *
+	 * @param img Input image.  Not modified.
+	 * @return Mean pixel intensity value
+	 */
+	public static double mean( ImageBufferUInt8 img ) {
+		return sum(img)/(double)(img.width*img.height);
+	}
+
+	/**
+	 * Computes the variance of pixel intensity values inside the image.
+	 *
+	 * @param img Input image. Not modified.
+	 * @param mean Mean pixel intensity value.
+	 * @return Pixel variance
+	 */
+	public static double variance( ImageBufferUInt8 img , double mean ) {
+		final ByteBuffer data = img.data;
+		double variance = 0, error = 0;
+
+		for (int y = 0; y < img.height; y++) {
+			int index = img.startIndex + y * img.stride;
+			int indexEnd = index+img.width;
+
+			double rowTotal = 0;
+			for (; index < indexEnd; index++ ) {
+				double d = (data.get(index) & 0xFF) - mean;
+				rowTotal += d*d;
+			}
+
+			// rows are combined using Kahan summation, same as ImageStatistics
+			double v = rowTotal - error;
+			double t = variance + v;
+			error = (t - variance) - v;
+			variance = t;
+		}
+
+		return variance/(img.width*img.height);
+	}
+
+	/**
+	 * Computes the histogram of intensity values for the image.
+	 *
+	 * @param input (input) Image.
+	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
+	 */
+	public static void histogram( ImageBufferUInt8 input , int histogram[] ) {
+		final ByteBuffer data = input.data;
+		for( int i = 0; i < histogram.length; i++ )
+			histogram[i] = 0;
+
+		for( int y = 0; y < input.height; y++ ) {
+			int index = input.startIndex + y*input.stride;
+			int end = index + input.width;
+
+			for( ; index < end; index++ ) {
+				histogram[data.get(index) & 0xFF]++;
+			}
+		}
+	}
+
+	/**
+	 * Returns the minimum element value.
+	 *
+	 * @param input Input image. Not modified.
+	 * @return Minimum pixel value.
+	 */
+	public static float min( ImageBufferFloat32 input ) {
+		final FloatBuffer data = input.data;
+		float min = input.get(0,0);
+
+		for( int y = 0; y < input.height; y++ ) {
+			int index = input.startIndex + y*input.stride;
+			int end = index + input.width;
+
+			for( ; index < end; index++ ) {
+				float v = data.get(index);
+				if( v < min )
+					min = v;
+			}
+		}
+		return min;
+	}
+
+	/**
+	 * Returns the maximum element value.
+	 *
+	 * @param input Input image. Not modified.
+	 * @return Maximum pixel value.
+	 */
+	public static float max( ImageBufferFloat32 input ) {
+		final FloatBuffer data = input.data;
+		float max = input.get(0,0);
+
+		for( int y = 0; y < input.height; y++ ) {
+			int index = input.startIndex + y*input.stride;
+			int end = index + input.width;
+
+			for( ; index < end; index++ ) {
+				float v = data.get(index);
+				if( v > max )
+					max = v;
+			}
+		}
+		return max;
+	}
+
+	/**
+	 * Returns the sum of all the pixels in the image.  Computed the same way as {@link ImageStatistics#sum}, with
+	 * Kahan summation inside each row and across the rows.
+	 *
+	 * @param img Input image. Not modified.
+	 */
+	public static float sum( ImageBufferFloat32 img ) {
+		final FloatBuffer data = img.data;
+		double total = 0, error = 0;
+
+		for (int y = 0; y < img.height; y++) {
+			int index = img.startIndex + y * img.stride;
+			int indexEnd = index+img.width;
+
+			double rowTotal = 0, rowError = 0;
+			for (; index < indexEnd; index++ ) {
+				double v = data.get(index) - rowError;
+				double t = rowTotal + v;
+				rowError = (t - rowTotal) - v;
+				rowTotal = t;
+			}
+
+			double v = rowTotal - error;
+			double t = total + v;
+			error = (t - total) - v;
+			total = t;
+		}
+
+		return (float)total;
+	}
+
+	/**
+	 * Returns the mean pixel intensity value.
+	 *
+	 * @param img Input image.  Not modified.
+	 * @return Mean pixel intensity value
+	 */
+	public static double mean( ImageBufferFloat32 img ) {
+		return sum(img)/(double)(img.width*img.height);
+	}
+
+	/**
+	 * Computes the variance of pixel intensity values inside the image.
+	 *
+	 * @param img Input image. Not modified.
+	 * @param mean Mean pixel intensity value.
+	 * @return Pixel variance
+	 */
+	public static double variance( ImageBufferFloat32 img , double mean ) {
+		final FloatBuffer data = img.data;
+		double variance = 0, error = 0;
+
+		for (int y = 0; y < img.height; y++) {
+			int index = img.startIndex + y * img.stride;
+			int indexEnd = index+img.width;
+
+			double rowTotal = 0;
+			for (; index < indexEnd; index++ ) {
+				double d = data.get(index) - mean;
+				rowTotal += d*d;
+			}
+
+			// rows are combined using Kahan summation, same as ImageStatistics
+			double v = rowTotal - error;
+			double t = variance + v;
+			error = (t - variance) - v;
+			variance = t;
+		}
+
+		return variance/(img.width*img.height);
+	}
+}
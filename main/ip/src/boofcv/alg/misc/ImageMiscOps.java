@@ -19,6 +19,7 @@ package boofcv.alg.misc;
 
 import boofcv.struct.image.*;
 
+import java.util.Arrays;
 import java.util.Random;
 
 
@@ -56,9 +57,7 @@ public class ImageMiscOps {
 			int indexSrc = input.startIndex + (srcY + y) * input.stride + srcX;
 			int indexDst = output.startIndex + (dstY + y) * output.stride + dstX;
 
-			for (int x = 0; x < width; x++) {
-				output.data[indexDst++] = input.data[indexSrc++];
-			}
+			System.arraycopy(input.data,indexSrc,output.data,indexDst,width);
 		}
 	}
 
@@ -70,10 +69,13 @@ public class ImageMiscOps {
 	 */
 	public static void fill(ImageInt8 input, int value) {
 
-		for (int y = 0; y < input.height; y++) {
-			int index = input.getStartIndex() + y * input.getStride();
-			for (int x = 0; x < input.width; x++) {
-				input.data[index++] = (byte)value;
+		if( input.stride == input.width ) {
+			// rows are contiguous so fill them all at once
+			Arrays.fill(input.data,input.startIndex,input.startIndex+input.width*input.height,(byte)value);
+		} else {
+			for (int y = 0; y < input.height; y++) {
+				int index = input.startIndex + y * input.stride;
+				Arrays.fill(input.data,index,index+input.width,(byte)value);
 			}
 		}
 	}
@@ -86,11 +88,14 @@ public class ImageMiscOps {
 	 */
 	public static void fill(InterleavedI8 input, int value) {
 
-		for (int y = 0; y < input.height; y++) {
-			int index = input.getStartIndex() + y * input.getStride();
-			int end = index + input.width*input.numBands;
-			for (; index < end; index++ ) {
-				input.data[index] = (byte)value;
+		int columns = input.width*input.numBands;
+		if( input.stride == columns ) {
+			// rows are contiguous so fill them all at once
+			Arrays.fill(input.data,input.startIndex,input.startIndex+columns*input.height,(byte)value);
+		} else {
+			for (int y = 0; y < input.height; y++) {
+				int index = input.startIndex + y * input.stride;
+				Arrays.fill(input.data,index,index+columns,(byte)value);
 			}
 		}
 	}
@@ -108,10 +113,8 @@ public class ImageMiscOps {
 		for (int y = 0; y < radius; y++) {
 			int indexTop = input.startIndex + y * input.stride;
 			int indexBottom = input.startIndex + (input.height-y-1) * input.stride;
-			for (int x = 0; x < input.width; x++) {
-				input.data[indexTop++] = (byte)value;
-				input.data[indexBottom++] = (byte)value;
-			}
+			Arrays.fill(input.data,indexTop,indexTop+input.width,(byte)value);
+			Arrays.fill(input.data,indexBottom,indexBottom+input.width,(byte)value);
 		}
 
 		// left and right
@@ -144,11 +147,17 @@ public class ImageMiscOps {
 		int x1 = x0 + width;
 		int y1 = y0 + height;
 
+		// only the part inside the image is drawn
+		if( x0 < 0 ) x0 = 0;
+		if( y0 < 0 ) y0 = 0;
+		if( x1 > img.width ) x1 = img.width;
+		if( y1 > img.height ) y1 = img.height;
+		if( x1 <= x0 )
+			return;
+
 		for (int y = y0; y < y1; y++) {
-			for (int x = x0; x < x1; x++) {
-				if( img.isInBounds(x,y ))
-					img.set(x, y, value);
-			}
+			int index = img.startIndex + y*img.stride;
+			Arrays.fill(img.data,index+x0,index+x1,(byte)value);
 		}
 	}
 
@@ -320,9 +329,7 @@ public class ImageMiscOps {
 			int indexSrc = input.startIndex + (srcY + y) * input.stride + srcX;
 			int indexDst = output.startIndex + (dstY + y) * output.stride + dstX;
 
-			for (int x = 0; x < width; x++) {
-				output.data[indexDst++] = input.data[indexSrc++];
-			}
+			System.arraycopy(input.data,indexSrc,output.data,indexDst,width);
 		}
 	}
 
@@ -334,10 +341,13 @@ public class ImageMiscOps {
 	 */
 	public static void fill(ImageInt16 input, int value) {
 
-		for (int y = 0; y < input.height; y++) {
-			int index = input.getStartIndex() + y * input.getStride();
-			for (int x = 0; x < input.width; x++) {
-				input.data[index++] = (short)value;
+		if( input.stride == input.width ) {
+			// rows are contiguous so fill them all at once
+			Arrays.fill(input.data,input.startIndex,input.startIndex+input.width*input.height,(short)value);
+		} else {
+			for (int y = 0; y < input.height; y++) {
+				int index = input.startIndex + y * input.stride;
+				Arrays.fill(input.data,index,index+input.width,(short)value);
 			}
 		}
 	}
@@ -350,11 +360,14 @@ public class ImageMiscOps {
 	 */
 	public static void fill(InterleavedI16 input, int value) {
 
-		for (int y = 0; y < input.height; y++) {
-			int index = input.getStartIndex() + y * input.getStride();
-			int end = index + input.width*input.numBands;
-			for (; index < end; index++ ) {
-				input.data[index] = (short)value;
+		int columns = input.width*input.numBands;
+		if( input.stride == columns ) {
+			// rows are contiguous so fill them all at once
+			Arrays.fill(input.data,input.startIndex,input.startIndex+columns*input.height,(short)value);
+		} else {
+			for (int y = 0; y < input.height; y++) {
+				int index = input.startIndex + y * input.stride;
+				Arrays.fill(input.data,index,index+columns,(short)value);
 			}
 		}
 	}
@@ -372,10 +385,8 @@ public class ImageMiscOps {
 		for (int y = 0; y < radius; y++) {
 			int indexTop = input.startIndex + y * input.stride;
 			int indexBottom = input.startIndex + (input.height-y-1) * input.stride;
-			for (int x = 0; x < input.width; x++) {
-				input.data[indexTop++] = (short)value;
-				input.data[indexBottom++] = (short)value;
-			}
+			Arrays.fill(input.data,indexTop,indexTop+input.width,(short)value);
+			Arrays.fill(input.data,indexBottom,indexBottom+input.width,(short)value);
 		}
 
 		// left and right
@@ -408,11 +419,17 @@ public class ImageMiscOps {
 		int x1 = x0 + width;
 		int y1 = y0 + height;
 
+		// only the part inside the image is drawn
+		if( x0 < 0 ) x0 = 0;
+		if( y0 < 0 ) y0 = 0;
+		if( x1 > img.width ) x1 = img.width;
+		if( y1 > img.height ) y1 = img.height;
+		if( x1 <= x0 )
+			return;
+
 		for (int y = y0; y < y1; y++) {
-			for (int x = x0; x < x1; x++) {
-				if( img.isInBounds(x,y ))
-					img.set(x, y, value);
-			}
+			int index = img.startIndex + y*img.stride;
+			Arrays.fill(img.data,index+x0,index+x1,(short)value);
 		}
 	}
 
@@ -584,9 +601,7 @@ public class ImageMiscOps {
 			int indexSrc = input.startIndex + (srcY + y) * input.stride + srcX;
 			int indexDst = output.startIndex + (dstY + y) * output.stride + dstX;
 
-			for (int x = 0; x < width; x++) {
-				output.data[indexDst++] = input.data[indexSrc++];
-			}
+			System.arraycopy(input.data,indexSrc,output.data,indexDst,width);
 		}
 	}
 
@@ -598,10 +613,13 @@ public class ImageMiscOps {
 	 */
 	public static void fill(ImageSInt32 input, int value) {
 
-		for (int y = 0; y < input.height; y++) {
-			int index = input.getStartIndex() + y * input.getStride();
-			for (int x = 0; x < input.width; x++) {
-				input.data[index++] = value;
+		if( input.stride == input.width ) {
+			// rows are contiguous so fill them all at once
+			Arrays.fill(input.data,input.startIndex,input.startIndex+input.width*input.height,value);
+		} else {
+			for (int y = 0; y < input.height; y++) {
+				int index = input.startIndex + y * input.stride;
+				Arrays.fill(input.data,index,index+input.width,value);
 			}
 		}
 	}
@@ -614,11 +632,14 @@ public class ImageMiscOps {
 	 */
 	public static void fill(InterleavedS32 input, int value) {
 
-		for (int y = 0; y < input.height; y++) {
-			int index = input.getStartIndex() + y * input.getStride();
-			int end = index + input.width*input.numBands;
-			for (; index < end; index++ ) {
-				input.data[index] = value;
+		int columns = input.width*input.numBands;
+		if( input.stride == columns ) {
+			// rows are contiguous so fill them all at once
+			Arrays.fill(input.data,input.startIndex,input.startIndex+columns*input.height,value);
+		} else {
+			for (int y = 0; y < input.height; y++) {
+				int index = input.startIndex + y * input.stride;
+				Arrays.fill(input.data,index,index+columns,value);
 			}
 		}
 	}
@@ -636,10 +657,8 @@ public class ImageMiscOps {
 		for (int y = 0; y < radius; y++) {
 			int indexTop = input.startIndex + y * input.stride;
 			int indexBottom = input.startIndex + (input.height-y-1) * input.stride;
-			for (int x = 0; x < input.width; x++) {
-				input.data[indexTop++] = value;
-				input.data[indexBottom++] = value;
-			}
+			Arrays.fill(input.data,indexTop,indexTop+input.width,value);
+			Arrays.fill(input.data,indexBottom,indexBottom+input.width,value);
 		}
 
 		// left and right
@@ -672,11 +691,17 @@ public class ImageMiscOps {
 		int x1 = x0 + width;
 		int y1 = y0 + height;
 
+		// only the part inside the image is drawn
+		if( x0 < 0 ) x0 = 0;
+		if( y0 < 0 ) y0 = 0;
+		if( x1 > img.width ) x1 = img.width;
+		if( y1 > img.height ) y1 = img.height;
+		if( x1 <= x0 )
+			return;
+
 		for (int y = y0; y < y1; y++) {
-			for (int x = x0; x < x1; x++) {
-				if( img.isInBounds(x,y ))
-					img.set(x, y, value);
-			}
+			int index = img.startIndex + y*img.stride;
+			Arrays.fill(img.data,index+x0,index+x1,value);
 		}
 	}
 
@@ -848,9 +873,7 @@ public class ImageMiscOps {
 			int indexSrc = input.startIndex + (srcY + y) * input.stride + srcX;
 			int indexDst = output.startIndex + (dstY + y) * output.stride + dstX;
 
-			for (int x = 0; x < width; x++) {
-				output.data[indexDst++] = input.data[indexSrc++];
-			}
+			System.arraycopy(input.data,indexSrc,output.data,indexDst,width);
 		}
 	}
 
@@ -862,10 +885,13 @@ public class ImageMiscOps {
 	 */
 	public static void fill(ImageSInt64 input, long value) {
 
-		for (int y = 0; y < input.height; y++) {
-			int index = input.getStartIndex() + y * input.getStride();
-			for (int x = 0; x < input.width; x++) {
-				input.data[index++] = value;
+		if( input.stride == input.width ) {
+			// rows are contiguous so fill them all at once
+			Arrays.fill(input.data,input.startIndex,input.startIndex+input.width*input.height,value);
+		} else {
+			for (int y = 0; y < input.height; y++) {
+				int index = input.startIndex + y * input.stride;
+				Arrays.fill(input.data,index,index+input.width,value);
 			}
 		}
 	}
@@ -878,11 +904,14 @@ public class ImageMiscOps {
 	 */
 	public static void fill(InterleavedS64 input, long value) {
 
-		for (int y = 0; y < input.height; y++) {
-			int index = input.getStartIndex() + y * input.getStride();
-			int end = index + input.width*input.numBands;
-			for (; index < end; index++ ) {
-				input.data[index] = value;
+		int columns = input.width*input.numBands;
+		if( input.stride == columns ) {
+			// rows are contiguous so fill them all at once
+			Arrays.fill(input.data,input.startIndex,input.startIndex+columns*input.height,value);
+		} else {
+			for (int y = 0; y < input.height; y++) {
+				int index = input.startIndex + y * input.stride;
+				Arrays.fill(input.data,index,index+columns,value);
 			}
 		}
 	}
@@ -900,10 +929,8 @@ public class ImageMiscOps {
 		for (int y = 0; y < radius; y++) {
 			int indexTop = input.startIndex + y * input.stride;
 			int indexBottom = input.startIndex + (input.height-y-1) * input.stride;
-			for (int x = 0; x < input.width; x++) {
-				input.data[indexTop++] = value;
-				input.data[indexBottom++] = value;
-			}
+			Arrays.fill(input.data,indexTop,indexTop+input.width,value);
+			Arrays.fill(input.data,indexBottom,indexBottom+input.width,value);
 		}
 
 		// left and right
@@ -936,11 +963,17 @@ public class ImageMiscOps {
 		int x1 = x0 + width;
 		int y1 = y0 + height;
 
+		// only the part inside the image is drawn
+		if( x0 < 0 ) x0 = 0;
+		if( y0 < 0 ) y0 = 0;
+		if( x1 > img.width ) x1 = img.width;
+		if( y1 > img.height ) y1 = img.height;
+		if( x1 <= x0 )
+			return;
+
 		for (int y = y0; y < y1; y++) {
-			for (int x = x0; x < x1; x++) {
-				if( img.isInBounds(x,y ))
-					img.set(x, y, value);
-			}
+			int index = img.startIndex + y*img.stride;
+			Arrays.fill(img.data,index+x0,index+x1,value);
 		}
 	}
 
@@ -1112,9 +1145,7 @@ public class ImageMiscOps {
 			int indexSrc = input.startIndex + (srcY + y) * input.stride + srcX;
 			int indexDst = output.startIndex + (dstY + y) * output.stride + dstX;
 
-			for (int x = 0; x < width; x++) {
-				output.data[indexDst++] = input.data[indexSrc++];
-			}
+			System.arraycopy(input.data,indexSrc,output.data,indexDst,width);
 		}
 	}
 
@@ -1126,10 +1157,13 @@ public class ImageMiscOps {
 	 */
 	public static void fill(ImageFloat32 input, float value) {
 
-		for (int y = 0; y < input.height; y++) {
-			int index = input.getStartIndex() + y * input.getStride();
-			for (int x = 0; x < input.width; x++) {
-				input.data[index++] = value;
+		if( input.stride == input.width ) {
+			// rows are contiguous so fill them all at once
+			Arrays.fill(input.data,input.startIndex,input.startIndex+input.width*input.height,value);
+		} else {
+			for (int y = 0; y < input.height; y++) {
+				int index = input.startIndex + y * input.stride;
+				Arrays.fill(input.data,index,index+input.width,value);
 			}
 		}
 	}
@@ -1142,11 +1176,14 @@ public class ImageMiscOps {
 	 */
 	public static void fill(InterleavedF32 input, float value) {
 
-		for (int y = 0; y < input.height; y++) {
-			int index = input.getStartIndex() + y * input.getStride();
-			int end = index + input.width*input.numBands;
-			for (; index < end; index++ ) {
-				input.data[index] = value;
+		int columns = input.width*input.numBands;
+		if( input.stride == columns ) {
+			// rows are contiguous so fill them all at once
+			Arrays.fill(input.data,input.startIndex,input.startIndex+columns*input.height,value);
+		} else {
+			for (int y = 0; y < input.height; y++) {
+				int index = input.startIndex + y * input.stride;
+				Arrays.fill(input.data,index,index+columns,value);
 			}
 		}
 	}
@@ -1164,10 +1201,8 @@ public class ImageMiscOps {
 		for (int y = 0; y < radius; y++) {
 			int indexTop = input.startIndex + y * input.stride;
 			int indexBottom = input.startIndex + (input.height-y-1) * input.stride;
-			for (int x = 0; x < input.width; x++) {
-				input.data[indexTop++] = value;
-				input.data[indexBottom++] = value;
-			}
+			Arrays.fill(input.data,indexTop,indexTop+input.width,value);
+			Arrays.fill(input.data,indexBottom,indexBottom+input.width,value);
 		}
 
 		// left and right
@@ -1200,11 +1235,17 @@ public class ImageMiscOps {
 		int x1 = x0 + width;
 		int y1 = y0 + height;
 
+		// only the part inside the image is drawn
+		if( x0 < 0 ) x0 = 0;
+		if( y0 < 0 ) y0 = 0;
+		if( x1 > img.width ) x1 = img.width;
+		if( y1 > img.height ) y1 = img.height;
+		if( x1 <= x0 )
+			return;
+
 		for (int y = y0; y < y1; y++) {
-			for (int x = x0; x < x1; x++) {
-				if( img.isInBounds(x,y ))
-					img.set(x, y, value);
-			}
+			int index = img.startIndex + y*img.stride;
+			Arrays.fill(img.data,index+x0,index+x1,value);
 		}
 	}
 
@@ -1376,9 +1417,7 @@ public class ImageMiscOps {
 			int indexSrc = input.startIndex + (srcY + y) * input.stride + srcX;
 			int indexDst = output.startIndex + (dstY + y) * output.stride + dstX;
 
-			for (int x = 0; x < width; x++) {
-				output.data[indexDst++] = input.data[indexSrc++];
-			}
+			System.arraycopy(input.data,indexSrc,output.data,indexDst,width);
 		}
 	}
 
@@ -1390,10 +1429,13 @@ public class ImageMiscOps {
 	 */
 	public static void fill(ImageFloat64 input, double value) {
 
-		for (int y = 0; y < input.height; y++) {
-			int index = input.getStartIndex() + y * input.getStride();
-			for (int x = 0; x < input.width; x++) {
-				input.data[index++] = value;
+		if( input.stride == input.width ) {
+			// rows are contiguous so fill them all at once
+			Arrays.fill(input.data,input.startIndex,input.startIndex+input.width*input.height,value);
+		} else {
+			for (int y = 0; y < input.height; y++) {
+				int index = input.startIndex + y * input.stride;
+				Arrays.fill(input.data,index,index+input.width,value);
 			}
 		}
 	}
@@ -1406,11 +1448,14 @@ public class ImageMiscOps {
 	 */
 	public static void fill(InterleavedF64 input, double value) {
 
-		for (int y = 0; y < input.height; y++) {
-			int index = input.getStartIndex() + y * input.getStride();
-			int end = index + input.width*input.numBands;
-			for (; index < end; index++ ) {
-				input.data[index] = value;
+		int columns = input.width*input.numBands;
+		if( input.stride == columns ) {
+			// rows are contiguous so fill them all at once
+			Arrays.fill(input.data,input.startIndex,input.startIndex+columns*input.height,value);
+		} else {
+			for (int y = 0; y < input.height; y++) {
+				int index = input.startIndex + y * input.stride;
+				Arrays.fill(input.data,index,index+columns,value);
 			}
 		}
 	}
@@ -1428,10 +1473,8 @@ public class ImageMiscOps {
 		for (int y = 0; y < radius; y++) {
 			int indexTop = input.startIndex + y * input.stride;
 			int indexBottom = input.startIndex + (input.height-y-1) * input.stride;
-			for (int x = 0; x < input.width; x++) {
-				input.data[indexTop++] = value;
-				input.data[indexBottom++] = value;
-			}
+			Arrays.fill(input.data,indexTop,indexTop+input.width,value);
+			Arrays.fill(input.data,indexBottom,indexBottom+input.width,value);
 		}
 
 		// left and right
@@ -1464,11 +1507,17 @@ public class ImageMiscOps {
 		int x1 = x0 + width;
 		int y1 = y0 + height;
 
+		// only the part inside the image is drawn
+		if( x0 < 0 ) x0 = 0;
+		if( y0 < 0 ) y0 = 0;
+		if( x1 > img.width ) x1 = img.width;
+		if( y1 > img.height ) y1 = img.height;
+		if( x1 <= x0 )
+			return;
+
 		for (int y = y0; y < y1; y++) {
-			for (int x = x0; x < x1; x++) {
-				if( img.isInBounds(x,y ))
-					img.set(x, y, value);
-			}
+			int index = img.startIndex + y*img.stride;
+			Arrays.fill(img.data,index+x0,index+x1,value);
 		}
 	}
 
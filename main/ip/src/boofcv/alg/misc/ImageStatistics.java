@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -16,12 +16,24 @@
  * limitations under the License.
  */
 
+
 package boofcv.alg.misc;
 
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.struct.image.*;
 
 /**
+ * <p>
  * Computes statistical properties of pixels inside an image.
+ * </p>
+ *
+ * <p>
+ * The sum of floating point images is computed using Kahan summation.  Other floating point sums are
+ * computed one row at a time in double precision and then the rows are combined using Kahan summation.
+ * If {@link BoofConcurrency#isConcurrent} is true for the image's size then the functions are computed in
+ * parallel bands of rows by {@link ImageStatistics_MT}.  Since the same row sums are combined in the same
+ * order the results are identical.
+ * </p>
  *
  * <p>DO NOT MODIFY: Generated by {@link boofcv.alg.misc.GenerateImageStatistics}</p>.
  *
@@ -36,10 +48,20 @@ public class ImageStatistics {
 	 * @return Minimum pixel value.
 	 */
 	public static int min( ImageUInt8 input ) {
+		if( BoofConcurrency.isConcurrent((long)input.width*input.height) )
+			return ImageStatistics_MT.min(input);
+
+		return minRows(input,0,input.height);
+	}
 
-		int min = input.get(0,0);
+	/**
+	 * Minimum element value in rows y0 to y1-1.
+	 */
+	static int minRows( ImageUInt8 input , int y0 , int y1 ) {
 
-		for( int y = 0; y < input.height; y++ ) {
+		int min = input.get(0,y0);
+
+		for( int y = y0; y < y1; y++ ) {
 			int index = input.startIndex + y*input.stride;
 			int end = index + input.width;
 
@@ -59,10 +81,20 @@ public class ImageStatistics {
 	 * @return Maximum pixel value.
 	 */
 	public static int max( ImageUInt8 input ) {
+		if( BoofConcurrency.isConcurrent((long)input.width*input.height) )
+			return ImageStatistics_MT.max(input);
+
+		return maxRows(input,0,input.height);
+	}
+
+	/**
+	 * Maximum element value in rows y0 to y1-1.
+	 */
+	static int maxRows( ImageUInt8 input , int y0 , int y1 ) {
 
-		int max = input.get(0,0);
+		int max = input.get(0,y0);
 
-		for( int y = 0; y < input.height; y++ ) {
+		for( int y = y0; y < y1; y++ ) {
 			int index = input.startIndex + y*input.stride;
 			int end = index + input.width;
 
@@ -82,10 +114,20 @@ public class ImageStatistics {
 	 * @return Largest pixel absolute value.
 	 */
 	public static int maxAbs( ImageUInt8 input ) {
+		if( BoofConcurrency.isConcurrent((long)input.width*input.height) )
+			return ImageStatistics_MT.maxAbs(input);
+
+		return maxAbsRows(input,0,input.height);
+	}
+
+	/**
+	 * Largest absolute value in rows y0 to y1-1.
+	 */
+	static int maxAbsRows( ImageUInt8 input , int y0 , int y1 ) {
 
 		int max = 0;
 
-		for( int y = 0; y < input.height; y++ ) {
+		for( int y = y0; y < y1; y++ ) {
 			int index = input.startIndex + y*input.stride;
 			int end = index + input.width;
 
@@ -106,16 +148,23 @@ public class ImageStatistics {
 	 * @param img Input image. Not modified.
 	 */
 	public static int sum( ImageUInt8 img ) {
+		if( BoofConcurrency.isConcurrent((long)img.width*img.height) )
+			return ImageStatistics_MT.sum(img);
+
+		return sumRows(img,0,img.height);
+	}
 
-		final int h = img.getHeight();
-		final int w = img.getWidth();
+	/**
+	 * Sum of the pixels in rows y0 to y1-1.
+	 */
+	static int sumRows( ImageUInt8 img , int y0 , int y1 ) {
 
 		int total = 0;
-		
-		for (int y = 0; y < h; y++) {
+
+		for (int y = y0; y < y1; y++) {
 			int index = img.getStartIndex() + y * img.getStride();
 			
-			int indexEnd = index+w;
+			int indexEnd = index+img.width;
 			// for(int x = 0; x < w; x++ ) {
 			for (; index < indexEnd; index++ ) {
 				total += img.data[index] & 0xFF;
@@ -143,21 +192,34 @@ public class ImageStatistics {
 	 * @return Pixel variance   
 	 */
 	public static double variance( ImageUInt8 img , double mean ) {
+		if( BoofConcurrency.isConcurrent((long)img.width*img.height) )
+			return ImageStatistics_MT.variance(img,mean);
 
-		double variance = 0;
+		double total = 0, error = 0;
 
 		for (int y = 0; y < img.height; y++) {
-			int index = img.getStartIndex() + y * img.getStride();
-
-			int indexEnd = index+img.width;
-			// for(int x = 0; x < img.width; x++ ) {
-			for (; index < indexEnd; index++ ) {
-				double d = (img.data[index]& 0xFF) - mean; 
-				variance += d*d;
-			}
+			double v = varianceRow(img,y,mean) - error;
+			double t = total + v;
+			error = (t - total) - v;
+			total = t;
 		}
 
-		return variance/(img.width*img.height);
+		return total/(img.width*img.height);
+	}
+
+	/**
+	 * Sum of the squared difference from the mean for pixels in row y.
+	 */
+	static double varianceRow( ImageUInt8 img , int y , double mean ) {
+		int index = img.getStartIndex() + y * img.getStride();
+		int indexEnd = index+img.width;
+
+		double total = 0;
+		for (; index < indexEnd; index++ ) {
+			double d = (img.data[index]& 0xFF) - mean; 
+			total += d*d;
+		}
+		return total;
 	}
 
 	/**
@@ -168,9 +230,19 @@ public class ImageStatistics {
 	 * @return error between the two images.
 	 */
 	public static double meanDiffSq(ImageUInt8 imgA, ImageUInt8 imgB ) {
+		if( BoofConcurrency.isConcurrent((long)imgA.width*imgA.height) )
+			return ImageStatistics_MT.meanDiffSq(imgA,imgB);
+
+		return meanDiffSqRows(imgA,imgB,0,imgA.height) / (double)(imgA.width*imgA.height);
+	}
+
+	/**
+	 * Sum of the error in rows y0 to y1-1.
+	 */
+	static int meanDiffSqRows(ImageUInt8 imgA, ImageUInt8 imgB , int y0 , int y1 ) {
 		int total = 0;
 
-		for (int y = 0; y < imgA.height; y++) {
+		for (int y = y0; y < y1; y++) {
 			int indexA = imgA.getStartIndex() + y * imgA.getStride();
 			int indexB = imgB.getStartIndex() + y * imgB.getStride();
 			for (int x = 0; x < imgA.width; x++,indexA++,indexB++) {
@@ -179,20 +251,30 @@ public class ImageStatistics {
 			}
 		}
 
-		return total / (double)(imgA.width*imgA.height);
+		return total;
 	}
 
 	/**
-	 * <p>Computes the mean squared error (MSE) between the two images.</p>
+	 * <p>Computes the mean absolute difference between the two images.</p>
 	 *
 	 * @param imgA first image. Not modified.
 	 * @param imgB second image. Not modified.
 	 * @return error between the two images.
 	 */
 	public static double meanDiffAbs(ImageUInt8 imgA, ImageUInt8 imgB ) {
+		if( BoofConcurrency.isConcurrent((long)imgA.width*imgA.height) )
+			return ImageStatistics_MT.meanDiffAbs(imgA,imgB);
+
+		return meanDiffAbsRows(imgA,imgB,0,imgA.height) / (double)(imgA.width*imgA.height);
+	}
+
+	/**
+	 * Sum of the error in rows y0 to y1-1.
+	 */
+	static int meanDiffAbsRows(ImageUInt8 imgA, ImageUInt8 imgB , int y0 , int y1 ) {
 		int total = 0;
 
-		for (int y = 0; y < imgA.height; y++) {
+		for (int y = y0; y < y1; y++) {
 			int indexA = imgA.getStartIndex() + y * imgA.getStride();
 			int indexB = imgB.getStartIndex() + y * imgB.getStride();
 			for (int x = 0; x < imgA.width; x++,indexA++,indexB++) {
@@ -201,7 +283,7 @@ public class ImageStatistics {
 			}
 		}
 
-		return total / (double)(imgA.width*imgA.height);
+		return total;
 	}
 
 	/**
@@ -211,10 +293,22 @@ public class ImageStatistics {
 	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
 	 */
 	public static void histogram( ImageUInt8 input , int histogram[] ) {
+		if( BoofConcurrency.isConcurrent((long)input.width*input.height) ) {
+			ImageStatistics_MT.histogram(input,histogram);
+			return;
+		}
+
 		for( int i = 0; i < histogram.length; i++ )
 			histogram[i] = 0;
-		
-		for( int y = 0; y < input.height; y++ ) {
+
+		histogramRows(input,histogram,0,input.height);
+	}
+
+	/**
+	 * Adds the intensity values in rows y0 to y1-1 to the histogram
+	 */
+	static void histogramRows( ImageUInt8 input , int histogram[] , int y0 , int y1 ) {
+		for( int y = y0; y < y1; y++ ) {
 			int index = input.startIndex + y*input.stride;
 			int end = index + input.width;
 
@@ -224,6 +318,80 @@ public class ImageStatistics {
 		}
 	}
 
+	/**
+	 * Computes the minimum, maximum, mean, and variance of the pixel values and optionally the histogram
+	 * in a single pass through the image.  See {@link PixelStatistics}.
+	 *
+	 * @param input (input) Image. Not modified.
+	 * @param histogram (output) Storage for histogram or null if not needed. Number of elements must be equal to max value.
+	 * @param output (output) Storage for the statistics.  If null a new instance is created.
+	 * @return The statistics
+	 */
+	public static PixelStatistics statistics( ImageUInt8 input , int histogram[] , PixelStatistics output ) {
+		if( BoofConcurrency.isConcurrent((long)input.width*input.height) )
+			return ImageStatistics_MT.statistics(input,histogram,output);
+
+		if( output == null )
+			output = new PixelStatistics();
+		output.declareRows(input.height);
+		if( histogram != null ) {
+			for( int i = 0; i < histogram.length; i++ )
+				histogram[i] = 0;
+		}
+
+		statisticsRows(input,histogram,output,0,input.height);
+		output.combineRows(input.width,input.height,input.get(0,0));
+
+		return output;
+	}
+
+	/**
+	 * Computes the statistics for each row from y0 to y1-1 and adds the pixels to the histogram, if not null.
+	 */
+	static void statisticsRows( ImageUInt8 input , int histogram[] , PixelStatistics output , int y0 , int y1 ) {
+		// sums are relative to the first pixel to avoid numerical problems when computing the variance
+		int offset = input.get(0,0);
+
+		for( int y = y0; y < y1; y++ ) {
+			int index = input.startIndex + y*input.stride;
+			int end = index + input.width;
+
+			int min = input.data[index]& 0xFF;
+			int max = min;
+			long sum = 0, sumSq = 0;
+
+			if( histogram == null ) {
+				for( ; index < end; index++ ) {
+					int v = input.data[index]& 0xFF;
+					if( v < min )
+						min = v;
+					else if( v > max )
+						max = v;
+					int d = v - offset;
+					sum += d;
+					sumSq += (long)d*d;
+				}
+			} else {
+				for( ; index < end; index++ ) {
+					int v = input.data[index]& 0xFF;
+					if( v < min )
+						min = v;
+					else if( v > max )
+						max = v;
+					int d = v - offset;
+					sum += d;
+					sumSq += (long)d*d;
+					histogram[v]++;
+				}
+			}
+
+			output.rowMin[y] = min;
+			output.rowMax[y] = max;
+			output.rowSum[y] = sum;
+			output.rowSumSq[y] = sumSq;
+		}
+	}
+
 	/**
 	 * Returns the minimum element value.
 	 * 
@@ -231,10 +399,20 @@ public class ImageStatistics {
 	 * @return Minimum pixel value.
 	 */
 	public static int min( ImageSInt8 input ) {
+		if( BoofConcurrency.isConcurrent((long)input.width*input.height) )
+			return ImageStatistics_MT.min(input);
 
-		int min = input.get(0,0);
+		return minRows(input,0,input.height);
+	}
+
+	/**
+	 * Minimum element value in rows y0 to y1-1.
+	 */
+	static int minRows( ImageSInt8 input , int y0 , int y1 ) {
 
-		for( int y = 0; y < input.height; y++ ) {
+		int min = input.get(0,y0);
+
+		for( int y = y0; y < y1; y++ ) {
 			int index = input.startIndex + y*input.stride;
 			int end = index + input.width;
 
@@ -254,10 +432,20 @@ public class ImageStatistics {
 	 * @return Maximum pixel value.
 	 */
 	public static int max( ImageSInt8 input ) {
+		if( BoofConcurrency.isConcurrent((long)input.width*input.height) )
+			return ImageStatistics_MT.max(input);
+
+		return maxRows(input,0,input.height);
+	}
+
+	/**
+	 * Maximum element value in rows y0 to y1-1.
+	 */
+	static int maxRows( ImageSInt8 input , int y0 , int y1 ) {
 
-		int max = input.get(0,0);
+		int max = input.get(0,y0);
 
-		for( int y = 0; y < input.height; y++ ) {
+		for( int y = y0; y < y1; y++ ) {
 			int index = input.startIndex + y*input.stride;
 			int end = index + input.width;
 
@@ -277,10 +465,20 @@ public class ImageStatistics {
 	 * @return Largest pixel absolute value.
 	 */
 	public static int maxAbs( ImageSInt8 input ) {
+		if( BoofConcurrency.isConcurrent((long)input.width*input.height) )
+			return ImageStatistics_MT.maxAbs(input);
+
+		return maxAbsRows(input,0,input.height);
+	}
+
+	/**
+	 * Largest absolute value in rows y0 to y1-1.
+	 */
+	static int maxAbsRows( ImageSInt8 input , int y0 , int y1 ) {
 
 		int max = 0;
 
-		for( int y = 0; y < input.height; y++ ) {
+		for( int y = y0; y < y1; y++ ) {
 			int index = input.startIndex + y*input.stride;
 			int end = index + input.width;
 
@@ -301,16 +499,23 @@ public class ImageStatistics {
 	 * @param img Input image. Not modified.
 	 */
 	public static int sum( ImageSInt8 img ) {
+		if( BoofConcurrency.isConcurrent((long)img.width*img.height) )
+			return ImageStatistics_MT.sum(img);
+
+		return sumRows(img,0,img.height);
+	}
 
-		final int h = img.getHeight();
-		final int w = img.getWidth();
+	/**
+	 * Sum of the pixels in rows y0 to y1-1.
+	 */
+	static int sumRows( ImageSInt8 img , int y0 , int y1 ) {
 
 		int total = 0;
-		
-		for (int y = 0; y < h; y++) {
+
+		for (int y = y0; y < y1; y++) {
 			int index = img.getStartIndex() + y * img.getStride();
 			
-			int indexEnd = index+w;
+			int indexEnd = index+img.width;
 			// for(int x = 0; x < w; x++ ) {
 			for (; index < indexEnd; index++ ) {
 				total += img.data[index] ;
@@ -338,21 +543,34 @@ public class ImageStatistics {
 	 * @return Pixel variance   
 	 */
 	public static double variance( ImageSInt8 img , double mean ) {
+		if( BoofConcurrency.isConcurrent((long)img.width*img.height) )
+			return ImageStatistics_MT.variance(img,mean);
 
-		double variance = 0;
+		double total = 0, error = 0;
 
 		for (int y = 0; y < img.height; y++) {
-			int index = img.getStartIndex() + y * img.getStride();
-
-			int indexEnd = index+img.width;
-			// for(int x = 0; x < img.width; x++ ) {
-			for (; index < indexEnd; index++ ) {
-				double d = (img.data[index]) - mean; 
-				variance += d*d;
-			}
+			double v = varianceRow(img,y,mean) - error;
+			double t = total + v;
+			error = (t - total) - v;
+			total = t;
 		}
 
-		return variance/(img.width*img.height);
+		return total/(img.width*img.height);
+	}
+
+	/**
+	 * Sum of the squared difference from the mean for pixels in row y.
+	 */
+	static double varianceRow( ImageSInt8 img , int y , double mean ) {
+		int index = img.getStartIndex() + y * img.getStride();
+		int indexEnd = index+img.width;
+
+		double total = 0;
+		for (; index < indexEnd; index++ ) {
+			double d = (img.data[index]) - mean; 
+			total += d*d;
+		}
+		return total;
 	}
 
 	/**
@@ -363,9 +581,19 @@ public class ImageStatistics {
 	 * @return error between the two images.
 	 */
 	public static double meanDiffSq(ImageSInt8 imgA, ImageSInt8 imgB ) {
+		if( BoofConcurrency.isConcurrent((long)imgA.width*imgA.height) )
+			return ImageStatistics_MT.meanDiffSq(imgA,imgB);
+
+		return meanDiffSqRows(imgA,imgB,0,imgA.height) / (double)(imgA.width*imgA.height);
+	}
+
+	/**
+	 * Sum of the error in rows y0 to y1-1.
+	 */
+	static int meanDiffSqRows(ImageSInt8 imgA, ImageSInt8 imgB , int y0 , int y1 ) {
 		int total = 0;
 
-		for (int y = 0; y < imgA.height; y++) {
+		for (int y = y0; y < y1; y++) {
 			int indexA = imgA.getStartIndex() + y * imgA.getStride();
 			int indexB = imgB.getStartIndex() + y * imgB.getStride();
 			for (int x = 0; x < imgA.width; x++,indexA++,indexB++) {
@@ -374,20 +602,30 @@ public class ImageStatistics {
 			}
 		}
 
-		return total / (double)(imgA.width*imgA.height);
+		return total;
 	}
 
 	/**
-	 * <p>Computes the mean squared error (MSE) between the two images.</p>
+	 * <p>Computes the mean absolute difference between the two images.</p>
 	 *
 	 * @param imgA first image. Not modified.
 	 * @param imgB second image. Not modified.
 	 * @return error between the two images.
 	 */
 	public static double meanDiffAbs(ImageSInt8 imgA, ImageSInt8 imgB ) {
+		if( BoofConcurrency.isConcurrent((long)imgA.width*imgA.height) )
+			return ImageStatistics_MT.meanDiffAbs(imgA,imgB);
+
+		return meanDiffAbsRows(imgA,imgB,0,imgA.height) / (double)(imgA.width*imgA.height);
+	}
+
+	/**
+	 * Sum of the error in rows y0 to y1-1.
+	 */
+	static int meanDiffAbsRows(ImageSInt8 imgA, ImageSInt8 imgB , int y0 , int y1 ) {
 		int total = 0;
 
-		for (int y = 0; y < imgA.height; y++) {
+		for (int y = y0; y < y1; y++) {
 			int indexA = imgA.getStartIndex() + y * imgA.getStride();
 			int indexB = imgB.getStartIndex() + y * imgB.getStride();
 			for (int x = 0; x < imgA.width; x++,indexA++,indexB++) {
@@ -396,7 +634,7 @@ public class ImageStatistics {
 			}
 		}
 
-		return total / (double)(imgA.width*imgA.height);
+		return total;
 	}
 
 	/**
@@ -407,20 +645,106 @@ public class ImageStatistics {
 	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
 	 */
 	public static void histogram( ImageSInt8 input , int minValue , int histogram[] ) {
+		if( BoofConcurrency.isConcurrent((long)input.width*input.height) ) {
+			ImageStatistics_MT.histogram(input,minValue,histogram);
+			return;
+		}
+
 		for( int i = 0; i < histogram.length; i++ )
 			histogram[i] = 0;
-		
-		for( int y = 0; y < input.height; y++ ) {
+
+		histogramRows(input,minValue,histogram,0,input.height);
+	}
+
+	/**
+	 * Adds the intensity values in rows y0 to y1-1 to the histogram
+	 */
+	static void histogramRows( ImageSInt8 input , int minValue , int histogram[] , int y0 , int y1 ) {
+		for( int y = y0; y < y1; y++ ) {
 			int index = input.startIndex + y*input.stride;
 			int end = index + input.width;
 
 			for( ; index < end; index++ ) {
-				// floor value. just convert to int rounds towards zero
-				histogram[input.data[index] - minValue ]++;
+				histogram[input.data[index] - minValue]++;
 			}
 		}
 	}
 
+	/**
+	 * Computes the minimum, maximum, mean, and variance of the pixel values and optionally the histogram
+	 * in a single pass through the image.  See {@link PixelStatistics}.
+	 *
+	 * @param input (input) Image. Not modified.
+	 * @param minValue (input) Minimum possible intensity value.  Only used by the histogram.
+	 * @param histogram (output) Storage for histogram or null if not needed. Number of elements must be equal to max value.
+	 * @param output (output) Storage for the statistics.  If null a new instance is created.
+	 * @return The statistics
+	 */
+	public static PixelStatistics statistics( ImageSInt8 input , int minValue , int histogram[] , PixelStatistics output ) {
+		if( BoofConcurrency.isConcurrent((long)input.width*input.height) )
+			return ImageStatistics_MT.statistics(input,minValue,histogram,output);
+
+		if( output == null )
+			output = new PixelStatistics();
+		output.declareRows(input.height);
+		if( histogram != null ) {
+			for( int i = 0; i < histogram.length; i++ )
+				histogram[i] = 0;
+		}
+
+		statisticsRows(input,minValue,histogram,output,0,input.height);
+		output.combineRows(input.width,input.height,input.get(0,0));
+
+		return output;
+	}
+
+	/**
+	 * Computes the statistics for each row from y0 to y1-1 and adds the pixels to the histogram, if not null.
+	 */
+	static void statisticsRows( ImageSInt8 input , int minValue , int histogram[] , PixelStatistics output , int y0 , int y1 ) {
+		// sums are relative to the first pixel to avoid numerical problems when computing the variance
+		int offset = input.get(0,0);
+
+		for( int y = y0; y < y1; y++ ) {
+			int index = input.startIndex + y*input.stride;
+			int end = index + input.width;
+
+			int min = input.data[index];
+			int max = min;
+			long sum = 0, sumSq = 0;
+
+			if( histogram == null ) {
+				for( ; index < end; index++ ) {
+					int v = input.data[index];
+					if( v < min )
+						min = v;
+					else if( v > max )
+						max = v;
+					int d = v - offset;
+					sum += d;
+					sumSq += (long)d*d;
+				}
+			} else {
+				for( ; index < end; index++ ) {
+					int v = input.data[index];
+					if( v < min )
+						min = v;
+					else if( v > max )
+						max = v;
+					int d = v - offset;
+					sum += d;
+					sumSq += (long)d*d;
+					histogram[v - minValue]++;
+				}
+			}
+
+			output.rowMin[y] = min;
+			output.rowMax[y] = max;
+			output.rowSum[y] = sum;
+			output.rowSumSq[y] = sumSq;
+		}
+	}
+
 	/**
 	 * Returns the minimum element value.
 	 * 
@@ -428,10 +752,20 @@ public class ImageStatistics {
 	 * @return Minimum pixel value.
 	 */
 	public static int min( ImageUInt16 input ) {
+		if( BoofConcurrency.isConcurrent((long)input.width*input.height) )
+			return ImageStatistics_MT.min(input);
+
+		return minRows(input,0,input.height);
+	}
+
+	/**
+	 * Minimum element value in rows y0 to y1-1.
+	 */
+	static int minRows( ImageUInt16 input , int y0 , int y1 ) {
 
-		int min = input.get(0,0);
+		int min = input.get(0,y0);
 
-		for( int y = 0; y < input.height; y++ ) {
+		for( int y = y0; y < y1; y++ ) {
 			int index = input.startIndex + y*input.stride;
 			int end = index + input.width;
 
@@ -451,10 +785,20 @@ public class ImageStatistics {
 	 * @return Maximum pixel value.
 	 */
 	public static int max( ImageUInt16 input ) {
+		if( BoofConcurrency.isConcurrent((long)input.width*input.height) )
+			return ImageStatistics_MT.max(input);
+
+		return maxRows(input,0,input.height);
+	}
+
+	/**
+	 * Maximum element value in rows y0 to y1-1.
+	 */
+	static int maxRows( ImageUInt16 input , int y0 , int y1 ) {
 
-		int max = input.get(0,0);
+		int max = input.get(0,y0);
 
-		for( int y = 0; y < input.height; y++ ) {
+		for( int y = y0; y < y1; y++ ) {
 			int index = input.startIndex + y*input.stride;
 			int end = index + input.width;
 
@@ -474,10 +818,20 @@ public class ImageStatistics {
 	 * @return Largest pixel absolute value.
 	 */
 	public static int maxAbs( ImageUInt16 input ) {
+		if( BoofConcurrency.isConcurrent((long)input.width*input.height) )
+			return ImageStatistics_MT.maxAbs(input);
+
+		return maxAbsRows(input,0,input.height);
+	}
+
+	/**
+	 * Largest absolute value in rows y0 to y1-1.
+	 */
+	static int maxAbsRows( ImageUInt16 input , int y0 , int y1 ) {
 
 		int max = 0;
 
-		for( int y = 0; y < input.height; y++ ) {
+		for( int y = y0; y < y1; y++ ) {
 			int index = input.startIndex + y*input.stride;
 			int end = index + input.width;
 
@@ -498,16 +852,23 @@ public class ImageStatistics {
 	 * @param img Input image. Not modified.
 	 */
 	public static int sum( ImageUInt16 img ) {
+		if( BoofConcurrency.isConcurrent((long)img.width*img.height) )
+			return ImageStatistics_MT.sum(img);
+
+		return sumRows(img,0,img.height);
+	}
 
-		final int h = img.getHeight();
-		final int w = img.getWidth();
+	/**
+	 * Sum of the pixels in rows y0 to y1-1.
+	 */
+	static int sumRows( ImageUInt16 img , int y0 , int y1 ) {
 
 		int total = 0;
-		
-		for (int y = 0; y < h; y++) {
+
+		for (int y = y0; y < y1; y++) {
 			int index = img.getStartIndex() + y * img.getStride();
 			
-			int indexEnd = index+w;
+			int indexEnd = index+img.width;
 			// for(int x = 0; x < w; x++ ) {
 			for (; index < indexEnd; index++ ) {
 				total += img.data[index] & 0xFFFF;
@@ -535,21 +896,34 @@ public class ImageStatistics {
 	 * @return Pixel variance   
 	 */
 	public static double variance( ImageUInt16 img , double mean ) {
+		if( BoofConcurrency.isConcurrent((long)img.width*img.height) )
+			return ImageStatistics_MT.variance(img,mean);
 
-		double variance = 0;
+		double total = 0, error = 0;
 
 		for (int y = 0; y < img.height; y++) {
-			int index = img.getStartIndex() + y * img.getStride();
-
-			int indexEnd = index+img.width;
-			// for(int x = 0; x < img.width; x++ ) {
-			for (; index < indexEnd; index++ ) {
-				double d = (img.data[index]& 0xFFFF) - mean; 
-				variance += d*d;
-			}
+			double v = varianceRow(img,y,mean) - error;
+			double t = total + v;
+			error = (t - total) - v;
+			total = t;
 		}
 
-		return variance/(img.width*img.height);
+		return total/(img.width*img.height);
+	}
+
+	/**
+	 * Sum of the squared difference from the mean for pixels in row y.
+	 */
+	static double varianceRow( ImageUInt16 img , int y , double mean ) {
+		int index = img.getStartIndex() + y * img.getStride();
+		int indexEnd = index+img.width;
+
+		double total = 0;
+		for (; index < indexEnd; index++ ) {
+			double d = (img.data[index]& 0xFFFF) - mean; 
+			total += d*d;
+		}
+		return total;
 	}
 
 	/**
@@ -560,9 +934,19 @@ public class ImageStatistics {
 	 * @return error between the two images.
 	 */
 	public static double meanDiffSq(ImageUInt16 imgA, ImageUInt16 imgB ) {
+		if( BoofConcurrency.isConcurrent((long)imgA.width*imgA.height) )
+			return ImageStatistics_MT.meanDiffSq(imgA,imgB);
+
+		return meanDiffSqRows(imgA,imgB,0,imgA.height) / (double)(imgA.width*imgA.height);
+	}
+
+	/**
+	 * Sum of the error in rows y0 to y1-1.
+	 */
+	static int meanDiffSqRows(ImageUInt16 imgA, ImageUInt16 imgB , int y0 , int y1 ) {
 		int total = 0;
 
-		for (int y = 0; y < imgA.height; y++) {
+		for (int y = y0; y < y1; y++) {
 			int indexA = imgA.getStartIndex() + y * imgA.getStride();
 			int indexB = imgB.getStartIndex() + y * imgB.getStride();
 			for (int x = 0; x < imgA.width; x++,indexA++,indexB++) {
@@ -571,20 +955,30 @@ public class ImageStatistics {
 			}
 		}
 
-		return total / (double)(imgA.width*imgA.height);
+		return total;
 	}
 
 	/**
-	 * <p>Computes the mean squared error (MSE) between the two images.</p>
+	 * <p>Computes the mean absolute difference between the two images.</p>
 	 *
 	 * @param imgA first image. Not modified.
 	 * @param imgB second image. Not modified.
 	 * @return error between the two images.
 	 */
 	public static double meanDiffAbs(ImageUInt16 imgA, ImageUInt16 imgB ) {
+		if( BoofConcurrency.isConcurrent((long)imgA.width*imgA.height) )
+			return ImageStatistics_MT.meanDiffAbs(imgA,imgB);
+
+		return meanDiffAbsRows(imgA,imgB,0,imgA.height) / (double)(imgA.width*imgA.height);
+	}
+
+	/**
+	 * Sum of the error in rows y0 to y1-1.
+	 */
+	static int meanDiffAbsRows(ImageUInt16 imgA, ImageUInt16 imgB , int y0 , int y1 ) {
 		int total = 0;
 
-		for (int y = 0; y < imgA.height; y++) {
+		for (int y = y0; y < y1; y++) {
 			int indexA = imgA.getStartIndex() + y * imgA.getStride();
 			int indexB = imgB.getStartIndex() + y * imgB.getStride();
 			for (int x = 0; x < imgA.width; x++,indexA++,indexB++) {
@@ -593,7 +987,7 @@ public class ImageStatistics {
 			}
 		}
 
-		return total / (double)(imgA.width*imgA.height);
+		return total;
 	}
 
 	/**
@@ -603,10 +997,22 @@ public class ImageStatistics {
 	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
 	 */
 	public static void histogram( ImageUInt16 input , int histogram[] ) {
+		if( BoofConcurrency.isConcurrent((long)input.width*input.height) ) {
+			ImageStatistics_MT.histogram(input,histogram);
+			return;
+		}
+
 		for( int i = 0; i < histogram.length; i++ )
 			histogram[i] = 0;
-		
-		for( int y = 0; y < input.height; y++ ) {
+
+		histogramRows(input,histogram,0,input.height);
+	}
+
+	/**
+	 * Adds the intensity values in rows y0 to y1-1 to the histogram
+	 */
+	static void histogramRows( ImageUInt16 input , int histogram[] , int y0 , int y1 ) {
+		for( int y = y0; y < y1; y++ ) {
 			int index = input.startIndex + y*input.stride;
 			int end = index + input.width;
 
@@ -616,6 +1022,80 @@ public class ImageStatistics {
 		}
 	}
 
+	/**
+	 * Computes the minimum, maximum, mean, and variance of the pixel values and optionally the histogram
+	 * in a single pass through the image.  See {@link PixelStatistics}.
+	 *
+	 * @param input (input) Image. Not modified.
+	 * @param histogram (output) Storage for histogram or null if not needed. Number of elements must be equal to max value.
+	 * @param output (output) Storage for the statistics.  If null a new instance is created.
+	 * @return The statistics
+	 */
+	public static PixelStatistics statistics( ImageUInt16 input , int histogram[] , PixelStatistics output ) {
+		if( BoofConcurrency.isConcurrent((long)input.width*input.height) )
+			return ImageStatistics_MT.statistics(input,histogram,output);
+
+		if( output == null )
+			output = new PixelStatistics();
+		output.declareRows(input.height);
+		if( histogram != null ) {
+			for( int i = 0; i < histogram.length; i++ )
+				histogram[i] = 0;
+		}
+
+		statisticsRows(input,histogram,output,0,input.height);
+		output.combineRows(input.width,input.height,input.get(0,0));
+
+		return output;
+	}
+
+	/**
+	 * Computes the statistics for each row from y0 to y1-1 and adds the pixels to the histogram, if not null.
+	 */
+	static void statisticsRows( ImageUInt16 input , int histogram[] , PixelStatistics output , int y0 , int y1 ) {
+		// sums are relative to the first pixel to avoid numerical problems when computing the variance
+		int offset = input.get(0,0);
+
+		for( int y = y0; y < y1; y++ ) {
+			int index = input.startIndex + y*input.stride;
+			int end = index + input.width;
+
+			int min = input.data[index]& 0xFFFF;
+			int max = min;
+			long sum = 0, sumSq = 0;
+
+			if( histogram == null ) {
+				for( ; index < end; index++ ) {
+					int v = input.data[index]& 0xFFFF;
+					if( v < min )
+						min = v;
+					else if( v > max )
+						max = v;
+					int d = v - offset;
+					sum += d;
+					sumSq += (long)d*d;
+				}
+			} else {
+				for( ; index < end; index++ ) {
+					int v = input.data[index]& 0xFFFF;
+					if( v < min )
+						min = v;
+					else if( v > max )
+						max = v;
+					int d = v - offset;
+					sum += d;
+					sumSq += (long)d*d;
+					histogram[v]++;
+				}
+			}
+
+			output.rowMin[y] = min;
+			output.rowMax[y] = max;
+			output.rowSum[y] = sum;
+			output.rowSumSq[y] = sumSq;
+		}
+	}
+
 	/**
 	 * Returns the minimum element value.
 	 * 
@@ -623,10 +1103,20 @@ public class ImageStatistics {
 	 * @return Minimum pixel value.
 	 */
 	public static int min( ImageSInt16 input ) {
+		if( BoofConcurrency.isConcurrent((long)input.width*input.height) )
+			return ImageStatistics_MT.min(input);
+
+		return minRows(input,0,input.height);
+	}
+
+	/**
+	 * Minimum element value in rows y0 to y1-1.
+	 */
+	static int minRows( ImageSInt16 input , int y0 , int y1 ) {
 
-		int min = input.get(0,0);
+		int min = input.get(0,y0);
 
-		for( int y = 0; y < input.height; y++ ) {
+		for( int y = y0; y < y1; y++ ) {
 			int index = input.startIndex + y*input.stride;
 			int end = index + input.width;
 
@@ -646,10 +1136,20 @@ public class ImageStatistics {
 	 * @return Maximum pixel value.
 	 */
 	public static int max( ImageSInt16 input ) {
+		if( BoofConcurrency.isConcurrent((long)input.width*input.height) )
+			return ImageStatistics_MT.max(input);
+
+		return maxRows(input,0,input.height);
+	}
 
-		int max = input.get(0,0);
+	/**
+	 * Maximum element value in rows y0 to y1-1.
+	 */
+	static int maxRows( ImageSInt16 input , int y0 , int y1 ) {
 
-		for( int y = 0; y < input.height; y++ ) {
+		int max = input.get(0,y0);
+
+		for( int y = y0; y < y1; y++ ) {
 			int index = input.startIndex + y*input.stride;
 			int end = index + input.width;
 
@@ -669,10 +1169,20 @@ public class ImageStatistics {
 	 * @return Largest pixel absolute value.
 	 */
 	public static int maxAbs( ImageSInt16 input ) {
+		if( BoofConcurrency.isConcurrent((long)input.width*input.height) )
+			return ImageStatistics_MT.maxAbs(input);
+
+		return maxAbsRows(input,0,input.height);
+	}
+
+	/**
+	 * Largest absolute value in rows y0 to y1-1.
+	 */
+	static int maxAbsRows( ImageSInt16 input , int y0 , int y1 ) {
 
 		int max = 0;
 
-		for( int y = 0; y < input.height; y++ ) {
+		for( int y = y0; y < y1; y++ ) {
 			int index = input.startIndex + y*input.stride;
 			int end = index + input.width;
 
@@ -693,16 +1203,23 @@ public class ImageStatistics {
 	 * @param img Input image. Not modified.
 	 */
 	public static int sum( ImageSInt16 img ) {
+		if( BoofConcurrency.isConcurrent((long)img.width*img.height) )
+			return ImageStatistics_MT.sum(img);
 
-		final int h = img.getHeight();
-		final int w = img.getWidth();
+		return sumRows(img,0,img.height);
+	}
+
+	/**
+	 * Sum of the pixels in rows y0 to y1-1.
+	 */
+	static int sumRows( ImageSInt16 img , int y0 , int y1 ) {
 
 		int total = 0;
-		
-		for (int y = 0; y < h; y++) {
+
+		for (int y = y0; y < y1; y++) {
 			int index = img.getStartIndex() + y * img.getStride();
 			
-			int indexEnd = index+w;
+			int indexEnd = index+img.width;
 			// for(int x = 0; x < w; x++ ) {
 			for (; index < indexEnd; index++ ) {
 				total += img.data[index] ;
@@ -730,21 +1247,34 @@ public class ImageStatistics {
 	 * @return Pixel variance   
 	 */
 	public static double variance( ImageSInt16 img , double mean ) {
+		if( BoofConcurrency.isConcurrent((long)img.width*img.height) )
+			return ImageStatistics_MT.variance(img,mean);
 
-		double variance = 0;
+		double total = 0, error = 0;
 
 		for (int y = 0; y < img.height; y++) {
-			int index = img.getStartIndex() + y * img.getStride();
-
-			int indexEnd = index+img.width;
-			// for(int x = 0; x < img.width; x++ ) {
-			for (; index < indexEnd; index++ ) {
-				double d = (img.data[index]) - mean; 
-				variance += d*d;
-			}
+			double v = varianceRow(img,y,mean) - error;
+			double t = total + v;
+			error = (t - total) - v;
+			total = t;
 		}
 
-		return variance/(img.width*img.height);
+		return total/(img.width*img.height);
+	}
+
+	/**
+	 * Sum of the squared difference from the mean for pixels in row y.
+	 */
+	static double varianceRow( ImageSInt16 img , int y , double mean ) {
+		int index = img.getStartIndex() + y * img.getStride();
+		int indexEnd = index+img.width;
+
+		double total = 0;
+		for (; index < indexEnd; index++ ) {
+			double d = (img.data[index]) - mean; 
+			total += d*d;
+		}
+		return total;
 	}
 
 	/**
@@ -755,9 +1285,19 @@ public class ImageStatistics {
 	 * @return error between the two images.
 	 */
 	public static double meanDiffSq(ImageSInt16 imgA, ImageSInt16 imgB ) {
+		if( BoofConcurrency.isConcurrent((long)imgA.width*imgA.height) )
+			return ImageStatistics_MT.meanDiffSq(imgA,imgB);
+
+		return meanDiffSqRows(imgA,imgB,0,imgA.height) / (double)(imgA.width*imgA.height);
+	}
+
+	/**
+	 * Sum of the error in rows y0 to y1-1.
+	 */
+	static int meanDiffSqRows(ImageSInt16 imgA, ImageSInt16 imgB , int y0 , int y1 ) {
 		int total = 0;
 
-		for (int y = 0; y < imgA.height; y++) {
+		for (int y = y0; y < y1; y++) {
 			int indexA = imgA.getStartIndex() + y * imgA.getStride();
 			int indexB = imgB.getStartIndex() + y * imgB.getStride();
 			for (int x = 0; x < imgA.width; x++,indexA++,indexB++) {
@@ -766,20 +1306,30 @@ public class ImageStatistics {
 			}
 		}
 
-		return total / (double)(imgA.width*imgA.height);
+		return total;
 	}
 
 	/**
-	 * <p>Computes the mean squared error (MSE) between the two images.</p>
+	 * <p>Computes the mean absolute difference between the two images.</p>
 	 *
 	 * @param imgA first image. Not modified.
 	 * @param imgB second image. Not modified.
 	 * @return error between the two images.
 	 */
 	public static double meanDiffAbs(ImageSInt16 imgA, ImageSInt16 imgB ) {
+		if( BoofConcurrency.isConcurrent((long)imgA.width*imgA.height) )
+			return ImageStatistics_MT.meanDiffAbs(imgA,imgB);
+
+		return meanDiffAbsRows(imgA,imgB,0,imgA.height) / (double)(imgA.width*imgA.height);
+	}
+
+	/**
+	 * Sum of the error in rows y0 to y1-1.
+	 */
+	static int meanDiffAbsRows(ImageSInt16 imgA, ImageSInt16 imgB , int y0 , int y1 ) {
 		int total = 0;
 
-		for (int y = 0; y < imgA.height; y++) {
+		for (int y = y0; y < y1; y++) {
 			int indexA = imgA.getStartIndex() + y * imgA.getStride();
 			int indexB = imgB.getStartIndex() + y * imgB.getStride();
 			for (int x = 0; x < imgA.width; x++,indexA++,indexB++) {
@@ -788,7 +1338,7 @@ public class ImageStatistics {
 			}
 		}
 
-		return total / (double)(imgA.width*imgA.height);
+		return total;
 	}
 
 	/**
@@ -799,20 +1349,106 @@ public class ImageStatistics {
 	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
 	 */
 	public static void histogram( ImageSInt16 input , int minValue , int histogram[] ) {
+		if( BoofConcurrency.isConcurrent((long)input.width*input.height) ) {
+			ImageStatistics_MT.histogram(input,minValue,histogram);
+			return;
+		}
+
 		for( int i = 0; i < histogram.length; i++ )
 			histogram[i] = 0;
-		
-		for( int y = 0; y < input.height; y++ ) {
+
+		histogramRows(input,minValue,histogram,0,input.height);
+	}
+
+	/**
+	 * Adds the intensity values in rows y0 to y1-1 to the histogram
+	 */
+	static void histogramRows( ImageSInt16 input , int minValue , int histogram[] , int y0 , int y1 ) {
+		for( int y = y0; y < y1; y++ ) {
 			int index = input.startIndex + y*input.stride;
 			int end = index + input.width;
 
 			for( ; index < end; index++ ) {
-				// floor value. just convert to int rounds towards zero
-				histogram[input.data[index] - minValue ]++;
+				histogram[input.data[index] - minValue]++;
 			}
 		}
 	}
 
+	/**
+	 * Computes the minimum, maximum, mean, and variance of the pixel values and optionally the histogram
+	 * in a single pass through the image.  See {@link PixelStatistics}.
+	 *
+	 * @param input (input) Image. Not modified.
+	 * @param minValue (input) Minimum possible intensity value.  Only used by the histogram.
+	 * @param histogram (output) Storage for histogram or null if not needed. Number of elements must be equal to max value.
+	 * @param output (output) Storage for the statistics.  If null a new instance is created.
+	 * @return The statistics
+	 */
+	public static PixelStatistics statistics( ImageSInt16 input , int minValue , int histogram[] , PixelStatistics output ) {
+		if( BoofConcurrency.isConcurrent((long)input.width*input.height) )
+			return ImageStatistics_MT.statistics(input,minValue,histogram,output);
+
+		if( output == null )
+			output = new PixelStatistics();
+		output.declareRows(input.height);
+		if( histogram != null ) {
+			for( int i = 0; i < histogram.length; i++ )
+				histogram[i] = 0;
+		}
+
+		statisticsRows(input,minValue,histogram,output,0,input.height);
+		output.combineRows(input.width,input.height,input.get(0,0));
+
+		return output;
+	}
+
+	/**
+	 * Computes the statistics for each row from y0 to y1-1 and adds the pixels to the histogram, if not null.
+	 */
+	static void statisticsRows( ImageSInt16 input , int minValue , int histogram[] , PixelStatistics output , int y0 , int y1 ) {
+		// sums are relative to the first pixel to avoid numerical problems when computing the variance
+		int offset = input.get(0,0);
+
+		for( int y = y0; y < y1; y++ ) {
+			int index = input.startIndex + y*input.stride;
+			int end = index + input.width;
+
+			int min = input.data[index];
+			int max = min;
+			long sum = 0, sumSq = 0;
+
+			if( histogram == null ) {
+				for( ; index < end; index++ ) {
+					int v = input.data[index];
+					if( v < min )
+						min = v;
+					else if( v > max )
+						max = v;
+					int d = v - offset;
+					sum += d;
+					sumSq += (long)d*d;
+				}
+			} else {
+				for( ; index < end; index++ ) {
+					int v = input.data[index];
+					if( v < min )
+						min = v;
+					else if( v > max )
+						max = v;
+					int d = v - offset;
+					sum += d;
+					sumSq += (long)d*d;
+					histogram[v - minValue]++;
+				}
+			}
+
+			output.rowMin[y] = min;
+			output.rowMax[y] = max;
+			output.rowSum[y] = sum;
+			output.rowSumSq[y] = sumSq;
+		}
+	}
+
 	/**
 	 * Returns the minimum element value.
 	 * 
@@ -820,10 +1456,20 @@ public class ImageStatistics {
 	 * @return Minimum pixel value.
 	 */
 	public static int min( ImageSInt32 input ) {
+		if( BoofConcurrency.isConcurrent((long)input.width*input.height) )
+			return ImageStatistics_MT.min(input);
+
+		return minRows(input,0,input.height);
+	}
+
+	/**
+	 * Minimum element value in rows y0 to y1-1.
+	 */
+	static int minRows( ImageSInt32 input , int y0 , int y1 ) {
 
-		int min = input.get(0,0);
+		int min = input.get(0,y0);
 
-		for( int y = 0; y < input.height; y++ ) {
+		for( int y = y0; y < y1; y++ ) {
 			int index = input.startIndex + y*input.stride;
 			int end = index + input.width;
 
@@ -843,10 +1489,20 @@ public class ImageStatistics {
 	 * @return Maximum pixel value.
 	 */
 	public static int max( ImageSInt32 input ) {
+		if( BoofConcurrency.isConcurrent((long)input.width*input.height) )
+			return ImageStatistics_MT.max(input);
 
-		int max = input.get(0,0);
+		return maxRows(input,0,input.height);
+	}
 
-		for( int y = 0; y < input.height; y++ ) {
+	/**
+	 * Maximum element value in rows y0 to y1-1.
+	 */
+	static int maxRows( ImageSInt32 input , int y0 , int y1 ) {
+
+		int max = input.get(0,y0);
+
+		for( int y = y0; y < y1; y++ ) {
 			int index = input.startIndex + y*input.stride;
 			int end = index + input.width;
 
@@ -866,10 +1522,20 @@ public class ImageStatistics {
 	 * @return Largest pixel absolute value.
 	 */
 	public static int maxAbs( ImageSInt32 input ) {
+		if( BoofConcurrency.isConcurrent((long)input.width*input.height) )
+			return ImageStatistics_MT.maxAbs(input);
+
+		return maxAbsRows(input,0,input.height);
+	}
+
+	/**
+	 * Largest absolute value in rows y0 to y1-1.
+	 */
+	static int maxAbsRows( ImageSInt32 input , int y0 , int y1 ) {
 
 		int max = 0;
 
-		for( int y = 0; y < input.height; y++ ) {
+		for( int y = y0; y < y1; y++ ) {
 			int index = input.startIndex + y*input.stride;
 			int end = index + input.width;
 
@@ -890,16 +1556,23 @@ public class ImageStatistics {
 	 * @param img Input image. Not modified.
 	 */
 	public static int sum( ImageSInt32 img ) {
+		if( BoofConcurrency.isConcurrent((long)img.width*img.height) )
+			return ImageStatistics_MT.sum(img);
 
-		final int h = img.getHeight();
-		final int w = img.getWidth();
+		return sumRows(img,0,img.height);
+	}
+
+	/**
+	 * Sum of the pixels in rows y0 to y1-1.
+	 */
+	static int sumRows( ImageSInt32 img , int y0 , int y1 ) {
 
 		int total = 0;
-		
-		for (int y = 0; y < h; y++) {
+
+		for (int y = y0; y < y1; y++) {
 			int index = img.getStartIndex() + y * img.getStride();
 			
-			int indexEnd = index+w;
+			int indexEnd = index+img.width;
 			// for(int x = 0; x < w; x++ ) {
 			for (; index < indexEnd; index++ ) {
 				total += img.data[index] ;
@@ -927,21 +1600,34 @@ public class ImageStatistics {
 	 * @return Pixel variance   
 	 */
 	public static double variance( ImageSInt32 img , double mean ) {
+		if( BoofConcurrency.isConcurrent((long)img.width*img.height) )
+			return ImageStatistics_MT.variance(img,mean);
 
-		double variance = 0;
+		double total = 0, error = 0;
 
 		for (int y = 0; y < img.height; y++) {
-			int index = img.getStartIndex() + y * img.getStride();
-
-			int indexEnd = index+img.width;
-			// for(int x = 0; x < img.width; x++ ) {
-			for (; index < indexEnd; index++ ) {
-				double d = (img.data[index]) - mean; 
-				variance += d*d;
-			}
+			double v = varianceRow(img,y,mean) - error;
+			double t = total + v;
+			error = (t - total) - v;
+			total = t;
 		}
 
-		return variance/(img.width*img.height);
+		return total/(img.width*img.height);
+	}
+
+	/**
+	 * Sum of the squared difference from the mean for pixels in row y.
+	 */
+	static double varianceRow( ImageSInt32 img , int y , double mean ) {
+		int index = img.getStartIndex() + y * img.getStride();
+		int indexEnd = index+img.width;
+
+		double total = 0;
+		for (; index < indexEnd; index++ ) {
+			double d = (img.data[index]) - mean; 
+			total += d*d;
+		}
+		return total;
 	}
 
 	/**
@@ -952,9 +1638,19 @@ public class ImageStatistics {
 	 * @return error between the two images.
 	 */
 	public static double meanDiffSq(ImageSInt32 imgA, ImageSInt32 imgB ) {
+		if( BoofConcurrency.isConcurrent((long)imgA.width*imgA.height) )
+			return ImageStatistics_MT.meanDiffSq(imgA,imgB);
+
+		return meanDiffSqRows(imgA,imgB,0,imgA.height) / (double)(imgA.width*imgA.height);
+	}
+
+	/**
+	 * Sum of the error in rows y0 to y1-1.
+	 */
+	static long meanDiffSqRows(ImageSInt32 imgA, ImageSInt32 imgB , int y0 , int y1 ) {
 		long total = 0;
 
-		for (int y = 0; y < imgA.height; y++) {
+		for (int y = y0; y < y1; y++) {
 			int indexA = imgA.getStartIndex() + y * imgA.getStride();
 			int indexB = imgB.getStartIndex() + y * imgB.getStride();
 			for (int x = 0; x < imgA.width; x++,indexA++,indexB++) {
@@ -963,20 +1659,30 @@ public class ImageStatistics {
 			}
 		}
 
-		return total / (double)(imgA.width*imgA.height);
+		return total;
 	}
 
 	/**
-	 * <p>Computes the mean squared error (MSE) between the two images.</p>
+	 * <p>Computes the mean absolute difference between the two images.</p>
 	 *
 	 * @param imgA first image. Not modified.
 	 * @param imgB second image. Not modified.
 	 * @return error between the two images.
 	 */
 	public static double meanDiffAbs(ImageSInt32 imgA, ImageSInt32 imgB ) {
+		if( BoofConcurrency.isConcurrent((long)imgA.width*imgA.height) )
+			return ImageStatistics_MT.meanDiffAbs(imgA,imgB);
+
+		return meanDiffAbsRows(imgA,imgB,0,imgA.height) / (double)(imgA.width*imgA.height);
+	}
+
+	/**
+	 * Sum of the error in rows y0 to y1-1.
+	 */
+	static int meanDiffAbsRows(ImageSInt32 imgA, ImageSInt32 imgB , int y0 , int y1 ) {
 		int total = 0;
 
-		for (int y = 0; y < imgA.height; y++) {
+		for (int y = y0; y < y1; y++) {
 			int indexA = imgA.getStartIndex() + y * imgA.getStride();
 			int indexB = imgB.getStartIndex() + y * imgB.getStride();
 			for (int x = 0; x < imgA.width; x++,indexA++,indexB++) {
@@ -985,7 +1691,7 @@ public class ImageStatistics {
 			}
 		}
 
-		return total / (double)(imgA.width*imgA.height);
+		return total;
 	}
 
 	/**
@@ -996,20 +1702,106 @@ public class ImageStatistics {
 	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
 	 */
 	public static void histogram( ImageSInt32 input , int minValue , int histogram[] ) {
+		if( BoofConcurrency.isConcurrent((long)input.width*input.height) ) {
+			ImageStatistics_MT.histogram(input,minValue,histogram);
+			return;
+		}
+
 		for( int i = 0; i < histogram.length; i++ )
 			histogram[i] = 0;
-		
-		for( int y = 0; y < input.height; y++ ) {
+
+		histogramRows(input,minValue,histogram,0,input.height);
+	}
+
+	/**
+	 * Adds the intensity values in rows y0 to y1-1 to the histogram
+	 */
+	static void histogramRows( ImageSInt32 input , int minValue , int histogram[] , int y0 , int y1 ) {
+		for( int y = y0; y < y1; y++ ) {
 			int index = input.startIndex + y*input.stride;
 			int end = index + input.width;
 
 			for( ; index < end; index++ ) {
-				// floor value. just convert to int rounds towards zero
-				histogram[input.data[index] - minValue ]++;
+				histogram[input.data[index] - minValue]++;
 			}
 		}
 	}
 
+	/**
+	 * Computes the minimum, maximum, mean, and variance of the pixel values and optionally the histogram
+	 * in a single pass through the image.  See {@link PixelStatistics}.
+	 *
+	 * @param input (input) Image. Not modified.
+	 * @param minValue (input) Minimum possible intensity value.  Only used by the histogram.
+	 * @param histogram (output) Storage for histogram or null if not needed. Number of elements must be equal to max value.
+	 * @param output (output) Storage for the statistics.  If null a new instance is created.
+	 * @return The statistics
+	 */
+	public static PixelStatistics statistics( ImageSInt32 input , int minValue , int histogram[] , PixelStatistics output ) {
+		if( BoofConcurrency.isConcurrent((long)input.width*input.height) )
+			return ImageStatistics_MT.statistics(input,minValue,histogram,output);
+
+		if( output == null )
+			output = new PixelStatistics();
+		output.declareRows(input.height);
+		if( histogram != null ) {
+			for( int i = 0; i < histogram.length; i++ )
+				histogram[i] = 0;
+		}
+
+		statisticsRows(input,minValue,histogram,output,0,input.height);
+		output.combineRows(input.width,input.height,input.get(0,0));
+
+		return output;
+	}
+
+	/**
+	 * Computes the statistics for each row from y0 to y1-1 and adds the pixels to the histogram, if not null.
+	 */
+	static void statisticsRows( ImageSInt32 input , int minValue , int histogram[] , PixelStatistics output , int y0 , int y1 ) {
+		// sums are relative to the first pixel to avoid numerical problems when computing the variance
+		double offset = input.get(0,0);
+
+		for( int y = y0; y < y1; y++ ) {
+			int index = input.startIndex + y*input.stride;
+			int end = index + input.width;
+
+			int min = input.data[index];
+			int max = min;
+			double sum = 0, sumSq = 0;
+
+			if( histogram == null ) {
+				for( ; index < end; index++ ) {
+					int v = input.data[index];
+					if( v < min )
+						min = v;
+					else if( v > max )
+						max = v;
+					double d = v - offset;
+					sum += d;
+					sumSq += d*d;
+				}
+			} else {
+				for( ; index < end; index++ ) {
+					int v = input.data[index];
+					if( v < min )
+						min = v;
+					else if( v > max )
+						max = v;
+					double d = v - offset;
+					sum += d;
+					sumSq += d*d;
+					histogram[v - minValue]++;
+				}
+			}
+
+			output.rowMin[y] = min;
+			output.rowMax[y] = max;
+			output.rowSum[y] = sum;
+			output.rowSumSq[y] = sumSq;
+		}
+	}
+
 	/**
 	 * Returns the minimum element value.
 	 * 
@@ -1017,10 +1809,20 @@ public class ImageStatistics {
 	 * @return Minimum pixel value.
 	 */
 	public static long min( ImageSInt64 input ) {
+		if( BoofConcurrency.isConcurrent((long)input.width*input.height) )
+			return ImageStatistics_MT.min(input);
+
+		return minRows(input,0,input.height);
+	}
+
+	/**
+	 * Minimum element value in rows y0 to y1-1.
+	 */
+	static long minRows( ImageSInt64 input , int y0 , int y1 ) {
 
-		long min = input.get(0,0);
+		long min = input.get(0,y0);
 
-		for( int y = 0; y < input.height; y++ ) {
+		for( int y = y0; y < y1; y++ ) {
 			int index = input.startIndex + y*input.stride;
 			int end = index + input.width;
 
@@ -1040,10 +1842,20 @@ public class ImageStatistics {
 	 * @return Maximum pixel value.
 	 */
 	public static long max( ImageSInt64 input ) {
+		if( BoofConcurrency.isConcurrent((long)input.width*input.height) )
+			return ImageStatistics_MT.max(input);
+
+		return maxRows(input,0,input.height);
+	}
+
+	/**
+	 * Maximum element value in rows y0 to y1-1.
+	 */
+	static long maxRows( ImageSInt64 input , int y0 , int y1 ) {
 
-		long max = input.get(0,0);
+		long max = input.get(0,y0);
 
-		for( int y = 0; y < input.height; y++ ) {
+		for( int y = y0; y < y1; y++ ) {
 			int index = input.startIndex + y*input.stride;
 			int end = index + input.width;
 
@@ -1063,10 +1875,20 @@ public class ImageStatistics {
 	 * @return Largest pixel absolute value.
 	 */
 	public static long maxAbs( ImageSInt64 input ) {
+		if( BoofConcurrency.isConcurrent((long)input.width*input.height) )
+			return ImageStatistics_MT.maxAbs(input);
+
+		return maxAbsRows(input,0,input.height);
+	}
+
+	/**
+	 * Largest absolute value in rows y0 to y1-1.
+	 */
+	static long maxAbsRows( ImageSInt64 input , int y0 , int y1 ) {
 
 		long max = 0;
 
-		for( int y = 0; y < input.height; y++ ) {
+		for( int y = y0; y < y1; y++ ) {
 			int index = input.startIndex + y*input.stride;
 			int end = index + input.width;
 
@@ -1087,16 +1909,23 @@ public class ImageStatistics {
 	 * @param img Input image. Not modified.
 	 */
 	public static long sum( ImageSInt64 img ) {
+		if( BoofConcurrency.isConcurrent((long)img.width*img.height) )
+			return ImageStatistics_MT.sum(img);
 
-		final int h = img.getHeight();
-		final int w = img.getWidth();
+		return sumRows(img,0,img.height);
+	}
+
+	/**
+	 * Sum of the pixels in rows y0 to y1-1.
+	 */
+	static long sumRows( ImageSInt64 img , int y0 , int y1 ) {
 
 		long total = 0;
-		
-		for (int y = 0; y < h; y++) {
+
+		for (int y = y0; y < y1; y++) {
 			int index = img.getStartIndex() + y * img.getStride();
 			
-			int indexEnd = index+w;
+			int indexEnd = index+img.width;
 			// for(int x = 0; x < w; x++ ) {
 			for (; index < indexEnd; index++ ) {
 				total += img.data[index] ;
@@ -1124,21 +1953,34 @@ public class ImageStatistics {
 	 * @return Pixel variance   
 	 */
 	public static double variance( ImageSInt64 img , double mean ) {
+		if( BoofConcurrency.isConcurrent((long)img.width*img.height) )
+			return ImageStatistics_MT.variance(img,mean);
 
-		double variance = 0;
+		double total = 0, error = 0;
 
 		for (int y = 0; y < img.height; y++) {
-			int index = img.getStartIndex() + y * img.getStride();
-
-			int indexEnd = index+img.width;
-			// for(int x = 0; x < img.width; x++ ) {
-			for (; index < indexEnd; index++ ) {
-				double d = (img.data[index]) - mean; 
-				variance += d*d;
-			}
+			double v = varianceRow(img,y,mean) - error;
+			double t = total + v;
+			error = (t - total) - v;
+			total = t;
 		}
 
-		return variance/(img.width*img.height);
+		return total/(img.width*img.height);
+	}
+
+	/**
+	 * Sum of the squared difference from the mean for pixels in row y.
+	 */
+	static double varianceRow( ImageSInt64 img , int y , double mean ) {
+		int index = img.getStartIndex() + y * img.getStride();
+		int indexEnd = index+img.width;
+
+		double total = 0;
+		for (; index < indexEnd; index++ ) {
+			double d = (img.data[index]) - mean; 
+			total += d*d;
+		}
+		return total;
 	}
 
 	/**
@@ -1149,9 +1991,19 @@ public class ImageStatistics {
 	 * @return error between the two images.
 	 */
 	public static double meanDiffSq(ImageSInt64 imgA, ImageSInt64 imgB ) {
+		if( BoofConcurrency.isConcurrent((long)imgA.width*imgA.height) )
+			return ImageStatistics_MT.meanDiffSq(imgA,imgB);
+
+		return meanDiffSqRows(imgA,imgB,0,imgA.height) / (double)(imgA.width*imgA.height);
+	}
+
+	/**
+	 * Sum of the error in rows y0 to y1-1.
+	 */
+	static long meanDiffSqRows(ImageSInt64 imgA, ImageSInt64 imgB , int y0 , int y1 ) {
 		long total = 0;
 
-		for (int y = 0; y < imgA.height; y++) {
+		for (int y = y0; y < y1; y++) {
 			int indexA = imgA.getStartIndex() + y * imgA.getStride();
 			int indexB = imgB.getStartIndex() + y * imgB.getStride();
 			for (int x = 0; x < imgA.width; x++,indexA++,indexB++) {
@@ -1160,20 +2012,30 @@ public class ImageStatistics {
 			}
 		}
 
-		return total / (double)(imgA.width*imgA.height);
+		return total;
 	}
 
 	/**
-	 * <p>Computes the mean squared error (MSE) between the two images.</p>
+	 * <p>Computes the mean absolute difference between the two images.</p>
 	 *
 	 * @param imgA first image. Not modified.
 	 * @param imgB second image. Not modified.
 	 * @return error between the two images.
 	 */
 	public static double meanDiffAbs(ImageSInt64 imgA, ImageSInt64 imgB ) {
+		if( BoofConcurrency.isConcurrent((long)imgA.width*imgA.height) )
+			return ImageStatistics_MT.meanDiffAbs(imgA,imgB);
+
+		return meanDiffAbsRows(imgA,imgB,0,imgA.height) / (double)(imgA.width*imgA.height);
+	}
+
+	/**
+	 * Sum of the error in rows y0 to y1-1.
+	 */
+	static long meanDiffAbsRows(ImageSInt64 imgA, ImageSInt64 imgB , int y0 , int y1 ) {
 		long total = 0;
 
-		for (int y = 0; y < imgA.height; y++) {
+		for (int y = y0; y < y1; y++) {
 			int indexA = imgA.getStartIndex() + y * imgA.getStride();
 			int indexB = imgB.getStartIndex() + y * imgB.getStride();
 			for (int x = 0; x < imgA.width; x++,indexA++,indexB++) {
@@ -1182,7 +2044,7 @@ public class ImageStatistics {
 			}
 		}
 
-		return total / (double)(imgA.width*imgA.height);
+		return total;
 	}
 
 	/**
@@ -1193,20 +2055,106 @@ public class ImageStatistics {
 	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
 	 */
 	public static void histogram( ImageSInt64 input , int minValue , int histogram[] ) {
+		if( BoofConcurrency.isConcurrent((long)input.width*input.height) ) {
+			ImageStatistics_MT.histogram(input,minValue,histogram);
+			return;
+		}
+
 		for( int i = 0; i < histogram.length; i++ )
 			histogram[i] = 0;
-		
-		for( int y = 0; y < input.height; y++ ) {
+
+		histogramRows(input,minValue,histogram,0,input.height);
+	}
+
+	/**
+	 * Adds the intensity values in rows y0 to y1-1 to the histogram
+	 */
+	static void histogramRows( ImageSInt64 input , int minValue , int histogram[] , int y0 , int y1 ) {
+		for( int y = y0; y < y1; y++ ) {
 			int index = input.startIndex + y*input.stride;
 			int end = index + input.width;
 
 			for( ; index < end; index++ ) {
-				// floor value. just convert to int rounds towards zero
 				histogram[(int)input.data[index] - minValue]++;
 			}
 		}
 	}
 
+	/**
+	 * Computes the minimum, maximum, mean, and variance of the pixel values and optionally the histogram
+	 * in a single pass through the image.  See {@link PixelStatistics}.
+	 *
+	 * @param input (input) Image. Not modified.
+	 * @param minValue (input) Minimum possible intensity value.  Only used by the histogram.
+	 * @param histogram (output) Storage for histogram or null if not needed. Number of elements must be equal to max value.
+	 * @param output (output) Storage for the statistics.  If null a new instance is created.
+	 * @return The statistics
+	 */
+	public static PixelStatistics statistics( ImageSInt64 input , int minValue , int histogram[] , PixelStatistics output ) {
+		if( BoofConcurrency.isConcurrent((long)input.width*input.height) )
+			return ImageStatistics_MT.statistics(input,minValue,histogram,output);
+
+		if( output == null )
+			output = new PixelStatistics();
+		output.declareRows(input.height);
+		if( histogram != null ) {
+			for( int i = 0; i < histogram.length; i++ )
+				histogram[i] = 0;
+		}
+
+		statisticsRows(input,minValue,histogram,output,0,input.height);
+		output.combineRows(input.width,input.height,input.get(0,0));
+
+		return output;
+	}
+
+	/**
+	 * Computes the statistics for each row from y0 to y1-1 and adds the pixels to the histogram, if not null.
+	 */
+	static void statisticsRows( ImageSInt64 input , int minValue , int histogram[] , PixelStatistics output , int y0 , int y1 ) {
+		// sums are relative to the first pixel to avoid numerical problems when computing the variance
+		double offset = input.get(0,0);
+
+		for( int y = y0; y < y1; y++ ) {
+			int index = input.startIndex + y*input.stride;
+			int end = index + input.width;
+
+			long min = input.data[index];
+			long max = min;
+			double sum = 0, sumSq = 0;
+
+			if( histogram == null ) {
+				for( ; index < end; index++ ) {
+					long v = input.data[index];
+					if( v < min )
+						min = v;
+					else if( v > max )
+						max = v;
+					double d = v - offset;
+					sum += d;
+					sumSq += d*d;
+				}
+			} else {
+				for( ; index < end; index++ ) {
+					long v = input.data[index];
+					if( v < min )
+						min = v;
+					else if( v > max )
+						max = v;
+					double d = v - offset;
+					sum += d;
+					sumSq += d*d;
+					histogram[(int)v - minValue]++;
+				}
+			}
+
+			output.rowMin[y] = min;
+			output.rowMax[y] = max;
+			output.rowSum[y] = sum;
+			output.rowSumSq[y] = sumSq;
+		}
+	}
+
 	/**
 	 * Returns the minimum element value.
 	 * 
@@ -1214,10 +2162,20 @@ public class ImageStatistics {
 	 * @return Minimum pixel value.
 	 */
 	public static float min( ImageFloat32 input ) {
+		if( BoofConcurrency.isConcurrent((long)input.width*input.height) )
+			return ImageStatistics_MT.min(input);
+
+		return minRows(input,0,input.height);
+	}
+
+	/**
+	 * Minimum element value in rows y0 to y1-1.
+	 */
+	static float minRows( ImageFloat32 input , int y0 , int y1 ) {
 
-		float min = input.get(0,0);
+		float min = input.get(0,y0);
 
-		for( int y = 0; y < input.height; y++ ) {
+		for( int y = y0; y < y1; y++ ) {
 			int index = input.startIndex + y*input.stride;
 			int end = index + input.width;
 
@@ -1237,10 +2195,20 @@ public class ImageStatistics {
 	 * @return Maximum pixel value.
 	 */
 	public static float max( ImageFloat32 input ) {
+		if( BoofConcurrency.isConcurrent((long)input.width*input.height) )
+			return ImageStatistics_MT.max(input);
 
-		float max = input.get(0,0);
+		return maxRows(input,0,input.height);
+	}
 
-		for( int y = 0; y < input.height; y++ ) {
+	/**
+	 * Maximum element value in rows y0 to y1-1.
+	 */
+	static float maxRows( ImageFloat32 input , int y0 , int y1 ) {
+
+		float max = input.get(0,y0);
+
+		for( int y = y0; y < y1; y++ ) {
 			int index = input.startIndex + y*input.stride;
 			int end = index + input.width;
 
@@ -1260,10 +2228,20 @@ public class ImageStatistics {
 	 * @return Largest pixel absolute value.
 	 */
 	public static float maxAbs( ImageFloat32 input ) {
+		if( BoofConcurrency.isConcurrent((long)input.width*input.height) )
+			return ImageStatistics_MT.maxAbs(input);
+
+		return maxAbsRows(input,0,input.height);
+	}
+
+	/**
+	 * Largest absolute value in rows y0 to y1-1.
+	 */
+	static float maxAbsRows( ImageFloat32 input , int y0 , int y1 ) {
 
 		float max = 0;
 
-		for( int y = 0; y < input.height; y++ ) {
+		for( int y = y0; y < y1; y++ ) {
 			int index = input.startIndex + y*input.stride;
 			int end = index + input.width;
 
@@ -1278,28 +2256,42 @@ public class ImageStatistics {
 
 	/**
 	 * <p>
-	 * Returns the sum of all the pixels in the image.
+	 * Returns the sum of all the pixels in the image.  Each row is summed using Kahan summation in double
+	 * precision and then the rows are combined the same way.
 	 * </p>
 	 * 
 	 * @param img Input image. Not modified.
 	 */
 	public static float sum( ImageFloat32 img ) {
+		if( BoofConcurrency.isConcurrent((long)img.width*img.height) )
+			return ImageStatistics_MT.sum(img);
 
-		final int h = img.getHeight();
-		final int w = img.getWidth();
+		double total = 0, error = 0;
 
-		float total = 0;
-		
-		for (int y = 0; y < h; y++) {
-			int index = img.getStartIndex() + y * img.getStride();
-			
-			int indexEnd = index+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; index < indexEnd; index++ ) {
-				total += img.data[index] ;
-			}
+		for (int y = 0; y < img.height; y++) {
+			double v = sumRow(img,y) - error;
+			double t = total + v;
+			error = (t - total) - v;
+			total = t;
+		}
+
+		return (float)total;
+	}
+
+	/**
+	 * Sum of the pixels in row y computed using Kahan summation.
+	 */
+	static double sumRow( ImageFloat32 img , int y ) {
+		int index = img.getStartIndex() + y * img.getStride();
+		int indexEnd = index+img.width;
+
+		double total = 0, error = 0;
+		for (; index < indexEnd; index++ ) {
+			double v = img.data[index] - error;
+			double t = total + v;
+			error = (t - total) - v;
+			total = t;
 		}
-		
 		return total;
 	}
 
@@ -1321,21 +2313,34 @@ public class ImageStatistics {
 	 * @return Pixel variance   
 	 */
 	public static double variance( ImageFloat32 img , double mean ) {
+		if( BoofConcurrency.isConcurrent((long)img.width*img.height) )
+			return ImageStatistics_MT.variance(img,mean);
 
-		double variance = 0;
+		double total = 0, error = 0;
 
 		for (int y = 0; y < img.height; y++) {
-			int index = img.getStartIndex() + y * img.getStride();
-
-			int indexEnd = index+img.width;
-			// for(int x = 0; x < img.width; x++ ) {
-			for (; index < indexEnd; index++ ) {
-				double d = (img.data[index]) - mean; 
-				variance += d*d;
-			}
+			double v = varianceRow(img,y,mean) - error;
+			double t = total + v;
+			error = (t - total) - v;
+			total = t;
 		}
 
-		return variance/(img.width*img.height);
+		return total/(img.width*img.height);
+	}
+
+	/**
+	 * Sum of the squared difference from the mean for pixels in row y.
+	 */
+	static double varianceRow( ImageFloat32 img , int y , double mean ) {
+		int index = img.getStartIndex() + y * img.getStride();
+		int indexEnd = index+img.width;
+
+		double total = 0;
+		for (; index < indexEnd; index++ ) {
+			double d = (img.data[index]) - mean; 
+			total += d*d;
+		}
+		return total;
 	}
 
 	/**
@@ -1346,42 +2351,76 @@ public class ImageStatistics {
 	 * @return error between the two images.
 	 */
 	public static double meanDiffSq(ImageFloat32 imgA, ImageFloat32 imgB ) {
-		double total = 0;
+		if( BoofConcurrency.isConcurrent((long)imgA.width*imgA.height) )
+			return ImageStatistics_MT.meanDiffSq(imgA,imgB);
+
+		double total = 0, error = 0;
 
 		for (int y = 0; y < imgA.height; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			for (int x = 0; x < imgA.width; x++,indexA++,indexB++) {
-				float difference = (imgA.data[indexA])-(imgB.data[indexB]);
-				total += difference*difference;
-			}
+			double v = meanDiffSqRow(imgA,imgB,y) - error;
+			double t = total + v;
+			error = (t - total) - v;
+			total = t;
 		}
 
 		return total / (double)(imgA.width*imgA.height);
 	}
 
 	/**
-	 * <p>Computes the mean squared error (MSE) between the two images.</p>
+	 * Sum of the error in row y.
+	 */
+	static double meanDiffSqRow(ImageFloat32 imgA, ImageFloat32 imgB , int y ) {
+		int indexA = imgA.getStartIndex() + y * imgA.getStride();
+		int indexB = imgB.getStartIndex() + y * imgB.getStride();
+
+		double total = 0;
+		for (int x = 0; x < imgA.width; x++,indexA++,indexB++) {
+			float difference = (imgA.data[indexA])-(imgB.data[indexB]);
+			total += difference*difference;
+		}
+
+		return total;
+	}
+
+	/**
+	 * <p>Computes the mean absolute difference between the two images.</p>
 	 *
 	 * @param imgA first image. Not modified.
 	 * @param imgB second image. Not modified.
 	 * @return error between the two images.
 	 */
 	public static double meanDiffAbs(ImageFloat32 imgA, ImageFloat32 imgB ) {
-		float total = 0;
+		if( BoofConcurrency.isConcurrent((long)imgA.width*imgA.height) )
+			return ImageStatistics_MT.meanDiffAbs(imgA,imgB);
+
+		double total = 0, error = 0;
 
 		for (int y = 0; y < imgA.height; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			for (int x = 0; x < imgA.width; x++,indexA++,indexB++) {
-				float difference = (imgA.data[indexA])-(imgB.data[indexB]);
-				total += Math.abs(difference);
-			}
+			double v = meanDiffAbsRow(imgA,imgB,y) - error;
+			double t = total + v;
+			error = (t - total) - v;
+			total = t;
 		}
 
 		return total / (double)(imgA.width*imgA.height);
 	}
 
+	/**
+	 * Sum of the error in row y.
+	 */
+	static double meanDiffAbsRow(ImageFloat32 imgA, ImageFloat32 imgB , int y ) {
+		int indexA = imgA.getStartIndex() + y * imgA.getStride();
+		int indexB = imgB.getStartIndex() + y * imgB.getStride();
+
+		double total = 0;
+		for (int x = 0; x < imgA.width; x++,indexA++,indexB++) {
+			float difference = (imgA.data[indexA])-(imgB.data[indexB]);
+			total += Math.abs(difference);
+		}
+
+		return total;
+	}
+
 	/**
 	 * Computes the histogram of intensity values for the image.
 	 * 
@@ -1390,20 +2429,107 @@ public class ImageStatistics {
 	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
 	 */
 	public static void histogram( ImageFloat32 input , int minValue , int histogram[] ) {
+		if( BoofConcurrency.isConcurrent((long)input.width*input.height) ) {
+			ImageStatistics_MT.histogram(input,minValue,histogram);
+			return;
+		}
+
 		for( int i = 0; i < histogram.length; i++ )
 			histogram[i] = 0;
-		
-		for( int y = 0; y < input.height; y++ ) {
+
+		histogramRows(input,minValue,histogram,0,input.height);
+	}
+
+	/**
+	 * Adds the intensity values in rows y0 to y1-1 to the histogram
+	 */
+	static void histogramRows( ImageFloat32 input , int minValue , int histogram[] , int y0 , int y1 ) {
+		for( int y = y0; y < y1; y++ ) {
 			int index = input.startIndex + y*input.stride;
 			int end = index + input.width;
 
 			for( ; index < end; index++ ) {
 				// floor value. just convert to int rounds towards zero
-				histogram[(int)input.data[index] - minValue ]++;
+				histogram[(int)input.data[index] - minValue]++;
 			}
 		}
 	}
 
+	/**
+	 * Computes the minimum, maximum, mean, and variance of the pixel values and optionally the histogram
+	 * in a single pass through the image.  See {@link PixelStatistics}.
+	 *
+	 * @param input (input) Image. Not modified.
+	 * @param minValue (input) Minimum possible intensity value.  Only used by the histogram.
+	 * @param histogram (output) Storage for histogram or null if not needed. Number of elements must be equal to max value.
+	 * @param output (output) Storage for the statistics.  If null a new instance is created.
+	 * @return The statistics
+	 */
+	public static PixelStatistics statistics( ImageFloat32 input , int minValue , int histogram[] , PixelStatistics output ) {
+		if( BoofConcurrency.isConcurrent((long)input.width*input.height) )
+			return ImageStatistics_MT.statistics(input,minValue,histogram,output);
+
+		if( output == null )
+			output = new PixelStatistics();
+		output.declareRows(input.height);
+		if( histogram != null ) {
+			for( int i = 0; i < histogram.length; i++ )
+				histogram[i] = 0;
+		}
+
+		statisticsRows(input,minValue,histogram,output,0,input.height);
+		output.combineRows(input.width,input.height,input.get(0,0));
+
+		return output;
+	}
+
+	/**
+	 * Computes the statistics for each row from y0 to y1-1 and adds the pixels to the histogram, if not null.
+	 */
+	static void statisticsRows( ImageFloat32 input , int minValue , int histogram[] , PixelStatistics output , int y0 , int y1 ) {
+		// sums are relative to the first pixel to avoid numerical problems when computing the variance
+		double offset = input.get(0,0);
+
+		for( int y = y0; y < y1; y++ ) {
+			int index = input.startIndex + y*input.stride;
+			int end = index + input.width;
+
+			float min = input.data[index];
+			float max = min;
+			double sum = 0, sumSq = 0;
+
+			if( histogram == null ) {
+				for( ; index < end; index++ ) {
+					float v = input.data[index];
+					if( v < min )
+						min = v;
+					else if( v > max )
+						max = v;
+					double d = v - offset;
+					sum += d;
+					sumSq += d*d;
+				}
+			} else {
+				for( ; index < end; index++ ) {
+					float v = input.data[index];
+					if( v < min )
+						min = v;
+					else if( v > max )
+						max = v;
+					double d = v - offset;
+					sum += d;
+					sumSq += d*d;
+					histogram[(int)v - minValue]++;
+				}
+			}
+
+			output.rowMin[y] = min;
+			output.rowMax[y] = max;
+			output.rowSum[y] = sum;
+			output.rowSumSq[y] = sumSq;
+		}
+	}
+
 	/**
 	 * Returns the minimum element value.
 	 * 
@@ -1411,10 +2537,20 @@ public class ImageStatistics {
 	 * @return Minimum pixel value.
 	 */
 	public static double min( ImageFloat64 input ) {
+		if( BoofConcurrency.isConcurrent((long)input.width*input.height) )
+			return ImageStatistics_MT.min(input);
 
-		double min = input.get(0,0);
+		return minRows(input,0,input.height);
+	}
 
-		for( int y = 0; y < input.height; y++ ) {
+	/**
+	 * Minimum element value in rows y0 to y1-1.
+	 */
+	static double minRows( ImageFloat64 input , int y0 , int y1 ) {
+
+		double min = input.get(0,y0);
+
+		for( int y = y0; y < y1; y++ ) {
 			int index = input.startIndex + y*input.stride;
 			int end = index + input.width;
 
@@ -1434,10 +2570,20 @@ public class ImageStatistics {
 	 * @return Maximum pixel value.
 	 */
 	public static double max( ImageFloat64 input ) {
+		if( BoofConcurrency.isConcurrent((long)input.width*input.height) )
+			return ImageStatistics_MT.max(input);
+
+		return maxRows(input,0,input.height);
+	}
+
+	/**
+	 * Maximum element value in rows y0 to y1-1.
+	 */
+	static double maxRows( ImageFloat64 input , int y0 , int y1 ) {
 
-		double max = input.get(0,0);
+		double max = input.get(0,y0);
 
-		for( int y = 0; y < input.height; y++ ) {
+		for( int y = y0; y < y1; y++ ) {
 			int index = input.startIndex + y*input.stride;
 			int end = index + input.width;
 
@@ -1457,10 +2603,20 @@ public class ImageStatistics {
 	 * @return Largest pixel absolute value.
 	 */
 	public static double maxAbs( ImageFloat64 input ) {
+		if( BoofConcurrency.isConcurrent((long)input.width*input.height) )
+			return ImageStatistics_MT.maxAbs(input);
+
+		return maxAbsRows(input,0,input.height);
+	}
+
+	/**
+	 * Largest absolute value in rows y0 to y1-1.
+	 */
+	static double maxAbsRows( ImageFloat64 input , int y0 , int y1 ) {
 
 		double max = 0;
 
-		for( int y = 0; y < input.height; y++ ) {
+		for( int y = y0; y < y1; y++ ) {
 			int index = input.startIndex + y*input.stride;
 			int end = index + input.width;
 
@@ -1475,28 +2631,42 @@ public class ImageStatistics {
 
 	/**
 	 * <p>
-	 * Returns the sum of all the pixels in the image.
+	 * Returns the sum of all the pixels in the image.  Each row is summed using Kahan summation in double
+	 * precision and then the rows are combined the same way.
 	 * </p>
 	 * 
 	 * @param img Input image. Not modified.
 	 */
 	public static double sum( ImageFloat64 img ) {
+		if( BoofConcurrency.isConcurrent((long)img.width*img.height) )
+			return ImageStatistics_MT.sum(img);
 
-		final int h = img.getHeight();
-		final int w = img.getWidth();
+		double total = 0, error = 0;
 
-		double total = 0;
-		
-		for (int y = 0; y < h; y++) {
-			int index = img.getStartIndex() + y * img.getStride();
-			
-			int indexEnd = index+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; index < indexEnd; index++ ) {
-				total += img.data[index] ;
-			}
+		for (int y = 0; y < img.height; y++) {
+			double v = sumRow(img,y) - error;
+			double t = total + v;
+			error = (t - total) - v;
+			total = t;
+		}
+
+		return total;
+	}
+
+	/**
+	 * Sum of the pixels in row y computed using Kahan summation.
+	 */
+	static double sumRow( ImageFloat64 img , int y ) {
+		int index = img.getStartIndex() + y * img.getStride();
+		int indexEnd = index+img.width;
+
+		double total = 0, error = 0;
+		for (; index < indexEnd; index++ ) {
+			double v = img.data[index] - error;
+			double t = total + v;
+			error = (t - total) - v;
+			total = t;
 		}
-		
 		return total;
 	}
 
@@ -1518,21 +2688,34 @@ public class ImageStatistics {
 	 * @return Pixel variance   
 	 */
 	public static double variance( ImageFloat64 img , double mean ) {
+		if( BoofConcurrency.isConcurrent((long)img.width*img.height) )
+			return ImageStatistics_MT.variance(img,mean);
 
-		double variance = 0;
+		double total = 0, error = 0;
 
 		for (int y = 0; y < img.height; y++) {
-			int index = img.getStartIndex() + y * img.getStride();
-
-			int indexEnd = index+img.width;
-			// for(int x = 0; x < img.width; x++ ) {
-			for (; index < indexEnd; index++ ) {
-				double d = (img.data[index]) - mean; 
-				variance += d*d;
-			}
+			double v = varianceRow(img,y,mean) - error;
+			double t = total + v;
+			error = (t - total) - v;
+			total = t;
 		}
 
-		return variance/(img.width*img.height);
+		return total/(img.width*img.height);
+	}
+
+	/**
+	 * Sum of the squared difference from the mean for pixels in row y.
+	 */
+	static double varianceRow( ImageFloat64 img , int y , double mean ) {
+		int index = img.getStartIndex() + y * img.getStride();
+		int indexEnd = index+img.width;
+
+		double total = 0;
+		for (; index < indexEnd; index++ ) {
+			double d = (img.data[index]) - mean; 
+			total += d*d;
+		}
+		return total;
 	}
 
 	/**
@@ -1543,42 +2726,76 @@ public class ImageStatistics {
 	 * @return error between the two images.
 	 */
 	public static double meanDiffSq(ImageFloat64 imgA, ImageFloat64 imgB ) {
-		double total = 0;
+		if( BoofConcurrency.isConcurrent((long)imgA.width*imgA.height) )
+			return ImageStatistics_MT.meanDiffSq(imgA,imgB);
+
+		double total = 0, error = 0;
 
 		for (int y = 0; y < imgA.height; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			for (int x = 0; x < imgA.width; x++,indexA++,indexB++) {
-				double difference = (imgA.data[indexA])-(imgB.data[indexB]);
-				total += difference*difference;
-			}
+			double v = meanDiffSqRow(imgA,imgB,y) - error;
+			double t = total + v;
+			error = (t - total) - v;
+			total = t;
 		}
 
 		return total / (double)(imgA.width*imgA.height);
 	}
 
 	/**
-	 * <p>Computes the mean squared error (MSE) between the two images.</p>
+	 * Sum of the error in row y.
+	 */
+	static double meanDiffSqRow(ImageFloat64 imgA, ImageFloat64 imgB , int y ) {
+		int indexA = imgA.getStartIndex() + y * imgA.getStride();
+		int indexB = imgB.getStartIndex() + y * imgB.getStride();
+
+		double total = 0;
+		for (int x = 0; x < imgA.width; x++,indexA++,indexB++) {
+			double difference = (imgA.data[indexA])-(imgB.data[indexB]);
+			total += difference*difference;
+		}
+
+		return total;
+	}
+
+	/**
+	 * <p>Computes the mean absolute difference between the two images.</p>
 	 *
 	 * @param imgA first image. Not modified.
 	 * @param imgB second image. Not modified.
 	 * @return error between the two images.
 	 */
 	public static double meanDiffAbs(ImageFloat64 imgA, ImageFloat64 imgB ) {
-		double total = 0;
+		if( BoofConcurrency.isConcurrent((long)imgA.width*imgA.height) )
+			return ImageStatistics_MT.meanDiffAbs(imgA,imgB);
+
+		double total = 0, error = 0;
 
 		for (int y = 0; y < imgA.height; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			for (int x = 0; x < imgA.width; x++,indexA++,indexB++) {
-				double difference = (imgA.data[indexA])-(imgB.data[indexB]);
-				total += Math.abs(difference);
-			}
+			double v = meanDiffAbsRow(imgA,imgB,y) - error;
+			double t = total + v;
+			error = (t - total) - v;
+			total = t;
 		}
 
 		return total / (double)(imgA.width*imgA.height);
 	}
 
+	/**
+	 * Sum of the error in row y.
+	 */
+	static double meanDiffAbsRow(ImageFloat64 imgA, ImageFloat64 imgB , int y ) {
+		int indexA = imgA.getStartIndex() + y * imgA.getStride();
+		int indexB = imgB.getStartIndex() + y * imgB.getStride();
+
+		double total = 0;
+		for (int x = 0; x < imgA.width; x++,indexA++,indexB++) {
+			double difference = (imgA.data[indexA])-(imgB.data[indexB]);
+			total += Math.abs(difference);
+		}
+
+		return total;
+	}
+
 	/**
 	 * Computes the histogram of intensity values for the image.
 	 * 
@@ -1587,18 +2804,120 @@ public class ImageStatistics {
 	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
 	 */
 	public static void histogram( ImageFloat64 input , int minValue , int histogram[] ) {
+		if( BoofConcurrency.isConcurrent((long)input.width*input.height) ) {
+			ImageStatistics_MT.histogram(input,minValue,histogram);
+			return;
+		}
+
 		for( int i = 0; i < histogram.length; i++ )
 			histogram[i] = 0;
-		
-		for( int y = 0; y < input.height; y++ ) {
+
+		histogramRows(input,minValue,histogram,0,input.height);
+	}
+
+	/**
+	 * Adds the intensity values in rows y0 to y1-1 to the histogram
+	 */
+	static void histogramRows( ImageFloat64 input , int minValue , int histogram[] , int y0 , int y1 ) {
+		for( int y = y0; y < y1; y++ ) {
 			int index = input.startIndex + y*input.stride;
 			int end = index + input.width;
 
 			for( ; index < end; index++ ) {
 				// floor value. just convert to int rounds towards zero
-				histogram[(int)input.data[index] - minValue ]++;
+				histogram[(int)input.data[index] - minValue]++;
 			}
 		}
 	}
 
+	/**
+	 * Computes the minimum, maximum, mean, and variance of the pixel values and optionally the histogram
+	 * in a single pass through the image.  See {@link PixelStatistics}.
+	 *
+	 * @param input (input) Image. Not modified.
+	 * @param minValue (input) Minimum possible intensity value.  Only used by the histogram.
+	 * @param histogram (output) Storage for histogram or null if not needed. Number of elements must be equal to max value.
+	 * @param output (output) Storage for the statistics.  If null a new instance is created.
+	 * @return The statistics
+	 */
+	public static PixelStatistics statistics( ImageFloat64 input , int minValue , int histogram[] , PixelStatistics output ) {
+		if( BoofConcurrency.isConcurrent((long)input.width*input.height) )
+			return ImageStatistics_MT.statistics(input,minValue,histogram,output);
+
+		if( output == null )
+			output = new PixelStatistics();
+		output.declareRows(input.height);
+		if( histogram != null ) {
+			for( int i = 0; i < histogram.length; i++ )
+				histogram[i] = 0;
+		}
+
+		statisticsRows(input,minValue,histogram,output,0,input.height);
+		output.combineRows(input.width,input.height,input.get(0,0));
+
+		return output;
+	}
+
+	/**
+	 * Computes the statistics for each row from y0 to y1-1 and adds the pixels to the histogram, if not null.
+	 */
+	static void statisticsRows( ImageFloat64 input , int minValue , int histogram[] , PixelStatistics output , int y0 , int y1 ) {
+		// sums are relative to the first pixel to avoid numerical problems when computing the variance
+		double offset = input.get(0,0);
+
+		for( int y = y0; y < y1; y++ ) {
+			int index = input.startIndex + y*input.stride;
+			int end = index + input.width;
+
+			double min = input.data[index];
+			double max = min;
+			double sum = 0, sumSq = 0;
+
+			if( histogram == null ) {
+				for( ; index < end; index++ ) {
+					double v = input.data[index];
+					if( v < min )
+						min = v;
+					else if( v > max )
+						max = v;
+					double d = v - offset;
+					sum += d;
+					sumSq += d*d;
+				}
+			} else {
+				for( ; index < end; index++ ) {
+					double v = input.data[index];
+					if( v < min )
+						min = v;
+					else if( v > max )
+						max = v;
+					double d = v - offset;
+					sum += d;
+					sumSq += d*d;
+					histogram[(int)v - minValue]++;
+				}
+			}
+
+			output.rowMin[y] = min;
+			output.rowMax[y] = max;
+			output.rowSum[y] = sum;
+			output.rowSumSq[y] = sumSq;
+		}
+	}
+
+	/**
+	 * Sums up the values in the array, in order, using Kahan summation.
+	 */
+	static double sumKahan( double values[] ) {
+		double total = 0, error = 0;
+
+		for (int i = 0; i < values.length; i++) {
+			double v = values[i] - error;
+			double t = total + v;
+			error = (t - total) - v;
+			total = t;
+		}
+		return total;
+	}
+
 }
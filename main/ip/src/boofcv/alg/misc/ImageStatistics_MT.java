@@ -0,0 +1,1851 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.misc;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.struct.image.*;
+
+/**
+ * <p>
+ * Concurrent implementations of the functions in {@link ImageStatistics}.  The image is split into bands of rows
+ * which are processed in parallel and then the partial results are merged.  Each band computes its own
+ * histogram, which is added to the output once the band is done.  Floating point sums are computed for
+ * each row and then combined in order using Kahan summation, so the results are identical to the single
+ * threaded version no matter how many threads are used.
+ * </p>
+ *
+ * <p>DO NOT MODIFY: Generated by {@link boofcv.alg.misc.GenerateImageStatistics_MT}</p>.
+ *
+ * @author Peter Abeles
+ */
+public class ImageStatistics_MT {
+
+	/**
+	 * Returns the minimum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Minimum pixel value.
+	 */
+	public static int min( final ImageUInt8 input ) {
+		final int results[] = new int[]{input.get(0,0)};
+
+		BoofConcurrency.loopBlocks(0,input.height,input.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int found = ImageStatistics.minRows(input,y0,y1);
+				synchronized( results ) {
+					if( found < results[0] )
+						results[0] = found;
+				}
+			}
+		});
+
+		return results[0];
+	}
+
+	/**
+	 * Returns the maximum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Maximum pixel value.
+	 */
+	public static int max( final ImageUInt8 input ) {
+		final int results[] = new int[]{input.get(0,0)};
+
+		BoofConcurrency.loopBlocks(0,input.height,input.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int found = ImageStatistics.maxRows(input,y0,y1);
+				synchronized( results ) {
+					if( found > results[0] )
+						results[0] = found;
+				}
+			}
+		});
+
+		return results[0];
+	}
+
+	/**
+	 * Returns the largest absolute element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Largest absolute pixel value.
+	 */
+	public static int maxAbs( final ImageUInt8 input ) {
+		final int results[] = new int[]{0};
+
+		BoofConcurrency.loopBlocks(0,input.height,input.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int found = ImageStatistics.maxAbsRows(input,y0,y1);
+				synchronized( results ) {
+					if( found > results[0] )
+						results[0] = found;
+				}
+			}
+		});
+
+		return results[0];
+	}
+
+	/**
+	 * <p>
+	 * Returns the sum of all the pixels in the image.
+	 * </p>
+	 * 
+	 * @param img Input image. Not modified.
+	 */
+	public static int sum( final ImageUInt8 img ) {
+		final int results[] = new int[1];
+
+		BoofConcurrency.loopBlocks(0,img.height,img.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int found = ImageStatistics.sumRows(img,y0,y1);
+				synchronized( results ) {
+					results[0] += found;
+				}
+			}
+		});
+
+		return results[0];
+	}
+
+	/**
+	 * Returns the mean pixel intensity value.
+	 * 
+	 * @param img Input image.  Not modified.
+	 * @return Mean pixel intensity value
+	 */
+	public static double mean( ImageUInt8 img ) {
+		return sum(img)/(double)(img.width*img.height);
+	}
+
+	/**
+	 * Computes the variance of pixel intensity values inside the image.
+	 *
+	 * @param img Input image. Not modified.
+	 * @param mean Mean pixel intensity value.   
+	 * @return Pixel variance   
+	 */
+	public static double variance( final ImageUInt8 img , final double mean ) {
+		final double rows[] = new double[img.height];
+
+		BoofConcurrency.loopBlocks(0,img.height,img.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ )
+					rows[y] = ImageStatistics.varianceRow(img,y,mean);
+			}
+		});
+
+		return ImageStatistics.sumKahan(rows)/(img.width*img.height);
+	}
+
+	/**
+	 * <p>Computes the mean squared error (MSE) between the two images.</p>
+	 *
+	 * @param imgA first image. Not modified.
+	 * @param imgB second image. Not modified.
+	 * @return error between the two images.
+	 */
+	public static double meanDiffSq( final ImageUInt8 imgA, final ImageUInt8 imgB ) {
+		final int results[] = new int[1];
+
+		BoofConcurrency.loopBlocks(0,imgA.height,imgA.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int found = ImageStatistics.meanDiffSqRows(imgA,imgB,y0,y1);
+				synchronized( results ) {
+					results[0] += found;
+				}
+			}
+		});
+
+		return results[0] / (double)(imgA.width*imgA.height);
+	}
+
+	/**
+	 * <p>Computes the mean absolute difference between the two images.</p>
+	 *
+	 * @param imgA first image. Not modified.
+	 * @param imgB second image. Not modified.
+	 * @return error between the two images.
+	 */
+	public static double meanDiffAbs( final ImageUInt8 imgA, final ImageUInt8 imgB ) {
+		final int results[] = new int[1];
+
+		BoofConcurrency.loopBlocks(0,imgA.height,imgA.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int found = ImageStatistics.meanDiffAbsRows(imgA,imgB,y0,y1);
+				synchronized( results ) {
+					results[0] += found;
+				}
+			}
+		});
+
+		return results[0] / (double)(imgA.width*imgA.height);
+	}
+
+	/**
+	 * Computes the histogram of intensity values for the image.
+	 * 
+	 * @param input (input) Image.
+	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
+	 */
+	public static void histogram( final ImageUInt8 input , final int histogram[] ) {
+		for( int i = 0; i < histogram.length; i++ )
+			histogram[i] = 0;
+
+		BoofConcurrency.loopBlocks(0,input.height,input.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int local[] = new int[histogram.length];
+				ImageStatistics.histogramRows(input,local,y0,y1);
+				addHistogram(local,histogram);
+			}
+		});
+	}
+
+	/**
+	 * Computes the minimum, maximum, mean, and variance of the pixel values and optionally the histogram
+	 * in a single pass through the image.  See {@link PixelStatistics}.
+	 *
+	 * @param input (input) Image. Not modified.
+	 * @param histogram (output) Storage for histogram or null if not needed. Number of elements must be equal to max value.
+	 * @param output (output) Storage for the statistics.  If null a new instance is created.
+	 * @return The statistics
+	 */
+	public static PixelStatistics statistics( final ImageUInt8 input , final int histogram[] , PixelStatistics output ) {
+		if( output == null )
+			output = new PixelStatistics();
+		output.declareRows(input.height);
+		if( histogram != null ) {
+			for( int i = 0; i < histogram.length; i++ )
+				histogram[i] = 0;
+		}
+
+		final PixelStatistics stats = output;
+		BoofConcurrency.loopBlocks(0,input.height,input.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				if( histogram == null ) {
+					ImageStatistics.statisticsRows(input,null,stats,y0,y1);
+				} else {
+					int local[] = new int[histogram.length];
+					ImageStatistics.statisticsRows(input,local,stats,y0,y1);
+					addHistogram(local,histogram);
+				}
+			}
+		});
+		output.combineRows(input.width,input.height,input.get(0,0));
+
+		return output;
+	}
+
+	/**
+	 * Returns the minimum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Minimum pixel value.
+	 */
+	public static int min( final ImageSInt8 input ) {
+		final int results[] = new int[]{input.get(0,0)};
+
+		BoofConcurrency.loopBlocks(0,input.height,input.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int found = ImageStatistics.minRows(input,y0,y1);
+				synchronized( results ) {
+					if( found < results[0] )
+						results[0] = found;
+				}
+			}
+		});
+
+		return results[0];
+	}
+
+	/**
+	 * Returns the maximum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Maximum pixel value.
+	 */
+	public static int max( final ImageSInt8 input ) {
+		final int results[] = new int[]{input.get(0,0)};
+
+		BoofConcurrency.loopBlocks(0,input.height,input.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int found = ImageStatistics.maxRows(input,y0,y1);
+				synchronized( results ) {
+					if( found > results[0] )
+						results[0] = found;
+				}
+			}
+		});
+
+		return results[0];
+	}
+
+	/**
+	 * Returns the largest absolute element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Largest absolute pixel value.
+	 */
+	public static int maxAbs( final ImageSInt8 input ) {
+		final int results[] = new int[]{0};
+
+		BoofConcurrency.loopBlocks(0,input.height,input.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int found = ImageStatistics.maxAbsRows(input,y0,y1);
+				synchronized( results ) {
+					if( found > results[0] )
+						results[0] = found;
+				}
+			}
+		});
+
+		return results[0];
+	}
+
+	/**
+	 * <p>
+	 * Returns the sum of all the pixels in the image.
+	 * </p>
+	 * 
+	 * @param img Input image. Not modified.
+	 */
+	public static int sum( final ImageSInt8 img ) {
+		final int results[] = new int[1];
+
+		BoofConcurrency.loopBlocks(0,img.height,img.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int found = ImageStatistics.sumRows(img,y0,y1);
+				synchronized( results ) {
+					results[0] += found;
+				}
+			}
+		});
+
+		return results[0];
+	}
+
+	/**
+	 * Returns the mean pixel intensity value.
+	 * 
+	 * @param img Input image.  Not modified.
+	 * @return Mean pixel intensity value
+	 */
+	public static double mean( ImageSInt8 img ) {
+		return sum(img)/(double)(img.width*img.height);
+	}
+
+	/**
+	 * Computes the variance of pixel intensity values inside the image.
+	 *
+	 * @param img Input image. Not modified.
+	 * @param mean Mean pixel intensity value.   
+	 * @return Pixel variance   
+	 */
+	public static double variance( final ImageSInt8 img , final double mean ) {
+		final double rows[] = new double[img.height];
+
+		BoofConcurrency.loopBlocks(0,img.height,img.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ )
+					rows[y] = ImageStatistics.varianceRow(img,y,mean);
+			}
+		});
+
+		return ImageStatistics.sumKahan(rows)/(img.width*img.height);
+	}
+
+	/**
+	 * <p>Computes the mean squared error (MSE) between the two images.</p>
+	 *
+	 * @param imgA first image. Not modified.
+	 * @param imgB second image. Not modified.
+	 * @return error between the two images.
+	 */
+	public static double meanDiffSq( final ImageSInt8 imgA, final ImageSInt8 imgB ) {
+		final int results[] = new int[1];
+
+		BoofConcurrency.loopBlocks(0,imgA.height,imgA.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int found = ImageStatistics.meanDiffSqRows(imgA,imgB,y0,y1);
+				synchronized( results ) {
+					results[0] += found;
+				}
+			}
+		});
+
+		return results[0] / (double)(imgA.width*imgA.height);
+	}
+
+	/**
+	 * <p>Computes the mean absolute difference between the two images.</p>
+	 *
+	 * @param imgA first image. Not modified.
+	 * @param imgB second image. Not modified.
+	 * @return error between the two images.
+	 */
+	public static double meanDiffAbs( final ImageSInt8 imgA, final ImageSInt8 imgB ) {
+		final int results[] = new int[1];
+
+		BoofConcurrency.loopBlocks(0,imgA.height,imgA.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int found = ImageStatistics.meanDiffAbsRows(imgA,imgB,y0,y1);
+				synchronized( results ) {
+					results[0] += found;
+				}
+			}
+		});
+
+		return results[0] / (double)(imgA.width*imgA.height);
+	}
+
+	/**
+	 * Computes the histogram of intensity values for the image.
+	 * 
+	 * @param input (input) Image.
+	 * @param minValue (input) Minimum possible intensity value   
+	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
+	 */
+	public static void histogram( final ImageSInt8 input , final int minValue , final int histogram[] ) {
+		for( int i = 0; i < histogram.length; i++ )
+			histogram[i] = 0;
+
+		BoofConcurrency.loopBlocks(0,input.height,input.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int local[] = new int[histogram.length];
+				ImageStatistics.histogramRows(input,minValue,local,y0,y1);
+				addHistogram(local,histogram);
+			}
+		});
+	}
+
+	/**
+	 * Computes the minimum, maximum, mean, and variance of the pixel values and optionally the histogram
+	 * in a single pass through the image.  See {@link PixelStatistics}.
+	 *
+	 * @param input (input) Image. Not modified.
+	 * @param minValue (input) Minimum possible intensity value.  Only used by the histogram.
+	 * @param histogram (output) Storage for histogram or null if not needed. Number of elements must be equal to max value.
+	 * @param output (output) Storage for the statistics.  If null a new instance is created.
+	 * @return The statistics
+	 */
+	public static PixelStatistics statistics( final ImageSInt8 input , final int minValue , final int histogram[] , PixelStatistics output ) {
+		if( output == null )
+			output = new PixelStatistics();
+		output.declareRows(input.height);
+		if( histogram != null ) {
+			for( int i = 0; i < histogram.length; i++ )
+				histogram[i] = 0;
+		}
+
+		final PixelStatistics stats = output;
+		BoofConcurrency.loopBlocks(0,input.height,input.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				if( histogram == null ) {
+					ImageStatistics.statisticsRows(input,minValue,null,stats,y0,y1);
+				} else {
+					int local[] = new int[histogram.length];
+					ImageStatistics.statisticsRows(input,minValue,local,stats,y0,y1);
+					addHistogram(local,histogram);
+				}
+			}
+		});
+		output.combineRows(input.width,input.height,input.get(0,0));
+
+		return output;
+	}
+
+	/**
+	 * Returns the minimum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Minimum pixel value.
+	 */
+	public static int min( final ImageUInt16 input ) {
+		final int results[] = new int[]{input.get(0,0)};
+
+		BoofConcurrency.loopBlocks(0,input.height,input.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int found = ImageStatistics.minRows(input,y0,y1);
+				synchronized( results ) {
+					if( found < results[0] )
+						results[0] = found;
+				}
+			}
+		});
+
+		return results[0];
+	}
+
+	/**
+	 * Returns the maximum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Maximum pixel value.
+	 */
+	public static int max( final ImageUInt16 input ) {
+		final int results[] = new int[]{input.get(0,0)};
+
+		BoofConcurrency.loopBlocks(0,input.height,input.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int found = ImageStatistics.maxRows(input,y0,y1);
+				synchronized( results ) {
+					if( found > results[0] )
+						results[0] = found;
+				}
+			}
+		});
+
+		return results[0];
+	}
+
+	/**
+	 * Returns the largest absolute element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Largest absolute pixel value.
+	 */
+	public static int maxAbs( final ImageUInt16 input ) {
+		final int results[] = new int[]{0};
+
+		BoofConcurrency.loopBlocks(0,input.height,input.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int found = ImageStatistics.maxAbsRows(input,y0,y1);
+				synchronized( results ) {
+					if( found > results[0] )
+						results[0] = found;
+				}
+			}
+		});
+
+		return results[0];
+	}
+
+	/**
+	 * <p>
+	 * Returns the sum of all the pixels in the image.
+	 * </p>
+	 * 
+	 * @param img Input image. Not modified.
+	 */
+	public static int sum( final ImageUInt16 img ) {
+		final int results[] = new int[1];
+
+		BoofConcurrency.loopBlocks(0,img.height,img.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int found = ImageStatistics.sumRows(img,y0,y1);
+				synchronized( results ) {
+					results[0] += found;
+				}
+			}
+		});
+
+		return results[0];
+	}
+
+	/**
+	 * Returns the mean pixel intensity value.
+	 * 
+	 * @param img Input image.  Not modified.
+	 * @return Mean pixel intensity value
+	 */
+	public static double mean( ImageUInt16 img ) {
+		return sum(img)/(double)(img.width*img.height);
+	}
+
+	/**
+	 * Computes the variance of pixel intensity values inside the image.
+	 *
+	 * @param img Input image. Not modified.
+	 * @param mean Mean pixel intensity value.   
+	 * @return Pixel variance   
+	 */
+	public static double variance( final ImageUInt16 img , final double mean ) {
+		final double rows[] = new double[img.height];
+
+		BoofConcurrency.loopBlocks(0,img.height,img.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ )
+					rows[y] = ImageStatistics.varianceRow(img,y,mean);
+			}
+		});
+
+		return ImageStatistics.sumKahan(rows)/(img.width*img.height);
+	}
+
+	/**
+	 * <p>Computes the mean squared error (MSE) between the two images.</p>
+	 *
+	 * @param imgA first image. Not modified.
+	 * @param imgB second image. Not modified.
+	 * @return error between the two images.
+	 */
+	public static double meanDiffSq( final ImageUInt16 imgA, final ImageUInt16 imgB ) {
+		final int results[] = new int[1];
+
+		BoofConcurrency.loopBlocks(0,imgA.height,imgA.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int found = ImageStatistics.meanDiffSqRows(imgA,imgB,y0,y1);
+				synchronized( results ) {
+					results[0] += found;
+				}
+			}
+		});
+
+		return results[0] / (double)(imgA.width*imgA.height);
+	}
+
+	/**
+	 * <p>Computes the mean absolute difference between the two images.</p>
+	 *
+	 * @param imgA first image. Not modified.
+	 * @param imgB second image. Not modified.
+	 * @return error between the two images.
+	 */
+	public static double meanDiffAbs( final ImageUInt16 imgA, final ImageUInt16 imgB ) {
+		final int results[] = new int[1];
+
+		BoofConcurrency.loopBlocks(0,imgA.height,imgA.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int found = ImageStatistics.meanDiffAbsRows(imgA,imgB,y0,y1);
+				synchronized( results ) {
+					results[0] += found;
+				}
+			}
+		});
+
+		return results[0] / (double)(imgA.width*imgA.height);
+	}
+
+	/**
+	 * Computes the histogram of intensity values for the image.
+	 * 
+	 * @param input (input) Image.
+	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
+	 */
+	public static void histogram( final ImageUInt16 input , final int histogram[] ) {
+		for( int i = 0; i < histogram.length; i++ )
+			histogram[i] = 0;
+
+		BoofConcurrency.loopBlocks(0,input.height,input.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int local[] = new int[histogram.length];
+				ImageStatistics.histogramRows(input,local,y0,y1);
+				addHistogram(local,histogram);
+			}
+		});
+	}
+
+	/**
+	 * Computes the minimum, maximum, mean, and variance of the pixel values and optionally the histogram
+	 * in a single pass through the image.  See {@link PixelStatistics}.
+	 *
+	 * @param input (input) Image. Not modified.
+	 * @param histogram (output) Storage for histogram or null if not needed. Number of elements must be equal to max value.
+	 * @param output (output) Storage for the statistics.  If null a new instance is created.
+	 * @return The statistics
+	 */
+	public static PixelStatistics statistics( final ImageUInt16 input , final int histogram[] , PixelStatistics output ) {
+		if( output == null )
+			output = new PixelStatistics();
+		output.declareRows(input.height);
+		if( histogram != null ) {
+			for( int i = 0; i < histogram.length; i++ )
+				histogram[i] = 0;
+		}
+
+		final PixelStatistics stats = output;
+		BoofConcurrency.loopBlocks(0,input.height,input.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				if( histogram == null ) {
+					ImageStatistics.statisticsRows(input,null,stats,y0,y1);
+				} else {
+					int local[] = new int[histogram.length];
+					ImageStatistics.statisticsRows(input,local,stats,y0,y1);
+					addHistogram(local,histogram);
+				}
+			}
+		});
+		output.combineRows(input.width,input.height,input.get(0,0));
+
+		return output;
+	}
+
+	/**
+	 * Returns the minimum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Minimum pixel value.
+	 */
+	public static int min( final ImageSInt16 input ) {
+		final int results[] = new int[]{input.get(0,0)};
+
+		BoofConcurrency.loopBlocks(0,input.height,input.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int found = ImageStatistics.minRows(input,y0,y1);
+				synchronized( results ) {
+					if( found < results[0] )
+						results[0] = found;
+				}
+			}
+		});
+
+		return results[0];
+	}
+
+	/**
+	 * Returns the maximum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Maximum pixel value.
+	 */
+	public static int max( final ImageSInt16 input ) {
+		final int results[] = new int[]{input.get(0,0)};
+
+		BoofConcurrency.loopBlocks(0,input.height,input.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int found = ImageStatistics.maxRows(input,y0,y1);
+				synchronized( results ) {
+					if( found > results[0] )
+						results[0] = found;
+				}
+			}
+		});
+
+		return results[0];
+	}
+
+	/**
+	 * Returns the largest absolute element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Largest absolute pixel value.
+	 */
+	public static int maxAbs( final ImageSInt16 input ) {
+		final int results[] = new int[]{0};
+
+		BoofConcurrency.loopBlocks(0,input.height,input.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int found = ImageStatistics.maxAbsRows(input,y0,y1);
+				synchronized( results ) {
+					if( found > results[0] )
+						results[0] = found;
+				}
+			}
+		});
+
+		return results[0];
+	}
+
+	/**
+	 * <p>
+	 * Returns the sum of all the pixels in the image.
+	 * </p>
+	 * 
+	 * @param img Input image. Not modified.
+	 */
+	public static int sum( final ImageSInt16 img ) {
+		final int results[] = new int[1];
+
+		BoofConcurrency.loopBlocks(0,img.height,img.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int found = ImageStatistics.sumRows(img,y0,y1);
+				synchronized( results ) {
+					results[0] += found;
+				}
+			}
+		});
+
+		return results[0];
+	}
+
+	/**
+	 * Returns the mean pixel intensity value.
+	 * 
+	 * @param img Input image.  Not modified.
+	 * @return Mean pixel intensity value
+	 */
+	public static double mean( ImageSInt16 img ) {
+		return sum(img)/(double)(img.width*img.height);
+	}
+
+	/**
+	 * Computes the variance of pixel intensity values inside the image.
+	 *
+	 * @param img Input image. Not modified.
+	 * @param mean Mean pixel intensity value.   
+	 * @return Pixel variance   
+	 */
+	public static double variance( final ImageSInt16 img , final double mean ) {
+		final double rows[] = new double[img.height];
+
+		BoofConcurrency.loopBlocks(0,img.height,img.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ )
+					rows[y] = ImageStatistics.varianceRow(img,y,mean);
+			}
+		});
+
+		return ImageStatistics.sumKahan(rows)/(img.width*img.height);
+	}
+
+	/**
+	 * <p>Computes the mean squared error (MSE) between the two images.</p>
+	 *
+	 * @param imgA first image. Not modified.
+	 * @param imgB second image. Not modified.
+	 * @return error between the two images.
+	 */
+	public static double meanDiffSq( final ImageSInt16 imgA, final ImageSInt16 imgB ) {
+		final int results[] = new int[1];
+
+		BoofConcurrency.loopBlocks(0,imgA.height,imgA.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int found = ImageStatistics.meanDiffSqRows(imgA,imgB,y0,y1);
+				synchronized( results ) {
+					results[0] += found;
+				}
+			}
+		});
+
+		return results[0] / (double)(imgA.width*imgA.height);
+	}
+
+	/**
+	 * <p>Computes the mean absolute difference between the two images.</p>
+	 *
+	 * @param imgA first image. Not modified.
+	 * @param imgB second image. Not modified.
+	 * @return error between the two images.
+	 */
+	public static double meanDiffAbs( final ImageSInt16 imgA, final ImageSInt16 imgB ) {
+		final int results[] = new int[1];
+
+		BoofConcurrency.loopBlocks(0,imgA.height,imgA.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int found = ImageStatistics.meanDiffAbsRows(imgA,imgB,y0,y1);
+				synchronized( results ) {
+					results[0] += found;
+				}
+			}
+		});
+
+		return results[0] / (double)(imgA.width*imgA.height);
+	}
+
+	/**
+	 * Computes the histogram of intensity values for the image.
+	 * 
+	 * @param input (input) Image.
+	 * @param minValue (input) Minimum possible intensity value   
+	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
+	 */
+	public static void histogram( final ImageSInt16 input , final int minValue , final int histogram[] ) {
+		for( int i = 0; i < histogram.length; i++ )
+			histogram[i] = 0;
+
+		BoofConcurrency.loopBlocks(0,input.height,input.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int local[] = new int[histogram.length];
+				ImageStatistics.histogramRows(input,minValue,local,y0,y1);
+				addHistogram(local,histogram);
+			}
+		});
+	}
+
+	/**
+	 * Computes the minimum, maximum, mean, and variance of the pixel values and optionally the histogram
+	 * in a single pass through the image.  See {@link PixelStatistics}.
+	 *
+	 * @param input (input) Image. Not modified.
+	 * @param minValue (input) Minimum possible intensity value.  Only used by the histogram.
+	 * @param histogram (output) Storage for histogram or null if not needed. Number of elements must be equal to max value.
+	 * @param output (output) Storage for the statistics.  If null a new instance is created.
+	 * @return The statistics
+	 */
+	public static PixelStatistics statistics( final ImageSInt16 input , final int minValue , final int histogram[] , PixelStatistics output ) {
+		if( output == null )
+			output = new PixelStatistics();
+		output.declareRows(input.height);
+		if( histogram != null ) {
+			for( int i = 0; i < histogram.length; i++ )
+				histogram[i] = 0;
+		}
+
+		final PixelStatistics stats = output;
+		BoofConcurrency.loopBlocks(0,input.height,input.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				if( histogram == null ) {
+					ImageStatistics.statisticsRows(input,minValue,null,stats,y0,y1);
+				} else {
+					int local[] = new int[histogram.length];
+					ImageStatistics.statisticsRows(input,minValue,local,stats,y0,y1);
+					addHistogram(local,histogram);
+				}
+			}
+		});
+		output.combineRows(input.width,input.height,input.get(0,0));
+
+		return output;
+	}
+
+	/**
+	 * Returns the minimum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Minimum pixel value.
+	 */
+	public static int min( final ImageSInt32 input ) {
+		final int results[] = new int[]{input.get(0,0)};
+
+		BoofConcurrency.loopBlocks(0,input.height,input.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int found = ImageStatistics.minRows(input,y0,y1);
+				synchronized( results ) {
+					if( found < results[0] )
+						results[0] = found;
+				}
+			}
+		});
+
+		return results[0];
+	}
+
+	/**
+	 * Returns the maximum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Maximum pixel value.
+	 */
+	public static int max( final ImageSInt32 input ) {
+		final int results[] = new int[]{input.get(0,0)};
+
+		BoofConcurrency.loopBlocks(0,input.height,input.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int found = ImageStatistics.maxRows(input,y0,y1);
+				synchronized( results ) {
+					if( found > results[0] )
+						results[0] = found;
+				}
+			}
+		});
+
+		return results[0];
+	}
+
+	/**
+	 * Returns the largest absolute element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Largest absolute pixel value.
+	 */
+	public static int maxAbs( final ImageSInt32 input ) {
+		final int results[] = new int[]{0};
+
+		BoofConcurrency.loopBlocks(0,input.height,input.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int found = ImageStatistics.maxAbsRows(input,y0,y1);
+				synchronized( results ) {
+					if( found > results[0] )
+						results[0] = found;
+				}
+			}
+		});
+
+		return results[0];
+	}
+
+	/**
+	 * <p>
+	 * Returns the sum of all the pixels in the image.
+	 * </p>
+	 * 
+	 * @param img Input image. Not modified.
+	 */
+	public static int sum( final ImageSInt32 img ) {
+		final int results[] = new int[1];
+
+		BoofConcurrency.loopBlocks(0,img.height,img.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int found = ImageStatistics.sumRows(img,y0,y1);
+				synchronized( results ) {
+					results[0] += found;
+				}
+			}
+		});
+
+		return results[0];
+	}
+
+	/**
+	 * Returns the mean pixel intensity value.
+	 * 
+	 * @param img Input image.  Not modified.
+	 * @return Mean pixel intensity value
+	 */
+	public static double mean( ImageSInt32 img ) {
+		return sum(img)/(double)(img.width*img.height);
+	}
+
+	/**
+	 * Computes the variance of pixel intensity values inside the image.
+	 *
+	 * @param img Input image. Not modified.
+	 * @param mean Mean pixel intensity value.   
+	 * @return Pixel variance   
+	 */
+	public static double variance( final ImageSInt32 img , final double mean ) {
+		final double rows[] = new double[img.height];
+
+		BoofConcurrency.loopBlocks(0,img.height,img.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ )
+					rows[y] = ImageStatistics.varianceRow(img,y,mean);
+			}
+		});
+
+		return ImageStatistics.sumKahan(rows)/(img.width*img.height);
+	}
+
+	/**
+	 * <p>Computes the mean squared error (MSE) between the two images.</p>
+	 *
+	 * @param imgA first image. Not modified.
+	 * @param imgB second image. Not modified.
+	 * @return error between the two images.
+	 */
+	public static double meanDiffSq( final ImageSInt32 imgA, final ImageSInt32 imgB ) {
+		final long results[] = new long[1];
+
+		BoofConcurrency.loopBlocks(0,imgA.height,imgA.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				long found = ImageStatistics.meanDiffSqRows(imgA,imgB,y0,y1);
+				synchronized( results ) {
+					results[0] += found;
+				}
+			}
+		});
+
+		return results[0] / (double)(imgA.width*imgA.height);
+	}
+
+	/**
+	 * <p>Computes the mean absolute difference between the two images.</p>
+	 *
+	 * @param imgA first image. Not modified.
+	 * @param imgB second image. Not modified.
+	 * @return error between the two images.
+	 */
+	public static double meanDiffAbs( final ImageSInt32 imgA, final ImageSInt32 imgB ) {
+		final int results[] = new int[1];
+
+		BoofConcurrency.loopBlocks(0,imgA.height,imgA.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int found = ImageStatistics.meanDiffAbsRows(imgA,imgB,y0,y1);
+				synchronized( results ) {
+					results[0] += found;
+				}
+			}
+		});
+
+		return results[0] / (double)(imgA.width*imgA.height);
+	}
+
+	/**
+	 * Computes the histogram of intensity values for the image.
+	 * 
+	 * @param input (input) Image.
+	 * @param minValue (input) Minimum possible intensity value   
+	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
+	 */
+	public static void histogram( final ImageSInt32 input , final int minValue , final int histogram[] ) {
+		for( int i = 0; i < histogram.length; i++ )
+			histogram[i] = 0;
+
+		BoofConcurrency.loopBlocks(0,input.height,input.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int local[] = new int[histogram.length];
+				ImageStatistics.histogramRows(input,minValue,local,y0,y1);
+				addHistogram(local,histogram);
+			}
+		});
+	}
+
+	/**
+	 * Computes the minimum, maximum, mean, and variance of the pixel values and optionally the histogram
+	 * in a single pass through the image.  See {@link PixelStatistics}.
+	 *
+	 * @param input (input) Image. Not modified.
+	 * @param minValue (input) Minimum possible intensity value.  Only used by the histogram.
+	 * @param histogram (output) Storage for histogram or null if not needed. Number of elements must be equal to max value.
+	 * @param output (output) Storage for the statistics.  If null a new instance is created.
+	 * @return The statistics
+	 */
+	public static PixelStatistics statistics( final ImageSInt32 input , final int minValue , final int histogram[] , PixelStatistics output ) {
+		if( output == null )
+			output = new PixelStatistics();
+		output.declareRows(input.height);
+		if( histogram != null ) {
+			for( int i = 0; i < histogram.length; i++ )
+				histogram[i] = 0;
+		}
+
+		final PixelStatistics stats = output;
+		BoofConcurrency.loopBlocks(0,input.height,input.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				if( histogram == null ) {
+					ImageStatistics.statisticsRows(input,minValue,null,stats,y0,y1);
+				} else {
+					int local[] = new int[histogram.length];
+					ImageStatistics.statisticsRows(input,minValue,local,stats,y0,y1);
+					addHistogram(local,histogram);
+				}
+			}
+		});
+		output.combineRows(input.width,input.height,input.get(0,0));
+
+		return output;
+	}
+
+	/**
+	 * Returns the minimum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Minimum pixel value.
+	 */
+	public static long min( final ImageSInt64 input ) {
+		final long results[] = new long[]{input.get(0,0)};
+
+		BoofConcurrency.loopBlocks(0,input.height,input.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				long found = ImageStatistics.minRows(input,y0,y1);
+				synchronized( results ) {
+					if( found < results[0] )
+						results[0] = found;
+				}
+			}
+		});
+
+		return results[0];
+	}
+
+	/**
+	 * Returns the maximum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Maximum pixel value.
+	 */
+	public static long max( final ImageSInt64 input ) {
+		final long results[] = new long[]{input.get(0,0)};
+
+		BoofConcurrency.loopBlocks(0,input.height,input.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				long found = ImageStatistics.maxRows(input,y0,y1);
+				synchronized( results ) {
+					if( found > results[0] )
+						results[0] = found;
+				}
+			}
+		});
+
+		return results[0];
+	}
+
+	/**
+	 * Returns the largest absolute element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Largest absolute pixel value.
+	 */
+	public static long maxAbs( final ImageSInt64 input ) {
+		final long results[] = new long[]{0};
+
+		BoofConcurrency.loopBlocks(0,input.height,input.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				long found = ImageStatistics.maxAbsRows(input,y0,y1);
+				synchronized( results ) {
+					if( found > results[0] )
+						results[0] = found;
+				}
+			}
+		});
+
+		return results[0];
+	}
+
+	/**
+	 * <p>
+	 * Returns the sum of all the pixels in the image.
+	 * </p>
+	 * 
+	 * @param img Input image. Not modified.
+	 */
+	public static long sum( final ImageSInt64 img ) {
+		final long results[] = new long[1];
+
+		BoofConcurrency.loopBlocks(0,img.height,img.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				long found = ImageStatistics.sumRows(img,y0,y1);
+				synchronized( results ) {
+					results[0] += found;
+				}
+			}
+		});
+
+		return results[0];
+	}
+
+	/**
+	 * Returns the mean pixel intensity value.
+	 * 
+	 * @param img Input image.  Not modified.
+	 * @return Mean pixel intensity value
+	 */
+	public static double mean( ImageSInt64 img ) {
+		return sum(img)/(double)(img.width*img.height);
+	}
+
+	/**
+	 * Computes the variance of pixel intensity values inside the image.
+	 *
+	 * @param img Input image. Not modified.
+	 * @param mean Mean pixel intensity value.   
+	 * @return Pixel variance   
+	 */
+	public static double variance( final ImageSInt64 img , final double mean ) {
+		final double rows[] = new double[img.height];
+
+		BoofConcurrency.loopBlocks(0,img.height,img.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ )
+					rows[y] = ImageStatistics.varianceRow(img,y,mean);
+			}
+		});
+
+		return ImageStatistics.sumKahan(rows)/(img.width*img.height);
+	}
+
+	/**
+	 * <p>Computes the mean squared error (MSE) between the two images.</p>
+	 *
+	 * @param imgA first image. Not modified.
+	 * @param imgB second image. Not modified.
+	 * @return error between the two images.
+	 */
+	public static double meanDiffSq( final ImageSInt64 imgA, final ImageSInt64 imgB ) {
+		final long results[] = new long[1];
+
+		BoofConcurrency.loopBlocks(0,imgA.height,imgA.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				long found = ImageStatistics.meanDiffSqRows(imgA,imgB,y0,y1);
+				synchronized( results ) {
+					results[0] += found;
+				}
+			}
+		});
+
+		return results[0] / (double)(imgA.width*imgA.height);
+	}
+
+	/**
+	 * <p>Computes the mean absolute difference between the two images.</p>
+	 *
+	 * @param imgA first image. Not modified.
+	 * @param imgB second image. Not modified.
+	 * @return error between the two images.
+	 */
+	public static double meanDiffAbs( final ImageSInt64 imgA, final ImageSInt64 imgB ) {
+		final long results[] = new long[1];
+
+		BoofConcurrency.loopBlocks(0,imgA.height,imgA.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				long found = ImageStatistics.meanDiffAbsRows(imgA,imgB,y0,y1);
+				synchronized( results ) {
+					results[0] += found;
+				}
+			}
+		});
+
+		return results[0] / (double)(imgA.width*imgA.height);
+	}
+
+	/**
+	 * Computes the histogram of intensity values for the image.
+	 * 
+	 * @param input (input) Image.
+	 * @param minValue (input) Minimum possible intensity value   
+	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
+	 */
+	public static void histogram( final ImageSInt64 input , final int minValue , final int histogram[] ) {
+		for( int i = 0; i < histogram.length; i++ )
+			histogram[i] = 0;
+
+		BoofConcurrency.loopBlocks(0,input.height,input.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int local[] = new int[histogram.length];
+				ImageStatistics.histogramRows(input,minValue,local,y0,y1);
+				addHistogram(local,histogram);
+			}
+		});
+	}
+
+	/**
+	 * Computes the minimum, maximum, mean, and variance of the pixel values and optionally the histogram
+	 * in a single pass through the image.  See {@link PixelStatistics}.
+	 *
+	 * @param input (input) Image. Not modified.
+	 * @param minValue (input) Minimum possible intensity value.  Only used by the histogram.
+	 * @param histogram (output) Storage for histogram or null if not needed. Number of elements must be equal to max value.
+	 * @param output (output) Storage for the statistics.  If null a new instance is created.
+	 * @return The statistics
+	 */
+	public static PixelStatistics statistics( final ImageSInt64 input , final int minValue , final int histogram[] , PixelStatistics output ) {
+		if( output == null )
+			output = new PixelStatistics();
+		output.declareRows(input.height);
+		if( histogram != null ) {
+			for( int i = 0; i < histogram.length; i++ )
+				histogram[i] = 0;
+		}
+
+		final PixelStatistics stats = output;
+		BoofConcurrency.loopBlocks(0,input.height,input.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				if( histogram == null ) {
+					ImageStatistics.statisticsRows(input,minValue,null,stats,y0,y1);
+				} else {
+					int local[] = new int[histogram.length];
+					ImageStatistics.statisticsRows(input,minValue,local,stats,y0,y1);
+					addHistogram(local,histogram);
+				}
+			}
+		});
+		output.combineRows(input.width,input.height,input.get(0,0));
+
+		return output;
+	}
+
+	/**
+	 * Returns the minimum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Minimum pixel value.
+	 */
+	public static float min( final ImageFloat32 input ) {
+		final float results[] = new float[]{input.get(0,0)};
+
+		BoofConcurrency.loopBlocks(0,input.height,input.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				float found = ImageStatistics.minRows(input,y0,y1);
+				synchronized( results ) {
+					if( found < results[0] )
+						results[0] = found;
+				}
+			}
+		});
+
+		return results[0];
+	}
+
+	/**
+	 * Returns the maximum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Maximum pixel value.
+	 */
+	public static float max( final ImageFloat32 input ) {
+		final float results[] = new float[]{input.get(0,0)};
+
+		BoofConcurrency.loopBlocks(0,input.height,input.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				float found = ImageStatistics.maxRows(input,y0,y1);
+				synchronized( results ) {
+					if( found > results[0] )
+						results[0] = found;
+				}
+			}
+		});
+
+		return results[0];
+	}
+
+	/**
+	 * Returns the largest absolute element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Largest absolute pixel value.
+	 */
+	public static float maxAbs( final ImageFloat32 input ) {
+		final float results[] = new float[]{0};
+
+		BoofConcurrency.loopBlocks(0,input.height,input.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				float found = ImageStatistics.maxAbsRows(input,y0,y1);
+				synchronized( results ) {
+					if( found > results[0] )
+						results[0] = found;
+				}
+			}
+		});
+
+		return results[0];
+	}
+
+	/**
+	 * <p>
+	 * Returns the sum of all the pixels in the image.
+	 * </p>
+	 * 
+	 * @param img Input image. Not modified.
+	 */
+	public static float sum( final ImageFloat32 img ) {
+		final double rows[] = new double[img.height];
+
+		BoofConcurrency.loopBlocks(0,img.height,img.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ )
+					rows[y] = ImageStatistics.sumRow(img,y);
+			}
+		});
+
+		return (float)ImageStatistics.sumKahan(rows);
+	}
+
+	/**
+	 * Returns the mean pixel intensity value.
+	 * 
+	 * @param img Input image.  Not modified.
+	 * @return Mean pixel intensity value
+	 */
+	public static double mean( ImageFloat32 img ) {
+		return sum(img)/(double)(img.width*img.height);
+	}
+
+	/**
+	 * Computes the variance of pixel intensity values inside the image.
+	 *
+	 * @param img Input image. Not modified.
+	 * @param mean Mean pixel intensity value.   
+	 * @return Pixel variance   
+	 */
+	public static double variance( final ImageFloat32 img , final double mean ) {
+		final double rows[] = new double[img.height];
+
+		BoofConcurrency.loopBlocks(0,img.height,img.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ )
+					rows[y] = ImageStatistics.varianceRow(img,y,mean);
+			}
+		});
+
+		return ImageStatistics.sumKahan(rows)/(img.width*img.height);
+	}
+
+	/**
+	 * <p>Computes the mean squared error (MSE) between the two images.</p>
+	 *
+	 * @param imgA first image. Not modified.
+	 * @param imgB second image. Not modified.
+	 * @return error between the two images.
+	 */
+	public static double meanDiffSq( final ImageFloat32 imgA, final ImageFloat32 imgB ) {
+		final double rows[] = new double[imgA.height];
+
+		BoofConcurrency.loopBlocks(0,imgA.height,imgA.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ )
+					rows[y] = ImageStatistics.meanDiffSqRow(imgA,imgB,y);
+			}
+		});
+
+		return ImageStatistics.sumKahan(rows) / (double)(imgA.width*imgA.height);
+	}
+
+	/**
+	 * <p>Computes the mean absolute difference between the two images.</p>
+	 *
+	 * @param imgA first image. Not modified.
+	 * @param imgB second image. Not modified.
+	 * @return error between the two images.
+	 */
+	public static double meanDiffAbs( final ImageFloat32 imgA, final ImageFloat32 imgB ) {
+		final double rows[] = new double[imgA.height];
+
+		BoofConcurrency.loopBlocks(0,imgA.height,imgA.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ )
+					rows[y] = ImageStatistics.meanDiffAbsRow(imgA,imgB,y);
+			}
+		});
+
+		return ImageStatistics.sumKahan(rows) / (double)(imgA.width*imgA.height);
+	}
+
+	/**
+	 * Computes the histogram of intensity values for the image.
+	 * 
+	 * @param input (input) Image.
+	 * @param minValue (input) Minimum possible intensity value   
+	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
+	 */
+	public static void histogram( final ImageFloat32 input , final int minValue , final int histogram[] ) {
+		for( int i = 0; i < histogram.length; i++ )
+			histogram[i] = 0;
+
+		BoofConcurrency.loopBlocks(0,input.height,input.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int local[] = new int[histogram.length];
+				ImageStatistics.histogramRows(input,minValue,local,y0,y1);
+				addHistogram(local,histogram);
+			}
+		});
+	}
+
+	/**
+	 * Computes the minimum, maximum, mean, and variance of the pixel values and optionally the histogram
+	 * in a single pass through the image.  See {@link PixelStatistics}.
+	 *
+	 * @param input (input) Image. Not modified.
+	 * @param minValue (input) Minimum possible intensity value.  Only used by the histogram.
+	 * @param histogram (output) Storage for histogram or null if not needed. Number of elements must be equal to max value.
+	 * @param output (output) Storage for the statistics.  If null a new instance is created.
+	 * @return The statistics
+	 */
+	public static PixelStatistics statistics( final ImageFloat32 input , final int minValue , final int histogram[] , PixelStatistics output ) {
+		if( output == null )
+			output = new PixelStatistics();
+		output.declareRows(input.height);
+		if( histogram != null ) {
+			for( int i = 0; i < histogram.length; i++ )
+				histogram[i] = 0;
+		}
+
+		final PixelStatistics stats = output;
+		BoofConcurrency.loopBlocks(0,input.height,input.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				if( histogram == null ) {
+					ImageStatistics.statisticsRows(input,minValue,null,stats,y0,y1);
+				} else {
+					int local[] = new int[histogram.length];
+					ImageStatistics.statisticsRows(input,minValue,local,stats,y0,y1);
+					addHistogram(local,histogram);
+				}
+			}
+		});
+		output.combineRows(input.width,input.height,input.get(0,0));
+
+		return output;
+	}
+
+	/**
+	 * Returns the minimum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Minimum pixel value.
+	 */
+	public static double min( final ImageFloat64 input ) {
+		final double results[] = new double[]{input.get(0,0)};
+
+		BoofConcurrency.loopBlocks(0,input.height,input.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				double found = ImageStatistics.minRows(input,y0,y1);
+				synchronized( results ) {
+					if( found < results[0] )
+						results[0] = found;
+				}
+			}
+		});
+
+		return results[0];
+	}
+
+	/**
+	 * Returns the maximum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Maximum pixel value.
+	 */
+	public static double max( final ImageFloat64 input ) {
+		final double results[] = new double[]{input.get(0,0)};
+
+		BoofConcurrency.loopBlocks(0,input.height,input.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				double found = ImageStatistics.maxRows(input,y0,y1);
+				synchronized( results ) {
+					if( found > results[0] )
+						results[0] = found;
+				}
+			}
+		});
+
+		return results[0];
+	}
+
+	/**
+	 * Returns the largest absolute element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Largest absolute pixel value.
+	 */
+	public static double maxAbs( final ImageFloat64 input ) {
+		final double results[] = new double[]{0};
+
+		BoofConcurrency.loopBlocks(0,input.height,input.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				double found = ImageStatistics.maxAbsRows(input,y0,y1);
+				synchronized( results ) {
+					if( found > results[0] )
+						results[0] = found;
+				}
+			}
+		});
+
+		return results[0];
+	}
+
+	/**
+	 * <p>
+	 * Returns the sum of all the pixels in the image.
+	 * </p>
+	 * 
+	 * @param img Input image. Not modified.
+	 */
+	public static double sum( final ImageFloat64 img ) {
+		final double rows[] = new double[img.height];
+
+		BoofConcurrency.loopBlocks(0,img.height,img.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ )
+					rows[y] = ImageStatistics.sumRow(img,y);
+			}
+		});
+
+		return ImageStatistics.sumKahan(rows);
+	}
+
+	/**
+	 * Returns the mean pixel intensity value.
+	 * 
+	 * @param img Input image.  Not modified.
+	 * @return Mean pixel intensity value
+	 */
+	public static double mean( ImageFloat64 img ) {
+		return sum(img)/(double)(img.width*img.height);
+	}
+
+	/**
+	 * Computes the variance of pixel intensity values inside the image.
+	 *
+	 * @param img Input image. Not modified.
+	 * @param mean Mean pixel intensity value.   
+	 * @return Pixel variance   
+	 */
+	public static double variance( final ImageFloat64 img , final double mean ) {
+		final double rows[] = new double[img.height];
+
+		BoofConcurrency.loopBlocks(0,img.height,img.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ )
+					rows[y] = ImageStatistics.varianceRow(img,y,mean);
+			}
+		});
+
+		return ImageStatistics.sumKahan(rows)/(img.width*img.height);
+	}
+
+	/**
+	 * <p>Computes the mean squared error (MSE) between the two images.</p>
+	 *
+	 * @param imgA first image. Not modified.
+	 * @param imgB second image. Not modified.
+	 * @return error between the two images.
+	 */
+	public static double meanDiffSq( final ImageFloat64 imgA, final ImageFloat64 imgB ) {
+		final double rows[] = new double[imgA.height];
+
+		BoofConcurrency.loopBlocks(0,imgA.height,imgA.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ )
+					rows[y] = ImageStatistics.meanDiffSqRow(imgA,imgB,y);
+			}
+		});
+
+		return ImageStatistics.sumKahan(rows) / (double)(imgA.width*imgA.height);
+	}
+
+	/**
+	 * <p>Computes the mean absolute difference between the two images.</p>
+	 *
+	 * @param imgA first image. Not modified.
+	 * @param imgB second image. Not modified.
+	 * @return error between the two images.
+	 */
+	public static double meanDiffAbs( final ImageFloat64 imgA, final ImageFloat64 imgB ) {
+		final double rows[] = new double[imgA.height];
+
+		BoofConcurrency.loopBlocks(0,imgA.height,imgA.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ )
+					rows[y] = ImageStatistics.meanDiffAbsRow(imgA,imgB,y);
+			}
+		});
+
+		return ImageStatistics.sumKahan(rows) / (double)(imgA.width*imgA.height);
+	}
+
+	/**
+	 * Computes the histogram of intensity values for the image.
+	 * 
+	 * @param input (input) Image.
+	 * @param minValue (input) Minimum possible intensity value   
+	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
+	 */
+	public static void histogram( final ImageFloat64 input , final int minValue , final int histogram[] ) {
+		for( int i = 0; i < histogram.length; i++ )
+			histogram[i] = 0;
+
+		BoofConcurrency.loopBlocks(0,input.height,input.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int local[] = new int[histogram.length];
+				ImageStatistics.histogramRows(input,minValue,local,y0,y1);
+				addHistogram(local,histogram);
+			}
+		});
+	}
+
+	/**
+	 * Computes the minimum, maximum, mean, and variance of the pixel values and optionally the histogram
+	 * in a single pass through the image.  See {@link PixelStatistics}.
+	 *
+	 * @param input (input) Image. Not modified.
+	 * @param minValue (input) Minimum possible intensity value.  Only used by the histogram.
+	 * @param histogram (output) Storage for histogram or null if not needed. Number of elements must be equal to max value.
+	 * @param output (output) Storage for the statistics.  If null a new instance is created.
+	 * @return The statistics
+	 */
+	public static PixelStatistics statistics( final ImageFloat64 input , final int minValue , final int histogram[] , PixelStatistics output ) {
+		if( output == null )
+			output = new PixelStatistics();
+		output.declareRows(input.height);
+		if( histogram != null ) {
+			for( int i = 0; i < histogram.length; i++ )
+				histogram[i] = 0;
+		}
+
+		final PixelStatistics stats = output;
+		BoofConcurrency.loopBlocks(0,input.height,input.width,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				if( histogram == null ) {
+					ImageStatistics.statisticsRows(input,minValue,null,stats,y0,y1);
+				} else {
+					int local[] = new int[histogram.length];
+					ImageStatistics.statisticsRows(input,minValue,local,stats,y0,y1);
+					addHistogram(local,histogram);
+				}
+			}
+		});
+		output.combineRows(input.width,input.height,input.get(0,0));
+
+		return output;
+	}
+
+	/**
+	 * Adds the histogram computed by a single block to the total histogram
+	 */
+	private static void addHistogram( int local[] , int histogram[] ) {
+		synchronized( histogram ) {
+			for( int i = 0; i < histogram.length; i++ )
+				histogram[i] += local[i];
+		}
+	}
+
+}
@@ -41,13 +41,19 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 		
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++ , indexDst++) {
-				output.data[indexDst] = (byte)Math.abs(input.data[indexSrc]);
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = (byte)Math.abs(input.data[indexSrc+i]);
 			}
 		}
 	}
@@ -62,13 +68,19 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++ , indexDst++) {
-				output.data[indexDst] = (byte)-input.data[indexSrc];
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = (byte)-input.data[indexSrc+i];
 			}
 		}
 	}
@@ -84,13 +96,19 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 		
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++ , indexDst++) {
-				output.data[indexDst] = (short)Math.abs(input.data[indexSrc]);
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = (short)Math.abs(input.data[indexSrc+i]);
 			}
 		}
 	}
@@ -105,13 +123,19 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++ , indexDst++) {
-				output.data[indexDst] = (short)-input.data[indexSrc];
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = (short)-input.data[indexSrc+i];
 			}
 		}
 	}
@@ -127,13 +151,19 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 		
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++ , indexDst++) {
-				output.data[indexDst] = Math.abs(input.data[indexSrc]);
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = Math.abs(input.data[indexSrc+i]);
 			}
 		}
 	}
@@ -148,13 +178,19 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++ , indexDst++) {
-				output.data[indexDst] = -input.data[indexSrc];
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = -input.data[indexSrc+i];
 			}
 		}
 	}
@@ -170,13 +206,19 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 		
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++ , indexDst++) {
-				output.data[indexDst] = Math.abs(input.data[indexSrc]);
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = Math.abs(input.data[indexSrc+i]);
 			}
 		}
 	}
@@ -191,13 +233,19 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++ , indexDst++) {
-				output.data[indexDst] = -input.data[indexSrc];
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = -input.data[indexSrc+i];
 			}
 		}
 	}
@@ -213,13 +261,19 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 		
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++ , indexDst++) {
-				output.data[indexDst] = Math.abs(input.data[indexSrc]);
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = Math.abs(input.data[indexSrc+i]);
 			}
 		}
 	}
@@ -234,13 +288,19 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++ , indexDst++) {
-				output.data[indexDst] = -input.data[indexSrc];
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = -input.data[indexSrc+i];
 			}
 		}
 	}
@@ -256,13 +316,19 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 		
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++ , indexDst++) {
-				output.data[indexDst] = Math.abs(input.data[indexSrc]);
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = Math.abs(input.data[indexSrc+i]);
 			}
 		}
 	}
@@ -277,13 +343,19 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++ , indexDst++) {
-				output.data[indexDst] = -input.data[indexSrc];
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = -input.data[indexSrc+i];
 			}
 		}
 	}
@@ -300,13 +372,19 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = (byte)((input.data[indexSrc] & 0xFF) * value);
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = (byte)((input.data[indexSrc+i] & 0xFF) * value);
 			}
 		}
 	}
@@ -325,16 +403,22 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				int val = (int)((input.data[indexSrc] & 0xFF) * value);
+			for( int i = 0; i < columns; i++ ) {
+				int val = (int)((input.data[indexSrc+i] & 0xFF) * value);
 				if( val < lower ) val = lower;
 				if( val > upper ) val = upper;
-				output.data[indexDst] = (byte)val;
+				output.data[indexDst+i] = (byte)val;
 			}
 		}
 	}
@@ -350,13 +434,19 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = (byte)((input.data[indexSrc] & 0xFF) / denominator);
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = (byte)((input.data[indexSrc+i] & 0xFF) / denominator);
 			}
 		}
 	}
@@ -374,16 +464,22 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				int val = (int)((input.data[indexSrc] & 0xFF) / denominator);
+			for( int i = 0; i < columns; i++ ) {
+				int val = (int)((input.data[indexSrc+i] & 0xFF) / denominator);
 				if( val < lower ) val = lower;
 				if( val > upper ) val = upper;
-				output.data[indexDst] = (byte)val;
+				output.data[indexDst+i] = (byte)val;
 			}
 		}
 	}
@@ -399,13 +495,19 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = (byte)((input.data[indexSrc] & 0xFF) + value);
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = (byte)((input.data[indexSrc+i] & 0xFF) + value);
 			}
 		}
 	}
@@ -423,16 +525,22 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				int val = (input.data[indexSrc] & 0xFF) + value;
+			for( int i = 0; i < columns; i++ ) {
+				int val = (input.data[indexSrc+i] & 0xFF) + value;
 				if( val < lower ) val = lower;
 				if( val > upper ) val = upper;
-				output.data[indexDst] = (byte)val;
+				output.data[indexDst+i] = (byte)val;
 			}
 		}
 	}
@@ -445,21 +553,22 @@ public class PixelMath {
 	 * @param max maximum value.
 	 */
 	public static void boundImage( ImageUInt8 img , int min , int max ) {
-		final int h = img.getHeight();
-		final int w = img.getWidth();
+		int columns = img.width;
+		int rows = img.height;
+		if( img.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
 
-		byte[] data = img.data;
+		for( int y = 0; y < rows; y++ ) {
+			int index = img.startIndex + y*img.stride;
 
-		for (int y = 0; y < h; y++) {
-			int index = img.getStartIndex() + y * img.getStride();
-			int indexEnd = index+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; index < indexEnd; index++) {
-				int value = data[index]& 0xFF;
+			for( int i = 0; i < columns; i++ ) {
+				int value = img.data[index+i]& 0xFF;
 				if( value < min )
-					data[index] = (byte)min;
+					img.data[index+i] = (byte)min;
 				else if( value > max )
-					data[index] = (byte)max;
+					img.data[index+i] = (byte)max;
 			}
 		}
 	}
@@ -475,19 +584,21 @@ public class PixelMath {
 	 */
 	public static void diffAbs( ImageUInt8 imgA , ImageUInt8 imgB , ImageUInt8 diff ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,diff);
-		
-		final int h = imgA.getHeight();
-		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			int indexDiff = diff.getStartIndex() + y * diff.getStride();
-			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexA < indexEnd; indexA++, indexB++, indexDiff++ ) {
-				diff.data[indexDiff] = (byte)Math.abs((imgA.data[indexA] & 0xFF) - (imgB.data[indexB] & 0xFF));
+		int columns = imgA.width;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && diff.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = diff.startIndex + y*diff.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				diff.data[indexOut+i] = (byte)Math.abs((imgA.data[indexA+i] & 0xFF) - (imgB.data[indexB+i] & 0xFF));
 			}
 		}
 	}
@@ -532,13 +643,19 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = (byte)((input.data[indexSrc] ) * value);
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = (byte)((input.data[indexSrc+i] ) * value);
 			}
 		}
 	}
@@ -557,16 +674,22 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				int val = (int)((input.data[indexSrc] ) * value);
+			for( int i = 0; i < columns; i++ ) {
+				int val = (int)((input.data[indexSrc+i] ) * value);
 				if( val < lower ) val = lower;
 				if( val > upper ) val = upper;
-				output.data[indexDst] = (byte)val;
+				output.data[indexDst+i] = (byte)val;
 			}
 		}
 	}
@@ -582,13 +705,19 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = (byte)((input.data[indexSrc] ) / denominator);
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = (byte)((input.data[indexSrc+i] ) / denominator);
 			}
 		}
 	}
@@ -606,16 +735,22 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				int val = (int)((input.data[indexSrc] ) / denominator);
+			for( int i = 0; i < columns; i++ ) {
+				int val = (int)((input.data[indexSrc+i] ) / denominator);
 				if( val < lower ) val = lower;
 				if( val > upper ) val = upper;
-				output.data[indexDst] = (byte)val;
+				output.data[indexDst+i] = (byte)val;
 			}
 		}
 	}
@@ -631,13 +766,19 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = (byte)((input.data[indexSrc] ) + value);
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = (byte)((input.data[indexSrc+i] ) + value);
 			}
 		}
 	}
@@ -655,16 +796,22 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				int val = (input.data[indexSrc] ) + value;
+			for( int i = 0; i < columns; i++ ) {
+				int val = (input.data[indexSrc+i] ) + value;
 				if( val < lower ) val = lower;
 				if( val > upper ) val = upper;
-				output.data[indexDst] = (byte)val;
+				output.data[indexDst+i] = (byte)val;
 			}
 		}
 	}
@@ -677,21 +824,22 @@ public class PixelMath {
 	 * @param max maximum value.
 	 */
 	public static void boundImage( ImageSInt8 img , int min , int max ) {
-		final int h = img.getHeight();
-		final int w = img.getWidth();
+		int columns = img.width;
+		int rows = img.height;
+		if( img.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
 
-		byte[] data = img.data;
+		for( int y = 0; y < rows; y++ ) {
+			int index = img.startIndex + y*img.stride;
 
-		for (int y = 0; y < h; y++) {
-			int index = img.getStartIndex() + y * img.getStride();
-			int indexEnd = index+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; index < indexEnd; index++) {
-				int value = data[index];
+			for( int i = 0; i < columns; i++ ) {
+				int value = img.data[index+i];
 				if( value < min )
-					data[index] = (byte)min;
+					img.data[index+i] = (byte)min;
 				else if( value > max )
-					data[index] = (byte)max;
+					img.data[index+i] = (byte)max;
 			}
 		}
 	}
@@ -707,19 +855,21 @@ public class PixelMath {
 	 */
 	public static void diffAbs( ImageSInt8 imgA , ImageSInt8 imgB , ImageSInt8 diff ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,diff);
-		
-		final int h = imgA.getHeight();
-		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			int indexDiff = diff.getStartIndex() + y * diff.getStride();
-			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexA < indexEnd; indexA++, indexB++, indexDiff++ ) {
-				diff.data[indexDiff] = (byte)Math.abs((imgA.data[indexA] ) - (imgB.data[indexB] ));
+		int columns = imgA.width;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && diff.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = diff.startIndex + y*diff.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				diff.data[indexOut+i] = (byte)Math.abs((imgA.data[indexA+i] ) - (imgB.data[indexB+i] ));
 			}
 		}
 	}
@@ -764,13 +914,19 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = (short)((input.data[indexSrc] & 0xFFFF) * value);
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = (short)((input.data[indexSrc+i] & 0xFFFF) * value);
 			}
 		}
 	}
@@ -789,16 +945,22 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				int val = (int)((input.data[indexSrc] & 0xFFFF) * value);
+			for( int i = 0; i < columns; i++ ) {
+				int val = (int)((input.data[indexSrc+i] & 0xFFFF) * value);
 				if( val < lower ) val = lower;
 				if( val > upper ) val = upper;
-				output.data[indexDst] = (short)val;
+				output.data[indexDst+i] = (short)val;
 			}
 		}
 	}
@@ -814,13 +976,19 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = (short)((input.data[indexSrc] & 0xFFFF) / denominator);
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = (short)((input.data[indexSrc+i] & 0xFFFF) / denominator);
 			}
 		}
 	}
@@ -838,16 +1006,22 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				int val = (int)((input.data[indexSrc] & 0xFFFF) / denominator);
+			for( int i = 0; i < columns; i++ ) {
+				int val = (int)((input.data[indexSrc+i] & 0xFFFF) / denominator);
 				if( val < lower ) val = lower;
 				if( val > upper ) val = upper;
-				output.data[indexDst] = (short)val;
+				output.data[indexDst+i] = (short)val;
 			}
 		}
 	}
@@ -863,13 +1037,19 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = (short)((input.data[indexSrc] & 0xFFFF) + value);
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = (short)((input.data[indexSrc+i] & 0xFFFF) + value);
 			}
 		}
 	}
@@ -887,16 +1067,22 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				int val = (input.data[indexSrc] & 0xFFFF) + value;
+			for( int i = 0; i < columns; i++ ) {
+				int val = (input.data[indexSrc+i] & 0xFFFF) + value;
 				if( val < lower ) val = lower;
 				if( val > upper ) val = upper;
-				output.data[indexDst] = (short)val;
+				output.data[indexDst+i] = (short)val;
 			}
 		}
 	}
@@ -909,21 +1095,22 @@ public class PixelMath {
 	 * @param max maximum value.
 	 */
 	public static void boundImage( ImageUInt16 img , int min , int max ) {
-		final int h = img.getHeight();
-		final int w = img.getWidth();
+		int columns = img.width;
+		int rows = img.height;
+		if( img.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
 
-		short[] data = img.data;
+		for( int y = 0; y < rows; y++ ) {
+			int index = img.startIndex + y*img.stride;
 
-		for (int y = 0; y < h; y++) {
-			int index = img.getStartIndex() + y * img.getStride();
-			int indexEnd = index+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; index < indexEnd; index++) {
-				int value = data[index]& 0xFFFF;
+			for( int i = 0; i < columns; i++ ) {
+				int value = img.data[index+i]& 0xFFFF;
 				if( value < min )
-					data[index] = (short)min;
+					img.data[index+i] = (short)min;
 				else if( value > max )
-					data[index] = (short)max;
+					img.data[index+i] = (short)max;
 			}
 		}
 	}
@@ -939,19 +1126,21 @@ public class PixelMath {
 	 */
 	public static void diffAbs( ImageUInt16 imgA , ImageUInt16 imgB , ImageUInt16 diff ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,diff);
-		
-		final int h = imgA.getHeight();
-		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			int indexDiff = diff.getStartIndex() + y * diff.getStride();
-			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexA < indexEnd; indexA++, indexB++, indexDiff++ ) {
-				diff.data[indexDiff] = (short)Math.abs((imgA.data[indexA] & 0xFFFF) - (imgB.data[indexB] & 0xFFFF));
+		int columns = imgA.width;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && diff.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = diff.startIndex + y*diff.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				diff.data[indexOut+i] = (short)Math.abs((imgA.data[indexA+i] & 0xFFFF) - (imgB.data[indexB+i] & 0xFFFF));
 			}
 		}
 	}
@@ -996,13 +1185,19 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = (short)((input.data[indexSrc] ) * value);
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = (short)((input.data[indexSrc+i] ) * value);
 			}
 		}
 	}
@@ -1021,16 +1216,22 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				int val = (int)((input.data[indexSrc] ) * value);
+			for( int i = 0; i < columns; i++ ) {
+				int val = (int)((input.data[indexSrc+i] ) * value);
 				if( val < lower ) val = lower;
 				if( val > upper ) val = upper;
-				output.data[indexDst] = (short)val;
+				output.data[indexDst+i] = (short)val;
 			}
 		}
 	}
@@ -1046,13 +1247,19 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = (short)((input.data[indexSrc] ) / denominator);
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = (short)((input.data[indexSrc+i] ) / denominator);
 			}
 		}
 	}
@@ -1070,16 +1277,22 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				int val = (int)((input.data[indexSrc] ) / denominator);
+			for( int i = 0; i < columns; i++ ) {
+				int val = (int)((input.data[indexSrc+i] ) / denominator);
 				if( val < lower ) val = lower;
 				if( val > upper ) val = upper;
-				output.data[indexDst] = (short)val;
+				output.data[indexDst+i] = (short)val;
 			}
 		}
 	}
@@ -1095,13 +1308,19 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = (short)((input.data[indexSrc] ) + value);
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = (short)((input.data[indexSrc+i] ) + value);
 			}
 		}
 	}
@@ -1119,16 +1338,22 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				int val = (input.data[indexSrc] ) + value;
+			for( int i = 0; i < columns; i++ ) {
+				int val = (input.data[indexSrc+i] ) + value;
 				if( val < lower ) val = lower;
 				if( val > upper ) val = upper;
-				output.data[indexDst] = (short)val;
+				output.data[indexDst+i] = (short)val;
 			}
 		}
 	}
@@ -1141,21 +1366,22 @@ public class PixelMath {
 	 * @param max maximum value.
 	 */
 	public static void boundImage( ImageSInt16 img , int min , int max ) {
-		final int h = img.getHeight();
-		final int w = img.getWidth();
+		int columns = img.width;
+		int rows = img.height;
+		if( img.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
 
-		short[] data = img.data;
+		for( int y = 0; y < rows; y++ ) {
+			int index = img.startIndex + y*img.stride;
 
-		for (int y = 0; y < h; y++) {
-			int index = img.getStartIndex() + y * img.getStride();
-			int indexEnd = index+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; index < indexEnd; index++) {
-				int value = data[index];
+			for( int i = 0; i < columns; i++ ) {
+				int value = img.data[index+i];
 				if( value < min )
-					data[index] = (short)min;
+					img.data[index+i] = (short)min;
 				else if( value > max )
-					data[index] = (short)max;
+					img.data[index+i] = (short)max;
 			}
 		}
 	}
@@ -1171,19 +1397,21 @@ public class PixelMath {
 	 */
 	public static void diffAbs( ImageSInt16 imgA , ImageSInt16 imgB , ImageSInt16 diff ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,diff);
-		
-		final int h = imgA.getHeight();
-		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			int indexDiff = diff.getStartIndex() + y * diff.getStride();
-			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexA < indexEnd; indexA++, indexB++, indexDiff++ ) {
-				diff.data[indexDiff] = (short)Math.abs((imgA.data[indexA] ) - (imgB.data[indexB] ));
+		int columns = imgA.width;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && diff.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = diff.startIndex + y*diff.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				diff.data[indexOut+i] = (short)Math.abs((imgA.data[indexA+i] ) - (imgB.data[indexB+i] ));
 			}
 		}
 	}
@@ -1228,13 +1456,19 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = (int)((input.data[indexSrc] ) * value);
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = (int)((input.data[indexSrc+i] ) * value);
 			}
 		}
 	}
@@ -1253,16 +1487,22 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				int val = (int)((input.data[indexSrc] ) * value);
+			for( int i = 0; i < columns; i++ ) {
+				int val = (int)((input.data[indexSrc+i] ) * value);
 				if( val < lower ) val = lower;
 				if( val > upper ) val = upper;
-				output.data[indexDst] = val;
+				output.data[indexDst+i] = val;
 			}
 		}
 	}
@@ -1278,13 +1518,19 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = (int)((input.data[indexSrc] ) / denominator);
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = (int)((input.data[indexSrc+i] ) / denominator);
 			}
 		}
 	}
@@ -1302,16 +1548,22 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				int val = (int)((input.data[indexSrc] ) / denominator);
+			for( int i = 0; i < columns; i++ ) {
+				int val = (int)((input.data[indexSrc+i] ) / denominator);
 				if( val < lower ) val = lower;
 				if( val > upper ) val = upper;
-				output.data[indexDst] = val;
+				output.data[indexDst+i] = val;
 			}
 		}
 	}
@@ -1327,13 +1579,19 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = ((input.data[indexSrc] ) + value);
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = ((input.data[indexSrc+i] ) + value);
 			}
 		}
 	}
@@ -1351,16 +1609,22 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				int val = (input.data[indexSrc] ) + value;
+			for( int i = 0; i < columns; i++ ) {
+				int val = (input.data[indexSrc+i] ) + value;
 				if( val < lower ) val = lower;
 				if( val > upper ) val = upper;
-				output.data[indexDst] = val;
+				output.data[indexDst+i] = val;
 			}
 		}
 	}
@@ -1373,21 +1637,22 @@ public class PixelMath {
 	 * @param max maximum value.
 	 */
 	public static void boundImage( ImageSInt32 img , int min , int max ) {
-		final int h = img.getHeight();
-		final int w = img.getWidth();
+		int columns = img.width;
+		int rows = img.height;
+		if( img.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
 
-		int[] data = img.data;
+		for( int y = 0; y < rows; y++ ) {
+			int index = img.startIndex + y*img.stride;
 
-		for (int y = 0; y < h; y++) {
-			int index = img.getStartIndex() + y * img.getStride();
-			int indexEnd = index+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; index < indexEnd; index++) {
-				int value = data[index];
+			for( int i = 0; i < columns; i++ ) {
+				int value = img.data[index+i];
 				if( value < min )
-					data[index] = min;
+					img.data[index+i] = min;
 				else if( value > max )
-					data[index] = max;
+					img.data[index+i] = max;
 			}
 		}
 	}
@@ -1403,19 +1668,21 @@ public class PixelMath {
 	 */
 	public static void diffAbs( ImageSInt32 imgA , ImageSInt32 imgB , ImageSInt32 diff ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,diff);
-		
-		final int h = imgA.getHeight();
-		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			int indexDiff = diff.getStartIndex() + y * diff.getStride();
-			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexA < indexEnd; indexA++, indexB++, indexDiff++ ) {
-				diff.data[indexDiff] = (int)Math.abs((imgA.data[indexA] ) - (imgB.data[indexB] ));
+		int columns = imgA.width;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && diff.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = diff.startIndex + y*diff.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				diff.data[indexOut+i] = Math.abs((imgA.data[indexA+i] ) - (imgB.data[indexB+i] ));
 			}
 		}
 	}
@@ -1460,13 +1727,19 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = (long)((input.data[indexSrc] ) * value);
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = (long)((input.data[indexSrc+i] ) * value);
 			}
 		}
 	}
@@ -1485,16 +1758,22 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				long val = (long)((input.data[indexSrc] ) * value);
+			for( int i = 0; i < columns; i++ ) {
+				long val = (long)((input.data[indexSrc+i] ) * value);
 				if( val < lower ) val = lower;
 				if( val > upper ) val = upper;
-				output.data[indexDst] = val;
+				output.data[indexDst+i] = val;
 			}
 		}
 	}
@@ -1510,13 +1789,19 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = (long)((input.data[indexSrc] ) / denominator);
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = (long)((input.data[indexSrc+i] ) / denominator);
 			}
 		}
 	}
@@ -1534,16 +1819,22 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				long val = (long)((input.data[indexSrc] ) / denominator);
+			for( int i = 0; i < columns; i++ ) {
+				long val = (long)((input.data[indexSrc+i] ) / denominator);
 				if( val < lower ) val = lower;
 				if( val > upper ) val = upper;
-				output.data[indexDst] = val;
+				output.data[indexDst+i] = val;
 			}
 		}
 	}
@@ -1559,13 +1850,19 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = ((input.data[indexSrc] ) + value);
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = ((input.data[indexSrc+i] ) + value);
 			}
 		}
 	}
@@ -1583,16 +1880,22 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				long val = (input.data[indexSrc] ) + value;
+			for( int i = 0; i < columns; i++ ) {
+				long val = (input.data[indexSrc+i] ) + value;
 				if( val < lower ) val = lower;
 				if( val > upper ) val = upper;
-				output.data[indexDst] = val;
+				output.data[indexDst+i] = val;
 			}
 		}
 	}
@@ -1605,21 +1908,22 @@ public class PixelMath {
 	 * @param max maximum value.
 	 */
 	public static void boundImage( ImageSInt64 img , long min , long max ) {
-		final int h = img.getHeight();
-		final int w = img.getWidth();
+		int columns = img.width;
+		int rows = img.height;
+		if( img.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
 
-		long[] data = img.data;
+		for( int y = 0; y < rows; y++ ) {
+			int index = img.startIndex + y*img.stride;
 
-		for (int y = 0; y < h; y++) {
-			int index = img.getStartIndex() + y * img.getStride();
-			int indexEnd = index+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; index < indexEnd; index++) {
-				long value = data[index];
+			for( int i = 0; i < columns; i++ ) {
+				long value = img.data[index+i];
 				if( value < min )
-					data[index] = min;
+					img.data[index+i] = min;
 				else if( value > max )
-					data[index] = max;
+					img.data[index+i] = max;
 			}
 		}
 	}
@@ -1635,19 +1939,21 @@ public class PixelMath {
 	 */
 	public static void diffAbs( ImageSInt64 imgA , ImageSInt64 imgB , ImageSInt64 diff ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,diff);
-		
-		final int h = imgA.getHeight();
-		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			int indexDiff = diff.getStartIndex() + y * diff.getStride();
-			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexA < indexEnd; indexA++, indexB++, indexDiff++ ) {
-				diff.data[indexDiff] = (long)Math.abs((imgA.data[indexA] ) - (imgB.data[indexB] ));
+		int columns = imgA.width;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && diff.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = diff.startIndex + y*diff.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				diff.data[indexOut+i] = Math.abs((imgA.data[indexA+i] ) - (imgB.data[indexB+i] ));
 			}
 		}
 	}
@@ -1692,13 +1998,19 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = ((input.data[indexSrc] ) * value);
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = ((input.data[indexSrc+i] ) * value);
 			}
 		}
 	}
@@ -1717,16 +2029,22 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				float val = ((input.data[indexSrc] ) * value);
+			for( int i = 0; i < columns; i++ ) {
+				float val = ((input.data[indexSrc+i] ) * value);
 				if( val < lower ) val = lower;
 				if( val > upper ) val = upper;
-				output.data[indexDst] = val;
+				output.data[indexDst+i] = val;
 			}
 		}
 	}
@@ -1742,13 +2060,19 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = ((input.data[indexSrc] ) / denominator);
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = ((input.data[indexSrc+i] ) / denominator);
 			}
 		}
 	}
@@ -1766,16 +2090,22 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				float val = ((input.data[indexSrc] ) / denominator);
+			for( int i = 0; i < columns; i++ ) {
+				float val = ((input.data[indexSrc+i] ) / denominator);
 				if( val < lower ) val = lower;
 				if( val > upper ) val = upper;
-				output.data[indexDst] = val;
+				output.data[indexDst+i] = val;
 			}
 		}
 	}
@@ -1791,13 +2121,19 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = ((input.data[indexSrc] ) + value);
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = ((input.data[indexSrc+i] ) + value);
 			}
 		}
 	}
@@ -1815,16 +2151,22 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				float val = (input.data[indexSrc] ) + value;
+			for( int i = 0; i < columns; i++ ) {
+				float val = (input.data[indexSrc+i] ) + value;
 				if( val < lower ) val = lower;
 				if( val > upper ) val = upper;
-				output.data[indexDst] = val;
+				output.data[indexDst+i] = val;
 			}
 		}
 	}
@@ -1837,21 +2179,22 @@ public class PixelMath {
 	 * @param max maximum value.
 	 */
 	public static void boundImage( ImageFloat32 img , float min , float max ) {
-		final int h = img.getHeight();
-		final int w = img.getWidth();
+		int columns = img.width;
+		int rows = img.height;
+		if( img.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
 
-		float[] data = img.data;
+		for( int y = 0; y < rows; y++ ) {
+			int index = img.startIndex + y*img.stride;
 
-		for (int y = 0; y < h; y++) {
-			int index = img.getStartIndex() + y * img.getStride();
-			int indexEnd = index+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; index < indexEnd; index++) {
-				float value = data[index];
+			for( int i = 0; i < columns; i++ ) {
+				float value = img.data[index+i];
 				if( value < min )
-					data[index] = min;
+					img.data[index+i] = min;
 				else if( value > max )
-					data[index] = max;
+					img.data[index+i] = max;
 			}
 		}
 	}
@@ -1867,19 +2210,21 @@ public class PixelMath {
 	 */
 	public static void diffAbs( ImageFloat32 imgA , ImageFloat32 imgB , ImageFloat32 diff ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,diff);
-		
-		final int h = imgA.getHeight();
-		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			int indexDiff = diff.getStartIndex() + y * diff.getStride();
-			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexA < indexEnd; indexA++, indexB++, indexDiff++ ) {
-				diff.data[indexDiff] = Math.abs((imgA.data[indexA] ) - (imgB.data[indexB] ));
+		int columns = imgA.width;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && diff.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = diff.startIndex + y*diff.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				diff.data[indexOut+i] = Math.abs((imgA.data[indexA+i] ) - (imgB.data[indexB+i] ));
 			}
 		}
 	}
@@ -1924,13 +2269,19 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = ((input.data[indexSrc] ) * value);
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = ((input.data[indexSrc+i] ) * value);
 			}
 		}
 	}
@@ -1949,16 +2300,22 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				double val = ((input.data[indexSrc] ) * value);
+			for( int i = 0; i < columns; i++ ) {
+				double val = ((input.data[indexSrc+i] ) * value);
 				if( val < lower ) val = lower;
 				if( val > upper ) val = upper;
-				output.data[indexDst] = val;
+				output.data[indexDst+i] = val;
 			}
 		}
 	}
@@ -1974,13 +2331,19 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = ((input.data[indexSrc] ) / denominator);
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = ((input.data[indexSrc+i] ) / denominator);
 			}
 		}
 	}
@@ -1998,16 +2361,22 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				double val = ((input.data[indexSrc] ) / denominator);
+			for( int i = 0; i < columns; i++ ) {
+				double val = ((input.data[indexSrc+i] ) / denominator);
 				if( val < lower ) val = lower;
 				if( val > upper ) val = upper;
-				output.data[indexDst] = val;
+				output.data[indexDst+i] = val;
 			}
 		}
 	}
@@ -2023,13 +2392,19 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = ((input.data[indexSrc] ) + value);
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = ((input.data[indexSrc+i] ) + value);
 			}
 		}
 	}
@@ -2047,16 +2422,22 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				double val = (input.data[indexSrc] ) + value;
+			for( int i = 0; i < columns; i++ ) {
+				double val = (input.data[indexSrc+i] ) + value;
 				if( val < lower ) val = lower;
 				if( val > upper ) val = upper;
-				output.data[indexDst] = val;
+				output.data[indexDst+i] = val;
 			}
 		}
 	}
@@ -2069,21 +2450,22 @@ public class PixelMath {
 	 * @param max maximum value.
 	 */
 	public static void boundImage( ImageFloat64 img , double min , double max ) {
-		final int h = img.getHeight();
-		final int w = img.getWidth();
+		int columns = img.width;
+		int rows = img.height;
+		if( img.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
 
-		double[] data = img.data;
+		for( int y = 0; y < rows; y++ ) {
+			int index = img.startIndex + y*img.stride;
 
-		for (int y = 0; y < h; y++) {
-			int index = img.getStartIndex() + y * img.getStride();
-			int indexEnd = index+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; index < indexEnd; index++) {
-				double value = data[index];
+			for( int i = 0; i < columns; i++ ) {
+				double value = img.data[index+i];
 				if( value < min )
-					data[index] = min;
+					img.data[index+i] = min;
 				else if( value > max )
-					data[index] = max;
+					img.data[index+i] = max;
 			}
 		}
 	}
@@ -2099,19 +2481,21 @@ public class PixelMath {
 	 */
 	public static void diffAbs( ImageFloat64 imgA , ImageFloat64 imgB , ImageFloat64 diff ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,diff);
-		
-		final int h = imgA.getHeight();
-		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			int indexDiff = diff.getStartIndex() + y * diff.getStride();
-			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexA < indexEnd; indexA++, indexB++, indexDiff++ ) {
-				diff.data[indexDiff] = Math.abs((imgA.data[indexA] ) - (imgB.data[indexB] ));
+		int columns = imgA.width;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && diff.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = diff.startIndex + y*diff.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				diff.data[indexOut+i] = Math.abs((imgA.data[indexA+i] ) - (imgB.data[indexB+i] ));
 			}
 		}
 	}
@@ -2155,19 +2539,21 @@ public class PixelMath {
 	 */
 	public static void add( ImageUInt8 imgA , ImageUInt8 imgB , ImageUInt16 output ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
-		
-		final int h = imgA.getHeight();
-		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			int indexOut = output.getStartIndex() + y * output.getStride();
-			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
-				output.data[indexOut] = (short)((imgA.data[indexA] & 0xFF) + (imgB.data[indexB] & 0xFF));
+		int columns = imgA.width;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexOut+i] = (short)((imgA.data[indexA+i] & 0xFF) + (imgB.data[indexB+i] & 0xFF));
 			}
 		}
 	}
@@ -2183,19 +2569,21 @@ public class PixelMath {
 	 */
 	public static void subtract( ImageUInt8 imgA , ImageUInt8 imgB , ImageInt16 output ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
-		
-		final int h = imgA.getHeight();
-		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			int indexOut = output.getStartIndex() + y * output.getStride();
-			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
-				output.data[indexOut] = (short)((imgA.data[indexA] & 0xFF) - (imgB.data[indexB] & 0xFF));
+		int columns = imgA.width;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexOut+i] = (short)((imgA.data[indexA+i] & 0xFF) - (imgB.data[indexB+i] & 0xFF));
 			}
 		}
 	}
@@ -2211,19 +2599,21 @@ public class PixelMath {
 	 */
 	public static void add( ImageSInt8 imgA , ImageSInt8 imgB , ImageSInt16 output ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
-		
-		final int h = imgA.getHeight();
-		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			int indexOut = output.getStartIndex() + y * output.getStride();
-			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
-				output.data[indexOut] = (short)((imgA.data[indexA] ) + (imgB.data[indexB] ));
+		int columns = imgA.width;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexOut+i] = (short)((imgA.data[indexA+i] ) + (imgB.data[indexB+i] ));
 			}
 		}
 	}
@@ -2239,19 +2629,21 @@ public class PixelMath {
 	 */
 	public static void subtract( ImageSInt8 imgA , ImageSInt8 imgB , ImageSInt16 output ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
-		
-		final int h = imgA.getHeight();
-		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			int indexOut = output.getStartIndex() + y * output.getStride();
-			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
-				output.data[indexOut] = (short)((imgA.data[indexA] ) - (imgB.data[indexB] ));
+		int columns = imgA.width;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexOut+i] = (short)((imgA.data[indexA+i] ) - (imgB.data[indexB+i] ));
 			}
 		}
 	}
@@ -2267,19 +2659,21 @@ public class PixelMath {
 	 */
 	public static void add( ImageUInt16 imgA , ImageUInt16 imgB , ImageSInt32 output ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
-		
-		final int h = imgA.getHeight();
-		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			int indexOut = output.getStartIndex() + y * output.getStride();
-			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
-				output.data[indexOut] = (int)((imgA.data[indexA] & 0xFFFF) + (imgB.data[indexB] & 0xFFFF));
+		int columns = imgA.width;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexOut+i] = ((imgA.data[indexA+i] & 0xFFFF) + (imgB.data[indexB+i] & 0xFFFF));
 			}
 		}
 	}
@@ -2295,19 +2689,21 @@ public class PixelMath {
 	 */
 	public static void subtract( ImageUInt16 imgA , ImageUInt16 imgB , ImageSInt32 output ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
-		
-		final int h = imgA.getHeight();
-		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			int indexOut = output.getStartIndex() + y * output.getStride();
-			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
-				output.data[indexOut] = (int)((imgA.data[indexA] & 0xFFFF) - (imgB.data[indexB] & 0xFFFF));
+		int columns = imgA.width;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexOut+i] = ((imgA.data[indexA+i] & 0xFFFF) - (imgB.data[indexB+i] & 0xFFFF));
 			}
 		}
 	}
@@ -2323,19 +2719,21 @@ public class PixelMath {
 	 */
 	public static void add( ImageSInt16 imgA , ImageSInt16 imgB , ImageSInt32 output ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
-		
-		final int h = imgA.getHeight();
-		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			int indexOut = output.getStartIndex() + y * output.getStride();
-			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
-				output.data[indexOut] = (int)((imgA.data[indexA] ) + (imgB.data[indexB] ));
+		int columns = imgA.width;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexOut+i] = ((imgA.data[indexA+i] ) + (imgB.data[indexB+i] ));
 			}
 		}
 	}
@@ -2351,19 +2749,21 @@ public class PixelMath {
 	 */
 	public static void subtract( ImageSInt16 imgA , ImageSInt16 imgB , ImageSInt32 output ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
-		
-		final int h = imgA.getHeight();
-		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			int indexOut = output.getStartIndex() + y * output.getStride();
-			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
-				output.data[indexOut] = (int)((imgA.data[indexA] ) - (imgB.data[indexB] ));
+		int columns = imgA.width;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexOut+i] = ((imgA.data[indexA+i] ) - (imgB.data[indexB+i] ));
 			}
 		}
 	}
@@ -2379,19 +2779,21 @@ public class PixelMath {
 	 */
 	public static void add( ImageSInt32 imgA , ImageSInt32 imgB , ImageSInt32 output ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
-		
-		final int h = imgA.getHeight();
-		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			int indexOut = output.getStartIndex() + y * output.getStride();
-			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
-				output.data[indexOut] = (int)((imgA.data[indexA] ) + (imgB.data[indexB] ));
+		int columns = imgA.width;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexOut+i] = ((imgA.data[indexA+i] ) + (imgB.data[indexB+i] ));
 			}
 		}
 	}
@@ -2407,19 +2809,21 @@ public class PixelMath {
 	 */
 	public static void subtract( ImageSInt32 imgA , ImageSInt32 imgB , ImageSInt32 output ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
-		
-		final int h = imgA.getHeight();
-		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			int indexOut = output.getStartIndex() + y * output.getStride();
-			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
-				output.data[indexOut] = (int)((imgA.data[indexA] ) - (imgB.data[indexB] ));
+		int columns = imgA.width;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexOut+i] = ((imgA.data[indexA+i] ) - (imgB.data[indexB+i] ));
 			}
 		}
 	}
@@ -2435,20 +2839,22 @@ public class PixelMath {
 	 */
 	public static void add( ImageSInt64 imgA , ImageSInt64 imgB , ImageSInt64 output ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
-		
-		final int h = imgA.getHeight();
-		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			int indexOut = output.getStartIndex() + y * output.getStride();
-			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
-				output.data[indexOut] = (long)((imgA.data[indexA] ) + (imgB.data[indexB] ));
-			}
+		int columns = imgA.width;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexOut+i] = ((imgA.data[indexA+i] ) + (imgB.data[indexB+i] ));
+			}
 		}
 	}
 
@@ -2463,19 +2869,21 @@ public class PixelMath {
 	 */
 	public static void subtract( ImageSInt64 imgA , ImageSInt64 imgB , ImageSInt64 output ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
-		
-		final int h = imgA.getHeight();
-		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			int indexOut = output.getStartIndex() + y * output.getStride();
-			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
-				output.data[indexOut] = (long)((imgA.data[indexA] ) - (imgB.data[indexB] ));
+		int columns = imgA.width;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexOut+i] = ((imgA.data[indexA+i] ) - (imgB.data[indexB+i] ));
 			}
 		}
 	}
@@ -2491,19 +2899,21 @@ public class PixelMath {
 	 */
 	public static void add( ImageFloat32 imgA , ImageFloat32 imgB , ImageFloat32 output ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
-		
-		final int h = imgA.getHeight();
-		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			int indexOut = output.getStartIndex() + y * output.getStride();
-			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
-				output.data[indexOut] = ((imgA.data[indexA] ) + (imgB.data[indexB] ));
+		int columns = imgA.width;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexOut+i] = ((imgA.data[indexA+i] ) + (imgB.data[indexB+i] ));
 			}
 		}
 	}
@@ -2519,19 +2929,21 @@ public class PixelMath {
 	 */
 	public static void subtract( ImageFloat32 imgA , ImageFloat32 imgB , ImageFloat32 output ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
-		
-		final int h = imgA.getHeight();
-		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			int indexOut = output.getStartIndex() + y * output.getStride();
-			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
-				output.data[indexOut] = ((imgA.data[indexA] ) - (imgB.data[indexB] ));
+		int columns = imgA.width;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexOut+i] = ((imgA.data[indexA+i] ) - (imgB.data[indexB+i] ));
 			}
 		}
 	}
@@ -2547,19 +2959,21 @@ public class PixelMath {
 	 */
 	public static void multiply( ImageFloat32 imgA , ImageFloat32 imgB , ImageFloat32 output ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
-		
-		final int h = imgA.getHeight();
-		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			int indexOut = output.getStartIndex() + y * output.getStride();
-			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
-				output.data[indexOut] = ((imgA.data[indexA] ) * (imgB.data[indexB] ));
+		int columns = imgA.width;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexOut+i] = ((imgA.data[indexA+i] ) * (imgB.data[indexB+i] ));
 			}
 		}
 	}
@@ -2575,19 +2989,21 @@ public class PixelMath {
 	 */
 	public static void divide( ImageFloat32 imgA , ImageFloat32 imgB , ImageFloat32 output ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
-		
-		final int h = imgA.getHeight();
-		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			int indexOut = output.getStartIndex() + y * output.getStride();
-			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
-				output.data[indexOut] = ((imgA.data[indexA] ) / (imgB.data[indexB] ));
+		int columns = imgA.width;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexOut+i] = ((imgA.data[indexA+i] ) / (imgB.data[indexB+i] ));
 			}
 		}
 	}
@@ -2603,13 +3019,19 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++ , indexDst++) {
-				output.data[indexDst] = (float)Math.log(1 + input.data[indexSrc]);
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = (float)Math.log(1 + input.data[indexSrc+i]);
 			}
 		}
 	}
@@ -2624,14 +3046,20 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++ , indexDst++) {
-				float v = input.data[indexSrc];
-				output.data[indexDst] = v*v;
+			for( int i = 0; i < columns; i++ ) {
+				float v = input.data[indexSrc+i];
+				output.data[indexDst+i] = v*v;
 			}
 		}
 	}
@@ -2647,13 +3075,19 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++ , indexDst++) {
-				output.data[indexDst] = (float)Math.sqrt(input.data[indexSrc]);
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = (float)Math.sqrt(input.data[indexSrc+i]);
 			}
 		}
 	}
@@ -2669,19 +3103,21 @@ public class PixelMath {
 	 */
 	public static void add( ImageFloat64 imgA , ImageFloat64 imgB , ImageFloat64 output ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
-		
-		final int h = imgA.getHeight();
-		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			int indexOut = output.getStartIndex() + y * output.getStride();
-			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
-				output.data[indexOut] = ((imgA.data[indexA] ) + (imgB.data[indexB] ));
+		int columns = imgA.width;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexOut+i] = ((imgA.data[indexA+i] ) + (imgB.data[indexB+i] ));
 			}
 		}
 	}
@@ -2697,19 +3133,21 @@ public class PixelMath {
 	 */
 	public static void subtract( ImageFloat64 imgA , ImageFloat64 imgB , ImageFloat64 output ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
-		
-		final int h = imgA.getHeight();
-		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			int indexOut = output.getStartIndex() + y * output.getStride();
-			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
-				output.data[indexOut] = ((imgA.data[indexA] ) - (imgB.data[indexB] ));
+		int columns = imgA.width;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexOut+i] = ((imgA.data[indexA+i] ) - (imgB.data[indexB+i] ));
 			}
 		}
 	}
@@ -2725,19 +3163,21 @@ public class PixelMath {
 	 */
 	public static void multiply( ImageFloat64 imgA , ImageFloat64 imgB , ImageFloat64 output ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
-		
-		final int h = imgA.getHeight();
-		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			int indexOut = output.getStartIndex() + y * output.getStride();
-			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
-				output.data[indexOut] = ((imgA.data[indexA] ) * (imgB.data[indexB] ));
+		int columns = imgA.width;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexOut+i] = ((imgA.data[indexA+i] ) * (imgB.data[indexB+i] ));
 			}
 		}
 	}
@@ -2753,19 +3193,21 @@ public class PixelMath {
 	 */
 	public static void divide( ImageFloat64 imgA , ImageFloat64 imgB , ImageFloat64 output ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
-		
-		final int h = imgA.getHeight();
-		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			int indexOut = output.getStartIndex() + y * output.getStride();
-			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
-				output.data[indexOut] = ((imgA.data[indexA] ) / (imgB.data[indexB] ));
+		int columns = imgA.width;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexOut+i] = ((imgA.data[indexA+i] ) / (imgB.data[indexB+i] ));
 			}
 		}
 	}
@@ -2781,13 +3223,19 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++ , indexDst++) {
-				output.data[indexDst] = Math.log(1 + input.data[indexSrc]);
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = Math.log(1 + input.data[indexSrc+i]);
 			}
 		}
 	}
@@ -2802,14 +3250,20 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++ , indexDst++) {
-				double v = input.data[indexSrc];
-				output.data[indexDst] = v*v;
+			for( int i = 0; i < columns; i++ ) {
+				double v = input.data[indexSrc+i];
+				output.data[indexDst+i] = v*v;
 			}
 		}
 	}
@@ -2825,13 +3279,3293 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = Math.sqrt(input.data[indexSrc+i]);
+			}
+		}
+	}
+
+	/**
+	 * Sets each pixel in the output image to be the absolute value of the input image.
+	 * Both the input and output image can be the same instance.
+	 * 
+	 * @param input The input image. Not modified.
+	 * @param output Where the absolute value image is written to. Modified.
+	 */
+	public static void abs( InterleavedS8 input , InterleavedS8 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+		
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = (byte)Math.abs(input.data[indexSrc+i]);
+			}
+		}
+	}
+
+	/**
+	 * Changes the sign of every pixel in the image: output[x,y] = -input[x,y]
+	 *
+	 * @param input The input image. Not modified.
+	 * @param output Where the inverted image is written to. Modified.
+	 */
+	public static void invert( InterleavedS8 input , InterleavedS8 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = (byte)-input.data[indexSrc+i];
+			}
+		}
+	}
+
+	/**
+	 * Sets each pixel in the output image to be the absolute value of the input image.
+	 * Both the input and output image can be the same instance.
+	 * 
+	 * @param input The input image. Not modified.
+	 * @param output Where the absolute value image is written to. Modified.
+	 */
+	public static void abs( InterleavedS16 input , InterleavedS16 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+		
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = (short)Math.abs(input.data[indexSrc+i]);
+			}
+		}
+	}
+
+	/**
+	 * Changes the sign of every pixel in the image: output[x,y] = -input[x,y]
+	 *
+	 * @param input The input image. Not modified.
+	 * @param output Where the inverted image is written to. Modified.
+	 */
+	public static void invert( InterleavedS16 input , InterleavedS16 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = (short)-input.data[indexSrc+i];
+			}
+		}
+	}
+
+	/**
+	 * Sets each pixel in the output image to be the absolute value of the input image.
+	 * Both the input and output image can be the same instance.
+	 * 
+	 * @param input The input image. Not modified.
+	 * @param output Where the absolute value image is written to. Modified.
+	 */
+	public static void abs( InterleavedS32 input , InterleavedS32 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+		
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = Math.abs(input.data[indexSrc+i]);
+			}
+		}
+	}
+
+	/**
+	 * Changes the sign of every pixel in the image: output[x,y] = -input[x,y]
+	 *
+	 * @param input The input image. Not modified.
+	 * @param output Where the inverted image is written to. Modified.
+	 */
+	public static void invert( InterleavedS32 input , InterleavedS32 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = -input.data[indexSrc+i];
+			}
+		}
+	}
+
+	/**
+	 * Sets each pixel in the output image to be the absolute value of the input image.
+	 * Both the input and output image can be the same instance.
+	 * 
+	 * @param input The input image. Not modified.
+	 * @param output Where the absolute value image is written to. Modified.
+	 */
+	public static void abs( InterleavedS64 input , InterleavedS64 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+		
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = Math.abs(input.data[indexSrc+i]);
+			}
+		}
+	}
+
+	/**
+	 * Changes the sign of every pixel in the image: output[x,y] = -input[x,y]
+	 *
+	 * @param input The input image. Not modified.
+	 * @param output Where the inverted image is written to. Modified.
+	 */
+	public static void invert( InterleavedS64 input , InterleavedS64 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = -input.data[indexSrc+i];
+			}
+		}
+	}
+
+	/**
+	 * Sets each pixel in the output image to be the absolute value of the input image.
+	 * Both the input and output image can be the same instance.
+	 * 
+	 * @param input The input image. Not modified.
+	 * @param output Where the absolute value image is written to. Modified.
+	 */
+	public static void abs( InterleavedF32 input , InterleavedF32 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+		
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = Math.abs(input.data[indexSrc+i]);
+			}
+		}
+	}
+
+	/**
+	 * Changes the sign of every pixel in the image: output[x,y] = -input[x,y]
+	 *
+	 * @param input The input image. Not modified.
+	 * @param output Where the inverted image is written to. Modified.
+	 */
+	public static void invert( InterleavedF32 input , InterleavedF32 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = -input.data[indexSrc+i];
+			}
+		}
+	}
+
+	/**
+	 * Sets each pixel in the output image to be the absolute value of the input image.
+	 * Both the input and output image can be the same instance.
+	 * 
+	 * @param input The input image. Not modified.
+	 * @param output Where the absolute value image is written to. Modified.
+	 */
+	public static void abs( InterleavedF64 input , InterleavedF64 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+		
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = Math.abs(input.data[indexSrc+i]);
+			}
+		}
+	}
+
+	/**
+	 * Changes the sign of every pixel in the image: output[x,y] = -input[x,y]
+	 *
+	 * @param input The input image. Not modified.
+	 * @param output Where the inverted image is written to. Modified.
+	 */
+	public static void invert( InterleavedF64 input , InterleavedF64 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = -input.data[indexSrc+i];
+			}
+		}
+	}
+
+	/**
+	 * Multiply each element by a scalar value. Both input and output images can
+	 * be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param value What each element is multiplied by.
+	 * @param output The output image. Modified.
+	 */
+	public static void multiply( InterleavedU8 input , double value , InterleavedU8 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = (byte)((input.data[indexSrc+i] & 0xFF) * value);
+			}
+		}
+	}
+
+	/**
+	 * Multiply each element by a scalar value and bounds the result. Both input and output images can
+	 * be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param value What each element is multiplied by.
+	 * @param lower Lower bound on output
+	 * @param upper Upper bound on output
+	 * @param output The output image. Modified.
+	 */
+	public static void multiply( InterleavedU8 input , double value , int lower , int upper , InterleavedU8 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				int val = (int)((input.data[indexSrc+i] & 0xFF) * value);
+				if( val < lower ) val = lower;
+				if( val > upper ) val = upper;
+				output.data[indexDst+i] = (byte)val;
+			}
+		}
+	}
+
+	/**
+	 * Divide each element by a scalar value. Both input and output images can be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param denominator What each element is divided by.
+	 * @param output The output image. Modified.
+	 */
+	public static void divide( InterleavedU8 input , double denominator , InterleavedU8 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = (byte)((input.data[indexSrc+i] & 0xFF) / denominator);
+			}
+		}
+	}
+
+	/**
+	 * Divide each element by a scalar value and bounds the result. Both input and output images can be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param denominator What each element is divided by.
+	 * @param lower Lower bound on output
+	 * @param upper Upper bound on output
+	 * @param output The output image. Modified.
+	 */
+	public static void divide( InterleavedU8 input , double denominator , int lower , int upper , InterleavedU8 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				int val = (int)((input.data[indexSrc+i] & 0xFF) / denominator);
+				if( val < lower ) val = lower;
+				if( val > upper ) val = upper;
+				output.data[indexDst+i] = (byte)val;
+			}
+		}
+	}
+
+	/**
+	 * Add a scalar value to each element. Both input and output images can be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param value What is added to each element.
+	 * @param output The output image. Modified.
+	 */
+	public static void plus( InterleavedU8 input , int value , InterleavedU8 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = (byte)((input.data[indexSrc+i] & 0xFF) + value);
+			}
+		}
+	}
+
+	/**
+	 * Add a scalar value to each element and bounds the result. Both input and output images can be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param value What is added to each element.
+	 * @param lower Lower bound on output
+	 * @param upper Upper bound on output
+	 * @param output The output image. Modified.
+	 */
+	public static void plus( InterleavedU8 input , int value , int lower , int upper , InterleavedU8 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				int val = (input.data[indexSrc+i] & 0xFF) + value;
+				if( val < lower ) val = lower;
+				if( val > upper ) val = upper;
+				output.data[indexDst+i] = (byte)val;
+			}
+		}
+	}
+
+	/**
+	 * Bounds image pixels to be between these two values
+	 * 
+	 * @param img Image
+	 * @param min minimum value.
+	 * @param max maximum value.
+	 */
+	public static void boundImage( InterleavedU8 img , int min , int max ) {
+		int columns = img.width*img.numBands;
+		int rows = img.height;
+		if( img.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int index = img.startIndex + y*img.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				int value = img.data[index+i]& 0xFF;
+				if( value < min )
+					img.data[index+i] = (byte)min;
+				else if( value > max )
+					img.data[index+i] = (byte)max;
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Computes the absolute value of the difference between each pixel in the two images.<br>
+	 * d(x,y) = |img1(x,y) - img2(x,y)|
+	 * </p>
+	 * @param imgA Input image. Not modified.
+	 * @param imgB Input image. Not modified.
+	 * @param diff Absolute value of difference image. Modified.
+	 */
+	public static void diffAbs( InterleavedU8 imgA , InterleavedU8 imgB , InterleavedU8 diff ) {
+		InputSanityCheck.checkSameShape(imgA,imgB,diff);
+
+		int columns = imgA.width*imgA.numBands;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && diff.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = diff.startIndex + y*diff.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				diff.data[indexOut+i] = (byte)Math.abs((imgA.data[indexA+i] & 0xFF) - (imgB.data[indexB+i] & 0xFF));
+			}
+		}
+	}
+
+	/**
+	 * Computes the average for each pixel across all bands in the interleaved image.
+	 * 
+	 * @param input Interleaved image
+	 * @param output Gray scale image containing average pixel values
+	 */
+	public static void averageBand( InterleavedU8 input , ImageUInt8 output ) {
+		InputSanityCheck.checkSameShape(input,output);
+
+		final int h = input.getHeight();
+		final int w = input.getWidth();
+		final int numBands = input.numBands;
+
+		for (int y = 0; y < h; y++) {
+			int indexInput = input.getStartIndex() + y * input.getStride();
+			int indexOutput = output.getStartIndex() + y * output.getStride();
+
+			int indexEnd = indexOutput+w;
+			// for(int x = 0; x < w; x++ ) {
+			for (; indexOutput < indexEnd; indexOutput++ ) {
+				int total = 0;
+				for( int i = 0; i < numBands; i++ ) {
+					total += input.data[ indexInput++ ]& 0xFF;
+				}
+				output.data[indexOutput] = (byte)(total / numBands);
+			}
+		}
+	}
+
+	/**
+	 * Multiply each element by a scalar value. Both input and output images can
+	 * be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param value What each element is multiplied by.
+	 * @param output The output image. Modified.
+	 */
+	public static void multiply( InterleavedS8 input , double value , InterleavedS8 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = (byte)((input.data[indexSrc+i] ) * value);
+			}
+		}
+	}
+
+	/**
+	 * Multiply each element by a scalar value and bounds the result. Both input and output images can
+	 * be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param value What each element is multiplied by.
+	 * @param lower Lower bound on output
+	 * @param upper Upper bound on output
+	 * @param output The output image. Modified.
+	 */
+	public static void multiply( InterleavedS8 input , double value , int lower , int upper , InterleavedS8 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				int val = (int)((input.data[indexSrc+i] ) * value);
+				if( val < lower ) val = lower;
+				if( val > upper ) val = upper;
+				output.data[indexDst+i] = (byte)val;
+			}
+		}
+	}
+
+	/**
+	 * Divide each element by a scalar value. Both input and output images can be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param denominator What each element is divided by.
+	 * @param output The output image. Modified.
+	 */
+	public static void divide( InterleavedS8 input , double denominator , InterleavedS8 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = (byte)((input.data[indexSrc+i] ) / denominator);
+			}
+		}
+	}
+
+	/**
+	 * Divide each element by a scalar value and bounds the result. Both input and output images can be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param denominator What each element is divided by.
+	 * @param lower Lower bound on output
+	 * @param upper Upper bound on output
+	 * @param output The output image. Modified.
+	 */
+	public static void divide( InterleavedS8 input , double denominator , int lower , int upper , InterleavedS8 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				int val = (int)((input.data[indexSrc+i] ) / denominator);
+				if( val < lower ) val = lower;
+				if( val > upper ) val = upper;
+				output.data[indexDst+i] = (byte)val;
+			}
+		}
+	}
+
+	/**
+	 * Add a scalar value to each element. Both input and output images can be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param value What is added to each element.
+	 * @param output The output image. Modified.
+	 */
+	public static void plus( InterleavedS8 input , int value , InterleavedS8 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = (byte)((input.data[indexSrc+i] ) + value);
+			}
+		}
+	}
+
+	/**
+	 * Add a scalar value to each element and bounds the result. Both input and output images can be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param value What is added to each element.
+	 * @param lower Lower bound on output
+	 * @param upper Upper bound on output
+	 * @param output The output image. Modified.
+	 */
+	public static void plus( InterleavedS8 input , int value , int lower , int upper , InterleavedS8 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				int val = (input.data[indexSrc+i] ) + value;
+				if( val < lower ) val = lower;
+				if( val > upper ) val = upper;
+				output.data[indexDst+i] = (byte)val;
+			}
+		}
+	}
+
+	/**
+	 * Bounds image pixels to be between these two values
+	 * 
+	 * @param img Image
+	 * @param min minimum value.
+	 * @param max maximum value.
+	 */
+	public static void boundImage( InterleavedS8 img , int min , int max ) {
+		int columns = img.width*img.numBands;
+		int rows = img.height;
+		if( img.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int index = img.startIndex + y*img.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				int value = img.data[index+i];
+				if( value < min )
+					img.data[index+i] = (byte)min;
+				else if( value > max )
+					img.data[index+i] = (byte)max;
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Computes the absolute value of the difference between each pixel in the two images.<br>
+	 * d(x,y) = |img1(x,y) - img2(x,y)|
+	 * </p>
+	 * @param imgA Input image. Not modified.
+	 * @param imgB Input image. Not modified.
+	 * @param diff Absolute value of difference image. Modified.
+	 */
+	public static void diffAbs( InterleavedS8 imgA , InterleavedS8 imgB , InterleavedS8 diff ) {
+		InputSanityCheck.checkSameShape(imgA,imgB,diff);
+
+		int columns = imgA.width*imgA.numBands;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && diff.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = diff.startIndex + y*diff.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				diff.data[indexOut+i] = (byte)Math.abs((imgA.data[indexA+i] ) - (imgB.data[indexB+i] ));
+			}
+		}
+	}
+
+	/**
+	 * Computes the average for each pixel across all bands in the interleaved image.
+	 * 
+	 * @param input Interleaved image
+	 * @param output Gray scale image containing average pixel values
+	 */
+	public static void averageBand( InterleavedS8 input , ImageSInt8 output ) {
+		InputSanityCheck.checkSameShape(input,output);
+
+		final int h = input.getHeight();
+		final int w = input.getWidth();
+		final int numBands = input.numBands;
+
+		for (int y = 0; y < h; y++) {
+			int indexInput = input.getStartIndex() + y * input.getStride();
+			int indexOutput = output.getStartIndex() + y * output.getStride();
+
+			int indexEnd = indexOutput+w;
+			// for(int x = 0; x < w; x++ ) {
+			for (; indexOutput < indexEnd; indexOutput++ ) {
+				int total = 0;
+				for( int i = 0; i < numBands; i++ ) {
+					total += input.data[ indexInput++ ];
+				}
+				output.data[indexOutput] = (byte)(total / numBands);
+			}
+		}
+	}
+
+	/**
+	 * Multiply each element by a scalar value. Both input and output images can
+	 * be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param value What each element is multiplied by.
+	 * @param output The output image. Modified.
+	 */
+	public static void multiply( InterleavedU16 input , double value , InterleavedU16 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = (short)((input.data[indexSrc+i] & 0xFFFF) * value);
+			}
+		}
+	}
+
+	/**
+	 * Multiply each element by a scalar value and bounds the result. Both input and output images can
+	 * be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param value What each element is multiplied by.
+	 * @param lower Lower bound on output
+	 * @param upper Upper bound on output
+	 * @param output The output image. Modified.
+	 */
+	public static void multiply( InterleavedU16 input , double value , int lower , int upper , InterleavedU16 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				int val = (int)((input.data[indexSrc+i] & 0xFFFF) * value);
+				if( val < lower ) val = lower;
+				if( val > upper ) val = upper;
+				output.data[indexDst+i] = (short)val;
+			}
+		}
+	}
+
+	/**
+	 * Divide each element by a scalar value. Both input and output images can be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param denominator What each element is divided by.
+	 * @param output The output image. Modified.
+	 */
+	public static void divide( InterleavedU16 input , double denominator , InterleavedU16 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = (short)((input.data[indexSrc+i] & 0xFFFF) / denominator);
+			}
+		}
+	}
+
+	/**
+	 * Divide each element by a scalar value and bounds the result. Both input and output images can be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param denominator What each element is divided by.
+	 * @param lower Lower bound on output
+	 * @param upper Upper bound on output
+	 * @param output The output image. Modified.
+	 */
+	public static void divide( InterleavedU16 input , double denominator , int lower , int upper , InterleavedU16 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				int val = (int)((input.data[indexSrc+i] & 0xFFFF) / denominator);
+				if( val < lower ) val = lower;
+				if( val > upper ) val = upper;
+				output.data[indexDst+i] = (short)val;
+			}
+		}
+	}
+
+	/**
+	 * Add a scalar value to each element. Both input and output images can be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param value What is added to each element.
+	 * @param output The output image. Modified.
+	 */
+	public static void plus( InterleavedU16 input , int value , InterleavedU16 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = (short)((input.data[indexSrc+i] & 0xFFFF) + value);
+			}
+		}
+	}
+
+	/**
+	 * Add a scalar value to each element and bounds the result. Both input and output images can be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param value What is added to each element.
+	 * @param lower Lower bound on output
+	 * @param upper Upper bound on output
+	 * @param output The output image. Modified.
+	 */
+	public static void plus( InterleavedU16 input , int value , int lower , int upper , InterleavedU16 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				int val = (input.data[indexSrc+i] & 0xFFFF) + value;
+				if( val < lower ) val = lower;
+				if( val > upper ) val = upper;
+				output.data[indexDst+i] = (short)val;
+			}
+		}
+	}
+
+	/**
+	 * Bounds image pixels to be between these two values
+	 * 
+	 * @param img Image
+	 * @param min minimum value.
+	 * @param max maximum value.
+	 */
+	public static void boundImage( InterleavedU16 img , int min , int max ) {
+		int columns = img.width*img.numBands;
+		int rows = img.height;
+		if( img.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int index = img.startIndex + y*img.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				int value = img.data[index+i]& 0xFFFF;
+				if( value < min )
+					img.data[index+i] = (short)min;
+				else if( value > max )
+					img.data[index+i] = (short)max;
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Computes the absolute value of the difference between each pixel in the two images.<br>
+	 * d(x,y) = |img1(x,y) - img2(x,y)|
+	 * </p>
+	 * @param imgA Input image. Not modified.
+	 * @param imgB Input image. Not modified.
+	 * @param diff Absolute value of difference image. Modified.
+	 */
+	public static void diffAbs( InterleavedU16 imgA , InterleavedU16 imgB , InterleavedU16 diff ) {
+		InputSanityCheck.checkSameShape(imgA,imgB,diff);
+
+		int columns = imgA.width*imgA.numBands;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && diff.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = diff.startIndex + y*diff.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				diff.data[indexOut+i] = (short)Math.abs((imgA.data[indexA+i] & 0xFFFF) - (imgB.data[indexB+i] & 0xFFFF));
+			}
+		}
+	}
+
+	/**
+	 * Computes the average for each pixel across all bands in the interleaved image.
+	 * 
+	 * @param input Interleaved image
+	 * @param output Gray scale image containing average pixel values
+	 */
+	public static void averageBand( InterleavedU16 input , ImageUInt16 output ) {
+		InputSanityCheck.checkSameShape(input,output);
+
+		final int h = input.getHeight();
+		final int w = input.getWidth();
+		final int numBands = input.numBands;
+
+		for (int y = 0; y < h; y++) {
+			int indexInput = input.getStartIndex() + y * input.getStride();
+			int indexOutput = output.getStartIndex() + y * output.getStride();
+
+			int indexEnd = indexOutput+w;
+			// for(int x = 0; x < w; x++ ) {
+			for (; indexOutput < indexEnd; indexOutput++ ) {
+				int total = 0;
+				for( int i = 0; i < numBands; i++ ) {
+					total += input.data[ indexInput++ ]& 0xFFFF;
+				}
+				output.data[indexOutput] = (short)(total / numBands);
+			}
+		}
+	}
+
+	/**
+	 * Multiply each element by a scalar value. Both input and output images can
+	 * be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param value What each element is multiplied by.
+	 * @param output The output image. Modified.
+	 */
+	public static void multiply( InterleavedS16 input , double value , InterleavedS16 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = (short)((input.data[indexSrc+i] ) * value);
+			}
+		}
+	}
+
+	/**
+	 * Multiply each element by a scalar value and bounds the result. Both input and output images can
+	 * be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param value What each element is multiplied by.
+	 * @param lower Lower bound on output
+	 * @param upper Upper bound on output
+	 * @param output The output image. Modified.
+	 */
+	public static void multiply( InterleavedS16 input , double value , int lower , int upper , InterleavedS16 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				int val = (int)((input.data[indexSrc+i] ) * value);
+				if( val < lower ) val = lower;
+				if( val > upper ) val = upper;
+				output.data[indexDst+i] = (short)val;
+			}
+		}
+	}
+
+	/**
+	 * Divide each element by a scalar value. Both input and output images can be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param denominator What each element is divided by.
+	 * @param output The output image. Modified.
+	 */
+	public static void divide( InterleavedS16 input , double denominator , InterleavedS16 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = (short)((input.data[indexSrc+i] ) / denominator);
+			}
+		}
+	}
+
+	/**
+	 * Divide each element by a scalar value and bounds the result. Both input and output images can be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param denominator What each element is divided by.
+	 * @param lower Lower bound on output
+	 * @param upper Upper bound on output
+	 * @param output The output image. Modified.
+	 */
+	public static void divide( InterleavedS16 input , double denominator , int lower , int upper , InterleavedS16 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				int val = (int)((input.data[indexSrc+i] ) / denominator);
+				if( val < lower ) val = lower;
+				if( val > upper ) val = upper;
+				output.data[indexDst+i] = (short)val;
+			}
+		}
+	}
+
+	/**
+	 * Add a scalar value to each element. Both input and output images can be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param value What is added to each element.
+	 * @param output The output image. Modified.
+	 */
+	public static void plus( InterleavedS16 input , int value , InterleavedS16 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = (short)((input.data[indexSrc+i] ) + value);
+			}
+		}
+	}
+
+	/**
+	 * Add a scalar value to each element and bounds the result. Both input and output images can be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param value What is added to each element.
+	 * @param lower Lower bound on output
+	 * @param upper Upper bound on output
+	 * @param output The output image. Modified.
+	 */
+	public static void plus( InterleavedS16 input , int value , int lower , int upper , InterleavedS16 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				int val = (input.data[indexSrc+i] ) + value;
+				if( val < lower ) val = lower;
+				if( val > upper ) val = upper;
+				output.data[indexDst+i] = (short)val;
+			}
+		}
+	}
+
+	/**
+	 * Bounds image pixels to be between these two values
+	 * 
+	 * @param img Image
+	 * @param min minimum value.
+	 * @param max maximum value.
+	 */
+	public static void boundImage( InterleavedS16 img , int min , int max ) {
+		int columns = img.width*img.numBands;
+		int rows = img.height;
+		if( img.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int index = img.startIndex + y*img.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				int value = img.data[index+i];
+				if( value < min )
+					img.data[index+i] = (short)min;
+				else if( value > max )
+					img.data[index+i] = (short)max;
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Computes the absolute value of the difference between each pixel in the two images.<br>
+	 * d(x,y) = |img1(x,y) - img2(x,y)|
+	 * </p>
+	 * @param imgA Input image. Not modified.
+	 * @param imgB Input image. Not modified.
+	 * @param diff Absolute value of difference image. Modified.
+	 */
+	public static void diffAbs( InterleavedS16 imgA , InterleavedS16 imgB , InterleavedS16 diff ) {
+		InputSanityCheck.checkSameShape(imgA,imgB,diff);
+
+		int columns = imgA.width*imgA.numBands;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && diff.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = diff.startIndex + y*diff.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				diff.data[indexOut+i] = (short)Math.abs((imgA.data[indexA+i] ) - (imgB.data[indexB+i] ));
+			}
+		}
+	}
+
+	/**
+	 * Computes the average for each pixel across all bands in the interleaved image.
+	 * 
+	 * @param input Interleaved image
+	 * @param output Gray scale image containing average pixel values
+	 */
+	public static void averageBand( InterleavedS16 input , ImageSInt16 output ) {
+		InputSanityCheck.checkSameShape(input,output);
+
+		final int h = input.getHeight();
+		final int w = input.getWidth();
+		final int numBands = input.numBands;
+
+		for (int y = 0; y < h; y++) {
+			int indexInput = input.getStartIndex() + y * input.getStride();
+			int indexOutput = output.getStartIndex() + y * output.getStride();
+
+			int indexEnd = indexOutput+w;
+			// for(int x = 0; x < w; x++ ) {
+			for (; indexOutput < indexEnd; indexOutput++ ) {
+				int total = 0;
+				for( int i = 0; i < numBands; i++ ) {
+					total += input.data[ indexInput++ ];
+				}
+				output.data[indexOutput] = (short)(total / numBands);
+			}
+		}
+	}
+
+	/**
+	 * Multiply each element by a scalar value. Both input and output images can
+	 * be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param value What each element is multiplied by.
+	 * @param output The output image. Modified.
+	 */
+	public static void multiply( InterleavedS32 input , double value , InterleavedS32 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = (int)((input.data[indexSrc+i] ) * value);
+			}
+		}
+	}
+
+	/**
+	 * Multiply each element by a scalar value and bounds the result. Both input and output images can
+	 * be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param value What each element is multiplied by.
+	 * @param lower Lower bound on output
+	 * @param upper Upper bound on output
+	 * @param output The output image. Modified.
+	 */
+	public static void multiply( InterleavedS32 input , double value , int lower , int upper , InterleavedS32 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				int val = (int)((input.data[indexSrc+i] ) * value);
+				if( val < lower ) val = lower;
+				if( val > upper ) val = upper;
+				output.data[indexDst+i] = val;
+			}
+		}
+	}
+
+	/**
+	 * Divide each element by a scalar value. Both input and output images can be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param denominator What each element is divided by.
+	 * @param output The output image. Modified.
+	 */
+	public static void divide( InterleavedS32 input , double denominator , InterleavedS32 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = (int)((input.data[indexSrc+i] ) / denominator);
+			}
+		}
+	}
+
+	/**
+	 * Divide each element by a scalar value and bounds the result. Both input and output images can be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param denominator What each element is divided by.
+	 * @param lower Lower bound on output
+	 * @param upper Upper bound on output
+	 * @param output The output image. Modified.
+	 */
+	public static void divide( InterleavedS32 input , double denominator , int lower , int upper , InterleavedS32 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				int val = (int)((input.data[indexSrc+i] ) / denominator);
+				if( val < lower ) val = lower;
+				if( val > upper ) val = upper;
+				output.data[indexDst+i] = val;
+			}
+		}
+	}
+
+	/**
+	 * Add a scalar value to each element. Both input and output images can be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param value What is added to each element.
+	 * @param output The output image. Modified.
+	 */
+	public static void plus( InterleavedS32 input , int value , InterleavedS32 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = ((input.data[indexSrc+i] ) + value);
+			}
+		}
+	}
+
+	/**
+	 * Add a scalar value to each element and bounds the result. Both input and output images can be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param value What is added to each element.
+	 * @param lower Lower bound on output
+	 * @param upper Upper bound on output
+	 * @param output The output image. Modified.
+	 */
+	public static void plus( InterleavedS32 input , int value , int lower , int upper , InterleavedS32 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				int val = (input.data[indexSrc+i] ) + value;
+				if( val < lower ) val = lower;
+				if( val > upper ) val = upper;
+				output.data[indexDst+i] = val;
+			}
+		}
+	}
+
+	/**
+	 * Bounds image pixels to be between these two values
+	 * 
+	 * @param img Image
+	 * @param min minimum value.
+	 * @param max maximum value.
+	 */
+	public static void boundImage( InterleavedS32 img , int min , int max ) {
+		int columns = img.width*img.numBands;
+		int rows = img.height;
+		if( img.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int index = img.startIndex + y*img.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				int value = img.data[index+i];
+				if( value < min )
+					img.data[index+i] = min;
+				else if( value > max )
+					img.data[index+i] = max;
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Computes the absolute value of the difference between each pixel in the two images.<br>
+	 * d(x,y) = |img1(x,y) - img2(x,y)|
+	 * </p>
+	 * @param imgA Input image. Not modified.
+	 * @param imgB Input image. Not modified.
+	 * @param diff Absolute value of difference image. Modified.
+	 */
+	public static void diffAbs( InterleavedS32 imgA , InterleavedS32 imgB , InterleavedS32 diff ) {
+		InputSanityCheck.checkSameShape(imgA,imgB,diff);
+
+		int columns = imgA.width*imgA.numBands;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && diff.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = diff.startIndex + y*diff.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				diff.data[indexOut+i] = Math.abs((imgA.data[indexA+i] ) - (imgB.data[indexB+i] ));
+			}
+		}
+	}
+
+	/**
+	 * Computes the average for each pixel across all bands in the interleaved image.
+	 * 
+	 * @param input Interleaved image
+	 * @param output Gray scale image containing average pixel values
+	 */
+	public static void averageBand( InterleavedS32 input , ImageSInt32 output ) {
+		InputSanityCheck.checkSameShape(input,output);
+
+		final int h = input.getHeight();
+		final int w = input.getWidth();
+		final int numBands = input.numBands;
+
+		for (int y = 0; y < h; y++) {
+			int indexInput = input.getStartIndex() + y * input.getStride();
+			int indexOutput = output.getStartIndex() + y * output.getStride();
+
+			int indexEnd = indexOutput+w;
+			// for(int x = 0; x < w; x++ ) {
+			for (; indexOutput < indexEnd; indexOutput++ ) {
+				int total = 0;
+				for( int i = 0; i < numBands; i++ ) {
+					total += input.data[ indexInput++ ];
+				}
+				output.data[indexOutput] = (total / numBands);
+			}
+		}
+	}
+
+	/**
+	 * Multiply each element by a scalar value. Both input and output images can
+	 * be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param value What each element is multiplied by.
+	 * @param output The output image. Modified.
+	 */
+	public static void multiply( InterleavedS64 input , double value , InterleavedS64 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = (long)((input.data[indexSrc+i] ) * value);
+			}
+		}
+	}
+
+	/**
+	 * Multiply each element by a scalar value and bounds the result. Both input and output images can
+	 * be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param value What each element is multiplied by.
+	 * @param lower Lower bound on output
+	 * @param upper Upper bound on output
+	 * @param output The output image. Modified.
+	 */
+	public static void multiply( InterleavedS64 input , double value , long lower , long upper , InterleavedS64 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				long val = (long)((input.data[indexSrc+i] ) * value);
+				if( val < lower ) val = lower;
+				if( val > upper ) val = upper;
+				output.data[indexDst+i] = val;
+			}
+		}
+	}
+
+	/**
+	 * Divide each element by a scalar value. Both input and output images can be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param denominator What each element is divided by.
+	 * @param output The output image. Modified.
+	 */
+	public static void divide( InterleavedS64 input , double denominator , InterleavedS64 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = (long)((input.data[indexSrc+i] ) / denominator);
+			}
+		}
+	}
+
+	/**
+	 * Divide each element by a scalar value and bounds the result. Both input and output images can be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param denominator What each element is divided by.
+	 * @param lower Lower bound on output
+	 * @param upper Upper bound on output
+	 * @param output The output image. Modified.
+	 */
+	public static void divide( InterleavedS64 input , double denominator , long lower , long upper , InterleavedS64 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				long val = (long)((input.data[indexSrc+i] ) / denominator);
+				if( val < lower ) val = lower;
+				if( val > upper ) val = upper;
+				output.data[indexDst+i] = val;
+			}
+		}
+	}
+
+	/**
+	 * Add a scalar value to each element. Both input and output images can be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param value What is added to each element.
+	 * @param output The output image. Modified.
+	 */
+	public static void plus( InterleavedS64 input , long value , InterleavedS64 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = ((input.data[indexSrc+i] ) + value);
+			}
+		}
+	}
+
+	/**
+	 * Add a scalar value to each element and bounds the result. Both input and output images can be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param value What is added to each element.
+	 * @param lower Lower bound on output
+	 * @param upper Upper bound on output
+	 * @param output The output image. Modified.
+	 */
+	public static void plus( InterleavedS64 input , long value , long lower , long upper , InterleavedS64 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				long val = (input.data[indexSrc+i] ) + value;
+				if( val < lower ) val = lower;
+				if( val > upper ) val = upper;
+				output.data[indexDst+i] = val;
+			}
+		}
+	}
+
+	/**
+	 * Bounds image pixels to be between these two values
+	 * 
+	 * @param img Image
+	 * @param min minimum value.
+	 * @param max maximum value.
+	 */
+	public static void boundImage( InterleavedS64 img , long min , long max ) {
+		int columns = img.width*img.numBands;
+		int rows = img.height;
+		if( img.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int index = img.startIndex + y*img.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				long value = img.data[index+i];
+				if( value < min )
+					img.data[index+i] = min;
+				else if( value > max )
+					img.data[index+i] = max;
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Computes the absolute value of the difference between each pixel in the two images.<br>
+	 * d(x,y) = |img1(x,y) - img2(x,y)|
+	 * </p>
+	 * @param imgA Input image. Not modified.
+	 * @param imgB Input image. Not modified.
+	 * @param diff Absolute value of difference image. Modified.
+	 */
+	public static void diffAbs( InterleavedS64 imgA , InterleavedS64 imgB , InterleavedS64 diff ) {
+		InputSanityCheck.checkSameShape(imgA,imgB,diff);
+
+		int columns = imgA.width*imgA.numBands;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && diff.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = diff.startIndex + y*diff.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				diff.data[indexOut+i] = Math.abs((imgA.data[indexA+i] ) - (imgB.data[indexB+i] ));
+			}
+		}
+	}
+
+	/**
+	 * Computes the average for each pixel across all bands in the interleaved image.
+	 * 
+	 * @param input Interleaved image
+	 * @param output Gray scale image containing average pixel values
+	 */
+	public static void averageBand( InterleavedS64 input , ImageSInt64 output ) {
+		InputSanityCheck.checkSameShape(input,output);
+
+		final int h = input.getHeight();
+		final int w = input.getWidth();
+		final int numBands = input.numBands;
+
+		for (int y = 0; y < h; y++) {
+			int indexInput = input.getStartIndex() + y * input.getStride();
+			int indexOutput = output.getStartIndex() + y * output.getStride();
+
+			int indexEnd = indexOutput+w;
+			// for(int x = 0; x < w; x++ ) {
+			for (; indexOutput < indexEnd; indexOutput++ ) {
+				long total = 0;
+				for( int i = 0; i < numBands; i++ ) {
+					total += input.data[ indexInput++ ];
+				}
+				output.data[indexOutput] = (total / numBands);
+			}
+		}
+	}
+
+	/**
+	 * Multiply each element by a scalar value. Both input and output images can
+	 * be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param value What each element is multiplied by.
+	 * @param output The output image. Modified.
+	 */
+	public static void multiply( InterleavedF32 input , float value , InterleavedF32 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = ((input.data[indexSrc+i] ) * value);
+			}
+		}
+	}
+
+	/**
+	 * Multiply each element by a scalar value and bounds the result. Both input and output images can
+	 * be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param value What each element is multiplied by.
+	 * @param lower Lower bound on output
+	 * @param upper Upper bound on output
+	 * @param output The output image. Modified.
+	 */
+	public static void multiply( InterleavedF32 input , float value , float lower , float upper , InterleavedF32 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				float val = ((input.data[indexSrc+i] ) * value);
+				if( val < lower ) val = lower;
+				if( val > upper ) val = upper;
+				output.data[indexDst+i] = val;
+			}
+		}
+	}
+
+	/**
+	 * Divide each element by a scalar value. Both input and output images can be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param denominator What each element is divided by.
+	 * @param output The output image. Modified.
+	 */
+	public static void divide( InterleavedF32 input , float denominator , InterleavedF32 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = ((input.data[indexSrc+i] ) / denominator);
+			}
+		}
+	}
+
+	/**
+	 * Divide each element by a scalar value and bounds the result. Both input and output images can be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param denominator What each element is divided by.
+	 * @param lower Lower bound on output
+	 * @param upper Upper bound on output
+	 * @param output The output image. Modified.
+	 */
+	public static void divide( InterleavedF32 input , float denominator , float lower , float upper , InterleavedF32 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				float val = ((input.data[indexSrc+i] ) / denominator);
+				if( val < lower ) val = lower;
+				if( val > upper ) val = upper;
+				output.data[indexDst+i] = val;
+			}
+		}
+	}
+
+	/**
+	 * Add a scalar value to each element. Both input and output images can be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param value What is added to each element.
+	 * @param output The output image. Modified.
+	 */
+	public static void plus( InterleavedF32 input , float value , InterleavedF32 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = ((input.data[indexSrc+i] ) + value);
+			}
+		}
+	}
+
+	/**
+	 * Add a scalar value to each element and bounds the result. Both input and output images can be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param value What is added to each element.
+	 * @param lower Lower bound on output
+	 * @param upper Upper bound on output
+	 * @param output The output image. Modified.
+	 */
+	public static void plus( InterleavedF32 input , float value , float lower , float upper , InterleavedF32 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				float val = (input.data[indexSrc+i] ) + value;
+				if( val < lower ) val = lower;
+				if( val > upper ) val = upper;
+				output.data[indexDst+i] = val;
+			}
+		}
+	}
+
+	/**
+	 * Bounds image pixels to be between these two values
+	 * 
+	 * @param img Image
+	 * @param min minimum value.
+	 * @param max maximum value.
+	 */
+	public static void boundImage( InterleavedF32 img , float min , float max ) {
+		int columns = img.width*img.numBands;
+		int rows = img.height;
+		if( img.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int index = img.startIndex + y*img.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				float value = img.data[index+i];
+				if( value < min )
+					img.data[index+i] = min;
+				else if( value > max )
+					img.data[index+i] = max;
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Computes the absolute value of the difference between each pixel in the two images.<br>
+	 * d(x,y) = |img1(x,y) - img2(x,y)|
+	 * </p>
+	 * @param imgA Input image. Not modified.
+	 * @param imgB Input image. Not modified.
+	 * @param diff Absolute value of difference image. Modified.
+	 */
+	public static void diffAbs( InterleavedF32 imgA , InterleavedF32 imgB , InterleavedF32 diff ) {
+		InputSanityCheck.checkSameShape(imgA,imgB,diff);
+
+		int columns = imgA.width*imgA.numBands;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && diff.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = diff.startIndex + y*diff.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				diff.data[indexOut+i] = Math.abs((imgA.data[indexA+i] ) - (imgB.data[indexB+i] ));
+			}
+		}
+	}
+
+	/**
+	 * Computes the average for each pixel across all bands in the interleaved image.
+	 * 
+	 * @param input Interleaved image
+	 * @param output Gray scale image containing average pixel values
+	 */
+	public static void averageBand( InterleavedF32 input , ImageFloat32 output ) {
+		InputSanityCheck.checkSameShape(input,output);
+
+		final int h = input.getHeight();
+		final int w = input.getWidth();
+		final int numBands = input.numBands;
+
+		for (int y = 0; y < h; y++) {
+			int indexInput = input.getStartIndex() + y * input.getStride();
+			int indexOutput = output.getStartIndex() + y * output.getStride();
+
+			int indexEnd = indexOutput+w;
+			// for(int x = 0; x < w; x++ ) {
+			for (; indexOutput < indexEnd; indexOutput++ ) {
+				float total = 0;
+				for( int i = 0; i < numBands; i++ ) {
+					total += input.data[ indexInput++ ];
+				}
+				output.data[indexOutput] = (total / numBands);
+			}
+		}
+	}
+
+	/**
+	 * Multiply each element by a scalar value. Both input and output images can
+	 * be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param value What each element is multiplied by.
+	 * @param output The output image. Modified.
+	 */
+	public static void multiply( InterleavedF64 input , double value , InterleavedF64 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = ((input.data[indexSrc+i] ) * value);
+			}
+		}
+	}
+
+	/**
+	 * Multiply each element by a scalar value and bounds the result. Both input and output images can
+	 * be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param value What each element is multiplied by.
+	 * @param lower Lower bound on output
+	 * @param upper Upper bound on output
+	 * @param output The output image. Modified.
+	 */
+	public static void multiply( InterleavedF64 input , double value , double lower , double upper , InterleavedF64 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				double val = ((input.data[indexSrc+i] ) * value);
+				if( val < lower ) val = lower;
+				if( val > upper ) val = upper;
+				output.data[indexDst+i] = val;
+			}
+		}
+	}
+
+	/**
+	 * Divide each element by a scalar value. Both input and output images can be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param denominator What each element is divided by.
+	 * @param output The output image. Modified.
+	 */
+	public static void divide( InterleavedF64 input , double denominator , InterleavedF64 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = ((input.data[indexSrc+i] ) / denominator);
+			}
+		}
+	}
+
+	/**
+	 * Divide each element by a scalar value and bounds the result. Both input and output images can be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param denominator What each element is divided by.
+	 * @param lower Lower bound on output
+	 * @param upper Upper bound on output
+	 * @param output The output image. Modified.
+	 */
+	public static void divide( InterleavedF64 input , double denominator , double lower , double upper , InterleavedF64 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				double val = ((input.data[indexSrc+i] ) / denominator);
+				if( val < lower ) val = lower;
+				if( val > upper ) val = upper;
+				output.data[indexDst+i] = val;
+			}
+		}
+	}
+
+	/**
+	 * Add a scalar value to each element. Both input and output images can be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param value What is added to each element.
+	 * @param output The output image. Modified.
+	 */
+	public static void plus( InterleavedF64 input , double value , InterleavedF64 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = ((input.data[indexSrc+i] ) + value);
+			}
+		}
+	}
+
+	/**
+	 * Add a scalar value to each element and bounds the result. Both input and output images can be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param value What is added to each element.
+	 * @param lower Lower bound on output
+	 * @param upper Upper bound on output
+	 * @param output The output image. Modified.
+	 */
+	public static void plus( InterleavedF64 input , double value , double lower , double upper , InterleavedF64 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				double val = (input.data[indexSrc+i] ) + value;
+				if( val < lower ) val = lower;
+				if( val > upper ) val = upper;
+				output.data[indexDst+i] = val;
+			}
+		}
+	}
+
+	/**
+	 * Bounds image pixels to be between these two values
+	 * 
+	 * @param img Image
+	 * @param min minimum value.
+	 * @param max maximum value.
+	 */
+	public static void boundImage( InterleavedF64 img , double min , double max ) {
+		int columns = img.width*img.numBands;
+		int rows = img.height;
+		if( img.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int index = img.startIndex + y*img.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				double value = img.data[index+i];
+				if( value < min )
+					img.data[index+i] = min;
+				else if( value > max )
+					img.data[index+i] = max;
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Computes the absolute value of the difference between each pixel in the two images.<br>
+	 * d(x,y) = |img1(x,y) - img2(x,y)|
+	 * </p>
+	 * @param imgA Input image. Not modified.
+	 * @param imgB Input image. Not modified.
+	 * @param diff Absolute value of difference image. Modified.
+	 */
+	public static void diffAbs( InterleavedF64 imgA , InterleavedF64 imgB , InterleavedF64 diff ) {
+		InputSanityCheck.checkSameShape(imgA,imgB,diff);
+
+		int columns = imgA.width*imgA.numBands;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && diff.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = diff.startIndex + y*diff.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				diff.data[indexOut+i] = Math.abs((imgA.data[indexA+i] ) - (imgB.data[indexB+i] ));
+			}
+		}
+	}
+
+	/**
+	 * Computes the average for each pixel across all bands in the interleaved image.
+	 * 
+	 * @param input Interleaved image
+	 * @param output Gray scale image containing average pixel values
+	 */
+	public static void averageBand( InterleavedF64 input , ImageFloat64 output ) {
+		InputSanityCheck.checkSameShape(input,output);
+
+		final int h = input.getHeight();
+		final int w = input.getWidth();
+		final int numBands = input.numBands;
+
+		for (int y = 0; y < h; y++) {
+			int indexInput = input.getStartIndex() + y * input.getStride();
+			int indexOutput = output.getStartIndex() + y * output.getStride();
+
+			int indexEnd = indexOutput+w;
+			// for(int x = 0; x < w; x++ ) {
+			for (; indexOutput < indexEnd; indexOutput++ ) {
+				double total = 0;
+				for( int i = 0; i < numBands; i++ ) {
+					total += input.data[ indexInput++ ];
+				}
+				output.data[indexOutput] = (total / numBands);
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Performs pixel-wise addition<br>
+	 * output(x,y) = imgA(x,y) + imgB(x,y)
+	 * </p>
+	 * @param imgA Input image. Not modified.
+	 * @param imgB Input image. Not modified.
+	 * @param output Output image. Modified.
+	 */
+	public static void add( InterleavedU8 imgA , InterleavedU8 imgB , InterleavedU16 output ) {
+		InputSanityCheck.checkSameShape(imgA,imgB,output);
+
+		int columns = imgA.width*imgA.numBands;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexOut+i] = (short)((imgA.data[indexA+i] & 0xFF) + (imgB.data[indexB+i] & 0xFF));
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Performs pixel-wise subtraction.<br>
+	 * output(x,y) = imgA(x,y) - imgB(x,y)
+	 * </p>
+	 * @param imgA Input image. Not modified.
+	 * @param imgB Input image. Not modified.
+	 * @param output Output image. Modified.
+	 */
+	public static void subtract( InterleavedU8 imgA , InterleavedU8 imgB , InterleavedI16 output ) {
+		InputSanityCheck.checkSameShape(imgA,imgB,output);
+
+		int columns = imgA.width*imgA.numBands;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexOut+i] = (short)((imgA.data[indexA+i] & 0xFF) - (imgB.data[indexB+i] & 0xFF));
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Performs pixel-wise addition<br>
+	 * output(x,y) = imgA(x,y) + imgB(x,y)
+	 * </p>
+	 * @param imgA Input image. Not modified.
+	 * @param imgB Input image. Not modified.
+	 * @param output Output image. Modified.
+	 */
+	public static void add( InterleavedS8 imgA , InterleavedS8 imgB , InterleavedS16 output ) {
+		InputSanityCheck.checkSameShape(imgA,imgB,output);
+
+		int columns = imgA.width*imgA.numBands;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexOut+i] = (short)((imgA.data[indexA+i] ) + (imgB.data[indexB+i] ));
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Performs pixel-wise subtraction.<br>
+	 * output(x,y) = imgA(x,y) - imgB(x,y)
+	 * </p>
+	 * @param imgA Input image. Not modified.
+	 * @param imgB Input image. Not modified.
+	 * @param output Output image. Modified.
+	 */
+	public static void subtract( InterleavedS8 imgA , InterleavedS8 imgB , InterleavedS16 output ) {
+		InputSanityCheck.checkSameShape(imgA,imgB,output);
+
+		int columns = imgA.width*imgA.numBands;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexOut+i] = (short)((imgA.data[indexA+i] ) - (imgB.data[indexB+i] ));
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Performs pixel-wise addition<br>
+	 * output(x,y) = imgA(x,y) + imgB(x,y)
+	 * </p>
+	 * @param imgA Input image. Not modified.
+	 * @param imgB Input image. Not modified.
+	 * @param output Output image. Modified.
+	 */
+	public static void add( InterleavedU16 imgA , InterleavedU16 imgB , InterleavedS32 output ) {
+		InputSanityCheck.checkSameShape(imgA,imgB,output);
+
+		int columns = imgA.width*imgA.numBands;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexOut+i] = ((imgA.data[indexA+i] & 0xFFFF) + (imgB.data[indexB+i] & 0xFFFF));
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Performs pixel-wise subtraction.<br>
+	 * output(x,y) = imgA(x,y) - imgB(x,y)
+	 * </p>
+	 * @param imgA Input image. Not modified.
+	 * @param imgB Input image. Not modified.
+	 * @param output Output image. Modified.
+	 */
+	public static void subtract( InterleavedU16 imgA , InterleavedU16 imgB , InterleavedS32 output ) {
+		InputSanityCheck.checkSameShape(imgA,imgB,output);
+
+		int columns = imgA.width*imgA.numBands;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexOut+i] = ((imgA.data[indexA+i] & 0xFFFF) - (imgB.data[indexB+i] & 0xFFFF));
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Performs pixel-wise addition<br>
+	 * output(x,y) = imgA(x,y) + imgB(x,y)
+	 * </p>
+	 * @param imgA Input image. Not modified.
+	 * @param imgB Input image. Not modified.
+	 * @param output Output image. Modified.
+	 */
+	public static void add( InterleavedS16 imgA , InterleavedS16 imgB , InterleavedS32 output ) {
+		InputSanityCheck.checkSameShape(imgA,imgB,output);
+
+		int columns = imgA.width*imgA.numBands;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexOut+i] = ((imgA.data[indexA+i] ) + (imgB.data[indexB+i] ));
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Performs pixel-wise subtraction.<br>
+	 * output(x,y) = imgA(x,y) - imgB(x,y)
+	 * </p>
+	 * @param imgA Input image. Not modified.
+	 * @param imgB Input image. Not modified.
+	 * @param output Output image. Modified.
+	 */
+	public static void subtract( InterleavedS16 imgA , InterleavedS16 imgB , InterleavedS32 output ) {
+		InputSanityCheck.checkSameShape(imgA,imgB,output);
+
+		int columns = imgA.width*imgA.numBands;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexOut+i] = ((imgA.data[indexA+i] ) - (imgB.data[indexB+i] ));
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Performs pixel-wise addition<br>
+	 * output(x,y) = imgA(x,y) + imgB(x,y)
+	 * </p>
+	 * @param imgA Input image. Not modified.
+	 * @param imgB Input image. Not modified.
+	 * @param output Output image. Modified.
+	 */
+	public static void add( InterleavedS32 imgA , InterleavedS32 imgB , InterleavedS32 output ) {
+		InputSanityCheck.checkSameShape(imgA,imgB,output);
+
+		int columns = imgA.width*imgA.numBands;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexOut+i] = ((imgA.data[indexA+i] ) + (imgB.data[indexB+i] ));
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Performs pixel-wise subtraction.<br>
+	 * output(x,y) = imgA(x,y) - imgB(x,y)
+	 * </p>
+	 * @param imgA Input image. Not modified.
+	 * @param imgB Input image. Not modified.
+	 * @param output Output image. Modified.
+	 */
+	public static void subtract( InterleavedS32 imgA , InterleavedS32 imgB , InterleavedS32 output ) {
+		InputSanityCheck.checkSameShape(imgA,imgB,output);
+
+		int columns = imgA.width*imgA.numBands;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexOut+i] = ((imgA.data[indexA+i] ) - (imgB.data[indexB+i] ));
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Performs pixel-wise addition<br>
+	 * output(x,y) = imgA(x,y) + imgB(x,y)
+	 * </p>
+	 * @param imgA Input image. Not modified.
+	 * @param imgB Input image. Not modified.
+	 * @param output Output image. Modified.
+	 */
+	public static void add( InterleavedS64 imgA , InterleavedS64 imgB , InterleavedS64 output ) {
+		InputSanityCheck.checkSameShape(imgA,imgB,output);
+
+		int columns = imgA.width*imgA.numBands;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexOut+i] = ((imgA.data[indexA+i] ) + (imgB.data[indexB+i] ));
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Performs pixel-wise subtraction.<br>
+	 * output(x,y) = imgA(x,y) - imgB(x,y)
+	 * </p>
+	 * @param imgA Input image. Not modified.
+	 * @param imgB Input image. Not modified.
+	 * @param output Output image. Modified.
+	 */
+	public static void subtract( InterleavedS64 imgA , InterleavedS64 imgB , InterleavedS64 output ) {
+		InputSanityCheck.checkSameShape(imgA,imgB,output);
+
+		int columns = imgA.width*imgA.numBands;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexOut+i] = ((imgA.data[indexA+i] ) - (imgB.data[indexB+i] ));
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Performs pixel-wise addition<br>
+	 * output(x,y) = imgA(x,y) + imgB(x,y)
+	 * </p>
+	 * @param imgA Input image. Not modified.
+	 * @param imgB Input image. Not modified.
+	 * @param output Output image. Modified.
+	 */
+	public static void add( InterleavedF32 imgA , InterleavedF32 imgB , InterleavedF32 output ) {
+		InputSanityCheck.checkSameShape(imgA,imgB,output);
+
+		int columns = imgA.width*imgA.numBands;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexOut+i] = ((imgA.data[indexA+i] ) + (imgB.data[indexB+i] ));
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Performs pixel-wise subtraction.<br>
+	 * output(x,y) = imgA(x,y) - imgB(x,y)
+	 * </p>
+	 * @param imgA Input image. Not modified.
+	 * @param imgB Input image. Not modified.
+	 * @param output Output image. Modified.
+	 */
+	public static void subtract( InterleavedF32 imgA , InterleavedF32 imgB , InterleavedF32 output ) {
+		InputSanityCheck.checkSameShape(imgA,imgB,output);
+
+		int columns = imgA.width*imgA.numBands;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexOut+i] = ((imgA.data[indexA+i] ) - (imgB.data[indexB+i] ));
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Performs pixel-wise multiplication<br>
+	 * output(x,y) = imgA(x,y) * imgB(x,y)
+	 * </p>
+	 * @param imgA Input image. Not modified.
+	 * @param imgB Input image. Not modified.
+	 * @param output Output image. Modified.
+	 */
+	public static void multiply( InterleavedF32 imgA , InterleavedF32 imgB , InterleavedF32 output ) {
+		InputSanityCheck.checkSameShape(imgA,imgB,output);
+
+		int columns = imgA.width*imgA.numBands;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexOut+i] = ((imgA.data[indexA+i] ) * (imgB.data[indexB+i] ));
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Performs pixel-wise division<br>
+	 * output(x,y) = imgA(x,y) / imgB(x,y)
+	 * </p>
+	 * @param imgA Input image. Not modified.
+	 * @param imgB Input image. Not modified.
+	 * @param output Output image. Modified.
+	 */
+	public static void divide( InterleavedF32 imgA , InterleavedF32 imgB , InterleavedF32 output ) {
+		InputSanityCheck.checkSameShape(imgA,imgB,output);
+
+		int columns = imgA.width*imgA.numBands;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexOut+i] = ((imgA.data[indexA+i] ) / (imgB.data[indexB+i] ));
+			}
+		}
+	}
+
+	/**
+	 * Sets each pixel in the output image to log( 1 + input(x,y)) of the input image.
+	 * Both the input and output image can be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param output Where the log image is written to. Modified.
+	 */
+	public static void log( InterleavedF32 input , InterleavedF32 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = (float)Math.log(1 + input.data[indexSrc+i]);
+			}
+		}
+	}
+
+	/**
+	 * Raises each pixel in the input image to the power of two. Both the input and output image can be the 
+	 * same instance.	 *
+	 * @param input The input image. Not modified.
+	 * @param output Where the pow2 image is written to. Modified.
+	 */
+	public static void pow2( InterleavedF32 input , InterleavedF32 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				float v = input.data[indexSrc+i];
+				output.data[indexDst+i] = v*v;
+			}
+		}
+	}
+
+	/**
+	 * Computes the square root of each pixel in the input image. Both the input and output image can be the
+	 * same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param output Where the sqrt() image is written to. Modified.
+	 */
+	public static void sqrt( InterleavedF32 input , InterleavedF32 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = (float)Math.sqrt(input.data[indexSrc+i]);
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Performs pixel-wise addition<br>
+	 * output(x,y) = imgA(x,y) + imgB(x,y)
+	 * </p>
+	 * @param imgA Input image. Not modified.
+	 * @param imgB Input image. Not modified.
+	 * @param output Output image. Modified.
+	 */
+	public static void add( InterleavedF64 imgA , InterleavedF64 imgB , InterleavedF64 output ) {
+		InputSanityCheck.checkSameShape(imgA,imgB,output);
+
+		int columns = imgA.width*imgA.numBands;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexOut+i] = ((imgA.data[indexA+i] ) + (imgB.data[indexB+i] ));
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Performs pixel-wise subtraction.<br>
+	 * output(x,y) = imgA(x,y) - imgB(x,y)
+	 * </p>
+	 * @param imgA Input image. Not modified.
+	 * @param imgB Input image. Not modified.
+	 * @param output Output image. Modified.
+	 */
+	public static void subtract( InterleavedF64 imgA , InterleavedF64 imgB , InterleavedF64 output ) {
+		InputSanityCheck.checkSameShape(imgA,imgB,output);
+
+		int columns = imgA.width*imgA.numBands;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexOut+i] = ((imgA.data[indexA+i] ) - (imgB.data[indexB+i] ));
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Performs pixel-wise multiplication<br>
+	 * output(x,y) = imgA(x,y) * imgB(x,y)
+	 * </p>
+	 * @param imgA Input image. Not modified.
+	 * @param imgB Input image. Not modified.
+	 * @param output Output image. Modified.
+	 */
+	public static void multiply( InterleavedF64 imgA , InterleavedF64 imgB , InterleavedF64 output ) {
+		InputSanityCheck.checkSameShape(imgA,imgB,output);
+
+		int columns = imgA.width*imgA.numBands;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexOut+i] = ((imgA.data[indexA+i] ) * (imgB.data[indexB+i] ));
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Performs pixel-wise division<br>
+	 * output(x,y) = imgA(x,y) / imgB(x,y)
+	 * </p>
+	 * @param imgA Input image. Not modified.
+	 * @param imgB Input image. Not modified.
+	 * @param output Output image. Modified.
+	 */
+	public static void divide( InterleavedF64 imgA , InterleavedF64 imgB , InterleavedF64 output ) {
+		InputSanityCheck.checkSameShape(imgA,imgB,output);
+
+		int columns = imgA.width*imgA.numBands;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexOut+i] = ((imgA.data[indexA+i] ) / (imgB.data[indexB+i] ));
+			}
+		}
+	}
+
+	/**
+	 * Sets each pixel in the output image to log( 1 + input(x,y)) of the input image.
+	 * Both the input and output image can be the same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param output Where the log image is written to. Modified.
+	 */
+	public static void log( InterleavedF64 input , InterleavedF64 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = Math.log(1 + input.data[indexSrc+i]);
+			}
+		}
+	}
+
+	/**
+	 * Raises each pixel in the input image to the power of two. Both the input and output image can be the 
+	 * same instance.	 *
+	 * @param input The input image. Not modified.
+	 * @param output Where the pow2 image is written to. Modified.
+	 */
+	public static void pow2( InterleavedF64 input , InterleavedF64 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				double v = input.data[indexSrc+i];
+				output.data[indexDst+i] = v*v;
+			}
+		}
+	}
+
+	/**
+	 * Computes the square root of each pixel in the input image. Both the input and output image can be the
+	 * same instance.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param output Where the sqrt() image is written to. Modified.
+	 */
+	public static void sqrt( InterleavedF64 input , InterleavedF64 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width*input.numBands;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
 
-			for( ; indexSrc < end; indexSrc++ , indexDst++) {
-				output.data[indexDst] = Math.sqrt(input.data[indexSrc]);
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = Math.sqrt(input.data[indexSrc+i]);
 			}
 		}
 	}
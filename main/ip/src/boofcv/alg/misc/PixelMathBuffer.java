@@ -0,0 +1,783 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.misc;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.struct.image.*;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+
+/**
+ * <p>
+ * Versions of the functions in {@link PixelMath} which read their input directly from images stored inside of a
+ * {@link java.nio.Buffer}, see {@link ImageBufferSingleBand}.  A frame inside of a direct or memory mapped buffer
+ * can be processed without first copying it into an array image.  The results are written into array images,
+ * so that they can be passed to the rest of the library, or for {@link #boundImage} modify the buffer in place.
+ * The results are identical to those of {@link PixelMath}.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class PixelMathBuffer {
+
+	/**
+	 * Multiply each element by a scalar value.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param value What each element is multiplied by.
+	 * @param output The output image. Modified.
+	 */
+	public static void multiply( ImageBufferUInt8 input , double value , ImageUInt8 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = (byte)((input.data.get(indexSrc+i) & 0xFF) * value);
+			}
+		}
+	}
+
+	/**
+	 * Multiply each element by a scalar value and bounds the result.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param value What each element is multiplied by.
+	 * @param lower Lower bound on output
+	 * @param upper Upper bound on output
+	 * @param output The output image. Modified.
+	 */
+	public static void multiply( ImageBufferUInt8 input , double value , int lower , int upper , ImageUInt8 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				int val = (int)((input.data.get(indexSrc+i) & 0xFF) * value);
+				if( val < lower ) val = lower;
+				if( val > upper ) val = upper;
+				output.data[indexDst+i] = (byte)val;
+			}
+		}
+	}
+
+	/**
+	 * Divide each element by a scalar value.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param denominator What each element is divided by.
+	 * @param output The output image. Modified.
+	 */
+	public static void divide( ImageBufferUInt8 input , double denominator , ImageUInt8 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = (byte)((input.data.get(indexSrc+i) & 0xFF) / denominator);
+			}
+		}
+	}
+
+	/**
+	 * Divide each element by a scalar value and bounds the result.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param denominator What each element is divided by.
+	 * @param lower Lower bound on output
+	 * @param upper Upper bound on output
+	 * @param output The output image. Modified.
+	 */
+	public static void divide( ImageBufferUInt8 input , double denominator , int lower , int upper , ImageUInt8 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				int val = (int)((input.data.get(indexSrc+i) & 0xFF) / denominator);
+				if( val < lower ) val = lower;
+				if( val > upper ) val = upper;
+				output.data[indexDst+i] = (byte)val;
+			}
+		}
+	}
+
+	/**
+	 * Add a scalar value to each element.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param value What is added to each element.
+	 * @param output The output image. Modified.
+	 */
+	public static void plus( ImageBufferUInt8 input , int value , ImageUInt8 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = (byte)((input.data.get(indexSrc+i) & 0xFF) + value);
+			}
+		}
+	}
+
+	/**
+	 * Add a scalar value to each element and bounds the result.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param value What is added to each element.
+	 * @param lower Lower bound on output
+	 * @param upper Upper bound on output
+	 * @param output The output image. Modified.
+	 */
+	public static void plus( ImageBufferUInt8 input , int value , int lower , int upper , ImageUInt8 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				int val = (input.data.get(indexSrc+i) & 0xFF) + value;
+				if( val < lower ) val = lower;
+				if( val > upper ) val = upper;
+				output.data[indexDst+i] = (byte)val;
+			}
+		}
+	}
+
+	/**
+	 * Bounds image pixels to be between these two values.  The buffer is modified in place.
+	 *
+	 * @param img Image
+	 * @param min minimum value.
+	 * @param max maximum value.
+	 */
+	public static void boundImage( ImageBufferUInt8 img , int min , int max ) {
+		final ByteBuffer data = img.data;
+
+		int columns = img.width;
+		int rows = img.height;
+		if( img.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int index = img.startIndex + y*img.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				int value = data.get(index+i) & 0xFF;
+				if( value < min )
+					data.put(index+i,(byte)min);
+				else if( value > max )
+					data.put(index+i,(byte)max);
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Computes the absolute value of the difference between each pixel in the two images.<br>
+	 * d(x,y) = |img1(x,y) - img2(x,y)|
+	 * </p>
+	 * @param imgA Input image. Not modified.
+	 * @param imgB Input image. Not modified.
+	 * @param diff Output image. Modified.
+	 */
+	public static void diffAbs( ImageBufferUInt8 imgA , ImageBufferUInt8 imgB , ImageUInt8 diff ) {
+		InputSanityCheck.checkSameShape(imgA,imgB,diff);
+
+		final ByteBuffer dataA = imgA.data;
+		final ByteBuffer dataB = imgB.data;
+
+		int columns = imgA.width;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && diff.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = diff.startIndex + y*diff.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				diff.data[indexOut+i] = (byte)Math.abs((dataA.get(indexA+i) & 0xFF) - (dataB.get(indexB+i) & 0xFF));
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Performs pixel-wise addition<br>
+	 * output(x,y) = imgA(x,y) + imgB(x,y)
+	 * </p>
+	 * @param imgA Input image. Not modified.
+	 * @param imgB Input image. Not modified.
+	 * @param output Output image. Modified.
+	 */
+	public static void add( ImageBufferUInt8 imgA , ImageBufferUInt8 imgB , ImageUInt16 output ) {
+		InputSanityCheck.checkSameShape(imgA,imgB,output);
+
+		final ByteBuffer dataA = imgA.data;
+		final ByteBuffer dataB = imgB.data;
+
+		int columns = imgA.width;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexOut+i] = (short)((dataA.get(indexA+i) & 0xFF) + (dataB.get(indexB+i) & 0xFF));
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Performs pixel-wise subtraction.<br>
+	 * output(x,y) = imgA(x,y) - imgB(x,y)
+	 * </p>
+	 * @param imgA Input image. Not modified.
+	 * @param imgB Input image. Not modified.
+	 * @param output Output image. Modified.
+	 */
+	public static void subtract( ImageBufferUInt8 imgA , ImageBufferUInt8 imgB , ImageInt16 output ) {
+		InputSanityCheck.checkSameShape(imgA,imgB,output);
+
+		final ByteBuffer dataA = imgA.data;
+		final ByteBuffer dataB = imgB.data;
+
+		int columns = imgA.width;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexOut+i] = (short)((dataA.get(indexA+i) & 0xFF) - (dataB.get(indexB+i) & 0xFF));
+			}
+		}
+	}
+
+	/**
+	 * Sets each pixel in the output image to be the absolute value of the input image.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param output The output image. Modified.
+	 */
+	public static void abs( ImageBufferFloat32 input , ImageFloat32 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = Math.abs(input.data.get(indexSrc+i));
+			}
+		}
+	}
+
+	/**
+	 * Changes the sign of every pixel in the image: output[x,y] = -input[x,y]
+	 *
+	 * @param input The input image. Not modified.
+	 * @param output The output image. Modified.
+	 */
+	public static void invert( ImageBufferFloat32 input , ImageFloat32 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = -input.data.get(indexSrc+i);
+			}
+		}
+	}
+
+	/**
+	 * Multiply each element by a scalar value.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param value What each element is multiplied by.
+	 * @param output The output image. Modified.
+	 */
+	public static void multiply( ImageBufferFloat32 input , float value , ImageFloat32 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = input.data.get(indexSrc+i) * value;
+			}
+		}
+	}
+
+	/**
+	 * Multiply each element by a scalar value and bounds the result.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param value What each element is multiplied by.
+	 * @param lower Lower bound on output
+	 * @param upper Upper bound on output
+	 * @param output The output image. Modified.
+	 */
+	public static void multiply( ImageBufferFloat32 input , float value , float lower , float upper , ImageFloat32 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				float val = input.data.get(indexSrc+i) * value;
+				if( val < lower ) val = lower;
+				if( val > upper ) val = upper;
+				output.data[indexDst+i] = val;
+			}
+		}
+	}
+
+	/**
+	 * Divide each element by a scalar value.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param denominator What each element is divided by.
+	 * @param output The output image. Modified.
+	 */
+	public static void divide( ImageBufferFloat32 input , float denominator , ImageFloat32 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = input.data.get(indexSrc+i) / denominator;
+			}
+		}
+	}
+
+	/**
+	 * Divide each element by a scalar value and bounds the result.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param denominator What each element is divided by.
+	 * @param lower Lower bound on output
+	 * @param upper Upper bound on output
+	 * @param output The output image. Modified.
+	 */
+	public static void divide( ImageBufferFloat32 input , float denominator , float lower , float upper , ImageFloat32 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				float val = input.data.get(indexSrc+i) / denominator;
+				if( val < lower ) val = lower;
+				if( val > upper ) val = upper;
+				output.data[indexDst+i] = val;
+			}
+		}
+	}
+
+	/**
+	 * Add a scalar value to each element.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param value What is added to each element.
+	 * @param output The output image. Modified.
+	 */
+	public static void plus( ImageBufferFloat32 input , float value , ImageFloat32 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexDst+i] = input.data.get(indexSrc+i) + value;
+			}
+		}
+	}
+
+	/**
+	 * Add a scalar value to each element and bounds the result.
+	 *
+	 * @param input The input image. Not modified.
+	 * @param value What is added to each element.
+	 * @param lower Lower bound on output
+	 * @param upper Upper bound on output
+	 * @param output The output image. Modified.
+	 */
+	public static void plus( ImageBufferFloat32 input , float value , float lower , float upper , ImageFloat32 output ) {
+
+		InputSanityCheck.checkSameShape(input,output);
+
+		int columns = input.width;
+		int rows = input.height;
+		if( input.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				float val = input.data.get(indexSrc+i) + value;
+				if( val < lower ) val = lower;
+				if( val > upper ) val = upper;
+				output.data[indexDst+i] = val;
+			}
+		}
+	}
+
+	/**
+	 * Bounds image pixels to be between these two values.  The buffer is modified in place.
+	 *
+	 * @param img Image
+	 * @param min minimum value.
+	 * @param max maximum value.
+	 */
+	public static void boundImage( ImageBufferFloat32 img , float min , float max ) {
+		final FloatBuffer data = img.data;
+
+		int columns = img.width;
+		int rows = img.height;
+		if( img.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int index = img.startIndex + y*img.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				float value = data.get(index+i);
+				if( value < min )
+					data.put(index+i,min);
+				else if( value > max )
+					data.put(index+i,max);
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Computes the absolute value of the difference between each pixel in the two images.<br>
+	 * d(x,y) = |img1(x,y) - img2(x,y)|
+	 * </p>
+	 * @param imgA Input image. Not modified.
+	 * @param imgB Input image. Not modified.
+	 * @param diff Output image. Modified.
+	 */
+	public static void diffAbs( ImageBufferFloat32 imgA , ImageBufferFloat32 imgB , ImageFloat32 diff ) {
+		InputSanityCheck.checkSameShape(imgA,imgB,diff);
+
+		final FloatBuffer dataA = imgA.data;
+		final FloatBuffer dataB = imgB.data;
+
+		int columns = imgA.width;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && diff.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = diff.startIndex + y*diff.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				diff.data[indexOut+i] = Math.abs(dataA.get(indexA+i) - dataB.get(indexB+i));
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Performs pixel-wise addition<br>
+	 * output(x,y) = imgA(x,y) + imgB(x,y)
+	 * </p>
+	 * @param imgA Input image. Not modified.
+	 * @param imgB Input image. Not modified.
+	 * @param output Output image. Modified.
+	 */
+	public static void add( ImageBufferFloat32 imgA , ImageBufferFloat32 imgB , ImageFloat32 output ) {
+		InputSanityCheck.checkSameShape(imgA,imgB,output);
+
+		final FloatBuffer dataA = imgA.data;
+		final FloatBuffer dataB = imgB.data;
+
+		int columns = imgA.width;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexOut+i] = dataA.get(indexA+i) + dataB.get(indexB+i);
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Performs pixel-wise subtraction.<br>
+	 * output(x,y) = imgA(x,y) - imgB(x,y)
+	 * </p>
+	 * @param imgA Input image. Not modified.
+	 * @param imgB Input image. Not modified.
+	 * @param output Output image. Modified.
+	 */
+	public static void subtract( ImageBufferFloat32 imgA , ImageBufferFloat32 imgB , ImageFloat32 output ) {
+		InputSanityCheck.checkSameShape(imgA,imgB,output);
+
+		final FloatBuffer dataA = imgA.data;
+		final FloatBuffer dataB = imgB.data;
+
+		int columns = imgA.width;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexOut+i] = dataA.get(indexA+i) - dataB.get(indexB+i);
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Performs pixel-wise multiplication<br>
+	 * output(x,y) = imgA(x,y) * imgB(x,y)
+	 * </p>
+	 * @param imgA Input image. Not modified.
+	 * @param imgB Input image. Not modified.
+	 * @param output Output image. Modified.
+	 */
+	public static void multiply( ImageBufferFloat32 imgA , ImageBufferFloat32 imgB , ImageFloat32 output ) {
+		InputSanityCheck.checkSameShape(imgA,imgB,output);
+
+		final FloatBuffer dataA = imgA.data;
+		final FloatBuffer dataB = imgB.data;
+
+		int columns = imgA.width;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexOut+i] = dataA.get(indexA+i) * dataB.get(indexB+i);
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Performs pixel-wise division<br>
+	 * output(x,y) = imgA(x,y) / imgB(x,y)
+	 * </p>
+	 * @param imgA Input image. Not modified.
+	 * @param imgB Input image. Not modified.
+	 * @param output Output image. Modified.
+	 */
+	public static void divide( ImageBufferFloat32 imgA , ImageBufferFloat32 imgB , ImageFloat32 output ) {
+		InputSanityCheck.checkSameShape(imgA,imgB,output);
+
+		final FloatBuffer dataA = imgA.data;
+		final FloatBuffer dataB = imgB.data;
+
+		int columns = imgA.width;
+		int rows = imgA.height;
+		if( imgA.stride == columns && imgB.stride == columns && output.stride == columns ) {
+			columns *= rows;
+			rows = 1;
+		}
+
+		for( int y = 0; y < rows; y++ ) {
+			int indexA = imgA.startIndex + y*imgA.stride;
+			int indexB = imgB.startIndex + y*imgB.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int i = 0; i < columns; i++ ) {
+				output.data[indexOut+i] = dataA.get(indexA+i) / dataB.get(indexB+i);
+			}
+		}
+	}
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.misc;
+
+/**
+ * <p>
+ * Statistics of the pixel values inside an image which are computed in a single pass by
+ * {@link ImageStatistics#statistics}.  Computing them together is faster than calling {@link ImageStatistics#min},
+ * {@link ImageStatistics#max}, {@link ImageStatistics#mean}, and {@link ImageStatistics#variance} separately since
+ * the image only needs to be read once.
+ * </p>
+ *
+ * <p>
+ * The variance is found from the sum and sum of squares of each pixel's difference from the first pixel in the image,
+ * which avoids the catastrophic cancellation of the naive formula when the mean is large relative to the
+ * standard deviation.  Partial sums are computed for each row and combined using Kahan summation, making the results
+ * independent of the number of threads.  The row sums are saved internally, so reusing the same instance avoids
+ * creating new memory.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class PixelStatistics {
+	/** Minimum pixel value */
+	public double min;
+	/** Maximum pixel value */
+	public double max;
+	/** Mean pixel value */
+	public double mean;
+	/** Variance of the pixel values */
+	public double variance;
+
+	// minimum and maximum value in each row
+	double rowMin[] = new double[0];
+	double rowMax[] = new double[0];
+	// sum of each row's pixel values relative to the offset, and the same for squared values
+	double rowSum[] = new double[0];
+	double rowSumSq[] = new double[0];
+
+	/**
+	 * Makes sure there is enough storage for the partial results of each row
+	 */
+	void declareRows( int height ) {
+		if( rowSum.length < height ) {
+			rowMin = new double[height];
+			rowMax = new double[height];
+			rowSum = new double[height];
+			rowSumSq = new double[height];
+		}
+	}
+
+	/**
+	 * Combines the partial results from each row.
+	 *
+	 * @param width Image width
+	 * @param height Image height
+	 * @param offset Value which was subtracted from each pixel before it was summed
+	 */
+	void combineRows( int width , int height , double offset ) {
+		min = rowMin[0];
+		max = rowMax[0];
+
+		double sum = 0, sumError = 0;
+		double sumSq = 0, sumSqError = 0;
+
+		for( int y = 0; y < height; y++ ) {
+			if( rowMin[y] < min )
+				min = rowMin[y];
+			if( rowMax[y] > max )
+				max = rowMax[y];
+
+			// Kahan summation
+			double v = rowSum[y] - sumError;
+			double t = sum + v;
+			sumError = (t - sum) - v;
+			sum = t;
+
+			v = rowSumSq[y] - sumSqError;
+			t = sumSq + v;
+			sumSqError = (t - sumSq) - v;
+			sumSq = t;
+		}
+
+		double N = (double)width*height;
+		mean = offset + sum/N;
+		variance = Math.max(0,(sumSq - sum*sum/N)/N);
+	}
+
+	/**
+	 * Returns the standard deviation of the pixel values
+	 */
+	public double getStdev() {
+		return Math.sqrt(variance);
+	}
+
+	public double getMin() {
+		return min;
+	}
+
+	public double getMax() {
+		return max;
+	}
+
+	public double getMean() {
+		return mean;
+	}
+
+	public double getVariance() {
+		return variance;
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName()+"{ min = "+min+" max = "+max+" mean = "+mean+" variance = "+variance+" }";
+	}
+}
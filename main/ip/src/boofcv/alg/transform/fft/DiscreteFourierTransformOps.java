@@ -101,6 +101,20 @@ public class DiscreteFourierTransformOps {
 			throw new IllegalArgumentException("The transform must have two bands");
 	}
 
+	/**
+	 * Checks to see if the image and the non-redundant half of its transform are appropriate sizes.  The transform
+	 * should have a width of width/2+1 and the same height as the image.
+	 *
+	 * @param image Storage for an image
+	 * @param transform Storage for half of a Fourier Transform
+	 */
+	public static void checkImageArgumentsHalf( ImageBase image , ImageInterleaved transform ) {
+		if( transform.width != image.width/2+1 || transform.height != image.height )
+			throw new IllegalArgumentException("The transform must have a width of image.width/2+1 and the same height");
+		if( 2 != transform.getNumBands() )
+			throw new IllegalArgumentException("The transform must have two bands");
+	}
+
 	/**
 	 * Moves the zero-frequency component into the image center (width/2,height/2).   This function can
 	 * be called to undo the transform.
@@ -18,6 +18,11 @@
 
 package boofcv.alg.transform.fft;
 
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.InstanceFactory;
+import boofcv.concurrency.InstancePool;
+import boofcv.concurrency.IntRangeTask;
+
 /**
  * Computes 2D Discrete Fourier Transform (DFT) of complex and real, double
  * precision data. The size of the data can be an arbitrary number. The code originally comes from
@@ -26,8 +31,9 @@ package boofcv.alg.transform.fft;
  * <p></p>
  * This code has a bit of a history.  Originally from General Purpose FFT.  Which was then ported into
  * JFFTPack written by Baoshe Zhang (http://jfftpack.sourceforge.net/), and then into JTransforms by Piotr Wendykier.
- * The major modification from JTransforms is that the SMP code has been stripped out.  It might be added back in
- * once an SMP strategy has been finalized in BoofCV.
+ * The major modification from JTransforms is that the SMP code has been stripped out and replaced with
+ * {@link BoofConcurrency}.  When concurrency is turned on the row and column passes are split between threads, with
+ * each thread using its own 1D transforms and work buffers.  The results are identical to the single threaded case.
  * <p></p>
  * Code License:  The original license of General Purpose FFT Package is shown below.  This file will fall
  * under the same license:
@@ -58,6 +64,11 @@ public class GeneralPurposeFFT_F64_2D {
 	private double[] temp;
 	private double[][] temp2;
 
+	// 1D transforms and storage which are used by the calling thread
+	private Worker main;
+	// 1D transforms and storage for each thread when processed concurrently
+	private InstancePool<Worker> workers;
+
 	/**
 	 * Creates new instance of DoubleFFT_2D.
 	 *
@@ -94,6 +105,36 @@ public class GeneralPurposeFFT_F64_2D {
 		}
 
 		temp = new double[2 * rows];
+
+		main = new Worker();
+		main.fftRows = fftRows;
+		main.fftColumns = fftColumns;
+		main.t = t;
+		main.temp = temp;
+
+		// columns is modified while processing, so the original sizes are saved
+		final int numRows = rows;
+		final int numColumns = columns;
+		workers = new InstancePool<Worker>(new InstanceFactory<Worker>() {
+			@Override
+			public Worker newInstance() {
+				return createWorker(numRows, numColumns);
+			}
+		});
+	}
+
+	/**
+	 * Number of rows in the data being transformed
+	 */
+	public int getRows() {
+		return rows;
+	}
+
+	/**
+	 * Number of columns in the data being transformed
+	 */
+	public int getColumns() {
+		return columns;
 	}
 
 	/**
@@ -121,37 +162,44 @@ public class GeneralPurposeFFT_F64_2D {
 			return;
 		}
 
+		final int rowStride = 2 * columns;
+		loop(0, rows, rowStride, new WorkerTask() {
+			@Override
+			public void process(Worker w, int r0, int r1) {
+				for (int r = r0; r < r1; r++) {
+					w.fftColumns.complexForward(a, r * rowStride);
+				}
+			}
+		});
+
 		if (isPowerOfTwo) {
 			int oldn2 = columns;
 			columns = 2 * columns;
-			for (int r = 0; r < rows; r++) {
-				fftColumns.complexForward(a, r * columns);
-			}
 			cdft2d_sub(-1, a, true);
 			columns = oldn2;
 		} else {
-			final int rowStride = 2 * columns;
-
-			for (int r = 0; r < rows; r++) {
-				fftColumns.complexForward(a, r * rowStride);
-			}
-
-			for (int c = 0; c < columns; c++) {
-				int idx0 = 2 * c;
-				for (int r = 0; r < rows; r++) {
-					int idx1 = 2 * r;
-					int idx2 = r * rowStride + idx0;
-					temp[idx1] = a[idx2];
-					temp[idx1 + 1] = a[idx2 + 1];
-				}
-				fftRows.complexForward(temp);
-				for (int r = 0; r < rows; r++) {
-					int idx1 = 2 * r;
-					int idx2 = r * rowStride + idx0;
-					a[idx2] = temp[idx1];
-					a[idx2 + 1] = temp[idx1 + 1];
+			loop(0, columns, 2 * rows, new WorkerTask() {
+				@Override
+				public void process(Worker w, int c0, int c1) {
+					double[] temp = w.temp;
+					for (int c = c0; c < c1; c++) {
+						int idx0 = 2 * c;
+						for (int r = 0; r < rows; r++) {
+							int idx1 = 2 * r;
+							int idx2 = r * rowStride + idx0;
+							temp[idx1] = a[idx2];
+							temp[idx1 + 1] = a[idx2 + 1];
+						}
+						w.fftRows.complexForward(temp);
+						for (int r = 0; r < rows; r++) {
+							int idx1 = 2 * r;
+							int idx2 = r * rowStride + idx0;
+							a[idx2] = temp[idx1];
+							a[idx2 + 1] = temp[idx1 + 1];
+						}
+					}
 				}
-			}
+			});
 		}
 	}
 
@@ -184,36 +232,44 @@ public class GeneralPurposeFFT_F64_2D {
 			return;
 		}
 
+		final int rowspan = 2 * columns;
+		loop(0, rows, rowspan, new WorkerTask() {
+			@Override
+			public void process(Worker w, int r0, int r1) {
+				for (int r = r0; r < r1; r++) {
+					w.fftColumns.complexInverse(a, r * rowspan, scale);
+				}
+			}
+		});
+
 		if (isPowerOfTwo) {
 			int oldn2 = columns;
 			columns = 2 * columns;
-			for (int r = 0; r < rows; r++) {
-				fftColumns.complexInverse(a, r * columns, scale);
-			}
 			cdft2d_sub(1, a, scale);
 			columns = oldn2;
 		} else {
-			final int rowspan = 2 * columns;
-			for (int r = 0; r < rows; r++) {
-				fftColumns.complexInverse(a, r * rowspan, scale);
-			}
-
-			for (int c = 0; c < columns; c++) {
-				int idx1 = 2 * c;
-				for (int r = 0; r < rows; r++) {
-					int idx2 = 2 * r;
-					int idx3 = r * rowspan + idx1;
-					temp[idx2] = a[idx3];
-					temp[idx2 + 1] = a[idx3 + 1];
-				}
-				fftRows.complexInverse(temp, scale);
-				for (int r = 0; r < rows; r++) {
-					int idx2 = 2 * r;
-					int idx3 = r * rowspan + idx1;
-					a[idx3] = temp[idx2];
-					a[idx3 + 1] = temp[idx2 + 1];
+			loop(0, columns, 2 * rows, new WorkerTask() {
+				@Override
+				public void process(Worker w, int c0, int c1) {
+					double[] temp = w.temp;
+					for (int c = c0; c < c1; c++) {
+						int idx1 = 2 * c;
+						for (int r = 0; r < rows; r++) {
+							int idx2 = 2 * r;
+							int idx3 = r * rowspan + idx1;
+							temp[idx2] = a[idx3];
+							temp[idx2 + 1] = a[idx3 + 1];
+						}
+						w.fftRows.complexInverse(temp, scale);
+						for (int r = 0; r < rows; r++) {
+							int idx2 = 2 * r;
+							int idx3 = r * rowspan + idx1;
+							a[idx3] = temp[idx2];
+							a[idx3 + 1] = temp[idx2 + 1];
+						}
+					}
 				}
-			}
+			});
 		}
 	}
 
@@ -249,7 +305,7 @@ public class GeneralPurposeFFT_F64_2D {
 	 * @param a
 	 *            data to transform
 	 */
-	public void realForward(double[] a) {
+	public void realForward(final double[] a) {
 		// handle special case
 		if( rows == 1 || columns == 1 ) {
 			if( rows > 1 )
@@ -262,9 +318,7 @@ public class GeneralPurposeFFT_F64_2D {
 		if (isPowerOfTwo == false) {
 			throw new IllegalArgumentException("rows and columns must be power of two numbers");
 		} else {
-			for (int r = 0; r < rows; r++) {
-				fftColumns.realForward(a, r * columns);
-			}
+			realForwardRows(a);
 			cdft2d_sub(-1, a, true);
 			rdft2d_sub(1, a);
 		}
@@ -282,7 +336,7 @@ public class GeneralPurposeFFT_F64_2D {
 	 * @param a
 	 *            data to transform
 	 */
-	public void realForwardFull(double[] a) {
+	public void realForwardFull(final double[] a) {
 		// handle special case
 		if( rows == 1 || columns == 1 ) {
 			if( rows > 1 )
@@ -293,9 +347,7 @@ public class GeneralPurposeFFT_F64_2D {
 		}
 
 		if (isPowerOfTwo) {
-			for (int r = 0; r < rows; r++) {
-				fftColumns.realForward(a, r * columns);
-			}
+			realForwardRows(a);
 			cdft2d_sub(-1, a, true);
 			rdft2d_sub(1, a);
 			fillSymmetric(a);
@@ -339,7 +391,7 @@ public class GeneralPurposeFFT_F64_2D {
 	 * @param scale
 	 *            if true then scaling is performed
 	 */
-	public void realInverse(double[] a, boolean scale) {
+	public void realInverse(final double[] a, final boolean scale) {
 		// handle special case
 		if( rows == 1 || columns == 1 ) {
 			if( rows > 1 )
@@ -354,9 +406,14 @@ public class GeneralPurposeFFT_F64_2D {
 		} else {
 			rdft2d_sub(-1, a);
 			cdft2d_sub(1, a, scale);
-			for (int r = 0; r < rows; r++) {
-				fftColumns.realInverse(a, r * columns, scale);
-			}
+			loop(0, rows, columns, new WorkerTask() {
+				@Override
+				public void process(Worker w, int r0, int r1) {
+					for (int r = r0; r < r1; r++) {
+						w.fftColumns.realInverse(a, r * columns, scale);
+					}
+				}
+			});
 		}
 	}
 
@@ -374,7 +431,7 @@ public class GeneralPurposeFFT_F64_2D {
 	 * @param scale
 	 *            if true then scaling is performed
 	 */
-	public void realInverseFull(double[] a, boolean scale) {
+	public void realInverseFull(final double[] a, final boolean scale) {
 		// handle special case
 		if( rows == 1 || columns == 1 ) {
 			if( rows > 1 )
@@ -385,9 +442,7 @@ public class GeneralPurposeFFT_F64_2D {
 		}
 
 		if (isPowerOfTwo) {
-			for (int r = 0; r < rows; r++) {
-				fftColumns.realInverse2(a, r * columns, scale);
-			}
+			realInverse2Rows(a, scale);
 			cdft2d_sub(1, a, scale);
 			rdft2d_sub(1, a);
 			fillSymmetric(a);
@@ -397,6 +452,162 @@ public class GeneralPurposeFFT_F64_2D {
 		}
 	}
 
+	/**
+	 * <p>
+	 * Computes the non-redundant half of the 2D forward DFT of real data.  The transform of real data is
+	 * conjugate symmetric, so only columns 0 to columns/2 (inclusive) are computed.  Unlike
+	 * {@link #realForward} the size of each dimension can be any number.  The input is not modified.
+	 * The physical layout of the output data is:
+	 * </p>
+	 *
+	 * <pre>
+	 * output[k1*2*(columns/2+1)+2*k2] = Re[k1][k2],
+	 * output[k1*2*(columns/2+1)+2*k2+1] = Im[k1][k2], 0&lt;=k1&lt;rows, 0&lt;=k2&lt;=columns/2
+	 * </pre>
+	 *
+	 * <p>
+	 * To get back the original data use {@link #realInverseHalf} on the output of this method.
+	 * </p>
+	 *
+	 * @param input Real data with rows*columns elements.  Not modified.
+	 * @param output Half of the complex transform with rows*2*(columns/2+1) elements.  Modified.
+	 */
+	public void realForwardHalf(final double[] input, final double[] output) {
+		declareRadixRealData();
+
+		final int n2d2 = columns / 2 + 1;
+		final int rowStride = 2 * n2d2;
+		final double[][] temp = temp2;
+
+		// transform each row.  The row is computed in place inside the output, which has enough space for it
+		loop(0, rows, columns, new WorkerTask() {
+			@Override
+			public void process(Worker w, int r0, int r1) {
+				for (int r = r0; r < r1; r++) {
+					System.arraycopy(input, r * columns, output, r * rowStride, columns);
+					w.fftColumns.realForward(output, r * rowStride);
+				}
+			}
+		});
+
+		// transform each column.  All the columns are extracted before any are written into the output
+		loop(0, n2d2, 2 * rows, new WorkerTask() {
+			@Override
+			public void process(Worker w, int c0, int c1) {
+				for (int c = c0; c < c1; c++) {
+					double[] tc = temp[c];
+					for (int r = 0; r < rows; r++) {
+						int idx = r * rowStride;
+						if (c == 0) {
+							tc[2 * r] = output[idx];
+							tc[2 * r + 1] = 0;
+						} else if (columns % 2 == 0 && c == n2d2 - 1) {
+							tc[2 * r] = output[idx + 1];
+							tc[2 * r + 1] = 0;
+						} else if (columns % 2 == 1 && c == n2d2 - 1) {
+							tc[2 * r] = output[idx + columns - 1];
+							tc[2 * r + 1] = output[idx + 1];
+						} else {
+							tc[2 * r] = output[idx + 2 * c];
+							tc[2 * r + 1] = output[idx + 2 * c + 1];
+						}
+					}
+					w.fftRows.complexForward(tc);
+				}
+			}
+		});
+
+		loop(0, rows, rowStride, new WorkerTask() {
+			@Override
+			public void process(Worker w, int r0, int r1) {
+				for (int r = r0; r < r1; r++) {
+					int idx = r * rowStride;
+					for (int c = 0; c < n2d2; c++) {
+						output[idx + 2 * c] = temp[c][2 * r];
+						output[idx + 2 * c + 1] = temp[c][2 * r + 1];
+					}
+				}
+			}
+		});
+	}
+
+	/**
+	 * Computes the 2D inverse DFT from the non-redundant half of the transform of real data, as computed by
+	 * {@link #realForwardHalf}.  The size of each dimension can be any number.  The input is not modified.
+	 *
+	 * @param input Half of the complex transform with rows*2*(columns/2+1) elements.  Not modified.
+	 * @param output Real data with rows*columns elements.  Modified.
+	 * @param scale if true then scaling is performed
+	 */
+	public void realInverseHalf(final double[] input, final double[] output, final boolean scale) {
+		declareRadixRealData();
+
+		final int n2d2 = columns / 2 + 1;
+		final int rowStride = 2 * n2d2;
+		final double[][] temp = temp2;
+
+		// inverse transform each column
+		loop(0, n2d2, 2 * rows, new WorkerTask() {
+			@Override
+			public void process(Worker w, int c0, int c1) {
+				for (int c = c0; c < c1; c++) {
+					double[] tc = temp[c];
+					for (int r = 0; r < rows; r++) {
+						int idx = r * rowStride + 2 * c;
+						tc[2 * r] = input[idx];
+						tc[2 * r + 1] = input[idx + 1];
+					}
+					w.fftRows.complexInverse(tc, scale);
+				}
+			}
+		});
+
+		// pack each row into the format expected by the 1D real transform then inverse transform it
+		loop(0, rows, columns, new WorkerTask() {
+			@Override
+			public void process(Worker w, int r0, int r1) {
+				for (int r = r0; r < r1; r++) {
+					int idx = r * columns;
+					output[idx] = temp[0][2 * r];
+					for (int c = 1; c < n2d2; c++) {
+						if (columns % 2 == 0 && c == n2d2 - 1) {
+							output[idx + 1] = temp[c][2 * r];
+						} else if (columns % 2 == 1 && c == n2d2 - 1) {
+							output[idx + columns - 1] = temp[c][2 * r];
+							output[idx + 1] = temp[c][2 * r + 1];
+						} else {
+							output[idx + 2 * c] = temp[c][2 * r];
+							output[idx + 2 * c + 1] = temp[c][2 * r + 1];
+						}
+					}
+					w.fftColumns.realInverse(output, idx, scale);
+				}
+			}
+		});
+	}
+
+	private void realForwardRows(final double[] a) {
+		loop(0, rows, columns, new WorkerTask() {
+			@Override
+			public void process(Worker w, int r0, int r1) {
+				for (int r = r0; r < r1; r++) {
+					w.fftColumns.realForward(a, r * columns);
+				}
+			}
+		});
+	}
+
+	private void realInverse2Rows(final double[] a, final boolean scale) {
+		loop(0, rows, columns, new WorkerTask() {
+			@Override
+			public void process(Worker w, int r0, int r1) {
+				for (int r = r0; r < r1; r++) {
+					w.fftColumns.realInverse2(a, r * columns, scale);
+				}
+			}
+		});
+	}
+
 	private void declareRadixRealData() {
 		if( temp2 == null ) {
 			final int n2d2 = columns / 2 + 1;
@@ -409,24 +620,27 @@ public class GeneralPurposeFFT_F64_2D {
 		final int n2d2 = columns / 2 + 1;
 		final double[][] temp = temp2;
 
-		for (int r = 0; r < rows; r++) {
-			fftColumns.realForward(a, r * columns);
-		}
+		realForwardRows(a);
 		for (int r = 0; r < rows; r++) {
 			temp[0][r] = a[r * columns]; //first column is always real
 		}
 		fftRows.realForwardFull(temp[0]);
 
-		for (int c = 1; c < n2d2 - 1; c++) {
-			int idx0 = 2 * c;
-			for (int r = 0; r < rows; r++) {
-				int idx1 = 2 * r;
-				int idx2 = r * columns + idx0;
-				temp[c][idx1] = a[idx2];
-				temp[c][idx1 + 1] = a[idx2 + 1];
+		loop(1, n2d2 - 1, 2 * rows, new WorkerTask() {
+			@Override
+			public void process(Worker w, int c0, int c1) {
+				for (int c = c0; c < c1; c++) {
+					int idx0 = 2 * c;
+					for (int r = 0; r < rows; r++) {
+						int idx1 = 2 * r;
+						int idx2 = r * columns + idx0;
+						temp[c][idx1] = a[idx2];
+						temp[c][idx1 + 1] = a[idx2 + 1];
+					}
+					w.fftRows.complexForward(temp[c]);
+				}
 			}
-			fftRows.complexForward(temp[c]);
-		}
+		});
 
 		if ((columns % 2) == 0) {
 			for (int r = 0; r < rows; r++) {
@@ -478,24 +692,27 @@ public class GeneralPurposeFFT_F64_2D {
 		final int n2d2 = columns / 2 + 1;
 		final double[][] temp = temp2;
 
-		for (int r = 0; r < rows; r++) {
-			fftColumns.realInverse2(a, r * columns, scale);
-		}
+		realInverse2Rows(a, scale);
 		for (int r = 0; r < rows; r++) {
 			temp[0][r] = a[r * columns]; //first column is always real
 		}
 		fftRows.realInverseFull(temp[0], scale);
 
-		for (int c = 1; c < n2d2 - 1; c++) {
-			int idx0 = 2 * c;
-			for (int r = 0; r < rows; r++) {
-				int idx1 = 2 * r;
-				int idx2 = r * columns + idx0;
-				temp[c][idx1] = a[idx2];
-				temp[c][idx1 + 1] = a[idx2 + 1];
+		loop(1, n2d2 - 1, 2 * rows, new WorkerTask() {
+			@Override
+			public void process(Worker w, int c0, int c1) {
+				for (int c = c0; c < c1; c++) {
+					int idx0 = 2 * c;
+					for (int r = 0; r < rows; r++) {
+						int idx1 = 2 * r;
+						int idx2 = r * columns + idx0;
+						temp[c][idx1] = a[idx2];
+						temp[c][idx1 + 1] = a[idx2 + 1];
+					}
+					w.fftRows.complexInverse(temp[c], scale);
+				}
 			}
-			fftRows.complexInverse(temp[c], scale);
-		}
+		});
 
 		if ((columns % 2) == 0) {
 			for (int r = 0; r < rows; r++) {
@@ -577,42 +794,7 @@ public class GeneralPurposeFFT_F64_2D {
 		int idx1, idx2, idx3, idx4, idx5;
 		if (isgn == -1) {
 			if (columns > 4) {
-				for (int c = 0; c < columns; c += 8) {
-					for (int r = 0; r < rows; r++) {
-						idx1 = r * columns + c;
-						idx2 = 2 * r;
-						idx3 = 2 * rows + 2 * r;
-						idx4 = idx3 + 2 * rows;
-						idx5 = idx4 + 2 * rows;
-						t[idx2] = a[idx1];
-						t[idx2 + 1] = a[idx1 + 1];
-						t[idx3] = a[idx1 + 2];
-						t[idx3 + 1] = a[idx1 + 3];
-						t[idx4] = a[idx1 + 4];
-						t[idx4 + 1] = a[idx1 + 5];
-						t[idx5] = a[idx1 + 6];
-						t[idx5 + 1] = a[idx1 + 7];
-					}
-					fftRows.complexForward(t, 0);
-					fftRows.complexForward(t, 2 * rows);
-					fftRows.complexForward(t, 4 * rows);
-					fftRows.complexForward(t, 6 * rows);
-					for (int r = 0; r < rows; r++) {
-						idx1 = r * columns + c;
-						idx2 = 2 * r;
-						idx3 = 2 * rows + 2 * r;
-						idx4 = idx3 + 2 * rows;
-						idx5 = idx4 + 2 * rows;
-						a[idx1] = t[idx2];
-						a[idx1 + 1] = t[idx2 + 1];
-						a[idx1 + 2] = t[idx3];
-						a[idx1 + 3] = t[idx3 + 1];
-						a[idx1 + 4] = t[idx4];
-						a[idx1 + 5] = t[idx4 + 1];
-						a[idx1 + 6] = t[idx5];
-						a[idx1 + 7] = t[idx5 + 1];
-					}
-				}
+				cdft2d_columns(isgn, a, scale);
 			} else if (columns == 4) {
 				for (int r = 0; r < rows; r++) {
 					idx1 = r * columns;
@@ -651,42 +833,7 @@ public class GeneralPurposeFFT_F64_2D {
 			}
 		} else {
 			if (columns > 4) {
-				for (int c = 0; c < columns; c += 8) {
-					for (int r = 0; r < rows; r++) {
-						idx1 = r * columns + c;
-						idx2 = 2 * r;
-						idx3 = 2 * rows + 2 * r;
-						idx4 = idx3 + 2 * rows;
-						idx5 = idx4 + 2 * rows;
-						t[idx2] = a[idx1];
-						t[idx2 + 1] = a[idx1 + 1];
-						t[idx3] = a[idx1 + 2];
-						t[idx3 + 1] = a[idx1 + 3];
-						t[idx4] = a[idx1 + 4];
-						t[idx4 + 1] = a[idx1 + 5];
-						t[idx5] = a[idx1 + 6];
-						t[idx5 + 1] = a[idx1 + 7];
-					}
-					fftRows.complexInverse(t, 0, scale);
-					fftRows.complexInverse(t, 2 * rows, scale);
-					fftRows.complexInverse(t, 4 * rows, scale);
-					fftRows.complexInverse(t, 6 * rows, scale);
-					for (int r = 0; r < rows; r++) {
-						idx1 = r * columns + c;
-						idx2 = 2 * r;
-						idx3 = 2 * rows + 2 * r;
-						idx4 = idx3 + 2 * rows;
-						idx5 = idx4 + 2 * rows;
-						a[idx1] = t[idx2];
-						a[idx1 + 1] = t[idx2 + 1];
-						a[idx1 + 2] = t[idx3];
-						a[idx1 + 3] = t[idx3 + 1];
-						a[idx1 + 4] = t[idx4];
-						a[idx1 + 5] = t[idx4 + 1];
-						a[idx1 + 6] = t[idx5];
-						a[idx1 + 7] = t[idx5 + 1];
-					}
-				}
+				cdft2d_columns(isgn, a, scale);
 			} else if (columns == 4) {
 				for (int r = 0; r < rows; r++) {
 					idx1 = r * columns;
@@ -726,6 +873,63 @@ public class GeneralPurposeFFT_F64_2D {
 		}
 	}
 
+	/**
+	 * Applies the 1D transform along blocks of 8 columns at a time.  Each block is independent, so blocks are
+	 * processed concurrently.
+	 */
+	private void cdft2d_columns(final int isgn, final double[] a, final boolean scale) {
+		loop(0, columns / 8, 8 * rows, new WorkerTask() {
+			@Override
+			public void process(Worker w, int b0, int b1) {
+				final double[] t = w.t;
+				int idx1, idx2, idx3, idx4, idx5;
+				for (int c = b0 * 8; c < b1 * 8; c += 8) {
+					for (int r = 0; r < rows; r++) {
+						idx1 = r * columns + c;
+						idx2 = 2 * r;
+						idx3 = 2 * rows + 2 * r;
+						idx4 = idx3 + 2 * rows;
+						idx5 = idx4 + 2 * rows;
+						t[idx2] = a[idx1];
+						t[idx2 + 1] = a[idx1 + 1];
+						t[idx3] = a[idx1 + 2];
+						t[idx3 + 1] = a[idx1 + 3];
+						t[idx4] = a[idx1 + 4];
+						t[idx4 + 1] = a[idx1 + 5];
+						t[idx5] = a[idx1 + 6];
+						t[idx5 + 1] = a[idx1 + 7];
+					}
+					if (isgn == -1) {
+						w.fftRows.complexForward(t, 0);
+						w.fftRows.complexForward(t, 2 * rows);
+						w.fftRows.complexForward(t, 4 * rows);
+						w.fftRows.complexForward(t, 6 * rows);
+					} else {
+						w.fftRows.complexInverse(t, 0, scale);
+						w.fftRows.complexInverse(t, 2 * rows, scale);
+						w.fftRows.complexInverse(t, 4 * rows, scale);
+						w.fftRows.complexInverse(t, 6 * rows, scale);
+					}
+					for (int r = 0; r < rows; r++) {
+						idx1 = r * columns + c;
+						idx2 = 2 * r;
+						idx3 = 2 * rows + 2 * r;
+						idx4 = idx3 + 2 * rows;
+						idx5 = idx4 + 2 * rows;
+						a[idx1] = t[idx2];
+						a[idx1 + 1] = t[idx2 + 1];
+						a[idx1 + 2] = t[idx3];
+						a[idx1 + 3] = t[idx3 + 1];
+						a[idx1 + 4] = t[idx4];
+						a[idx1 + 5] = t[idx4 + 1];
+						a[idx1 + 6] = t[idx5];
+						a[idx1 + 7] = t[idx5 + 1];
+					}
+				}
+			}
+		});
+	}
+
 	private void cdft2d_sub(int isgn, double[][] a, boolean scale) {
 		int idx2, idx3, idx4, idx5;
 		if (isgn == -1) {
@@ -915,4 +1119,54 @@ public class GeneralPurposeFFT_F64_2D {
 		a[idx1 + 1] = 0;
 		a[idx1 + columns + 1] = 0;
 	}
+
+	/**
+	 * Processes the range concurrently if there is enough work and concurrency is turned on.  Otherwise it
+	 * is processed in the calling thread using the instance's own storage.
+	 */
+	private void loop(int start, int end, int workPerIndex, final WorkerTask task) {
+		if (end - start > 1 && BoofConcurrency.isConcurrent((long) (end - start) * workPerIndex)) {
+			BoofConcurrency.loopBlocks(start, end, workPerIndex, new IntRangeTask() {
+				@Override
+				public void process(int i0, int i1) {
+					Worker w = workers.grab();
+					task.process(w, i0, i1);
+					workers.release(w);
+				}
+			});
+		} else if (start < end) {
+			task.process(main, start, end);
+		}
+	}
+
+	private Worker createWorker(int rows, int columns) {
+		Worker w = new Worker();
+		w.fftRows = new GeneralPurposeFFT_F64_1D(rows);
+		if (rows == columns) {
+			w.fftColumns = w.fftRows;
+		} else {
+			w.fftColumns = new GeneralPurposeFFT_F64_1D(columns);
+		}
+		if (t != null)
+			w.t = new double[t.length];
+		w.temp = new double[2 * rows];
+		return w;
+	}
+
+	/**
+	 * Processes a range of rows or columns using the provided worker's transforms and storage
+	 */
+	private interface WorkerTask {
+		void process(Worker w, int i0, int i1);
+	}
+
+	/**
+	 * 1D transforms and storage used by a single thread.  The 1D transforms have internal storage and can't be
+	 * shared between threads.
+	 */
+	private static class Worker {
+		GeneralPurposeFFT_F64_1D fftRows, fftColumns;
+		double[] t;
+		double[] temp;
+	}
 }
@@ -40,6 +40,8 @@ public class GIntegralImageOps {
 			return (Class<II>)ImageSInt32.class;
 		} else if( inputType == ImageSInt32.class ){
 			return (Class<II>)ImageSInt32.class;
+		} else if( inputType == ImageUInt16.class || inputType == ImageSInt64.class ){
+			return (Class<II>)ImageSInt64.class;
 		} else {
 			throw new IllegalArgumentException("Unknown input image type: "+inputType.getSimpleName());
 		}
@@ -64,6 +66,8 @@ public class GIntegralImageOps {
 			return (T)IntegralImageOps.transform((ImageSInt32)input,(ImageSInt32)transformed);
 		} else if( input instanceof ImageSInt64) {
 			return (T)IntegralImageOps.transform((ImageSInt64)input,(ImageSInt64)transformed);
+		} else if( input instanceof ImageUInt16) {
+			return (T)IntegralImageOps.transform((ImageUInt16)input,(ImageSInt64)transformed);
 		} else {
 			throw new IllegalArgumentException("Unknown input type: "+input.getClass().getSimpleName());
 		}
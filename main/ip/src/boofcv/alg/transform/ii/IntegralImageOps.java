@@ -20,6 +20,8 @@ package boofcv.alg.transform.ii;
 
 import boofcv.alg.InputSanityCheck;
 import boofcv.alg.transform.ii.impl.ImplIntegralImageOps;
+import boofcv.alg.transform.ii.impl.ImplIntegralImageOps_MT;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.struct.ImageRectangle;
 import boofcv.struct.image.*;
 
@@ -29,6 +31,12 @@ import boofcv.struct.image.*;
  * Common operations for dealing with integral images.
  * </p>
  *
+ * <p>
+ * If {@link BoofConcurrency#USE_CONCURRENT} is true then integral images are computed by
+ * {@link ImplIntegralImageOps_MT}.  After a small part of the input image has changed the integral image can be
+ * updated without recomputing it from scratch using {@code transformRegion()}.
+ * </p>
+ *
  * @author Peter Abeles
  */
 public class IntegralImageOps {
@@ -43,7 +51,10 @@ public class IntegralImageOps {
 	public static ImageFloat32 transform( ImageFloat32 input , ImageFloat32 transformed ) {
 		transformed = InputSanityCheck.checkDeclare(input,transformed);
 
-		ImplIntegralImageOps.transform(input,transformed);
+		if( BoofConcurrency.isConcurrent((long)input.width*input.height) )
+			ImplIntegralImageOps_MT.transform(input,transformed);
+		else
+			ImplIntegralImageOps.transform(input,transformed);
 
 		return transformed;
 	}
@@ -58,7 +69,10 @@ public class IntegralImageOps {
 	public static ImageFloat64 transform( ImageFloat64 input , ImageFloat64 transformed ) {
 		transformed = InputSanityCheck.checkDeclare(input,transformed);
 
-		ImplIntegralImageOps.transform(input,transformed);
+		if( BoofConcurrency.isConcurrent((long)input.width*input.height) )
+			ImplIntegralImageOps_MT.transform(input,transformed);
+		else
+			ImplIntegralImageOps.transform(input,transformed);
 
 		return transformed;
 	}
@@ -73,7 +87,10 @@ public class IntegralImageOps {
 	public static ImageSInt32 transform( ImageUInt8 input , ImageSInt32 transformed ) {
 		transformed = InputSanityCheck.checkDeclare(input,transformed,ImageSInt32.class);
 
-		ImplIntegralImageOps.transform(input,transformed);
+		if( BoofConcurrency.isConcurrent((long)input.width*input.height) )
+			ImplIntegralImageOps_MT.transform(input,transformed);
+		else
+			ImplIntegralImageOps.transform(input,transformed);
 
 		return transformed;
 	}
@@ -88,7 +105,10 @@ public class IntegralImageOps {
 	public static ImageSInt32 transform( ImageSInt32 input , ImageSInt32 transformed ) {
 		transformed = InputSanityCheck.checkDeclare(input,transformed,ImageSInt32.class);
 
-		ImplIntegralImageOps.transform(input, transformed);
+		if( BoofConcurrency.isConcurrent((long)input.width*input.height) )
+			ImplIntegralImageOps_MT.transform(input,transformed);
+		else
+			ImplIntegralImageOps.transform(input,transformed);
 
 		return transformed;
 	}
@@ -103,11 +123,159 @@ public class IntegralImageOps {
 	public static ImageSInt64 transform( ImageSInt64 input , ImageSInt64 transformed ) {
 		transformed = InputSanityCheck.checkDeclare(input,transformed,ImageSInt64.class);
 
-		ImplIntegralImageOps.transform(input, transformed);
+		if( BoofConcurrency.isConcurrent((long)input.width*input.height) )
+			ImplIntegralImageOps_MT.transform(input,transformed);
+		else
+			ImplIntegralImageOps.transform(input,transformed);
+
+		return transformed;
+	}
+
+	/**
+	 * Converts a regular image into an integral image.  A 64-bit integral image is used so that large
+	 * images don't overflow.
+	 *
+	 * @param input Regular image. Not modified.
+	 * @param transformed Integral image. If null a new image will be created. Modified.
+	 * @return Integral image.
+	 */
+	public static ImageSInt64 transform( ImageUInt16 input , ImageSInt64 transformed ) {
+		transformed = InputSanityCheck.checkDeclare(input,transformed,ImageSInt64.class);
+
+		if( BoofConcurrency.isConcurrent((long)input.width*input.height) )
+			ImplIntegralImageOps_MT.transform(input,transformed);
+		else
+			ImplIntegralImageOps.transform(input,transformed);
 
 		return transformed;
 	}
 
+	/**
+	 * Updates the integral image after pixels inside the specified region of the input image have been
+	 * modified.  Only the part of the integral image which is affected is recomputed, which is everything
+	 * below and to the right of the region's top left corner.  For floating point images the results can
+	 * differ slightly from {@link #transform} due to round off errors.
+	 *
+	 * @param input Regular image which has been modified. Not modified.
+	 * @param transformed Integral image of the input image before it was modified. Modified.
+	 * @param changed Region in the input image which has been modified.  x0,y0 are inclusive and x1,y1 exclusive.
+	 */
+	public static void transformRegion( ImageFloat32 input , ImageFloat32 transformed , ImageRectangle changed ) {
+		InputSanityCheck.checkSameShape(input,transformed);
+
+		int x0 = Math.max(0,changed.x0), y0 = Math.max(0,changed.y0);
+		int x1 = Math.min(input.width,changed.x1), y1 = Math.min(input.height,changed.y1);
+		if( x0 >= x1 || y0 >= y1 )
+			return;
+
+		ImplIntegralImageOps.transformRegion(input,transformed,x0,y0,y1,new float[input.width-x0]);
+	}
+
+	/**
+	 * Updates the integral image after pixels inside the specified region of the input image have been
+	 * modified.  Only the part of the integral image which is affected is recomputed, which is everything
+	 * below and to the right of the region's top left corner.  For floating point images the results can
+	 * differ slightly from {@link #transform} due to round off errors.
+	 *
+	 * @param input Regular image which has been modified. Not modified.
+	 * @param transformed Integral image of the input image before it was modified. Modified.
+	 * @param changed Region in the input image which has been modified.  x0,y0 are inclusive and x1,y1 exclusive.
+	 */
+	public static void transformRegion( ImageFloat64 input , ImageFloat64 transformed , ImageRectangle changed ) {
+		InputSanityCheck.checkSameShape(input,transformed);
+
+		int x0 = Math.max(0,changed.x0), y0 = Math.max(0,changed.y0);
+		int x1 = Math.min(input.width,changed.x1), y1 = Math.min(input.height,changed.y1);
+		if( x0 >= x1 || y0 >= y1 )
+			return;
+
+		ImplIntegralImageOps.transformRegion(input,transformed,x0,y0,y1,new double[input.width-x0]);
+	}
+
+	/**
+	 * Updates the integral image after pixels inside the specified region of the input image have been
+	 * modified.  Only the part of the integral image which is affected is recomputed, which is everything
+	 * below and to the right of the region's top left corner.  For floating point images the results can
+	 * differ slightly from {@link #transform} due to round off errors.
+	 *
+	 * @param input Regular image which has been modified. Not modified.
+	 * @param transformed Integral image of the input image before it was modified. Modified.
+	 * @param changed Region in the input image which has been modified.  x0,y0 are inclusive and x1,y1 exclusive.
+	 */
+	public static void transformRegion( ImageUInt8 input , ImageSInt32 transformed , ImageRectangle changed ) {
+		InputSanityCheck.checkSameShape(input,transformed);
+
+		int x0 = Math.max(0,changed.x0), y0 = Math.max(0,changed.y0);
+		int x1 = Math.min(input.width,changed.x1), y1 = Math.min(input.height,changed.y1);
+		if( x0 >= x1 || y0 >= y1 )
+			return;
+
+		ImplIntegralImageOps.transformRegion(input,transformed,x0,y0,y1,new int[input.width-x0]);
+	}
+
+	/**
+	 * Updates the integral image after pixels inside the specified region of the input image have been
+	 * modified.  Only the part of the integral image which is affected is recomputed, which is everything
+	 * below and to the right of the region's top left corner.  For floating point images the results can
+	 * differ slightly from {@link #transform} due to round off errors.
+	 *
+	 * @param input Regular image which has been modified. Not modified.
+	 * @param transformed Integral image of the input image before it was modified. Modified.
+	 * @param changed Region in the input image which has been modified.  x0,y0 are inclusive and x1,y1 exclusive.
+	 */
+	public static void transformRegion( ImageSInt32 input , ImageSInt32 transformed , ImageRectangle changed ) {
+		InputSanityCheck.checkSameShape(input,transformed);
+
+		int x0 = Math.max(0,changed.x0), y0 = Math.max(0,changed.y0);
+		int x1 = Math.min(input.width,changed.x1), y1 = Math.min(input.height,changed.y1);
+		if( x0 >= x1 || y0 >= y1 )
+			return;
+
+		ImplIntegralImageOps.transformRegion(input,transformed,x0,y0,y1,new int[input.width-x0]);
+	}
+
+	/**
+	 * Updates the integral image after pixels inside the specified region of the input image have been
+	 * modified.  Only the part of the integral image which is affected is recomputed, which is everything
+	 * below and to the right of the region's top left corner.  For floating point images the results can
+	 * differ slightly from {@link #transform} due to round off errors.
+	 *
+	 * @param input Regular image which has been modified. Not modified.
+	 * @param transformed Integral image of the input image before it was modified. Modified.
+	 * @param changed Region in the input image which has been modified.  x0,y0 are inclusive and x1,y1 exclusive.
+	 */
+	public static void transformRegion( ImageSInt64 input , ImageSInt64 transformed , ImageRectangle changed ) {
+		InputSanityCheck.checkSameShape(input,transformed);
+
+		int x0 = Math.max(0,changed.x0), y0 = Math.max(0,changed.y0);
+		int x1 = Math.min(input.width,changed.x1), y1 = Math.min(input.height,changed.y1);
+		if( x0 >= x1 || y0 >= y1 )
+			return;
+
+		ImplIntegralImageOps.transformRegion(input,transformed,x0,y0,y1,new long[input.width-x0]);
+	}
+
+	/**
+	 * Updates the integral image after pixels inside the specified region of the input image have been
+	 * modified.  Only the part of the integral image which is affected is recomputed, which is everything
+	 * below and to the right of the region's top left corner.  For floating point images the results can
+	 * differ slightly from {@link #transform} due to round off errors.
+	 *
+	 * @param input Regular image which has been modified. Not modified.
+	 * @param transformed Integral image of the input image before it was modified. Modified.
+	 * @param changed Region in the input image which has been modified.  x0,y0 are inclusive and x1,y1 exclusive.
+	 */
+	public static void transformRegion( ImageUInt16 input , ImageSInt64 transformed , ImageRectangle changed ) {
+		InputSanityCheck.checkSameShape(input,transformed);
+
+		int x0 = Math.max(0,changed.x0), y0 = Math.max(0,changed.y0);
+		int x1 = Math.min(input.width,changed.x1), y1 = Math.min(input.height,changed.y1);
+		if( x0 >= x1 || y0 >= y1 )
+			return;
+
+		ImplIntegralImageOps.transformRegion(input,transformed,x0,y0,y1,new long[input.width-x0]);
+	}
+
 	/**
 	 * General code for convolving a box filter across an image using the integral image.
 	 *
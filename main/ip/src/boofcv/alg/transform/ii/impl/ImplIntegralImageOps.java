@@ -62,6 +62,84 @@ public class ImplIntegralImageOps {
 		}
 	}
 
+	/**
+	 * First pass of the integral image.  Computes the sum along each row inside the range of rows.
+	 */
+	public static void transformRows( final ImageFloat32 input , final ImageFloat32 transformed , int y0 , int y1 )
+	{
+		for( int y = y0; y < y1; y++ ) {
+			int indexSrc = input.startIndex + input.stride*y;
+			int indexDst = transformed.startIndex + transformed.stride*y;
+			int end = indexSrc + input.width;
+
+			float total = 0;
+			for( ; indexSrc < end; indexSrc++ ) {
+				transformed.data[indexDst++] = total += input.data[indexSrc];
+			}
+		}
+	}
+
+	/**
+	 * Updates the integral image after the input image has been modified inside of rows y0 to y1 and
+	 * columns x0 and above.  Rows below the region are updated by adding the change in the region's last row.
+	 *
+	 * @param work Storage for the change in the last row.  Must have at least width-x0 elements.
+	 */
+	public static void transformRegion( final ImageFloat32 input , final ImageFloat32 transformed ,
+										int x0 , int y0 , int y1 , float work[] )
+	{
+		final int width = input.width;
+		final boolean below = y1 < input.height;
+
+		// save the original values in the region's last row
+		if( below ) {
+			int index = transformed.startIndex + transformed.stride*(y1-1) + x0;
+			for( int x = x0; x < width; x++ ) {
+				work[x-x0] = transformed.data[index++];
+			}
+		}
+
+		for( int y = y0; y < y1; y++ ) {
+			int indexSrc = input.startIndex + input.stride*y;
+			int indexDst = transformed.startIndex + transformed.stride*y + x0;
+			int indexPrev = indexDst - transformed.stride;
+
+			// sum of the row before the region
+			float total = 0;
+			int end = indexSrc + x0;
+			for( ; indexSrc < end; indexSrc++ ) {
+				total += input.data[indexSrc];
+			}
+
+			end = input.startIndex + input.stride*y + width;
+			if( y == 0 ) {
+				for( ; indexSrc < end; indexSrc++ ) {
+					transformed.data[indexDst++] = total += input.data[indexSrc];
+				}
+			} else {
+				for( ; indexSrc < end; indexSrc++ ) {
+					total += input.data[indexSrc];
+					transformed.data[indexDst++] = transformed.data[indexPrev++] + total;
+				}
+			}
+		}
+
+		// the rows below the region all change by the same amount
+		if( below ) {
+			int index = transformed.startIndex + transformed.stride*(y1-1) + x0;
+			for( int x = x0; x < width; x++ ) {
+				work[x-x0] = transformed.data[index++] - work[x-x0];
+			}
+
+			for( int y = y1; y < input.height; y++ ) {
+				index = transformed.startIndex + transformed.stride*y + x0;
+				for( int x = x0; x < width; x++ ) {
+					transformed.data[index++] += work[x-x0];
+				}
+			}
+		}
+	}
+
 	public static void transform( final ImageFloat64 input , final ImageFloat64 transformed )
 	{
 		int indexSrc = input.startIndex;
@@ -88,6 +166,84 @@ public class ImplIntegralImageOps {
 		}
 	}
 
+	/**
+	 * First pass of the integral image.  Computes the sum along each row inside the range of rows.
+	 */
+	public static void transformRows( final ImageFloat64 input , final ImageFloat64 transformed , int y0 , int y1 )
+	{
+		for( int y = y0; y < y1; y++ ) {
+			int indexSrc = input.startIndex + input.stride*y;
+			int indexDst = transformed.startIndex + transformed.stride*y;
+			int end = indexSrc + input.width;
+
+			double total = 0;
+			for( ; indexSrc < end; indexSrc++ ) {
+				transformed.data[indexDst++] = total += input.data[indexSrc];
+			}
+		}
+	}
+
+	/**
+	 * Updates the integral image after the input image has been modified inside of rows y0 to y1 and
+	 * columns x0 and above.  Rows below the region are updated by adding the change in the region's last row.
+	 *
+	 * @param work Storage for the change in the last row.  Must have at least width-x0 elements.
+	 */
+	public static void transformRegion( final ImageFloat64 input , final ImageFloat64 transformed ,
+										int x0 , int y0 , int y1 , double work[] )
+	{
+		final int width = input.width;
+		final boolean below = y1 < input.height;
+
+		// save the original values in the region's last row
+		if( below ) {
+			int index = transformed.startIndex + transformed.stride*(y1-1) + x0;
+			for( int x = x0; x < width; x++ ) {
+				work[x-x0] = transformed.data[index++];
+			}
+		}
+
+		for( int y = y0; y < y1; y++ ) {
+			int indexSrc = input.startIndex + input.stride*y;
+			int indexDst = transformed.startIndex + transformed.stride*y + x0;
+			int indexPrev = indexDst - transformed.stride;
+
+			// sum of the row before the region
+			double total = 0;
+			int end = indexSrc + x0;
+			for( ; indexSrc < end; indexSrc++ ) {
+				total += input.data[indexSrc];
+			}
+
+			end = input.startIndex + input.stride*y + width;
+			if( y == 0 ) {
+				for( ; indexSrc < end; indexSrc++ ) {
+					transformed.data[indexDst++] = total += input.data[indexSrc];
+				}
+			} else {
+				for( ; indexSrc < end; indexSrc++ ) {
+					total += input.data[indexSrc];
+					transformed.data[indexDst++] = transformed.data[indexPrev++] + total;
+				}
+			}
+		}
+
+		// the rows below the region all change by the same amount
+		if( below ) {
+			int index = transformed.startIndex + transformed.stride*(y1-1) + x0;
+			for( int x = x0; x < width; x++ ) {
+				work[x-x0] = transformed.data[index++] - work[x-x0];
+			}
+
+			for( int y = y1; y < input.height; y++ ) {
+				index = transformed.startIndex + transformed.stride*y + x0;
+				for( int x = x0; x < width; x++ ) {
+					transformed.data[index++] += work[x-x0];
+				}
+			}
+		}
+	}
+
 	public static void transform( final ImageUInt8 input , final ImageSInt32 transformed )
 	{
 		int indexSrc = input.startIndex;
@@ -114,6 +270,84 @@ public class ImplIntegralImageOps {
 		}
 	}
 
+	/**
+	 * First pass of the integral image.  Computes the sum along each row inside the range of rows.
+	 */
+	public static void transformRows( final ImageUInt8 input , final ImageSInt32 transformed , int y0 , int y1 )
+	{
+		for( int y = y0; y < y1; y++ ) {
+			int indexSrc = input.startIndex + input.stride*y;
+			int indexDst = transformed.startIndex + transformed.stride*y;
+			int end = indexSrc + input.width;
+
+			int total = 0;
+			for( ; indexSrc < end; indexSrc++ ) {
+				transformed.data[indexDst++] = total += input.data[indexSrc]& 0xFF;
+			}
+		}
+	}
+
+	/**
+	 * Updates the integral image after the input image has been modified inside of rows y0 to y1 and
+	 * columns x0 and above.  Rows below the region are updated by adding the change in the region's last row.
+	 *
+	 * @param work Storage for the change in the last row.  Must have at least width-x0 elements.
+	 */
+	public static void transformRegion( final ImageUInt8 input , final ImageSInt32 transformed ,
+										int x0 , int y0 , int y1 , int work[] )
+	{
+		final int width = input.width;
+		final boolean below = y1 < input.height;
+
+		// save the original values in the region's last row
+		if( below ) {
+			int index = transformed.startIndex + transformed.stride*(y1-1) + x0;
+			for( int x = x0; x < width; x++ ) {
+				work[x-x0] = transformed.data[index++];
+			}
+		}
+
+		for( int y = y0; y < y1; y++ ) {
+			int indexSrc = input.startIndex + input.stride*y;
+			int indexDst = transformed.startIndex + transformed.stride*y + x0;
+			int indexPrev = indexDst - transformed.stride;
+
+			// sum of the row before the region
+			int total = 0;
+			int end = indexSrc + x0;
+			for( ; indexSrc < end; indexSrc++ ) {
+				total += input.data[indexSrc]& 0xFF;
+			}
+
+			end = input.startIndex + input.stride*y + width;
+			if( y == 0 ) {
+				for( ; indexSrc < end; indexSrc++ ) {
+					transformed.data[indexDst++] = total += input.data[indexSrc]& 0xFF;
+				}
+			} else {
+				for( ; indexSrc < end; indexSrc++ ) {
+					total += input.data[indexSrc]& 0xFF;
+					transformed.data[indexDst++] = transformed.data[indexPrev++] + total;
+				}
+			}
+		}
+
+		// the rows below the region all change by the same amount
+		if( below ) {
+			int index = transformed.startIndex + transformed.stride*(y1-1) + x0;
+			for( int x = x0; x < width; x++ ) {
+				work[x-x0] = transformed.data[index++] - work[x-x0];
+			}
+
+			for( int y = y1; y < input.height; y++ ) {
+				index = transformed.startIndex + transformed.stride*y + x0;
+				for( int x = x0; x < width; x++ ) {
+					transformed.data[index++] += work[x-x0];
+				}
+			}
+		}
+	}
+
 	public static void transform( final ImageSInt32 input , final ImageSInt32 transformed )
 	{
 		int indexSrc = input.startIndex;
@@ -140,6 +374,84 @@ public class ImplIntegralImageOps {
 		}
 	}
 
+	/**
+	 * First pass of the integral image.  Computes the sum along each row inside the range of rows.
+	 */
+	public static void transformRows( final ImageSInt32 input , final ImageSInt32 transformed , int y0 , int y1 )
+	{
+		for( int y = y0; y < y1; y++ ) {
+			int indexSrc = input.startIndex + input.stride*y;
+			int indexDst = transformed.startIndex + transformed.stride*y;
+			int end = indexSrc + input.width;
+
+			int total = 0;
+			for( ; indexSrc < end; indexSrc++ ) {
+				transformed.data[indexDst++] = total += input.data[indexSrc];
+			}
+		}
+	}
+
+	/**
+	 * Updates the integral image after the input image has been modified inside of rows y0 to y1 and
+	 * columns x0 and above.  Rows below the region are updated by adding the change in the region's last row.
+	 *
+	 * @param work Storage for the change in the last row.  Must have at least width-x0 elements.
+	 */
+	public static void transformRegion( final ImageSInt32 input , final ImageSInt32 transformed ,
+										int x0 , int y0 , int y1 , int work[] )
+	{
+		final int width = input.width;
+		final boolean below = y1 < input.height;
+
+		// save the original values in the region's last row
+		if( below ) {
+			int index = transformed.startIndex + transformed.stride*(y1-1) + x0;
+			for( int x = x0; x < width; x++ ) {
+				work[x-x0] = transformed.data[index++];
+			}
+		}
+
+		for( int y = y0; y < y1; y++ ) {
+			int indexSrc = input.startIndex + input.stride*y;
+			int indexDst = transformed.startIndex + transformed.stride*y + x0;
+			int indexPrev = indexDst - transformed.stride;
+
+			// sum of the row before the region
+			int total = 0;
+			int end = indexSrc + x0;
+			for( ; indexSrc < end; indexSrc++ ) {
+				total += input.data[indexSrc];
+			}
+
+			end = input.startIndex + input.stride*y + width;
+			if( y == 0 ) {
+				for( ; indexSrc < end; indexSrc++ ) {
+					transformed.data[indexDst++] = total += input.data[indexSrc];
+				}
+			} else {
+				for( ; indexSrc < end; indexSrc++ ) {
+					total += input.data[indexSrc];
+					transformed.data[indexDst++] = transformed.data[indexPrev++] + total;
+				}
+			}
+		}
+
+		// the rows below the region all change by the same amount
+		if( below ) {
+			int index = transformed.startIndex + transformed.stride*(y1-1) + x0;
+			for( int x = x0; x < width; x++ ) {
+				work[x-x0] = transformed.data[index++] - work[x-x0];
+			}
+
+			for( int y = y1; y < input.height; y++ ) {
+				index = transformed.startIndex + transformed.stride*y + x0;
+				for( int x = x0; x < width; x++ ) {
+					transformed.data[index++] += work[x-x0];
+				}
+			}
+		}
+	}
+
 	public static void transform( final ImageSInt64 input , final ImageSInt64 transformed )
 	{
 		int indexSrc = input.startIndex;
@@ -166,6 +478,256 @@ public class ImplIntegralImageOps {
 		}
 	}
 
+	/**
+	 * First pass of the integral image.  Computes the sum along each row inside the range of rows.
+	 */
+	public static void transformRows( final ImageSInt64 input , final ImageSInt64 transformed , int y0 , int y1 )
+	{
+		for( int y = y0; y < y1; y++ ) {
+			int indexSrc = input.startIndex + input.stride*y;
+			int indexDst = transformed.startIndex + transformed.stride*y;
+			int end = indexSrc + input.width;
+
+			long total = 0;
+			for( ; indexSrc < end; indexSrc++ ) {
+				transformed.data[indexDst++] = total += input.data[indexSrc];
+			}
+		}
+	}
+
+	/**
+	 * Updates the integral image after the input image has been modified inside of rows y0 to y1 and
+	 * columns x0 and above.  Rows below the region are updated by adding the change in the region's last row.
+	 *
+	 * @param work Storage for the change in the last row.  Must have at least width-x0 elements.
+	 */
+	public static void transformRegion( final ImageSInt64 input , final ImageSInt64 transformed ,
+										int x0 , int y0 , int y1 , long work[] )
+	{
+		final int width = input.width;
+		final boolean below = y1 < input.height;
+
+		// save the original values in the region's last row
+		if( below ) {
+			int index = transformed.startIndex + transformed.stride*(y1-1) + x0;
+			for( int x = x0; x < width; x++ ) {
+				work[x-x0] = transformed.data[index++];
+			}
+		}
+
+		for( int y = y0; y < y1; y++ ) {
+			int indexSrc = input.startIndex + input.stride*y;
+			int indexDst = transformed.startIndex + transformed.stride*y + x0;
+			int indexPrev = indexDst - transformed.stride;
+
+			// sum of the row before the region
+			long total = 0;
+			int end = indexSrc + x0;
+			for( ; indexSrc < end; indexSrc++ ) {
+				total += input.data[indexSrc];
+			}
+
+			end = input.startIndex + input.stride*y + width;
+			if( y == 0 ) {
+				for( ; indexSrc < end; indexSrc++ ) {
+					transformed.data[indexDst++] = total += input.data[indexSrc];
+				}
+			} else {
+				for( ; indexSrc < end; indexSrc++ ) {
+					total += input.data[indexSrc];
+					transformed.data[indexDst++] = transformed.data[indexPrev++] + total;
+				}
+			}
+		}
+
+		// the rows below the region all change by the same amount
+		if( below ) {
+			int index = transformed.startIndex + transformed.stride*(y1-1) + x0;
+			for( int x = x0; x < width; x++ ) {
+				work[x-x0] = transformed.data[index++] - work[x-x0];
+			}
+
+			for( int y = y1; y < input.height; y++ ) {
+				index = transformed.startIndex + transformed.stride*y + x0;
+				for( int x = x0; x < width; x++ ) {
+					transformed.data[index++] += work[x-x0];
+				}
+			}
+		}
+	}
+
+	public static void transform( final ImageUInt16 input , final ImageSInt64 transformed )
+	{
+		int indexSrc = input.startIndex;
+		int indexDst = transformed.startIndex;
+		int end = indexSrc + input.width;
+
+		long total = 0;
+		for( ; indexSrc < end; indexSrc++ ) {
+			transformed.data[indexDst++] = total += input.data[indexSrc]& 0xFFFF;
+		}
+
+		for( int y = 1; y < input.height; y++ ) {
+			indexSrc = input.startIndex + input.stride*y;
+			indexDst = transformed.startIndex + transformed.stride*y;
+			int indexPrev = indexDst - transformed.stride;
+
+			end = indexSrc + input.width;
+
+			total = 0;
+			for( ; indexSrc < end; indexSrc++ ) {
+				total +=  input.data[indexSrc]& 0xFFFF;
+				transformed.data[indexDst++] = transformed.data[indexPrev++] + total;
+			}
+		}
+	}
+
+	/**
+	 * First pass of the integral image.  Computes the sum along each row inside the range of rows.
+	 */
+	public static void transformRows( final ImageUInt16 input , final ImageSInt64 transformed , int y0 , int y1 )
+	{
+		for( int y = y0; y < y1; y++ ) {
+			int indexSrc = input.startIndex + input.stride*y;
+			int indexDst = transformed.startIndex + transformed.stride*y;
+			int end = indexSrc + input.width;
+
+			long total = 0;
+			for( ; indexSrc < end; indexSrc++ ) {
+				transformed.data[indexDst++] = total += input.data[indexSrc]& 0xFFFF;
+			}
+		}
+	}
+
+	/**
+	 * Updates the integral image after the input image has been modified inside of rows y0 to y1 and
+	 * columns x0 and above.  Rows below the region are updated by adding the change in the region's last row.
+	 *
+	 * @param work Storage for the change in the last row.  Must have at least width-x0 elements.
+	 */
+	public static void transformRegion( final ImageUInt16 input , final ImageSInt64 transformed ,
+										int x0 , int y0 , int y1 , long work[] )
+	{
+		final int width = input.width;
+		final boolean below = y1 < input.height;
+
+		// save the original values in the region's last row
+		if( below ) {
+			int index = transformed.startIndex + transformed.stride*(y1-1) + x0;
+			for( int x = x0; x < width; x++ ) {
+				work[x-x0] = transformed.data[index++];
+			}
+		}
+
+		for( int y = y0; y < y1; y++ ) {
+			int indexSrc = input.startIndex + input.stride*y;
+			int indexDst = transformed.startIndex + transformed.stride*y + x0;
+			int indexPrev = indexDst - transformed.stride;
+
+			// sum of the row before the region
+			long total = 0;
+			int end = indexSrc + x0;
+			for( ; indexSrc < end; indexSrc++ ) {
+				total += input.data[indexSrc]& 0xFFFF;
+			}
+
+			end = input.startIndex + input.stride*y + width;
+			if( y == 0 ) {
+				for( ; indexSrc < end; indexSrc++ ) {
+					transformed.data[indexDst++] = total += input.data[indexSrc]& 0xFFFF;
+				}
+			} else {
+				for( ; indexSrc < end; indexSrc++ ) {
+					total += input.data[indexSrc]& 0xFFFF;
+					transformed.data[indexDst++] = transformed.data[indexPrev++] + total;
+				}
+			}
+		}
+
+		// the rows below the region all change by the same amount
+		if( below ) {
+			int index = transformed.startIndex + transformed.stride*(y1-1) + x0;
+			for( int x = x0; x < width; x++ ) {
+				work[x-x0] = transformed.data[index++] - work[x-x0];
+			}
+
+			for( int y = y1; y < input.height; y++ ) {
+				index = transformed.startIndex + transformed.stride*y + x0;
+				for( int x = x0; x < width; x++ ) {
+					transformed.data[index++] += work[x-x0];
+				}
+			}
+		}
+	}
+
+	/**
+	 * Second pass of the integral image.  Sums the output of {@code transformRows} along each column
+	 * inside the range of columns.
+	 */
+	public static void transformColumns( final ImageFloat32 transformed , int x0 , int x1 )
+	{
+		for( int y = 1; y < transformed.height; y++ ) {
+			int indexDst = transformed.startIndex + transformed.stride*y + x0;
+			int indexPrev = indexDst - transformed.stride;
+			int end = indexDst + x1 - x0;
+
+			for( ; indexDst < end; indexDst++ ) {
+				transformed.data[indexDst] += transformed.data[indexPrev++];
+			}
+		}
+	}
+
+	/**
+	 * Second pass of the integral image.  Sums the output of {@code transformRows} along each column
+	 * inside the range of columns.
+	 */
+	public static void transformColumns( final ImageFloat64 transformed , int x0 , int x1 )
+	{
+		for( int y = 1; y < transformed.height; y++ ) {
+			int indexDst = transformed.startIndex + transformed.stride*y + x0;
+			int indexPrev = indexDst - transformed.stride;
+			int end = indexDst + x1 - x0;
+
+			for( ; indexDst < end; indexDst++ ) {
+				transformed.data[indexDst] += transformed.data[indexPrev++];
+			}
+		}
+	}
+
+	/**
+	 * Second pass of the integral image.  Sums the output of {@code transformRows} along each column
+	 * inside the range of columns.
+	 */
+	public static void transformColumns( final ImageSInt32 transformed , int x0 , int x1 )
+	{
+		for( int y = 1; y < transformed.height; y++ ) {
+			int indexDst = transformed.startIndex + transformed.stride*y + x0;
+			int indexPrev = indexDst - transformed.stride;
+			int end = indexDst + x1 - x0;
+
+			for( ; indexDst < end; indexDst++ ) {
+				transformed.data[indexDst] += transformed.data[indexPrev++];
+			}
+		}
+	}
+
+	/**
+	 * Second pass of the integral image.  Sums the output of {@code transformRows} along each column
+	 * inside the range of columns.
+	 */
+	public static void transformColumns( final ImageSInt64 transformed , int x0 , int x1 )
+	{
+		for( int y = 1; y < transformed.height; y++ ) {
+			int indexDst = transformed.startIndex + transformed.stride*y + x0;
+			int indexPrev = indexDst - transformed.stride;
+			int end = indexDst + x1 - x0;
+
+			for( ; indexDst < end; indexDst++ ) {
+				transformed.data[indexDst] += transformed.data[indexPrev++];
+			}
+		}
+	}
+
 	public static void convolve( ImageFloat32 integral ,
 								 IntegralKernel kernel,
 								 ImageFloat32 output )
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.transform.ii.impl;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.struct.image.*;
+
+/**
+ * <p>
+ * Concurrent implementation of {@link ImplIntegralImageOps#transform}.  The integral image is computed in two
+ * passes.  First the sum along each row is computed with bands of rows processed in parallel.  Then the rows are
+ * summed down each column with blocks of columns processed in parallel.  The results are identical to the
+ * single threaded version.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplIntegralImageOps_MT {
+
+	public static void transform( final ImageFloat32 input , final ImageFloat32 transformed )
+	{
+		BoofConcurrency.loopBlocks(0, input.height, input.width, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImplIntegralImageOps.transformRows(input, transformed, y0, y1);
+			}
+		});
+
+		BoofConcurrency.loopBlocks(0, input.width, input.height, new IntRangeTask() {
+			@Override
+			public void process(int x0, int x1) {
+				ImplIntegralImageOps.transformColumns(transformed, x0, x1);
+			}
+		});
+	}
+
+	public static void transform( final ImageFloat64 input , final ImageFloat64 transformed )
+	{
+		BoofConcurrency.loopBlocks(0, input.height, input.width, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImplIntegralImageOps.transformRows(input, transformed, y0, y1);
+			}
+		});
+
+		BoofConcurrency.loopBlocks(0, input.width, input.height, new IntRangeTask() {
+			@Override
+			public void process(int x0, int x1) {
+				ImplIntegralImageOps.transformColumns(transformed, x0, x1);
+			}
+		});
+	}
+
+	public static void transform( final ImageUInt8 input , final ImageSInt32 transformed )
+	{
+		BoofConcurrency.loopBlocks(0, input.height, input.width, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImplIntegralImageOps.transformRows(input, transformed, y0, y1);
+			}
+		});
+
+		BoofConcurrency.loopBlocks(0, input.width, input.height, new IntRangeTask() {
+			@Override
+			public void process(int x0, int x1) {
+				ImplIntegralImageOps.transformColumns(transformed, x0, x1);
+			}
+		});
+	}
+
+	public static void transform( final ImageSInt32 input , final ImageSInt32 transformed )
+	{
+		BoofConcurrency.loopBlocks(0, input.height, input.width, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImplIntegralImageOps.transformRows(input, transformed, y0, y1);
+			}
+		});
+
+		BoofConcurrency.loopBlocks(0, input.width, input.height, new IntRangeTask() {
+			@Override
+			public void process(int x0, int x1) {
+				ImplIntegralImageOps.transformColumns(transformed, x0, x1);
+			}
+		});
+	}
+
+	public static void transform( final ImageSInt64 input , final ImageSInt64 transformed )
+	{
+		BoofConcurrency.loopBlocks(0, input.height, input.width, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImplIntegralImageOps.transformRows(input, transformed, y0, y1);
+			}
+		});
+
+		BoofConcurrency.loopBlocks(0, input.width, input.height, new IntRangeTask() {
+			@Override
+			public void process(int x0, int x1) {
+				ImplIntegralImageOps.transformColumns(transformed, x0, x1);
+			}
+		});
+	}
+
+	public static void transform( final ImageUInt16 input , final ImageSInt64 transformed )
+	{
+		BoofConcurrency.loopBlocks(0, input.height, input.width, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImplIntegralImageOps.transformRows(input, transformed, y0, y1);
+			}
+		});
+
+		BoofConcurrency.loopBlocks(0, input.width, input.height, new IntRangeTask() {
+			@Override
+			public void process(int x0, int x1) {
+				ImplIntegralImageOps.transformColumns(transformed, x0, x1);
+			}
+		});
+	}
+}
@@ -20,6 +20,8 @@ package boofcv.alg.transform.pyramid;
 
 import boofcv.abst.filter.convolve.ConvolveInterface;
 import boofcv.abst.filter.derivative.AnyImageDerivative;
+import boofcv.alg.filter.blur.BlurImageOps;
+import boofcv.alg.filter.blur.RecursiveGaussian;
 import boofcv.alg.filter.derivative.GImageDerivativeOps;
 import boofcv.core.image.ImageGenerator;
 import boofcv.core.image.border.BorderType;
@@ -28,7 +30,9 @@ import boofcv.factory.filter.kernel.FactoryKernelGaussian;
 import boofcv.struct.BoofDefaults;
 import boofcv.struct.convolve.Kernel1D;
 import boofcv.struct.gss.GaussianScaleSpace;
+import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageUInt8;
 
 
 /**
@@ -38,6 +42,12 @@ import boofcv.struct.image.ImageSingleBand;
  * are marked as stale.  Then the derivatives are recomputed as needed.
  * </p>
  *
+ * <p>
+ * By default each scale is computed by convolving with a Gaussian kernel.  Optionally, for ImageUInt8 and
+ * ImageFloat32, scales with a sigma of at least {@link BlurImageOps#RECURSIVE_GAUSSIAN_SIGMA} can be computed
+ * using {@link RecursiveGaussian} instead, whose cost does not depend on sigma but which is less accurate.
+ * </p>
+ *
  * @author Peter Abeles
  */
 public class NoCacheScaleSpace<I extends ImageSingleBand, D extends ImageSingleBand>
@@ -57,6 +67,11 @@ public class NoCacheScaleSpace<I extends ImageSingleBand, D extends ImageSingleB
 	private I workImage;
 	private I scaledImage;
 
+	// if true then large scales are blurred using a recursive Gaussian
+	private boolean useRecursive;
+	// used to blur the image at large scales.  null until needed
+	private RecursiveGaussian recursive;
+
 
 	// how the borders are handled
 	BorderType borderDeriv = BoofDefaults.DERIV_BORDER_TYPE;
@@ -69,7 +84,19 @@ public class NoCacheScaleSpace<I extends ImageSingleBand, D extends ImageSingleB
 	 * @param derivGen Used to create derivative images.
 	 */
 	public NoCacheScaleSpace(ImageGenerator<I> inputGen, ImageGenerator<D> derivGen ) {
+		this(inputGen,derivGen,false);
+	}
+
+	/**
+	 * Declares internal data structures.
+	 *
+	 * @param inputGen Used to create image of the same type as the input.
+	 * @param derivGen Used to create derivative images.
+	 * @param useRecursive If true then large scales are blurred using a recursive Gaussian.
+	 */
+	public NoCacheScaleSpace(ImageGenerator<I> inputGen, ImageGenerator<D> derivGen , boolean useRecursive ) {
 		this.inputGen = inputGen;
+		this.useRecursive = useRecursive;
 		anyDeriv = GImageDerivativeOps.createDerivatives(inputGen.getType(), derivGen);
 	}
 
@@ -100,18 +127,33 @@ public class NoCacheScaleSpace<I extends ImageSingleBand, D extends ImageSingleB
 	public void setActiveScale(int index) {
 		this.currentScale = index;
 		double sigma = scales[index];
-		int radius = FactoryKernelGaussian.radiusForSigma(sigma,0);
-
 		Class<I> inputType = inputGen.getType();
 
-		Kernel1D kernel = FactoryKernelGaussian.gaussian1D(inputType,sigma,radius);
-
-		ConvolveInterface<I, I> blurX = FactoryConvolve.convolve(kernel,inputType,inputType, borderBlur ,true);
-		ConvolveInterface<I, I> blurY = FactoryConvolve.convolve(kernel,inputType,inputType, borderBlur ,false);
-
-		// compute the scale image
-		blurX.process(originalImage,workImage);
-		blurY.process(workImage,scaledImage);
+		if( useRecursive && sigma >= BlurImageOps.RECURSIVE_GAUSSIAN_SIGMA && borderBlur != BorderType.SKIP &&
+				(inputType == ImageUInt8.class || inputType == ImageFloat32.class) ) {
+			if( recursive == null ) {
+				recursive = new RecursiveGaussian(sigma,borderBlur);
+			} else {
+				recursive.setSigma(sigma);
+				recursive.setBorder(borderBlur);
+			}
+
+			if( inputType == ImageUInt8.class )
+				recursive.process((ImageUInt8)originalImage,(ImageUInt8)scaledImage);
+			else
+				recursive.process((ImageFloat32)originalImage,(ImageFloat32)scaledImage);
+		} else {
+			int radius = FactoryKernelGaussian.radiusForSigma(sigma,0);
+
+			Kernel1D kernel = FactoryKernelGaussian.gaussian1D(inputType,sigma,radius);
+
+			ConvolveInterface<I, I> blurX = FactoryConvolve.convolve(kernel,inputType,inputType, borderBlur ,true);
+			ConvolveInterface<I, I> blurY = FactoryConvolve.convolve(kernel,inputType,inputType, borderBlur ,false);
+
+			// compute the scale image
+			blurX.process(originalImage,workImage);
+			blurY.process(workImage,scaledImage);
+		}
 
 		anyDeriv.setInput(scaledImage);
 	}
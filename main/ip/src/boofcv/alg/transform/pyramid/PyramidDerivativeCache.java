@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.transform.pyramid;
+
+import boofcv.abst.filter.derivative.AnyImageDerivative;
+import boofcv.alg.filter.derivative.GImageDerivativeOps;
+import boofcv.concurrency.InstanceFactory;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.pyramid.ImagePyramid;
+import boofcv.struct.pyramid.PyramidLayerListener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Cache of image derivatives for each layer in an {@link ImagePyramid}.  Allows several algorithms which process
+ * the same pyramid to share image derivatives, instead of each one computing its own.  Each layer has its own
+ * {@link AnyImageDerivative}, so a derivative is only computed the first time it is requested after the layer
+ * has changed.
+ * </p>
+ *
+ * <p>
+ * The cache must be added as a {@link PyramidLayerListener} to the pyramid, see
+ * {@link boofcv.struct.pyramid.ImagePyramidBase#setLayerListener}, or {@link #setPyramid} called after the
+ * pyramid has been updated.  Derivatives in a layer are marked as out of date when the layer is updated.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class PyramidDerivativeCache<T extends ImageSingleBand, D extends ImageSingleBand>
+		implements PyramidLayerListener<T>
+{
+	// creates the derivative for a single layer
+	private InstanceFactory<AnyImageDerivative<T,D>> factory;
+
+	// derivatives for each layer
+	private List<AnyImageDerivative<T,D>> layers = new ArrayList<AnyImageDerivative<T,D>>();
+	// indicates if the input image to the derivative in a layer needs to be updated
+	private boolean stale[] = new boolean[0];
+
+	// the pyramid whose derivatives are cached
+	private ImagePyramid<T> pyramid;
+
+	/**
+	 * Specifies how the image derivative in each layer is computed
+	 *
+	 * @param factory Creates a new {@link AnyImageDerivative} for each layer
+	 */
+	public PyramidDerivativeCache(InstanceFactory<AnyImageDerivative<T, D>> factory) {
+		this.factory = factory;
+	}
+
+	/**
+	 * Image derivatives are computed using {@link GImageDerivativeOps#createDerivatives(Class, Class)}
+	 *
+	 * @param inputType Type of image in the pyramid
+	 * @param derivType Type of image derivative
+	 */
+	public PyramidDerivativeCache(final Class<T> inputType, final Class<D> derivType) {
+		this(new InstanceFactory<AnyImageDerivative<T, D>>() {
+			@Override
+			public AnyImageDerivative<T, D> newInstance() {
+				return GImageDerivativeOps.createDerivatives(inputType, derivType);
+			}
+		});
+	}
+
+	/**
+	 * Marks every layer in the pyramid as out of date.  Call after the pyramid has been updated if the cache
+	 * is not a listener of the pyramid.
+	 *
+	 * @param pyramid The pyramid whose derivatives are to be computed
+	 */
+	public void setPyramid( ImagePyramid<T> pyramid ) {
+		this.pyramid = pyramid;
+		declareLayers(pyramid.getNumLayers());
+		for( int i = 0; i < stale.length; i++ )
+			stale[i] = true;
+	}
+
+	/**
+	 * Marks the derivatives in the layer as out of date.  The derivatives are not recomputed until requested.
+	 */
+	@Override
+	public void layerUpdated(ImagePyramid<T> pyramid, int layer) {
+		this.pyramid = pyramid;
+		declareLayers(pyramid.getNumLayers());
+		stale[layer] = true;
+	}
+
+	/**
+	 * Returns the image derivative of the specified layer.  See {@link AnyImageDerivative#getDerivative}.
+	 *
+	 * @param layer Which layer in the pyramid
+	 * @param isX Specifies which derivative is returned
+	 * @return Image derivative
+	 */
+	public D getDerivative( int layer , boolean ...isX ) {
+		return getLayer(layer).getDerivative(isX);
+	}
+
+	/**
+	 * Returns the class which computes the derivatives for the specified layer with its input set to the
+	 * most recent version of the layer.
+	 */
+	public AnyImageDerivative<T,D> getLayer( int layer ) {
+		AnyImageDerivative<T,D> deriv = layers.get(layer);
+		if( stale[layer] ) {
+			stale[layer] = false;
+			deriv.setInput(pyramid.getLayer(layer));
+		}
+		return deriv;
+	}
+
+	private void declareLayers( int numLayers ) {
+		while( layers.size() < numLayers )
+			layers.add(factory.newInstance());
+		if( stale.length != numLayers ) {
+			stale = new boolean[numLayers];
+			for( int i = 0; i < numLayers; i++ )
+				stale[i] = true;
+		}
+	}
+
+	/**
+	 * The pyramid which derivatives are being cached for
+	 */
+	public ImagePyramid<T> getPyramid() {
+		return pyramid;
+	}
+}
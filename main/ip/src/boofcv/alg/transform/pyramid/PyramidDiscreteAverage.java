@@ -47,7 +47,6 @@ public class PyramidDiscreteAverage<T extends ImageSingleBand> extends PyramidDi
 	public void process(T input) {
 		super.initialize(input.width,input.height);
 
-
 		if (scale[0] == 1) {
 			if (isSaveOriginalReference()) {
 				setFirstLayer(input);
@@ -57,10 +56,12 @@ public class PyramidDiscreteAverage<T extends ImageSingleBand> extends PyramidDi
 		} else {
 			AverageDownSampleOps.down(input, scale[0], getLayer(0));
 		}
+		layerUpdated(0);
 
 		for (int index = 1; index < getNumLayers(); index++) {
 			int width = scale[index]/scale[index-1];
 			AverageDownSampleOps.down(getLayer(index-1),width,getLayer(index));
+			layerUpdated(index);
 		}
 	}
 
@@ -19,6 +19,8 @@
 package boofcv.alg.transform.pyramid;
 
 import boofcv.abst.filter.convolve.GenericConvolveDown;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
 import boofcv.core.image.border.BorderType;
 import boofcv.factory.filter.convolve.FactoryConvolveDown;
 import boofcv.struct.convolve.Kernel1D;
@@ -41,6 +43,11 @@ import boofcv.struct.pyramid.PyramidDiscrete;
  * have it dependent on each level's scale factor.
  * </p>
  *
+ * <p>
+ * If concurrency is turned on then the horizontal convolution is split into bands of rows and the vertical
+ * convolution into bands of columns.  The results are identical to the single threaded case.
+ * </p>
+ *
  * @author Peter Abeles
  */
 @SuppressWarnings({"unchecked"})
@@ -50,6 +57,8 @@ public class PyramidDiscreteSampleBlur<T extends ImageSingleBand> extends Pyrami
 	private T temp;
 	GenericConvolveDown<T,T> horizontal;
 	GenericConvolveDown<T,T> vertical;
+	// width of the blur kernel
+	int kernelWidth;
 
 	// amount of blur applied to each layer
 	double sigmas[];
@@ -68,6 +77,7 @@ public class PyramidDiscreteSampleBlur<T extends ImageSingleBand> extends Pyrami
 	{
 		super(imageType,saveOriginalReference,scaleFactors);
 
+		kernelWidth = kernel.getWidth();
 		horizontal = FactoryConvolveDown.convolve(kernel,imageType,imageType,
 				BorderType.NORMALIZED,true,1);
 		vertical = FactoryConvolveDown.convolve(kernel,imageType,imageType,
@@ -101,27 +111,58 @@ public class PyramidDiscreteSampleBlur<T extends ImageSingleBand> extends Pyrami
 				getLayer(0).setTo(input);
 			}
 		} else {
-			int skip = scale[0];
-
-			horizontal.setSkip(skip);
-			vertical.setSkip(skip);
-
-			temp.reshape(input.width/skip,input.height);
-			horizontal.process(input,temp);
-			vertical.process(temp,getLayer(0));
+			blurDown(input, scale[0], getLayer(0));
 		}
+		layerUpdated(0);
 
 		for (int index = 1; index < getNumLayers(); index++) {
 			int skip = scale[index]/scale[index-1];
-			T prev = getLayer(index-1);
-			temp.reshape(prev.width/skip,prev.height);
+			blurDown(getLayer(index-1), skip, getLayer(index));
+			layerUpdated(index);
+		}
+	}
 
-			horizontal.setSkip(skip);
-			vertical.setSkip(skip);
+	/**
+	 * Blurs and down samples the input image into the output image
+	 */
+	private void blurDown( final T input , int skip , final T output ) {
+		horizontal.setSkip(skip);
+		vertical.setSkip(skip);
+
+		temp.reshape(input.width/skip,input.height);
+
+		if( !BoofConcurrency.isConcurrent((long)input.width*input.height) ) {
+			horizontal.process(input,temp);
+			vertical.process(temp,output);
+			return;
+		}
 
-			horizontal.process(prev,temp);
-			vertical.process(temp,getLayer(index));
+		// each band of rows is convolved horizontally independently
+		BoofConcurrency.loopBlocks(0, input.height, input.width, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				horizontal.process((T)input.subimage(0, y0, input.width, y1, null),
+						(T)temp.subimage(0, y0, temp.width, y1, null));
+			}
+		});
+
+		// Bands of columns must be wider than the kernel, otherwise a different algorithm is used which
+		// can produce slightly different results
+		final int bandWidth = kernelWidth+1;
+		final int numBands = temp.width/bandWidth;
+		if( numBands <= 1 ) {
+			vertical.process(temp,output);
+			return;
 		}
+		BoofConcurrency.loopBlocks(0, numBands, bandWidth*temp.height, new IntRangeTask() {
+			@Override
+			public void process(int band0, int band1) {
+				int x0 = band0*bandWidth;
+				int x1 = band1 == numBands ? temp.width : band1*bandWidth;
+				vertical.process((T)temp.subimage(x0, 0, x1, temp.height, null),
+						(T)output.subimage(x0, 0, x1, output.height, null));
+			}
+		});
 	}
 
 	/**
@@ -0,0 +1,299 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.transform.pyramid;
+
+import boofcv.struct.convolve.Kernel1D;
+import boofcv.struct.image.ImageSingleBand;
+
+/**
+ * <p>
+ * Lazy version of {@link PyramidDiscreteSampleBlur}.  Calling {@link #process} does no work, it only saves a
+ * reference to the input image.  A layer, or a rectangular region inside a layer, is computed the first time it is
+ * requested and then cached until the next call to {@link #process}.  Only the regions of the lower layers which
+ * are needed to compute the requested region are computed.  The computed pixels are identical to the ones
+ * computed by {@link PyramidDiscreteSampleBlur}.
+ * </p>
+ *
+ * <p>
+ * Which parts of a layer are up to date is tracked using square tiles.  When a region is requested only the
+ * tiles which have not been computed yet are updated.
+ * </p>
+ *
+ * <p>
+ * NOTE: The input image must not be modified until the next call to {@link #process}.<br>
+ * NOTE: {@link #setLayerListener listeners} are notified when a layer has been fully computed.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+@SuppressWarnings({"unchecked"})
+public class PyramidDiscreteSampleBlurLazy<T extends ImageSingleBand> extends PyramidDiscreteSampleBlur<T> {
+
+	// width of a tile used to track which parts of a layer are up to date
+	protected int tileWidth = 64;
+
+	// reference to the most recent input image
+	protected T input;
+
+	// number of pixels the kernel extends away from its center
+	protected int radius;
+
+	// storage for the horizontal and vertical convolution of a region
+	protected T tempH,tempV;
+	// storage for sub-images
+	protected T subSrc,subDst;
+
+	// indicates which tiles in each layer have been computed
+	protected boolean computed[][];
+	// number of tiles along each axis in each layer
+	protected int tilesX[],tilesY[];
+	// number of tiles in each layer which have not been computed yet
+	protected int remaining[];
+
+	/**
+	 * @see PyramidDiscreteSampleBlur#PyramidDiscreteSampleBlur
+	 */
+	public PyramidDiscreteSampleBlurLazy(Kernel1D kernel, double sigma, Class<T> imageType,
+										 boolean saveOriginalReference, int... scaleFactors) {
+		super(kernel, sigma, imageType, saveOriginalReference, scaleFactors);
+		radius = Math.max(kernel.offset,kernel.width-kernel.offset-1);
+	}
+
+	/**
+	 * Saves a reference to the input image and marks every layer as out of date.  No layers are computed.
+	 *
+	 * @param input Input image.  Must not be modified until the next call to process.
+	 */
+	@Override
+	public void process(T input) {
+		super.initialize(input.width,input.height);
+		this.input = input;
+
+		boolean layerZeroIsInput = scale[0] == 1 && isSaveOriginalReference();
+		if( layerZeroIsInput )
+			setFirstLayer(input);
+
+		if( tempH == null ) {
+			tempH = (T)input._createNew(1,1);
+			tempV = (T)input._createNew(1,1);
+			subSrc = (T)input._createNew(-1,-1);
+			subDst = (T)input._createNew(-1,-1);
+		}
+
+		int numLayers = getNumLayers();
+		if( computed == null || computed.length != numLayers ) {
+			computed = new boolean[numLayers][];
+			tilesX = new int[numLayers];
+			tilesY = new int[numLayers];
+			remaining = new int[numLayers];
+		}
+
+		for( int i = 0; i < numLayers; i++ ) {
+			tilesX[i] = (getWidth(i)+tileWidth-1)/tileWidth;
+			tilesY[i] = (getHeight(i)+tileWidth-1)/tileWidth;
+			int N = tilesX[i]*tilesY[i];
+			if( computed[i] == null || computed[i].length < N )
+				computed[i] = new boolean[N];
+			for( int j = 0; j < N; j++ )
+				computed[i][j] = false;
+			remaining[i] = N;
+		}
+
+		if( layerZeroIsInput ) {
+			for( int j = 0; j < remaining[0]; j++ )
+				computed[0][j] = true;
+			remaining[0] = 0;
+			layerUpdated(0);
+		}
+	}
+
+	/**
+	 * Returns the specified layer.  If the layer has not been fully computed yet it is computed now.
+	 */
+	@Override
+	public T getLayer(int layerNum) {
+		return getLayer(layerNum,0,0,getWidth(layerNum),getHeight(layerNum));
+	}
+
+	/**
+	 * Returns the specified layer after making sure that pixels inside the specified region have been computed.
+	 * Pixels outside of the region might not have been computed.  The region is clipped to the layer's bounds.
+	 *
+	 * @param layerNum Which layer
+	 * @param x0 Lower extent along x-axis, inclusive
+	 * @param y0 Lower extent along y-axis, inclusive
+	 * @param x1 Upper extent along x-axis, exclusive
+	 * @param y1 Upper extent along y-axis, exclusive
+	 * @return The layer
+	 */
+	public T getLayer(int layerNum, int x0, int y0, int x1, int y1) {
+		if( remaining != null && remaining[layerNum] > 0 )
+			update(layerNum, x0, y0, x1, y1);
+		return layers[layerNum];
+	}
+
+	/**
+	 * Returns true if every pixel in the layer has been computed since the last call to {@link #process}
+	 */
+	public boolean isComputed( int layerNum ) {
+		return remaining != null && remaining[layerNum] == 0;
+	}
+
+	/**
+	 * Computes all the tiles in the region which are not up to date
+	 */
+	protected void update( int layer , int x0 , int y0 , int x1 , int y1 ) {
+		x0 = Math.max(0,x0); y0 = Math.max(0,y0);
+		x1 = Math.min(getWidth(layer),x1); y1 = Math.min(getHeight(layer),y1);
+		if( x0 >= x1 || y0 >= y1 )
+			return;
+
+		int tx0 = x0/tileWidth, tx1 = (x1+tileWidth-1)/tileWidth;
+		int ty0 = y0/tileWidth, ty1 = (y1+tileWidth-1)/tileWidth;
+
+		boolean tiles[] = computed[layer];
+		int stride = tilesX[layer];
+
+		// if none of the tiles have been computed then do it all at once, which reduces overhead from the borders
+		boolean noneComputed = true;
+		for( int ty = ty0; ty < ty1 && noneComputed; ty++ ) {
+			for( int tx = tx0; tx < tx1; tx++ ) {
+				if( tiles[ty*stride+tx] ) {
+					noneComputed = false;
+					break;
+				}
+			}
+		}
+
+		if( noneComputed ) {
+			computeTiles(layer, tx0, ty0, tx1, ty1);
+		} else {
+			// compute each row of tiles one continuous block at a time
+			for( int ty = ty0; ty < ty1; ty++ ) {
+				int tx = tx0;
+				while( tx < tx1 ) {
+					if( tiles[ty*stride+tx] ) {
+						tx++;
+						continue;
+					}
+					int start = tx;
+					while( tx < tx1 && !tiles[ty*stride+tx] )
+						tx++;
+					computeTiles(layer, start, ty, tx, ty+1);
+				}
+			}
+		}
+
+		if( remaining[layer] == 0 )
+			layerUpdated(layer);
+	}
+
+	/**
+	 * Computes the pixels inside the specified block of tiles and marks them as computed
+	 */
+	private void computeTiles( int layer , int tx0 , int ty0 , int tx1 , int ty1 ) {
+		int x0 = tx0*tileWidth, x1 = Math.min(getWidth(layer), tx1*tileWidth);
+		int y0 = ty0*tileWidth, y1 = Math.min(getHeight(layer), ty1*tileWidth);
+
+		if( layer == 0 ) {
+			if( scale[0] == 1 ) {
+				layers[0].subimage(x0,y0,x1,y1,subDst).setTo(input.subimage(x0,y0,x1,y1,subSrc));
+			} else {
+				computeRegion(-1, scale[0], x0, y0, x1, y1);
+			}
+		} else {
+			computeRegion(layer-1, scale[layer]/scale[layer-1], x0, y0, x1, y1);
+		}
+
+		boolean tiles[] = computed[layer];
+		int stride = tilesX[layer];
+		for( int ty = ty0; ty < ty1; ty++ ) {
+			for( int tx = tx0; tx < tx1; tx++ ) {
+				tiles[ty*stride+tx] = true;
+			}
+		}
+		remaining[layer] -= (tx1-tx0)*(ty1-ty0);
+	}
+
+	/**
+	 * Computes a region of a layer by convolving a region of the layer below it, which has been expanded by the
+	 * kernel's radius.  Only the requested region is copied into the layer.
+	 *
+	 * @param srcLayer The layer which is down sampled.  If -1 then the input image is down sampled.
+	 * @param skip Number of pixels skipped while down sampling
+	 */
+	private void computeRegion( int srcLayer , int skip , int x0 , int y0 , int x1 , int y1 ) {
+		T src = srcLayer < 0 ? input : layers[srcLayer];
+		T dst = layers[srcLayer+1];
+
+		// Number of pixels along each axis which are written to in the output.  Output pixels past
+		// the last sample are never written to, same as in the parent class
+		int sampledX = src.width/skip;
+		int sampledY = src.height/skip;
+		x1 = Math.min(x1,sampledX);
+		y1 = Math.min(y1,sampledY);
+		if( x0 >= x1 || y0 >= y1 )
+			return;
+
+		// Region in the output which is convolved.  Expanded so that the kernel is never truncated by the
+		// region's border.  Must be larger than the kernel, otherwise a different algorithm is used to convolve it.
+		int pad = (radius+skip-1)/skip;
+		int minLength = kernelWidth+1;
+		int cx0 = Math.max(0,x0-pad), cx1 = Math.min(sampledX,x1+pad);
+		int cy0 = Math.max(0,y0-pad), cy1 = Math.min(sampledY,y1+pad);
+		if( cx1-cx0 < minLength ) {
+			cx1 = Math.min(sampledX,cx0+minLength);
+			cx0 = Math.max(0,cx1-minLength);
+		}
+		if( cy1-cy0 < minLength ) {
+			cy1 = Math.min(sampledY,cy0+minLength);
+			cy0 = Math.max(0,cy1-minLength);
+		}
+
+		// region in the input image
+		int sx0 = cx0*skip, sx1 = cx1 == sampledX ? src.width : Math.min(src.width,cx1*skip+radius);
+		int sy0 = cy0*skip, sy1 = cy1 == sampledY ? src.height : Math.min(src.height,cy1*skip+radius);
+
+		// make sure the region being read from has been computed
+		if( srcLayer >= 0 )
+			getLayer(srcLayer, sx0, sy0, sx1, sy1);
+
+		horizontal.setSkip(skip);
+		vertical.setSkip(skip);
+
+		tempH.reshape((sx1-sx0)/skip,sy1-sy0);
+		horizontal.process((T)src.subimage(sx0,sy0,sx1,sy1,subSrc),tempH);
+		tempV.reshape(tempH.width,tempH.height/skip);
+		vertical.process(tempH,tempV);
+
+		dst.subimage(x0,y0,x1,y1,subDst).setTo(tempV.subimage(x0-cx0,y0-cy0,x1-cx0,y1-cy0,subSrc));
+	}
+
+	public int getTileWidth() {
+		return tileWidth;
+	}
+
+	/**
+	 * Specifies the width of the square tiles used to track which parts of a layer have been computed.  Takes
+	 * effect on the next call to {@link #process}.
+	 */
+	public void setTileWidth(int tileWidth) {
+		this.tileWidth = tileWidth;
+	}
+}
@@ -18,13 +18,16 @@
 
 package boofcv.alg.transform.pyramid;
 
+import boofcv.abst.filter.blur.BlurFilter;
 import boofcv.abst.filter.blur.BlurStorageFilter;
-import boofcv.alg.distort.DistortImageOps;
-import boofcv.alg.distort.PixelTransformAffine_F32;
-import boofcv.alg.distort.impl.DistortSupport;
+import boofcv.alg.filter.blur.BlurImageOps;
 import boofcv.alg.interpolate.InterpolatePixelS;
+import boofcv.core.image.border.BorderType;
 import boofcv.factory.filter.blur.FactoryBlurFilter;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImagePool;
 import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageUInt8;
 import boofcv.struct.pyramid.PyramidFloat;
 
 
@@ -41,6 +44,14 @@ import boofcv.struct.pyramid.PyramidFloat;
  * with no sacrifices to improve speed.
  * </p>
  *
+ * <p>
+ * The blur filter for each layer is created once.  If an {@link ImagePool} is specified then all the
+ * intermediate images are taken from the pool, otherwise they are owned by this class and reused between calls.
+ * By default each layer is blurred by convolving with a Gaussian kernel.  Optionally, for ImageUInt8 and ImageFloat32,
+ * layers with a sigma of at least {@link BlurImageOps#RECURSIVE_GAUSSIAN_SIGMA} can be blurred with a recursive
+ * Gaussian instead, whose cost does not depend on sigma but which is less accurate.
+ * </p>
+ *
  * @author Peter Abeles
  */
 @SuppressWarnings({"unchecked"})
@@ -49,6 +60,9 @@ public class PyramidFloatGaussianScale< T extends ImageSingleBand> extends Pyram
 	// interpolation algorithm
 	protected InterpolatePixelS<T> interpolate;
 
+	// rescales the blurred image into each layer
+	protected PyramidResample<T> resample;
+
 	// used to store the blurred image
 	protected T tempImage;
 
@@ -58,6 +72,12 @@ public class PyramidFloatGaussianScale< T extends ImageSingleBand> extends Pyram
 	// The effective amount of blur in each pyramid layer relative to the input image
 	protected double[] sigma;
 
+	// filter used to blur each layer
+	protected BlurFilter<T> blurs[];
+
+	// if not null intermediate images are taken from this pool
+	protected ImagePool pool;
+
 	/**
 	 * Configures the pyramid
 	 *
@@ -68,11 +88,26 @@ public class PyramidFloatGaussianScale< T extends ImageSingleBand> extends Pyram
 	 */
 	public PyramidFloatGaussianScale(InterpolatePixelS<T> interpolate, double scales[], double sigmaLayers[],
 									 Class<T> imageType) {
+		this(interpolate,scales,sigmaLayers,imageType,false);
+	}
+
+	/**
+	 * Configures the pyramid
+	 *
+	 * @param interpolate Interpolation function used to sub-sample.
+	 * @param scales Scales of each layer in the pyramid relative to the input image
+	 * @param sigmaLayers Amount of blur applied to the previous layer while constructing the pyramid.
+	 * @param imageType Type of image it's processing
+	 * @param useRecursive If true then layers with a large sigma are blurred using a recursive Gaussian
+	 */
+	public PyramidFloatGaussianScale(InterpolatePixelS<T> interpolate, double scales[], double sigmaLayers[],
+									 Class<T> imageType, boolean useRecursive ) {
 		super(imageType, scales);
 		if( scales.length != sigmaLayers.length )
 			throw new IllegalArgumentException("Number of scales and sigmas must be the same");
 
 		this.interpolate = interpolate;
+		this.resample = new PyramidResample<T>(interpolate,imageType);
 		this.sigmaLayers = new float[ sigmaLayers.length ];
 		for( int i = 0; i < sigmaLayers.length; i++ )
 			this.sigmaLayers[i] = (float) sigmaLayers[i];
@@ -84,6 +119,16 @@ public class PyramidFloatGaussianScale< T extends ImageSingleBand> extends Pyram
 			double effectiveSigma = sigmaLayers[i]*scales[i-1];
 			sigma[i] = Math.sqrt(sigma[i-1]*sigma[i-1] + effectiveSigma*effectiveSigma);
 		}
+
+		boolean recursiveSupported = useRecursive &&
+				(imageType == ImageUInt8.class || imageType == ImageFloat32.class);
+		blurs = new BlurFilter[ sigmaLayers.length ];
+		for( int i = 0; i < sigmaLayers.length; i++ ) {
+			if( recursiveSupported && this.sigmaLayers[i] >= BlurImageOps.RECURSIVE_GAUSSIAN_SIGMA )
+				blurs[i] = FactoryBlurFilter.gaussianRecursive(imageType, this.sigmaLayers[i], BorderType.NORMALIZED);
+			else
+				blurs[i] = FactoryBlurFilter.gaussian(imageType, this.sigmaLayers[i], -1);
+		}
 	}
 
 
@@ -94,27 +139,56 @@ public class PyramidFloatGaussianScale< T extends ImageSingleBand> extends Pyram
 		if( isSaveOriginalReference() )
 			throw new IllegalArgumentException("The original reference cannot be saved");
 
-		if( tempImage == null ) {
-			tempImage = (T)input._createNew(input.width,input.height);
+		T blurred;
+		if( pool != null ) {
+			blurred = pool.acquire(input);
+		} else {
+			if( tempImage == null )
+				tempImage = (T)input._createNew(input.width,input.height);
+			blurred = tempImage;
 		}
 
-		for( int i = 0; i < scale.length; i++ ) {
-			T prev = i == 0 ? input : getLayer(i-1);
-			T layer = getLayer(i);
-
-			// Apply the requested blur to the previous layer
-			BlurStorageFilter<T> blur = (BlurStorageFilter<T>) FactoryBlurFilter.gaussian(layer.getClass(), sigmaLayers[i],-1);
-			tempImage.reshape(prev.width,prev.height);
-			blur.process(prev,tempImage);
-
-			// Resample the blurred image
-			if( scale[i] == 1 ) {
-				layer.setTo(tempImage);
-			} else {
-				PixelTransformAffine_F32 model = DistortSupport.transformScale(layer,tempImage);
-				DistortImageOps.distortSingle(tempImage,layer,model,null,interpolate);
+		try {
+			for( int i = 0; i < scale.length; i++ ) {
+				T prev = i == 0 ? input : getLayer(i-1);
+				T layer = getLayer(i);
+
+				// Apply the requested blur to the previous layer
+				blurred.reshape(prev.width,prev.height);
+				blurs[i].process(prev,blurred);
+
+				// Resample the blurred image
+				if( scale[i] == 1 ) {
+					layer.setTo(blurred);
+				} else {
+					resample.process(blurred,layer);
+				}
+				layerUpdated(i);
 			}
+		} finally {
+			if( pool != null )
+				pool.release(blurred);
+		}
+	}
+
+	public ImagePool getPool() {
+		return pool;
+	}
+
+	/**
+	 * Specifies a pool which intermediate images are taken from.  The layers themselves are still owned by
+	 * the pyramid.
+	 *
+	 * @param pool The pool or null to use internal storage.
+	 */
+	public void setPool(ImagePool pool) {
+		this.pool = pool;
+		for( int i = 0; i < blurs.length; i++ ) {
+			if( blurs[i] instanceof BlurStorageFilter )
+				((BlurStorageFilter<T>)blurs[i]).setPool(pool);
 		}
+		if( pool != null )
+			tempImage = null;
 	}
 
 	public InterpolatePixelS<T> getInterpolate() {
@@ -123,6 +197,7 @@ public class PyramidFloatGaussianScale< T extends ImageSingleBand> extends Pyram
 
 	public void setInterpolate(InterpolatePixelS<T> interpolate) {
 		this.interpolate = interpolate;
+		this.resample = new PyramidResample<T>(interpolate,getImageType());
 	}
 
 	@Override
@@ -18,9 +18,6 @@
 
 package boofcv.alg.transform.pyramid;
 
-import boofcv.alg.distort.DistortImageOps;
-import boofcv.alg.distort.PixelTransformAffine_F32;
-import boofcv.alg.distort.impl.DistortSupport;
 import boofcv.alg.interpolate.InterpolatePixelS;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.struct.pyramid.PyramidFloat;
@@ -41,9 +38,13 @@ public class PyramidFloatScale< T extends ImageSingleBand>
 	// interpolation algorithm
 	protected InterpolatePixelS<T> interpolate;
 
+	// rescales each layer
+	protected PyramidResample<T> resample;
+
 	public PyramidFloatScale(InterpolatePixelS<T> interpolate, double scaleFactors[] , Class<T> imageType) {
 		super(imageType,scaleFactors);
 		this.interpolate = interpolate;
+		this.resample = new PyramidResample<T>(interpolate,imageType);
 	}
 
 	@Override
@@ -57,8 +58,8 @@ public class PyramidFloatScale< T extends ImageSingleBand>
 			T prev = i == 0 ? input : getLayer(i-1);
 			T layer = getLayer(i);
 
-			PixelTransformAffine_F32 model = DistortSupport.transformScale(layer,prev);
-			DistortImageOps.distortSingle(prev,layer,model,null,interpolate);
+			resample.process(prev,layer);
+			layerUpdated(i);
 		}
 	}
 
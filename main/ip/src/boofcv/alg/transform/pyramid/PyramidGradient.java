@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.transform.pyramid;
+
+import boofcv.abst.filter.derivative.ImageGradient;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageType;
+import boofcv.struct.pyramid.ImagePyramid;
+import boofcv.struct.pyramid.PyramidLayerListener;
+
+/**
+ * <p>
+ * Computes and stores the gradient of each layer in an {@link ImagePyramid}.  The derivative images are declared
+ * the first time they are needed and reshaped after that, so no memory is declared once the input size has
+ * stabilized.
+ * </p>
+ *
+ * <p>
+ * Can either be called after the pyramid has been updated, see {@link #process}, or be added as a
+ * {@link PyramidLayerListener} to the pyramid.  When added as a listener the gradient of each layer is computed
+ * immediately after the layer itself, in the same pass.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+@SuppressWarnings({"unchecked"})
+public class PyramidGradient<I extends ImageSingleBand, D extends ImageSingleBand>
+		implements PyramidLayerListener<I>
+{
+	// computes the gradient in each layer
+	ImageGradient<I,D> gradient;
+
+	// gradient in each layer
+	D derivX[];
+	D derivY[];
+
+	public PyramidGradient(ImageGradient<I, D> gradient) {
+		this.gradient = gradient;
+	}
+
+	/**
+	 * Computes the gradient for every layer in the pyramid
+	 *
+	 * @param pyramid Pyramid which has already been updated
+	 */
+	public void process( ImagePyramid<I> pyramid ) {
+		for( int i = 0; i < pyramid.getNumLayers(); i++ ) {
+			layerUpdated(pyramid, i);
+		}
+	}
+
+	/**
+	 * Computes the gradient for a single layer in the pyramid
+	 */
+	@Override
+	public void layerUpdated(ImagePyramid<I> pyramid, int layer) {
+		int numLayers = pyramid.getNumLayers();
+		if( derivX == null || derivX.length != numLayers ) {
+			derivX = resize(derivX, numLayers);
+			derivY = resize(derivY, numLayers);
+		}
+
+		int width = pyramid.getWidth(layer);
+		int height = pyramid.getHeight(layer);
+
+		D dx = declare(derivX,layer,width,height);
+		D dy = declare(derivY,layer,width,height);
+
+		gradient.process(pyramid.getLayer(layer),dx,dy);
+	}
+
+	/**
+	 * Creates a new array while keeping the previously declared images
+	 */
+	private D[] resize( D[] original , int length ) {
+		D[] ret = gradient.getDerivType().createArray(length);
+		if( original != null ) {
+			System.arraycopy(original,0,ret,0,Math.min(original.length,length));
+		}
+		return ret;
+	}
+
+	private D declare( D[] images , int layer , int width , int height ) {
+		D image = images[layer];
+		if( image == null ) {
+			ImageType<D> type = gradient.getDerivType();
+			images[layer] = image = type.createImage(width,height);
+		} else {
+			image.reshape(width,height);
+		}
+		return image;
+	}
+
+	public ImageGradient<I, D> getGradient() {
+		return gradient;
+	}
+
+	/**
+	 * Derivative along the x-axis in each layer.  The array and its images are reused between calls.
+	 */
+	public D[] getDerivX() {
+		return derivX;
+	}
+
+	/**
+	 * Derivative along the y-axis in each layer.  The array and its images are reused between calls.
+	 */
+	public D[] getDerivY() {
+		return derivY;
+	}
+}
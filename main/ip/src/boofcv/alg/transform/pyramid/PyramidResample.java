@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.transform.pyramid;
+
+import boofcv.alg.distort.ImageDistort;
+import boofcv.alg.distort.PixelTransformAffine_F32;
+import boofcv.alg.interpolate.BilinearPixel;
+import boofcv.alg.interpolate.InterpolatePixelS;
+import boofcv.alg.interpolate.NearestNeighborPixel;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.InstanceFactory;
+import boofcv.concurrency.InstancePool;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.factory.distort.FactoryDistort;
+import boofcv.factory.interpolate.FactoryInterpolation;
+import boofcv.struct.image.ImageSingleBand;
+import georegression.struct.affine.Affine2D_F32;
+
+/**
+ * <p>
+ * Rescales one pyramid layer into another using interpolation.  Same as calling
+ * {@link boofcv.alg.distort.DistortImageOps#distortSingle} with
+ * {@link boofcv.alg.distort.impl.DistortSupport#transformScale}, but the distortion is only declared once.
+ * </p>
+ *
+ * <p>
+ * If concurrency is turned on and the interpolation is {@link BilinearPixel} or {@link NearestNeighborPixel}
+ * then the output rows are split between threads, with each thread using its own interpolation instance.
+ * Other interpolation algorithms might have internal state and are always run in a single thread.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class PyramidResample<T extends ImageSingleBand> {
+
+	// distortion which uses the user provided interpolation
+	private Worker<T> main;
+
+	// workers for each thread, null if concurrency isn't supported by the interpolation
+	private InstancePool<Worker<T>> workers;
+
+	/**
+	 * Configures resampling
+	 *
+	 * @param interpolate Interpolation function used to sub-sample.
+	 * @param imageType Type of image it's processing
+	 */
+	public PyramidResample(InterpolatePixelS<T> interpolate, final Class<T> imageType) {
+		main = new Worker<T>(interpolate,imageType);
+
+		if( interpolate instanceof BilinearPixel ) {
+			workers = new InstancePool<Worker<T>>(new InstanceFactory<Worker<T>>() {
+				@Override
+				public Worker<T> newInstance() {
+					return new Worker<T>(FactoryInterpolation.bilinearPixelS(imageType),imageType);
+				}
+			});
+		} else if( interpolate instanceof NearestNeighborPixel ) {
+			workers = new InstancePool<Worker<T>>(new InstanceFactory<Worker<T>>() {
+				@Override
+				public Worker<T> newInstance() {
+					return new Worker<T>(FactoryInterpolation.nearestNeighborPixelS(imageType),imageType);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Rescales the input image so that it fills the output image.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output Rescaled image.  Modified.
+	 */
+	public void process( final T input , final T output ) {
+		final float scaleX = (float)(input.width-1)/(float)(output.width-1);
+		final float scaleY = (float)(input.height-1)/(float)(output.height-1);
+
+		if( workers != null && BoofConcurrency.isConcurrent((long)output.width*output.height) ) {
+			BoofConcurrency.loopBlocks(0, output.height, output.width, new IntRangeTask() {
+				@Override
+				public void process(int y0, int y1) {
+					Worker<T> worker = workers.grab();
+					worker.apply(input, output, scaleX, scaleY, y0, y1);
+					workers.release(worker);
+				}
+			});
+		} else {
+			main.apply(input, output, scaleX, scaleY, 0, output.height);
+		}
+	}
+
+	/**
+	 * Distortion and its model for a single thread
+	 */
+	private static class Worker<T extends ImageSingleBand> {
+		Affine2D_F32 affine = new Affine2D_F32();
+		PixelTransformAffine_F32 model = new PixelTransformAffine_F32();
+		ImageDistort<T,T> distort;
+
+		Worker(InterpolatePixelS<T> interpolate, Class<T> imageType) {
+			distort = FactoryDistort.distort(false, interpolate, null, imageType);
+			distort.setModel(model);
+		}
+
+		void apply( T input , T output , float scaleX , float scaleY , int y0 , int y1 ) {
+			affine.a11 = scaleX;
+			affine.a22 = scaleY;
+			model.set(affine);
+			distort.apply(input, output, 0, y0, output.width, y1);
+		}
+	}
+}
@@ -0,0 +1,299 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.concurrency;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>
+ * Shared thread pool used by image operators which have a concurrent implementation.  Work is split into
+ * contiguous blocks, e.g. bands of image rows, with one block processed by the calling thread and the
+ * others processed by the pool.  Each block is processed by exactly the same code as the single threaded
+ * version, so the results are identical.
+ * </p>
+ *
+ * <p>
+ * Concurrent implementations are turned off by default.  Set {@link #USE_CONCURRENT} to true to have operators
+ * such as {@link boofcv.alg.filter.convolve.ConvolveImageNoBorder} switch to their concurrent variant.  The
+ * concurrent variant, which has the same name with a _MT suffix, can also be invoked directly.
+ * </p>
+ *
+ * <p>
+ * Image operators are split into bands of rows or columns using {@link ImageBandTask}.  The generalized
+ * facades {@link boofcv.alg.misc.GPixelMath}, {@link boofcv.alg.misc.GImageMiscOps} and
+ * {@link boofcv.alg.filter.blur.GBlurImageOps} check {@link #isConcurrent(long)} on every call, so turning on
+ * concurrency doesn't require any changes to the code which calls them.
+ * </p>
+ *
+ * <p>
+ * All operators share the same execution context, which is configured here:
+ * <ul>
+ * <li>{@link #setMaxThreads(int)} Maximum number of threads a single operation is split across.</li>
+ * <li>{@link #setExecutor(java.util.concurrent.ExecutorService)} Run on an application provided
+ * ExecutorService, e.g. a ForkJoinPool, instead of the internal pool.</li>
+ * <li>{@link #setMinimumWork(int)} Operations with less work than this are processed in the calling thread.</li>
+ * </ul>
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class BoofConcurrency {
+	/**
+	 * If true then operators with a concurrent implementation will use it.
+	 */
+	public static boolean USE_CONCURRENT = false;
+
+	// maximum number of blocks a loop is split into.  Also the number of threads in the pool
+	private static int maxThreads = Runtime.getRuntime().availableProcessors();
+
+	// internal pool which blocks are submitted to.  Lazily created
+	private static ExecutorService pool;
+
+	// executor provided by the user.  If not null it is used instead of the internal pool
+	private static ExecutorService executor;
+
+	// operations which have less work than this will not be split
+	private static int minimumWork = 20000;
+
+	// true if the current thread is processing a block submitted to the pool
+	private static final ThreadLocal<Boolean> insideBlock = new ThreadLocal<Boolean>() {
+		@Override
+		protected Boolean initialValue() {
+			return Boolean.FALSE;
+		}
+	};
+
+	/**
+	 * Specifies the maximum number of threads which can work on a single loop.  The pool is recreated
+	 * the next time it is needed.
+	 *
+	 * @param maxThreads Maximum number of threads.  Must be &ge; 1.
+	 */
+	public static synchronized void setMaxThreads( int maxThreads ) {
+		if( maxThreads < 1 )
+			throw new IllegalArgumentException("Must be at least one thread");
+		BoofConcurrency.maxThreads = maxThreads;
+		if( pool != null ) {
+			pool.shutdown();
+			pool = null;
+		}
+	}
+
+	public static synchronized int getMaxThreads() {
+		return maxThreads;
+	}
+
+	/**
+	 * Specifies an executor which blocks are submitted to instead of the internal pool.  This allows the
+	 * threads used by BoofCV to be shared with the rest of the application.  BoofCV never shuts down an
+	 * executor which it did not create.  Note that {@link #getMaxThreads()} still limits how many
+	 * blocks a loop is split into.
+	 *
+	 * @param executor The executor or null to use the internal pool.
+	 */
+	public static synchronized void setExecutor( ExecutorService executor ) {
+		BoofConcurrency.executor = executor;
+		if( executor != null && pool != null ) {
+			pool.shutdown();
+			pool = null;
+		}
+	}
+
+	/**
+	 * Returns the executor specified by the user or null if the internal pool is being used.
+	 */
+	public static synchronized ExecutorService getExecutor() {
+		return executor;
+	}
+
+	/**
+	 * Specifies the minimum amount of work, roughly the number of pixel operations, for an operation to be
+	 * split across threads.  Below this the overhead of handing off the work is larger than the savings.
+	 *
+	 * @param minimumWork Minimum amount of work.  Set to zero to always split.
+	 */
+	public static synchronized void setMinimumWork( int minimumWork ) {
+		if( minimumWork < 0 )
+			throw new IllegalArgumentException("Must be >= 0");
+		BoofConcurrency.minimumWork = minimumWork;
+	}
+
+	public static synchronized int getMinimumWork() {
+		return minimumWork;
+	}
+
+	/**
+	 * Returns true if {@link #USE_CONCURRENT} is true and the amount of work is enough to be worth splitting.
+	 * Used by operators to decide if they should call their concurrent variant.  Always false when called
+	 * from inside a block, since the other threads are already busy with the rest of the loop.
+	 *
+	 * @param work Estimate of the amount of work, e.g. number of pixels times operations per pixel.
+	 */
+	public static boolean isConcurrent( long work ) {
+		return USE_CONCURRENT && work >= getMinimumWork() && !insideBlock.get();
+	}
+
+	/**
+	 * Splits the range of indexes into contiguous blocks and processes them in parallel.  The function
+	 * returns after all the blocks have been processed.  If called from inside a block the loop is run
+	 * in the calling thread to avoid dead locking the pool.  The minimum amount of work is not checked.
+	 *
+	 * @param start First index, inclusive.
+	 * @param end Last index, exclusive.
+	 * @param task Processes each block.
+	 */
+	public static void loopBlocks( int start , int end , IntRangeTask task ) {
+		loopBlocks(start, end, Integer.MAX_VALUE, task);
+	}
+
+	/**
+	 * Same as {@link #loopBlocks(int, int, IntRangeTask)} but each block is required to contain at least
+	 * {@link #getMinimumWork()} work.  If there isn't enough work for two blocks then the loop is processed
+	 * in the calling thread.
+	 *
+	 * @param start First index, inclusive.
+	 * @param end Last index, exclusive.
+	 * @param workPerIndex Amount of work done for each index, e.g. the number of pixels in a row.
+	 * @param task Processes each block.
+	 */
+	public static void loopBlocks( int start , int end , int workPerIndex , IntRangeTask task ) {
+		int N = end - start;
+		if( N <= 0 )
+			return;
+
+		ExecutorService pool;
+		int numBlocks;
+		synchronized( BoofConcurrency.class ) {
+			numBlocks = Math.min(maxThreads,N);
+			if( minimumWork > 0 ) {
+				long maxBlocks = (long)N*Math.max(1,workPerIndex)/minimumWork;
+				numBlocks = (int)Math.min(numBlocks, maxBlocks);
+			}
+			pool = numBlocks > 1 ? getPool() : null;
+		}
+
+		if( numBlocks <= 1 || insideBlock.get() ) {
+			task.process(start,end);
+			return;
+		}
+
+		List<Future<?>> futures = new ArrayList<Future<?>>(numBlocks-1);
+		for( int i = 1; i < numBlocks; i++ ) {
+			int blockStart = start + (int)((long)N*i/numBlocks);
+			int blockEnd = start + (int)((long)N*(i+1)/numBlocks);
+			try {
+				futures.add(pool.submit(new Block(task, blockStart, blockEnd)));
+			} catch( RejectedExecutionException e ) {
+				// the pool was shutdown, e.g. by setMaxThreads(), while this loop was being set up
+				task.process(blockStart,blockEnd);
+			}
+		}
+
+		// the calling thread processes the first block instead of sitting idle
+		insideBlock.set(Boolean.TRUE);
+		try {
+			task.process(start, start + N/numBlocks);
+		} finally {
+			insideBlock.set(Boolean.FALSE);
+			waitForAll(futures);
+		}
+	}
+
+	/**
+	 * Blocks until all the futures are done.  If any of them failed the first exception is rethrown.
+	 */
+	private static void waitForAll( List<Future<?>> futures ) {
+		Throwable failure = null;
+		boolean interrupted = false;
+		for( int i = 0; i < futures.size(); i++ ) {
+			while( true ) {
+				try {
+					futures.get(i).get();
+					break;
+				} catch (InterruptedException e) {
+					// the block still references memory owned by the caller, so it must finish before returning
+					interrupted = true;
+				} catch (ExecutionException e) {
+					if( failure == null )
+						failure = e.getCause();
+					break;
+				}
+			}
+		}
+		if( interrupted )
+			Thread.currentThread().interrupt();
+
+		if( failure instanceof RuntimeException )
+			throw (RuntimeException)failure;
+		else if( failure instanceof Error )
+			throw (Error)failure;
+		else if( failure != null )
+			throw new RuntimeException(failure);
+	}
+
+	private static ExecutorService getPool() {
+		if( executor != null )
+			return executor;
+		if( pool == null ) {
+			pool = Executors.newFixedThreadPool(maxThreads, new DaemonThreadFactory());
+		}
+		return pool;
+	}
+
+	/**
+	 * Runs a single block inside of the pool
+	 */
+	private static class Block implements Runnable {
+		IntRangeTask task;
+		int start, end;
+
+		Block(IntRangeTask task, int start, int end) {
+			this.task = task;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		public void run() {
+			insideBlock.set(Boolean.TRUE);
+			try {
+				task.process(start, end);
+			} finally {
+				insideBlock.set(Boolean.FALSE);
+			}
+		}
+	}
+
+	/**
+	 * Daemon threads so that the pool doesn't prevent the application from exiting
+	 */
+	private static class DaemonThreadFactory implements ThreadFactory {
+		AtomicInteger count = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable r) {
+			Thread t = new Thread(r,"BoofConcurrency-"+count.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		}
+	}
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.concurrency;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.struct.image.ImageBase;
+
+/**
+ * <p>
+ * Splits one or more images into bands and processes the bands in parallel using
+ * {@link BoofConcurrency#loopBlocks(int, int, int, IntRangeTask)}.  Each band is a sub-image which covers the
+ * same rows, or columns, in every image.  Used to run operations which only depend on the pixels in the same
+ * row, or column, concurrently without writing a concurrent version of the operation.  The operation is
+ * invoked once for each band, with the bands in the same order as the images passed to the constructor.
+ * </p>
+ *
+ * <p>
+ * All the images must have the same shape, which is checked before the images are split.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public abstract class ImageBandTask implements IntRangeTask {
+
+	// the images which are split into bands
+	private ImageBase[] images;
+
+	// true if split into bands of rows, false for bands of columns
+	private boolean splitRows;
+
+	/**
+	 * @param images Images which are split into bands.
+	 */
+	protected ImageBandTask( ImageBase... images ) {
+		this.images = images;
+	}
+
+	/**
+	 * Splits the images into bands of rows and processes them in parallel.
+	 */
+	public void processRows() {
+		checkSameShape();
+		splitRows = true;
+		BoofConcurrency.loopBlocks(0, images[0].height, images[0].width, this);
+	}
+
+	/**
+	 * Splits the images into bands of columns and processes them in parallel.
+	 */
+	public void processColumns() {
+		checkSameShape();
+		splitRows = false;
+		BoofConcurrency.loopBlocks(0, images[0].width, images[0].height, this);
+	}
+
+	@Override
+	public void process( int minInclusive , int maxExclusive ) {
+		ImageBase[] bands = new ImageBase[images.length];
+		for( int i = 0; i < images.length; i++ ) {
+			ImageBase image = images[i];
+			if( splitRows )
+				bands[i] = image.subimage(0, minInclusive, image.width, maxExclusive, null);
+			else
+				bands[i] = image.subimage(minInclusive, 0, maxExclusive, image.height, null);
+		}
+		processBand(bands);
+	}
+
+	private void checkSameShape() {
+		for( int i = 1; i < images.length; i++ ) {
+			InputSanityCheck.checkSameShape(images[0], images[i]);
+		}
+	}
+
+	/**
+	 * Applies the operation to a single band.
+	 *
+	 * @param bands Sub-images of each image, in the same order as they were passed to the constructor.
+	 */
+	protected abstract void processBand( ImageBase[] bands );
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.concurrency;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pool of instances of a class which isn't thread safe.  A thread removes an instance from the pool, uses it, and
+ * then returns it.  New instances are only created when the pool is empty, so an instance is reused by later
+ * calls instead of being recreated and the number of instances is at most the number of threads.
+ *
+ * @author Peter Abeles
+ */
+public class InstancePool<T> {
+
+	// creates new instances
+	private InstanceFactory<T> factory;
+
+	// instances which are not in use
+	private List<T> available = new ArrayList<T>();
+	// total number of instances which have been created
+	private int created;
+
+	public InstancePool(InstanceFactory<T> factory) {
+		this.factory = factory;
+	}
+
+	/**
+	 * Removes an instance from the pool.  If the pool is empty a new instance is created.
+	 */
+	public T grab() {
+		synchronized( available ) {
+			if( !available.isEmpty() )
+				return available.remove(available.size()-1);
+			created++;
+		}
+		return factory.newInstance();
+	}
+
+	/**
+	 * Creates new instances until at least the specified number have been created.  Used to create all the
+	 * instances, and perform any expensive setup they require, before they are needed by multiple threads.
+	 *
+	 * @param total Minimum number of instances
+	 */
+	public void reserve( int total ) {
+		synchronized( available ) {
+			while( created < total ) {
+				available.add(factory.newInstance());
+				created++;
+			}
+		}
+	}
+
+	/**
+	 * Returns an instance to the pool
+	 */
+	public void release( T instance ) {
+		synchronized( available ) {
+			available.add(instance);
+		}
+	}
+
+	/**
+	 * Total number of instances which have been created
+	 */
+	public int getCreated() {
+		synchronized( available ) {
+			return created;
+		}
+	}
+
+	/**
+	 * Number of instances in the pool which are not in use
+	 */
+	public int getAvailable() {
+		synchronized( available ) {
+			return available.size();
+		}
+	}
+}
@@ -0,0 +1,291 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.core.image;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.struct.image.*;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+
+/**
+ * <p>
+ * Functions for converting between images stored in a {@link java.nio.Buffer}, see {@link ImageBufferSingleBand},
+ * and images stored in Java arrays.  The buffer is read directly, so a frame from a capture device can be converted
+ * into the type it will be processed as in a single pass without first copying it into an array.
+ * </p>
+ *
+ * <p>
+ * If the buffer is backed by a Java array then {@link #shareArray(ImageBufferUInt8, ImageUInt8)} creates an array
+ * image which references the same memory, avoiding the copy entirely.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ConvertImageBuffer {
+
+	/**
+	 * Copies a buffer image into an array image.
+	 *
+	 * @param input Input image which is being converted. Not modified.
+	 * @param output (Optional) The output image.  If null a new image is created. Modified.
+	 * @return Converted image.
+	 */
+	public static ImageUInt8 convert( ImageBufferUInt8 input , ImageUInt8 output ) {
+		if( output == null ) {
+			output = new ImageUInt8(input.width, input.height);
+		} else {
+			InputSanityCheck.checkSameShape(input, output);
+		}
+
+		// duplicate so that the position of the original buffer isn't modified
+		ByteBuffer src = input.data.duplicate();
+
+		if( isContiguous(input) && !output.isSubimage() ) {
+			src.position(input.startIndex);
+			src.get(output.data, 0, input.width*input.height);
+		} else {
+			for( int y = 0; y < input.height; y++ ) {
+				src.position(input.startIndex + y*input.stride);
+				src.get(output.data, output.startIndex + y*output.stride, input.width);
+			}
+		}
+
+		return output;
+	}
+
+	/**
+	 * Converts a buffer image into a floating point array image.
+	 *
+	 * @param input Input image which is being converted. Not modified.
+	 * @param output (Optional) The output image.  If null a new image is created. Modified.
+	 * @return Converted image.
+	 */
+	public static ImageFloat32 convert( ImageBufferUInt8 input , ImageFloat32 output ) {
+		if( output == null ) {
+			output = new ImageFloat32(input.width, input.height);
+		} else {
+			InputSanityCheck.checkSameShape(input, output);
+		}
+
+		final ByteBuffer src = input.data;
+
+		for( int y = 0; y < input.height; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+			int end = indexSrc + input.width;
+
+			for( ; indexSrc < end; indexSrc++ ) {
+				output.data[indexDst++] = src.get(indexSrc) & 0xFF;
+			}
+		}
+
+		return output;
+	}
+
+	/**
+	 * Copies a buffer image into an array image.
+	 *
+	 * @param input Input image which is being converted. Not modified.
+	 * @param output (Optional) The output image.  If null a new image is created. Modified.
+	 * @return Converted image.
+	 */
+	public static ImageFloat32 convert( ImageBufferFloat32 input , ImageFloat32 output ) {
+		if( output == null ) {
+			output = new ImageFloat32(input.width, input.height);
+		} else {
+			InputSanityCheck.checkSameShape(input, output);
+		}
+
+		FloatBuffer src = input.data.duplicate();
+
+		if( isContiguous(input) && !output.isSubimage() ) {
+			src.position(input.startIndex);
+			src.get(output.data, 0, input.width*input.height);
+		} else {
+			for( int y = 0; y < input.height; y++ ) {
+				src.position(input.startIndex + y*input.stride);
+				src.get(output.data, output.startIndex + y*output.stride, input.width);
+			}
+		}
+
+		return output;
+	}
+
+	/**
+	 * Copies an array image into a buffer image.
+	 *
+	 * @param input Input image which is being converted. Not modified.
+	 * @param output (Optional) The output image.  If null a new image backed by a direct buffer is created. Modified.
+	 * @return Converted image.
+	 */
+	public static ImageBufferUInt8 convert( ImageUInt8 input , ImageBufferUInt8 output ) {
+		if( output == null ) {
+			output = new ImageBufferUInt8(input.width, input.height);
+		} else {
+			InputSanityCheck.checkSameShape(output, input);
+		}
+
+		ByteBuffer dst = output.data.duplicate();
+
+		for( int y = 0; y < input.height; y++ ) {
+			dst.position(output.startIndex + y*output.stride);
+			dst.put(input.data, input.startIndex + y*input.stride, input.width);
+		}
+
+		return output;
+	}
+
+	/**
+	 * Copies an array image into a buffer image.
+	 *
+	 * @param input Input image which is being converted. Not modified.
+	 * @param output (Optional) The output image.  If null a new image backed by a direct buffer is created. Modified.
+	 * @return Converted image.
+	 */
+	public static ImageBufferFloat32 convert( ImageFloat32 input , ImageBufferFloat32 output ) {
+		if( output == null ) {
+			output = new ImageBufferFloat32(input.width, input.height);
+		} else {
+			InputSanityCheck.checkSameShape(output, input);
+		}
+
+		FloatBuffer dst = output.data.duplicate();
+
+		for( int y = 0; y < input.height; y++ ) {
+			dst.position(output.startIndex + y*output.stride);
+			dst.put(input.data, input.startIndex + y*input.stride, input.width);
+		}
+
+		return output;
+	}
+
+	/**
+	 * Converts between two buffer images, without an intermediate array image.
+	 *
+	 * @param input Input image which is being converted. Not modified.
+	 * @param output (Optional) The output image.  If null a new image backed by a direct buffer is created. Modified.
+	 * @return Converted image.
+	 */
+	public static ImageBufferFloat32 convert( ImageBufferUInt8 input , ImageBufferFloat32 output ) {
+		if( output == null ) {
+			output = new ImageBufferFloat32(input.width, input.height);
+		} else {
+			InputSanityCheck.checkSameShape(input, output);
+		}
+
+		final ByteBuffer src = input.data;
+		final FloatBuffer dst = output.data;
+
+		for( int y = 0; y < input.height; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+			int end = indexSrc + input.width;
+
+			for( ; indexSrc < end; indexSrc++ ) {
+				dst.put(indexDst++, src.get(indexSrc) & 0xFF);
+			}
+		}
+
+		return output;
+	}
+
+	/**
+	 * Converts between two buffer images, without an intermediate array image.  Values are typecast
+	 * the same way as in {@link ConvertImage}.
+	 *
+	 * @param input Input image which is being converted. Not modified.
+	 * @param output (Optional) The output image.  If null a new image backed by a direct buffer is created. Modified.
+	 * @return Converted image.
+	 */
+	public static ImageBufferUInt8 convert( ImageBufferFloat32 input , ImageBufferUInt8 output ) {
+		if( output == null ) {
+			output = new ImageBufferUInt8(input.width, input.height);
+		} else {
+			InputSanityCheck.checkSameShape(input, output);
+		}
+
+		final FloatBuffer src = input.data;
+		final ByteBuffer dst = output.data;
+
+		for( int y = 0; y < input.height; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+			int end = indexSrc + input.width;
+
+			for( ; indexSrc < end; indexSrc++ ) {
+				dst.put(indexDst++, (byte)src.get(indexSrc));
+			}
+		}
+
+		return output;
+	}
+
+	/**
+	 * If the buffer is backed by an accessible Java array then an array image is returned which references the
+	 * same memory.  Nothing is copied and changes to one image will be seen in the other.  Direct buffers and
+	 * read-only buffers can't be shared.
+	 *
+	 * @param input Buffer image.
+	 * @param output (Optional) Storage for the shared image.  Its data array is replaced.  Can be null.
+	 * @return Image sharing the buffer's array or null if the buffer doesn't have an accessible array.
+	 */
+	public static ImageUInt8 shareArray( ImageBufferUInt8 input , ImageUInt8 output ) {
+		if( !input.data.hasArray() )
+			return null;
+
+		if( output == null )
+			output = new ImageUInt8();
+
+		output.data = input.data.array();
+		output.startIndex = input.data.arrayOffset() + input.startIndex;
+		output.stride = input.stride;
+		output.width = input.width;
+		output.height = input.height;
+		// the array's layout isn't owned by this image so it must be treated as a sub-image
+		output.subImage = true;
+
+		return output;
+	}
+
+	/**
+	 * Floating point version of {@link #shareArray(ImageBufferUInt8, ImageUInt8)}.
+	 */
+	public static ImageFloat32 shareArray( ImageBufferFloat32 input , ImageFloat32 output ) {
+		if( !input.data.hasArray() )
+			return null;
+
+		if( output == null )
+			output = new ImageFloat32();
+
+		output.data = input.data.array();
+		output.startIndex = input.data.arrayOffset() + input.startIndex;
+		output.stride = input.stride;
+		output.width = input.width;
+		output.height = input.height;
+		output.subImage = true;
+
+		return output;
+	}
+
+	private static boolean isContiguous( ImageBufferSingleBand image ) {
+		return image.stride == image.width;
+	}
+}
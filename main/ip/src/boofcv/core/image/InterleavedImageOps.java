@@ -20,7 +20,10 @@ package boofcv.core.image;
 
 import boofcv.alg.InputSanityCheck;
 import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
 import boofcv.struct.image.InterleavedF32;
+import boofcv.struct.image.InterleavedU8;
+import boofcv.struct.image.MultiSpectral;
 
 /**
  * Functions related to interleaved images.
@@ -83,4 +86,104 @@ public class InterleavedImageOps {
 			}
 		}
 	}
+
+	/**
+	 * Splits an interleaved image into a {@link MultiSpectral} image with the same number of bands.
+	 *
+	 * @param interleaved (Input) Interleaved image
+	 * @param output (Output) Multi-spectral image
+	 */
+	public static void split( InterleavedF32 interleaved , MultiSpectral<ImageFloat32> output ) {
+		if( interleaved.numBands != output.getNumBands() )
+			throw new IllegalArgumentException("Number of bands do not match");
+		InputSanityCheck.checkSameShape(interleaved, output);
+
+		final int numBands = interleaved.numBands;
+		for( int band = 0; band < numBands; band++ ) {
+			ImageFloat32 b = output.getBand(band);
+			for( int y = 0; y < interleaved.height; y++ ) {
+				int indexIn = interleaved.startIndex + y*interleaved.stride + band;
+				int indexOut = b.startIndex + y*b.stride;
+
+				for( int x = 0; x < interleaved.width; x++, indexIn += numBands ) {
+					b.data[indexOut++] = interleaved.data[indexIn];
+				}
+			}
+		}
+	}
+
+	/**
+	 * Combines the bands in a {@link MultiSpectral} image into an interleaved image.
+	 *
+	 * @param input (Input) Multi-spectral image
+	 * @param interleaved (Output) Interleaved image
+	 */
+	public static void merge( MultiSpectral<ImageFloat32> input , InterleavedF32 interleaved ) {
+		if( interleaved.numBands != input.getNumBands() )
+			throw new IllegalArgumentException("Number of bands do not match");
+		InputSanityCheck.checkSameShape(input, interleaved);
+
+		final int numBands = interleaved.numBands;
+		for( int band = 0; band < numBands; band++ ) {
+			ImageFloat32 b = input.getBand(band);
+			for( int y = 0; y < interleaved.height; y++ ) {
+				int indexIn = b.startIndex + y*b.stride;
+				int indexOut = interleaved.startIndex + y*interleaved.stride + band;
+
+				for( int x = 0; x < interleaved.width; x++, indexOut += numBands ) {
+					interleaved.data[indexOut] = b.data[indexIn++];
+				}
+			}
+		}
+	}
+
+	/**
+	 * Splits an interleaved image into a {@link MultiSpectral} image with the same number of bands.
+	 *
+	 * @param interleaved (Input) Interleaved image
+	 * @param output (Output) Multi-spectral image
+	 */
+	public static void split( InterleavedU8 interleaved , MultiSpectral<ImageUInt8> output ) {
+		if( interleaved.numBands != output.getNumBands() )
+			throw new IllegalArgumentException("Number of bands do not match");
+		InputSanityCheck.checkSameShape(interleaved, output);
+
+		final int numBands = interleaved.numBands;
+		for( int band = 0; band < numBands; band++ ) {
+			ImageUInt8 b = output.getBand(band);
+			for( int y = 0; y < interleaved.height; y++ ) {
+				int indexIn = interleaved.startIndex + y*interleaved.stride + band;
+				int indexOut = b.startIndex + y*b.stride;
+
+				for( int x = 0; x < interleaved.width; x++, indexIn += numBands ) {
+					b.data[indexOut++] = interleaved.data[indexIn];
+				}
+			}
+		}
+	}
+
+	/**
+	 * Combines the bands in a {@link MultiSpectral} image into an interleaved image.
+	 *
+	 * @param input (Input) Multi-spectral image
+	 * @param interleaved (Output) Interleaved image
+	 */
+	public static void merge( MultiSpectral<ImageUInt8> input , InterleavedU8 interleaved ) {
+		if( interleaved.numBands != input.getNumBands() )
+			throw new IllegalArgumentException("Number of bands do not match");
+		InputSanityCheck.checkSameShape(input, interleaved);
+
+		final int numBands = interleaved.numBands;
+		for( int band = 0; band < numBands; band++ ) {
+			ImageUInt8 b = input.getBand(band);
+			for( int y = 0; y < interleaved.height; y++ ) {
+				int indexIn = b.startIndex + y*b.stride;
+				int indexOut = interleaved.startIndex + y*interleaved.stride + band;
+
+				for( int x = 0; x < interleaved.width; x++, indexOut += numBands ) {
+					interleaved.data[indexOut] = b.data[indexIn++];
+				}
+			}
+		}
+	}
 }
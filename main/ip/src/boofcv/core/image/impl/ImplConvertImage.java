@@ -42,9 +42,7 @@ public class ImplConvertImage {
 				int indexFrom = from.getIndex(0, y);
 				int indexTo = to.getIndex(0, y);
 
-				for (int x = 0; x < from.width; x++) {
-					to.data[indexTo++] = ( byte )( from.data[indexFrom++] & 0xFF);
-				}
+				System.arraycopy(from.data, indexFrom, to.data, indexTo, from.width);
 			}
 
 		} else {
@@ -62,8 +60,8 @@ public class ImplConvertImage {
 				int indexFrom = from.getIndex(0, y);
 				int indexTo = to.getIndex(0, y);
 
-				for (int x = 0; x < from.width; x++) {
-					to.data[indexTo++] = ( short )( from.data[indexFrom++] & 0xFF);
+				for (int i = 0; i < from.width; i++) {
+					to.data[indexTo+i] = ( short )( from.data[indexFrom+i] & 0xFF);
 				}
 			}
 
@@ -84,8 +82,8 @@ public class ImplConvertImage {
 				int indexFrom = from.getIndex(0, y);
 				int indexTo = to.getIndex(0, y);
 
-				for (int x = 0; x < from.width; x++) {
-					to.data[indexTo++] = ( from.data[indexFrom++] & 0xFF);
+				for (int i = 0; i < from.width; i++) {
+					to.data[indexTo+i] = ( from.data[indexFrom+i] & 0xFF);
 				}
 			}
 
@@ -106,8 +104,8 @@ public class ImplConvertImage {
 				int indexFrom = from.getIndex(0, y);
 				int indexTo = to.getIndex(0, y);
 
-				for (int x = 0; x < from.width; x++) {
-					to.data[indexTo++] = ( from.data[indexFrom++] & 0xFF);
+				for (int i = 0; i < from.width; i++) {
+					to.data[indexTo+i] = ( from.data[indexFrom+i] & 0xFF);
 				}
 			}
 
@@ -128,8 +126,8 @@ public class ImplConvertImage {
 				int indexFrom = from.getIndex(0, y);
 				int indexTo = to.getIndex(0, y);
 
-				for (int x = 0; x < from.width; x++) {
-					to.data[indexTo++] = ( float )( from.data[indexFrom++] & 0xFF);
+				for (int i = 0; i < from.width; i++) {
+					to.data[indexTo+i] = ( float )( from.data[indexFrom+i] & 0xFF);
 				}
 			}
 
@@ -150,8 +148,8 @@ public class ImplConvertImage {
 				int indexFrom = from.getIndex(0, y);
 				int indexTo = to.getIndex(0, y);
 
-				for (int x = 0; x < from.width; x++) {
-					to.data[indexTo++] = ( double )( from.data[indexFrom++] & 0xFF);
+				for (int i = 0; i < from.width; i++) {
+					to.data[indexTo+i] = ( double )( from.data[indexFrom+i] & 0xFF);
 				}
 			}
 
@@ -172,9 +170,7 @@ public class ImplConvertImage {
 				int indexFrom = from.getIndex(0, y);
 				int indexTo = to.getIndex(0, y);
 
-				for (int x = 0; x < from.width; x++) {
-					to.data[indexTo++] = ( from.data[indexFrom++] );
-				}
+				System.arraycopy(from.data, indexFrom, to.data, indexTo, from.width);
 			}
 
 		} else {
@@ -192,8 +188,8 @@ public class ImplConvertImage {
 				int indexFrom = from.getIndex(0, y);
 				int indexTo = to.getIndex(0, y);
 
-				for (int x = 0; x < from.width; x++) {
-					to.data[indexTo++] = ( short )( from.data[indexFrom++] );
+				for (int i = 0; i < from.width; i++) {
+					to.data[indexTo+i] = ( short )( from.data[indexFrom+i] );
 				}
 			}
 
@@ -214,8 +210,8 @@ public class ImplConvertImage {
 				int indexFrom = from.getIndex(0, y);
 				int indexTo = to.getIndex(0, y);
 
-				for (int x = 0; x < from.width; x++) {
-					to.data[indexTo++] = ( from.data[indexFrom++] );
+				for (int i = 0; i < from.width; i++) {
+					to.data[indexTo+i] = ( from.data[indexFrom+i] );
 				}
 			}
 
@@ -236,8 +232,8 @@ public class ImplConvertImage {
 				int indexFrom = from.getIndex(0, y);
 				int indexTo = to.getIndex(0, y);
 
-				for (int x = 0; x < from.width; x++) {
-					to.data[indexTo++] = ( from.data[indexFrom++] );
+				for (int i = 0; i < from.width; i++) {
+					to.data[indexTo+i] = ( from.data[indexFrom+i] );
 				}
 			}
 
@@ -258,8 +254,8 @@ public class ImplConvertImage {
 				int indexFrom = from.getIndex(0, y);
 				int indexTo = to.getIndex(0, y);
 
-				for (int x = 0; x < from.width; x++) {
-					to.data[indexTo++] = ( float )( from.data[indexFrom++] );
+				for (int i = 0; i < from.width; i++) {
+					to.data[indexTo+i] = ( float )( from.data[indexFrom+i] );
 				}
 			}
 
@@ -280,8 +276,8 @@ public class ImplConvertImage {
 				int indexFrom = from.getIndex(0, y);
 				int indexTo = to.getIndex(0, y);
 
-				for (int x = 0; x < from.width; x++) {
-					to.data[indexTo++] = ( double )( from.data[indexFrom++] );
+				for (int i = 0; i < from.width; i++) {
+					to.data[indexTo+i] = ( double )( from.data[indexFrom+i] );
 				}
 			}
 
@@ -302,8 +298,8 @@ public class ImplConvertImage {
 				int indexFrom = from.getIndex(0, y);
 				int indexTo = to.getIndex(0, y);
 
-				for (int x = 0; x < from.width; x++) {
-					to.data[indexTo++] = ( byte )( from.data[indexFrom++] & 0xFFFF);
+				for (int i = 0; i < from.width; i++) {
+					to.data[indexTo+i] = ( byte )( from.data[indexFrom+i] & 0xFFFF);
 				}
 			}
 
@@ -324,9 +320,7 @@ public class ImplConvertImage {
 				int indexFrom = from.getIndex(0, y);
 				int indexTo = to.getIndex(0, y);
 
-				for (int x = 0; x < from.width; x++) {
-					to.data[indexTo++] = ( short )( from.data[indexFrom++] & 0xFFFF);
-				}
+				System.arraycopy(from.data, indexFrom, to.data, indexTo, from.width);
 			}
 
 		} else {
@@ -344,8 +338,8 @@ public class ImplConvertImage {
 				int indexFrom = from.getIndex(0, y);
 				int indexTo = to.getIndex(0, y);
 
-				for (int x = 0; x < from.width; x++) {
-					to.data[indexTo++] = ( from.data[indexFrom++] & 0xFFFF);
+				for (int i = 0; i < from.width; i++) {
+					to.data[indexTo+i] = ( from.data[indexFrom+i] & 0xFFFF);
 				}
 			}
 
@@ -366,8 +360,8 @@ public class ImplConvertImage {
 				int indexFrom = from.getIndex(0, y);
 				int indexTo = to.getIndex(0, y);
 
-				for (int x = 0; x < from.width; x++) {
-					to.data[indexTo++] = ( from.data[indexFrom++] & 0xFFFF);
+				for (int i = 0; i < from.width; i++) {
+					to.data[indexTo+i] = ( from.data[indexFrom+i] & 0xFFFF);
 				}
 			}
 
@@ -388,8 +382,8 @@ public class ImplConvertImage {
 				int indexFrom = from.getIndex(0, y);
 				int indexTo = to.getIndex(0, y);
 
-				for (int x = 0; x < from.width; x++) {
-					to.data[indexTo++] = ( float )( from.data[indexFrom++] & 0xFFFF);
+				for (int i = 0; i < from.width; i++) {
+					to.data[indexTo+i] = ( float )( from.data[indexFrom+i] & 0xFFFF);
 				}
 			}
 
@@ -410,8 +404,8 @@ public class ImplConvertImage {
 				int indexFrom = from.getIndex(0, y);
 				int indexTo = to.getIndex(0, y);
 
-				for (int x = 0; x < from.width; x++) {
-					to.data[indexTo++] = ( double )( from.data[indexFrom++] & 0xFFFF);
+				for (int i = 0; i < from.width; i++) {
+					to.data[indexTo+i] = ( double )( from.data[indexFrom+i] & 0xFFFF);
 				}
 			}
 
@@ -432,8 +426,8 @@ public class ImplConvertImage {
 				int indexFrom = from.getIndex(0, y);
 				int indexTo = to.getIndex(0, y);
 
-				for (int x = 0; x < from.width; x++) {
-					to.data[indexTo++] = ( byte )( from.data[indexFrom++] );
+				for (int i = 0; i < from.width; i++) {
+					to.data[indexTo+i] = ( byte )( from.data[indexFrom+i] );
 				}
 			}
 
@@ -454,9 +448,7 @@ public class ImplConvertImage {
 				int indexFrom = from.getIndex(0, y);
 				int indexTo = to.getIndex(0, y);
 
-				for (int x = 0; x < from.width; x++) {
-					to.data[indexTo++] = ( from.data[indexFrom++] );
-				}
+				System.arraycopy(from.data, indexFrom, to.data, indexTo, from.width);
 			}
 
 		} else {
@@ -474,8 +466,8 @@ public class ImplConvertImage {
 				int indexFrom = from.getIndex(0, y);
 				int indexTo = to.getIndex(0, y);
 
-				for (int x = 0; x < from.width; x++) {
-					to.data[indexTo++] = ( from.data[indexFrom++] );
+				for (int i = 0; i < from.width; i++) {
+					to.data[indexTo+i] = ( from.data[indexFrom+i] );
 				}
 			}
 
@@ -496,8 +488,8 @@ public class ImplConvertImage {
 				int indexFrom = from.getIndex(0, y);
 				int indexTo = to.getIndex(0, y);
 
-				for (int x = 0; x < from.width; x++) {
-					to.data[indexTo++] = ( from.data[indexFrom++] );
+				for (int i = 0; i < from.width; i++) {
+					to.data[indexTo+i] = ( from.data[indexFrom+i] );
 				}
 			}
 
@@ -518,8 +510,8 @@ public class ImplConvertImage {
 				int indexFrom = from.getIndex(0, y);
 				int indexTo = to.getIndex(0, y);
 
-				for (int x = 0; x < from.width; x++) {
-					to.data[indexTo++] = ( float )( from.data[indexFrom++] );
+				for (int i = 0; i < from.width; i++) {
+					to.data[indexTo+i] = ( float )( from.data[indexFrom+i] );
 				}
 			}
 
@@ -540,8 +532,8 @@ public class ImplConvertImage {
 				int indexFrom = from.getIndex(0, y);
 				int indexTo = to.getIndex(0, y);
 
-				for (int x = 0; x < from.width; x++) {
-					to.data[indexTo++] = ( double )( from.data[indexFrom++] );
+				for (int i = 0; i < from.width; i++) {
+					to.data[indexTo+i] = ( double )( from.data[indexFrom+i] );
 				}
 			}
 
@@ -562,8 +554,8 @@ public class ImplConvertImage {
 				int indexFrom = from.getIndex(0, y);
 				int indexTo = to.getIndex(0, y);
 
-				for (int x = 0; x < from.width; x++) {
-					to.data[indexTo++] = ( byte )( from.data[indexFrom++] );
+				for (int i = 0; i < from.width; i++) {
+					to.data[indexTo+i] = ( byte )( from.data[indexFrom+i] );
 				}
 			}
 
@@ -584,8 +576,8 @@ public class ImplConvertImage {
 				int indexFrom = from.getIndex(0, y);
 				int indexTo = to.getIndex(0, y);
 
-				for (int x = 0; x < from.width; x++) {
-					to.data[indexTo++] = ( short )( from.data[indexFrom++] );
+				for (int i = 0; i < from.width; i++) {
+					to.data[indexTo+i] = ( short )( from.data[indexFrom+i] );
 				}
 			}
 
@@ -606,8 +598,8 @@ public class ImplConvertImage {
 				int indexFrom = from.getIndex(0, y);
 				int indexTo = to.getIndex(0, y);
 
-				for (int x = 0; x < from.width; x++) {
-					to.data[indexTo++] = ( from.data[indexFrom++] );
+				for (int i = 0; i < from.width; i++) {
+					to.data[indexTo+i] = ( from.data[indexFrom+i] );
 				}
 			}
 
@@ -628,8 +620,8 @@ public class ImplConvertImage {
 				int indexFrom = from.getIndex(0, y);
 				int indexTo = to.getIndex(0, y);
 
-				for (int x = 0; x < from.width; x++) {
-					to.data[indexTo++] = ( float )( from.data[indexFrom++] );
+				for (int i = 0; i < from.width; i++) {
+					to.data[indexTo+i] = ( float )( from.data[indexFrom+i] );
 				}
 			}
 
@@ -650,8 +642,8 @@ public class ImplConvertImage {
 				int indexFrom = from.getIndex(0, y);
 				int indexTo = to.getIndex(0, y);
 
-				for (int x = 0; x < from.width; x++) {
-					to.data[indexTo++] = ( double )( from.data[indexFrom++] );
+				for (int i = 0; i < from.width; i++) {
+					to.data[indexTo+i] = ( double )( from.data[indexFrom+i] );
 				}
 			}
 
@@ -672,8 +664,8 @@ public class ImplConvertImage {
 				int indexFrom = from.getIndex(0, y);
 				int indexTo = to.getIndex(0, y);
 
-				for (int x = 0; x < from.width; x++) {
-					to.data[indexTo++] = ( byte )( from.data[indexFrom++] );
+				for (int i = 0; i < from.width; i++) {
+					to.data[indexTo+i] = ( byte )( from.data[indexFrom+i] );
 				}
 			}
 
@@ -694,8 +686,8 @@ public class ImplConvertImage {
 				int indexFrom = from.getIndex(0, y);
 				int indexTo = to.getIndex(0, y);
 
-				for (int x = 0; x < from.width; x++) {
-					to.data[indexTo++] = ( short )( from.data[indexFrom++] );
+				for (int i = 0; i < from.width; i++) {
+					to.data[indexTo+i] = ( short )( from.data[indexFrom+i] );
 				}
 			}
 
@@ -716,8 +708,8 @@ public class ImplConvertImage {
 				int indexFrom = from.getIndex(0, y);
 				int indexTo = to.getIndex(0, y);
 
-				for (int x = 0; x < from.width; x++) {
-					to.data[indexTo++] = ( int )( from.data[indexFrom++] );
+				for (int i = 0; i < from.width; i++) {
+					to.data[indexTo+i] = ( int )( from.data[indexFrom+i] );
 				}
 			}
 
@@ -738,8 +730,8 @@ public class ImplConvertImage {
 				int indexFrom = from.getIndex(0, y);
 				int indexTo = to.getIndex(0, y);
 
-				for (int x = 0; x < from.width; x++) {
-					to.data[indexTo++] = ( float )( from.data[indexFrom++] );
+				for (int i = 0; i < from.width; i++) {
+					to.data[indexTo+i] = ( float )( from.data[indexFrom+i] );
 				}
 			}
 
@@ -760,8 +752,8 @@ public class ImplConvertImage {
 				int indexFrom = from.getIndex(0, y);
 				int indexTo = to.getIndex(0, y);
 
-				for (int x = 0; x < from.width; x++) {
-					to.data[indexTo++] = ( double )( from.data[indexFrom++] );
+				for (int i = 0; i < from.width; i++) {
+					to.data[indexTo+i] = ( double )( from.data[indexFrom+i] );
 				}
 			}
 
@@ -782,8 +774,8 @@ public class ImplConvertImage {
 				int indexFrom = from.getIndex(0, y);
 				int indexTo = to.getIndex(0, y);
 
-				for (int x = 0; x < from.width; x++) {
-					to.data[indexTo++] = ( byte )( from.data[indexFrom++] );
+				for (int i = 0; i < from.width; i++) {
+					to.data[indexTo+i] = ( byte )( from.data[indexFrom+i] );
 				}
 			}
 
@@ -804,8 +796,8 @@ public class ImplConvertImage {
 				int indexFrom = from.getIndex(0, y);
 				int indexTo = to.getIndex(0, y);
 
-				for (int x = 0; x < from.width; x++) {
-					to.data[indexTo++] = ( short )( from.data[indexFrom++] );
+				for (int i = 0; i < from.width; i++) {
+					to.data[indexTo+i] = ( short )( from.data[indexFrom+i] );
 				}
 			}
 
@@ -826,8 +818,8 @@ public class ImplConvertImage {
 				int indexFrom = from.getIndex(0, y);
 				int indexTo = to.getIndex(0, y);
 
-				for (int x = 0; x < from.width; x++) {
-					to.data[indexTo++] = ( int )( from.data[indexFrom++] );
+				for (int i = 0; i < from.width; i++) {
+					to.data[indexTo+i] = ( int )( from.data[indexFrom+i] );
 				}
 			}
 
@@ -848,8 +840,8 @@ public class ImplConvertImage {
 				int indexFrom = from.getIndex(0, y);
 				int indexTo = to.getIndex(0, y);
 
-				for (int x = 0; x < from.width; x++) {
-					to.data[indexTo++] = ( long )( from.data[indexFrom++] );
+				for (int i = 0; i < from.width; i++) {
+					to.data[indexTo+i] = ( long )( from.data[indexFrom+i] );
 				}
 			}
 
@@ -870,8 +862,8 @@ public class ImplConvertImage {
 				int indexFrom = from.getIndex(0, y);
 				int indexTo = to.getIndex(0, y);
 
-				for (int x = 0; x < from.width; x++) {
-					to.data[indexTo++] = ( double )( from.data[indexFrom++] );
+				for (int i = 0; i < from.width; i++) {
+					to.data[indexTo+i] = ( double )( from.data[indexFrom+i] );
 				}
 			}
 
@@ -892,8 +884,8 @@ public class ImplConvertImage {
 				int indexFrom = from.getIndex(0, y);
 				int indexTo = to.getIndex(0, y);
 
-				for (int x = 0; x < from.width; x++) {
-					to.data[indexTo++] = ( byte )( from.data[indexFrom++] );
+				for (int i = 0; i < from.width; i++) {
+					to.data[indexTo+i] = ( byte )( from.data[indexFrom+i] );
 				}
 			}
 
@@ -914,8 +906,8 @@ public class ImplConvertImage {
 				int indexFrom = from.getIndex(0, y);
 				int indexTo = to.getIndex(0, y);
 
-				for (int x = 0; x < from.width; x++) {
-					to.data[indexTo++] = ( short )( from.data[indexFrom++] );
+				for (int i = 0; i < from.width; i++) {
+					to.data[indexTo+i] = ( short )( from.data[indexFrom+i] );
 				}
 			}
 
@@ -936,8 +928,8 @@ public class ImplConvertImage {
 				int indexFrom = from.getIndex(0, y);
 				int indexTo = to.getIndex(0, y);
 
-				for (int x = 0; x < from.width; x++) {
-					to.data[indexTo++] = ( int )( from.data[indexFrom++] );
+				for (int i = 0; i < from.width; i++) {
+					to.data[indexTo+i] = ( int )( from.data[indexFrom+i] );
 				}
 			}
 
@@ -958,8 +950,8 @@ public class ImplConvertImage {
 				int indexFrom = from.getIndex(0, y);
 				int indexTo = to.getIndex(0, y);
 
-				for (int x = 0; x < from.width; x++) {
-					to.data[indexTo++] = ( long )( from.data[indexFrom++] );
+				for (int i = 0; i < from.width; i++) {
+					to.data[indexTo+i] = ( long )( from.data[indexFrom+i] );
 				}
 			}
 
@@ -980,8 +972,8 @@ public class ImplConvertImage {
 				int indexFrom = from.getIndex(0, y);
 				int indexTo = to.getIndex(0, y);
 
-				for (int x = 0; x < from.width; x++) {
-					to.data[indexTo++] = ( float )( from.data[indexFrom++] );
+				for (int i = 0; i < from.width; i++) {
+					to.data[indexTo+i] = ( float )( from.data[indexFrom+i] );
 				}
 			}
 
@@ -19,6 +19,7 @@
 package boofcv.factory.filter.binary;
 
 import boofcv.abst.filter.binary.*;
+import boofcv.alg.filter.binary.ThresholdLocalType;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.struct.image.ImageType;
 
@@ -43,6 +44,21 @@ public class FactoryThresholdBinary {
 		return new AdaptiveGaussianBinaryFilter<T>(radius,bias,down,ImageType.single(inputType));
 	}
 
+	/**
+	 * @see boofcv.alg.filter.binary.GThresholdImageOps#adaptiveIntegral
+	 *
+	 * @param type Which equation is used to compute the threshold.
+	 * @param radius Radius of local region.
+	 * @param k Tuning parameter.  See {@link ThresholdLocalType}.
+	 * @param down Should it threshold up or down.
+	 * @param inputType Type of input image
+	 * @return Filter to binary
+	 */
+	public static <T extends ImageSingleBand>
+	InputToBinary<T> adaptiveIntegral(ThresholdLocalType type, int radius, double k, boolean down, Class<T> inputType) {
+		return new AdaptiveIntegralBinaryFilter<T>(type,radius,k,down,ImageType.single(inputType));
+	}
+
 	/**
 	 * @see boofcv.alg.filter.binary.GThresholdImageOps#adaptiveSauvola(boofcv.struct.image.ImageSingleBand, boofcv.struct.image.ImageUInt8, int, float, boolean)
 	 *
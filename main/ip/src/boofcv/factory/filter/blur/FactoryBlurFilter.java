@@ -20,6 +20,9 @@ package boofcv.factory.filter.blur;
 
 import boofcv.abst.filter.blur.BlurStorageFilter;
 import boofcv.abst.filter.blur.MedianImageFilter;
+import boofcv.abst.filter.blur.RecursiveGaussianBlurFilter;
+import boofcv.core.image.border.BorderType;
+import boofcv.struct.image.ImagePool;
 import boofcv.struct.image.ImageSingleBand;
 
 /**
@@ -30,7 +33,7 @@ import boofcv.struct.image.ImageSingleBand;
 public class FactoryBlurFilter {
 
 	/**
-	 * Creates a median filter for the specified image type.
+	 * Creates a median filter for the specified image type.  Supports ImageUInt8, ImageUInt16 and ImageFloat32.
 	 *
 	 * @param type Image type.
 	 * @param radius Size of the filter.
@@ -61,4 +64,50 @@ public class FactoryBlurFilter {
 	public static <T extends ImageSingleBand> BlurStorageFilter<T> gaussian( Class<T> type , double sigma , int radius ) {
 		return new BlurStorageFilter<T>("gaussian",type,sigma,radius);
 	}
+
+	/**
+	 * Creates a mean filter for the specified image type which takes its storage image from the pool.
+	 *
+	 * @param type Image type.
+	 * @param radius Size of the filter.
+	 * @param pool Pool which storage is taken from.
+	 * @return mean image filter.
+	 */
+	public static <T extends ImageSingleBand> BlurStorageFilter<T> mean( Class<T> type , int radius , ImagePool pool ) {
+		BlurStorageFilter<T> filter = mean(type,radius);
+		filter.setPool(pool);
+		return filter;
+	}
+
+	/**
+	 * Creates a Gaussian filter for the specified image type which takes its storage image from the pool.
+	 *
+	 * @param type Image type.
+	 * @param sigma Gaussian distribution's sigma.  If <= 0 then will be selected based on radius.
+	 * @param radius Size of the filter.
+	 * @param pool Pool which storage is taken from.
+	 * @return Gaussian image filter.
+	 */
+	public static <T extends ImageSingleBand> BlurStorageFilter<T> gaussian( Class<T> type , double sigma , int radius ,
+																			 ImagePool pool ) {
+		BlurStorageFilter<T> filter = gaussian(type,sigma,radius);
+		filter.setPool(pool);
+		return filter;
+	}
+
+	/**
+	 * Creates a recursive Gaussian filter, whose cost does not depend on sigma.  Supports ImageUInt8 and
+	 * ImageFloat32.
+	 *
+	 * @see boofcv.alg.filter.blur.RecursiveGaussian
+	 *
+	 * @param type Image type.
+	 * @param sigma Gaussian distribution's sigma.  Must be &ge; 0.5
+	 * @param border How the image border is handled.
+	 * @return Gaussian image filter.
+	 */
+	public static <T extends ImageSingleBand> RecursiveGaussianBlurFilter<T>
+	gaussianRecursive( Class<T> type , double sigma , BorderType border ) {
+		return new RecursiveGaussianBlurFilter<T>(type,sigma,border);
+	}
 }
@@ -18,8 +18,10 @@
 
 package boofcv.factory.filter.convolve;
 
+import boofcv.abst.filter.convolve.ConvolveFft_to_ConvolveInterface;
 import boofcv.abst.filter.convolve.ConvolveInterface;
 import boofcv.abst.filter.convolve.GenericConvolve;
+import boofcv.alg.filter.convolve.ConvolveFft_F32;
 import boofcv.alg.filter.convolve.ConvolveImageNoBorder;
 import boofcv.alg.filter.convolve.ConvolveNormalized;
 import boofcv.alg.filter.convolve.ConvolveWithBorder;
@@ -27,6 +29,8 @@ import boofcv.core.image.border.BorderType;
 import boofcv.core.image.border.FactoryImageBorder;
 import boofcv.struct.convolve.Kernel1D;
 import boofcv.struct.convolve.Kernel2D;
+import boofcv.struct.convolve.Kernel2D_F32;
+import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.testing.BoofTesting;
 
@@ -91,7 +95,9 @@ public class FactoryConvolve {
 	}
 
 	/**
-	 * Creates a filter for convolving 2D kernels along the image axis.
+	 * Creates a filter for convolving 2D kernels along the image axis.  If the image border is skipped, the
+	 * images are {@link ImageFloat32}, and the kernel is at least {@link ConvolveFft_F32#MIN_KERNEL_WIDTH} wide
+	 * then the convolution is computed using the FFT, see {@link #convolveFft}.
 	 *
 	 * @param kernel Convolution kernel.
 	 * @param inputType Specifies input image type.
@@ -105,6 +111,12 @@ public class FactoryConvolve {
 	{
 		outputType = BoofTesting.convertToGenericType(outputType);
 
+		if( borderType == BorderType.SKIP && kernel instanceof Kernel2D_F32 &&
+				inputType == ImageFloat32.class && outputType == ImageFloat32.class &&
+				kernel.getWidth() >= ConvolveFft_F32.MIN_KERNEL_WIDTH ) {
+			return (ConvolveInterface<Input,Output>)convolveFft((Kernel2D_F32)kernel);
+		}
+
 		Class<?> borderClassType = FactoryImageBorder.lookupBorderClassType((Class)inputType);
 		Method m;
 		try {
@@ -141,4 +153,17 @@ public class FactoryConvolve {
 
 		return new GenericConvolve<Input,Output>(m,kernel, borderType,inputType,outputType);
 	}
+
+	/**
+	 * Creates a filter which convolves a 2D kernel using the FFT.  Faster than direct convolution for
+	 * large kernels.  The image border is skipped.
+	 *
+	 * @see ConvolveFft_F32
+	 *
+	 * @param kernel Convolution kernel.
+	 * @return FilterInterface which will perform the specified convolution.
+	 */
+	public static ConvolveInterface<ImageFloat32,ImageFloat32> convolveFft( Kernel2D_F32 kernel ) {
+		return new ConvolveFft_to_ConvolveInterface(kernel);
+	}
 }
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.factory.filter.stream;
+
+import boofcv.alg.filter.stream.GradientRowSink;
+import boofcv.alg.filter.stream.RowSink;
+import boofcv.alg.filter.stream.StreamConvolveNormalized;
+import boofcv.alg.filter.stream.StreamGradientSobel;
+import boofcv.factory.filter.kernel.FactoryKernel;
+import boofcv.factory.filter.kernel.FactoryKernelGaussian;
+import boofcv.struct.convolve.Kernel1D_F32;
+
+/**
+ * <p>
+ * Factory for creating stages in a streaming filter pipeline.  Each stage is given the next stage in the
+ * pipeline, so a chain is created starting with the last stage.  For example, to compute the gradient
+ * of a blurred image in a single pass:
+ * </p>
+ *
+ * <pre>
+ * GradientRowToImage output = new GradientRowToImage(derivX,derivY);
+ * RowSink stream = FactoryStreamFilter.gaussian(-1,2,FactoryStreamFilter.sobel(output));
+ * StreamImageRows.process(image,stream);
+ * </pre>
+ *
+ * @see RowSink
+ *
+ * @author Peter Abeles
+ */
+public class FactoryStreamFilter {
+
+	/**
+	 * Gaussian blur.  Produces the same results as
+	 * {@link boofcv.alg.filter.blur.BlurImageOps#gaussian(boofcv.struct.image.ImageFloat32, boofcv.struct.image.ImageFloat32, double, int, boofcv.struct.image.ImageFloat32)}.
+	 *
+	 * @param sigma Gaussian distribution's sigma.  If <= 0 then will be selected based on radius.
+	 * @param radius Radius of the Gaussian blur function. If <= 0 then radius will be determined by sigma.
+	 * @param output The next stage in the stream
+	 * @return Blur stage
+	 */
+	public static StreamConvolveNormalized gaussian( double sigma , int radius , RowSink output ) {
+		Kernel1D_F32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_F32.class,sigma,radius);
+		return new StreamConvolveNormalized(kernel,kernel,output);
+	}
+
+	/**
+	 * Mean box blur.  Produces the same results as
+	 * {@link boofcv.alg.filter.blur.BlurImageOps#mean(boofcv.struct.image.ImageFloat32, boofcv.struct.image.ImageFloat32, int, boofcv.struct.image.ImageFloat32)}.
+	 *
+	 * @param radius Radius of the box blur function.
+	 * @param output The next stage in the stream
+	 * @return Blur stage
+	 */
+	public static StreamConvolveNormalized mean( int radius , RowSink output ) {
+		if( radius <= 0 )
+			throw new IllegalArgumentException("Radius must be > 0");
+
+		Kernel1D_F32 kernel = FactoryKernel.table1D_F32(radius,true);
+		return new StreamConvolveNormalized(kernel,kernel,output);
+	}
+
+	/**
+	 * Sobel image gradient with an extended image border.
+	 *
+	 * @param output The next stage in the stream
+	 * @return Gradient stage
+	 */
+	public static StreamGradientSobel sobel( GradientRowSink output ) {
+		return new StreamGradientSobel(output);
+	}
+}
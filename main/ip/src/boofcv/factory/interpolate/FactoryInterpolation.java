@@ -92,7 +92,9 @@ public class FactoryInterpolation {
 				throw new IllegalArgumentException("Need to specify a multi-band image type");
 
 			case INTERLEAVED:
-				throw new IllegalArgumentException("Not yet supported.  Post a message letting us know you need this." +
+				if( type == TypeInterpolate.BILINEAR )
+					return bilinearPixelMB((Class)imageType.getImageClass());
+				throw new IllegalArgumentException("Only bilinear is supported for interleaved images." +
 						"  Use MultiSpectral instead for now.");
 
 			default:
@@ -137,6 +139,20 @@ public class FactoryInterpolation {
 			throw new RuntimeException("Unknown image type: "+type.getName());
 	}
 
+	/**
+	 * Bilinear interpolation for interleaved images.  All the bands are interpolated at once.
+	 *
+	 * @param type Type of interleaved image
+	 */
+	public static <T extends ImageInterleaved> InterpolatePixelMB<T> bilinearPixelMB(Class<T> type) {
+		if( type == InterleavedF32.class )
+			return (InterpolatePixelMB<T>)new ImplBilinearPixel_IL_F32();
+		else if( type == InterleavedU8.class )
+			return (InterpolatePixelMB<T>)new ImplBilinearPixel_IL_U8();
+		else
+			throw new RuntimeException("Unknown image type: "+type.getName());
+	}
+
 	public static <T extends ImageSingleBand> InterpolateRectangle<T> bilinearRectangle( T image ) {
 
 		InterpolateRectangle<T> ret = bilinearRectangle((Class)image.getClass());
@@ -20,6 +20,7 @@ package boofcv.factory.transform.pyramid;
 
 import boofcv.alg.interpolate.InterpolatePixelS;
 import boofcv.alg.transform.pyramid.PyramidDiscreteSampleBlur;
+import boofcv.alg.transform.pyramid.PyramidDiscreteSampleBlurLazy;
 import boofcv.alg.transform.pyramid.PyramidFloatGaussianScale;
 import boofcv.factory.filter.kernel.FactoryKernel;
 import boofcv.factory.filter.kernel.FactoryKernelGaussian;
@@ -57,6 +58,26 @@ public class FactoryPyramid {
 		return new PyramidDiscreteSampleBlur<T>(kernel,sigma,imageType,saveOriginalReference,scaleFactors);
 	}
 
+	/**
+	 * Same as {@link #discreteGaussian} but each layer, or a region inside a layer, is only computed when it is
+	 * requested.  See {@link PyramidDiscreteSampleBlurLazy}.
+	 *
+	 * @param imageType Type of input image.
+	 * @param sigma Gaussian sigma.  If < 0 then a sigma is selected using the radius.  Try -1.
+	 * @param radius Radius of the Gaussian kernel.  If < 0 then the radius is selected using sigma. Try 2.
+	 * @return PyramidDiscreteSampleBlurLazy
+	 */
+	public static <T extends ImageSingleBand>
+	PyramidDiscreteSampleBlurLazy<T> discreteGaussianLazy( int[] scaleFactors , double sigma , int radius ,
+														   boolean saveOriginalReference, Class<T> imageType )
+	{
+		Class<Kernel1D> kernelType = FactoryKernel.getKernelType(imageType,1);
+
+		Kernel1D kernel = FactoryKernelGaussian.gaussian(kernelType,sigma,radius);
+
+		return new PyramidDiscreteSampleBlurLazy<T>(kernel,sigma,imageType,saveOriginalReference,scaleFactors);
+	}
+
 	/**
 	 * Creates a float pyramid where each layer is blurred using a Gaussian with the specified
 	 * sigma.  Bilinear interpolation is used when sub-sampling.
@@ -69,10 +90,28 @@ public class FactoryPyramid {
 	 */
 	public static <T extends ImageSingleBand>
 	PyramidFloat<T> floatGaussian( double scaleFactors[], double []sigmas , Class<T> imageType ) {
+		return floatGaussian(scaleFactors,sigmas,imageType,false);
+	}
+
+	/**
+	 * Creates a float pyramid where each layer is blurred using a Gaussian with the specified
+	 * sigma.  Bilinear interpolation is used when sub-sampling.
+	 *
+	 * @param scaleFactors The scale factor of each layer relative to the previous layer.
+	 *                     Layer 0 is relative to the input image.
+	 * @param sigmas Gaussian blur magnitude for each layer.
+	 * @param imageType Type of image in the pyramid.
+	 * @param useRecursive If true then large sigmas are blurred using a recursive Gaussian,
+	 *                     see {@link PyramidFloatGaussianScale}.
+	 * @return PyramidFloat
+	 */
+	public static <T extends ImageSingleBand>
+	PyramidFloat<T> floatGaussian( double scaleFactors[], double []sigmas , Class<T> imageType ,
+								   boolean useRecursive ) {
 
 		InterpolatePixelS<T> interp = FactoryInterpolation.bilinearPixelS(imageType);
 
-		return new PyramidFloatGaussianScale<T>(interp,scaleFactors,sigmas,imageType);
+		return new PyramidFloatGaussianScale<T>(interp,scaleFactors,sigmas,imageType,useRecursive);
 	}
 
 	/**
@@ -85,6 +124,21 @@ public class FactoryPyramid {
 	 */
 	public static <T extends ImageSingleBand>
 	PyramidFloat<T> scaleSpacePyramid( double scaleSpace[], Class<T> imageType ) {
+		return scaleSpacePyramid(scaleSpace,imageType,false);
+	}
+
+	/**
+	 * Constructs an image pyramid which is designed to mimic a {@link boofcv.struct.gss.GaussianScaleSpace}.  Each layer in the pyramid
+	 * should have the equivalent amount of blur that a space-space constructed with the same parameters would have.
+	 *
+	 * @param scaleSpace The scale of each layer and the desired amount of blur relative to the original image
+	 * @param imageType Type of image
+	 * @param useRecursive If true then large sigmas are blurred using a recursive Gaussian,
+	 *                     see {@link PyramidFloatGaussianScale}.
+	 * @return PyramidFloat
+	 */
+	public static <T extends ImageSingleBand>
+	PyramidFloat<T> scaleSpacePyramid( double scaleSpace[], Class<T> imageType , boolean useRecursive ) {
 
 		double[] sigmas = new double[ scaleSpace.length ];
 
@@ -100,7 +154,7 @@ public class FactoryPyramid {
 			sigmas[i] /= scaleSpace[i-1];
 		}
 
-		return floatGaussian(scaleSpace,sigmas,imageType);
+		return floatGaussian(scaleSpace,sigmas,imageType,useRecursive);
 	}
 
 	/**
@@ -114,6 +168,22 @@ public class FactoryPyramid {
 	 */
 	public static <T extends ImageSingleBand>
 	PyramidFloat<T> scaleSpace( double scaleSpace[], Class<T> imageType ) {
+		return scaleSpace(scaleSpace,imageType,false);
+	}
+
+	/**
+	 * Constructs a scale-space image pyramid.  Each layer in the pyramid is the same size as the input image but
+	 * has a different amount of blur applied to it.
+	 *
+	 * @param scaleSpace Amount of blur applied to each layer in the pyramid relative to the input image.
+	 * @param imageType Type of image
+	 * @param useRecursive If true then large sigmas are blurred using a recursive Gaussian,
+	 *                     see {@link PyramidFloatGaussianScale}.
+	 * @param <T> Type of image
+	 * @return Scale-space image pyramid
+	 */
+	public static <T extends ImageSingleBand>
+	PyramidFloat<T> scaleSpace( double scaleSpace[], Class<T> imageType , boolean useRecursive ) {
 
 		double[] scaleFactors = new double[ scaleSpace.length ];
 
@@ -134,6 +204,6 @@ public class FactoryPyramid {
 			sigmas[i] = Math.sqrt(c*c-b*b);
 		}
 
-		return floatGaussian(scaleFactors,sigmas,imageType);
+		return floatGaussian(scaleFactors,sigmas,imageType,useRecursive);
 	}
 }
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.misc;
+
+import org.ddogleg.struct.FastQueue;
+
+/**
+ * Performance information for a single frame processed by a {@link ProfiledProcess}.  Stages are listed in
+ * the order they were run.  Stages and counters with the same name can appear more than once if the algorithm
+ * ran the stage multiple times.
+ *
+ * @author Peter Abeles
+ */
+public class ProfileFrame {
+	/**
+	 * Name of the algorithm which generated the profile
+	 */
+	public String owner;
+	/**
+	 * Number of frames processed before this one
+	 */
+	public long frame;
+	/**
+	 * Total time spent processing the frame in nanoseconds
+	 */
+	public long totalNano;
+	/**
+	 * Bytes allocated by the processing thread while processing the frame.  -1 if not measured.
+	 */
+	public long totalAllocated;
+
+	/**
+	 * Time spent in each stage
+	 */
+	public FastQueue<Stage> stages = new FastQueue<Stage>(Stage.class,true);
+	/**
+	 * Element counts, e.g. number of features, inliers, or iterations
+	 */
+	public FastQueue<Counter> counters = new FastQueue<Counter>(Counter.class,true);
+
+	public void reset() {
+		totalNano = 0;
+		totalAllocated = -1;
+		stages.reset();
+		counters.reset();
+	}
+
+	/**
+	 * Returns the first stage with the specified name or null if there is none
+	 */
+	public Stage getStage( String name ) {
+		for( int i = 0; i < stages.size; i++ ) {
+			if( stages.data[i].name.equals(name) )
+				return stages.data[i];
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the value of the first counter with the specified name or -1 if there is none
+	 */
+	public long getCount( String name ) {
+		for( int i = 0; i < counters.size; i++ ) {
+			if( counters.data[i].name.equals(name) )
+				return counters.data[i].value;
+		}
+		return -1;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder s = new StringBuilder();
+		s.append(owner).append(" frame ").append(frame).append(String.format(" total %.3f ms",totalNano*1e-6));
+		for( int i = 0; i < stages.size; i++ ) {
+			Stage stage = stages.data[i];
+			s.append(String.format(" %s %.3f ms", stage.name, stage.nano*1e-6));
+		}
+		for( int i = 0; i < counters.size; i++ ) {
+			Counter c = counters.data[i];
+			s.append(' ').append(c.name).append(' ').append(c.value);
+		}
+		return s.toString();
+	}
+
+	/**
+	 * Time spent inside a single stage
+	 */
+	public static class Stage {
+		public String name;
+		/** Elapsed time in nanoseconds */
+		public long nano;
+		/** Bytes allocated by the processing thread during this stage.  -1 if not measured. */
+		public long allocated;
+	}
+
+	/**
+	 * A named count
+	 */
+	public static class Counter {
+		public String name;
+		public long value;
+	}
+}
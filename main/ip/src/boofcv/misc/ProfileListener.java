@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.misc;
+
+/**
+ * Receives timing and counter information from algorithms which implement {@link ProfiledProcess} after each
+ * frame has been processed.  Typically used to export performance information to an external metrics system.
+ *
+ * @author Peter Abeles
+ */
+public interface ProfileListener {
+
+	/**
+	 * Called after the algorithm has finished processing a frame.  The profile is recycled by the algorithm,
+	 * so any information which is needed later on must be copied.
+	 *
+	 * @param profile Timing and counters for the frame which was just processed.  Do not modify.
+	 */
+	public void processedFrame( ProfileFrame profile );
+}
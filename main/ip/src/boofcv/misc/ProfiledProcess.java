@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.misc;
+
+/**
+ * Implemented by algorithms which can report how long each stage took and how many elements, e.g. features or
+ * inliers, each stage processed.  Profiling is disabled by default and only costs a null check when disabled.
+ *
+ * @author Peter Abeles
+ */
+public interface ProfiledProcess {
+
+	/**
+	 * Specifies the listener which is passed the profile of each frame.
+	 *
+	 * @param listener The listener.  If null then profiling is turned off.
+	 */
+	public void setProfileListener( ProfileListener listener );
+}
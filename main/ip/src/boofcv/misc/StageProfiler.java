@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.misc;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+
+/**
+ * <p>
+ * Helper used by {@link ProfiledProcess} implementations to record the time spent in each stage and element
+ * counts while processing a frame.  Once the frame is finished the results are passed to a {@link ProfileListener}.
+ * Algorithms only create a profiler when a listener has been specified, so when profiling is turned off all
+ * that's left is a null check:
+ * </p>
+ *
+ * <pre>
+ * if( profiler != null ) profiler.startFrame();
+ * detector.detect(image);
+ * if( profiler != null ) profiler.stage("detect");
+ * ...
+ * if( profiler != null ) profiler.finishFrame();
+ * </pre>
+ *
+ * <p>
+ * Each call to {@link #stage(String)} records the time since the previous stage ended, or the frame started.
+ * Memory allocation can optionally be measured using the per-thread allocation counter provided by the
+ * JVM, see {@link #MEASURE_ALLOCATION}.  If the JVM doesn't provide that counter then allocations are
+ * reported as -1.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class StageProfiler {
+
+	/**
+	 * Default value for {@link #setMeasureAllocation(boolean)} when a profiler is created.
+	 */
+	public static boolean MEASURE_ALLOCATION = false;
+
+	// Reference to ThreadMXBean.getThreadAllocatedBytes(long), which is HotSpot specific. null if not available
+	private static Method methodAllocated;
+	private static ThreadMXBean threadBean;
+
+	static {
+		try {
+			threadBean = ManagementFactory.getThreadMXBean();
+			Class<?> c = Class.forName("com.sun.management.ThreadMXBean");
+			if( c.isInstance(threadBean) ) {
+				methodAllocated = c.getMethod("getThreadAllocatedBytes", long.class);
+			}
+		} catch( Exception ignore ) {
+			// allocation tracking is not supported on this JVM
+		} catch( LinkageError ignore ) {
+		}
+	}
+
+	// destination for the results
+	private ProfileListener listener;
+	// information on the current frame
+	private ProfileFrame profile = new ProfileFrame();
+
+	// should it measure memory allocation
+	private boolean measureAllocation = MEASURE_ALLOCATION;
+
+	// time and allocation at the start of the frame and at the end of the last stage
+	private long timeFrame, timeStage;
+	private long allocFrame, allocStage;
+
+	private boolean insideFrame = false;
+
+	/**
+	 * Creates a profiler
+	 *
+	 * @param owner Name of the algorithm which is being profiled.
+	 * @param listener Destination for profiles
+	 */
+	public StageProfiler(String owner, ProfileListener listener) {
+		if( listener == null )
+			throw new IllegalArgumentException("Listener must not be null");
+		this.profile.owner = owner;
+		this.listener = listener;
+	}
+
+	/**
+	 * Convenience function for implementations of {@link ProfiledProcess#setProfileListener}.  Returns a
+	 * new profiler or null if the listener is null.
+	 */
+	public static StageProfiler create( Object owner , ProfileListener listener ) {
+		if( listener == null )
+			return null;
+		return new StageProfiler(owner.getClass().getSimpleName(),listener);
+	}
+
+	/**
+	 * Returns true if the JVM supports measuring the number of bytes allocated by a thread
+	 */
+	public static boolean isAllocationSupported() {
+		return methodAllocated != null;
+	}
+
+	/**
+	 * Call at the start of each frame.  Removes information from the previous frame.
+	 */
+	public void startFrame() {
+		profile.reset();
+		insideFrame = true;
+		if( measureAllocation ) {
+			allocFrame = allocStage = allocatedBytes();
+		}
+		timeFrame = timeStage = System.nanoTime();
+	}
+
+	/**
+	 * Marks the end of a stage.  The time since the end of the previous stage, or start of the frame, is
+	 * attributed to this stage.
+	 *
+	 * @param name Name of the stage which just finished
+	 */
+	public void stage( String name ) {
+		long time = System.nanoTime();
+		if( !insideFrame )
+			throw new IllegalArgumentException("startFrame() must be called first");
+
+		ProfileFrame.Stage s = profile.stages.grow();
+		s.name = name;
+		s.nano = time - timeStage;
+		if( measureAllocation ) {
+			long alloc = allocatedBytes();
+			s.allocated = alloc < 0 ? -1 : alloc - allocStage;
+			allocStage = alloc;
+		} else {
+			s.allocated = -1;
+		}
+		// exclude the overhead of this function
+		timeStage = System.nanoTime();
+	}
+
+	/**
+	 * Records a count, e.g. the number of features detected.
+	 */
+	public void count( String name , long value ) {
+		ProfileFrame.Counter c = profile.counters.grow();
+		c.name = name;
+		c.value = value;
+	}
+
+	/**
+	 * Marks the end of the frame and passes the results to the listener.
+	 */
+	public void finishFrame() {
+		long time = System.nanoTime();
+		if( !insideFrame )
+			throw new IllegalArgumentException("startFrame() must be called first");
+
+		profile.totalNano = time - timeFrame;
+		if( measureAllocation ) {
+			long alloc = allocatedBytes();
+			profile.totalAllocated = alloc < 0 ? -1 : alloc - allocFrame;
+		}
+		insideFrame = false;
+
+		listener.processedFrame(profile);
+		profile.frame++;
+	}
+
+	/**
+	 * Returns true if a frame has been started but not finished
+	 */
+	public boolean isInsideFrame() {
+		return insideFrame;
+	}
+
+	private static long allocatedBytes() {
+		if( methodAllocated == null )
+			return -1;
+		try {
+			return (Long)methodAllocated.invoke(threadBean, Thread.currentThread().getId());
+		} catch( Exception e ) {
+			return -1;
+		}
+	}
+
+	public ProfileListener getListener() {
+		return listener;
+	}
+
+	public boolean isMeasureAllocation() {
+		return measureAllocation;
+	}
+
+	/**
+	 * If true the number of bytes allocated by the processing thread is measured for each stage.  Adds a
+	 * small amount of overhead.
+	 */
+	public void setMeasureAllocation(boolean measureAllocation) {
+		this.measureAllocation = measureAllocation;
+	}
+}
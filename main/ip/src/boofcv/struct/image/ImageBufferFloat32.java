@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.struct.image;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+
+/**
+ * <p>
+ * Image with a pixel type of 32-bit float which is stored inside of a {@link FloatBuffer}.
+ * See {@link ImageBufferSingleBand} for details.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImageBufferFloat32 extends ImageBufferSingleBand<ImageBufferFloat32> {
+
+	public FloatBuffer data;
+
+	/**
+	 * Creates a new image backed by a direct buffer.
+	 *
+	 * @param width  number of columns in the image.
+	 * @param height number of rows in the image.
+	 */
+	public ImageBufferFloat32(int width, int height) {
+		this(ByteBuffer.allocateDirect(width*height*4).order(ByteOrder.nativeOrder()).asFloatBuffer(),
+				0, width, height, width);
+	}
+
+	/**
+	 * Wraps the buffer without copying it.  A float image inside of a {@link ByteBuffer} can be wrapped
+	 * using {@link ByteBuffer#asFloatBuffer()} after the buffer's byte order has been set.
+	 *
+	 * @param data Buffer containing the image.  Index 0 in the buffer is the start of the buffer, not its position.
+	 * @param startIndex Index of the first pixel.
+	 * @param width  number of columns in the image.
+	 * @param height number of rows in the image.
+	 * @param stride Number of elements between the start of each row.
+	 */
+	public ImageBufferFloat32(FloatBuffer data, int startIndex, int width, int height, int stride) {
+		wrap(data, startIndex, width, height, stride);
+	}
+
+	public ImageBufferFloat32() {
+	}
+
+	/**
+	 * Changes the buffer which this image wraps.  Not allowed for sub-images.
+	 */
+	public void wrap(FloatBuffer data, int startIndex, int width, int height, int stride) {
+		if( subImage )
+			throw new IllegalArgumentException("Can't wrap a sub-image");
+		setShape(data, startIndex, width, height, stride);
+		this.data = data;
+	}
+
+	/**
+	 * Returns the value of the specified pixel.
+	 *
+	 * @param x pixel coordinate.
+	 * @param y pixel coordinate.
+	 * @return Pixel intensity value.
+	 */
+	public float get(int x, int y) {
+		if (!isInBounds(x, y))
+			throw new ImageAccessException("Requested pixel is out of bounds: "+x+" "+y);
+
+		return unsafe_get(x, y);
+	}
+
+	/**
+	 * Sets the value of the specified pixel.
+	 *
+	 * @param x	 pixel coordinate.
+	 * @param y	 pixel coordinate.
+	 * @param value The pixel's new value.
+	 */
+	public void set(int x, int y, float value) {
+		if (!isInBounds(x, y))
+			throw new ImageAccessException("Requested pixel is out of bounds: "+x+" "+y);
+
+		unsafe_set(x, y, value);
+	}
+
+	public float unsafe_get(int x, int y) {
+		return data.get(getIndex(x, y));
+	}
+
+	public void unsafe_set(int x, int y, float value) {
+		data.put(getIndex(x, y), value);
+	}
+
+	@Override
+	public ImageDataType getDataType() {
+		return ImageDataType.F32;
+	}
+
+	@Override
+	public ImageBufferFloat32 _createNew(int imgWidth, int imgHeight) {
+		if (imgWidth == -1 || imgHeight == -1) {
+			return new ImageBufferFloat32();
+		}
+		return new ImageBufferFloat32(imgWidth, imgHeight);
+	}
+
+	@Override
+	protected Buffer _getBuffer() {
+		return data;
+	}
+
+	@Override
+	protected void _setBuffer(Buffer buffer) {
+		this.data = (FloatBuffer)buffer;
+	}
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.struct.image;
+
+import java.nio.Buffer;
+
+/**
+ * <p>
+ * Base class for single band images whose pixels are stored inside of a {@link java.nio.Buffer} instead of a Java
+ * array.  The buffer can be a direct buffer filled in by native code, a memory mapped file, or any other region
+ * of memory, and is wrapped without copying.  This allows images from video capture drivers and decoders to be
+ * passed into BoofCV without first copying them into a Java array.
+ * </p>
+ *
+ * <p>
+ * The image is laid out in the same way as {@link ImageSingleBand}: row-major with the first pixel at
+ * 'startIndex' and each row 'stride' elements apart.  Indexes are absolute indexes in the buffer, its
+ * position and limit are ignored.
+ * </p>
+ *
+ * <p>
+ * Most image processing operations work off of the data arrays inside of {@link ImageSingleBand}.  The following
+ * operations read buffer images directly, without copying the whole frame into an array image first:
+ * </p>
+ * <ul>
+ * <li>{@link boofcv.core.image.ConvertImageBuffer}: conversion to and from array images and between buffer types</li>
+ * <li>{@link boofcv.alg.misc.PixelMathBuffer}: pixel-wise arithmetic</li>
+ * <li>{@link boofcv.alg.misc.ImageBufferStatistics}: image statistics</li>
+ * <li>{@link boofcv.alg.filter.convolve.ConvolveImageBuffer}: convolution</li>
+ * </ul>
+ *
+ * @author Peter Abeles
+ */
+public abstract class ImageBufferSingleBand<T extends ImageBufferSingleBand> {
+	/**
+	 * Index of the first pixel in the buffer
+	 */
+	public int startIndex;
+	/**
+	 * How many elements need to be skipped over to go one row down.
+	 */
+	public int stride;
+
+	/**
+	 * Number of columns in the image.
+	 */
+	public int width;
+	/**
+	 * Number of rows in the image.
+	 */
+	public int height;
+
+	/**
+	 * Indicates if it is a sub-image or not
+	 */
+	public boolean subImage = false;
+
+	/**
+	 * Checks to see if the buffer is large enough for the image and assigns the image shape.
+	 */
+	protected void setShape( Buffer buffer , int startIndex , int width , int height , int stride ) {
+		if( width < 0 || height < 0 )
+			throw new IllegalArgumentException("Width and height must be positive");
+		if( stride < width )
+			throw new IllegalArgumentException("Stride must be at least the width");
+		if( height > 0 && startIndex + (height-1)*stride + width > buffer.capacity() )
+			throw new IllegalArgumentException("Buffer is too small for the image");
+
+		this.startIndex = startIndex;
+		this.width = width;
+		this.height = height;
+		this.stride = stride;
+	}
+
+	/**
+	 * Creates a rectangular sub-image from 'this' image.  The sub-image shares the same buffer.
+	 *
+	 * @param x0 x-coordinate of top-left corner of the sub-image, inclusive.
+	 * @param y0 y-coordinate of top-left corner of the sub-image, inclusive.
+	 * @param x1 x-coordinate of bottom-right corner of the sub-image, exclusive.
+	 * @param y1 y-coordinate of bottom-right corner of the sub-image, exclusive.
+	 * @param subimage Optional output for sub-image.  If not null the subimage will be written into this image.
+	 * @return A sub-image of 'this' image.
+	 */
+	public T subimage(int x0, int y0, int x1, int y1, T subimage) {
+		if (x0 < 0 || y0 < 0)
+			throw new IllegalArgumentException("x0 or y0 is less than zero");
+		if (x1 < x0 || y1 < y0)
+			throw new IllegalArgumentException("x1 or y1 is less than x0 or y0 respectively");
+		if (x1 > width || y1 > height)
+			throw new IllegalArgumentException("x1 or y1 is more than the width or height respectively");
+
+		if( subimage == null ) {
+			subimage = _createNew(-1, -1);
+		}
+
+		subimage._setBuffer(_getBuffer());
+		subimage.stride = stride;
+		subimage.width = x1 - x0;
+		subimage.height = y1 - y0;
+		subimage.startIndex = startIndex + y0 * stride + x0;
+		subimage.subImage = true;
+
+		return subimage;
+	}
+
+	/**
+	 * Changes the image's shape.  If the buffer is not large enough then a new direct buffer is declared.
+	 * Sub-images can't be reshaped.
+	 *
+	 * @param width The new width.
+	 * @param height The new height.
+	 */
+	public void reshape(int width, int height) {
+		if( subImage )
+			throw new IllegalArgumentException("Can't reshape sub-images");
+
+		if( _getBuffer().capacity() < width*height ) {
+			_setBuffer(_createNew(width, height)._getBuffer());
+		}
+
+		this.startIndex = 0;
+		this.stride = width;
+		this.width = width;
+		this.height = height;
+	}
+
+	public final boolean isInBounds(int x, int y) {
+		return x >= 0 && x < width && y >= 0 && y < height;
+	}
+
+	public int getIndex(int x, int y) {
+		return startIndex + y * stride + x;
+	}
+
+	public boolean isSubimage() {
+		return subImage;
+	}
+
+	public final int getWidth() {
+		return width;
+	}
+
+	public final int getHeight() {
+		return height;
+	}
+
+	public int getStartIndex() {
+		return startIndex;
+	}
+
+	public int getStride() {
+		return stride;
+	}
+
+	/**
+	 * Returns true if the buffer is a direct buffer, i.e. its memory is outside of the Java heap
+	 */
+	public boolean isDirect() {
+		return _getBuffer().isDirect();
+	}
+
+	/**
+	 * Returns the type of data stored in the buffer
+	 */
+	public abstract ImageDataType getDataType();
+
+	/**
+	 * Creates a new image of the same type backed by a new direct buffer.  If either width or height are -1
+	 * then no buffer is declared.
+	 */
+	public abstract T _createNew(int imgWidth, int imgHeight);
+
+	protected abstract Buffer _getBuffer();
+
+	protected abstract void _setBuffer( Buffer buffer );
+}
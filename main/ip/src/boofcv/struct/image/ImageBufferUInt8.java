@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.struct.image;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+
+/**
+ * <p>
+ * Image with a pixel type of unsigned 8-bit integer which is stored inside of a {@link ByteBuffer}.
+ * See {@link ImageBufferSingleBand} for details.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImageBufferUInt8 extends ImageBufferSingleBand<ImageBufferUInt8> {
+
+	public ByteBuffer data;
+
+	/**
+	 * Creates a new image backed by a direct buffer.
+	 *
+	 * @param width  number of columns in the image.
+	 * @param height number of rows in the image.
+	 */
+	public ImageBufferUInt8(int width, int height) {
+		this(ByteBuffer.allocateDirect(width*height), 0, width, height, width);
+	}
+
+	/**
+	 * Wraps the buffer without copying it.
+	 *
+	 * @param data Buffer containing the image.  Index 0 in the buffer is the start of the buffer, not its position.
+	 * @param startIndex Index of the first pixel.
+	 * @param width  number of columns in the image.
+	 * @param height number of rows in the image.
+	 * @param stride Number of elements between the start of each row.
+	 */
+	public ImageBufferUInt8(ByteBuffer data, int startIndex, int width, int height, int stride) {
+		wrap(data, startIndex, width, height, stride);
+	}
+
+	public ImageBufferUInt8() {
+	}
+
+	/**
+	 * Changes the buffer which this image wraps.  Useful when a capture device hands out a different
+	 * buffer each frame.  Not allowed for sub-images.
+	 */
+	public void wrap(ByteBuffer data, int startIndex, int width, int height, int stride) {
+		if( subImage )
+			throw new IllegalArgumentException("Can't wrap a sub-image");
+		setShape(data, startIndex, width, height, stride);
+		this.data = data;
+	}
+
+	/**
+	 * Returns the value of the specified pixel.
+	 *
+	 * @param x pixel coordinate.
+	 * @param y pixel coordinate.
+	 * @return an intensity value.
+	 */
+	public int get(int x, int y) {
+		if (!isInBounds(x, y))
+			throw new ImageAccessException("Requested pixel is out of bounds: "+x+" "+y);
+
+		return unsafe_get(x, y);
+	}
+
+	/**
+	 * Sets the value of the specified pixel.
+	 *
+	 * @param x	 pixel coordinate.
+	 * @param y	 pixel coordinate.
+	 * @param value The pixel's new value.
+	 */
+	public void set(int x, int y, int value) {
+		if (!isInBounds(x, y))
+			throw new ImageAccessException("Requested pixel is out of bounds: "+x+" "+y);
+
+		unsafe_set(x, y, value);
+	}
+
+	public int unsafe_get(int x, int y) {
+		return data.get(getIndex(x, y)) & 0xFF;
+	}
+
+	public void unsafe_set(int x, int y, int value) {
+		data.put(getIndex(x, y), (byte)value);
+	}
+
+	@Override
+	public ImageDataType getDataType() {
+		return ImageDataType.U8;
+	}
+
+	@Override
+	public ImageBufferUInt8 _createNew(int imgWidth, int imgHeight) {
+		if (imgWidth == -1 || imgHeight == -1) {
+			return new ImageBufferUInt8();
+		}
+		return new ImageBufferUInt8(imgWidth, imgHeight);
+	}
+
+	@Override
+	protected Buffer _getBuffer() {
+		return data;
+	}
+
+	@Override
+	protected void _setBuffer(Buffer buffer) {
+		this.data = (ByteBuffer)buffer;
+	}
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.struct.image;
+
+import boofcv.core.image.GeneralizedImageOps;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * Pool of single band images which can be reused instead of declaring new ones.  Intended for scratch
+ * images inside of algorithms which are invoked once per frame in a video sequence.  Once the pool has
+ * warmed up, requests are satisfied by reshaping a previously released image and no memory is declared.
+ * </p>
+ *
+ * <p>
+ * Images are keyed by their type.  When an image is requested the smallest released image of the same type
+ * whose internal array is large enough is used.  If none is large enough a new image is declared.  To bound the
+ * amount of memory held on to, at most {@link #getMaxRetained()} released images of each type are kept.
+ * </p>
+ *
+ * <p>
+ * NOTE: This class is not thread safe.  Each thread should have its own pool, e.g. by calling {@link #local()}.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImagePool {
+
+	// per thread pools returned by local()
+	private static final ThreadLocal<ImagePool> threadPool = new ThreadLocal<ImagePool>() {
+		@Override
+		protected ImagePool initialValue() {
+			return new ImagePool();
+		}
+	};
+
+	// released images which are available to be reused, organized by image type
+	private Map<Class, List<ImageSingleBand>> available = new HashMap<Class, List<ImageSingleBand>>();
+
+	// maximum number of released images of each type which are kept
+	private int maxRetained;
+
+	// number of times an image or its internal array has been declared
+	private int totalDeclared;
+
+	/**
+	 * Creates a pool
+	 *
+	 * @param maxRetained Maximum number of released images of each type which are kept.
+	 */
+	public ImagePool( int maxRetained ) {
+		if( maxRetained < 0 )
+			throw new IllegalArgumentException("maxRetained must be >= 0");
+		this.maxRetained = maxRetained;
+	}
+
+	/**
+	 * Creates a pool which keeps up to 10 released images of each type.
+	 */
+	public ImagePool() {
+		this(10);
+	}
+
+	/**
+	 * Returns a pool which is owned by the calling thread.
+	 */
+	public static ImagePool local() {
+		return threadPool.get();
+	}
+
+	/**
+	 * Returns an image of the specified type and shape.  The pixel values are not defined.  When no longer needed
+	 * it should be handed back by calling {@link #release(ImageSingleBand)}.
+	 *
+	 * @param type Type of image.
+	 * @param width Image width
+	 * @param height Image height
+	 * @return Image with the requested shape.
+	 */
+	public <T extends ImageSingleBand> T acquire( Class<T> type , int width , int height ) {
+		List<ImageSingleBand> list = available.get(type);
+
+		if( list != null && list.size() > 0 ) {
+			int N = width*height;
+
+			// select the smallest image which is large enough.  If none is then use the largest one
+			int best = -1;
+			int bestLength = 0;
+			for( int i = 0; i < list.size(); i++ ) {
+				int length = capacity(list.get(i));
+				if( best == -1 ||
+						(length >= N && (bestLength < N || length < bestLength)) ||
+						(length < N && bestLength < N && length > bestLength) ) {
+					best = i;
+					bestLength = length;
+				}
+			}
+
+			T image = (T)list.remove(best);
+			if( bestLength < N )
+				totalDeclared++;
+			image.reshape(width, height);
+			return image;
+		}
+
+		totalDeclared++;
+		return GeneralizedImageOps.createSingleBand(type, width, height);
+	}
+
+	/**
+	 * Same as {@link #acquire(Class, int, int)} but the returned image has the same type and shape
+	 * as the provided image.
+	 *
+	 * @param image Image whose type and shape is copied.  Not modified.
+	 */
+	public <T extends ImageSingleBand> T acquire( T image ) {
+		return (T)acquire(image.getClass(), image.width, image.height);
+	}
+
+	/**
+	 * Hands an image back to the pool so that it can be reused.  The image must not be used by the caller
+	 * after it has been released.  If the pool is full then the image is discarded.
+	 *
+	 * @param image The image being released.  Sub-images are not accepted.
+	 */
+	public void release( ImageSingleBand image ) {
+		if( image.isSubimage() )
+			throw new IllegalArgumentException("Sub-images can't be added to the pool");
+
+		List<ImageSingleBand> list = available.get(image.getClass());
+		if( list == null ) {
+			list = new ArrayList<ImageSingleBand>();
+			available.put(image.getClass(), list);
+		}
+
+		for( int i = 0; i < list.size(); i++ ) {
+			if( list.get(i) == image )
+				throw new IllegalArgumentException("Image has already been released");
+		}
+
+		if( list.size() < maxRetained )
+			list.add(image);
+	}
+
+	/**
+	 * Discards all the released images
+	 */
+	public void clear() {
+		available.clear();
+	}
+
+	/**
+	 * Number of released images which are available for reuse
+	 */
+	public int getTotalAvailable() {
+		int total = 0;
+		for( List<ImageSingleBand> list : available.values() )
+			total += list.size();
+		return total;
+	}
+
+	/**
+	 * Number of times the pool had to declare a new image or grow the internal array of a reused image.
+	 * Once the pool has warmed up this number should stop changing.
+	 */
+	public int getTotalDeclared() {
+		return totalDeclared;
+	}
+
+	public int getMaxRetained() {
+		return maxRetained;
+	}
+
+	/**
+	 * Changes the maximum number of released images of each type which are kept.  Images in excess
+	 * are discarded.
+	 */
+	public void setMaxRetained( int maxRetained ) {
+		if( maxRetained < 0 )
+			throw new IllegalArgumentException("maxRetained must be >= 0");
+		this.maxRetained = maxRetained;
+		for( List<ImageSingleBand> list : available.values() ) {
+			while( list.size() > maxRetained )
+				list.remove(list.size()-1);
+		}
+	}
+
+	private static int capacity( ImageSingleBand image ) {
+		return Array.getLength(image._getData());
+	}
+}
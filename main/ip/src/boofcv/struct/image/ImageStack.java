@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.struct.image;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>
+ * A stack of single band images which all have the same shape and share a single array.  The images are stored one
+ * after another, which is the same as an image that is 'depth' times taller, and each image in the stack is a
+ * sub-image of it.  Useful for processing a large number of images with a batch operation, such as
+ * {@link boofcv.abst.filter.BatchFilterImage}.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImageStack<T extends ImageSingleBand> {
+
+	// all the images stored as one tall image
+	protected T stacked;
+
+	// shape of each image in the stack
+	protected int width;
+	protected int height;
+
+	// view of each image in the stack
+	protected List<T> images;
+
+	/**
+	 * Declares the stack
+	 *
+	 * @param imageType Type of image in the stack
+	 * @param width Width of each image
+	 * @param height Height of each image
+	 * @param depth Number of images
+	 */
+	public ImageStack( ImageType<T> imageType , int width , int height , int depth ) {
+		if( depth <= 0 )
+			throw new IllegalArgumentException("Depth must be at least 1");
+		if( (long)height*depth*width > Integer.MAX_VALUE )
+			throw new IllegalArgumentException("Stack is too large to fit in a single array");
+
+		this.width = width;
+		this.height = height;
+		this.stacked = imageType.createImage(width, height*depth);
+
+		List<T> images = new ArrayList<T>();
+		for( int i = 0; i < depth; i++ ) {
+			images.add((T)stacked.subimage(0, i*height, width, (i+1)*height, null));
+		}
+		this.images = Collections.unmodifiableList(images);
+	}
+
+	/**
+	 * Returns the image at the specified depth.  The returned image is a sub-image and can't be reshaped.
+	 */
+	public T get( int index ) {
+		return images.get(index);
+	}
+
+	/**
+	 * Returns all the images in the stack
+	 */
+	public List<T> getImages() {
+		return images;
+	}
+
+	/**
+	 * Returns all the images as a single image, which is 'depth' times taller than each image
+	 */
+	public T getStacked() {
+		return stacked;
+	}
+
+	public int getWidth() {
+		return width;
+	}
+
+	public int getHeight() {
+		return height;
+	}
+
+	public int getDepth() {
+		return images.size();
+	}
+}
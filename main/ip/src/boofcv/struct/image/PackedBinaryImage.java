@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.struct.image;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Binary image where each pixel is stored in a single bit.  Each row is stored in 64-bit words, allowing
+ * operations to process 64 pixels at once and using 1/8 the memory of an {@link ImageUInt8}.
+ * </p>
+ *
+ * <p>
+ * Pixel (x,y) is stored in word data[y*stride + x/64] at bit x%64, where bit 0 is the least significant bit.
+ * Bits past the end of a row are always zero.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class PackedBinaryImage {
+
+	// image shape
+	public int width;
+	public int height;
+
+	// number of words in each row
+	public int stride;
+
+	// storage for pixels
+	public long data[];
+
+	/**
+	 * Creates an image with all pixels set to zero
+	 */
+	public PackedBinaryImage( int width , int height ) {
+		data = new long[0];
+		reshape(width,height);
+	}
+
+	public PackedBinaryImage() {
+		this(0,0);
+	}
+
+	/**
+	 * Changes the image's shape and sets all the pixels to zero.
+	 */
+	public void reshape( int width , int height ) {
+		this.width = width;
+		this.height = height;
+		this.stride = (width+63)/64;
+
+		int N = stride*height;
+		if( data.length < N )
+			data = new long[ N ];
+		else
+			Arrays.fill(data,0,N,0L);
+	}
+
+	/**
+	 * Returns the value of the pixel, 0 or 1.
+	 */
+	public int get( int x , int y ) {
+		if( !isInBounds(x,y) )
+			throw new ImageAccessException("Requested pixel is out of bounds");
+		return unsafe_get(x,y);
+	}
+
+	public int unsafe_get( int x , int y ) {
+		return (int)(data[y*stride + (x >> 6)] >>> (x & 63)) & 1;
+	}
+
+	/**
+	 * Sets the value of the pixel.  Any value which is not zero is treated as one.
+	 */
+	public void set( int x , int y , int value ) {
+		if( !isInBounds(x,y) )
+			throw new ImageAccessException("Requested pixel is out of bounds");
+		unsafe_set(x,y,value);
+	}
+
+	public void unsafe_set( int x , int y , int value ) {
+		int index = y*stride + (x >> 6);
+		long bit = 1L << (x & 63);
+		if( value != 0 )
+			data[index] |= bit;
+		else
+			data[index] &= ~bit;
+	}
+
+	public boolean isInBounds( int x , int y ) {
+		return x >= 0 && x < width && y >= 0 && y < height;
+	}
+
+	/**
+	 * Mask for the bits inside the image in the last word of each row
+	 */
+	public long getLastWordMask() {
+		int r = width & 63;
+		return r == 0 ? ~0L : (1L << r) - 1;
+	}
+
+	/**
+	 * Total number of pixels with a value of one
+	 */
+	public int countPixels() {
+		int total = 0;
+		int N = stride*height;
+		for( int i = 0; i < N; i++ )
+			total += Long.bitCount(data[i]);
+		return total;
+	}
+
+	/**
+	 * Turns this image into a copy of the other image.
+	 */
+	public void setTo( PackedBinaryImage orig ) {
+		reshape(orig.width,orig.height);
+		System.arraycopy(orig.data,0,data,0,stride*height);
+	}
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.struct.image;
+
+/**
+ * <p>
+ * Binary image which is stored using run-length encoding.  Each row is described by a list of runs of pixels
+ * with a value of one, all other pixels are zero.  Masks which are mostly empty or mostly full can be stored in
+ * much less memory than an {@link ImageUInt8} and operations on them only need to look at the runs.
+ * </p>
+ *
+ * <p>
+ * Run 'i' covers pixels runs[2*i] &le; x &lt; runs[2*i+1].  The runs in row 'y' are rowIndex[y] &le; i &lt;
+ * rowIndex[y+1].  Inside a row runs are sorted by x-coordinate, have at least one pixel, and never overlap or touch.
+ * </p>
+ *
+ * <p>
+ * Images are written one row at a time, starting at the top row, by calling {@link #addRun(int, int)} for each run
+ * and then {@link #finishRow()}.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class RleBinaryImage {
+
+	// image shape
+	public int width;
+	public int height;
+
+	// index of the first run in each row.  Has a length of height+1
+	public int rowIndex[];
+
+	// start and end (exclusive) x-coordinate of each run
+	public int runs[];
+
+	// total number of runs in the image
+	public int numRuns;
+
+	// row which is being written to
+	protected int currentRow;
+
+	/**
+	 * Creates an image with no pixels set to one
+	 */
+	public RleBinaryImage( int width , int height ) {
+		runs = new int[ 32 ];
+		rowIndex = new int[ height+1 ];
+		reshape(width,height);
+		for( int y = 0; y < height; y++ )
+			finishRow();
+	}
+
+	public RleBinaryImage() {
+		this(0,0);
+	}
+
+	/**
+	 * Changes the image's shape and removes all the runs.  Must be called before the image is written to.
+	 */
+	public void reshape( int width , int height ) {
+		this.width = width;
+		this.height = height;
+		if( rowIndex.length < height+1 )
+			rowIndex = new int[ height+1 ];
+		numRuns = 0;
+		currentRow = 0;
+		rowIndex[0] = 0;
+	}
+
+	/**
+	 * Adds a run of pixels to the row being written.  Runs must be added in order of their starting
+	 * coordinate.  Overlapping or touching runs are merged and empty runs are ignored.
+	 *
+	 * @param x0 First pixel in the run.
+	 * @param x1 Last pixel in the run + 1.
+	 */
+	public void addRun( int x0 , int x1 ) {
+		if( x1 <= x0 )
+			return;
+
+		if( numRuns > rowIndex[currentRow] ) {
+			int last = 2*numRuns-1;
+			if( x0 <= runs[last] ) {
+				if( x1 > runs[last] )
+					runs[last] = x1;
+				return;
+			}
+		}
+
+		if( runs.length < 2*numRuns+2 ) {
+			int tmp[] = new int[ Math.max(runs.length*2,2*numRuns+2) ];
+			System.arraycopy(runs,0,tmp,0,2*numRuns);
+			runs = tmp;
+		}
+		runs[2*numRuns] = x0;
+		runs[2*numRuns+1] = x1;
+		numRuns++;
+	}
+
+	/**
+	 * Marks the end of the row being written to.  The next run will be added to the following row.
+	 */
+	public void finishRow() {
+		if( currentRow >= height )
+			throw new IllegalArgumentException("All the rows have already been written");
+		rowIndex[++currentRow] = numRuns;
+	}
+
+	/**
+	 * Returns true if all the rows have been written
+	 */
+	public boolean isComplete() {
+		return currentRow == height;
+	}
+
+	/**
+	 * Returns the value of the pixel.  Takes O(log(N)) time where N is the number of runs in the row.
+	 */
+	public int get( int x , int y ) {
+		if( !isInBounds(x,y) )
+			throw new ImageAccessException("Requested pixel is out of bounds");
+
+		return findRun(x, y) >= 0 ? 1 : 0;
+	}
+
+	/**
+	 * Returns the index of the run which contains the pixel or -1 if the pixel is zero.  The pixel must be
+	 * inside the image.
+	 */
+	public int findRun( int x , int y ) {
+		int lower = rowIndex[y];
+		int upper = rowIndex[y+1]-1;
+
+		while( lower <= upper ) {
+			int middle = (lower+upper) >>> 1;
+			if( x < runs[2*middle] )
+				upper = middle-1;
+			else if( x >= runs[2*middle+1] )
+				lower = middle+1;
+			else
+				return middle;
+		}
+		return -1;
+	}
+
+	public boolean isInBounds( int x , int y ) {
+		return x >= 0 && x < width && y >= 0 && y < height;
+	}
+
+	/**
+	 * Number of runs in the specified row
+	 */
+	public int getNumRuns( int y ) {
+		return rowIndex[y+1]-rowIndex[y];
+	}
+
+	/**
+	 * Total number of pixels with a value of one
+	 */
+	public int countPixels() {
+		int total = 0;
+		for( int i = 0; i < numRuns; i++ ) {
+			total += runs[2*i+1]-runs[2*i];
+		}
+		return total;
+	}
+
+	/**
+	 * Turns this image into a copy of the other image.
+	 */
+	public void setTo( RleBinaryImage orig ) {
+		reshape(orig.width,orig.height);
+		if( runs.length < 2*orig.numRuns )
+			runs = new int[ 2*orig.numRuns ];
+		System.arraycopy(orig.runs,0,runs,0,2*orig.numRuns);
+		System.arraycopy(orig.rowIndex,0,rowIndex,0,height+1);
+		numRuns = orig.numRuns;
+		currentRow = orig.currentRow;
+	}
+}
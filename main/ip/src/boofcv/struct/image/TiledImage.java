@@ -0,0 +1,396 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.struct.image;
+
+import boofcv.struct.ImageRectangle;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * <p>
+ * Single band image which is too large to be stored in a single array and is instead stored in a memory mapped
+ * file.  Pixels are stored in the file as a raw row-major image with no header, which allows images written by
+ * other applications to be opened directly.  The file is mapped in blocks of rows, so only the rows being
+ * accessed need to be paged into memory and images larger than 2GB are supported.
+ * </p>
+ *
+ * <p>
+ * The image is processed as a grid of tiles.  A tile, optionally expanded by a halo so that operators with a
+ * non-zero radius see the pixels they need, is copied into an ordinary image using
+ * {@link #read(int, int, int, int, ImageSingleBand)} so that any existing operator can process it.  Results are
+ * written back with {@link #write(int, int, ImageSingleBand)}.
+ * </p>
+ *
+ * <p>
+ * NOTE: Not thread safe.  Each thread should have its own instance.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class TiledImage<T extends ImageSingleBand> {
+
+	/**
+	 * Maximum number of bytes mapped in a single block.
+	 */
+	public static int MAX_BLOCK_BYTES = 1 << 28;
+
+	// type of image each tile is read into
+	protected ImageType<T> imageType;
+	protected ImageDataType dataType;
+	// number of bytes in a pixel
+	protected int pixelBytes;
+
+	// shape of the image
+	protected int width;
+	protected int height;
+
+	// shape of each tile
+	protected int tileWidth;
+	protected int tileHeight;
+
+	// file the image is stored in
+	protected RandomAccessFile file;
+	protected FileChannel channel;
+	protected boolean readOnly;
+	protected ByteOrder order;
+
+	// number of rows in each mapped block
+	protected int blockRows;
+	// mapped blocks.  Lazily created
+	protected MappedByteBuffer blocks[];
+	// view of each mapped block with the same primitive type as the image
+	protected Buffer views[];
+
+	/**
+	 * Creates a new file, or overwrites an existing file, which stores an image of the specified size.
+	 *
+	 * @param file File which the image is written to.
+	 * @param imageType Type of image the tiles are read into.
+	 * @param width Image width
+	 * @param height Image height
+	 * @param tileWidth Width of each tile
+	 * @param tileHeight Height of each tile
+	 */
+	public static <T extends ImageSingleBand> TiledImage<T>
+	create( File file , Class<T> imageType , int width , int height , int tileWidth , int tileHeight )
+			throws IOException
+	{
+		RandomAccessFile raf = new RandomAccessFile(file,"rw");
+		try {
+			TiledImage<T> ret = new TiledImage<T>(raf,false,ByteOrder.nativeOrder(),
+					imageType,width,height,tileWidth,tileHeight);
+			raf.setLength(ret.getSizeBytes());
+			return ret;
+		} catch( RuntimeException e ) {
+			raf.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Opens an existing file containing a raw row-major image.
+	 *
+	 * @param file File containing the image.
+	 * @param readOnly If true the file is opened as read only and {@link #write} can't be called.
+	 * @param order Byte order of pixels in the file.  Ignored for 8-bit images.
+	 * @param imageType Type of image the tiles are read into.
+	 * @param width Image width
+	 * @param height Image height
+	 * @param tileWidth Width of each tile
+	 * @param tileHeight Height of each tile
+	 */
+	public static <T extends ImageSingleBand> TiledImage<T>
+	open( File file , boolean readOnly , ByteOrder order ,
+		  Class<T> imageType , int width , int height , int tileWidth , int tileHeight ) throws IOException
+	{
+		RandomAccessFile raf = new RandomAccessFile(file,readOnly ? "r" : "rw");
+		try {
+			TiledImage<T> ret = new TiledImage<T>(raf,readOnly,order,imageType,width,height,tileWidth,tileHeight);
+			if( raf.length() < ret.getSizeBytes() )
+				throw new IllegalArgumentException("File is too small. Expected "+ret.getSizeBytes()+
+						" bytes and found "+raf.length());
+			return ret;
+		} catch( RuntimeException e ) {
+			raf.close();
+			throw e;
+		}
+	}
+
+	protected TiledImage( RandomAccessFile file , boolean readOnly , ByteOrder order ,
+						  Class<T> imageType , int width , int height , int tileWidth , int tileHeight ) {
+		if( width <= 0 || height <= 0 )
+			throw new IllegalArgumentException("Image shape must be positive");
+		if( tileWidth <= 0 || tileHeight <= 0 )
+			throw new IllegalArgumentException("Tile shape must be positive");
+
+		this.file = file;
+		this.channel = file.getChannel();
+		this.readOnly = readOnly;
+		this.order = order;
+		this.imageType = ImageType.single(imageType);
+		this.dataType = ImageDataType.classToType(imageType);
+		if( dataType.isAbstract() )
+			throw new IllegalArgumentException("Image type must be a concrete type");
+		this.pixelBytes = dataType.getNumBits()/8;
+		this.width = width;
+		this.height = height;
+		this.tileWidth = tileWidth;
+		this.tileHeight = tileHeight;
+
+		long rowBytes = (long)width*pixelBytes;
+		if( rowBytes > MAX_BLOCK_BYTES )
+			throw new IllegalArgumentException("A single row is larger than MAX_BLOCK_BYTES");
+		blockRows = (int)(MAX_BLOCK_BYTES/rowBytes);
+		int numBlocks = (height+blockRows-1)/blockRows;
+		blocks = new MappedByteBuffer[numBlocks];
+		views = new Buffer[numBlocks];
+	}
+
+	/**
+	 * Copies a rectangular region of the image into the output image, which is reshaped to the region's size.
+	 *
+	 * @param x0 Lower extent, inclusive.
+	 * @param y0 Lower extent, inclusive.
+	 * @param x1 Upper extent, exclusive.
+	 * @param y1 Upper extent, exclusive.
+	 * @param output Storage for the region.
+	 */
+	public void read( int x0 , int y0 , int x1 , int y1 , T output ) {
+		if( x0 < 0 || y0 < 0 || x1 > width || y1 > height || x1 < x0 || y1 < y0 )
+			throw new IllegalArgumentException("Region is outside the image or has a negative size");
+
+		output.reshape(x1-x0,y1-y0);
+		Object array = output._getData();
+
+		for( int y = y0; y < y1; y++ ) {
+			copyRow(y, x0, array, output.startIndex + (y-y0)*output.stride, output.width, true);
+		}
+	}
+
+	/**
+	 * Copies the input image into the specified location.  The input can be a sub-image, which allows
+	 * only part of a processed tile to be written.
+	 *
+	 * @param x0 Location of the input's first column.
+	 * @param y0 Location of the input's first row.
+	 * @param input Image being written.
+	 */
+	public void write( int x0 , int y0 , T input ) {
+		if( readOnly )
+			throw new IllegalArgumentException("Image was opened as read only");
+		if( x0 < 0 || y0 < 0 || x0 + input.width > width || y0 + input.height > height )
+			throw new IllegalArgumentException("Region is outside the image");
+
+		Object array = input._getData();
+
+		for( int y = 0; y < input.height; y++ ) {
+			copyRow(y0 + y, x0, array, input.startIndex + y*input.stride, input.width, false);
+		}
+	}
+
+	/**
+	 * Returns the bounds of the specified tile after it has been expanded by the halo and clipped by the image.
+	 *
+	 * @param col Tile's column in the grid
+	 * @param row Tile's row in the grid
+	 * @param halo How many pixels the tile is expanded by along each side
+	 * @param region (Output) Bounds of the expanded tile.  Upper extents are exclusive.
+	 */
+	public void getTileRegion( int col , int row , int halo , ImageRectangle region ) {
+		int x0 = col*tileWidth;
+		int y0 = row*tileHeight;
+		if( col < 0 || row < 0 || x0 >= width || y0 >= height )
+			throw new IllegalArgumentException("Tile is outside the grid");
+
+		region.x0 = Math.max(0,x0-halo);
+		region.y0 = Math.max(0,y0-halo);
+		region.x1 = Math.min(width,x0+tileWidth+halo);
+		region.y1 = Math.min(height,y0+tileHeight+halo);
+	}
+
+	/**
+	 * Forces any changes to be written to the file
+	 */
+	public void flush() {
+		for( int i = 0; i < blocks.length; i++ ) {
+			if( blocks[i] != null )
+				blocks[i].force();
+		}
+	}
+
+	/**
+	 * Writes any changes and closes the file.  The mapped memory is released once it has been garbage collected.
+	 */
+	public void close() throws IOException {
+		if( !readOnly )
+			flush();
+		for( int i = 0; i < blocks.length; i++ ) {
+			blocks[i] = null;
+			views[i] = null;
+		}
+		channel.close();
+		file.close();
+	}
+
+	/**
+	 * Copies a row segment between the mapped file and a primitive array.
+	 */
+	private void copyRow( int y , int x , Object array , int arrayIndex , int length , boolean read ) {
+		Buffer view = getView(y/blockRows);
+		view.position((y%blockRows)*width + x);
+
+		switch( dataType ) {
+			case U8:
+			case S8:
+				if( read ) ((ByteBuffer)view).get((byte[])array,arrayIndex,length);
+				else ((ByteBuffer)view).put((byte[])array,arrayIndex,length);
+				break;
+
+			case U16:
+			case S16:
+				if( read ) ((ShortBuffer)view).get((short[])array,arrayIndex,length);
+				else ((ShortBuffer)view).put((short[])array,arrayIndex,length);
+				break;
+
+			case S32:
+				if( read ) ((IntBuffer)view).get((int[])array,arrayIndex,length);
+				else ((IntBuffer)view).put((int[])array,arrayIndex,length);
+				break;
+
+			case S64:
+				if( read ) ((LongBuffer)view).get((long[])array,arrayIndex,length);
+				else ((LongBuffer)view).put((long[])array,arrayIndex,length);
+				break;
+
+			case F32:
+				if( read ) ((FloatBuffer)view).get((float[])array,arrayIndex,length);
+				else ((FloatBuffer)view).put((float[])array,arrayIndex,length);
+				break;
+
+			case F64:
+				if( read ) ((DoubleBuffer)view).get((double[])array,arrayIndex,length);
+				else ((DoubleBuffer)view).put((double[])array,arrayIndex,length);
+				break;
+
+			default:
+				throw new IllegalArgumentException("Unsupported type "+dataType);
+		}
+	}
+
+	/**
+	 * Returns a view of the specified block.  If it hasn't been mapped yet it is mapped.
+	 */
+	private Buffer getView( int block ) {
+		Buffer view = views[block];
+		if( view != null )
+			return view;
+
+		long rowBytes = (long)width*pixelBytes;
+		long offset = block*(long)blockRows*rowBytes;
+		int rows = Math.min(blockRows, height - block*blockRows);
+
+		MappedByteBuffer mapped;
+		try {
+			mapped = channel.map(readOnly ? FileChannel.MapMode.READ_ONLY : FileChannel.MapMode.READ_WRITE,
+					offset, rows*rowBytes);
+		} catch( IOException e ) {
+			throw new RuntimeException(e);
+		}
+		mapped.order(order);
+
+		switch( dataType ) {
+			case U8: case S8: view = mapped; break;
+			case U16: case S16: view = mapped.asShortBuffer(); break;
+			case S32: view = mapped.asIntBuffer(); break;
+			case S64: view = mapped.asLongBuffer(); break;
+			case F32: view = mapped.asFloatBuffer(); break;
+			case F64: view = mapped.asDoubleBuffer(); break;
+			default: throw new IllegalArgumentException("Unsupported type "+dataType);
+		}
+
+		blocks[block] = mapped;
+		views[block] = view;
+		return view;
+	}
+
+	/**
+	 * Number of bytes the image takes up in the file
+	 */
+	public long getSizeBytes() {
+		return (long)width*(long)height*pixelBytes;
+	}
+
+	/**
+	 * Number of tiles along the x-axis
+	 */
+	public int getTilesX() {
+		return (width+tileWidth-1)/tileWidth;
+	}
+
+	/**
+	 * Number of tiles along the y-axis
+	 */
+	public int getTilesY() {
+		return (height+tileHeight-1)/tileHeight;
+	}
+
+	/**
+	 * Creates an image which a tile can be read into
+	 */
+	public T createTileImage() {
+		return imageType.createImage(tileWidth,tileHeight);
+	}
+
+	public ImageType<T> getImageType() {
+		return imageType;
+	}
+
+	public int getWidth() {
+		return width;
+	}
+
+	public int getHeight() {
+		return height;
+	}
+
+	public int getTileWidth() {
+		return tileWidth;
+	}
+
+	public int getTileHeight() {
+		return tileHeight;
+	}
+
+	public boolean isReadOnly() {
+		return readOnly;
+	}
+}
@@ -35,6 +35,12 @@ import boofcv.struct.image.ImageSingleBand;
  * to true.
  * </p>
  *
+ * <p>
+ * Layer images are declared once and reused.  If the input image changes shape then the existing layers are
+ * reshaped, which only declares new memory if they are too small.  A {@link PyramidLayerListener} can be
+ * specified which is notified as each layer is computed.
+ * </p>
+ *
  * @author Peter Abeles
  */
 @SuppressWarnings({"unchecked"})
@@ -54,6 +60,9 @@ public abstract class ImagePyramidBase<T extends ImageSingleBand>
 	// creates new images
 	protected ImageGenerator<T> generator;
 
+	// if not null it's notified after each layer has been computed
+	protected PyramidLayerListener<T> layerListener;
+
 	/**
 	 * Specifies input image size and behavior of top most layer.
 	 *
@@ -79,23 +88,54 @@ public abstract class ImagePyramidBase<T extends ImageSingleBand>
 
 		this.bottomWidth = width;
 		this.bottomHeight = height;
+
+		// reuse previously declared layers when possible
+		T previous[] = layers;
 		layers = generator.createArray(getNumLayers());
+		if( previous != null ) {
+			// layer 0 might be a reference to an input image, so it's never reused
+			for( int i = 1; i < Math.min(previous.length,layers.length); i++ )
+				layers[i] = previous[i];
+			if( !saveOriginalReference && previous.length > 0 )
+				layers[0] = previous[0];
+		}
+
 		double scaleFactor = getScale(0);
 
 		if (scaleFactor == 1) {
 			if (!saveOriginalReference) {
-				layers[0] = generator.createInstance(bottomWidth, bottomHeight);
+				layers[0] = declareLayer(layers[0],bottomWidth, bottomHeight);
 			}
 		} else {
-			layers[0] = generator.createInstance((int)Math.ceil(bottomWidth / scaleFactor), (int)Math.ceil(bottomHeight / scaleFactor));
+			layers[0] = declareLayer(layers[0],(int)Math.ceil(bottomWidth / scaleFactor), (int)Math.ceil(bottomHeight / scaleFactor));
 		}
 
 		for (int i = 1; i < layers.length; i++) {
 			scaleFactor = getScale(i);
-			layers[i] = generator.createInstance((int)Math.ceil(bottomWidth / scaleFactor), (int)Math.ceil(bottomHeight / scaleFactor));
+			layers[i] = declareLayer(layers[i],(int)Math.ceil(bottomWidth / scaleFactor), (int)Math.ceil(bottomHeight / scaleFactor));
 		}
 	}
 
+	/**
+	 * Reshapes the layer if it has already been declared, otherwise a new image is created
+	 */
+	private T declareLayer( T layer , int width , int height ) {
+		if( layer == null )
+			return generator.createInstance(width, height);
+		layer.reshape(width, height);
+		return layer;
+	}
+
+	/**
+	 * Should be called by children after a layer has been computed.  Notifies the listener, if there is one.
+	 *
+	 * @param layer Index of the layer which was just computed
+	 */
+	protected void layerUpdated( int layer ) {
+		if( layerListener != null )
+			layerListener.layerUpdated(this, layer);
+	}
+
 	/**
 	 * Used to internally check that the provided scales are valid.
 	 */
@@ -161,4 +201,17 @@ public abstract class ImagePyramidBase<T extends ImageSingleBand>
 	public boolean isSaveOriginalReference() {
 		return saveOriginalReference;
 	}
+
+	public PyramidLayerListener<T> getLayerListener() {
+		return layerListener;
+	}
+
+	/**
+	 * Specifies a listener which is notified after each layer has been computed.
+	 *
+	 * @param layerListener The listener or null to remove the current listener.
+	 */
+	public void setLayerListener(PyramidLayerListener<T> layerListener) {
+		this.layerListener = layerListener;
+	}
 }
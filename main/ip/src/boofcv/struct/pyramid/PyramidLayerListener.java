@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.pyramid;
+
+import boofcv.struct.image.ImageSingleBand;
+
+/**
+ * Notified by {@link ImagePyramidBase} each time a layer has been computed.  Allows additional processing,
+ * e.g. computing the gradient, to be done in the same pass as the pyramid is constructed, while the layer
+ * is still in the cache.
+ *
+ * @author Peter Abeles
+ */
+public interface PyramidLayerListener<T extends ImageSingleBand> {
+
+	/**
+	 * Called after a layer has been computed.  Layers are computed in order, starting with layer 0.
+	 *
+	 * @param pyramid The pyramid being processed
+	 * @param layer Index of the layer which was just computed
+	 */
+	public void layerUpdated( ImagePyramid<T> pyramid , int layer );
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.abst.filter;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.InstanceFactory;
+import boofcv.factory.filter.blur.FactoryBlurFilter;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageStack;
+import boofcv.struct.image.ImageType;
+import boofcv.testing.BoofTesting;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestBatchFilterImage {
+
+	Random rand = new Random(234);
+	int width = 20;
+	int height = 15;
+
+	int originalThreads;
+	int originalWork;
+
+	// number of filters created by the factory
+	int numCreated;
+
+	@Before
+	public void before() {
+		originalThreads = BoofConcurrency.getMaxThreads();
+		originalWork = BoofConcurrency.getMinimumWork();
+		BoofConcurrency.setMaxThreads(3);
+		BoofConcurrency.setMinimumWork(0);
+	}
+
+	@After
+	public void after() {
+		BoofConcurrency.setMaxThreads(originalThreads);
+		BoofConcurrency.setMinimumWork(originalWork);
+	}
+
+	/**
+	 * Compare to processing each image individually
+	 */
+	@Test
+	public void compareToSingle() {
+		ImageStack<ImageFloat32> inputs = new ImageStack<ImageFloat32>(ImageType.single(ImageFloat32.class),width,height,10);
+		ImageStack<ImageFloat32> outputs = new ImageStack<ImageFloat32>(ImageType.single(ImageFloat32.class),width,height,10);
+		ImageMiscOps.fillUniform(inputs.getStacked(),rand,0,100);
+
+		BatchFilterImage<ImageFloat32,ImageFloat32> alg = new BatchFilterImage<ImageFloat32,ImageFloat32>(new Factory());
+		alg.process(inputs.getImages(), outputs.getImages());
+
+		// one filter for each thread at most
+		assertTrue(numCreated >= 1 && numCreated <= BoofConcurrency.getMaxThreads());
+
+		FilterImageInterface<ImageFloat32,ImageFloat32> filter = FactoryBlurFilter.gaussian(ImageFloat32.class,-1,2);
+		ImageFloat32 expected = new ImageFloat32(width,height);
+		for( int i = 0; i < inputs.getDepth(); i++ ) {
+			filter.process(inputs.get(i),expected);
+			BoofTesting.assertEquals(expected, outputs.get(i), 1e-4);
+		}
+
+		// Filters are created before processing, so later batches reuse them no matter how the threads
+		// were scheduled
+		int before = numCreated;
+		for( int trial = 0; trial < 5; trial++ ) {
+			alg.process(inputs.getImages(), outputs.getImages());
+			assertTrue(numCreated <= BoofConcurrency.getMaxThreads());
+			assertEquals(before, numCreated);
+		}
+	}
+
+	@Test
+	public void checkShapes() {
+		List<ImageFloat32> inputs = new ArrayList<ImageFloat32>();
+		List<ImageFloat32> outputs = new ArrayList<ImageFloat32>();
+		for( int i = 0; i < 3; i++ ) {
+			inputs.add(new ImageFloat32(width,height));
+			outputs.add(new ImageFloat32(width,height));
+		}
+		outputs.set(2,new ImageFloat32(width,height+1));
+
+		BatchFilterImage<ImageFloat32,ImageFloat32> alg = new BatchFilterImage<ImageFloat32,ImageFloat32>(new Factory());
+		try {
+			alg.process(inputs, outputs);
+			fail("Exception expected");
+		} catch( IllegalArgumentException ignore ) {}
+
+		try {
+			alg.process(inputs, outputs.subList(0,2));
+			fail("Exception expected");
+		} catch( IllegalArgumentException ignore ) {}
+	}
+
+	private class Factory implements InstanceFactory<FilterImageInterface<ImageFloat32,ImageFloat32>> {
+		@Override
+		public FilterImageInterface<ImageFloat32, ImageFloat32> newInstance() {
+			synchronized( TestBatchFilterImage.this ) {
+				numCreated++;
+			}
+			return FactoryBlurFilter.gaussian(ImageFloat32.class,-1,2);
+		}
+	}
+}
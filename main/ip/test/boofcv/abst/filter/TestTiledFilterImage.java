@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.abst.filter;
+
+import boofcv.abst.filter.blur.BlurFilter;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.factory.filter.blur.FactoryBlurFilter;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.TiledImage;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestTiledFilterImage {
+
+	Random rand = new Random(234);
+
+	/**
+	 * Compare against processing the whole image at once.  Input and output have different tile shapes.
+	 */
+	@Test
+	public void compareToWholeImage() throws IOException {
+		File fileIn = File.createTempFile("tiled",".raw");
+		File fileOut = File.createTempFile("tiled",".raw");
+		fileIn.deleteOnExit();
+		fileOut.deleteOnExit();
+
+		ImageFloat32 image = new ImageFloat32(45,30);
+		ImageMiscOps.fillUniform(image,rand,0,100);
+
+		BlurFilter<ImageFloat32> blur = FactoryBlurFilter.gaussian(ImageFloat32.class,-1,3);
+		ImageFloat32 expected = new ImageFloat32(45,30);
+		blur.process(image,expected);
+
+		TiledImage<ImageFloat32> input = TiledImage.create(fileIn,ImageFloat32.class,45,30,20,15);
+		TiledImage<ImageFloat32> output = TiledImage.create(fileOut,ImageFloat32.class,45,30,8,8);
+		input.write(0,0,image);
+
+		TiledFilterImage<ImageFloat32,ImageFloat32> alg = new TiledFilterImage<ImageFloat32,ImageFloat32>(blur,3);
+		alg.process(input,output);
+
+		ImageFloat32 found = new ImageFloat32(1,1);
+		output.read(0,0,45,30,found);
+		BoofTesting.assertEquals(expected,found,1e-4);
+
+		input.close();
+		output.close();
+		fileIn.delete();
+		fileOut.delete();
+	}
+}
@@ -19,10 +19,13 @@
 package boofcv.abst.filter.blur;
 
 import boofcv.alg.filter.blur.BlurImageOps;
+import boofcv.struct.image.ImagePool;
 import boofcv.struct.image.ImageUInt8;
 import boofcv.testing.BoofTesting;
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
+
 /**
  * @author Peter Abeles
  */
@@ -77,4 +80,28 @@ public class TestBlurStorageFilter {
 
 		BoofTesting.assertEquals(expected,found,1e-4);
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Storage is taken from the pool and returned to it
+	 */
+	@Test
+	public void pool() {
+		ImageUInt8 input = new ImageUInt8(width,height);
+		ImageUInt8 found = new ImageUInt8(width,height);
+		ImageUInt8 expected = new ImageUInt8(width,height);
+		ImageUInt8 storage = new ImageUInt8(width,height);
+
+		ImagePool pool = new ImagePool();
+		BlurStorageFilter<ImageUInt8> alg = new BlurStorageFilter<ImageUInt8>("gaussian",ImageUInt8.class,-1,2);
+		alg.setPool(pool);
+
+		BlurImageOps.gaussian(input,found,-1,2,storage);
+
+		alg.process(input,expected);
+		BoofTesting.assertEquals(expected,found,1e-4);
+		assertEquals(1,pool.getTotalAvailable());
+
+		alg.process(input,expected);
+		assertEquals(1,pool.getTotalDeclared());
+	}
+}
@@ -38,6 +38,10 @@ import org.junit.Test;
 
 import java.util.Random;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
 
 /**
  * @author Peter Abeles
@@ -147,6 +151,36 @@ public class TestFactoryConvolve {
 		BoofTesting.assertEquals(expected,found,1e-4f);
 	}
 
+	/**
+	 * Large kernels should be convolved using the FFT when the border is skipped
+	 */
+	@Test
+	public void convolve2D_F32_fft() {
+		Kernel2D_F32 kernel = FactoryKernel.random2D_F32(7,-1,1,rand);
+
+		ImageFloat32 input = new ImageFloat32(width,height);
+		ImageFloat32 found = new ImageFloat32(width,height);
+		ImageFloat32 expected = new ImageFloat32(width,height);
+
+		ImageMiscOps.fillUniform(input,rand,0,5);
+
+		ConvolveInterface<ImageFloat32,ImageFloat32> conv =
+				FactoryConvolve.convolve( kernel,ImageFloat32.class,ImageFloat32.class,BorderType.SKIP);
+		assertTrue(conv instanceof ConvolveFft_to_ConvolveInterface);
+		assertEquals(7,conv.getHorizontalBorder());
+		assertEquals(7,conv.getVerticalBorder());
+		conv.process(input,found);
+		ConvolveImageNoBorder.convolve(kernel,input,expected);
+		BoofTesting.assertEquals(expected,found,1e-3f);
+
+		// small kernels and other borders are convolved directly
+		conv = FactoryConvolve.convolve( FactoryKernel.random2D_F32(radius,-1,1,rand),
+				ImageFloat32.class,ImageFloat32.class,BorderType.SKIP);
+		assertFalse(conv instanceof ConvolveFft_to_ConvolveInterface);
+		conv = FactoryConvolve.convolve( kernel,ImageFloat32.class,ImageFloat32.class,BorderType.EXTENDED);
+		assertFalse(conv instanceof ConvolveFft_to_ConvolveInterface);
+	}
+
 	@Test
 	public void convolve2D_I32() {
 
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.abst.filter.derivative;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.InstanceFactory;
+import boofcv.factory.filter.derivative.FactoryDerivative;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageStack;
+import boofcv.struct.image.ImageType;
+import boofcv.testing.BoofTesting;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestBatchImageGradient {
+
+	Random rand = new Random(234);
+	int width = 20;
+	int height = 15;
+
+	int originalWork;
+
+	@Before
+	public void before() {
+		originalWork = BoofConcurrency.getMinimumWork();
+		BoofConcurrency.setMinimumWork(0);
+	}
+
+	@After
+	public void after() {
+		BoofConcurrency.setMinimumWork(originalWork);
+	}
+
+	/**
+	 * Compare to processing each image individually
+	 */
+	@Test
+	public void compareToSingle() {
+		ImageType<ImageFloat32> type = ImageType.single(ImageFloat32.class);
+		ImageStack<ImageFloat32> inputs = new ImageStack<ImageFloat32>(type,width,height,7);
+		ImageStack<ImageFloat32> derivX = new ImageStack<ImageFloat32>(type,width,height,7);
+		ImageStack<ImageFloat32> derivY = new ImageStack<ImageFloat32>(type,width,height,7);
+		ImageMiscOps.fillUniform(inputs.getStacked(),rand,0,100);
+
+		InstanceFactory<ImageGradient<ImageFloat32,ImageFloat32>> factory =
+				new InstanceFactory<ImageGradient<ImageFloat32, ImageFloat32>>() {
+			@Override
+			public ImageGradient<ImageFloat32, ImageFloat32> newInstance() {
+				return FactoryDerivative.sobel_F32();
+			}
+		};
+
+		BatchImageGradient<ImageFloat32,ImageFloat32> alg = new BatchImageGradient<ImageFloat32,ImageFloat32>(factory);
+		alg.process(inputs.getImages(), derivX.getImages(), derivY.getImages());
+
+		ImageGradient<ImageFloat32,ImageFloat32> gradient = factory.newInstance();
+		ImageFloat32 expectedX = new ImageFloat32(width,height);
+		ImageFloat32 expectedY = new ImageFloat32(width,height);
+		for( int i = 0; i < inputs.getDepth(); i++ ) {
+			gradient.process(inputs.get(i),expectedX,expectedY);
+			BoofTesting.assertEquals(expectedX, derivX.get(i), 1e-4);
+			BoofTesting.assertEquals(expectedY, derivY.get(i), 1e-4);
+		}
+	}
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.abst.filter.derivative;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.factory.filter.derivative.FactoryDerivative;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.TiledImage;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestTiledImageGradient {
+
+	Random rand = new Random(234);
+
+	/**
+	 * Compare against processing the whole image at once
+	 */
+	@Test
+	public void compareToWholeImage() throws IOException {
+		File[] files = new File[3];
+		for( int i = 0; i < files.length; i++ ) {
+			files[i] = File.createTempFile("tiled", ".raw");
+			files[i].deleteOnExit();
+		}
+
+		ImageFloat32 image = new ImageFloat32(45,30);
+		ImageMiscOps.fillUniform(image,rand,0,100);
+
+		ImageGradient<ImageFloat32,ImageFloat32> sobel = FactoryDerivative.sobel_F32();
+		ImageFloat32 expectedX = new ImageFloat32(45,30);
+		ImageFloat32 expectedY = new ImageFloat32(45,30);
+		sobel.process(image,expectedX,expectedY);
+
+		TiledImage<ImageFloat32> input = TiledImage.create(files[0],ImageFloat32.class,45,30,20,15);
+		TiledImage<ImageFloat32> derivX = TiledImage.create(files[1],ImageFloat32.class,45,30,20,15);
+		TiledImage<ImageFloat32> derivY = TiledImage.create(files[2],ImageFloat32.class,45,30,20,15);
+		input.write(0,0,image);
+
+		TiledImageGradient<ImageFloat32,ImageFloat32> alg =
+				new TiledImageGradient<ImageFloat32,ImageFloat32>(sobel,ImageFloat32.class,1);
+		alg.process(input,derivX,derivY);
+
+		ImageFloat32 found = new ImageFloat32(1,1);
+		derivX.read(0,0,45,30,found);
+		BoofTesting.assertEquals(expectedX,found,1e-4);
+		derivY.read(0,0,45,30,found);
+		BoofTesting.assertEquals(expectedY,found,1e-4);
+
+		input.close();
+		derivX.close();
+		derivY.close();
+		for( File f : files )
+			f.delete();
+	}
+}
@@ -292,4 +292,84 @@ public abstract class GenericTestDiscreteFourierTransform<T extends ImageSingleB
 			fail("Should have thrown an exception");
 		} catch( IllegalArgumentException ignore ){}
 	}
+
+	/**
+	 * Check the half transform by converting an image to and from
+	 */
+	@Test
+	public void forwardsBackwardsHalf() {
+		for( int h = 1; h < 10; h++ ) {
+			for( int w = 1; w < 10; w++ ) {
+				checkForwardsBackwardsHalf(w,h);
+			}
+		}
+
+		checkForwardsBackwardsHalf(64,64);
+		checkForwardsBackwardsHalf(71,97);
+	}
+
+	protected void checkForwardsBackwardsHalf( int width , int height ) {
+		T input = createImage(width,height);
+		I transform = createTransform(width,height);
+		I half = createTransform(width/2+1,height);
+		T found = createImage(width,height);
+
+		GImageMiscOps.fillUniform(input,rand,-20,20);
+		T inputOrig = (T)input.clone();
+
+		DiscreteFourierTransform<T,I> alg = createAlgorithm();
+
+		alg.forward(input,transform);
+		alg.forwardHalf(input,half);
+
+		// should be identical to the first half of the full transform
+		for( int y = 0; y < height; y++ ) {
+			for( int x = 0; x < half.width; x++ ) {
+				for( int band = 0; band < 2; band++ ) {
+					// the order of operations is different, so use a relative tolerance
+					double expected = GeneralizedImageOps.get(transform,x,y,band);
+					assertEquals(expected,GeneralizedImageOps.get(half,x,y,band),tolerance*Math.max(1,Math.abs(expected)));
+				}
+			}
+		}
+
+		I halfOrig = (I)half.clone();
+		alg.inverseHalf(half,found);
+
+		BoofTesting.assertEquals(input, found, tolerance);
+		// inputs should not be modified
+		BoofTesting.assertEquals(input, inputOrig, 0);
+		BoofTesting.assertEquals(half, halfOrig, 0);
+	}
+
+	/**
+	 * Makes sure the half transform only accepts images which are the correct size
+	 */
+	@Test
+	public void inputImageSizeHalf() {
+		int width = 20;
+		int height = 25;
+		T input = createImage(width,height);
+
+		DiscreteFourierTransform<T,I> alg = createAlgorithm();
+
+		try {
+			alg.forwardHalf(input,createTransform(width,height) );
+			fail("Should have thrown an exception");
+		} catch( IllegalArgumentException ignore ){}
+
+		try {
+			alg.inverseHalf(createTransform(width/2,height),input );
+			fail("Should have thrown an exception");
+		} catch( IllegalArgumentException ignore ){}
+	}
+
+	/**
+	 * Switch back and forth between a few image sizes multiple times.  Makes sure the cached transforms are
+	 * correctly selected
+	 */
+	@Test
+	public void multipleCalls_alternatingSizes() {
+		checkMultipleCalls(new int[]{16,21,16,9,21,9,16,30,12,7,16});
+	}
 }
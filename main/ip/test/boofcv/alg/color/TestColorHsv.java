@@ -19,8 +19,11 @@
 package boofcv.alg.color;
 
 import boofcv.alg.misc.GImageMiscOps;
+import boofcv.core.image.InterleavedImageOps;
 import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.InterleavedF32;
 import boofcv.struct.image.MultiSpectral;
+import boofcv.testing.BoofTesting;
 import org.junit.Test;
 
 import java.util.Random;
@@ -139,4 +142,29 @@ public class TestColorHsv {
 		assertEquals(b,found[1],tol);
 		assertEquals(c,found[2],tol);
 	}
+
+	@Test
+	public void interleaved_F32() {
+		InterleavedF32 rgb = new InterleavedF32(10,15,3);
+		GImageMiscOps.fillUniform(rgb, new Random(234), 0, 1);
+		MultiSpectral<ImageFloat32> rgbMS = new MultiSpectral<ImageFloat32>(ImageFloat32.class,10,15,3);
+		InterleavedImageOps.split(rgb, rgbMS);
+
+		InterleavedF32 hsv = new InterleavedF32(10,15,3);
+		MultiSpectral<ImageFloat32> hsvMS = new MultiSpectral<ImageFloat32>(ImageFloat32.class,10,15,3);
+		MultiSpectral<ImageFloat32> found = new MultiSpectral<ImageFloat32>(ImageFloat32.class,10,15,3);
+
+		ColorHsv.rgbToHsv_F32(rgb, hsv);
+		ColorHsv.rgbToHsv_F32(rgbMS, hsvMS);
+		InterleavedImageOps.split(hsv, found);
+		BoofTesting.assertEquals(hsvMS, found, 1e-6);
+
+		InterleavedF32 back = new InterleavedF32(10,15,3);
+		ColorHsv.hsvToRgb_F32(hsv, back);
+		BoofTesting.assertEquals(rgb, back, 1e-4);
+
+		// same instance for input and output
+		ColorHsv.rgbToHsv_F32(rgb, rgb);
+		BoofTesting.assertEquals(hsv, rgb, 1e-6);
+	}
 }
@@ -19,9 +19,13 @@
 package boofcv.alg.color;
 
 import boofcv.alg.misc.GImageMiscOps;
+import boofcv.core.image.InterleavedImageOps;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.InterleavedF32;
+import boofcv.struct.image.InterleavedU8;
 import boofcv.struct.image.MultiSpectral;
+import boofcv.testing.BoofTesting;
 import org.junit.Test;
 
 import java.util.Random;
@@ -174,4 +178,53 @@ public class TestColorYuv {
 		assertEquals(b,found[1],tol);
 		assertEquals(c, found[2], tol);
 	}
+
+	@Test
+	public void interleaved_F32() {
+		InterleavedF32 rgb = new InterleavedF32(10,15,3);
+		GImageMiscOps.fillUniform(rgb, new Random(234), 0, 1);
+		MultiSpectral<ImageFloat32> rgbMS = new MultiSpectral<ImageFloat32>(ImageFloat32.class,10,15,3);
+		InterleavedImageOps.split(rgb, rgbMS);
+
+		InterleavedF32 yuv = new InterleavedF32(10,15,3);
+		MultiSpectral<ImageFloat32> yuvMS = new MultiSpectral<ImageFloat32>(ImageFloat32.class,10,15,3);
+		MultiSpectral<ImageFloat32> found = new MultiSpectral<ImageFloat32>(ImageFloat32.class,10,15,3);
+
+		ColorYuv.rgbToYuv_F32(rgb, yuv);
+		ColorYuv.rgbToYuv_F32(rgbMS, yuvMS);
+		InterleavedImageOps.split(yuv, found);
+		BoofTesting.assertEquals(yuvMS, found, 1e-6);
+
+		InterleavedF32 back = new InterleavedF32(10,15,3);
+		ColorYuv.yuvToRgb_F32(yuv, back);
+		BoofTesting.assertEquals(rgb, back, 1e-3);
+	}
+
+	@Test
+	public void interleaved_U8() {
+		InterleavedU8 rgb = new InterleavedU8(10,15,3);
+		GImageMiscOps.fillUniform(rgb, new Random(234), 0, 255);
+
+		InterleavedU8 yuv = new InterleavedU8(10,15,3);
+		ColorYuv.rgbToYCbCr_U8(rgb, yuv);
+
+		byte expected[] = new byte[3];
+		for( int y = 0; y < rgb.height; y++ ) {
+			for( int x = 0; x < rgb.width; x++ ) {
+				ColorYuv.rgbToYCbCr(rgb.getBand(x,y,0),rgb.getBand(x,y,1),rgb.getBand(x,y,2),expected);
+				for( int band = 0; band < 3; band++ )
+					assertEquals(expected[band]&0xFF, yuv.getBand(x,y,band));
+			}
+		}
+
+		MultiSpectral<ImageUInt8> yuvMS = new MultiSpectral<ImageUInt8>(ImageUInt8.class,10,15,3);
+		MultiSpectral<ImageUInt8> rgbMS = new MultiSpectral<ImageUInt8>(ImageUInt8.class,10,15,3);
+		MultiSpectral<ImageUInt8> found = new MultiSpectral<ImageUInt8>(ImageUInt8.class,10,15,3);
+		InterleavedImageOps.split(yuv, yuvMS);
+
+		ColorYuv.ycbcrToRgb_U8(yuv, rgb);
+		ColorYuv.ycbcrToRgb_U8(yuvMS, rgbMS);
+		InterleavedImageOps.split(rgb, found);
+		BoofTesting.assertEquals(rgbMS, found, 0);
+	}
 }
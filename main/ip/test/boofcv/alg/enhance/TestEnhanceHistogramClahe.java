@@ -0,0 +1,271 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.enhance;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.alg.misc.ImageStatistics;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.image.ImageInteger;
+import boofcv.struct.image.ImageUInt16;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestEnhanceHistogramClahe {
+
+	int width = 45;
+	int height = 32;
+	Random rand = new Random(234);
+
+	/**
+	 * With a single tile and no clipping it should be the same as global histogram equalization
+	 */
+	@Test
+	public void oneTile_noClip() {
+		ImageUInt8 input = new ImageUInt8(width,height);
+		GImageMiscOps.fillUniform(input, rand, 20, 120);
+		ImageUInt8 found = new ImageUInt8(width,height);
+		ImageUInt8 expected = new ImageUInt8(width,height);
+
+		int histogram[] = new int[256];
+		int transform[] = new int[256];
+		ImageStatistics.histogram(input,histogram);
+		EnhanceImageOps.equalize(histogram, transform);
+		EnhanceImageOps.applyTransform(input, transform, expected);
+
+		new EnhanceHistogramClahe(1,1,0,255).process(input,found);
+
+		BoofTesting.assertEquals(expected, found, 0);
+	}
+
+	@Test
+	public void compareToNaive() {
+		int tiles[][] = new int[][]{{1,1},{4,3},{8,8},{width,3}};
+		double clips[] = new double[]{0,1.5,4};
+
+		for( int[] t : tiles ) {
+			for( double clip : clips ) {
+				ImageUInt8 input8 = new ImageUInt8(width,height);
+				GImageMiscOps.fillUniform(input8, rand, 0, 256);
+				BoofTesting.checkSubImage(this,"compareToNaive",true,input8,new ImageUInt8(width,height),t[0],t[1],clip,255);
+
+				ImageUInt16 input16 = new ImageUInt16(width,height);
+				GImageMiscOps.fillUniform(input16, rand, 0, 1000);
+				BoofTesting.checkSubImage(this,"compareToNaive",true,input16,new ImageUInt16(width,height),t[0],t[1],clip,999);
+			}
+		}
+	}
+
+	public void compareToNaive( ImageInteger input , ImageInteger found , int tilesX , int tilesY , double clip , int maxValue ) {
+		EnhanceHistogramClahe alg = new EnhanceHistogramClahe(tilesX,tilesY,clip,maxValue);
+		if( input instanceof ImageUInt8 )
+			alg.process((ImageUInt8)input,(ImageUInt8)found);
+		else
+			alg.process((ImageUInt16)input,(ImageUInt16)found);
+
+		ImageInteger expected = (ImageInteger)input._createNew(input.width,input.height);
+		naive(input, tilesX, tilesY, clip, maxValue, expected);
+
+		// interpolation is done with floats in the implementation
+		BoofTesting.assertEquals(expected, found, 1);
+	}
+
+	/**
+	 * Clipping should reduce the amount the contrast is amplified
+	 */
+	@Test
+	public void clipLimitReducesContrast() {
+		ImageUInt8 input = new ImageUInt8(80,60);
+		GImageMiscOps.fillUniform(input, rand, 100, 106);
+
+		ImageUInt8 clipped = new ImageUInt8(80,60);
+		ImageUInt8 notClipped = new ImageUInt8(80,60);
+
+		new EnhanceHistogramClahe(4,4,2,255).process(input,clipped);
+		new EnhanceHistogramClahe(4,4,0,255).process(input,notClipped);
+
+		double varianceClipped = ImageStatistics.variance(clipped,ImageStatistics.mean(clipped));
+		double varianceNotClipped = ImageStatistics.variance(notClipped,ImageStatistics.mean(notClipped));
+		double varianceInput = ImageStatistics.variance(input,ImageStatistics.mean(input));
+
+		assertTrue(varianceInput < varianceClipped);
+		assertTrue(varianceClipped < varianceNotClipped*0.5);
+	}
+
+	@Test
+	public void inPlace() {
+		ImageUInt8 input = new ImageUInt8(width,height);
+		GImageMiscOps.fillUniform(input, rand, 0, 256);
+		ImageUInt8 expected = new ImageUInt8(width,height);
+
+		EnhanceHistogramClahe alg = new EnhanceHistogramClahe(3,4,2,255);
+		alg.process(input,expected);
+		alg.process(input,input);
+
+		BoofTesting.assertEquals(expected, input, 0);
+	}
+
+	/**
+	 * More tiles than pixels
+	 */
+	@Test
+	public void tinyImage() {
+		ImageUInt8 input = new ImageUInt8(3,2);
+		GImageMiscOps.fillUniform(input, rand, 0, 256);
+		ImageUInt8 found = new ImageUInt8(3,2);
+		ImageUInt8 expected = new ImageUInt8(3,2);
+
+		new EnhanceHistogramClahe(8,8,2,255).process(input,found);
+		naive(input, 3, 2, 2, 255, expected);
+
+		BoofTesting.assertEquals(expected, found, 1);
+	}
+
+	/**
+	 * Values larger than maxValue should be handled gracefully
+	 */
+	@Test
+	public void valuesLargerThanMax() {
+		ImageUInt16 input = new ImageUInt16(width,height);
+		GImageMiscOps.fillUniform(input, rand, 0, 5000);
+		ImageUInt16 found = new ImageUInt16(width,height);
+
+		new EnhanceHistogramClahe(4,4,2,1000).process(input,found);
+
+		assertTrue(ImageStatistics.max(found) <= 1000);
+	}
+
+	@Test
+	public void concurrent() {
+		int originalThreads = BoofConcurrency.getMaxThreads();
+		int originalWork = BoofConcurrency.getMinimumWork();
+		boolean originalUse = BoofConcurrency.USE_CONCURRENT;
+		try {
+			ImageUInt16 input = new ImageUInt16(width,height);
+			GImageMiscOps.fillUniform(input, rand, 0, 1000);
+			ImageUInt16 expected = new ImageUInt16(width,height);
+			ImageUInt16 found = new ImageUInt16(width,height);
+
+			new EnhanceHistogramClahe(5,3,2,999).process(input,expected);
+
+			BoofConcurrency.setMaxThreads(7);
+			BoofConcurrency.setMinimumWork(0);
+			BoofConcurrency.USE_CONCURRENT = true;
+			new EnhanceHistogramClahe(5,3,2,999).process(input,found);
+
+			BoofTesting.assertEquals(expected, found, 0);
+		} finally {
+			BoofConcurrency.USE_CONCURRENT = originalUse;
+			BoofConcurrency.setMaxThreads(originalThreads);
+			BoofConcurrency.setMinimumWork(originalWork);
+		}
+	}
+
+	/**
+	 * Straight forward implementation which computes each tile's transform then interpolates
+	 */
+	private void naive( ImageInteger input , int tilesX , int tilesY , double clip , int maxValue ,
+						ImageInteger output ) {
+		tilesX = Math.min(tilesX,input.width);
+		tilesY = Math.min(tilesY,input.height);
+
+		int numBins = maxValue+1;
+		int transforms[][] = new int[tilesX*tilesY][];
+		for( int ty = 0; ty < tilesY; ty++ ) {
+			for( int tx = 0; tx < tilesX; tx++ ) {
+				int histogram[] = new int[numBins];
+				int x0 = tx*input.width/tilesX, x1 = (tx+1)*input.width/tilesX;
+				int y0 = ty*input.height/tilesY, y1 = (ty+1)*input.height/tilesY;
+				for( int y = y0; y < y1; y++ )
+					for( int x = x0; x < x1; x++ )
+						histogram[Math.min(maxValue,input.get(x,y))]++;
+
+				int total = (x1-x0)*(y1-y0);
+				if( clip > 0 ) {
+					int limit = Math.max(1,(int)(clip*total/numBins));
+					int excess = 0;
+					for( int i = 0; i < numBins; i++ ) {
+						if( histogram[i] > limit ) {
+							excess += histogram[i]-limit;
+							histogram[i] = limit;
+						}
+					}
+					for( int i = 0; i < numBins; i++ )
+						histogram[i] += excess/numBins;
+					int remainder = excess%numBins;
+					for( int i = 0; i < remainder; i++ )
+						histogram[i*(numBins/remainder)]++;
+				}
+
+				int transform[] = new int[numBins];
+				EnhanceImageOps.equalize(histogram,transform);
+				transforms[ty*tilesX+tx] = transform;
+			}
+		}
+
+		for( int y = 0; y < input.height; y++ ) {
+			double wy[] = weights(y,input.height,tilesY);
+			for( int x = 0; x < input.width; x++ ) {
+				double wx[] = weights(x,input.width,tilesX);
+				int v = Math.min(maxValue,input.get(x,y));
+
+				double value = 0;
+				for( int ty = 0; ty < tilesY; ty++ )
+					for( int tx = 0; tx < tilesX; tx++ )
+						value += wy[ty]*wx[tx]*transforms[ty*tilesX+tx][v];
+
+				output.set(x,y,(int)(value+0.5));
+			}
+		}
+	}
+
+	/**
+	 * Interpolation weight of each tile along one axis
+	 */
+	private double[] weights( int coordinate , int length , int numTiles ) {
+		double w[] = new double[numTiles];
+		double centers[] = new double[numTiles];
+		for( int i = 0; i < numTiles; i++ ) {
+			centers[i] = (i*length/numTiles + (i+1)*length/numTiles - 1)/2.0;
+		}
+		if( coordinate <= centers[0] ) {
+			w[0] = 1;
+		} else if( coordinate >= centers[numTiles-1] ) {
+			w[numTiles-1] = 1;
+		} else {
+			for( int i = 0; i < numTiles-1; i++ ) {
+				if( coordinate >= centers[i] && coordinate < centers[i+1] ) {
+					double a = (coordinate-centers[i])/(centers[i+1]-centers[i]);
+					w[i] = 1-a;
+					w[i+1] = a;
+					break;
+				}
+			}
+		}
+		return w;
+	}
+}
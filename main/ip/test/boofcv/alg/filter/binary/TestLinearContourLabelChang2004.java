@@ -23,6 +23,8 @@ import boofcv.core.image.border.ImageBorder;
 import boofcv.struct.ConnectRule;
 import boofcv.struct.image.ImageSInt32;
 import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.PackedBinaryImage;
+import boofcv.testing.BoofTesting;
 import georegression.struct.point.Point2D_I32;
 import org.ddogleg.struct.FastQueue;
 import org.junit.Test;
@@ -106,6 +108,28 @@ public class TestLinearContourLabelChang2004 {
 		checkContour(alg, labeled,4);
 	}
 
+	/**
+	 * Bit packed input should produce the same results as the regular binary image
+	 */
+	@Test
+	public void packedInput() {
+		ImageUInt8 input = new ImageUInt8(13,8);
+		input.data = TEST2;
+
+		for( ConnectRule rule : new ConnectRule[]{ConnectRule.FOUR,ConnectRule.EIGHT}) {
+			ImageSInt32 expected = new ImageSInt32(input.width,input.height);
+			LinearContourLabelChang2004 alg = new LinearContourLabelChang2004(rule);
+			alg.process(input, expected);
+			int numExpected = alg.getContours().size;
+
+			ImageSInt32 found = new ImageSInt32(input.width,input.height);
+			alg.process(PackedBinaryOps.convert(input, (PackedBinaryImage)null), found);
+
+			assertEquals(numExpected, alg.getContours().size);
+			BoofTesting.assertEquals(expected, found, 0);
+		}
+	}
+
 	@Test
 	public void test1_8() {
 		ImageUInt8 input = new ImageUInt8(13,8);
@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.filter.binary;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.ConnectRule;
+import boofcv.struct.image.ImageSInt32;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import georegression.struct.point.Point2D_I32;
+import org.ddogleg.struct.FastQueue;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestLinearContourLabelChang2004_MT {
+
+	Random rand = new Random(234);
+
+	int originalThreads;
+	int originalWork;
+
+	@Before
+	public void before() {
+		originalThreads = BoofConcurrency.getMaxThreads();
+		originalWork = BoofConcurrency.getMinimumWork();
+		BoofConcurrency.setMaxThreads(7);
+		BoofConcurrency.setMinimumWork(0);
+	}
+
+	@After
+	public void after() {
+		BoofConcurrency.setMaxThreads(originalThreads);
+		BoofConcurrency.setMinimumWork(originalWork);
+	}
+
+	@Test
+	public void compareToSingleThread_patterns() {
+		byte[][] patterns = new byte[][]{
+				TestLinearContourLabelChang2004.TEST1,TestLinearContourLabelChang2004.TEST2,
+				TestLinearContourLabelChang2004.TEST3,TestLinearContourLabelChang2004.TEST4};
+		int[] widths = new int[]{13,13,5,7};
+
+		for( int i = 0; i < patterns.length; i++ ) {
+			ImageUInt8 input = new ImageUInt8(widths[i],patterns[i].length/widths[i]);
+			input.data = patterns[i].clone();
+
+			compareToSingleThread(input, ConnectRule.FOUR);
+			compareToSingleThread(input, ConnectRule.EIGHT);
+		}
+	}
+
+	@Test
+	public void compareToSingleThread_random() {
+		for( int trial = 0; trial < 20; trial++ ) {
+			int width = 10 + rand.nextInt(50);
+			int height = 5 + rand.nextInt(60);
+			ImageUInt8 input = new ImageUInt8(width,height);
+			ImageMiscOps.fillUniform(input, rand, 0, 2);
+
+			compareToSingleThread(input, ConnectRule.FOUR);
+			compareToSingleThread(input, ConnectRule.EIGHT);
+		}
+	}
+
+	/**
+	 * Large blobs with holes which span many bands
+	 */
+	@Test
+	public void compareToSingleThread_rings() {
+		ImageUInt8 input = new ImageUInt8(60,70);
+		for( int i = 0; i < 12; i++ ) {
+			int x0 = rand.nextInt(50), y0 = rand.nextInt(60);
+			int x1 = x0 + 3 + rand.nextInt(10), y1 = y0 + 3 + rand.nextInt(10);
+			ImageMiscOps.fillRectangle(input, 1, x0, y0, x1 - x0, y1 - y0);
+			ImageMiscOps.fillRectangle(input, 0, x0 + 1, y0 + 1, x1 - x0 - 2, y1 - y0 - 2);
+		}
+
+		compareToSingleThread(input, ConnectRule.FOUR);
+		compareToSingleThread(input, ConnectRule.EIGHT);
+	}
+
+	/**
+	 * More threads than rows
+	 */
+	@Test
+	public void compareToSingleThread_fewRows() {
+		ImageUInt8 input = new ImageUInt8(30,3);
+		ImageMiscOps.fillUniform(input, rand, 0, 2);
+
+		compareToSingleThread(input, ConnectRule.FOUR);
+		compareToSingleThread(input, ConnectRule.EIGHT);
+	}
+
+	@Test
+	public void subimage() {
+		ImageUInt8 input = new ImageUInt8(40,35);
+		ImageMiscOps.fillUniform(input, rand, 0, 2);
+		ImageSInt32 found = new ImageSInt32(input.width,input.height);
+
+		BoofTesting.checkSubImage(this, "subimage", true, input, found);
+	}
+
+	public void subimage( ImageUInt8 input , ImageSInt32 found ) {
+		ImageSInt32 expected = new ImageSInt32(input.width,input.height);
+
+		LinearContourLabelChang2004 single = new LinearContourLabelChang2004(ConnectRule.EIGHT);
+		single.process(input, expected);
+
+		LinearContourLabelChang2004_MT alg = new LinearContourLabelChang2004_MT(ConnectRule.EIGHT);
+		alg.process(input, found);
+
+		BoofTesting.assertEquals(expected, found, 0);
+		compareContours(single.getContours(), alg.getContours());
+	}
+
+	@Test
+	public void saveContours() {
+		ImageUInt8 input = new ImageUInt8(40,35);
+		ImageMiscOps.fillUniform(input, rand, 0, 2);
+
+		ImageSInt32 expected = new ImageSInt32(input.width,input.height);
+		ImageSInt32 found = new ImageSInt32(input.width,input.height);
+
+		LinearContourLabelChang2004 single = new LinearContourLabelChang2004(ConnectRule.EIGHT);
+		single.process(input, expected);
+
+		LinearContourLabelChang2004_MT alg = new LinearContourLabelChang2004_MT(ConnectRule.EIGHT);
+		alg.setSaveContours(false);
+		alg.process(input, found);
+
+		BoofTesting.assertEquals(expected, found, 0);
+		assertEquals(0, alg.getContours().size);
+	}
+
+	private void compareToSingleThread( ImageUInt8 input , ConnectRule rule ) {
+		ImageSInt32 expected = new ImageSInt32(input.width,input.height);
+		ImageSInt32 found = new ImageSInt32(input.width,input.height);
+
+		LinearContourLabelChang2004 single = new LinearContourLabelChang2004(rule);
+		single.process(input, expected);
+
+		LinearContourLabelChang2004_MT alg = new LinearContourLabelChang2004_MT(rule);
+		// process twice to make sure it's reset correctly
+		alg.process(input, found);
+		ImageMiscOps.fill(found,-1);
+		alg.process(input, found);
+
+		BoofTesting.assertEquals(expected, found, 0);
+		compareContours(single.getContours(), alg.getContours());
+	}
+
+	private void compareContours( FastQueue<Contour> expected , FastQueue<Contour> found ) {
+		assertEquals(expected.size, found.size);
+
+		for( int i = 0; i < expected.size; i++ ) {
+			Contour e = expected.get(i);
+			Contour f = found.get(i);
+
+			assertEquals(e.id, f.id);
+			compareLists(e.external, f.external);
+			assertEquals(e.internal.size(), f.internal.size());
+			for( int j = 0; j < e.internal.size(); j++ ) {
+				compareLists(e.internal.get(j), f.internal.get(j));
+			}
+		}
+	}
+
+	private void compareLists( List<Point2D_I32> expected , List<Point2D_I32> found ) {
+		assertEquals(expected.size(), found.size());
+		for( int i = 0; i < expected.size(); i++ ) {
+			Point2D_I32 e = expected.get(i);
+			Point2D_I32 f = found.get(i);
+			assertTrue(e.x == f.x && e.y == f.y);
+		}
+	}
+}
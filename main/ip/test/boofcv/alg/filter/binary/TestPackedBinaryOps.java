@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.filter.binary;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.PackedBinaryImage;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestPackedBinaryOps {
+
+	Random rand = new Random(234);
+
+	// widths which test partial words, exactly one word, and multiple words
+	int widths[] = new int[]{1,5,63,64,65,130};
+	int height = 12;
+
+	@Test
+	public void convert() {
+		for( int width : widths ) {
+			ImageUInt8 input = createBinary(width);
+			PackedBinaryImage packed = PackedBinaryOps.convert(input, null);
+
+			for( int y = 0; y < height; y++ ) {
+				for( int x = 0; x < width; x++ ) {
+					assertEquals(input.get(x, y), packed.get(x, y));
+				}
+			}
+			checkPadding(packed);
+
+			ImageUInt8 found = new ImageUInt8(width,height);
+			BoofTesting.checkSubImage(this, "convert", true, input, found);
+		}
+	}
+
+	public void convert( ImageUInt8 input , ImageUInt8 found ) {
+		PackedBinaryImage packed = PackedBinaryOps.convert(input, null);
+		PackedBinaryOps.convert(packed, found);
+		BoofTesting.assertEquals(input, found, 0);
+	}
+
+	@Test
+	public void logic() {
+		for( int width : widths ) {
+			ImageUInt8 a = createBinary(width);
+			ImageUInt8 b = createBinary(width);
+			PackedBinaryImage packedA = PackedBinaryOps.convert(a, null);
+			PackedBinaryImage packedB = PackedBinaryOps.convert(b, null);
+
+			check(BinaryImageOps.logicAnd(a, b, null), PackedBinaryOps.logicAnd(packedA, packedB, null));
+			check(BinaryImageOps.logicOr(a, b, null), PackedBinaryOps.logicOr(packedA, packedB, null));
+			check(BinaryImageOps.logicXor(a, b, null), PackedBinaryOps.logicXor(packedA, packedB, null));
+			check(BinaryImageOps.invert(a, null), PackedBinaryOps.invert(packedA, null));
+
+			// the output can be one of the inputs
+			PackedBinaryOps.logicAnd(packedA, packedB, packedA);
+			check(BinaryImageOps.logicAnd(a, b, null), packedA);
+		}
+	}
+
+	@Test
+	public void morphology() {
+		for( int width : widths ) {
+			ImageUInt8 input = createBinary(width);
+			PackedBinaryImage packed = PackedBinaryOps.convert(input, null);
+			PackedBinaryImage output = new PackedBinaryImage();
+
+			for( int numTimes = 1; numTimes <= 3; numTimes++ ) {
+				check(BinaryImageOps.erode4(input, numTimes, null), PackedBinaryOps.erode4(packed, numTimes, output));
+				check(BinaryImageOps.erode8(input, numTimes, null), PackedBinaryOps.erode8(packed, numTimes, output));
+				check(BinaryImageOps.dilate4(input, numTimes, null), PackedBinaryOps.dilate4(packed, numTimes, output));
+				check(BinaryImageOps.dilate8(input, numTimes, null), PackedBinaryOps.dilate8(packed, numTimes, output));
+			}
+			check(BinaryImageOps.edge4(input, null), PackedBinaryOps.edge4(packed, output));
+			check(BinaryImageOps.edge8(input, null), PackedBinaryOps.edge8(packed, output));
+
+			// all ones will make sure the border is handled correctly when eroding
+			ImageMiscOps.fill(input, 1);
+			packed = PackedBinaryOps.convert(input, null);
+			check(BinaryImageOps.erode4(input, 1, null), PackedBinaryOps.erode4(packed, 1, output));
+			check(BinaryImageOps.erode8(input, 1, null), PackedBinaryOps.erode8(packed, 1, output));
+		}
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void sameInstance() {
+		PackedBinaryImage packed = PackedBinaryOps.convert(createBinary(20), null);
+		PackedBinaryOps.dilate4(packed, 1, packed);
+	}
+
+	private ImageUInt8 createBinary( int width ) {
+		ImageUInt8 image = new ImageUInt8(width,height);
+		ImageMiscOps.fillUniform(image, rand, 0, 2);
+		return image;
+	}
+
+	private void check( ImageUInt8 expected , PackedBinaryImage found ) {
+		checkPadding(found);
+		BoofTesting.assertEquals(expected, PackedBinaryOps.convert(found, (ImageUInt8)null), 0);
+	}
+
+	/**
+	 * Bits past the end of each row must be zero
+	 */
+	private void checkPadding( PackedBinaryImage image ) {
+		long mask = ~image.getLastWordMask();
+		for( int y = 0; y < image.height; y++ ) {
+			assertEquals(0, image.data[y*image.stride + image.stride - 1] & mask);
+		}
+	}
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.filter.binary;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.struct.image.ImageSInt32;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.RleBinaryImage;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestRleBinaryOps {
+
+	Random rand = new Random(234);
+
+	int width = 30;
+	int height = 25;
+
+	@Test
+	public void convert() {
+		for( int i = 0; i < 3; i++ ) {
+			ImageUInt8 input = createBinary(i);
+
+			RleBinaryImage rle = RleBinaryOps.convert(input, null);
+			assertTrue(rle.isComplete());
+			int total = 0;
+			for( int y = 0; y < height; y++ ) {
+				for( int x = 0; x < width; x++ ) {
+					assertEquals(input.get(x, y), rle.get(x, y));
+					total += input.get(x,y);
+				}
+			}
+			assertEquals(total, rle.countPixels());
+
+			ImageUInt8 found = new ImageUInt8(width,height);
+			ImageMiscOps.fill(found, 2);
+			BoofTesting.checkSubImage(this, "convert", true, rle, found, input);
+		}
+	}
+
+	public void convert( RleBinaryImage rle , ImageUInt8 found , ImageUInt8 expected ) {
+		RleBinaryOps.convert(rle, found);
+		BoofTesting.assertEquals(expected, found, 0);
+		// convert the sub-image back
+		RleBinaryImage back = RleBinaryOps.convert(found, null);
+		assertEquals(rle.numRuns, back.numRuns);
+		for( int i = 0; i < 2*rle.numRuns; i++ )
+			assertEquals(rle.runs[i], back.runs[i]);
+	}
+
+	@Test
+	public void logic() {
+		ImageUInt8 a = createBinary(0);
+		ImageUInt8 b = createBinary(1);
+		RleBinaryImage rleA = RleBinaryOps.convert(a, null);
+		RleBinaryImage rleB = RleBinaryOps.convert(b, null);
+
+		check(BinaryImageOps.logicAnd(a, b, null), RleBinaryOps.logicAnd(rleA, rleB, null));
+		check(BinaryImageOps.logicOr(a, b, null), RleBinaryOps.logicOr(rleA, rleB, null));
+		check(BinaryImageOps.logicXor(a, b, null), RleBinaryOps.logicXor(rleA, rleB, null));
+		check(BinaryImageOps.logicXor(a, a, null), RleBinaryOps.logicXor(rleA, rleA, null));
+	}
+
+	@Test
+	public void invert() {
+		for( int i = 0; i < 3; i++ ) {
+			ImageUInt8 input = createBinary(i);
+			check(BinaryImageOps.invert(input, null), RleBinaryOps.invert(RleBinaryOps.convert(input, null), null));
+		}
+	}
+
+	@Test
+	public void morphology() {
+		for( int i = 0; i < 3; i++ ) {
+			ImageUInt8 input = createBinary(i);
+			RleBinaryImage rle = RleBinaryOps.convert(input, null);
+			RleBinaryImage output = new RleBinaryImage();
+
+			for( int numTimes = 1; numTimes <= 3; numTimes++ ) {
+				check(BinaryImageOps.erode4(input, numTimes, null), RleBinaryOps.erode4(rle, numTimes, output));
+				check(BinaryImageOps.erode8(input, numTimes, null), RleBinaryOps.erode8(rle, numTimes, output));
+				check(BinaryImageOps.dilate4(input, numTimes, null), RleBinaryOps.dilate4(rle, numTimes, output));
+				check(BinaryImageOps.dilate8(input, numTimes, null), RleBinaryOps.dilate8(rle, numTimes, output));
+			}
+			check(BinaryImageOps.edge4(input, null), RleBinaryOps.edge4(rle, output));
+			check(BinaryImageOps.edge8(input, null), RleBinaryOps.edge8(rle, output));
+		}
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void sameInstance() {
+		RleBinaryImage rle = RleBinaryOps.convert(createBinary(0), null);
+		RleBinaryOps.dilate4(rle, 1, rle);
+	}
+
+	@Test
+	public void renderLabels() {
+		ImageUInt8 input = createBinary(0);
+		RleBinaryImage rle = RleBinaryOps.convert(input, null);
+
+		RleBlobLabeling alg = new RleBlobLabeling(boofcv.struct.ConnectRule.EIGHT);
+		alg.process(rle);
+
+		ImageSInt32 found = new ImageSInt32(width,height);
+		ImageMiscOps.fill(found, -1);
+		RleBinaryOps.renderLabels(rle, alg.getRunLabels(), found);
+
+		for( int y = 0; y < height; y++ ) {
+			for( int x = 0; x < width; x++ ) {
+				int run = rle.findRun(x, y);
+				if( run < 0 )
+					assertEquals(0, found.get(x, y));
+				else
+					assertEquals(alg.getRunLabels().get(run), found.get(x, y));
+			}
+		}
+	}
+
+	/**
+	 * Creates binary images which are random, sparse, and mostly full
+	 */
+	private ImageUInt8 createBinary( int type ) {
+		ImageUInt8 image = new ImageUInt8(width,height);
+		if( type == 0 ) {
+			ImageMiscOps.fillUniform(image, rand, 0, 2);
+		} else {
+			ImageMiscOps.fill(image, type == 1 ? 0 : 1);
+			for( int i = 0; i < 8; i++ ) {
+				int x0 = rand.nextInt(width), y0 = rand.nextInt(height);
+				ImageMiscOps.fillRectangle(image, type == 1 ? 1 : 0, x0, y0, 1+rand.nextInt(8), 1+rand.nextInt(8));
+			}
+		}
+		return image;
+	}
+
+	private void check( ImageUInt8 expected , RleBinaryImage found ) {
+		assertTrue(found.isComplete());
+		// runs must not touch or overlap
+		for( int y = 0; y < found.height; y++ ) {
+			for( int i = found.rowIndex[y]; i < found.rowIndex[y+1]; i++ ) {
+				assertTrue(found.runs[2*i] < found.runs[2*i+1]);
+				if( i > found.rowIndex[y] )
+					assertTrue(found.runs[2*i-1] < found.runs[2*i]);
+			}
+		}
+		BoofTesting.assertEquals(expected, RleBinaryOps.convert(found, null), 0);
+	}
+}
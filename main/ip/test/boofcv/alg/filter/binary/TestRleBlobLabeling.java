@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.filter.binary;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.struct.ConnectRule;
+import boofcv.struct.image.ImageSInt32;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.RleBinaryImage;
+import boofcv.testing.BoofTesting;
+import georegression.struct.point.Point2D_I32;
+import org.ddogleg.struct.FastQueue;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestRleBlobLabeling {
+
+	Random rand = new Random(234);
+
+	@Test
+	public void compareToChang_patterns() {
+		byte[][] patterns = new byte[][]{
+				TestLinearContourLabelChang2004.TEST1,TestLinearContourLabelChang2004.TEST2,
+				TestLinearContourLabelChang2004.TEST3,TestLinearContourLabelChang2004.TEST4};
+		int[] widths = new int[]{13,13,5,7};
+
+		for( int i = 0; i < patterns.length; i++ ) {
+			ImageUInt8 input = new ImageUInt8(widths[i],patterns[i].length/widths[i]);
+			input.data = patterns[i].clone();
+
+			compareToChang(input, ConnectRule.FOUR);
+			compareToChang(input, ConnectRule.EIGHT);
+		}
+	}
+
+	@Test
+	public void compareToChang_random() {
+		for( int trial = 0; trial < 100; trial++ ) {
+			int width = 5 + rand.nextInt(40);
+			int height = 5 + rand.nextInt(40);
+			ImageUInt8 input = new ImageUInt8(width,height);
+			ImageMiscOps.fillUniform(input, rand, 0, 2);
+
+			compareToChang(input, ConnectRule.FOUR);
+			compareToChang(input, ConnectRule.EIGHT);
+		}
+	}
+
+	/**
+	 * Rectangles with holes in them
+	 */
+	@Test
+	public void compareToChang_rings() {
+		ImageUInt8 input = new ImageUInt8(60,70);
+		for( int i = 0; i < 12; i++ ) {
+			int x0 = rand.nextInt(50), y0 = rand.nextInt(60);
+			int w = 3 + rand.nextInt(10), h = 3 + rand.nextInt(10);
+			ImageMiscOps.fillRectangle(input, 1, x0, y0, w, h);
+			ImageMiscOps.fillRectangle(input, 0, x0 + 1, y0 + 1, w - 2, h - 2);
+		}
+
+		compareToChang(input, ConnectRule.FOUR);
+		compareToChang(input, ConnectRule.EIGHT);
+	}
+
+	@Test
+	public void saveContours() {
+		ImageUInt8 input = new ImageUInt8(30,25);
+		ImageMiscOps.fillUniform(input, rand, 0, 2);
+
+		RleBlobLabeling alg = new RleBlobLabeling(ConnectRule.EIGHT);
+		alg.setSaveContours(false);
+		alg.process(RleBinaryOps.convert(input, null));
+
+		ImageSInt32 expected = new ImageSInt32(input.width,input.height);
+		LinearContourLabelChang2004 chang = new LinearContourLabelChang2004(ConnectRule.EIGHT);
+		chang.process(input, expected);
+
+		assertEquals(chang.getContours().size, alg.getNumberOfLabels());
+		assertEquals(0, alg.getContours().size);
+	}
+
+	private void compareToChang( ImageUInt8 input , ConnectRule rule ) {
+		ImageSInt32 expected = new ImageSInt32(input.width,input.height);
+		LinearContourLabelChang2004 chang = new LinearContourLabelChang2004(rule);
+		chang.process(input, expected);
+
+		RleBlobLabeling alg = new RleBlobLabeling(rule);
+		alg.process(RleBinaryOps.convert(input, null));
+		ImageSInt32 found = RleBinaryOps.renderLabels(RleBinaryOps.convert(input, null), alg.getRunLabels(), null);
+
+		assertEquals(chang.getContours().size, alg.getNumberOfLabels());
+		BoofTesting.assertEquals(expected, found, 0);
+		compareContours(chang.getContours(), alg.getContours());
+	}
+
+	private void compareContours( FastQueue<Contour> expected , FastQueue<Contour> found ) {
+		assertEquals(expected.size, found.size);
+
+		for( int i = 0; i < expected.size; i++ ) {
+			Contour e = expected.get(i);
+			Contour f = found.get(i);
+
+			assertEquals(e.id, f.id);
+			compareLists(e.external, f.external);
+			assertEquals(e.internal.size(), f.internal.size());
+			for( int j = 0; j < e.internal.size(); j++ ) {
+				compareLists(e.internal.get(j), f.internal.get(j));
+			}
+		}
+	}
+
+	private void compareLists( List<Point2D_I32> expected , List<Point2D_I32> found ) {
+		assertEquals(expected.size(), found.size());
+		for( int i = 0; i < expected.size(); i++ ) {
+			Point2D_I32 e = expected.get(i);
+			Point2D_I32 f = found.get(i);
+			assertTrue(e.x == f.x && e.y == f.y);
+		}
+	}
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.filter.binary.impl;
+
+import boofcv.alg.filter.binary.ThresholdLocalType;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.core.image.ConvertImage;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSInt16;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestThresholdLocalIntegral {
+
+	Random rand = new Random(234);
+
+	int width = 35;
+	int height = 30;
+
+	double ks[] = new double[]{5,0.3,-0.2,0.5};
+
+	@Test
+	public void compareToNaive() {
+		ImageUInt8 input = new ImageUInt8(width,height);
+		ImageMiscOps.fillUniform(input, rand, 0, 200);
+		ImageUInt8 found = new ImageUInt8(width,height);
+
+		BoofTesting.checkSubImage(this, "compareToNaive", true, input, found);
+	}
+
+	public void compareToNaive( ImageUInt8 input , ImageUInt8 found ) {
+		ImageUInt8 expected = new ImageUInt8(width,height);
+		ImageFloat32 inputF = new ImageFloat32(width,height);
+		ConvertImage.convert(input, inputF);
+
+		ThresholdLocalType types[] = ThresholdLocalType.values();
+		for( int i = 0; i < types.length; i++ ) {
+			for( int radius : new int[]{0,1,4,20} ) {
+				for( boolean down : new boolean[]{true,false}) {
+					naive(inputF, expected, types[i], radius, ks[i], down);
+
+					ThresholdLocalIntegral alg = new ThresholdLocalIntegral(types[i], radius, ks[i], down);
+					alg.process(input, found);
+					BoofTesting.assertEquals(expected, found, 0);
+
+					alg.process(inputF, found);
+					BoofTesting.assertEquals(expected, found, 0);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Make sure the workspace is recycled correctly when the image shape changes
+	 */
+	@Test
+	public void changeShape() {
+		ThresholdLocalIntegral alg = new ThresholdLocalIntegral(ThresholdLocalType.NIBLACK, 3, -0.2, true);
+
+		for( int i = 0; i < 3; i++ ) {
+			int w = 10 + rand.nextInt(30), h = 10 + rand.nextInt(30);
+			ImageFloat32 input = new ImageFloat32(w,h);
+			ImageMiscOps.fillUniform(input, rand, 0, 200);
+			// integer values so that the naive and integral sums are exactly the same
+			for( int j = 0; j < input.data.length; j++ )
+				input.data[j] = (int)input.data[j];
+
+			ImageUInt8 expected = new ImageUInt8(w,h);
+			ImageUInt8 found = new ImageUInt8(w,h);
+			naive(input, expected, ThresholdLocalType.NIBLACK, 3, -0.2, true);
+			alg.process(input, found);
+			BoofTesting.assertEquals(expected, found, 0);
+		}
+	}
+
+	/**
+	 * The column sums should be recycled between calls instead of being declared again
+	 */
+	@Test
+	public void recycleColumnSums() {
+		ImageUInt8 input = new ImageUInt8(width,height);
+		ImageMiscOps.fillUniform(input, rand, 0, 200);
+		ImageUInt8 found = new ImageUInt8(width,height);
+
+		boolean original = BoofConcurrency.USE_CONCURRENT;
+		try {
+			BoofConcurrency.USE_CONCURRENT = false;
+			ThresholdLocalIntegral alg = new ThresholdLocalIntegral(ThresholdLocalType.SAUVOLA, 5, 0.3, true);
+			alg.process(input, found);
+
+			ThresholdLocalIntegral.ColumnSums columns = alg.columnSums.grab();
+			alg.columnSums.release(columns);
+
+			for( int i = 0; i < 3; i++ )
+				alg.process(input, found);
+
+			assertEquals(1, alg.columnSums.getCreated());
+			assertTrue(columns == alg.columnSums.grab());
+		} finally {
+			BoofConcurrency.USE_CONCURRENT = original;
+		}
+	}
+
+	@Test
+	public void otherInputTypes() {
+		ImageSInt16 input = new ImageSInt16(width,height);
+		ImageMiscOps.fillUniform(input, rand, -100, 100);
+		ImageFloat32 inputF = new ImageFloat32(width,height);
+		ConvertImage.convert(input, inputF);
+
+		ImageUInt8 expected = new ImageUInt8(width,height);
+		ImageUInt8 found = new ImageUInt8(width,height);
+
+		naive(inputF, expected, ThresholdLocalType.MEAN, 3, 2, true);
+		new ThresholdLocalIntegral(ThresholdLocalType.MEAN, 3, 2, true).process(input, found);
+		BoofTesting.assertEquals(expected, found, 0);
+	}
+
+	@Test
+	public void concurrent() {
+		ImageUInt8 input = new ImageUInt8(width,height);
+		ImageMiscOps.fillUniform(input, rand, 0, 200);
+		ImageUInt8 expected = new ImageUInt8(width,height);
+		ImageUInt8 found = new ImageUInt8(width,height);
+
+		boolean original = BoofConcurrency.USE_CONCURRENT;
+		int originalThreads = BoofConcurrency.getMaxThreads();
+		int originalWork = BoofConcurrency.getMinimumWork();
+		try {
+			for( ThresholdLocalType type : ThresholdLocalType.values() ) {
+				ThresholdLocalIntegral alg = new ThresholdLocalIntegral(type, 5, 0.3, true);
+				BoofConcurrency.USE_CONCURRENT = false;
+				alg.process(input, expected);
+
+				BoofConcurrency.USE_CONCURRENT = true;
+				BoofConcurrency.setMaxThreads(7);
+				BoofConcurrency.setMinimumWork(0);
+				alg.process(input, found);
+
+				BoofTesting.assertEquals(expected, found, 0);
+			}
+		} finally {
+			BoofConcurrency.USE_CONCURRENT = original;
+			BoofConcurrency.setMaxThreads(originalThreads);
+			BoofConcurrency.setMinimumWork(originalWork);
+		}
+
+		// sanity check
+		int total = 0;
+		for( int i = 0; i < found.data.length; i++ )
+			total += found.data[i];
+		assertTrue(total > 0 && total < found.data.length);
+	}
+
+	/**
+	 * Computes the local statistics by summing up the pixels directly
+	 */
+	private void naive( ImageFloat32 input , ImageUInt8 output ,
+						ThresholdLocalType type , int radius , double k , boolean down ) {
+		int w = input.width, h = input.height;
+		double mean[] = new double[w*h];
+		double stdev[] = new double[w*h];
+		double maxStdev = 0, minValue = Double.MAX_VALUE;
+
+		for( int y = 0; y < h; y++ ) {
+			for( int x = 0; x < w; x++ ) {
+				double sum = 0, sumSq = 0;
+				int x0 = Math.max(0,x-radius), x1 = Math.min(w,x+radius+1);
+				int y0 = Math.max(0,y-radius), y1 = Math.min(h,y+radius+1);
+				for( int i = y0; i < y1; i++ ) {
+					for( int j = x0; j < x1; j++ ) {
+						double v = input.get(j,i);
+						sum += v;
+						sumSq += v*v;
+					}
+				}
+				double invArea = 1.0/((x1-x0)*(y1-y0));
+				double m = sum*invArea;
+				double variance = sumSq*invArea - m*m;
+				mean[y*w+x] = m;
+				stdev[y*w+x] = variance > 0 ? Math.sqrt(variance) : 0;
+				maxStdev = Math.max(maxStdev,stdev[y*w+x]);
+				minValue = Math.min(minValue,input.get(x,y));
+			}
+		}
+
+		// no variation in the image
+		double invR = 1.0/(maxStdev > 0 ? maxStdev : 1);
+
+		for( int y = 0; y < h; y++ ) {
+			for( int x = 0; x < w; x++ ) {
+				double m = mean[y*w+x], s = stdev[y*w+x];
+				double T;
+				switch( type ) {
+					case MEAN: T = m + k; break;
+					case SAUVOLA: T = m*(1 + k*(s*invR - 1)); break;
+					case NIBLACK: T = m + k*s; break;
+					default: T = (1-k)*m + k*minValue + k*(s*invR)*(m - minValue); break;
+				}
+				double v = input.get(x,y);
+				output.set(x,y, down ? (v <= T ? 1 : 0) : (v >= T ? 1 : 0));
+			}
+		}
+	}
+}
@@ -24,12 +24,18 @@ import boofcv.alg.filter.convolve.normalized.ConvolveNormalizedNaive;
 import boofcv.alg.filter.kernel.KernelMath;
 import boofcv.alg.misc.GImageMiscOps;
 import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.core.image.InterleavedImageOps;
 import boofcv.factory.filter.kernel.FactoryKernelGaussian;
 import boofcv.struct.convolve.Kernel1D_I32;
 import boofcv.struct.convolve.Kernel2D_F32;
 import boofcv.struct.convolve.Kernel2D_I32;
 import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt16;
 import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.InterleavedF32;
+import boofcv.struct.image.InterleavedU8;
+import boofcv.struct.image.MultiSpectral;
 import boofcv.testing.BoofTesting;
 import org.junit.Test;
 
@@ -95,6 +101,45 @@ public class TestBlurImageOps {
 		}
 	}
 
+	/**
+	 * The concurrent mean filter should produce the same results as the single threaded one
+	 */
+	@Test
+	public void mean_concurrent() {
+		int originalThreads = BoofConcurrency.getMaxThreads();
+		int originalWork = BoofConcurrency.getMinimumWork();
+		boolean original = BoofConcurrency.USE_CONCURRENT;
+
+		ImageUInt8 inputU8 = new ImageUInt8(width,height);
+		ImageFloat32 inputF32 = new ImageFloat32(width,height);
+		GImageMiscOps.fillUniform(inputU8, rand, 0, 200);
+		GImageMiscOps.fillUniform(inputF32, rand, 0, 200);
+
+		try {
+			BoofConcurrency.setMaxThreads(7);
+			BoofConcurrency.setMinimumWork(0);
+
+			for( int radius = 1; radius <= 8; radius += 3 ) {
+				BoofConcurrency.USE_CONCURRENT = false;
+				ImageUInt8 expectedU8 = BlurImageOps.mean(inputU8, null, radius, null);
+				ImageFloat32 expectedF32 = BlurImageOps.mean(inputF32, null, radius, null);
+
+				BoofConcurrency.USE_CONCURRENT = true;
+				ImageUInt8 foundU8 = BoofTesting.createSubImageOf(new ImageUInt8(width,height));
+				ImageFloat32 foundF32 = BoofTesting.createSubImageOf(new ImageFloat32(width,height));
+				BlurImageOps.mean(BoofTesting.createSubImageOf(inputU8), foundU8, radius, null);
+				BlurImageOps.mean(inputF32, foundF32, radius, null);
+
+				BoofTesting.assertEquals(expectedU8,foundU8,0);
+				BoofTesting.assertEquals(expectedF32,foundF32,0);
+			}
+		} finally {
+			BoofConcurrency.USE_CONCURRENT = original;
+			BoofConcurrency.setMaxThreads(originalThreads);
+			BoofConcurrency.setMinimumWork(originalWork);
+		}
+	}
+
 	@Test
 	public void median_U8() {
 
@@ -104,6 +149,23 @@ public class TestBlurImageOps {
 
 		GImageMiscOps.fillUniform(input, rand, 0, 20);
 
+		for( int radius = 1; radius <= 8; radius++ ) {
+			ImplMedianSortNaive.process(input,expected,radius,null);
+			BlurImageOps.median(input,found,radius);
+
+			BoofTesting.assertEquals(expected,found,0);
+		}
+	}
+
+	@Test
+	public void median_U16() {
+
+		ImageUInt16 input = new ImageUInt16(width,height);
+		ImageUInt16 found = new ImageUInt16(width,height);
+		ImageUInt16 expected = new ImageUInt16(width,height);
+
+		GImageMiscOps.fillUniform(input, rand, 0, 2000);
+
 		for( int radius = 1; radius <= 4; radius++ ) {
 			ImplMedianSortNaive.process(input,expected,radius,null);
 			BlurImageOps.median(input,found,radius);
@@ -112,6 +174,42 @@ public class TestBlurImageOps {
 		}
 	}
 
+	/**
+	 * With concurrency turned on the results should be the same for radii above and below the threshold at
+	 * which the algorithm changes
+	 */
+	@Test
+	public void median_concurrent() {
+		int originalThreads = BoofConcurrency.getMaxThreads();
+		int originalWork = BoofConcurrency.getMinimumWork();
+		boolean original = BoofConcurrency.USE_CONCURRENT;
+
+		ImageUInt8 inputU8 = new ImageUInt8(width,height);
+		ImageUInt16 inputU16 = new ImageUInt16(width,height);
+		GImageMiscOps.fillUniform(inputU8, rand, 0, 200);
+		GImageMiscOps.fillUniform(inputU16, rand, 0, 2000);
+
+		try {
+			BoofConcurrency.setMaxThreads(7);
+			BoofConcurrency.setMinimumWork(0);
+			BoofConcurrency.USE_CONCURRENT = true;
+
+			for( int radius = 1; radius <= BlurImageOps.MEDIAN_CONSTANT_RADIUS+1; radius++ ) {
+				ImageUInt8 expectedU8 = new ImageUInt8(width,height);
+				ImageUInt16 expectedU16 = new ImageUInt16(width,height);
+				ImplMedianSortNaive.process(inputU8,expectedU8,radius,null);
+				ImplMedianSortNaive.process(inputU16,expectedU16,radius,null);
+
+				BoofTesting.assertEquals(expectedU8,BlurImageOps.median(inputU8,null,radius),0);
+				BoofTesting.assertEquals(expectedU16,BlurImageOps.median(inputU16,null,radius),0);
+			}
+		} finally {
+			BoofConcurrency.USE_CONCURRENT = original;
+			BoofConcurrency.setMaxThreads(originalThreads);
+			BoofConcurrency.setMinimumWork(originalWork);
+		}
+	}
+
 	@Test
 	public void median_F32() {
 		ImageFloat32 input = new ImageFloat32(width,height);
@@ -172,4 +270,58 @@ public class TestBlurImageOps {
 			BoofTesting.assertEquals(expected,found,1e-4);
 		}
 	}
+
+	/**
+	 * Interleaved images should produce the same results as blurring each band independently
+	 */
+	@Test
+	public void interleaved_U8() {
+		InterleavedU8 input = new InterleavedU8(width,height,3);
+		GImageMiscOps.fillUniform(input,rand,0,100);
+		MultiSpectral<ImageUInt8> bands = new MultiSpectral<ImageUInt8>(ImageUInt8.class,width,height,3);
+		InterleavedImageOps.split(input, bands);
+
+		ImageUInt8 expected = new ImageUInt8(width,height);
+		MultiSpectral<ImageUInt8> found = new MultiSpectral<ImageUInt8>(ImageUInt8.class,width,height,3);
+
+		for( int radius = 1; radius <= 3; radius++ ) {
+			InterleavedImageOps.split(BlurImageOps.mean(input, null, radius, null), found);
+			for( int band = 0; band < 3; band++ ) {
+				BlurImageOps.mean(bands.getBand(band),expected,radius,null);
+				BoofTesting.assertEquals(expected,found.getBand(band),0);
+			}
+
+			InterleavedImageOps.split(BlurImageOps.gaussian(input, null, -1, radius, null), found);
+			for( int band = 0; band < 3; band++ ) {
+				BlurImageOps.gaussian(bands.getBand(band),expected,-1,radius,null);
+				BoofTesting.assertEquals(expected,found.getBand(band),0);
+			}
+		}
+	}
+
+	@Test
+	public void interleaved_F32() {
+		InterleavedF32 input = new InterleavedF32(width,height,3);
+		GImageMiscOps.fillUniform(input,rand,0,100);
+		MultiSpectral<ImageFloat32> bands = new MultiSpectral<ImageFloat32>(ImageFloat32.class,width,height,3);
+		InterleavedImageOps.split(input, bands);
+
+		ImageFloat32 expected = new ImageFloat32(width,height);
+		MultiSpectral<ImageFloat32> found = new MultiSpectral<ImageFloat32>(ImageFloat32.class,width,height,3);
+
+		// includes a kernel which is wider than the image
+		for( int radius = 1; radius <= 9; radius += 4 ) {
+			InterleavedImageOps.split(BlurImageOps.mean(input, null, radius, null), found);
+			for( int band = 0; band < 3; band++ ) {
+				BlurImageOps.mean(bands.getBand(band),expected,radius,null);
+				BoofTesting.assertEquals(expected,found.getBand(band),1e-3);
+			}
+
+			InterleavedImageOps.split(BlurImageOps.gaussian(input, null, -1, radius, null), found);
+			for( int band = 0; band < 3; band++ ) {
+				BlurImageOps.gaussian(bands.getBand(band),expected,-1,radius,null);
+				BoofTesting.assertEquals(expected,found.getBand(band),1e-3);
+			}
+		}
+	}
 }
@@ -0,0 +1,273 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.blur;
+
+import boofcv.abst.filter.convolve.ConvolveInterface;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.core.image.ConvertImage;
+import boofcv.core.image.border.BorderType;
+import boofcv.factory.filter.convolve.FactoryConvolve;
+import boofcv.factory.filter.kernel.FactoryKernelGaussian;
+import boofcv.struct.convolve.Kernel1D_F32;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestRecursiveGaussian {
+
+	Random rand = new Random(234);
+	int width = 80;
+	int height = 70;
+
+	BorderType borders[] = new BorderType[]{BorderType.EXTENDED,BorderType.NORMALIZED,
+			BorderType.REFLECT,BorderType.WRAP};
+
+	/**
+	 * Compare against convolution with a large Gaussian kernel.  The recursive filter is an approximation
+	 * so the tolerance is loose.
+	 */
+	@Test
+	public void compareToKernel_F32() {
+		ImageFloat32 input = new ImageFloat32(width,height);
+		GImageMiscOps.fillUniform(input, rand, 0, 255);
+
+		for( BorderType border : borders ) {
+			for( double sigma : new double[]{5,10} ) {
+				ImageFloat32 expected = convolve(input, sigma, border);
+				ImageFloat32 found = new ImageFloat32(width,height);
+
+				new RecursiveGaussian(sigma,border).process(input,found);
+
+				BoofTesting.assertEquals(expected, found, 1.5);
+			}
+		}
+	}
+
+	@Test
+	public void compareToKernel_U8() {
+		ImageUInt8 input = new ImageUInt8(width,height);
+		GImageMiscOps.fillUniform(input, rand, 0, 255);
+		ImageFloat32 inputF = ConvertImage.convert(input,(ImageFloat32)null);
+
+		for( BorderType border : borders ) {
+			ImageFloat32 expected = convolve(inputF, 8, border);
+			ImageUInt8 found = new ImageUInt8(width,height);
+
+			new RecursiveGaussian(8,border).process(input,found);
+
+			BoofTesting.assertEquals(expected, found, 2);
+		}
+	}
+
+	private ImageFloat32 convolve( ImageFloat32 input , double sigma , BorderType border ) {
+		int radius = Math.min(2*FactoryKernelGaussian.radiusForSigma(sigma,0),(height-1)/2);
+		Kernel1D_F32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_F32.class,sigma,radius);
+
+		ConvolveInterface<ImageFloat32,ImageFloat32> blurX =
+				FactoryConvolve.convolve(kernel,ImageFloat32.class,ImageFloat32.class,border,true);
+		ConvolveInterface<ImageFloat32,ImageFloat32> blurY =
+				FactoryConvolve.convolve(kernel,ImageFloat32.class,ImageFloat32.class,border,false);
+
+		ImageFloat32 storage = new ImageFloat32(input.width,input.height);
+		ImageFloat32 output = new ImageFloat32(input.width,input.height);
+		blurX.process(input,storage);
+		blurY.process(storage,output);
+		return output;
+	}
+
+	/**
+	 * A constant image should not be changed, no matter how large sigma is relative to the image
+	 */
+	@Test
+	public void constantImage() {
+		ImageFloat32 input = new ImageFloat32(width,height);
+		ImageFloat32 found = new ImageFloat32(width,height);
+		ImageMiscOps.fill(input,12);
+
+		for( BorderType border : borders ) {
+			for( double sigma : new double[]{0.5,3,50} ) {
+				new RecursiveGaussian(sigma,border).process(input,found);
+
+				for( int i = 0; i < found.data.length; i++ )
+					assertEquals(12,found.data[i],1e-3);
+			}
+		}
+	}
+
+	@Test
+	public void borderValue() {
+		ImageFloat32 input = new ImageFloat32(width,height);
+		ImageFloat32 found = new ImageFloat32(width,height);
+		ImageMiscOps.fill(input,12);
+
+		RecursiveGaussian alg = new RecursiveGaussian(3,BorderType.VALUE);
+		alg.setBorderValue(12);
+		alg.process(input,found);
+		for( int i = 0; i < found.data.length; i++ )
+			assertEquals(12,found.data[i],1e-3);
+
+		// pixels outside are now darker
+		alg.setBorderValue(0);
+		alg.process(input,found);
+		assertTrue(found.get(0,0) < 6);
+		assertEquals(12,found.get(width/2,height/2),1e-3);
+	}
+
+	@Test
+	public void subimage() {
+		ImageFloat32 inputF = new ImageFloat32(width,height);
+		ImageUInt8 inputU = new ImageUInt8(width,height);
+		GImageMiscOps.fillUniform(inputF, rand, 0, 255);
+		GImageMiscOps.fillUniform(inputU, rand, 0, 255);
+
+		BoofTesting.checkSubImage(this, "checkSubImage", true, inputF, new ImageFloat32(width,height));
+		BoofTesting.checkSubImage(this, "checkSubImage", true, inputU, new ImageUInt8(width,height));
+	}
+
+	public void checkSubImage( ImageFloat32 input , ImageFloat32 output ) {
+		ImageFloat32 expected = new ImageFloat32(width,height);
+		new RecursiveGaussian(4,BorderType.REFLECT).process(input.clone(),expected);
+		new RecursiveGaussian(4,BorderType.REFLECT).process(input,output);
+		BoofTesting.assertEquals(expected, output, 0);
+	}
+
+	public void checkSubImage( ImageUInt8 input , ImageUInt8 output ) {
+		ImageUInt8 expected = new ImageUInt8(width,height);
+		new RecursiveGaussian(4,BorderType.REFLECT).process(input.clone(),expected);
+		new RecursiveGaussian(4,BorderType.REFLECT).process(input,output);
+		BoofTesting.assertEquals(expected, output, 0);
+	}
+
+	@Test
+	public void inPlace() {
+		ImageFloat32 input = new ImageFloat32(width,height);
+		GImageMiscOps.fillUniform(input, rand, 0, 255);
+		ImageFloat32 expected = new ImageFloat32(width,height);
+
+		RecursiveGaussian alg = new RecursiveGaussian(4,BorderType.EXTENDED);
+		alg.process(input,expected);
+		alg.process(input,input);
+
+		BoofTesting.assertEquals(expected, input, 0);
+	}
+
+	/**
+	 * Changing sigma and the border should produce the same results as a new instance
+	 */
+	@Test
+	public void changeSettings() {
+		ImageFloat32 input = new ImageFloat32(width,height);
+		GImageMiscOps.fillUniform(input, rand, 0, 255);
+		ImageFloat32 expected = new ImageFloat32(width,height);
+		ImageFloat32 found = new ImageFloat32(width,height);
+
+		RecursiveGaussian alg = new RecursiveGaussian(2,BorderType.EXTENDED);
+		alg.process(input,found);
+		alg.setSigma(6);
+		alg.setBorder(BorderType.WRAP);
+		alg.process(input,found);
+
+		new RecursiveGaussian(6,BorderType.WRAP).process(input,expected);
+
+		BoofTesting.assertEquals(expected, found, 0);
+	}
+
+	/**
+	 * The gradient of a blurred plane is the plane's slope away from the border
+	 */
+	@Test
+	public void gradient() {
+		ImageFloat32 input = new ImageFloat32(width,height);
+		for( int y = 0; y < height; y++ )
+			for( int x = 0; x < width; x++ )
+				input.set(x,y,2*x + 0.5f*y);
+
+		ImageFloat32 derivX = new ImageFloat32(width,height);
+		ImageFloat32 derivY = new ImageFloat32(width,height);
+
+		new RecursiveGaussian(3,BorderType.EXTENDED).gradient(input,derivX,derivY);
+
+		for( int y = 20; y < height-20; y++ ) {
+			for( int x = 20; x < width-20; x++ ) {
+				assertEquals(2,derivX.get(x,y),1e-3);
+				assertEquals(0.5,derivY.get(x,y),1e-3);
+			}
+		}
+
+		// U8 input should produce the same results
+		ImageUInt8 inputU = new ImageUInt8(width,height);
+		GImageMiscOps.fillUniform(inputU, rand, 0, 255);
+		ImageFloat32 inputF = ConvertImage.convert(inputU,(ImageFloat32)null);
+		ImageFloat32 expectedX = new ImageFloat32(width,height);
+		ImageFloat32 expectedY = new ImageFloat32(width,height);
+
+		new RecursiveGaussian(3,BorderType.EXTENDED).gradient(inputF,expectedX,expectedY);
+		new RecursiveGaussian(3,BorderType.EXTENDED).gradient(inputU,derivX,derivY);
+
+		BoofTesting.assertEquals(expectedX, derivX, 1e-4);
+		BoofTesting.assertEquals(expectedY, derivY, 1e-4);
+	}
+
+	@Test
+	public void skipNotSupported() {
+		try {
+			new RecursiveGaussian(3,BorderType.SKIP);
+			fail("Should have thrown an exception");
+		} catch( IllegalArgumentException ignore ) {}
+	}
+
+	@Test
+	public void concurrent() {
+		int originalThreads = BoofConcurrency.getMaxThreads();
+		int originalWork = BoofConcurrency.getMinimumWork();
+		boolean originalUse = BoofConcurrency.USE_CONCURRENT;
+		try {
+			ImageFloat32 input = new ImageFloat32(width,height);
+			GImageMiscOps.fillUniform(input, rand, 0, 255);
+			ImageFloat32 expected = new ImageFloat32(width,height);
+			ImageFloat32 found = new ImageFloat32(width,height);
+
+			BoofConcurrency.USE_CONCURRENT = false;
+			new RecursiveGaussian(4,BorderType.NORMALIZED).process(input,expected);
+
+			BoofConcurrency.setMaxThreads(7);
+			BoofConcurrency.setMinimumWork(0);
+			BoofConcurrency.USE_CONCURRENT = true;
+			new RecursiveGaussian(4,BorderType.NORMALIZED).process(input,found);
+
+			BoofTesting.assertEquals(expected, found, 0);
+		} finally {
+			BoofConcurrency.USE_CONCURRENT = originalUse;
+			BoofConcurrency.setMaxThreads(originalThreads);
+			BoofConcurrency.setMinimumWork(originalWork);
+		}
+	}
+}
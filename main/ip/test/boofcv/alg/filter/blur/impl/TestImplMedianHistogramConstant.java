@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.filter.blur.impl;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.alg.misc.ImageStatistics;
+import boofcv.struct.image.ImageUInt16;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImplMedianHistogramConstant {
+
+	Random rand = new Random(234);
+
+	@Test
+	public void compareToSort_U8() {
+		ImageUInt8 image = new ImageUInt8(20,30);
+		ImageMiscOps.fillUniform(image,rand, 0, 200);
+
+		ImageUInt8 found = new ImageUInt8( image.width , image.height );
+		ImageUInt8 expected = new ImageUInt8( image.width , image.height );
+
+		BoofTesting.checkSubImage(this, "compareToSort_U8", true, image, found, expected);
+	}
+
+	public void compareToSort_U8(ImageUInt8 image, ImageUInt8 found, ImageUInt8 expected) {
+		ImplMedianHistogramConstant alg = new ImplMedianHistogramConstant();
+
+		// the last radius is larger than the image
+		for( int radius = 1; radius <= 16; radius += 3 ) {
+			ImplMedianSortNaive.process(image,expected,radius,null);
+			alg.process(image,found,radius);
+
+			BoofTesting.assertEquals(expected,found,0);
+		}
+	}
+
+	@Test
+	public void compareToSort_U16() {
+		ImageUInt16 image = new ImageUInt16(20,30);
+		ImageMiscOps.fillUniform(image,rand, 0, 3000);
+
+		ImageUInt16 found = new ImageUInt16( image.width , image.height );
+		ImageUInt16 expected = new ImageUInt16( image.width , image.height );
+
+		BoofTesting.checkSubImage(this, "compareToSort_U16", true, image, found, expected);
+	}
+
+	public void compareToSort_U16(ImageUInt16 image, ImageUInt16 found, ImageUInt16 expected) {
+		ImplMedianHistogramConstant alg = new ImplMedianHistogramConstant();
+
+		int maxValue = ImageStatistics.max(image);
+		for( int radius = 1; radius <= 16; radius += 3 ) {
+			ImplMedianSortNaive.process(image,expected,radius,null);
+			alg.process(image,found,radius,maxValue);
+
+			BoofTesting.assertEquals(expected,found,0);
+		}
+	}
+
+	/**
+	 * Force it to process the image in several vertical strips
+	 */
+	@Test
+	public void strips() {
+		int before = ImplMedianHistogramConstant.MAX_HISTOGRAM_ELEMENTS;
+		try {
+			ImplMedianHistogramConstant.MAX_HISTOGRAM_ELEMENTS = 256*10;
+
+			ImageUInt8 image = new ImageUInt8(35,22);
+			ImageMiscOps.fillUniform(image,rand, 0, 200);
+
+			ImageUInt8 found = new ImageUInt8( image.width , image.height );
+			ImageUInt8 expected = new ImageUInt8( image.width , image.height );
+
+			for( int radius = 1; radius <= 4; radius++ ) {
+				ImplMedianSortNaive.process(image,expected,radius,null);
+				new ImplMedianHistogramConstant().process(image,found,radius);
+
+				BoofTesting.assertEquals(expected,found,0);
+			}
+		} finally {
+			ImplMedianHistogramConstant.MAX_HISTOGRAM_ELEMENTS = before;
+		}
+	}
+
+	/**
+	 * Process the image in bands of rows and see if it produces the same results
+	 */
+	@Test
+	public void bands() {
+		ImageUInt16 image = new ImageUInt16(25,30);
+		ImageMiscOps.fillUniform(image,rand, 0, 60000);
+
+		ImageUInt16 found = new ImageUInt16( image.width , image.height );
+		ImageUInt16 expected = new ImageUInt16( image.width , image.height );
+
+		int radius = 5;
+		ImplMedianSortNaive.process(image,expected,radius,null);
+
+		ImplMedianHistogramConstant alg = new ImplMedianHistogramConstant();
+		alg.process(image,found,radius,60000,0,7);
+		alg.process(image,found,radius,60000,7,8);
+		alg.process(image,found,radius,60000,8,30);
+
+		BoofTesting.assertEquals(expected,found,0);
+	}
+
+	@Test
+	public void numberOfBits() {
+		assertEquals(1,ImplMedianHistogramConstant.numberOfBits(0));
+		assertEquals(1,ImplMedianHistogramConstant.numberOfBits(1));
+		assertEquals(2,ImplMedianHistogramConstant.numberOfBits(2));
+		assertEquals(8,ImplMedianHistogramConstant.numberOfBits(255));
+		assertEquals(9,ImplMedianHistogramConstant.numberOfBits(256));
+		assertEquals(16,ImplMedianHistogramConstant.numberOfBits(65535));
+	}
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.filter.blur.impl;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.image.ImageUInt16;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImplMedianHistogramConstant_MT {
+
+	Random rand = new Random(234);
+
+	int originalThreads;
+	int originalWork;
+
+	@Before
+	public void before() {
+		originalThreads = BoofConcurrency.getMaxThreads();
+		originalWork = BoofConcurrency.getMinimumWork();
+		BoofConcurrency.setMaxThreads(7);
+		BoofConcurrency.setMinimumWork(0);
+	}
+
+	@After
+	public void after() {
+		BoofConcurrency.setMaxThreads(originalThreads);
+		BoofConcurrency.setMinimumWork(originalWork);
+	}
+
+	@Test
+	public void compareToSort_U8() {
+		ImageUInt8 image = new ImageUInt8(20,30);
+		ImageMiscOps.fillUniform(image,rand, 0, 200);
+
+		ImageUInt8 found = new ImageUInt8( image.width , image.height );
+		ImageUInt8 expected = new ImageUInt8( image.width , image.height );
+
+		BoofTesting.checkSubImage(this, "compareToSort_U8", true, image, found, expected);
+	}
+
+	public void compareToSort_U8(ImageUInt8 image, ImageUInt8 found, ImageUInt8 expected) {
+		for( int radius = 1; radius <= 10; radius += 3 ) {
+			ImplMedianSortNaive.process(image,expected,radius,null);
+			ImplMedianHistogramConstant_MT.process(image,found,radius);
+
+			BoofTesting.assertEquals(expected,found,0);
+		}
+	}
+
+	@Test
+	public void compareToSort_U16() {
+		ImageUInt16 image = new ImageUInt16(20,30);
+		ImageMiscOps.fillUniform(image,rand, 0, 60000);
+
+		ImageUInt16 found = new ImageUInt16( image.width , image.height );
+		ImageUInt16 expected = new ImageUInt16( image.width , image.height );
+
+		BoofTesting.checkSubImage(this, "compareToSort_U16", true, image, found, expected);
+	}
+
+	public void compareToSort_U16(ImageUInt16 image, ImageUInt16 found, ImageUInt16 expected) {
+		for( int radius = 1; radius <= 10; radius += 3 ) {
+			ImplMedianSortNaive.process(image,expected,radius,null);
+			ImplMedianHistogramConstant_MT.process(image,found,radius);
+
+			BoofTesting.assertEquals(expected,found,0);
+		}
+	}
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.convolve;
+
+import boofcv.alg.filter.convolve.noborder.ConvolveImageStandard;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.factory.filter.kernel.FactoryKernel;
+import boofcv.struct.convolve.Kernel2D_F32;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestConvolveFft_F32 {
+
+	Random rand = new Random(234);
+
+	float tol = 1e-3f;
+
+	/**
+	 * Compare against the standard implementation when the whole image is processed in a single tile
+	 */
+	@Test
+	public void compareToStandard_singleTile() {
+		for( int radius : new int[]{1,4,9} ) {
+			for( int offset : new int[]{0,radius,2*radius} ) {
+				compareToStandard(radius, offset, 60, 45, 64);
+			}
+		}
+	}
+
+	/**
+	 * Compare against the standard implementation when the image is broken up into several tiles
+	 */
+	@Test
+	public void compareToStandard_multipleTiles() {
+		compareToStandard(7, 7, 150, 120, 16);
+		compareToStandard(7, 3, 151, 97, 16);
+		compareToStandard(2, 1, 71, 80, 16);
+	}
+
+	private void compareToStandard( int radius , int offset , int width , int height , int minimumTransform ) {
+		Kernel2D_F32 kernel = FactoryKernel.random2D_F32(radius,-1,1,rand);
+		kernel.offset = offset;
+
+		ImageFloat32 input = new ImageFloat32(width,height);
+		ImageFloat32 found = new ImageFloat32(width,height);
+		ImageFloat32 expected = new ImageFloat32(width,height);
+		ImageMiscOps.fillUniform(input,rand,0,5);
+
+		ConvolveFft_F32 alg = new ConvolveFft_F32();
+		alg.setMinimumTransformWidth(minimumTransform);
+		alg.setKernel(kernel);
+		alg.process(input,found);
+
+		ConvolveImageStandard.convolve(kernel,input,expected);
+
+		BoofTesting.assertEquals(expected,found,tol);
+	}
+
+	/**
+	 * The kernel doesn't have to be square
+	 */
+	@Test
+	public void rectangularKernel() {
+		ImageFloat32 kernel = new ImageFloat32(9,4);
+		ImageMiscOps.fillUniform(kernel,rand,-1,1);
+
+		ImageFloat32 input = new ImageFloat32(70,50);
+		ImageMiscOps.fillUniform(input,rand,0,5);
+		ImageFloat32 found = new ImageFloat32(70,50);
+
+		ConvolveFft_F32 alg = new ConvolveFft_F32();
+		alg.setMinimumTransformWidth(16);
+		alg.setKernel(kernel,2,3);
+		alg.process(input,found);
+
+		for( int y = 3; y < input.height; y++ ) {
+			for( int x = 2; x < input.width-6; x++ ) {
+				float expected = 0;
+				for( int j = 0; j < kernel.height; j++ ) {
+					for( int i = 0; i < kernel.width; i++ ) {
+						expected += kernel.get(i,j)*input.get(x+i-2,y+j-3);
+					}
+				}
+				assertEquals(expected,found.get(x,y),tol);
+			}
+		}
+	}
+
+	/**
+	 * Pixels along the border should not be modified
+	 */
+	@Test
+	public void borderNotModified() {
+		Kernel2D_F32 kernel = FactoryKernel.random2D_F32(4,-1,1,rand);
+		kernel.offset = 3;
+
+		ImageFloat32 input = new ImageFloat32(40,30);
+		ImageMiscOps.fillUniform(input,rand,0,5);
+		ImageFloat32 found = new ImageFloat32(40,30);
+		ImageMiscOps.fill(found,100);
+
+		ConvolveFft_F32 alg = new ConvolveFft_F32();
+		alg.setKernel(kernel);
+		alg.process(input,found);
+
+		for( int y = 0; y < input.height; y++ ) {
+			for( int x = 0; x < input.width; x++ ) {
+				boolean inside = x >= 3 && x < input.width-5 && y >= 3 && y < input.height-5;
+				if( !inside )
+					assertEquals(100,found.get(x,y),0);
+			}
+		}
+	}
+
+	/**
+	 * The kernel is larger than the image and nothing should be modified
+	 */
+	@Test
+	public void kernelLargerThanImage() {
+		Kernel2D_F32 kernel = FactoryKernel.random2D_F32(10,-1,1,rand);
+
+		ImageFloat32 input = new ImageFloat32(15,30);
+		ImageMiscOps.fillUniform(input,rand,0,5);
+		ImageFloat32 found = new ImageFloat32(15,30);
+		ImageMiscOps.fill(found,100);
+
+		ConvolveFft_F32 alg = new ConvolveFft_F32();
+		alg.setKernel(kernel);
+		alg.process(input,found);
+
+		for( int i = 0; i < found.data.length; i++ )
+			assertEquals(100,found.data[i],0);
+	}
+
+	@Test
+	public void subimage() {
+		Kernel2D_F32 kernel = FactoryKernel.random2D_F32(5,-1,1,rand);
+
+		ImageFloat32 input = new ImageFloat32(50,60);
+		ImageMiscOps.fillUniform(input,rand,0,5);
+		ImageFloat32 expected = new ImageFloat32(50,60);
+		ConvolveImageStandard.convolve(kernel,input,expected);
+
+		ImageFloat32 subInput = BoofTesting.createSubImageOf(input);
+		ImageFloat32 subFound = BoofTesting.createSubImageOf(new ImageFloat32(50,60));
+
+		ConvolveFft_F32 alg = new ConvolveFft_F32();
+		alg.setMinimumTransformWidth(16);
+		alg.setKernel(kernel);
+		alg.process(subInput,subFound);
+
+		BoofTesting.assertEquals(expected,subFound,tol);
+	}
+
+	/**
+	 * Change the kernel and the image size between calls.  The kernel's transform should be updated.
+	 */
+	@Test
+	public void multipleCalls() {
+		ConvolveFft_F32 alg = new ConvolveFft_F32();
+
+		int sizes[] = new int[]{40,70,40,100};
+		for( int i = 0; i < sizes.length; i++ ) {
+			Kernel2D_F32 kernel = FactoryKernel.random2D_F32(2+i,-1,1,rand);
+
+			ImageFloat32 input = new ImageFloat32(sizes[i],sizes[i]+5);
+			ImageMiscOps.fillUniform(input,rand,0,5);
+			ImageFloat32 found = new ImageFloat32(input.width,input.height);
+			ImageFloat32 expected = new ImageFloat32(input.width,input.height);
+
+			alg.setKernel(kernel);
+			alg.process(input,found);
+			ConvolveImageStandard.convolve(kernel,input,expected);
+
+			BoofTesting.assertEquals(expected,found,tol);
+		}
+	}
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.filter.convolve;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.core.image.ConvertImage;
+import boofcv.core.image.ConvertImageBuffer;
+import boofcv.factory.filter.kernel.FactoryKernel;
+import boofcv.struct.convolve.Kernel1D_F32;
+import boofcv.struct.convolve.Kernel1D_I32;
+import boofcv.struct.convolve.Kernel2D_F32;
+import boofcv.struct.convolve.Kernel2D_I32;
+import boofcv.struct.image.*;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * Compares the results against {@link ConvolveImageNoBorder}
+ *
+ * @author Peter Abeles
+ */
+public class TestConvolveImageBuffer {
+
+	Random rand = new Random(234);
+	int width = 20;
+	int height = 15;
+
+	@Test
+	public void compare_F32() {
+		ImageFloat32 array = new ImageFloat32(width,height);
+		ImageMiscOps.fillUniform(array, rand, -5, 5);
+
+		for( boolean sub : new boolean[]{false,true}) {
+			ImageBufferFloat32 buffer = sub ?
+					new ImageBufferFloat32(width+3,height+2).subimage(2,1,width+2,height+1,null) :
+					new ImageBufferFloat32(width,height);
+			ConvertImageBuffer.convert(array, buffer);
+
+			for( int offset = 0; offset < 5; offset += 2 ) {
+				Kernel1D_F32 kernel1 = FactoryKernel.random1D_F32(2, -1, 1, rand);
+				kernel1.offset = offset;
+				Kernel2D_F32 kernel2 = FactoryKernel.random2D_F32(2, -1, 1, rand);
+				kernel2.offset = offset;
+
+				ImageFloat32 expected = new ImageFloat32(width,height);
+				ImageFloat32 found = BoofTesting.createSubImageOf(new ImageFloat32(width,height));
+
+				ConvolveImageNoBorder.horizontal(kernel1, array, expected);
+				ConvolveImageBuffer.horizontal(kernel1, buffer, found);
+				BoofTesting.assertEquals(expected, found, 1e-4);
+
+				ConvolveImageNoBorder.vertical(kernel1, array, expected);
+				ConvolveImageBuffer.vertical(kernel1, buffer, found);
+				BoofTesting.assertEquals(expected, found, 1e-4);
+
+				ConvolveImageNoBorder.convolve(kernel2, array, expected);
+				ConvolveImageBuffer.convolve(kernel2, buffer, found);
+				BoofTesting.assertEquals(expected, found, 1e-4);
+			}
+		}
+	}
+
+	@Test
+	public void compare_U8() {
+		ImageUInt8 array = new ImageUInt8(width,height);
+		ImageMiscOps.fillUniform(array, rand, 0, 255);
+
+		ImageFloat32 arrayF32 = new ImageFloat32(width,height);
+		ConvertImage.convert(array, arrayF32);
+
+		for( boolean sub : new boolean[]{false,true}) {
+			ImageBufferUInt8 buffer = sub ?
+					new ImageBufferUInt8(width+3,height+2).subimage(2,1,width+2,height+1,null) :
+					new ImageBufferUInt8(width,height);
+			ConvertImageBuffer.convert(array, buffer);
+
+			for( int offset = 0; offset < 5; offset += 2 ) {
+				Kernel1D_I32 kernel1 = FactoryKernel.random1D_I32(2, -10, 10, rand);
+				kernel1.offset = offset;
+				Kernel2D_I32 kernel2 = FactoryKernel.random2D_I32(2, -10, 10, rand);
+				kernel2.offset = offset;
+
+				ImageSInt16 expected = new ImageSInt16(width,height);
+				ImageSInt16 found = BoofTesting.createSubImageOf(new ImageSInt16(width,height));
+
+				ConvolveImageNoBorder.horizontal(kernel1, array, expected);
+				ConvolveImageBuffer.horizontal(kernel1, buffer, found);
+				BoofTesting.assertEquals(expected, found, 0);
+
+				ConvolveImageNoBorder.vertical(kernel1, array, expected);
+				ConvolveImageBuffer.vertical(kernel1, buffer, found);
+				BoofTesting.assertEquals(expected, found, 0);
+
+				ConvolveImageNoBorder.convolve(kernel2, array, expected);
+				ConvolveImageBuffer.convolve(kernel2, buffer, found);
+				BoofTesting.assertEquals(expected, found, 0);
+
+				// floating point kernel, compared against the converted image
+				Kernel1D_F32 kernelF = FactoryKernel.random1D_F32(2, -1, 1, rand);
+				kernelF.offset = offset;
+				ImageFloat32 expectedF = new ImageFloat32(width,height);
+				ImageFloat32 foundF = BoofTesting.createSubImageOf(new ImageFloat32(width,height));
+
+				ConvolveImageNoBorder.horizontal(kernelF, arrayF32, expectedF);
+				ConvolveImageBuffer.horizontal(kernelF, buffer, foundF);
+				BoofTesting.assertEquals(expectedF, foundF, 1e-3);
+
+				ConvolveImageNoBorder.vertical(kernelF, arrayF32, expectedF);
+				ConvolveImageBuffer.vertical(kernelF, buffer, foundF);
+				BoofTesting.assertEquals(expectedF, foundF, 1e-3);
+			}
+		}
+	}
+}
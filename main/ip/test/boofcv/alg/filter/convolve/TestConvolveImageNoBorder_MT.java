@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.filter.convolve;
+
+import boofcv.concurrency.BoofConcurrency;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestConvolveImageNoBorder_MT {
+
+	int originalThreads;
+	int originalWork;
+
+	@Before
+	public void before() {
+		// more threads than rows in some of the bands to stress the splitting
+		originalThreads = BoofConcurrency.getMaxThreads();
+		originalWork = BoofConcurrency.getMinimumWork();
+		BoofConcurrency.setMaxThreads(7);
+		BoofConcurrency.setMinimumWork(0);
+	}
+
+	@After
+	public void after() {
+		BoofConcurrency.setMaxThreads(originalThreads);
+		BoofConcurrency.setMinimumWork(originalWork);
+	}
+
+	@Test
+	public void compareToStandard_symmetric() {
+		CompareToStandardConvolution a = new CompareToStandardConvolution(ConvolveImageNoBorder_MT.class);
+		a.setKernelRadius(2);
+		a.setOffset(2);
+		a.performTests(22);
+	}
+
+	@Test
+	public void compareToStandard_UNsymmetric() {
+		CompareToStandardConvolution a = new CompareToStandardConvolution(ConvolveImageNoBorder_MT.class);
+		a.setKernelRadius(2);
+		a.setOffset(1);
+		a.performTests(22);
+	}
+
+	/**
+	 * Turn on concurrency globally and see if the single threaded interface produces the same results
+	 */
+	@Test
+	public void useConcurrent() {
+		BoofConcurrency.USE_CONCURRENT = true;
+		try {
+			CompareToStandardConvolution a = new CompareToStandardConvolution(ConvolveImageNoBorder.class);
+			a.setKernelRadius(3);
+			a.setOffset(1);
+			a.performTests(22);
+		} finally {
+			BoofConcurrency.USE_CONCURRENT = false;
+		}
+	}
+}
@@ -20,6 +20,7 @@ package boofcv.alg.filter.misc;
 
 import boofcv.alg.misc.GImageMiscOps;
 import boofcv.core.image.GeneralizedImageOps;
+import boofcv.core.image.InterleavedImageOps;
 import boofcv.struct.image.*;
 import boofcv.testing.BoofTesting;
 import org.junit.Test;
@@ -62,4 +63,40 @@ public class TestAverageDownSampleOps {
 			BoofTesting.assertEquals(expected,found,1e-4);
 		}
 	}
+
+	/**
+	 * Interleaved images should produce the same results as down sampling each band independently
+	 */
+	@Test
+	public void down_interleaved() {
+		for( int sampleWidth = 2; sampleWidth <= 4; sampleWidth++ ) {
+			InterleavedU8 inputU8 = new InterleavedU8(17,14,3);
+			GImageMiscOps.fillUniform(inputU8, rand, 0, 255);
+			InterleavedU8 foundU8 = new InterleavedU8(1,1,3);
+			AverageDownSampleOps.reshapeDown(foundU8, inputU8.width, inputU8.height, sampleWidth);
+			AverageDownSampleOps.down(inputU8, sampleWidth, foundU8);
+
+			MultiSpectral<ImageUInt8> bandsU8 = new MultiSpectral<ImageUInt8>(ImageUInt8.class,17,14,3);
+			MultiSpectral<ImageUInt8> expectedU8 = new MultiSpectral<ImageUInt8>(ImageUInt8.class,foundU8.width,foundU8.height,3);
+			InterleavedImageOps.split(inputU8, bandsU8);
+			AverageDownSampleOps.down(bandsU8, sampleWidth, expectedU8);
+			MultiSpectral<ImageUInt8> splitU8 = new MultiSpectral<ImageUInt8>(ImageUInt8.class,foundU8.width,foundU8.height,3);
+			InterleavedImageOps.split(foundU8, splitU8);
+			BoofTesting.assertEquals(expectedU8, splitU8, 0);
+
+			InterleavedF32 inputF32 = new InterleavedF32(17,14,3);
+			GImageMiscOps.fillUniform(inputF32, rand, 0, 255);
+			InterleavedF32 foundF32 = new InterleavedF32(1,1,3);
+			AverageDownSampleOps.reshapeDown(foundF32, inputF32.width, inputF32.height, sampleWidth);
+			AverageDownSampleOps.down(inputF32, sampleWidth, foundF32);
+
+			MultiSpectral<ImageFloat32> bandsF32 = new MultiSpectral<ImageFloat32>(ImageFloat32.class,17,14,3);
+			MultiSpectral<ImageFloat32> expectedF32 = new MultiSpectral<ImageFloat32>(ImageFloat32.class,foundF32.width,foundF32.height,3);
+			InterleavedImageOps.split(inputF32, bandsF32);
+			AverageDownSampleOps.down(bandsF32, sampleWidth, expectedF32);
+			MultiSpectral<ImageFloat32> splitF32 = new MultiSpectral<ImageFloat32>(ImageFloat32.class,foundF32.width,foundF32.height,3);
+			InterleavedImageOps.split(foundF32, splitF32);
+			BoofTesting.assertEquals(expectedF32, splitF32, 1e-4);
+		}
+	}
 }
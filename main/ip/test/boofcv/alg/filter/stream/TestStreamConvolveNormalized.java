@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.filter.stream;
+
+import boofcv.alg.filter.blur.BlurImageOps;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.factory.filter.stream.FactoryStreamFilter;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestStreamConvolveNormalized {
+
+	Random rand = new Random(234);
+
+	@Test
+	public void gaussian() {
+		// the last image is smaller than the kernel
+		int sizes[][] = new int[][]{{20,25},{31,12},{3,4}};
+
+		for( int[] s : sizes ) {
+			ImageFloat32 input = new ImageFloat32(s[0],s[1]);
+			ImageMiscOps.fillUniform(input, rand, 0, 100);
+
+			for( int radius = 1; radius <= 4; radius++ ) {
+				ImageFloat32 expected = BlurImageOps.gaussian(input, null, -1, radius, null);
+
+				RowToImage found = new RowToImage();
+				StreamImageRows.process(input, FactoryStreamFilter.gaussian(-1,radius,found));
+
+				BoofTesting.assertEquals(expected, found.getImage(), 1e-3);
+			}
+		}
+	}
+
+	@Test
+	public void mean() {
+		int sizes[][] = new int[][]{{20,25},{31,12},{3,4}};
+
+		for( int[] s : sizes ) {
+			ImageFloat32 input = new ImageFloat32(s[0],s[1]);
+			ImageMiscOps.fillUniform(input, rand, 0, 100);
+
+			for( int radius = 1; radius <= 4; radius++ ) {
+				ImageFloat32 expected = BlurImageOps.mean(input, null, radius, null);
+
+				RowToImage found = new RowToImage();
+				StreamImageRows.process(input, FactoryStreamFilter.mean(radius, found));
+
+				BoofTesting.assertEquals(expected, found.getImage(), 1e-3);
+			}
+		}
+	}
+
+	/**
+	 * Process images of different shapes with the same instance
+	 */
+	@Test
+	public void reuse() {
+		RowToImage found = new RowToImage();
+		RowSink alg = FactoryStreamFilter.gaussian(-1, 2, found);
+
+		ImageFloat32 input = new ImageFloat32(20,15);
+		for( int i = 0; i < 3; i++ ) {
+			ImageMiscOps.fillUniform(input, rand, 0, 100);
+			ImageFloat32 expected = BlurImageOps.gaussian(input, null, -1, 2, null);
+
+			StreamImageRows.process(input, alg);
+			BoofTesting.assertEquals(expected, found.getImage(), 1e-3);
+
+			input = new ImageFloat32(input.width+7,input.height-3);
+		}
+	}
+}
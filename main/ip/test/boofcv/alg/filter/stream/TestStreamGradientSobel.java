@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.filter.stream;
+
+import boofcv.alg.filter.derivative.GradientSobel;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.core.image.border.FactoryImageBorderAlgs;
+import boofcv.factory.filter.stream.FactoryStreamFilter;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestStreamGradientSobel {
+
+	Random rand = new Random(234);
+
+	@Test
+	public void compareToGradientSobel() {
+		int sizes[][] = new int[][]{{20,25},{31,12},{3,4}};
+
+		for( int[] s : sizes ) {
+			ImageFloat32 input = new ImageFloat32(s[0],s[1]);
+			ImageMiscOps.fillUniform(input, rand, 0, 100);
+
+			ImageFloat32 derivX = new ImageFloat32(input.width,input.height);
+			ImageFloat32 derivY = new ImageFloat32(input.width,input.height);
+			GradientSobel.process(input,derivX,derivY,FactoryImageBorderAlgs.extend(input));
+
+			GradientRowToImage found = new GradientRowToImage();
+			StreamImageRows.process(input, FactoryStreamFilter.sobel(found));
+
+			BoofTesting.assertEquals(derivX, found.getDerivX(), 1e-4);
+			BoofTesting.assertEquals(derivY, found.getDerivY(), 1e-4);
+		}
+	}
+
+	/**
+	 * Blur followed by the gradient in a single pass
+	 */
+	@Test
+	public void chained() {
+		ImageFloat32 input = new ImageFloat32(30,25);
+		ImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		ImageFloat32 blurred = new ImageFloat32(input.width,input.height);
+		RowToImage blurOut = new RowToImage(blurred);
+		StreamImageRows.process(input, FactoryStreamFilter.gaussian(-1, 2, blurOut));
+
+		ImageFloat32 derivX = new ImageFloat32(input.width,input.height);
+		ImageFloat32 derivY = new ImageFloat32(input.width,input.height);
+		GradientSobel.process(blurred,derivX,derivY,FactoryImageBorderAlgs.extend(blurred));
+
+		GradientRowToImage found = new GradientRowToImage();
+		StreamImageRows.process(input, FactoryStreamFilter.gaussian(-1, 2, FactoryStreamFilter.sobel(found)));
+
+		BoofTesting.assertEquals(derivX, found.getDerivX(), 1e-4);
+		BoofTesting.assertEquals(derivY, found.getDerivY(), 1e-4);
+	}
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.filter.stream;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.core.image.ConvertImage;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestStreamImageRows {
+
+	Random rand = new Random(234);
+
+	@Test
+	public void process_F32() {
+		ImageFloat32 input = new ImageFloat32(20,25);
+		ImageMiscOps.fillUniform(input, rand, 0, 100);
+		BoofTesting.checkSubImage(this, "process_F32", true, input);
+	}
+
+	public void process_F32( ImageFloat32 input ) {
+		RowToImage found = new RowToImage();
+		StreamImageRows.process(input,found);
+
+		BoofTesting.assertEquals(input, found.getImage(), 0);
+	}
+
+	@Test
+	public void process_U8() {
+		ImageUInt8 input = new ImageUInt8(20,25);
+		ImageMiscOps.fillUniform(input, rand, 0, 255);
+		BoofTesting.checkSubImage(this, "process_U8", true, input);
+	}
+
+	public void process_U8( ImageUInt8 input ) {
+		ImageFloat32 expected = new ImageFloat32(input.width,input.height);
+		ConvertImage.convert(input,expected);
+
+		RowToImage found = new RowToImage();
+		StreamImageRows.process(input,found);
+
+		BoofTesting.assertEquals(expected, found.getImage(), 0);
+	}
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.interpolate.impl;
+
+import boofcv.alg.interpolate.InterpolatePixelMB;
+import boofcv.alg.interpolate.InterpolatePixelS;
+import boofcv.alg.interpolate.TypeInterpolate;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.core.image.InterleavedImageOps;
+import boofcv.factory.interpolate.FactoryInterpolation;
+import boofcv.struct.image.*;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compares the interleaved implementations against the single band implementation applied to each band
+ *
+ * @author Peter Abeles
+ */
+public class TestImplBilinearPixel_IL {
+
+	Random rand = new Random(234);
+	int width = 20;
+	int height = 15;
+
+	@Test
+	public void compare_U8() {
+		InterleavedU8 image = new InterleavedU8(width,height,3);
+		GImageMiscOps.fillUniform(image, rand, 0, 255);
+		MultiSpectral<ImageUInt8> bands = new MultiSpectral<ImageUInt8>(ImageUInt8.class,width,height,3);
+		InterleavedImageOps.split(image,bands);
+
+		InterpolatePixelS<ImageUInt8> single = new ImplBilinearPixel_U8();
+		compare(new ImplBilinearPixel_IL_U8(image), bands, single);
+	}
+
+	@Test
+	public void compare_F32() {
+		InterleavedF32 image = new InterleavedF32(width,height,3);
+		GImageMiscOps.fillUniform(image, rand, 0, 255);
+		MultiSpectral<ImageFloat32> bands = new MultiSpectral<ImageFloat32>(ImageFloat32.class,width,height,3);
+		InterleavedImageOps.split(image,bands);
+
+		InterpolatePixelS<ImageFloat32> single = new ImplBilinearPixel_F32();
+		compare(new ImplBilinearPixel_IL_F32(image), bands, single);
+	}
+
+	@Test
+	public void factory() {
+		InterpolatePixelMB<InterleavedU8> alg = FactoryInterpolation.createPixelMB(0,255,
+				TypeInterpolate.BILINEAR, ImageType.interleaved(3, InterleavedU8.class));
+		assertTrue(alg instanceof ImplBilinearPixel_IL_U8);
+	}
+
+	private <T extends ImageSingleBand>
+	void compare( InterpolatePixelMB alg , MultiSpectral<T> bands , InterpolatePixelS<T> single ) {
+		float found[] = new float[3];
+
+		for( int i = 0; i < 100; i++ ) {
+			float x = rand.nextFloat()*(width-1);
+			float y = rand.nextFloat()*(height-1);
+
+			alg.get(x, y, found);
+			for( int band = 0; band < 3; band++ ) {
+				single.setImage(bands.getBand(band));
+				assertEquals(single.get(x,y),found[band],1e-3f);
+			}
+
+			if( alg.isInFastBounds(x,y)) {
+				alg.get_fast(x, y, found);
+				for( int band = 0; band < 3; band++ ) {
+					single.setImage(bands.getBand(band));
+					assertEquals(single.get_fast(x,y),found[band],1e-3f);
+				}
+			}
+		}
+
+		// the image border
+		alg.get(width-1, height-1, found);
+		for( int band = 0; band < 3; band++ ) {
+			single.setImage(bands.getBand(band));
+			assertEquals(single.get(width-1,height-1),found[band],1e-3f);
+		}
+	}
+}
@@ -93,6 +93,8 @@ public abstract class BaseGClassChecksInMisc extends CompareEquivalentFunctions
 	protected ImageBase createImage( Class imageType , Class bandType) {
 		if( ImageSingleBand.class.isAssignableFrom(imageType) ) {
 			return GeneralizedImageOps.createSingleBand(imageType, width, height);
+		} else if( ImageInterleaved.class.isAssignableFrom(imageType) ) {
+			return GeneralizedImageOps.createInterleaved(imageType, width, height, numBands);
 		} else if( bandType != null ) {
 			return new MultiSpectral(bandType,width,height,3);
 		}
@@ -18,6 +18,7 @@
 
 package boofcv.alg.misc;
 
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.core.image.GeneralizedImageOps;
 import boofcv.struct.image.ImageBase;
 import boofcv.struct.image.ImageSingleBand;
@@ -44,6 +45,26 @@ public class TestGImageMiscOps extends BaseGClassChecksInMisc{
 		performTests(12);
 	}
 
+	/**
+	 * Same as the previous test, but with the generalized functions splitting the images across threads
+	 */
+	@Test
+	public void compareToImageMiscOps_concurrent() {
+		int originalThreads = BoofConcurrency.getMaxThreads();
+		int originalWork = BoofConcurrency.getMinimumWork();
+		boolean original = BoofConcurrency.USE_CONCURRENT;
+		try {
+			BoofConcurrency.setMaxThreads(7);
+			BoofConcurrency.setMinimumWork(0);
+			BoofConcurrency.USE_CONCURRENT = true;
+			performTests(12);
+		} finally {
+			BoofConcurrency.USE_CONCURRENT = original;
+			BoofConcurrency.setMaxThreads(originalThreads);
+			BoofConcurrency.setMinimumWork(originalWork);
+		}
+	}
+
 	@Override
 	protected Object[][] createInputParam(Method candidate, Method validation) {
 		Class<?> param[] = validation.getParameterTypes();
@@ -37,7 +37,7 @@ public class TestGImageStatistics extends BaseGClassChecksInMisc {
 
 	@Test
 	public void compareToPixelMath() {
-		performTests(9);
+		performTests(10);
 	}
 
 	@Override
@@ -78,6 +78,14 @@ public class TestGImageStatistics extends BaseGClassChecksInMisc {
 			ret[0][0] = inputA;
 			ret[0][1] = -10;
 			ret[0][2] = new int[histogramSize];
+		} else if( name.equals("statistics")) {
+			int histogramSize = 10;
+			if( inputA.getDataType().isSigned() )
+				histogramSize += 11;
+			ret[0][0] = inputA;
+			ret[0][1] = -10;
+			ret[0][2] = new int[histogramSize];
+			ret[0][3] = null;
 		}
 
 		fillRandom(inputA);
@@ -88,7 +96,15 @@ public class TestGImageStatistics extends BaseGClassChecksInMisc {
 
 	@Override
 	protected void compareResults(Object targetResult, Object[] targetParam, Object validationResult, Object[] validationParam) {
-		if( targetResult != null ) {
+		if( targetResult instanceof PixelStatistics ) {
+			PixelStatistics statsT = (PixelStatistics)targetResult;
+			PixelStatistics statsV = (PixelStatistics)validationResult;
+
+			assertTrue(statsT.min == statsV.min);
+			assertTrue(statsT.max == statsV.max);
+			assertTrue(statsT.mean == statsV.mean);
+			assertTrue(statsT.variance == statsV.variance);
+		} else if( targetResult != null ) {
 			double valueT = ((Number) targetResult).doubleValue();
 			double valueV = ((Number) validationResult).doubleValue();
 
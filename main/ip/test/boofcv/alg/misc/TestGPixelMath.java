@@ -18,7 +18,9 @@
 
 package boofcv.alg.misc;
 
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.struct.image.ImageBase;
+import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.testing.BoofTesting;
 import org.junit.Test;
@@ -38,7 +40,48 @@ public class TestGPixelMath extends BaseGClassChecksInMisc {
 
 	@Test
 	public void compareToPixelMath() {
-		performTests(18);
+		performTests(19);
+	}
+
+	/**
+	 * Same as the previous test, but with the generalized functions splitting the images across threads
+	 */
+	@Test
+	public void compareToPixelMath_concurrent() {
+		int originalThreads = BoofConcurrency.getMaxThreads();
+		int originalWork = BoofConcurrency.getMinimumWork();
+		boolean original = BoofConcurrency.USE_CONCURRENT;
+		try {
+			BoofConcurrency.setMaxThreads(7);
+			BoofConcurrency.setMinimumWork(0);
+			BoofConcurrency.USE_CONCURRENT = true;
+			performTests(19);
+		} finally {
+			BoofConcurrency.USE_CONCURRENT = original;
+			BoofConcurrency.setMaxThreads(originalThreads);
+			BoofConcurrency.setMinimumWork(originalWork);
+		}
+	}
+
+	/**
+	 * Images with different shapes should be rejected on the concurrent path the same way as the single
+	 * threaded path
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void concurrent_mismatchedShape() {
+		int originalThreads = BoofConcurrency.getMaxThreads();
+		int originalWork = BoofConcurrency.getMinimumWork();
+		boolean original = BoofConcurrency.USE_CONCURRENT;
+		try {
+			BoofConcurrency.setMaxThreads(7);
+			BoofConcurrency.setMinimumWork(0);
+			BoofConcurrency.USE_CONCURRENT = true;
+			GPixelMath.abs(new ImageFloat32(400,300), new ImageFloat32(401,300));
+		} finally {
+			BoofConcurrency.USE_CONCURRENT = original;
+			BoofConcurrency.setMaxThreads(originalThreads);
+			BoofConcurrency.setMinimumWork(originalWork);
+		}
 	}
 
 	@Override
@@ -166,11 +209,12 @@ public class TestGPixelMath extends BaseGClassChecksInMisc {
 			which = 0;
 		}
 
-		ImageSingleBand t = (ImageSingleBand)targetParam[which];
-		ImageSingleBand v = (ImageSingleBand)validationParam[which];
+		ImageBase t = (ImageBase)targetParam[which];
+		ImageBase v = (ImageBase)validationParam[which];
 
 		// if it is full of zeros something went wrong
-		assertTrue(GImageStatistics.maxAbs(t) != 0);
+		if( t instanceof ImageSingleBand )
+			assertTrue(GImageStatistics.maxAbs((ImageSingleBand)t) != 0);
 
 		BoofTesting.assertEquals(t, v, 0);
 	}
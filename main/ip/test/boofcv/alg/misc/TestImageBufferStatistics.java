@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.misc;
+
+import boofcv.core.image.ConvertImageBuffer;
+import boofcv.struct.image.ImageBufferFloat32;
+import boofcv.struct.image.ImageBufferUInt8;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares the results against {@link ImageStatistics}
+ *
+ * @author Peter Abeles
+ */
+public class TestImageBufferStatistics {
+
+	Random rand = new Random(234);
+	int width = 20;
+	int height = 15;
+
+	@Test
+	public void compare_U8() {
+		ImageUInt8 array = new ImageUInt8(width,height);
+		ImageMiscOps.fillUniform(array, rand, 0, 255);
+		ImageBufferUInt8 buffer = ConvertImageBuffer.convert(array,
+				new ImageBufferUInt8(width+2,height+1).subimage(1,1,width+1,height+1,null));
+
+		assertEquals(ImageStatistics.min(array), ImageBufferStatistics.min(buffer));
+		assertEquals(ImageStatistics.max(array), ImageBufferStatistics.max(buffer));
+		assertEquals(ImageStatistics.sum(array), ImageBufferStatistics.sum(buffer));
+		assertEquals(ImageStatistics.mean(array), ImageBufferStatistics.mean(buffer), 1e-8);
+		assertEquals(ImageStatistics.variance(array, 100), ImageBufferStatistics.variance(buffer, 100), 1e-8);
+
+		int expected[] = new int[256];
+		int found[] = new int[256];
+		ImageStatistics.histogram(array, expected);
+		ImageBufferStatistics.histogram(buffer, found);
+		assertArrayEquals(expected, found);
+	}
+
+	@Test
+	public void compare_F32() {
+		ImageFloat32 array = new ImageFloat32(width,height);
+		ImageMiscOps.fillUniform(array, rand, -5, 5);
+		ImageBufferFloat32 buffer = ConvertImageBuffer.convert(array,
+				new ImageBufferFloat32(width+2,height+1).subimage(1,1,width+1,height+1,null));
+
+		assertEquals(ImageStatistics.min(array), ImageBufferStatistics.min(buffer), 0);
+		assertEquals(ImageStatistics.max(array), ImageBufferStatistics.max(buffer), 0);
+		assertEquals(ImageStatistics.sum(array), ImageBufferStatistics.sum(buffer), 0);
+		assertEquals(ImageStatistics.mean(array), ImageBufferStatistics.mean(buffer), 0);
+		assertEquals(ImageStatistics.variance(array, 0.5), ImageBufferStatistics.variance(buffer, 0.5), 1e-8);
+	}
+}
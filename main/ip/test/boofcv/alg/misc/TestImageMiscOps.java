@@ -22,8 +22,11 @@ import boofcv.core.image.FactoryGImageSingleBand;
 import boofcv.core.image.GImageSingleBand;
 import boofcv.core.image.GeneralizedImageOps;
 import boofcv.struct.image.ImageBase;
+import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageInterleaved;
 import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
 import org.junit.Test;
 
 import java.lang.reflect.InvocationTargetException;
@@ -44,6 +47,49 @@ public class TestImageMiscOps {
 	int numBands = 3;
 	Random rand = new Random(234);
 
+	/**
+	 * Fill a sub-image and make sure only the pixels inside the sub-image are modified
+	 */
+	@Test
+	public void fill_subimage() {
+		ImageUInt8 image = new ImageUInt8(width,height);
+		ImageUInt8 sub = image.subimage(2,3,7,9,null);
+
+		ImageMiscOps.fill(sub,5);
+
+		for( int y = 0; y < height; y++ ) {
+			for( int x = 0; x < width; x++ ) {
+				int expected = x >= 2 && x < 7 && y >= 3 && y < 9 ? 5 : 0;
+				assertEquals(expected,image.get(x,y));
+			}
+		}
+	}
+
+	/**
+	 * Only the part of the rectangle which is inside the image should be drawn
+	 */
+	@Test
+	public void fillRectangle_partial() {
+		ImageFloat32 image = new ImageFloat32(width,height);
+		ImageFloat32 sub = BoofTesting.createSubImageOf(image);
+
+		ImageMiscOps.fillRectangle(image,2,6,-3,20,7);
+		ImageMiscOps.fillRectangle(sub,2,6,-3,20,7);
+
+		for( int y = 0; y < height; y++ ) {
+			for( int x = 0; x < width; x++ ) {
+				float expected = x >= 6 && y < 4 ? 2 : 0;
+				assertEquals(expected,image.get(x,y),1e-8);
+			}
+		}
+		BoofTesting.assertEquals(image,sub,1e-8);
+
+		// completely outside
+		ImageMiscOps.fillRectangle(image,3,width,0,5,5);
+		ImageMiscOps.fillRectangle(image,3,-10,0,5,5);
+		BoofTesting.assertEquals(sub,image,1e-8);
+	}
+
 	@Test
 	public void checkAll() {
 		int numExpected = 12*6 + 8*2;
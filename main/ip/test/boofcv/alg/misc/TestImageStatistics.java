@@ -22,6 +22,8 @@ import boofcv.core.image.FactoryGImageSingleBand;
 import boofcv.core.image.GImageSingleBand;
 import boofcv.core.image.GeneralizedImageOps;
 import boofcv.struct.image.ImageBase;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageFloat64;
 import boofcv.struct.image.ImageSingleBand;
 import org.junit.Test;
 
@@ -30,6 +32,7 @@ import java.lang.reflect.Method;
 import java.util.Random;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author Peter Abeles
@@ -41,7 +44,7 @@ public class TestImageStatistics {
 
 	@Test
 	public void checkAll() {
-		int numExpected = 9*8;
+		int numExpected = 10*8;
 		Method methods[] = ImageStatistics.class.getMethods();
 
 		// sanity check to make sure the functions are being found
@@ -70,6 +73,8 @@ public class TestImageStatistics {
 					testMeanDiffAbs(m);
 				} else if( m.getName().compareTo("histogram") == 0 ) {
 					testHistogram(m);
+				} else if( m.getName().compareTo("statistics") == 0 ) {
+					testStatistics(m);
 				} else {
 					throw new RuntimeException("Unknown function: "+m.getName());
 				}
@@ -327,4 +332,101 @@ public class TestImageStatistics {
 		}
 	}
 
+	private void testStatistics(Method m) throws InvocationTargetException, IllegalAccessException {
+		Class paramTypes[] = m.getParameterTypes();
+		ImageSingleBand inputA = GeneralizedImageOps.createSingleBand(paramTypes[0], width, height);
+
+		int histogram[] = new int[ 100 ];
+		for( int i = 0; i < histogram.length; i++ )
+			histogram[i] = 100;
+
+		int minValue;
+		PixelStatistics found;
+		if( inputA.getDataType().isSigned() ) {
+			GImageMiscOps.fillUniform(inputA, rand, -20,20);
+			minValue = -20;
+			found = (PixelStatistics)m.invoke(null,inputA,minValue,histogram,null);
+		} else {
+			GImageMiscOps.fillUniform(inputA, rand, 0,40);
+			minValue = 0;
+			found = (PixelStatistics)m.invoke(null,inputA,histogram,null);
+		}
+
+		// see if the histogram is optional and if the output is recycled
+		PixelStatistics found2 = new PixelStatistics();
+		if( inputA.getDataType().isSigned() ) {
+			assertTrue(found2 == m.invoke(null,inputA,minValue,null,found2));
+		} else {
+			assertTrue(found2 == m.invoke(null,inputA,null,found2));
+		}
+
+		int expectedHist[] = new int[ 100 ];
+		double min = Double.MAX_VALUE, max = -Double.MAX_VALUE, total = 0;
+		for( int i = 0; i < height; i++ ) {
+			for( int j = 0; j < width; j++ ) {
+				double a = GeneralizedImageOps.get(inputA,j,i);
+				expectedHist[ -minValue + (int)a ]++;
+				min = Math.min(min,a);
+				max = Math.max(max,a);
+				total += a;
+			}
+		}
+		double mean = total/(width*height);
+		double variance = 0;
+		for( int i = 0; i < height; i++ ) {
+			for( int j = 0; j < width; j++ ) {
+				double d = GeneralizedImageOps.get(inputA,j,i) - mean;
+				variance += d*d;
+			}
+		}
+		variance /= width*height;
+
+		for( PixelStatistics s : new PixelStatistics[]{found,found2}) {
+			assertEquals(min, s.min, 1e-8);
+			assertEquals(max, s.max, 1e-8);
+			assertEquals(mean, s.mean, 1e-8);
+			assertEquals(variance, s.variance, 1e-8);
+		}
+
+		for( int i = 0; i < 100; i++ ) {
+			assertEquals("index "+i,expectedHist[i],histogram[i]);
+		}
+	}
+
+	/**
+	 * Floating point sums should be compensated and not suffer from round off error
+	 */
+	@Test
+	public void sum_accuracy() {
+		ImageFloat32 input = new ImageFloat32(1000,1000);
+		ImageMiscOps.fill(input,0.1f);
+		input.set(0,0,1e7f);
+
+		double expected = 1e7 + (1000*1000-1)*(double)0.1f;
+		assertEquals(expected,ImageStatistics.sum(input),expected*1e-7);
+
+		ImageFloat64 input64 = new ImageFloat64(1000,1000);
+		ImageMiscOps.fill(input64,0.1);
+		input64.set(0,0,1e15);
+
+		expected = 1e15 + (1000*1000-1)*0.1;
+		assertEquals(expected,ImageStatistics.sum(input64),1e-3);
+	}
+
+	/**
+	 * The mean is large relative to the variance, which causes problems for naive single pass algorithms
+	 */
+	@Test
+	public void statistics_largeOffset() {
+		ImageFloat64 input = new ImageFloat64(300,200);
+		for( int i = 0; i < input.data.length; i++ )
+			input.data[i] = 1e9 + (i%2);
+
+		PixelStatistics found = ImageStatistics.statistics(input,0,null,null);
+
+		assertEquals(1e9,found.min,1e-8);
+		assertEquals(1e9+1,found.max,1e-8);
+		assertEquals(1e9+0.5,found.mean,1e-6);
+		assertEquals(0.25,found.variance,1e-6);
+	}
 }
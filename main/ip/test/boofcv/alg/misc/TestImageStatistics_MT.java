@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.misc;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.struct.image.ImageBase;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.testing.BoofTesting;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compares the concurrent functions against the single threaded versions.  The results should be identical.
+ *
+ * @author Peter Abeles
+ */
+public class TestImageStatistics_MT {
+
+	Random rand = new Random(234);
+	int width = 25;
+	int height = 40;
+
+	int originalThreads;
+	int originalWork;
+
+	@Before
+	public void before() {
+		originalThreads = BoofConcurrency.getMaxThreads();
+		originalWork = BoofConcurrency.getMinimumWork();
+		BoofConcurrency.setMaxThreads(7);
+		BoofConcurrency.setMinimumWork(0);
+	}
+
+	@After
+	public void after() {
+		BoofConcurrency.setMaxThreads(originalThreads);
+		BoofConcurrency.setMinimumWork(originalWork);
+	}
+
+	@Test
+	public void compareToSingleThread() throws Exception {
+		int numFound = 0;
+
+		for( Method m : ImageStatistics_MT.class.getMethods() ) {
+			Class param[] = m.getParameterTypes();
+			if( param.length < 1 || !ImageBase.class.isAssignableFrom(param[0]) )
+				continue;
+
+			Method validation = ImageStatistics.class.getMethod(m.getName(),param);
+
+			ImageSingleBand inputA = createImage(param[0]);
+			ImageSingleBand inputB = createImage(param[0]);
+
+			Object[] args = new Object[param.length];
+			args[0] = inputA;
+			for( int i = 1; i < param.length; i++ ) {
+				if( param[i] == param[0] )
+					args[i] = inputB;
+				else if( param[i] == double.class )
+					args[i] = 2.5;
+				else if( param[i] == int.class )
+					args[i] = -20;
+				else if( param[i] == int[].class )
+					args[i] = new int[ 200 ];
+			}
+
+			BoofTesting.checkSubImage(this, "compare", false, m, validation, args);
+			numFound++;
+		}
+
+		assertEquals(10*8,numFound);
+	}
+
+	public void compare( Method m , Method validation , Object[] args ) throws Exception {
+		Object[] argsV = args.clone();
+		for( int i = 0; i < args.length; i++ ) {
+			if( args[i] instanceof int[] )
+				argsV[i] = new int[((int[])args[i]).length];
+		}
+
+		Object found = m.invoke(null,args);
+		Object expected = validation.invoke(null,argsV);
+
+		if( found instanceof PixelStatistics ) {
+			PixelStatistics f = (PixelStatistics)found;
+			PixelStatistics e = (PixelStatistics)expected;
+			assertTrue(f.min == e.min);
+			assertTrue(f.max == e.max);
+			assertTrue(f.mean == e.mean);
+			assertTrue(f.variance == e.variance);
+		} else if( found != null ) {
+			// should be identical, not just close
+			assertTrue(((Number)found).doubleValue() == ((Number)expected).doubleValue());
+		}
+
+		for( int i = 0; i < args.length; i++ ) {
+			if( args[i] instanceof int[] )
+				assertArrayEquals((int[])argsV[i],(int[])args[i]);
+		}
+	}
+
+	private ImageSingleBand createImage( Class type ) {
+		ImageSingleBand image = GeneralizedImageOps.createSingleBand(type, width, height);
+		if( image.getDataType().isSigned() )
+			GImageMiscOps.fillUniform(image, rand, -20, 20);
+		else
+			GImageMiscOps.fillUniform(image, rand, 0, 100);
+		if( !image.getDataType().isInteger() ) {
+			// values which can't be summed exactly
+			GPixelMath.multiply(image,1.0/3.0,image);
+		}
+		return image;
+	}
+}
@@ -21,11 +21,11 @@ package boofcv.alg.misc;
 import boofcv.core.image.FactoryGImageSingleBand;
 import boofcv.core.image.GImageSingleBand;
 import boofcv.core.image.GeneralizedImageOps;
-import boofcv.struct.image.ImageBase;
-import boofcv.struct.image.ImageSingleBand;
-import boofcv.struct.image.MultiSpectral;
+import boofcv.struct.image.*;
+import boofcv.testing.BoofTesting;
 import org.junit.Test;
 
+import java.lang.reflect.Array;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Random;
@@ -113,6 +113,52 @@ public class TestPixelMath {
 			throw new RuntimeException("Unexpected number of methods: Found "+numFound+"  expected "+numExpected);
 	}
 
+	/**
+	 * Sub-images are not contiguous in memory and are processed one row at a time.  Compare against contiguous images
+	 */
+	@Test
+	public void subimage() {
+		ImageFloat32 a = new ImageFloat32(width,height);
+		ImageFloat32 b = new ImageFloat32(width,height);
+		ImageMiscOps.fillUniform(a, rand, -10, 10);
+		ImageMiscOps.fillUniform(b, rand, -10, 10);
+		ImageFloat32 subA = BoofTesting.createSubImageOf(a);
+		ImageFloat32 subB = BoofTesting.createSubImageOf(b);
+
+		ImageFloat32 expected = new ImageFloat32(width,height);
+		ImageFloat32 found = BoofTesting.createSubImageOf(expected);
+
+		PixelMath.abs(a, expected);
+		PixelMath.abs(subA, found);
+		BoofTesting.assertEquals(expected, found, 1e-8);
+
+		PixelMath.multiply(a, 2.5f, -5, 5, expected);
+		PixelMath.multiply(subA, 2.5f, -5, 5, found);
+		BoofTesting.assertEquals(expected, found, 1e-8);
+
+		PixelMath.subtract(a, b, expected);
+		PixelMath.subtract(subA, b, found);
+		BoofTesting.assertEquals(expected, found, 1e-8);
+
+		PixelMath.subtract(subA, subB, found);
+		BoofTesting.assertEquals(expected, found, 1e-8);
+
+		PixelMath.boundImage(expected, -2, 3);
+		PixelMath.boundImage(found, -2, 3);
+		BoofTesting.assertEquals(expected, found, 1e-8);
+
+		// interleaved images are processed as a single band image which is numBands times wider
+		InterleavedU8 c = new InterleavedU8(width,height,3);
+		ImageMiscOps.fillUniform(c, rand, 0, 100);
+		InterleavedU8 subC = BoofTesting.createSubImageOf(c);
+		InterleavedU8 expectedC = new InterleavedU8(width,height,3);
+		InterleavedU8 foundC = BoofTesting.createSubImageOf(expectedC);
+
+		PixelMath.plus(c, 200, 0, 255, expectedC);
+		PixelMath.plus(subC, 200, 0, 255, foundC);
+		BoofTesting.assertEquals(expectedC, foundC, 1e-8);
+	}
+
 	private boolean isTestMethod(Method m ) {
 
 		Class param[] = m.getParameterTypes();
@@ -120,7 +166,7 @@ public class TestPixelMath {
 		if( param.length < 1 )
 			return false;
 
-		return ImageBase.class.isAssignableFrom(param[0]);
+		return ImageBase.class.isAssignableFrom(param[0]) && !ImageInterleaved.class.isAssignableFrom(param[0]);
 	}
 
 	private void testDivide( Method m ) throws InvocationTargetException, IllegalAccessException {
@@ -656,4 +702,116 @@ public class TestPixelMath {
 			}
 		}
 	}
+
+	/**
+	 * Functions for interleaved images should produce the same results as the single band function applied
+	 * to an image which is numBands times wider.
+	 */
+	@Test
+	public void checkAll_interleaved() throws Exception {
+		int numBands = 3;
+		int numFound = 0;
+		for (Method m : PixelMath.class.getMethods()) {
+			Class param[] = m.getParameterTypes();
+			if( param.length < 1 || !ImageInterleaved.class.isAssignableFrom(param[0]))
+				continue;
+
+			if( m.getName().equals("averageBand")) {
+				checkAverageBand_interleaved(m,numBands);
+				numFound++;
+				continue;
+			}
+
+			Class singleParam[] = new Class[ param.length ];
+			Object argsInterleaved[] = new Object[ param.length ];
+			Object argsSingle[] = new Object[ param.length ];
+			int numScalars = 0;
+			for( int i = 0; i < param.length; i++ ) {
+				if( ImageInterleaved.class.isAssignableFrom(param[i])) {
+					ImageInterleaved interleaved = GeneralizedImageOps.createInterleaved(param[i], width, height, numBands);
+					singleParam[i] = singleBandType(param[i]);
+
+					ImageSingleBand single = GeneralizedImageOps.createSingleBand(singleParam[i], width*numBands, height);
+					GImageMiscOps.fillUniform(single, rand, 1, 20);
+					Object src = single.getClass().getField("data").get(single);
+					Object dst = interleaved.getClass().getField("data").get(interleaved);
+					System.arraycopy(src,0,dst,0,Array.getLength(src));
+
+					argsInterleaved[i] = interleaved;
+					argsSingle[i] = single;
+				} else {
+					singleParam[i] = param[i];
+					argsInterleaved[i] = argsSingle[i] = scalar(param[i], numScalars++);
+				}
+			}
+
+			Method single = PixelMath.class.getMethod(m.getName(), singleParam);
+
+			m.invoke(null,argsInterleaved);
+			single.invoke(null,argsSingle);
+
+			for( int i = 0; i < param.length; i++ ) {
+				if( !(argsInterleaved[i] instanceof ImageInterleaved))
+					continue;
+				Object expected = argsSingle[i].getClass().getField("data").get(argsSingle[i]);
+				Object found = argsInterleaved[i].getClass().getField("data").get(argsInterleaved[i]);
+				for( int j = 0; j < Array.getLength(expected); j++ ) {
+					assertEquals(m.getName(),Array.getDouble(expected, j), Array.getDouble(found, j), 1e-4);
+				}
+			}
+			numFound++;
+		}
+
+		// one for each single band function
+		assertEquals(2*11+11*8, numFound);
+	}
+
+	/**
+	 * Single band image type which is equivalent to the interleaved type
+	 */
+	private Class singleBandType( Class interleaved ) {
+		if( interleaved == InterleavedI16.class )
+			return ImageInt16.class;
+		ImageDataType dataType = GeneralizedImageOps.createInterleaved(interleaved, 1, 1, 1).getDataType();
+		return ImageType.getImageClass(ImageType.Family.SINGLE_BAND, dataType);
+	}
+
+	private Object scalar( Class type , int which ) {
+		int values[] = new int[]{2,4,9};
+		int v = values[which];
+		if( type == int.class )
+			return v;
+		else if( type == long.class )
+			return (long)v;
+		else if( type == float.class )
+			return (float)v;
+		else if( type == double.class )
+			return (double)v;
+		throw new RuntimeException("Unexpected type "+type.getSimpleName());
+	}
+
+	private void checkAverageBand_interleaved( Method m , int numBands ) throws Exception {
+		Class paramTypes[] = m.getParameterTypes();
+		ImageInterleaved input = GeneralizedImageOps.createInterleaved(paramTypes[0], width, height, numBands);
+		ImageSingleBand output = GeneralizedImageOps.createSingleBand(paramTypes[1], width, height);
+		GImageMiscOps.fillUniform(input, rand, 0, 20);
+
+		m.invoke(null,input,output);
+
+		Object data = input.getClass().getField("data").get(input);
+		GImageSingleBand b = FactoryGImageSingleBand.wrap(output);
+
+		for( int y = 0; y < height; y++ ) {
+			for( int x = 0; x < width; x++ ) {
+				double total = 0;
+				for( int i = 0; i < numBands; i++ )
+					total += Array.getDouble(data,input.getIndex(x,y,i));
+				double expected = total/numBands;
+				if( output.getDataType().isInteger() )
+					expected = (int)expected;
+
+				assertEquals(expected,b.get(x,y).doubleValue(),1e-4);
+			}
+		}
+	}
 }
@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.misc;
+
+import boofcv.core.image.ConvertImageBuffer;
+import boofcv.struct.image.*;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * Compares the results against {@link PixelMath}
+ *
+ * @author Peter Abeles
+ */
+public class TestPixelMathBuffer {
+
+	Random rand = new Random(234);
+	int width = 20;
+	int height = 15;
+
+	@Test
+	public void compare_U8() {
+		ImageUInt8 arrayA = new ImageUInt8(width,height);
+		ImageUInt8 arrayB = new ImageUInt8(width,height);
+		ImageMiscOps.fillUniform(arrayA, rand, 0, 255);
+		ImageMiscOps.fillUniform(arrayB, rand, 0, 255);
+
+		for( boolean sub : new boolean[]{false,true}) {
+			ImageBufferUInt8 bufferA = ConvertImageBuffer.convert(arrayA, createU8(sub));
+			ImageBufferUInt8 bufferB = ConvertImageBuffer.convert(arrayB, createU8(sub));
+
+			ImageUInt8 expected = new ImageUInt8(width,height);
+			ImageUInt8 found = BoofTesting.createSubImageOf(new ImageUInt8(width,height));
+
+			PixelMath.multiply(arrayA, 1.7, expected);
+			PixelMathBuffer.multiply(bufferA, 1.7, found);
+			BoofTesting.assertEquals(expected, found, 0);
+
+			PixelMath.multiply(arrayA, 1.7, 20, 200, expected);
+			PixelMathBuffer.multiply(bufferA, 1.7, 20, 200, found);
+			BoofTesting.assertEquals(expected, found, 0);
+
+			PixelMath.divide(arrayA, 2.3, expected);
+			PixelMathBuffer.divide(bufferA, 2.3, found);
+			BoofTesting.assertEquals(expected, found, 0);
+
+			PixelMath.divide(arrayA, 0.6, 20, 200, expected);
+			PixelMathBuffer.divide(bufferA, 0.6, 20, 200, found);
+			BoofTesting.assertEquals(expected, found, 0);
+
+			PixelMath.plus(arrayA, 40, expected);
+			PixelMathBuffer.plus(bufferA, 40, found);
+			BoofTesting.assertEquals(expected, found, 0);
+
+			PixelMath.plus(arrayA, -40, 10, 250, expected);
+			PixelMathBuffer.plus(bufferA, -40, 10, 250, found);
+			BoofTesting.assertEquals(expected, found, 0);
+
+			PixelMath.diffAbs(arrayA, arrayB, expected);
+			PixelMathBuffer.diffAbs(bufferA, bufferB, found);
+			BoofTesting.assertEquals(expected, found, 0);
+
+			ImageUInt16 expected16 = new ImageUInt16(width,height);
+			ImageUInt16 found16 = BoofTesting.createSubImageOf(new ImageUInt16(width,height));
+			PixelMath.add(arrayA, arrayB, expected16);
+			PixelMathBuffer.add(bufferA, bufferB, found16);
+			BoofTesting.assertEquals(expected16, found16, 0);
+
+			ImageSInt16 expectedS16 = new ImageSInt16(width,height);
+			ImageSInt16 foundS16 = BoofTesting.createSubImageOf(new ImageSInt16(width,height));
+			PixelMath.subtract(arrayA, arrayB, expectedS16);
+			PixelMathBuffer.subtract(bufferA, bufferB, foundS16);
+			BoofTesting.assertEquals(expectedS16, foundS16, 0);
+
+			expected.setTo(arrayA);
+			PixelMath.boundImage(expected, 30, 180);
+			PixelMathBuffer.boundImage(bufferA, 30, 180);
+			BoofTesting.assertEquals(expected, ConvertImageBuffer.convert(bufferA, (ImageUInt8)null), 0);
+		}
+	}
+
+	@Test
+	public void compare_F32() {
+		ImageFloat32 arrayA = new ImageFloat32(width,height);
+		ImageFloat32 arrayB = new ImageFloat32(width,height);
+		ImageMiscOps.fillUniform(arrayA, rand, -5, 5);
+		ImageMiscOps.fillUniform(arrayB, rand, 1, 5);
+
+		for( boolean sub : new boolean[]{false,true}) {
+			ImageBufferFloat32 bufferA = ConvertImageBuffer.convert(arrayA, createF32(sub));
+			ImageBufferFloat32 bufferB = ConvertImageBuffer.convert(arrayB, createF32(sub));
+
+			ImageFloat32 expected = new ImageFloat32(width,height);
+			ImageFloat32 found = BoofTesting.createSubImageOf(new ImageFloat32(width,height));
+
+			PixelMath.abs(arrayA, expected);
+			PixelMathBuffer.abs(bufferA, found);
+			BoofTesting.assertEquals(expected, found, 0);
+
+			PixelMath.invert(arrayA, expected);
+			PixelMathBuffer.invert(bufferA, found);
+			BoofTesting.assertEquals(expected, found, 0);
+
+			PixelMath.multiply(arrayA, 1.7f, expected);
+			PixelMathBuffer.multiply(bufferA, 1.7f, found);
+			BoofTesting.assertEquals(expected, found, 0);
+
+			PixelMath.multiply(arrayA, 1.7f, -2, 3, expected);
+			PixelMathBuffer.multiply(bufferA, 1.7f, -2, 3, found);
+			BoofTesting.assertEquals(expected, found, 0);
+
+			PixelMath.divide(arrayA, 2.3f, expected);
+			PixelMathBuffer.divide(bufferA, 2.3f, found);
+			BoofTesting.assertEquals(expected, found, 0);
+
+			PixelMath.divide(arrayA, 0.6f, -2, 3, expected);
+			PixelMathBuffer.divide(bufferA, 0.6f, -2, 3, found);
+			BoofTesting.assertEquals(expected, found, 0);
+
+			PixelMath.plus(arrayA, 1.5f, expected);
+			PixelMathBuffer.plus(bufferA, 1.5f, found);
+			BoofTesting.assertEquals(expected, found, 0);
+
+			PixelMath.plus(arrayA, 1.5f, -2, 3, expected);
+			PixelMathBuffer.plus(bufferA, 1.5f, -2, 3, found);
+			BoofTesting.assertEquals(expected, found, 0);
+
+			PixelMath.diffAbs(arrayA, arrayB, expected);
+			PixelMathBuffer.diffAbs(bufferA, bufferB, found);
+			BoofTesting.assertEquals(expected, found, 0);
+
+			PixelMath.add(arrayA, arrayB, expected);
+			PixelMathBuffer.add(bufferA, bufferB, found);
+			BoofTesting.assertEquals(expected, found, 0);
+
+			PixelMath.subtract(arrayA, arrayB, expected);
+			PixelMathBuffer.subtract(bufferA, bufferB, found);
+			BoofTesting.assertEquals(expected, found, 0);
+
+			PixelMath.multiply(arrayA, arrayB, expected);
+			PixelMathBuffer.multiply(bufferA, bufferB, found);
+			BoofTesting.assertEquals(expected, found, 0);
+
+			PixelMath.divide(arrayA, arrayB, expected);
+			PixelMathBuffer.divide(bufferA, bufferB, found);
+			BoofTesting.assertEquals(expected, found, 0);
+
+			expected.setTo(arrayA);
+			PixelMath.boundImage(expected, -1, 2);
+			PixelMathBuffer.boundImage(bufferA, -1, 2);
+			BoofTesting.assertEquals(expected, ConvertImageBuffer.convert(bufferA, (ImageFloat32)null), 0);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void badShape() {
+		PixelMathBuffer.multiply(new ImageBufferUInt8(width,height), 2, new ImageUInt8(width+1,height));
+	}
+
+	private ImageBufferUInt8 createU8( boolean sub ) {
+		if( sub )
+			return new ImageBufferUInt8(width+3,height+2).subimage(2,1,width+2,height+1,null);
+		return new ImageBufferUInt8(width,height);
+	}
+
+	private ImageBufferFloat32 createF32( boolean sub ) {
+		if( sub )
+			return new ImageBufferFloat32(width+3,height+2).subimage(2,1,width+2,height+1,null);
+		return new ImageBufferFloat32(width,height);
+	}
+}
@@ -18,12 +18,14 @@
 
 package boofcv.alg.transform.fft;
 
+import boofcv.concurrency.BoofConcurrency;
 import org.junit.Test;
 
 import java.util.Random;
 
 import static boofcv.alg.transform.fft.TestGeneralPurposeFFT_F32_1D.checkForChange;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author Peter Abeles
@@ -114,4 +116,118 @@ public class TestGeneralPurposeFFT_F32_2D {
 		}
 	}
 
+	@Test
+	public void realHalf() {
+		for( int i = 0; i < sizes.length; i++ ) {
+			for( int j = 0; j < sizes.length; j++ ) {
+				checkRealHalf(sizes[i], sizes[j]);
+			}
+		}
+	}
+
+	/**
+	 * Compare the half transform against the full transform and see if it can recover the original data
+	 */
+	private void checkRealHalf(int numRows, int numColumns) {
+		int halfColumns = numColumns/2+1;
+		float input[] = new float[numRows*numColumns];
+		float full[] = new float[numRows*numColumns*2];
+		float half[] = new float[numRows*halfColumns*2];
+		float found[] = new float[numRows*numColumns];
+
+		for( int i = 0; i < input.length; i++ ) {
+			input[i] = full[i] = (float)rand.nextGaussian();
+		}
+		float inputOrig[] = input.clone();
+
+		GeneralPurposeFFT_F32_2D alg = new GeneralPurposeFFT_F32_2D(numRows,numColumns);
+		alg.realForwardFull(full);
+		alg.realForwardHalf(input,half);
+
+		// the order of operations is different and errors in single precision grow with the magnitude
+		// of the transform, especially for prime lengths
+		float maxAbs = 1;
+		for( int i = 0; i < full.length; i++ )
+			maxAbs = Math.max(maxAbs,Math.abs(full[i]));
+
+		for( int row = 0; row < numRows; row++ ) {
+			for( int col = 0; col < halfColumns; col++ ) {
+				for( int k = 0; k < 2; k++ ) {
+					float expected = full[row*numColumns*2+col*2+k];
+					assertEquals(expected,half[row*halfColumns*2+col*2+k],tol*maxAbs);
+				}
+			}
+		}
+
+		float halfOrig[] = half.clone();
+		alg.realInverseHalf(half,found,true);
+
+		for( int i = 0; i < input.length; i++ ) {
+			assertEquals(input[i],found[i],tol*5);
+			// inputs should not be modified
+			assertTrue(input[i] == inputOrig[i]);
+		}
+		for( int i = 0; i < half.length; i++ ) {
+			assertTrue(half[i] == halfOrig[i]);
+		}
+	}
+
+	/**
+	 * The concurrent implementation should produce identical results
+	 */
+	@Test
+	public void concurrent() {
+		int originalThreads = BoofConcurrency.getMaxThreads();
+		int originalWork = BoofConcurrency.getMinimumWork();
+		boolean originalUse = BoofConcurrency.USE_CONCURRENT;
+		try {
+			BoofConcurrency.setMaxThreads(7);
+			BoofConcurrency.setMinimumWork(0);
+
+			for( int i = 0; i < sizes.length; i++ ) {
+				for( int j = 0; j < sizes.length; j++ ) {
+					checkConcurrent(sizes[i], sizes[j]);
+				}
+			}
+		} finally {
+			BoofConcurrency.USE_CONCURRENT = originalUse;
+			BoofConcurrency.setMaxThreads(originalThreads);
+			BoofConcurrency.setMinimumWork(originalWork);
+		}
+	}
+
+	private void checkConcurrent(int numRows, int numColumns) {
+		float input[] = new float[numRows*numColumns*2];
+		for( int i = 0; i < input.length; i++ ) {
+			input[i] = (float)rand.nextGaussian();
+		}
+
+		for( int type = 0; type < 4; type++ ) {
+			float expected[] = input.clone();
+			float found[] = input.clone();
+			float expectedHalf[] = new float[numRows*(numColumns/2+1)*2];
+			float foundHalf[] = new float[expectedHalf.length];
+
+			BoofConcurrency.USE_CONCURRENT = false;
+			apply(new GeneralPurposeFFT_F32_2D(numRows,numColumns), type, expected, expectedHalf);
+			BoofConcurrency.USE_CONCURRENT = true;
+			apply(new GeneralPurposeFFT_F32_2D(numRows,numColumns), type, found, foundHalf);
+
+			for( int i = 0; i < expected.length; i++ ) {
+				assertTrue(expected[i] == found[i]);
+			}
+			for( int i = 0; i < expectedHalf.length; i++ ) {
+				assertTrue(expectedHalf[i] == foundHalf[i]);
+			}
+		}
+	}
+
+	private void apply( GeneralPurposeFFT_F32_2D alg , int type , float[] data , float[] half ) {
+		switch( type ) {
+			case 0: alg.complexForward(data); alg.complexInverse(data, true); break;
+			case 1: alg.realForwardFull(data); alg.realInverseFull(data, true); break;
+			case 2: alg.realForwardHalf(data, half); alg.realInverseHalf(half, data, true); break;
+			case 3: alg.complexInverse(data, false); break;
+		}
+	}
 }
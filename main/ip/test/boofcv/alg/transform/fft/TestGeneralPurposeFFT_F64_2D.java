@@ -18,12 +18,14 @@
 
 package boofcv.alg.transform.fft;
 
+import boofcv.concurrency.BoofConcurrency;
 import org.junit.Test;
 
 import java.util.Random;
 
 import static boofcv.alg.transform.fft.TestGeneralPurposeFFT_F64_1D.checkForChange;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author Peter Abeles
@@ -112,4 +114,113 @@ public class TestGeneralPurposeFFT_F64_2D {
 		}
 	}
 
+	@Test
+	public void realHalf() {
+		for( int i = 0; i < sizes.length; i++ ) {
+			for( int j = 0; j < sizes.length; j++ ) {
+				checkRealHalf(sizes[i], sizes[j]);
+			}
+		}
+	}
+
+	/**
+	 * Compare the half transform against the full transform and see if it can recover the original data
+	 */
+	private void checkRealHalf(int numRows, int numColumns) {
+		int halfColumns = numColumns/2+1;
+		double input[] = new double[numRows*numColumns];
+		double full[] = new double[numRows*numColumns*2];
+		double half[] = new double[numRows*halfColumns*2];
+		double found[] = new double[numRows*numColumns];
+
+		for( int i = 0; i < input.length; i++ ) {
+			input[i] = full[i] = rand.nextGaussian();
+		}
+		double inputOrig[] = input.clone();
+
+		GeneralPurposeFFT_F64_2D alg = new GeneralPurposeFFT_F64_2D(numRows,numColumns);
+		alg.realForwardFull(full);
+		alg.realForwardHalf(input,half);
+
+		for( int row = 0; row < numRows; row++ ) {
+			for( int col = 0; col < halfColumns; col++ ) {
+				for( int k = 0; k < 2; k++ ) {
+					// the order of operations is different, so use a relative tolerance
+					double expected = full[row*numColumns*2+col*2+k];
+					assertEquals(expected,half[row*halfColumns*2+col*2+k],1e-8*Math.max(1,Math.abs(expected)));
+				}
+			}
+		}
+
+		double halfOrig[] = half.clone();
+		alg.realInverseHalf(half,found,true);
+
+		for( int i = 0; i < input.length; i++ ) {
+			assertEquals(input[i],found[i],1e-8);
+			// inputs should not be modified
+			assertTrue(input[i] == inputOrig[i]);
+		}
+		for( int i = 0; i < half.length; i++ ) {
+			assertTrue(half[i] == halfOrig[i]);
+		}
+	}
+
+	/**
+	 * The concurrent implementation should produce identical results
+	 */
+	@Test
+	public void concurrent() {
+		int originalThreads = BoofConcurrency.getMaxThreads();
+		int originalWork = BoofConcurrency.getMinimumWork();
+		boolean originalUse = BoofConcurrency.USE_CONCURRENT;
+		try {
+			BoofConcurrency.setMaxThreads(7);
+			BoofConcurrency.setMinimumWork(0);
+
+			for( int i = 0; i < sizes.length; i++ ) {
+				for( int j = 0; j < sizes.length; j++ ) {
+					checkConcurrent(sizes[i], sizes[j]);
+				}
+			}
+		} finally {
+			BoofConcurrency.USE_CONCURRENT = originalUse;
+			BoofConcurrency.setMaxThreads(originalThreads);
+			BoofConcurrency.setMinimumWork(originalWork);
+		}
+	}
+
+	private void checkConcurrent(int numRows, int numColumns) {
+		double input[] = new double[numRows*numColumns*2];
+		for( int i = 0; i < input.length; i++ ) {
+			input[i] = rand.nextGaussian();
+		}
+
+		for( int type = 0; type < 4; type++ ) {
+			double expected[] = input.clone();
+			double found[] = input.clone();
+			double expectedHalf[] = new double[numRows*(numColumns/2+1)*2];
+			double foundHalf[] = new double[expectedHalf.length];
+
+			BoofConcurrency.USE_CONCURRENT = false;
+			apply(new GeneralPurposeFFT_F64_2D(numRows,numColumns), type, expected, expectedHalf);
+			BoofConcurrency.USE_CONCURRENT = true;
+			apply(new GeneralPurposeFFT_F64_2D(numRows,numColumns), type, found, foundHalf);
+
+			for( int i = 0; i < expected.length; i++ ) {
+				assertTrue(expected[i] == found[i]);
+			}
+			for( int i = 0; i < expectedHalf.length; i++ ) {
+				assertTrue(expectedHalf[i] == foundHalf[i]);
+			}
+		}
+	}
+
+	private void apply( GeneralPurposeFFT_F64_2D alg , int type , double[] data , double[] half ) {
+		switch( type ) {
+			case 0: alg.complexForward(data); alg.complexInverse(data, true); break;
+			case 1: alg.realForwardFull(data); alg.realInverseFull(data, true); break;
+			case 2: alg.realForwardHalf(data, half); alg.realInverseHalf(half, data, true); break;
+			case 3: alg.complexInverse(data, false); break;
+		}
+	}
 }
@@ -19,10 +19,15 @@
 package boofcv.alg.transform.ii;
 
 import boofcv.alg.transform.ii.impl.ImplIntegralImageOps;
+import boofcv.alg.misc.ImageMiscOps;
 import boofcv.struct.ImageRectangle;
+import boofcv.struct.image.ImageSInt64;
+import boofcv.struct.image.ImageUInt16;
+import boofcv.testing.BoofTesting;
 import org.junit.Test;
 
 import java.lang.reflect.Method;
+import java.util.Random;
 
 import static org.junit.Assert.*;
 
@@ -41,6 +46,31 @@ public class TestIntegralImageOps {
 		assertEquals(expected, found);
 	}
 
+	@Test
+	public void transformRegion() {
+		int expected = countName("transformRegion",IntegralImageOps.class);
+		int found = countName("transformRegion",ImplIntegralImageOps.class);
+
+		assertTrue(found != 0 );
+		assertEquals(expected, found);
+	}
+
+	/**
+	 * Region which extends outside the image
+	 */
+	@Test
+	public void transformRegion_outside() {
+		ImageUInt16 input = new ImageUInt16(20,25);
+		ImageMiscOps.fillUniform(input, new Random(234), 0, 60000);
+		ImageSInt64 found = IntegralImageOps.transform(input,null);
+
+		ImageMiscOps.fillRectangle(input,50000,15,-5,10,40);
+		ImageSInt64 expected = IntegralImageOps.transform(input,null);
+
+		IntegralImageOps.transformRegion(input,found,new ImageRectangle(15,-5,25,35));
+		BoofTesting.assertEquals(expected, found, 0);
+	}
+
 	@Test
 	public void convolve() {
 		int expected = countName("convolve",IntegralImageOps.class);
@@ -37,6 +37,7 @@ import boofcv.testing.BoofTesting;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.lang.reflect.Array;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Random;
@@ -56,7 +57,7 @@ public class TestImplIntegralImageOps {
 	@Test
 	public void transform() {
 		int numFound = BoofTesting.findMethodThenCall(this,"transform",ImplIntegralImageOps.class,"transform");
-		Assert.assertEquals(5, numFound);
+		Assert.assertEquals(6, numFound);
 	}
 
 	public void transform( Method m ) {
@@ -94,6 +95,70 @@ public class TestImplIntegralImageOps {
 		}
 	}
 
+	/**
+	 * Computing the rows then the columns should produce identical results to transform
+	 */
+	@Test
+	public void transformRows_transformColumns() {
+		int numFound = BoofTesting.findMethodThenCall(this,"transformRows",ImplIntegralImageOps.class,"transformRows");
+		Assert.assertEquals(6, numFound);
+	}
+
+	public void transformRows( Method m ) throws Exception {
+		Class paramType[] = m.getParameterTypes();
+		Class inputType = paramType[0];
+		Class outputType = paramType[1];
+
+		ImageSingleBand input = GeneralizedImageOps.createSingleBand(inputType, width, height);
+		ImageSingleBand expected = GeneralizedImageOps.createSingleBand(outputType, width, height);
+		ImageSingleBand found = GeneralizedImageOps.createSingleBand(outputType, width, height);
+
+		GImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		ImplIntegralImageOps.class.getMethod("transform",inputType,outputType).invoke(null,input,expected);
+
+		m.invoke(null,input,found,0,5);
+		m.invoke(null,input,found,5,height);
+		Method columns = ImplIntegralImageOps.class.getMethod("transformColumns",outputType,int.class,int.class);
+		columns.invoke(null,found,0,7);
+		columns.invoke(null,found,7,width);
+
+		BoofTesting.assertEquals(expected, found, 0);
+	}
+
+	@Test
+	public void transformRegion() {
+		int numFound = BoofTesting.findMethodThenCall(this,"transformRegion",ImplIntegralImageOps.class,"transformRegion");
+		Assert.assertEquals(6, numFound);
+	}
+
+	public void transformRegion( Method m ) throws Exception {
+		Class paramType[] = m.getParameterTypes();
+		Class inputType = paramType[0];
+		Class outputType = paramType[1];
+		Method transform = ImplIntegralImageOps.class.getMethod("transform",inputType,outputType);
+
+		ImageSingleBand input = GeneralizedImageOps.createSingleBand(inputType, width, height);
+		ImageSingleBand expected = GeneralizedImageOps.createSingleBand(outputType, width, height);
+		ImageSingleBand found = GeneralizedImageOps.createSingleBand(outputType, width, height);
+
+		// regions touching the top left corner, bottom right corner, and inside
+		int regions[][] = new int[][]{{0,0,5,6},{12,20,width,height},{4,7,9,15}};
+
+		for( int[] r : regions ) {
+			GImageMiscOps.fillUniform(input, rand, 0, 100);
+			transform.invoke(null,input,found);
+
+			GImageMiscOps.fillRectangle(input,7,r[0],r[1],r[2]-r[0],r[3]-r[1]);
+			transform.invoke(null,input,expected);
+
+			Object work = Array.newInstance(paramType[5].getComponentType(),width-r[0]);
+			m.invoke(null,input,found,r[0],r[1],r[3],work);
+
+			BoofTesting.assertEquals(expected, found, 1e-2);
+		}
+	}
+
 	@Test
 	public void convolve() {
 		int numFound = BoofTesting.findMethodThenCall(this,"convolve",ImplIntegralImageOps.class,"convolve");
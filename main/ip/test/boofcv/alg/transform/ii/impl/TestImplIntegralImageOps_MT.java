@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.transform.ii.impl;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.testing.BoofTesting;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.util.Random;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImplIntegralImageOps_MT {
+
+	Random rand = new Random(234);
+	int width = 20;
+	int height = 30;
+
+	int originalThreads;
+	int originalWork;
+
+	@Before
+	public void before() {
+		originalThreads = BoofConcurrency.getMaxThreads();
+		originalWork = BoofConcurrency.getMinimumWork();
+		BoofConcurrency.setMaxThreads(7);
+		BoofConcurrency.setMinimumWork(0);
+	}
+
+	@After
+	public void after() {
+		BoofConcurrency.setMaxThreads(originalThreads);
+		BoofConcurrency.setMinimumWork(originalWork);
+	}
+
+	@Test
+	public void transform() {
+		int numFound = BoofTesting.findMethodThenCall(this,"transform",ImplIntegralImageOps_MT.class,"transform");
+		Assert.assertEquals(6, numFound);
+	}
+
+	public void transform( Method m ) throws Exception {
+		Class paramType[] = m.getParameterTypes();
+		Class inputType = paramType[0];
+		Class outputType = paramType[1];
+
+		ImageSingleBand input = GeneralizedImageOps.createSingleBand(inputType, width, height);
+		ImageSingleBand expected = GeneralizedImageOps.createSingleBand(outputType, width, height);
+		ImageSingleBand found = GeneralizedImageOps.createSingleBand(outputType, width, height);
+
+		GImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		ImplIntegralImageOps.class.getMethod("transform",inputType,outputType).invoke(null,input,expected);
+		BoofTesting.checkSubImage(this,"checkTransform",true,m,input,found,expected);
+	}
+
+	public void checkTransform( Method m , ImageSingleBand input , ImageSingleBand found ,
+								ImageSingleBand expected ) throws Exception {
+		m.invoke(null,input,found);
+		BoofTesting.assertEquals(expected, found, 0);
+	}
+}
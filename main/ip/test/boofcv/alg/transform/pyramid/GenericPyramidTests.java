@@ -20,13 +20,20 @@ package boofcv.alg.transform.pyramid;
 
 import boofcv.alg.misc.GImageMiscOps;
 import boofcv.alg.misc.GImageStatistics;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.core.image.GeneralizedImageOps;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.struct.pyramid.ImagePyramid;
+import boofcv.struct.pyramid.ImagePyramidBase;
+import boofcv.struct.pyramid.PyramidLayerListener;
+import boofcv.testing.BoofTesting;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 
@@ -64,5 +71,86 @@ public abstract class GenericPyramidTests<T extends ImageSingleBand> {
 		}
 	}
 
+	/**
+	 * Layers should be reused when the input image changes shape
+	 */
+	@Test
+	public void reuseLayers() {
+		T input = GeneralizedImageOps.createSingleBand(imageType, width, height);
+		ImagePyramid<T> pyramid = createPyramid(1,2,4);
+		GImageMiscOps.fillUniform(input, rand, 0, 100);
+		pyramid.process(input);
+
+		List<T> original = new ArrayList<T>();
+		for( int i = 1; i < pyramid.getNumLayers(); i++ )
+			original.add(pyramid.getLayer(i));
+
+		input = GeneralizedImageOps.createSingleBand(imageType, width/2, height/2+3);
+		GImageMiscOps.fillUniform(input, rand, 0, 100);
+		pyramid.process(input);
+
+		for( int i = 1; i < pyramid.getNumLayers(); i++ ) {
+			T layer = pyramid.getLayer(i);
+			assertTrue(original.get(i-1) == layer);
+			assertEquals(pyramid.getWidth(i), layer.width);
+			assertEquals(pyramid.getHeight(i), layer.height);
+		}
+	}
+
+	/**
+	 * The listener should be called once for each layer, in order
+	 */
+	@Test
+	public void layerListener() {
+		T input = GeneralizedImageOps.createSingleBand(imageType, width, height);
+		ImagePyramid<T> pyramid = createPyramid(1,2,4);
+		GImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		final List<Integer> found = new ArrayList<Integer>();
+		((ImagePyramidBase<T>)pyramid).setLayerListener(new PyramidLayerListener<T>() {
+			@Override
+			public void layerUpdated(ImagePyramid<T> pyramid, int layer) {
+				found.add(layer);
+			}
+		});
+
+		pyramid.process(input);
+
+		assertEquals(pyramid.getNumLayers(), found.size());
+		for( int i = 0; i < found.size(); i++ )
+			assertEquals(i, (int)found.get(i));
+	}
+
+	/**
+	 * Results should be identical when computed using multiple threads
+	 */
+	@Test
+	public void concurrent() {
+		int originalThreads = BoofConcurrency.getMaxThreads();
+		int originalWork = BoofConcurrency.getMinimumWork();
+		boolean originalUse = BoofConcurrency.USE_CONCURRENT;
+		try {
+			T input = GeneralizedImageOps.createSingleBand(imageType, width, height);
+			GImageMiscOps.fillUniform(input, rand, 0, 100);
+
+			BoofConcurrency.USE_CONCURRENT = false;
+			ImagePyramid<T> expected = createPyramid(1,2,4);
+			expected.process(input);
+
+			BoofConcurrency.setMaxThreads(7);
+			BoofConcurrency.setMinimumWork(0);
+			BoofConcurrency.USE_CONCURRENT = true;
+			ImagePyramid<T> found = createPyramid(1,2,4);
+			found.process(input);
+
+			for( int i = 0; i < expected.getNumLayers(); i++ )
+				BoofTesting.assertEquals(expected.getLayer(i), found.getLayer(i), 0);
+		} finally {
+			BoofConcurrency.USE_CONCURRENT = originalUse;
+			BoofConcurrency.setMaxThreads(originalThreads);
+			BoofConcurrency.setMinimumWork(originalWork);
+		}
+	}
+
 	protected abstract ImagePyramid<T> createPyramid( int... scales);
 }
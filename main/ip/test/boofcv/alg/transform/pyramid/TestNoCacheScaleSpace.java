@@ -67,6 +67,46 @@ public class TestNoCacheScaleSpace {
 		BoofTesting.assertEquals(expected,found, 1e-4);
 	}
 
+	/**
+	 * When requested, large scales are computed with a recursive Gaussian, which should be close to convolution
+	 */
+	@Test
+	public void getScaledImage_recursive() {
+		NoCacheScaleSpace<ImageFloat32,ImageFloat32> alg =
+				new NoCacheScaleSpace<ImageFloat32,ImageFloat32>(generator,generator,true);
+
+		double sigma = BlurImageOps.RECURSIVE_GAUSSIAN_SIGMA;
+		ImageFloat32 expected = BlurImageOps.gaussian(original,null,sigma,height/2-1,null);
+
+		alg.setScales(1.2,sigma);
+		alg.setImage(original);
+		alg.setActiveScale(1);
+		ImageFloat32 found = alg.getScaledImage();
+
+		// the kernel is truncated by the small image, increasing the difference
+		BoofTesting.assertEquals(expected,found, 1);
+	}
+
+	/**
+	 * By default large scales should still be computed by convolving with a kernel
+	 */
+	@Test
+	public void getScaledImage_largeDefault() {
+		NoCacheScaleSpace<ImageFloat32,ImageFloat32> alg =
+				new NoCacheScaleSpace<ImageFloat32,ImageFloat32>(generator,generator);
+
+		double sigma = BlurImageOps.RECURSIVE_GAUSSIAN_SIGMA;
+		int radius = FactoryKernelGaussian.radiusForSigma(sigma,0);
+		ImageFloat32 expected = BlurImageOps.gaussian(original,null,sigma,radius,null);
+
+		alg.setScales(1.2,sigma);
+		alg.setImage(original);
+		alg.setActiveScale(1);
+		ImageFloat32 found = alg.getScaledImage();
+
+		BoofTesting.assertEquals(expected,found, 1e-4);
+	}
+
 	@Test
 	public void getDerivative() {
 		NoCacheScaleSpace<ImageFloat32,ImageFloat32> alg =
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.transform.pyramid;
+
+import boofcv.abst.filter.derivative.AnyImageDerivative;
+import boofcv.alg.filter.derivative.GImageDerivativeOps;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.factory.filter.kernel.FactoryKernelGaussian;
+import boofcv.struct.convolve.Kernel1D_F32;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.pyramid.PyramidDiscrete;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestPyramidDerivativeCache {
+
+	Random rand = new Random(234);
+	int width = 80;
+	int height = 120;
+
+	/**
+	 * Compare the derivatives against ones computed directly from each layer
+	 */
+	@Test
+	public void layerUpdated() {
+		PyramidDerivativeCache<ImageFloat32,ImageFloat32> alg =
+				new PyramidDerivativeCache<ImageFloat32,ImageFloat32>(ImageFloat32.class,ImageFloat32.class);
+		PyramidDiscrete<ImageFloat32> pyramid = createPyramid();
+		pyramid.setLayerListener(alg);
+
+		// process it twice to make sure the cache is updated
+		for( int trial = 0; trial < 2; trial++ ) {
+			ImageFloat32 input = new ImageFloat32(width,height);
+			ImageMiscOps.fillUniform(input, rand, 0, 100);
+			pyramid.process(input);
+
+			checkDerivatives(pyramid, alg);
+		}
+	}
+
+	/**
+	 * Manually specify the pyramid instead of being a listener
+	 */
+	@Test
+	public void setPyramid() {
+		PyramidDerivativeCache<ImageFloat32,ImageFloat32> alg =
+				new PyramidDerivativeCache<ImageFloat32,ImageFloat32>(ImageFloat32.class,ImageFloat32.class);
+		PyramidDiscrete<ImageFloat32> pyramid = createPyramid();
+
+		for( int trial = 0; trial < 2; trial++ ) {
+			ImageFloat32 input = new ImageFloat32(width,height);
+			ImageMiscOps.fillUniform(input, rand, 0, 100);
+			pyramid.process(input);
+			alg.setPyramid(pyramid);
+
+			assertTrue(pyramid == alg.getPyramid());
+			checkDerivatives(pyramid, alg);
+		}
+	}
+
+	/**
+	 * Derivatives should only be computed once
+	 */
+	@Test
+	public void cached() {
+		PyramidDerivativeCache<ImageFloat32,ImageFloat32> alg =
+				new PyramidDerivativeCache<ImageFloat32,ImageFloat32>(ImageFloat32.class,ImageFloat32.class);
+		PyramidDiscrete<ImageFloat32> pyramid = createPyramid();
+		pyramid.setLayerListener(alg);
+
+		ImageFloat32 input = new ImageFloat32(width,height);
+		ImageMiscOps.fillUniform(input, rand, 0, 100);
+		pyramid.process(input);
+
+		ImageFloat32 a = alg.getDerivative(1,true);
+		a.set(2,3,-1234);
+		ImageFloat32 b = alg.getDerivative(1,true);
+		assertTrue(a == b);
+		assertTrue(b.get(2,3) == -1234);
+
+		// after the pyramid has been updated it should be recomputed
+		pyramid.process(input);
+		assertTrue(alg.getDerivative(1,true).get(2,3) != -1234);
+	}
+
+	private void checkDerivatives(PyramidDiscrete<ImageFloat32> pyramid,
+								  PyramidDerivativeCache<ImageFloat32, ImageFloat32> alg) {
+		AnyImageDerivative<ImageFloat32,ImageFloat32> expected =
+				GImageDerivativeOps.createDerivatives(ImageFloat32.class, ImageFloat32.class);
+
+		for( int i = 0; i < pyramid.getNumLayers(); i++ ) {
+			expected.setInput(pyramid.getLayer(i));
+
+			BoofTesting.assertEquals(expected.getDerivative(true), alg.getDerivative(i,true), 1e-4);
+			BoofTesting.assertEquals(expected.getDerivative(false), alg.getDerivative(i,false), 1e-4);
+			BoofTesting.assertEquals(expected.getDerivative(true,true), alg.getDerivative(i,true,true), 1e-4);
+			BoofTesting.assertEquals(expected.getDerivative(true,false), alg.getDerivative(i,true,false), 1e-4);
+		}
+	}
+
+	private PyramidDiscrete<ImageFloat32> createPyramid() {
+		Kernel1D_F32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_F32.class, -1, 2);
+		return new PyramidDiscreteSampleBlur<ImageFloat32>(kernel,2,ImageFloat32.class,false,1,2,4);
+	}
+}
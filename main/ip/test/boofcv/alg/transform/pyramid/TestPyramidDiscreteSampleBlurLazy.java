@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.transform.pyramid;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.factory.filter.kernel.FactoryKernelGaussian;
+import boofcv.struct.convolve.Kernel1D_F32;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.pyramid.ImagePyramid;
+import boofcv.struct.pyramid.PyramidLayerListener;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestPyramidDiscreteSampleBlurLazy extends GenericPyramidTests<ImageFloat32> {
+
+	Kernel1D_F32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_F32.class,-1,3);
+
+	public TestPyramidDiscreteSampleBlurLazy() {
+		super(ImageFloat32.class);
+	}
+
+	/**
+	 * Randomly request regions in each layer and see if they are identical to the eager pyramid
+	 */
+	@Test
+	public void compareToEager() {
+		compareToEager(true, 1, 2, 4, 8);
+		compareToEager(false, 1, 2, 4, 8);
+		compareToEager(false, 2, 6);
+		compareToEager(true, 1, 3, 3);
+	}
+
+	private void compareToEager( boolean saveOriginal , int ...scales ) {
+		for( int trial = 0; trial < 5; trial++ ) {
+			ImageFloat32 input = new ImageFloat32(90+rand.nextInt(40),70+rand.nextInt(40));
+			ImageMiscOps.fillUniform(input, rand, 0, 100);
+
+			PyramidDiscreteSampleBlur<ImageFloat32> expected =
+					new PyramidDiscreteSampleBlur<ImageFloat32>(kernel,3,ImageFloat32.class,saveOriginal,scales);
+			PyramidDiscreteSampleBlurLazy<ImageFloat32> found =
+					new PyramidDiscreteSampleBlurLazy<ImageFloat32>(kernel,3,ImageFloat32.class,saveOriginal,scales);
+			found.setTileWidth(8+rand.nextInt(20));
+
+			expected.process(input);
+			found.process(input);
+
+			for( int i = 0; i < 20; i++ ) {
+				int layer = rand.nextInt(scales.length);
+				int w = found.getWidth(layer);
+				int h = found.getHeight(layer);
+				int x0 = rand.nextInt(w), x1 = x0 + 1 + rand.nextInt(w-x0);
+				int y0 = rand.nextInt(h), y1 = y0 + 1 + rand.nextInt(h-y0);
+
+				ImageFloat32 a = expected.getLayer(layer).subimage(x0,y0,x1,y1,null);
+				ImageFloat32 b = found.getLayer(layer,x0,y0,x1,y1).subimage(x0,y0,x1,y1,null);
+
+				BoofTesting.assertEquals(a, b, 0);
+			}
+
+			// after requesting everything the layers should be identical
+			for( int layer = 0; layer < scales.length; layer++ ) {
+				BoofTesting.assertEquals(expected.getLayer(layer), found.getLayer(layer), 0);
+				assertTrue(found.isComputed(layer));
+			}
+		}
+	}
+
+	/**
+	 * Only the part of the lower layers which are needed should be computed
+	 */
+	@Test
+	public void lazy() {
+		ImageFloat32 input = new ImageFloat32(width,height);
+		ImageMiscOps.fillUniform(input, rand, 1, 100);
+
+		PyramidDiscreteSampleBlurLazy<ImageFloat32> alg =
+				new PyramidDiscreteSampleBlurLazy<ImageFloat32>(kernel,3,ImageFloat32.class,false,1,2,4);
+		alg.setTileWidth(10);
+		alg.process(input);
+
+		for( int i = 0; i < 3; i++ )
+			assertFalse(alg.isComputed(i));
+
+		alg.getLayer(2,0,0,5,5);
+
+		// the pixels used to compute the requested region should be all that's computed
+		for( int i = 0; i < 3; i++ ) {
+			ImageFloat32 layer = alg.layers[i];
+			assertFalse(alg.isComputed(i));
+			assertTrue(layer.get(0,0) != 0);
+			assertEquals(0, layer.get(layer.width-1,layer.height-1), 0);
+		}
+	}
+
+	/**
+	 * Calling process again should discard the previous results
+	 */
+	@Test
+	public void process_clearsCache() {
+		ImageFloat32 inputA = new ImageFloat32(width,height);
+		ImageFloat32 inputB = new ImageFloat32(width,height);
+		ImageMiscOps.fillUniform(inputA, rand, 0, 100);
+		ImageMiscOps.fillUniform(inputB, rand, 0, 100);
+
+		PyramidDiscreteSampleBlur<ImageFloat32> expected =
+				new PyramidDiscreteSampleBlur<ImageFloat32>(kernel,3,ImageFloat32.class,false,1,2,4);
+		PyramidDiscreteSampleBlurLazy<ImageFloat32> found =
+				new PyramidDiscreteSampleBlurLazy<ImageFloat32>(kernel,3,ImageFloat32.class,false,1,2,4);
+
+		found.process(inputA);
+		found.getLayer(2);
+		found.process(inputB);
+		expected.process(inputB);
+
+		for( int i = 0; i < 3; i++ )
+			BoofTesting.assertEquals(expected.getLayer(i), found.getLayer(i), 0);
+	}
+
+	/**
+	 * Listeners are notified when a layer has been fully computed
+	 */
+	@Test
+	@Override
+	public void layerListener() {
+		ImageFloat32 input = new ImageFloat32(width,height);
+		ImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		PyramidDiscreteSampleBlurLazy<ImageFloat32> alg =
+				new PyramidDiscreteSampleBlurLazy<ImageFloat32>(kernel,3,ImageFloat32.class,false,1,2,4);
+
+		final List<Integer> found = new ArrayList<Integer>();
+		alg.setLayerListener(new PyramidLayerListener<ImageFloat32>() {
+			@Override
+			public void layerUpdated(ImagePyramid<ImageFloat32> pyramid, int layer) {
+				found.add(layer);
+			}
+		});
+
+		alg.process(input);
+		assertEquals(0, found.size());
+
+		alg.getLayer(2);
+		assertEquals(3, found.size());
+		for( int i = 0; i < found.size(); i++ )
+			assertEquals(i, (int)found.get(i));
+
+		// already computed so it shouldn't be notified again
+		alg.getLayer(1);
+		assertEquals(3, found.size());
+	}
+
+	@Override
+	protected ImagePyramid<ImageFloat32> createPyramid(int... scales) {
+		return new PyramidDiscreteSampleBlurLazy<ImageFloat32>(kernel,3,ImageFloat32.class,true,new int[]{1,2,4});
+	}
+}
@@ -26,11 +26,17 @@ import boofcv.factory.filter.blur.FactoryBlurFilter;
 import boofcv.factory.interpolate.FactoryInterpolation;
 import boofcv.misc.BoofMiscOps;
 import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImagePool;
+import boofcv.struct.image.ImageSingleBand;
 import boofcv.struct.pyramid.ImagePyramid;
 import boofcv.testing.BoofTesting;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 
 /**
@@ -115,4 +121,104 @@ public class TestPyramidFloatGaussianScale extends GenericPyramidTests<ImageFloa
 		assertEquals(1,alg.getSigma(0),1e-6);
 		assertEquals(4.123105625617661,alg.getSigma(1),0.001);
 	}
+
+	/**
+	 * Results should be the same when a pool is used.  Once the pool has warmed up the same layer and intermediate
+	 * images should be used while processing a sequence of images, instead of new ones being declared.
+	 */
+	@Test
+	public void pool() {
+		ImageFloat32 img = new ImageFloat32(width,height);
+		BoofTesting.checkSubImage(this, "_update_pool", true, img);
+	}
+
+	public void _update_pool(ImageFloat32 img) {
+		InterpolatePixelS<ImageFloat32> interp = FactoryInterpolation.bilinearPixelS(img);
+
+		PyramidFloatGaussianScale<ImageFloat32> expected = new PyramidFloatGaussianScale<ImageFloat32>(interp,scales,sigmas,imageType);
+		PyramidFloatGaussianScale<ImageFloat32> alg = new PyramidFloatGaussianScale<ImageFloat32>(interp,scales,sigmas,imageType);
+
+		RecordingPool pool = new RecordingPool();
+		alg.setPool(pool);
+
+		expected.process(img);
+		alg.process(img);
+		for( int i = 0; i < scales.length; i++ )
+			BoofTesting.assertEquals(expected.getLayer(i),alg.getLayer(i),1e-4);
+
+		ImageFloat32 layers[] = new ImageFloat32[ scales.length ];
+		for( int i = 0; i < scales.length; i++ )
+			layers[i] = alg.getLayer(i);
+
+		// images taken from the pool while processing the first frame after it has warmed up
+		pool.acquired.clear();
+		alg.process(img);
+		List<ImageSingleBand> firstAcquired = new ArrayList<ImageSingleBand>(pool.acquired);
+		assertTrue(firstAcquired.size() > 0);
+		int declared = pool.getTotalDeclared();
+
+		for( int frame = 0; frame < 5; frame++ ) {
+			img.set(frame,frame+1,frame*10);
+			pool.acquired.clear();
+			alg.process(img);
+
+			assertIdentical(firstAcquired, pool.acquired);
+			for( int i = 0; i < scales.length; i++ )
+				assertTrue(layers[i] == alg.getLayer(i));
+		}
+		assertEquals(declared,pool.getTotalDeclared());
+	}
+
+	/**
+	 * Without a pool the same layer and intermediate images should be used between calls
+	 */
+	@Test
+	public void reuseInternalImages() {
+		ImageFloat32 img = new ImageFloat32(width,height);
+		InterpolatePixelS<ImageFloat32> interp = FactoryInterpolation.bilinearPixelS(img);
+		PyramidFloatGaussianScale<ImageFloat32> alg = new PyramidFloatGaussianScale<ImageFloat32>(interp,scales,sigmas,imageType);
+
+		alg.process(img);
+		ImageFloat32 temp = alg.tempImage;
+		ImageFloat32 layers[] = new ImageFloat32[ scales.length ];
+		for( int i = 0; i < scales.length; i++ )
+			layers[i] = alg.getLayer(i);
+
+		for( int frame = 0; frame < 5; frame++ ) {
+			img.set(frame,frame+1,frame*10);
+			alg.process(img);
+
+			assertTrue(temp == alg.tempImage);
+			for( int i = 0; i < scales.length; i++ )
+				assertTrue(layers[i] == alg.getLayer(i));
+		}
+	}
+
+	private static void assertIdentical( List<ImageSingleBand> expected , List<ImageSingleBand> found ) {
+		assertEquals(expected.size(),found.size());
+		for( ImageSingleBand f : found ) {
+			boolean matched = false;
+			for( ImageSingleBand e : expected ) {
+				if( e == f ) {
+					matched = true;
+					break;
+				}
+			}
+			assertTrue(matched);
+		}
+	}
+
+	/**
+	 * Pool which keeps track of every image it hands out
+	 */
+	private static class RecordingPool extends ImagePool {
+		List<ImageSingleBand> acquired = new ArrayList<ImageSingleBand>();
+
+		@Override
+		public <T extends ImageSingleBand> T acquire(Class<T> type, int width, int height) {
+			T image = super.acquire(type, width, height);
+			acquired.add(image);
+			return image;
+		}
+	}
 }
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.transform.pyramid;
+
+import boofcv.abst.filter.derivative.ImageGradient;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.factory.filter.derivative.FactoryDerivative;
+import boofcv.factory.filter.kernel.FactoryKernelGaussian;
+import boofcv.struct.convolve.Kernel1D_F32;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.pyramid.PyramidDiscrete;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestPyramidGradient {
+
+	Random rand = new Random(234);
+	int width = 80;
+	int height = 120;
+
+	ImageGradient<ImageFloat32,ImageFloat32> gradient =
+			FactoryDerivative.sobel(ImageFloat32.class, ImageFloat32.class);
+
+	/**
+	 * Compare against the results of PyramidOps
+	 */
+	@Test
+	public void process() {
+		ImageFloat32 input = new ImageFloat32(width,height);
+		ImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		PyramidDiscrete<ImageFloat32> pyramid = createPyramid();
+		pyramid.process(input);
+
+		PyramidGradient<ImageFloat32,ImageFloat32> alg = new PyramidGradient<ImageFloat32,ImageFloat32>(gradient);
+		alg.process(pyramid);
+
+		checkAgainstOps(pyramid, alg);
+	}
+
+	/**
+	 * When used as a listener the gradient is computed in the same pass the pyramid is constructed
+	 */
+	@Test
+	public void layerUpdated() {
+		ImageFloat32 input = new ImageFloat32(width,height);
+		ImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		PyramidGradient<ImageFloat32,ImageFloat32> alg = new PyramidGradient<ImageFloat32,ImageFloat32>(gradient);
+		PyramidDiscrete<ImageFloat32> pyramid = createPyramid();
+		pyramid.setLayerListener(alg);
+		pyramid.process(input);
+
+		checkAgainstOps(pyramid, alg);
+	}
+
+	/**
+	 * Derivative images should be reused when the input changes shape
+	 */
+	@Test
+	public void reuseStorage() {
+		PyramidGradient<ImageFloat32,ImageFloat32> alg = new PyramidGradient<ImageFloat32,ImageFloat32>(gradient);
+		PyramidDiscrete<ImageFloat32> pyramid = createPyramid();
+		pyramid.setLayerListener(alg);
+
+		ImageFloat32 input = new ImageFloat32(width,height);
+		ImageMiscOps.fillUniform(input, rand, 0, 100);
+		pyramid.process(input);
+
+		ImageFloat32 derivX[] = alg.getDerivX();
+		ImageFloat32 derivY[] = alg.getDerivY();
+		ImageFloat32 layerX = derivX[1];
+		ImageFloat32 layerY = derivY[1];
+
+		input = new ImageFloat32(width/2,height/2);
+		ImageMiscOps.fillUniform(input, rand, 0, 100);
+		pyramid.process(input);
+
+		assertTrue(derivX == alg.getDerivX());
+		assertTrue(derivY == alg.getDerivY());
+		assertTrue(layerX == derivX[1]);
+		assertTrue(layerY == derivY[1]);
+
+		checkAgainstOps(pyramid, alg);
+	}
+
+	private void checkAgainstOps(PyramidDiscrete<ImageFloat32> pyramid,
+								 PyramidGradient<ImageFloat32, ImageFloat32> alg) {
+		ImageFloat32 expectedX[] = PyramidOps.declareOutput(pyramid, ImageFloat32.class);
+		ImageFloat32 expectedY[] = PyramidOps.declareOutput(pyramid, ImageFloat32.class);
+		PyramidOps.gradient(pyramid, gradient, expectedX, expectedY);
+
+		assertEquals(pyramid.getNumLayers(), alg.getDerivX().length);
+		for( int i = 0; i < pyramid.getNumLayers(); i++ ) {
+			BoofTesting.assertEquals(expectedX[i], alg.getDerivX()[i], 1e-4);
+			BoofTesting.assertEquals(expectedY[i], alg.getDerivY()[i], 1e-4);
+		}
+	}
+
+	private PyramidDiscrete<ImageFloat32> createPyramid() {
+		Kernel1D_F32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_F32.class, -1, 2);
+		return new PyramidDiscreteSampleBlur<ImageFloat32>(kernel,2,ImageFloat32.class,false,1,2,4);
+	}
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.concurrency;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestBoofConcurrency {
+
+	int originalThreads;
+	int originalWork;
+
+	@Before
+	public void before() {
+		originalThreads = BoofConcurrency.getMaxThreads();
+		originalWork = BoofConcurrency.getMinimumWork();
+		BoofConcurrency.setMaxThreads(4);
+	}
+
+	@After
+	public void after() {
+		BoofConcurrency.setMaxThreads(originalThreads);
+		BoofConcurrency.setMinimumWork(originalWork);
+		BoofConcurrency.setExecutor(null);
+	}
+
+	/**
+	 * Every index should be processed exactly once
+	 */
+	@Test
+	public void loopBlocks_allIndexes() {
+		for( int N : new int[]{1,3,4,5,17,100} ) {
+			final AtomicInteger hits[] = new AtomicInteger[N+5];
+			for( int i = 0; i < hits.length; i++ )
+				hits[i] = new AtomicInteger();
+
+			BoofConcurrency.loopBlocks(5, N+5, new IntRangeTask() {
+				@Override
+				public void process(int minInclusive, int maxExclusive) {
+					assertTrue(minInclusive < maxExclusive);
+					for( int i = minInclusive; i < maxExclusive; i++ )
+						hits[i].incrementAndGet();
+				}
+			});
+
+			for( int i = 0; i < 5; i++ )
+				assertEquals(0, hits[i].get());
+			for( int i = 5; i < hits.length; i++ )
+				assertEquals(1, hits[i].get());
+		}
+	}
+
+	@Test
+	public void loopBlocks_empty() {
+		BoofConcurrency.loopBlocks(5, 5, new IntRangeTask() {
+			@Override
+			public void process(int minInclusive, int maxExclusive) {
+				fail("Nothing to process");
+			}
+		});
+	}
+
+	/**
+	 * Loops inside of a block should not dead lock the pool
+	 */
+	@Test
+	public void loopBlocks_nested() {
+		final AtomicInteger total = new AtomicInteger();
+
+		BoofConcurrency.loopBlocks(0, 8, new IntRangeTask() {
+			@Override
+			public void process(int minInclusive, int maxExclusive) {
+				for( int i = minInclusive; i < maxExclusive; i++ ) {
+					BoofConcurrency.loopBlocks(0, 10, new IntRangeTask() {
+						@Override
+						public void process(int minInclusive, int maxExclusive) {
+							total.addAndGet(maxExclusive - minInclusive);
+						}
+					});
+				}
+			}
+		});
+
+		assertEquals(80, total.get());
+	}
+
+	/**
+	 * An exception thrown inside a block should be passed on to the caller
+	 */
+	@Test
+	public void loopBlocks_exception() {
+		try {
+			BoofConcurrency.loopBlocks(0, 8, new IntRangeTask() {
+				@Override
+				public void process(int minInclusive, int maxExclusive) {
+					if( maxExclusive == 8 )
+						throw new IllegalArgumentException("Expected");
+				}
+			});
+			fail("Exception should have been thrown");
+		} catch( IllegalArgumentException ignore ) {}
+	}
+
+	/**
+	 * Loops with less than the minimum amount of work should not be split
+	 */
+	@Test
+	public void loopBlocks_minimumWork() {
+		BoofConcurrency.setMinimumWork(100);
+
+		final AtomicInteger calls = new AtomicInteger();
+		IntRangeTask task = new IntRangeTask() {
+			@Override
+			public void process(int minInclusive, int maxExclusive) {
+				calls.incrementAndGet();
+			}
+		};
+
+		// not enough work for two blocks
+		BoofConcurrency.loopBlocks(0, 10, 19, task);
+		assertEquals(1, calls.get());
+
+		// enough work for exactly two blocks
+		calls.set(0);
+		BoofConcurrency.loopBlocks(0, 10, 20, task);
+		assertEquals(2, calls.get());
+
+		// limited by the number of threads
+		calls.set(0);
+		BoofConcurrency.loopBlocks(0, 10, 1000, task);
+		assertEquals(4, calls.get());
+	}
+
+	/**
+	 * Blocks should be processed by the executor provided by the user
+	 */
+	@Test
+	public void setExecutor() {
+		ExecutorService executor = Executors.newFixedThreadPool(2, new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable r) {
+				return new Thread(r,"Custom");
+			}
+		});
+
+		try {
+			BoofConcurrency.setExecutor(executor);
+			assertTrue(executor == BoofConcurrency.getExecutor());
+
+			final AtomicInteger custom = new AtomicInteger();
+			BoofConcurrency.loopBlocks(0, 4, new IntRangeTask() {
+				@Override
+				public void process(int minInclusive, int maxExclusive) {
+					if( Thread.currentThread().getName().equals("Custom"))
+						custom.incrementAndGet();
+				}
+			});
+
+			// the caller processes one of the blocks
+			assertEquals(3, custom.get());
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void isConcurrent() {
+		BoofConcurrency.setMinimumWork(100);
+		boolean original = BoofConcurrency.USE_CONCURRENT;
+		try {
+			BoofConcurrency.USE_CONCURRENT = false;
+			assertFalse(BoofConcurrency.isConcurrent(1000));
+			BoofConcurrency.USE_CONCURRENT = true;
+			assertFalse(BoofConcurrency.isConcurrent(99));
+			assertTrue(BoofConcurrency.isConcurrent(100));
+		} finally {
+			BoofConcurrency.USE_CONCURRENT = original;
+		}
+	}
+
+	/**
+	 * Operators invoked from inside a block, including the block processed by the calling thread,
+	 * should not try to split their work again
+	 */
+	@Test
+	public void isConcurrent_insideBlock() {
+		BoofConcurrency.setMinimumWork(0);
+		boolean original = BoofConcurrency.USE_CONCURRENT;
+		try {
+			BoofConcurrency.USE_CONCURRENT = true;
+			assertTrue(BoofConcurrency.isConcurrent(10));
+
+			final AtomicInteger concurrent = new AtomicInteger();
+			BoofConcurrency.loopBlocks(0, 4, new IntRangeTask() {
+				@Override
+				public void process(int minInclusive, int maxExclusive) {
+					if( BoofConcurrency.isConcurrent(10) )
+						concurrent.incrementAndGet();
+				}
+			});
+			assertEquals(0, concurrent.get());
+
+			// back outside of the loop
+			assertTrue(BoofConcurrency.isConcurrent(10));
+		} finally {
+			BoofConcurrency.USE_CONCURRENT = original;
+		}
+	}
+}
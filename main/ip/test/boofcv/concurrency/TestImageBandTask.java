@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.concurrency;
+
+import boofcv.struct.image.ImageBase;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImageBandTask {
+
+	int originalThreads;
+	int originalWork;
+
+	@Before
+	public void before() {
+		originalThreads = BoofConcurrency.getMaxThreads();
+		originalWork = BoofConcurrency.getMinimumWork();
+		BoofConcurrency.setMaxThreads(4);
+		BoofConcurrency.setMinimumWork(0);
+	}
+
+	@After
+	public void after() {
+		BoofConcurrency.setMaxThreads(originalThreads);
+		BoofConcurrency.setMinimumWork(originalWork);
+	}
+
+	/**
+	 * Each band should cover the same rows in every image and together cover the whole image
+	 */
+	@Test
+	public void processRows() {
+		final ImageUInt8 imageA = BoofTesting.createSubImageOf(new ImageUInt8(20,30));
+		final ImageFloat32 imageB = new ImageFloat32(20,30);
+		final AtomicInteger calls = new AtomicInteger();
+
+		new ImageBandTask(imageA,imageB) {
+			@Override
+			protected void processBand(ImageBase[] b) {
+				calls.incrementAndGet();
+				assertTrue(b[0] instanceof ImageUInt8);
+				assertTrue(b[1] instanceof ImageFloat32);
+				assertEquals(b[0].width, 20);
+				assertEquals(b[1].width, 20);
+				assertEquals(b[0].height, b[1].height);
+				for( int y = 0; y < b[0].height; y++ ) {
+					for( int x = 0; x < b[0].width; x++ ) {
+						((ImageUInt8)b[0]).set(x,y,((ImageUInt8)b[0]).get(x,y)+1);
+						((ImageFloat32)b[1]).set(x,y,((ImageFloat32)b[1]).get(x,y)+1);
+					}
+				}
+			}
+		}.processRows();
+
+		assertEquals(4, calls.get());
+		checkAllOnes(imageA, imageB);
+	}
+
+	@Test
+	public void processColumns() {
+		final ImageUInt8 imageA = new ImageUInt8(20,30);
+		final ImageFloat32 imageB = BoofTesting.createSubImageOf(new ImageFloat32(20,30));
+		final AtomicInteger calls = new AtomicInteger();
+
+		new ImageBandTask(imageA,imageB) {
+			@Override
+			protected void processBand(ImageBase[] b) {
+				calls.incrementAndGet();
+				assertEquals(b[0].height, 30);
+				assertEquals(b[0].width, b[1].width);
+				for( int y = 0; y < b[0].height; y++ ) {
+					for( int x = 0; x < b[0].width; x++ ) {
+						((ImageUInt8)b[0]).set(x,y,((ImageUInt8)b[0]).get(x,y)+1);
+						((ImageFloat32)b[1]).set(x,y,((ImageFloat32)b[1]).get(x,y)+1);
+					}
+				}
+			}
+		}.processColumns();
+
+		assertEquals(4, calls.get());
+		checkAllOnes(imageA, imageB);
+	}
+
+	/**
+	 * If the images have different shapes an exception should be thrown before anything is processed
+	 */
+	@Test
+	public void differentShapes() {
+		final AtomicInteger calls = new AtomicInteger();
+		ImageBandTask task = new ImageBandTask(new ImageUInt8(20,30),new ImageUInt8(20,31)) {
+			@Override
+			protected void processBand(ImageBase[] b) {
+				calls.incrementAndGet();
+			}
+		};
+
+		try {
+			task.processRows();
+			fail("Exception should have been thrown");
+		} catch( IllegalArgumentException ignore ) {}
+		try {
+			task.processColumns();
+			fail("Exception should have been thrown");
+		} catch( IllegalArgumentException ignore ) {}
+
+		assertEquals(0, calls.get());
+	}
+
+	private void checkAllOnes( ImageUInt8 imageA , ImageFloat32 imageB ) {
+		for( int y = 0; y < imageA.height; y++ ) {
+			for( int x = 0; x < imageA.width; x++ ) {
+				assertEquals(1, imageA.get(x,y));
+				assertEquals(1, imageB.get(x,y), 0);
+			}
+		}
+	}
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.concurrency;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestInstancePool {
+
+	int numCreated;
+
+	@Test
+	public void grab_release() {
+		InstancePool<Object> alg = new InstancePool<Object>(new Factory());
+
+		Object a = alg.grab();
+		Object b = alg.grab();
+		assertTrue(a != b);
+		assertEquals(2, alg.getCreated());
+
+		alg.release(a);
+		assertEquals(1, alg.getAvailable());
+		assertTrue(a == alg.grab());
+		assertEquals(2, numCreated);
+	}
+
+	@Test
+	public void reserve() {
+		InstancePool<Object> alg = new InstancePool<Object>(new Factory());
+
+		alg.grab();
+		alg.reserve(3);
+		assertEquals(3, numCreated);
+		assertEquals(3, alg.getCreated());
+		assertEquals(2, alg.getAvailable());
+
+		// already created enough
+		alg.reserve(2);
+		assertEquals(3, numCreated);
+
+		// no new instances should be created while the reserved ones are available
+		alg.grab();
+		alg.grab();
+		assertEquals(3, numCreated);
+	}
+
+	private class Factory implements InstanceFactory<Object> {
+		@Override
+		public Object newInstance() {
+			numCreated++;
+			return new Object();
+		}
+	}
+}
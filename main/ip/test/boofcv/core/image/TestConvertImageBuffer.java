@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.core.image;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.struct.image.*;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestConvertImageBuffer {
+
+	Random rand = new Random(234);
+	int width = 20;
+	int height = 15;
+
+	@Test
+	public void convert_U8_U8() {
+		for( boolean sub : new boolean[]{false,true}) {
+			ImageBufferUInt8 input = createU8(sub);
+			ImageUInt8 output = new ImageUInt8(width,height);
+			ImageUInt8 found = ConvertImageBuffer.convert(input, BoofTesting.createSubImageOf(output));
+
+			checkEquals(input, found);
+
+			// the buffer's position should not be modified
+			assertEquals(0, input.data.position());
+
+			// output declared internally
+			checkEquals(input, ConvertImageBuffer.convert(input, (ImageUInt8)null));
+		}
+	}
+
+	@Test
+	public void convert_U8_F32() {
+		for( boolean sub : new boolean[]{false,true}) {
+			ImageBufferUInt8 input = createU8(sub);
+			ImageFloat32 found = ConvertImageBuffer.convert(input, BoofTesting.createSubImageOf(new ImageFloat32(width,height)));
+
+			for( int y = 0; y < height; y++ ) {
+				for( int x = 0; x < width; x++ ) {
+					assertEquals(input.get(x,y), found.get(x,y), 0);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void convert_F32_F32() {
+		for( boolean sub : new boolean[]{false,true}) {
+			ImageBufferFloat32 input = createF32(sub);
+			ImageFloat32 found = ConvertImageBuffer.convert(input, (ImageFloat32)null);
+
+			for( int y = 0; y < height; y++ ) {
+				for( int x = 0; x < width; x++ ) {
+					assertEquals(input.get(x,y), found.get(x,y), 0);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void convert_array_to_buffer() {
+		ImageUInt8 inputU8 = new ImageUInt8(width,height);
+		ImageMiscOps.fillUniform(inputU8, rand, 0, 255);
+		ImageBufferUInt8 foundU8 = ConvertImageBuffer.convert(BoofTesting.createSubImageOf(inputU8), (ImageBufferUInt8)null);
+		checkEquals(foundU8, inputU8);
+
+		ImageFloat32 inputF32 = new ImageFloat32(width,height);
+		ImageMiscOps.fillUniform(inputF32, rand, -1, 1);
+		ImageBufferFloat32 foundF32 = ConvertImageBuffer.convert(inputF32, createF32(true));
+		for( int y = 0; y < height; y++ ) {
+			for( int x = 0; x < width; x++ ) {
+				assertEquals(inputF32.get(x,y), foundF32.get(x,y), 0);
+			}
+		}
+	}
+
+	@Test
+	public void convert_buffer_to_buffer() {
+		for( boolean sub : new boolean[]{false,true}) {
+			ImageBufferUInt8 inputU8 = createU8(sub);
+			ImageBufferFloat32 foundF32 = ConvertImageBuffer.convert(inputU8, createF32(!sub));
+			for( int y = 0; y < height; y++ ) {
+				for( int x = 0; x < width; x++ ) {
+					assertEquals(inputU8.get(x,y), foundF32.get(x,y), 0);
+				}
+			}
+
+			ImageBufferFloat32 inputF32 = createF32(sub);
+			for( int y = 0; y < height; y++ )
+				for( int x = 0; x < width; x++ )
+					inputF32.set(x,y,rand.nextFloat()*255);
+			ImageBufferUInt8 foundU8 = ConvertImageBuffer.convert(inputF32, (ImageBufferUInt8)null);
+			for( int y = 0; y < height; y++ ) {
+				for( int x = 0; x < width; x++ ) {
+					assertEquals((int)inputF32.get(x,y), foundU8.get(x,y));
+				}
+			}
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void convert_badShape() {
+		ConvertImageBuffer.convert(createU8(false), new ImageUInt8(width+1,height));
+	}
+
+	@Test
+	public void shareArray() {
+		// direct buffers can't be shared
+		assertNull(ConvertImageBuffer.shareArray(createU8(false), null));
+		assertNull(ConvertImageBuffer.shareArray(createF32(false), null));
+
+		// heap buffers with an offset into the array
+		byte[] array = new byte[width*height + 10];
+		ByteBuffer buffer = ByteBuffer.wrap(array, 3, width*height).slice();
+		ImageBufferUInt8 input = new ImageBufferUInt8(buffer, 2, width-2, height, width);
+		input.set(4,5,201);
+
+		ImageUInt8 found = ConvertImageBuffer.shareArray(input, null);
+		assertTrue(array == found.data);
+		checkEquals(input, found);
+
+		// changes should be seen in both
+		found.set(1,1,34);
+		assertEquals(34, input.get(1,1));
+
+		float[] arrayF = new float[width*height];
+		ImageBufferFloat32 inputF = new ImageBufferFloat32(FloatBuffer.wrap(arrayF), 0, width, height, width);
+		inputF.set(3,4,2.5f);
+		ImageFloat32 foundF = ConvertImageBuffer.shareArray(inputF, null);
+		assertTrue(arrayF == foundF.data);
+		assertEquals(2.5f, foundF.get(3,4), 0);
+	}
+
+	private ImageBufferUInt8 createU8( boolean sub ) {
+		ImageBufferUInt8 ret;
+		if( sub ) {
+			ret = new ImageBufferUInt8(width+3,height+2).subimage(2,1,width+2,height+1,null);
+		} else {
+			ret = new ImageBufferUInt8(width,height);
+		}
+		for( int y = 0; y < height; y++ )
+			for( int x = 0; x < width; x++ )
+				ret.set(x,y,rand.nextInt(256));
+		return ret;
+	}
+
+	private ImageBufferFloat32 createF32( boolean sub ) {
+		ImageBufferFloat32 ret;
+		if( sub ) {
+			ret = new ImageBufferFloat32(width+3,height+2).subimage(2,1,width+2,height+1,null);
+		} else {
+			ret = new ImageBufferFloat32(width,height);
+		}
+		for( int y = 0; y < height; y++ )
+			for( int x = 0; x < width; x++ )
+				ret.set(x,y,rand.nextFloat());
+		return ret;
+	}
+
+	private void checkEquals( ImageBufferUInt8 a , ImageUInt8 b ) {
+		assertEquals(a.width, b.width);
+		assertEquals(a.height, b.height);
+		for( int y = 0; y < a.height; y++ ) {
+			for( int x = 0; x < a.width; x++ ) {
+				assertEquals(a.get(x,y), b.get(x,y));
+			}
+		}
+	}
+}
@@ -18,10 +18,17 @@
 
 package boofcv.core.image;
 
+import boofcv.alg.misc.GImageMiscOps;
 import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
 import boofcv.struct.image.InterleavedF32;
+import boofcv.struct.image.InterleavedU8;
+import boofcv.struct.image.MultiSpectral;
+import boofcv.testing.BoofTesting;
 import org.junit.Test;
 
+import java.util.Random;
+
 import static org.junit.Assert.assertEquals;
 
 /**
@@ -70,4 +77,43 @@ public class TestInterleavedImageOps {
 		}
 	}
 
+	@Test
+	public void split_merge_F32() {
+		InterleavedF32 interleaved = new InterleavedF32(5,4,3);
+		GImageMiscOps.fillUniform(interleaved, new Random(234), -10, 10);
+		MultiSpectral<ImageFloat32> ms = new MultiSpectral<ImageFloat32>(ImageFloat32.class,5,4,3);
+
+		InterleavedImageOps.split(interleaved, ms);
+
+		for( int y = 0; y < interleaved.height; y++ ) {
+			for( int x = 0; x < interleaved.width; x++ ) {
+				for( int band = 0; band < 3; band++ )
+					assertEquals(interleaved.getBand(x,y,band),ms.getBand(band).get(x,y),1e-8);
+			}
+		}
+
+		InterleavedF32 found = new InterleavedF32(5,4,3);
+		InterleavedImageOps.merge(ms, found);
+		BoofTesting.assertEquals(interleaved, found, 1e-8);
+	}
+
+	@Test
+	public void split_merge_U8() {
+		InterleavedU8 interleaved = new InterleavedU8(5,4,3);
+		GImageMiscOps.fillUniform(interleaved, new Random(234), 0, 255);
+		MultiSpectral<ImageUInt8> ms = new MultiSpectral<ImageUInt8>(ImageUInt8.class,5,4,3);
+
+		InterleavedImageOps.split(interleaved, ms);
+
+		for( int y = 0; y < interleaved.height; y++ ) {
+			for( int x = 0; x < interleaved.width; x++ ) {
+				for( int band = 0; band < 3; band++ )
+					assertEquals(interleaved.getBand(x,y,band),ms.getBand(band).get(x,y));
+			}
+		}
+
+		InterleavedU8 found = new InterleavedU8(5,4,3);
+		InterleavedImageOps.merge(ms, found);
+		BoofTesting.assertEquals(interleaved, found, 1e-8);
+	}
 }
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.misc;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestStageProfiler {
+
+	@Test
+	public void stagesAndCounts() {
+		Listener listener = new Listener();
+		StageProfiler alg = new StageProfiler("foo",listener);
+
+		for( int frame = 0; frame < 2; frame++ ) {
+			alg.startFrame();
+			assertTrue(alg.isInsideFrame());
+			alg.stage("a");
+			alg.count("features",10+frame);
+			alg.stage("b");
+			alg.finishFrame();
+			assertFalse(alg.isInsideFrame());
+
+			assertEquals(frame+1,listener.calls);
+			assertEquals(frame,listener.frame);
+			assertEquals("foo",listener.owner);
+			assertEquals(2,listener.numStages);
+			assertEquals(10+frame,listener.features);
+			assertTrue(listener.totalNano >= listener.stageNano);
+		}
+	}
+
+	@Test
+	public void getCount_missing() {
+		ProfileFrame frame = new ProfileFrame();
+		assertEquals(-1,frame.getCount("missing"));
+		assertNull(frame.getStage("missing"));
+	}
+
+	@Test
+	public void measureAllocation() {
+		if( !StageProfiler.isAllocationSupported() )
+			return;
+
+		Listener listener = new Listener();
+		StageProfiler alg = new StageProfiler("foo",listener);
+		alg.setMeasureAllocation(true);
+
+		alg.startFrame();
+		byte[] data = new byte[100000];
+		alg.stage("a");
+		alg.finishFrame();
+
+		assertTrue(data.length <= listener.allocated);
+	}
+
+	@Test
+	public void create_null() {
+		assertNull(StageProfiler.create(this, null));
+		StageProfiler alg = StageProfiler.create(this, new Listener());
+		assertNotNull(alg);
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void stage_noFrame() {
+		StageProfiler alg = new StageProfiler("foo",new Listener());
+		alg.stage("a");
+	}
+
+	private static class Listener implements ProfileListener {
+		int calls;
+		long frame;
+		String owner;
+		int numStages;
+		long features;
+		long totalNano;
+		long stageNano;
+		long allocated;
+
+		@Override
+		public void processedFrame(ProfileFrame profile) {
+			calls++;
+			frame = profile.frame;
+			owner = profile.owner;
+			numStages = profile.stages.size;
+			features = profile.getCount("features");
+			totalNano = profile.totalNano;
+			stageNano = 0;
+			for( int i = 0; i < profile.stages.size; i++ )
+				stageNano += profile.stages.get(i).nano;
+			allocated = profile.totalAllocated;
+		}
+	}
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.struct.image;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImageBufferFloat32 {
+
+	@Test
+	public void constructor_direct() {
+		ImageBufferFloat32 img = new ImageBufferFloat32(10,15);
+
+		assertTrue(img.isDirect());
+		assertEquals(150, img.data.capacity());
+
+		img.set(9,14,2.5f);
+		assertEquals(2.5f, img.get(9,14), 0);
+	}
+
+	/**
+	 * Floats stored inside of a byte buffer, e.g. one filled in by native code
+	 */
+	@Test
+	public void wrap_byteBuffer() {
+		ByteBuffer bytes = ByteBuffer.allocateDirect(4*60).order(ByteOrder.nativeOrder());
+		FloatBuffer floats = bytes.asFloatBuffer();
+		floats.put(1 + 2*6 + 3, 7.5f);
+
+		ImageBufferFloat32 img = new ImageBufferFloat32(floats,1,5,9,6);
+
+		assertEquals(7.5f, img.get(3,2), 0);
+		img.set(0,0,-2f);
+		assertEquals(-2f, bytes.getFloat(4), 0);
+	}
+
+	@Test
+	public void subimage() {
+		ImageBufferFloat32 img = new ImageBufferFloat32(10,15);
+		img.set(5,6,99);
+
+		ImageBufferFloat32 sub = img.subimage(2,3,8,10,null);
+
+		assertTrue(img.data == sub.data);
+		assertEquals(99, sub.get(3,3), 0);
+	}
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.struct.image;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImageBufferUInt8 {
+
+	@Test
+	public void constructor_direct() {
+		ImageBufferUInt8 img = new ImageBufferUInt8(10,15);
+
+		assertTrue(img.isDirect());
+		assertEquals(10, img.width);
+		assertEquals(15, img.height);
+		assertEquals(10, img.stride);
+		assertEquals(0, img.startIndex);
+		assertEquals(150, img.data.capacity());
+	}
+
+	@Test
+	public void wrap() {
+		ByteBuffer buffer = ByteBuffer.allocate(200);
+		buffer.put(5 + 2*12 + 3, (byte)200);
+
+		ImageBufferUInt8 img = new ImageBufferUInt8(buffer,5,10,15,12);
+
+		assertTrue(buffer == img.data);
+		assertEquals(200, img.get(3, 2));
+
+		img.set(4,3,123);
+		assertEquals(123, buffer.get(5 + 3*12 + 4) & 0xFF);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void wrap_tooSmall() {
+		new ImageBufferUInt8(ByteBuffer.allocate(100),0,10,11,10);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void wrap_badStride() {
+		new ImageBufferUInt8(ByteBuffer.allocate(100),0,10,5,9);
+	}
+
+	@Test
+	public void get_set_bounds() {
+		ImageBufferUInt8 img = new ImageBufferUInt8(10,15);
+
+		try {
+			img.get(10,0);
+			fail("Should have failed");
+		} catch( ImageAccessException ignore ) {}
+		try {
+			img.set(0,15,1);
+			fail("Should have failed");
+		} catch( ImageAccessException ignore ) {}
+	}
+
+	@Test
+	public void subimage() {
+		ImageBufferUInt8 img = new ImageBufferUInt8(10,15);
+		img.set(5,6,99);
+
+		ImageBufferUInt8 sub = img.subimage(2,3,8,10,null);
+
+		assertTrue(sub.isSubimage());
+		assertTrue(img.data == sub.data);
+		assertEquals(6, sub.width);
+		assertEquals(7, sub.height);
+		assertEquals(10, sub.stride);
+		assertEquals(99, sub.get(3,3));
+	}
+
+	@Test
+	public void reshape() {
+		ImageBufferUInt8 img = new ImageBufferUInt8(10,15);
+		ByteBuffer original = img.data;
+
+		// smaller, the buffer should be reused
+		img.reshape(5,6);
+		assertTrue(original == img.data);
+		assertEquals(5, img.stride);
+
+		// larger, needs a new buffer
+		img.reshape(20,20);
+		assertTrue(original != img.data);
+		assertTrue(img.data.capacity() >= 400);
+		assertTrue(img.isDirect());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void reshape_subimage() {
+		ImageBufferUInt8 img = new ImageBufferUInt8(10,15);
+		img.subimage(0,0,5,5,null).reshape(2,2);
+	}
+}
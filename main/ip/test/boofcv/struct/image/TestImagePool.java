@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.struct.image;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImagePool {
+
+	@Test
+	public void acquire_new() {
+		ImagePool pool = new ImagePool();
+
+		ImageFloat32 a = pool.acquire(ImageFloat32.class,20,30);
+		ImageSInt16 b = pool.acquire(ImageSInt16.class,20,30);
+
+		assertEquals(20,a.width);
+		assertEquals(30,a.height);
+		assertEquals(20,b.width);
+		assertEquals(30,b.height);
+		assertEquals(2,pool.getTotalDeclared());
+	}
+
+	@Test
+	public void acquire_reuse() {
+		ImagePool pool = new ImagePool();
+
+		ImageFloat32 a = pool.acquire(ImageFloat32.class,20,30);
+		pool.release(a);
+		assertEquals(1,pool.getTotalAvailable());
+
+		// a different type should not be reused
+		ImageUInt8 b = pool.acquire(ImageUInt8.class,10,10);
+		assertEquals(2,pool.getTotalDeclared());
+
+		// smaller image can reuse the array
+		ImageFloat32 c = pool.acquire(ImageFloat32.class,10,15);
+		assertTrue(a == c);
+		assertEquals(10,c.width);
+		assertEquals(15,c.height);
+		assertEquals(10,c.stride);
+		assertEquals(0,pool.getTotalAvailable());
+		assertEquals(2,pool.getTotalDeclared());
+
+		// a larger image needs a new array
+		pool.release(c);
+		ImageFloat32 d = pool.acquire(ImageFloat32.class,40,30);
+		assertTrue(a == d);
+		assertEquals(40*30,d.data.length);
+		assertEquals(3,pool.getTotalDeclared());
+	}
+
+	/**
+	 * The smallest image which is large enough should be selected
+	 */
+	@Test
+	public void acquire_bestFit() {
+		ImagePool pool = new ImagePool();
+
+		ImageFloat32 small = new ImageFloat32(5,5);
+		ImageFloat32 medium = new ImageFloat32(10,10);
+		ImageFloat32 large = new ImageFloat32(20,20);
+
+		pool.release(large);
+		pool.release(small);
+		pool.release(medium);
+
+		assertTrue(medium == pool.acquire(ImageFloat32.class,8,9));
+		assertTrue(large == pool.acquire(ImageFloat32.class,11,9));
+		// nothing is large enough so the largest one is grown
+		pool.release(medium);
+		assertTrue(medium == pool.acquire(ImageFloat32.class,30,30));
+		assertEquals(1,pool.getTotalDeclared());
+	}
+
+	@Test
+	public void acquire_copyShape() {
+		ImagePool pool = new ImagePool();
+
+		ImageSInt16 found = pool.acquire(new ImageSInt16(12,13));
+		assertEquals(12,found.width);
+		assertEquals(13,found.height);
+	}
+
+	@Test
+	public void release_bounded() {
+		ImagePool pool = new ImagePool(2);
+
+		pool.release(new ImageFloat32(5,5));
+		pool.release(new ImageFloat32(5,5));
+		pool.release(new ImageFloat32(5,5));
+		pool.release(new ImageUInt8(5,5));
+
+		assertEquals(3,pool.getTotalAvailable());
+
+		pool.setMaxRetained(1);
+		assertEquals(2,pool.getTotalAvailable());
+
+		pool.clear();
+		assertEquals(0,pool.getTotalAvailable());
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void release_twice() {
+		ImagePool pool = new ImagePool();
+		ImageFloat32 a = new ImageFloat32(5,5);
+		pool.release(a);
+		pool.release(a);
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void release_subimage() {
+		ImagePool pool = new ImagePool();
+		ImageFloat32 a = new ImageFloat32(5,5);
+		pool.release(a.subimage(0,0,2,2,null));
+	}
+
+	@Test
+	public void local() throws InterruptedException {
+		final ImagePool pool = ImagePool.local();
+		assertTrue(pool == ImagePool.local());
+
+		final ImagePool found[] = new ImagePool[1];
+		Thread t = new Thread() {
+			@Override
+			public void run() {
+				found[0] = ImagePool.local();
+			}
+		};
+		t.start();
+		t.join();
+
+		assertTrue(found[0] != null);
+		assertTrue(found[0] != pool);
+	}
+}
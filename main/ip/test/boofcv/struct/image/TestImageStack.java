@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.struct.image;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImageStack {
+
+	@Test
+	public void constructor() {
+		ImageStack<ImageUInt8> alg = new ImageStack<ImageUInt8>(ImageType.single(ImageUInt8.class),10,15,4);
+
+		assertEquals(10,alg.getWidth());
+		assertEquals(15,alg.getHeight());
+		assertEquals(4,alg.getDepth());
+		assertEquals(4,alg.getImages().size());
+		assertEquals(10,alg.getStacked().width);
+		assertEquals(60,alg.getStacked().height);
+
+		for( int i = 0; i < 4; i++ ) {
+			ImageUInt8 image = alg.get(i);
+			assertEquals(10,image.width);
+			assertEquals(15,image.height);
+			assertTrue(image.data == alg.getStacked().data);
+		}
+	}
+
+	/**
+	 * Each image should be a view into a different part of the stacked image
+	 */
+	@Test
+	public void sharedData() {
+		ImageStack<ImageFloat32> alg = new ImageStack<ImageFloat32>(ImageType.single(ImageFloat32.class),10,15,3);
+
+		alg.get(1).set(2,3,5);
+		alg.get(2).set(9,14,6);
+
+		assertEquals(5,alg.getStacked().get(2,15+3),1e-8);
+		assertEquals(6,alg.getStacked().get(9,44),1e-8);
+		assertEquals(0,alg.get(0).get(2,3),1e-8);
+	}
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.struct.image;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestPackedBinaryImage {
+
+	@Test
+	public void reshape() {
+		PackedBinaryImage image = new PackedBinaryImage(130,4);
+		assertEquals(3, image.stride);
+		image.set(5, 2, 1);
+
+		image.reshape(64, 3);
+		assertEquals(1, image.stride);
+		assertEquals(0, image.countPixels());
+
+		image.reshape(65, 1);
+		assertEquals(2, image.stride);
+	}
+
+	@Test
+	public void get_set() {
+		PackedBinaryImage image = new PackedBinaryImage(130,4);
+
+		image.set(0, 0, 1);
+		image.set(63, 1, 1);
+		image.set(64, 2, 1);
+		image.set(129, 3, 5);
+
+		assertEquals(1, image.get(0, 0));
+		assertEquals(1, image.get(63, 1));
+		assertEquals(1, image.get(64, 2));
+		assertEquals(1, image.get(129, 3));
+		assertEquals(0, image.get(1, 0));
+		assertEquals(4, image.countPixels());
+
+		image.set(63, 1, 0);
+		assertEquals(0, image.get(63, 1));
+		assertEquals(3, image.countPixels());
+	}
+
+	@Test(expected=ImageAccessException.class)
+	public void get_outside() {
+		PackedBinaryImage image = new PackedBinaryImage(10,4);
+		image.get(10, 0);
+	}
+
+	@Test
+	public void getLastWordMask() {
+		assertEquals(1L, new PackedBinaryImage(1,1).getLastWordMask());
+		assertEquals(~0L, new PackedBinaryImage(64,1).getLastWordMask());
+		assertEquals(~0L, new PackedBinaryImage(128,1).getLastWordMask());
+		assertEquals(0x7L, new PackedBinaryImage(67,1).getLastWordMask());
+	}
+
+	@Test
+	public void setTo() {
+		PackedBinaryImage a = new PackedBinaryImage(70,3);
+		a.set(69, 2, 1);
+		a.set(3, 0, 1);
+
+		PackedBinaryImage b = new PackedBinaryImage(5,5);
+		b.setTo(a);
+
+		assertEquals(70, b.width);
+		assertEquals(3, b.height);
+		assertEquals(1, b.get(69, 2));
+		assertEquals(1, b.get(3, 0));
+		assertEquals(2, b.countPixels());
+	}
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.struct.image;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestRleBinaryImage {
+
+	@Test
+	public void constructor() {
+		RleBinaryImage image = new RleBinaryImage(10,5);
+		assertTrue(image.isComplete());
+		assertEquals(0, image.numRuns);
+		for( int y = 0; y < 5; y++ )
+			assertEquals(0, image.getNumRuns(y));
+	}
+
+	@Test
+	public void addRun() {
+		RleBinaryImage image = new RleBinaryImage();
+		image.reshape(20,3);
+
+		image.addRun(2,4);
+		// touches the previous run
+		image.addRun(4,6);
+		// empty
+		image.addRun(8,8);
+		image.addRun(10,12);
+		// overlaps and is inside
+		image.addRun(10,11);
+		image.finishRow();
+		image.finishRow();
+		// don't merge with the previous row
+		image.addRun(11,13);
+		image.finishRow();
+
+		assertTrue(image.isComplete());
+		assertEquals(3, image.numRuns);
+		assertEquals(2, image.getNumRuns(0));
+		assertEquals(0, image.getNumRuns(1));
+		assertEquals(1, image.getNumRuns(2));
+
+		int expected[] = new int[]{2,6,10,12,11,13};
+		for( int i = 0; i < expected.length; i++ )
+			assertEquals(expected[i], image.runs[i]);
+		assertEquals(4+2+2, image.countPixels());
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void finishRow_tooMany() {
+		RleBinaryImage image = new RleBinaryImage(10,2);
+		image.finishRow();
+	}
+
+	@Test
+	public void get_findRun() {
+		RleBinaryImage image = new RleBinaryImage();
+		image.reshape(20,2);
+		image.addRun(0,2);
+		image.addRun(5,6);
+		image.addRun(10,20);
+		image.finishRow();
+		image.finishRow();
+
+		for( int x = 0; x < 20; x++ ) {
+			int expected = x < 2 ? 0 : x == 5 ? 1 : x >= 10 ? 2 : -1;
+			assertEquals(expected, image.findRun(x, 0));
+			assertEquals(expected >= 0 ? 1 : 0, image.get(x, 0));
+			assertEquals(-1, image.findRun(x, 1));
+		}
+	}
+
+	@Test
+	public void setTo() {
+		RleBinaryImage a = new RleBinaryImage();
+		a.reshape(20,2);
+		a.addRun(3,7);
+		a.finishRow();
+		a.addRun(1,2);
+		a.finishRow();
+
+		RleBinaryImage b = new RleBinaryImage(5,5);
+		b.setTo(a);
+
+		assertEquals(20, b.width);
+		assertEquals(2, b.height);
+		assertTrue(b.isComplete());
+		assertEquals(1, b.get(4, 0));
+		assertEquals(1, b.get(1, 1));
+		assertFalse(b.get(2, 1) == 1);
+	}
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.struct.image;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.struct.ImageRectangle;
+import boofcv.testing.BoofTesting;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestTiledImage {
+
+	Random rand = new Random(234);
+
+	File file;
+
+	@Before
+	public void before() throws IOException {
+		file = File.createTempFile("tiled",".raw");
+		file.deleteOnExit();
+	}
+
+	@After
+	public void after() {
+		TiledImage.MAX_BLOCK_BYTES = 1 << 28;
+		file.delete();
+	}
+
+	@Test
+	public void writeRead_U8() throws IOException {
+		writeRead(ImageUInt8.class);
+	}
+
+	@Test
+	public void writeRead_S16() throws IOException {
+		writeRead(ImageSInt16.class);
+	}
+
+	@Test
+	public void writeRead_F32() throws IOException {
+		writeRead(ImageFloat32.class);
+	}
+
+	@Test
+	public void writeRead_F64() throws IOException {
+		writeRead(ImageFloat64.class);
+	}
+
+	/**
+	 * Force it to use multiple mapped blocks
+	 */
+	@Test
+	public void writeRead_multipleBlocks() throws IOException {
+		TiledImage.MAX_BLOCK_BYTES = 45*4*3;
+		writeRead(ImageFloat32.class);
+	}
+
+	private <T extends ImageSingleBand> void writeRead( Class<T> type ) throws IOException {
+		TiledImage<T> alg = TiledImage.create(file,type,45,30,20,15);
+		assertEquals(3,alg.getTilesX());
+		assertEquals(2,alg.getTilesY());
+
+		T image = alg.getImageType().createImage(45,30);
+		GImageMiscOps.fillUniform(image,rand,0,100);
+
+		// write it using a sub-image in the middle and the rest along the border
+		alg.write(0,0,(T)image.subimage(0,0,45,10,null));
+		alg.write(0,10,(T)image.subimage(0,10,7,30,null));
+		alg.write(7,10,(T)image.subimage(7,10,45,30,null));
+		alg.close();
+
+		// read it back in after opening the file again
+		alg = TiledImage.open(file,true,ByteOrder.nativeOrder(),type,45,30,20,15);
+		T found = alg.createTileImage();
+		alg.read(0,0,45,30,found);
+		BoofTesting.assertEquals(image,found,1e-8);
+
+		alg.read(5,6,25,29,found);
+		BoofTesting.assertEquals(image.subimage(5,6,25,29,null),found,1e-8);
+		alg.close();
+	}
+
+	@Test
+	public void open_tooSmall() throws IOException {
+		RandomAccessFile raf = new RandomAccessFile(file,"rw");
+		raf.setLength(100);
+		raf.close();
+
+		try {
+			TiledImage.open(file,true,ByteOrder.nativeOrder(),ImageUInt8.class,20,20,10,10);
+			fail("Exception expected");
+		} catch( IllegalArgumentException ignore ) {}
+	}
+
+	@Test
+	public void write_readOnly() throws IOException {
+		TiledImage.create(file,ImageUInt8.class,20,20,10,10).close();
+		TiledImage<ImageUInt8> alg = TiledImage.open(file,true,ByteOrder.nativeOrder(),ImageUInt8.class,20,20,10,10);
+		try {
+			alg.write(0,0,new ImageUInt8(5,5));
+			fail("Exception expected");
+		} catch( IllegalArgumentException ignore ) {}
+		alg.close();
+	}
+
+	@Test
+	public void getTileRegion() throws IOException {
+		TiledImage<ImageUInt8> alg = TiledImage.create(file,ImageUInt8.class,45,30,20,15);
+		ImageRectangle r = new ImageRectangle();
+
+		alg.getTileRegion(0,0,3,r);
+		checkRegion(r,0,0,23,18);
+		alg.getTileRegion(1,1,3,r);
+		checkRegion(r,17,12,43,30);
+		alg.getTileRegion(2,0,3,r);
+		checkRegion(r,37,0,45,18);
+		alg.close();
+	}
+
+	private void checkRegion( ImageRectangle r , int x0 , int y0 , int x1 , int y1 ) {
+		assertEquals(x0,r.x0);
+		assertEquals(y0,r.y0);
+		assertEquals(x1,r.x1);
+		assertEquals(y1,r.y1);
+	}
+}
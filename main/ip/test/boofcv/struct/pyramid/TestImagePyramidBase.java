@@ -103,6 +103,39 @@ public class TestImagePyramidBase {
 		assertTrue(pyramid.layers[0] != null);
 	}
 
+	/**
+	 * Layers should be reshaped and not declared again when the input size changes
+	 */
+	@Test
+	public void initialize_reuse() {
+		Dummy pyramid = new Dummy(ImageUInt8.class,false);
+		pyramid.setScaleFactors(1,2,4);
+		pyramid.initialize(100,120);
+
+		ImageUInt8 original[] = new ImageUInt8[3];
+		for( int i = 0; i < 3; i++ )
+			original[i] = (ImageUInt8)pyramid.getLayer(i);
+
+		pyramid.initialize(60,50);
+
+		for( int i = 0; i < 3; i++ ) {
+			assertTrue(original[i] == pyramid.getLayer(i));
+			assertEquals(pyramid.getWidth(i), original[i].width);
+			assertEquals(pyramid.getHeight(i), original[i].height);
+		}
+
+		// a reference to the user's image must not be reused
+		pyramid = new Dummy(ImageUInt8.class,true);
+		pyramid.setScaleFactors(1,2,4);
+		pyramid.initialize(100,120);
+		ImageUInt8 input = new ImageUInt8(100,120);
+		pyramid.setFirstLayer(input);
+		pyramid.initialize(60,50);
+
+		assertTrue(pyramid.getLayer(0) == null);
+		assertEquals(100,input.width);
+	}
+
 	@Test
 	public void getWidth_Height() {
 		Dummy pyramid = new Dummy(ImageUInt8.class,false);
@@ -19,6 +19,8 @@
 package boofcv.abst.tracker;
 
 import boofcv.alg.tracker.tld.TldTracker;
+import boofcv.misc.ProfileListener;
+import boofcv.misc.ProfiledProcess;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.struct.image.ImageType;
 import georegression.geometry.UtilPolygons2D_F64;
@@ -31,7 +33,7 @@ import georegression.struct.shapes.Rectangle2D_F64;
  * @author Peter Abeles
  */
 public class Tld_to_TrackerObjectQuad<T extends ImageSingleBand, D extends ImageSingleBand>
-		implements TrackerObjectQuad<T>
+		implements TrackerObjectQuad<T>, ProfiledProcess
 {
 	Rectangle2D_F64 rect = new Rectangle2D_F64();
 	TldTracker<T,D> tracker;
@@ -72,6 +74,11 @@ public class Tld_to_TrackerObjectQuad<T extends ImageSingleBand, D extends Image
 		return true;
 	}
 
+	@Override
+	public void setProfileListener(ProfileListener listener) {
+		tracker.setProfileListener(listener);
+	}
+
 	@Override
 	public ImageType<T> getImageType() {
 		return type;
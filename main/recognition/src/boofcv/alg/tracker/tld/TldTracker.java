@@ -23,6 +23,9 @@ import boofcv.alg.interpolate.InterpolatePixelS;
 import boofcv.alg.tracker.klt.PyramidKltTracker;
 import boofcv.factory.tracker.FactoryTrackerAlg;
 import boofcv.factory.transform.pyramid.FactoryPyramid;
+import boofcv.misc.ProfileListener;
+import boofcv.misc.ProfiledProcess;
+import boofcv.misc.StageProfiler;
 import boofcv.struct.ImageRectangle;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.struct.pyramid.PyramidDiscrete;
@@ -61,7 +64,7 @@ import java.util.Random;
  * </p>
  * @author Peter Abeles
  */
-public class TldTracker<T extends ImageSingleBand, D extends ImageSingleBand> {
+public class TldTracker<T extends ImageSingleBand, D extends ImageSingleBand> implements ProfiledProcess {
 
 	// specified configuration parameters for the tracker
 	private TldParameters config;
@@ -110,6 +113,9 @@ public class TldTracker<T extends ImageSingleBand, D extends ImageSingleBand> {
 	// is learning on or off
 	private boolean performLearning = true;
 
+	// optional profiling.  null if disabled
+	private StageProfiler profiler;
+
 	/**
 	 * Configures the TLD tracker
 	 *
@@ -233,6 +239,8 @@ public class TldTracker<T extends ImageSingleBand, D extends ImageSingleBand> {
 	 */
 	public boolean track( T image ) {
 
+		if( profiler != null ) profiler.startFrame();
+
 		boolean success = true;
 		valid = false;
 
@@ -240,10 +248,12 @@ public class TldTracker<T extends ImageSingleBand, D extends ImageSingleBand> {
 		template.setImage(image);
 		variance.setImage(image);
 		fern.setImage(image);
+		if( profiler != null ) profiler.stage("setImage");
 
 		if( reacquiring ) {
 			// It can reinitialize if there is a single detection
 			detection.detectionCascade(cascadeRegions);
+			if( profiler != null ) profiler.stage("detect");
 			if( detection.isSuccess() && !detection.isAmbiguous() ) {
 				TldRegion region = detection.getBest();
 
@@ -262,18 +272,21 @@ public class TldTracker<T extends ImageSingleBand, D extends ImageSingleBand> {
 			}
 		} else {
 			detection.detectionCascade(cascadeRegions);
+			if( profiler != null ) profiler.stage("detect");
 
 			// update the previous track region using the tracker
 			trackerRegion.set(targetRegion);
 			boolean trackingWorked = tracking.process(imagePyramid, trackerRegion);
 			trackingWorked &= adjustRegion.process(tracking.getPairs(), trackerRegion);
 			TldHelperFunctions.convertRegion(trackerRegion, trackerRegion_I32);
+			if( profiler != null ) profiler.stage("track");
 
 			if( hypothesisFusion( trackingWorked , detection.isSuccess() ) ) {
 				// if it found a hypothesis and it is valid for learning, then learn
 				if( valid && performLearning ) {
 					learning.updateLearning(targetRegion);
 				}
+				if( profiler != null ) profiler.stage("learn");
 
 			} else {
 				reacquiring = true;
@@ -285,10 +298,20 @@ public class TldTracker<T extends ImageSingleBand, D extends ImageSingleBand> {
 			previousTrackArea = targetRegion.area();
 		}
 
+		if( profiler != null ) {
+			profiler.count("candidates", cascadeRegions.size);
+			profiler.count("success", success ? 1 : 0);
+			profiler.finishFrame();
+		}
 
 		return success;
 	}
 
+	@Override
+	public void setProfileListener(ProfileListener listener) {
+		profiler = StageProfiler.create(this, listener);
+	}
+
 	private void checkNewTrackStrong( double confidence ) {
 		// see if there is very high confidence of a match
 		strongMatch = confidence > config.confidenceThresholdStrong;
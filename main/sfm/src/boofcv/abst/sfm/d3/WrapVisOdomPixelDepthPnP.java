@@ -24,6 +24,8 @@ import boofcv.alg.distort.LensDistortionOps;
 import boofcv.alg.geo.DistanceModelMonoPixels;
 import boofcv.alg.sfm.StereoSparse3D;
 import boofcv.alg.sfm.d3.VisOdomPixelDepthPnP;
+import boofcv.misc.ProfileListener;
+import boofcv.misc.ProfiledProcess;
 import boofcv.struct.calib.IntrinsicParameters;
 import boofcv.struct.calib.StereoParameters;
 import boofcv.struct.distort.PointTransform_F64;
@@ -44,7 +46,7 @@ import java.util.List;
 // TODO WARNING! active list has been modified by dropping and adding tracks
 // this is probably true of other SFM algorithms
 public class WrapVisOdomPixelDepthPnP<T extends ImageSingleBand>
-		implements StereoVisualOdometry<T>, AccessPointTracks3D {
+		implements StereoVisualOdometry<T>, AccessPointTracks3D, ProfiledProcess {
 
 	// low level algorithm
 	VisOdomPixelDepthPnP<T> alg;
@@ -138,4 +140,12 @@ public class WrapVisOdomPixelDepthPnP<T extends ImageSingleBand>
 	public Se3_F64 getCameraToWorld() {
 		return alg.getCurrToWorld();
 	}
+
+	/**
+	 * Profiling information is provided by {@link VisOdomPixelDepthPnP}.
+	 */
+	@Override
+	public void setProfileListener(ProfileListener listener) {
+		alg.setProfileListener(listener);
+	}
 }
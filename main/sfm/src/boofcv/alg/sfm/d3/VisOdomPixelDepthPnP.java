@@ -23,6 +23,9 @@ import boofcv.abst.feature.tracker.PointTracker;
 import boofcv.abst.feature.tracker.PointTrackerTwoPass;
 import boofcv.abst.geo.RefinePnP;
 import boofcv.abst.sfm.ImagePixelTo3D;
+import boofcv.misc.ProfileListener;
+import boofcv.misc.ProfiledProcess;
+import boofcv.misc.StageProfiler;
 import boofcv.struct.distort.PointTransform_F64;
 import boofcv.struct.geo.Point2D3D;
 import boofcv.struct.image.ImageBase;
@@ -53,7 +56,7 @@ import java.util.List;
  *
  * @author Peter Abeles
  */
-public class VisOdomPixelDepthPnP<T extends ImageBase> {
+public class VisOdomPixelDepthPnP<T extends ImageBase> implements ProfiledProcess {
 
 	// when the inlier set is less than this number new features are detected
 	private int thresholdAdd;
@@ -97,6 +100,9 @@ public class VisOdomPixelDepthPnP<T extends ImageBase> {
 	// used when concating motion
 	private Se3_F64 temp = new Se3_F64();
 
+	// optional profiling.  null if disabled
+	private StageProfiler profiler;
+
 	/**
 	 * Configures magic numbers and estimation algorithms.
 	 *
@@ -152,13 +158,27 @@ public class VisOdomPixelDepthPnP<T extends ImageBase> {
 	 * @return true if successful or false if it failed
 	 */
 	public boolean process( T image ) {
+		if( profiler == null )
+			return processImage(image);
+
+		profiler.startFrame();
+		boolean success = processImage(image);
+		profiler.count("inliers", inlierTracks.size());
+		profiler.count("success", success ? 1 : 0);
+		profiler.finishFrame();
+		return success;
+	}
+
+	private boolean processImage( T image ) {
 		tracker.process(image);
+		if( profiler != null ) profiler.stage("track");
 
 		tick++;
 		inlierTracks.clear();
 
 		if( first ) {
 			addNewTracks();
+			if( profiler != null ) profiler.stage("spawn");
 			first = false;
 		} else {
 			if( !estimateMotion() ) {
@@ -167,10 +187,12 @@ public class VisOdomPixelDepthPnP<T extends ImageBase> {
 
 			dropUnusedTracks();
 			int N = motionEstimator.getMatchSet().size();
+			if( profiler != null ) profiler.stage("drop");
 
 			if( thresholdAdd <= 0 || N < thresholdAdd ) {
 				changePoseToReference();
 				addNewTracks();
+				if( profiler != null ) profiler.stage("spawn");
 			}
 
 //			System.out.println("  num inliers = "+N+"  num dropped "+numDropped+" total active "+tracker.getActivePairs().size());
@@ -269,11 +291,18 @@ public class VisOdomPixelDepthPnP<T extends ImageBase> {
 		}
 
 		// estimate the motion up to a scale factor in translation
-		if( !motionEstimator.process( obs ) )
+		boolean success = motionEstimator.process( obs );
+		if( profiler != null ) {
+			profiler.stage("ransac");
+			profiler.count("observations", obs.size());
+		}
+		if( !success )
 			return false;
 
 		if( doublePass ) {
-			if (!performSecondPass(active, obs))
+			success = performSecondPass(active, obs);
+			if( profiler != null ) profiler.stage("secondPass");
+			if( !success )
 				return false;
 		}
 		tracker.finishTracking();
@@ -286,6 +315,7 @@ public class VisOdomPixelDepthPnP<T extends ImageBase> {
 		} else {
 			keyToCurr = motionEstimator.getModelParameters();
 		}
+		if( profiler != null ) profiler.stage("refine");
 
 		keyToCurr.invert(currToKey);
 
@@ -367,4 +397,9 @@ public class VisOdomPixelDepthPnP<T extends ImageBase> {
 	public long getTick() {
 		return tick;
 	}
+
+	@Override
+	public void setProfileListener(ProfileListener listener) {
+		profiler = StageProfiler.create(this, listener);
+	}
 }